@@ -65,6 +65,7 @@ module CRYCHIC {
     exports mujica.json.handler;
     exports mujica.json.io;
     exports mujica.json.modifier;
+    exports mujica.json.path;
     exports mujica.json.reflect;
     exports mujica.netty.concurrent;
     exports mujica.netty.mysql;
@@ -0,0 +1,44 @@
+package mujica.algebra.discrete;
+
+import mujica.reflect.modifier.CodeHistory;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * One bit at a time, as BitInterleave did before magic numbers
+ */
+@CodeHistory(date = "2026/10/17")
+class BaselineBitInterleave extends BitInterleave {
+
+    @Override
+    public long encode2(@NotNull int[] in) {
+        final int dimension = Long.SIZE / Integer.SIZE; // 2, as in method name
+        long out = 0L;
+        for (int inIndex = 0; inIndex < dimension; inIndex++) {
+            int outShift = inIndex;
+            int inValue = in[inIndex];
+            for (int inShift = 0; inShift < Integer.SIZE; inShift++) {
+                if ((inValue & (1 << inShift)) != 0) {
+                    out |= 1L << outShift;
+                }
+                outShift += dimension;
+            }
+        }
+        return out;
+    }
+
+    @Override
+    public void decode2(long in, @NotNull int[] out) {
+        final int dimension = Long.SIZE / Integer.SIZE; // 2, as in method name
+        for (int outIndex = 0; outIndex < dimension; outIndex++) {
+            int inShift = outIndex;
+            int value = 0;
+            for (int outShift = 0; outShift < Integer.SIZE; outShift++) {
+                if ((in & (1L << inShift)) != 0L) {
+                    value |= 1 << outShift;
+                }
+                inShift += dimension;
+            }
+            out[outIndex] = value;
+        }
+    }
+}
@@ -2,13 +2,17 @@ package mujica.algebra.discrete;
 
 import mujica.reflect.modifier.CodeHistory;
 import mujica.reflect.modifier.DataType;
+import mujica.reflect.modifier.ReferencePage;
 import org.jetbrains.annotations.NotNull;
 
 import java.math.BigInteger;
 import java.util.Arrays;
+import java.util.Objects;
 
 @CodeHistory(date = "2023/10/6", project = "Ultramarine", name = "BitInterleaveUU")
 @CodeHistory(date = "2025/2/28")
+@CodeHistory(date = "2026/10/17")
+@ReferencePage(title = "Bit Twiddling Hacks: Interleave bits by Binary Magic Numbers", href = "https://graphics.stanford.edu/~seander/bithacks.html#InterleaveBMN")
 public class BitInterleave implements DimensionCodec {
 
     @DataType("s8")
@@ -95,39 +99,143 @@ public class BitInterleave implements DimensionCodec {
         return false;
     }
 
+    /**
+     * @return bits of the value at even positions
+     */
+    public static long spread2(int value) {
+        long x = value & 0xffffffffL;
+        x = (x | (x << 16)) & 0x0000ffff0000ffffL;
+        x = (x | (x << 8)) & 0x00ff00ff00ff00ffL;
+        x = (x | (x << 4)) & 0x0f0f0f0f0f0f0f0fL;
+        x = (x | (x << 2)) & 0x3333333333333333L;
+        x = (x | (x << 1)) & 0x5555555555555555L;
+        return x;
+    }
+
+    /**
+     * @return bits of the code at even positions
+     */
+    public static int compact2(long code) {
+        long x = code & 0x5555555555555555L;
+        x = (x | (x >>> 1)) & 0x3333333333333333L;
+        x = (x | (x >>> 2)) & 0x0f0f0f0f0f0f0f0fL;
+        x = (x | (x >>> 4)) & 0x00ff00ff00ff00ffL;
+        x = (x | (x >>> 8)) & 0x0000ffff0000ffffL;
+        x = (x | (x >>> 16)) & 0x00000000ffffffffL;
+        return (int) x;
+    }
+
+    /**
+     * @return lower 21 bits of the value at positions multiple of 3
+     */
+    public static long spread3(int value) {
+        long x = value & 0x1fffffL;
+        x = (x | (x << 32)) & 0x001f00000000ffffL;
+        x = (x | (x << 16)) & 0x001f0000ff0000ffL;
+        x = (x | (x << 8)) & 0x100f00f00f00f00fL;
+        x = (x | (x << 4)) & 0x10c30c30c30c30c3L;
+        x = (x | (x << 2)) & 0x1249249249249249L;
+        return x;
+    }
+
+    public static int compact3(long code) {
+        long x = code & 0x1249249249249249L;
+        x = (x | (x >>> 2)) & 0x10c30c30c30c30c3L;
+        x = (x | (x >>> 4)) & 0x100f00f00f00f00fL;
+        x = (x | (x >>> 8)) & 0x001f0000ff0000ffL;
+        x = (x | (x >>> 16)) & 0x001f00000000ffffL;
+        x = (x | (x >>> 32)) & 0x00000000001fffffL;
+        return (int) x;
+    }
+
+    /**
+     * @return 63 bits, 21 from each of x, y, z
+     */
+    public static long encode3(int x, int y, int z) {
+        return spread3(x) | (spread3(y) << 1) | (spread3(z) << 2);
+    }
+
+    /**
+     * @param out length = 3
+     */
+    public static void decode3(long in, @NotNull int[] out) {
+        out[0] = compact3(in);
+        out[1] = compact3(in >>> 1);
+        out[2] = compact3(in >>> 2);
+    }
+
+    /**
+     * @param in x, y, z of each vector in turn
+     */
+    public static void encode3(@NotNull int[] in, @NotNull long[] out, int startIndex, int endIndex) {
+        Objects.checkFromToIndex(startIndex, endIndex, out.length);
+        Objects.checkFromToIndex(3 * startIndex, 3 * endIndex, in.length);
+        for (int index = startIndex; index < endIndex; index++) {
+            out[index] = spread3(in[3 * index]) | (spread3(in[3 * index + 1]) << 1) | (spread3(in[3 * index + 2]) << 2);
+        }
+    }
+
+    public static void decode3(@NotNull long[] in, @NotNull int[] out, int startIndex, int endIndex) {
+        Objects.checkFromToIndex(startIndex, endIndex, in.length);
+        Objects.checkFromToIndex(3 * startIndex, 3 * endIndex, out.length);
+        for (int index = startIndex; index < endIndex; index++) {
+            long code = in[index];
+            out[3 * index] = compact3(code);
+            out[3 * index + 1] = compact3(code >>> 1);
+            out[3 * index + 2] = compact3(code >>> 2);
+        }
+    }
+
     @Override
     public long encode2(@NotNull int[] in) {
-        final int dimension = Long.SIZE / Integer.SIZE; // 2, as in method name
-        long out = 0L;
-        for (int inIndex = 0; inIndex < dimension; inIndex++) {
-            int outShift = inIndex;
-            int inValue = in[inIndex];
-            for (int inShift = 0; inShift < Integer.SIZE; inShift++) {
-                if ((inValue & (1 << inShift)) != 0) {
-                    out |= 1L << outShift;
-                }
-                outShift += dimension;
-            }
-        }
-        return out;
+        return spread2(in[0]) | (spread2(in[1]) << 1);
     }
 
     @Override
     public void decode2(long in, @NotNull int[] out) {
-        final int dimension = Long.SIZE / Integer.SIZE; // 2, as in method name
-        for (int outIndex = 0; outIndex < dimension; outIndex++) {
-            int inShift = outIndex;
-            int value = 0;
-            for (int outShift = 0; outShift < Integer.SIZE; outShift++) {
-                if ((in & (1L << inShift)) != 0L) {
-                    value |= 1 << outShift;
-                }
-                inShift += dimension;
-            }
-            out[outIndex] = value;
+        out[0] = compact2(in);
+        out[1] = compact2(in >>> 1);
+    }
+
+    @Override
+    public void encode2(@NotNull int[] in, @NotNull long[] out, int startIndex, int endIndex) {
+        Objects.checkFromToIndex(startIndex, endIndex, out.length);
+        Objects.checkFromToIndex(2 * startIndex, 2 * endIndex, in.length);
+        for (int index = startIndex; index < endIndex; index++) {
+            out[index] = spread2(in[2 * index]) | (spread2(in[2 * index + 1]) << 1);
+        }
+    }
+
+    @Override
+    public void decode2(@NotNull long[] in, @NotNull int[] out, int startIndex, int endIndex) {
+        Objects.checkFromToIndex(startIndex, endIndex, in.length);
+        Objects.checkFromToIndex(2 * startIndex, 2 * endIndex, out.length);
+        for (int index = startIndex; index < endIndex; index++) {
+            long code = in[index];
+            out[2 * index] = compact2(code);
+            out[2 * index + 1] = compact2(code >>> 1);
         }
     }
 
+    /**
+     * a single state, the digit is y bit then x bit
+     */
+    private static final int[] Z_ORDER_CHILDREN = {
+            QuadCurveRanges.child(0, 0, 0), QuadCurveRanges.child(1, 0, 0),
+            QuadCurveRanges.child(0, 1, 0), QuadCurveRanges.child(1, 1, 0)
+    };
+
+    /**
+     * Z-order ranges covering the box, coordinates unsigned and inclusive
+     *
+     * @param maxRanges at least 1; the ranges cover more than the box when it is not enough
+     * @return start and end, both inclusive, of each range ascending
+     */
+    @NotNull
+    public long[] ranges2(int minX, int minY, int maxX, int maxY, int maxRanges) {
+        return QuadCurveRanges.ranges(Z_ORDER_CHILDREN, minX, minY, maxX, maxY, maxRanges);
+    }
+
     @Override
     @NotNull
     public BigInteger encodeN(@NotNull BigInteger[] in) {
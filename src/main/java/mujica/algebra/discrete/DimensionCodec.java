@@ -5,9 +5,11 @@ import mujica.reflect.modifier.DirectSubclass;
 import org.jetbrains.annotations.NotNull;
 
 import java.math.BigInteger;
+import java.util.Objects;
 
 @CodeHistory(date = "2023/10/6", project = "Ultramarine")
 @CodeHistory(date = "2025/2/28")
+@CodeHistory(date = "2026/10/17")
 @DirectSubclass({DimensionCodecModifier.class, BitInterleave.class, UnsignedSquare.class, UnsignedTriangle.class, HilbertCurve.class})
 public interface DimensionCodec {
 
@@ -25,6 +27,34 @@ public interface DimensionCodec {
      */
     void decode2(long in, @NotNull int[] out);
 
+    /**
+     * @param in vectors in turn, index * 2 and index * 2 + 1 for the code at index
+     */
+    default void encode2(@NotNull int[] in, @NotNull long[] out, int startIndex, int endIndex) {
+        Objects.checkFromToIndex(startIndex, endIndex, out.length);
+        Objects.checkFromToIndex(2 * startIndex, 2 * endIndex, in.length);
+        final int[] vector = new int[2];
+        for (int index = startIndex; index < endIndex; index++) {
+            vector[0] = in[2 * index];
+            vector[1] = in[2 * index + 1];
+            out[index] = encode2(vector);
+        }
+    }
+
+    /**
+     * @param out vectors in turn, index * 2 and index * 2 + 1 for the code at index
+     */
+    default void decode2(@NotNull long[] in, @NotNull int[] out, int startIndex, int endIndex) {
+        Objects.checkFromToIndex(startIndex, endIndex, in.length);
+        Objects.checkFromToIndex(2 * startIndex, 2 * endIndex, out.length);
+        final int[] vector = new int[2];
+        for (int index = startIndex; index < endIndex; index++) {
+            decode2(in[index], vector);
+            out[2 * index] = vector[0];
+            out[2 * index + 1] = vector[1];
+        }
+    }
+
     /**
      * @param in length known, content not null
      */
@@ -1,13 +1,78 @@
 package mujica.algebra.discrete;
 
 import mujica.reflect.modifier.CodeHistory;
+import mujica.reflect.modifier.ReferencePage;
 import org.jetbrains.annotations.NotNull;
 
 import java.math.BigInteger;
+import java.util.Objects;
 
+/**
+ * Hilbert curve of order 32 as a state machine; a state is whether the coordinates below are swapped (bit 0) and
+ * complemented (bit 1). Encoding and decoding take four levels per step from 1024-entry tables
+ */
 @CodeHistory(date = "2026/3/22")
+@CodeHistory(date = "2026/10/17")
+@ReferencePage(title = "Hilbert curve", href = "https://en.wikipedia.org/wiki/Hilbert_curve")
 public class HilbertCurve implements DimensionCodec {
 
+    public static final HilbertCurve INSTANCE = new HilbertCurve();
+
+    /**
+     * by state * 4 + digit, see QuadCurveRanges.child()
+     */
+    private static final int[] CHILDREN = new int[16];
+
+    /**
+     * by state << 8 | x nibble << 4 | y nibble: next state << 8 | code byte
+     */
+    private static final int[] ENCODE_TABLE = new int[1 << 10];
+
+    /**
+     * by state << 8 | code byte: next state << 8 | x nibble << 4 | y nibble
+     */
+    private static final int[] DECODE_TABLE = new int[1 << 10];
+
+    static {
+        final int[] step = new int[16]; // by state * 4 + (x bit << 1 | y bit): next state << 2 | digit
+        for (int state = 0; state < 4; state++) {
+            for (int digit = 0; digit < 4; digit++) {
+                int tx = digit >> 1;
+                int ty = (digit ^ tx) & 1;
+                int nextState = state;
+                if (ty == 0) {
+                    nextState ^= tx == 0 ? 1 : 3;
+                }
+                int bx = tx;
+                int by = ty;
+                if ((state & 2) != 0) {
+                    bx ^= 1;
+                    by ^= 1;
+                }
+                if ((state & 1) != 0) {
+                    int t = bx;
+                    bx = by;
+                    by = t;
+                }
+                step[(state << 2) | (bx << 1) | by] = (nextState << 2) | digit;
+                CHILDREN[(state << 2) | digit] = QuadCurveRanges.child(bx, by, nextState);
+            }
+        }
+        for (int state = 0; state < 4; state++) {
+            for (int nibbles = 0; nibbles < 0x100; nibbles++) {
+                int current = state;
+                int code = 0;
+                for (int level = 3; level >= 0; level--) {
+                    int entry = step[(current << 2) | (((nibbles >> (4 + level)) & 1) << 1) | ((nibbles >> level) & 1)];
+                    code = (code << 2) | (entry & 3);
+                    current = entry >> 2;
+                }
+                ENCODE_TABLE[(state << 8) | nibbles] = (current << 8) | code;
+                DECODE_TABLE[(state << 8) | code] = (current << 8) | nibbles;
+            }
+        }
+    }
+
     @Override
     public boolean vectorSigned() {
         return false;
@@ -18,29 +83,136 @@ public class HilbertCurve implements DimensionCodec {
         return false;
     }
 
+    private static long encode(int x, int y) {
+        int state = 0;
+        long code = 0L;
+        for (int shift = Integer.SIZE - 4; shift >= 0; shift -= 4) {
+            int entry = ENCODE_TABLE[(state << 8) | (((x >>> shift) & 0xf) << 4) | ((y >>> shift) & 0xf)];
+            code = (code << 8) | (entry & 0xff);
+            state = entry >>> 8;
+        }
+        return code;
+    }
+
     @Override
     public long encode2(@NotNull int[] in) {
-        final int x = in[0];
-        final int y = in[1];
-        return 0L;
+        return encode(in[0], in[1]);
     }
 
     @Override
     public void decode2(long in, @NotNull int[] out) {
+        int state = 0;
+        int x = 0;
+        int y = 0;
+        for (int shift = Long.SIZE - 8; shift >= 0; shift -= 8) {
+            int entry = DECODE_TABLE[(state << 8) | ((int) (in >>> shift) & 0xff)];
+            x = (x << 4) | ((entry >> 4) & 0xf);
+            y = (y << 4) | (entry & 0xf);
+            state = entry >>> 8;
+        }
+        out[0] = x;
+        out[1] = y;
+    }
 
+    @Override
+    public void encode2(@NotNull int[] in, @NotNull long[] out, int startIndex, int endIndex) {
+        Objects.checkFromToIndex(startIndex, endIndex, out.length);
+        Objects.checkFromToIndex(2 * startIndex, 2 * endIndex, in.length);
+        for (int index = startIndex; index < endIndex; index++) {
+            out[index] = encode(in[2 * index], in[2 * index + 1]);
+        }
     }
 
+    @Override
+    public void decode2(@NotNull long[] in, @NotNull int[] out, int startIndex, int endIndex) {
+        Objects.checkFromToIndex(startIndex, endIndex, in.length);
+        Objects.checkFromToIndex(2 * startIndex, 2 * endIndex, out.length);
+        for (int index = startIndex; index < endIndex; index++) {
+            long code = in[index];
+            int state = 0;
+            int x = 0;
+            int y = 0;
+            for (int shift = Long.SIZE - 8; shift >= 0; shift -= 8) {
+                int entry = DECODE_TABLE[(state << 8) | ((int) (code >>> shift) & 0xff)];
+                x = (x << 4) | ((entry >> 4) & 0xf);
+                y = (y << 4) | (entry & 0xf);
+                state = entry >>> 8;
+            }
+            out[2 * index] = x;
+            out[2 * index + 1] = y;
+        }
+    }
+
+    /**
+     * Hilbert ranges covering the box, coordinates unsigned and inclusive
+     *
+     * @param maxRanges at least 1; the ranges cover more than the box when it is not enough
+     * @return start and end, both inclusive, of each range ascending
+     */
+    @NotNull
+    public long[] ranges2(int minX, int minY, int maxX, int maxY, int maxRanges) {
+        return QuadCurveRanges.ranges(CHILDREN, minX, minY, maxX, maxY, maxRanges);
+    }
+
+    /**
+     * The number of levels is even, so that small values agree with encode2()
+     */
     @NotNull
     @Override
     public BigInteger encodeN(@NotNull BigInteger[] in) {
         if (in.length != 2) {
             throw new UnsupportedOperationException();
         }
-        return null;
+        final BigInteger x = in[0];
+        final BigInteger y = in[1];
+        if (x.signum() < 0 || y.signum() < 0) {
+            throw new ArithmeticException();
+        }
+        final int levelCount = (Math.max(x.bitLength(), y.bitLength()) + 1) & ~1;
+        BigInteger code = BigInteger.ZERO;
+        int state = 0;
+        for (int level = levelCount - 1; level >= 0; level--) {
+            int bx = x.testBit(level) ? 1 : 0;
+            int by = y.testBit(level) ? 1 : 0;
+            int digit = 0;
+            while ((CHILDREN[(state << 2) | digit] & 3) != ((bx << 1) | by)) {
+                digit++;
+            }
+            if ((digit & 2) != 0) {
+                code = code.setBit((level << 1) + 1);
+            }
+            if ((digit & 1) != 0) {
+                code = code.setBit(level << 1);
+            }
+            state = CHILDREN[(state << 2) | digit] >> 2;
+        }
+        return code;
     }
 
     @Override
     public void decodeN(@NotNull BigInteger in, @NotNull BigInteger[] out) {
-
+        if (out.length != 2) {
+            throw new UnsupportedOperationException();
+        }
+        if (in.signum() < 0) {
+            throw new ArithmeticException();
+        }
+        final int levelCount = (((in.bitLength() + 1) >> 1) + 1) & ~1;
+        BigInteger x = BigInteger.ZERO;
+        BigInteger y = BigInteger.ZERO;
+        int state = 0;
+        for (int level = levelCount - 1; level >= 0; level--) {
+            int digit = (in.testBit((level << 1) + 1) ? 2 : 0) | (in.testBit(level << 1) ? 1 : 0);
+            int entry = CHILDREN[(state << 2) | digit];
+            if ((entry & 2) != 0) {
+                x = x.setBit(level);
+            }
+            if ((entry & 1) != 0) {
+                y = y.setBit(level);
+            }
+            state = entry >> 2;
+        }
+        out[0] = x;
+        out[1] = y;
     }
 }
@@ -0,0 +1,132 @@
+package mujica.algebra.discrete;
+
+import mujica.reflect.modifier.CodeHistory;
+import mujica.reflect.modifier.ReferencePage;
+
+/**
+ * Multiplication modulo an odd positive long in Montgomery form, where a stands for a * 2 ** 64 mod n. A product is
+ * two multiplyHigh and two multiply, no division. Values in Montgomery form are in [0, n)
+ */
+@CodeHistory(date = "2026/10/17")
+@ReferencePage(title = "Montgomery modular multiplication", href = "https://en.wikipedia.org/wiki/Montgomery_modular_multiplication")
+public final class MontgomeryLong {
+
+    private final long mod;
+
+    /**
+     * mod * inverse == 1 modulo 2 ** 64, as in ModuloI64
+     */
+    private final long inverse;
+
+    /**
+     * 2 ** 64 mod n, which is one in Montgomery form
+     */
+    private final long one;
+
+    /**
+     * 2 ** 128 mod n
+     */
+    private final long square;
+
+    public MontgomeryLong(long mod) {
+        super();
+        if (mod <= 1L || (mod & 1L) == 0L) {
+            throw new IllegalArgumentException("mod = " + mod);
+        }
+        this.mod = mod;
+        long inverse = mod; // correct to 3 bits, each Newton step doubles
+        for (int i = 0; i < 5; i++) {
+            inverse *= 2L - mod * inverse;
+        }
+        this.inverse = inverse;
+        this.one = Long.remainderUnsigned(-mod, mod);
+        long square = one;
+        for (int i = 0; i < Long.SIZE; i++) {
+            square <<= 1; // below 2 ** 64 as unsigned
+            if (Long.compareUnsigned(square, mod) >= 0) {
+                square -= mod;
+            }
+        }
+        this.square = square;
+    }
+
+    public long getMod() {
+        return mod;
+    }
+
+    public long one() {
+        return one;
+    }
+
+    /**
+     * @param value any long, taken as signed
+     */
+    public long toMontgomery(long value) {
+        value %= mod;
+        if (value < 0L) {
+            value += mod;
+        }
+        return multiply(value, square);
+    }
+
+    public long fromMontgomery(long value) {
+        final long m = value * inverse;
+        final long result = -(Math.multiplyHigh(m, mod) + ((m >> 63) & mod));
+        return result < 0L ? result + mod : result;
+    }
+
+    public long multiply(long a, long b) {
+        final long m = a * b * inverse; // low words of a * b and m * mod agree
+        final long result = Math.multiplyHigh(a, b) - (Math.multiplyHigh(m, mod) + ((m >> 63) & mod)); // unsigned m
+        return result < 0L ? result + mod : result;
+    }
+
+    public long square(long a) {
+        return multiply(a, a);
+    }
+
+    public long add(long a, long b) {
+        final long result = a + b - mod;
+        return result < 0L ? result + mod : result;
+    }
+
+    public long subtract(long a, long b) {
+        final long result = a - b;
+        return result < 0L ? result + mod : result;
+    }
+
+    /**
+     * @param base in Montgomery form
+     * @param exponent non-negative
+     * @return in Montgomery form
+     */
+    public long power(long base, long exponent) {
+        if (exponent < 0L) {
+            throw new ArithmeticException("Power negative");
+        }
+        long power = one;
+        while (exponent != 0L) {
+            if ((exponent & 1L) != 0L) {
+                power = multiply(power, base);
+            }
+            base = multiply(base, base);
+            exponent >>>= 1;
+        }
+        return power;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(mod);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof MontgomeryLong && this.mod == ((MontgomeryLong) obj).mod;
+    }
+
+    @Override
+    public String toString() {
+        return "MontgomeryLong[mod = " + mod + "]";
+    }
+}
@@ -0,0 +1,124 @@
+package mujica.algebra.discrete;
+
+import mujica.reflect.modifier.CodeHistory;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Ranges of a quadrant-recursive curve covering a box, refined one level at a time in curve order. Cells inside the
+ * box become whole ranges, cells crossing its edge split into four, until the next level would exceed the range count
+ */
+@CodeHistory(date = "2026/10/17")
+final class QuadCurveRanges {
+
+    /**
+     * @return entry of a child table, indexed by state * 4 + digit
+     */
+    static int child(int bitX, int bitY, int nextState) {
+        return (nextState << 2) | (bitX << 1) | bitY;
+    }
+
+    private static final int DISJOINT = 0;
+
+    private static final int CROSSING = 1;
+
+    private static final int INSIDE = 2;
+
+    private final long minX, minY, maxX, maxY;
+
+    private QuadCurveRanges(long minX, long minY, long maxX, long maxY) {
+        super();
+        this.minX = minX;
+        this.minY = minY;
+        this.maxX = maxX;
+        this.maxY = maxY;
+    }
+
+    private int classify(long cellX, long cellY, long size) {
+        final long endX = cellX + size - 1L;
+        final long endY = cellY + size - 1L;
+        if (cellX > maxX || endX < minX || cellY > maxY || endY < minY) {
+            return DISJOINT;
+        }
+        if (minX <= cellX && endX <= maxX && minY <= cellY && endY <= maxY) {
+            return INSIDE;
+        }
+        return CROSSING;
+    }
+
+    /**
+     * @param item start, end, cell x, cell y, state; state -1 for a range inside the box
+     */
+    private static void add(@NotNull ArrayList<long[]> items, @NotNull long[] item) {
+        if (item[4] == -1L && !items.isEmpty()) {
+            long[] last = items.get(items.size() - 1);
+            if (last[4] == -1L && last[1] + 1L == item[0]) {
+                last[1] = item[1];
+                return;
+            }
+        }
+        items.add(item);
+    }
+
+    /**
+     * @param children by state * 4 + digit, see child()
+     * @return start and end, both inclusive and unsigned, of each range ascending
+     */
+    @NotNull
+    static long[] ranges(@NotNull int[] children, int minX, int minY, int maxX, int maxY, int maxRanges) {
+        if (Integer.compareUnsigned(minX, maxX) > 0 || Integer.compareUnsigned(minY, maxY) > 0 || maxRanges < 1) {
+            throw new IllegalArgumentException();
+        }
+        final QuadCurveRanges box = new QuadCurveRanges(Integer.toUnsignedLong(minX), Integer.toUnsignedLong(minY),
+                Integer.toUnsignedLong(maxX), Integer.toUnsignedLong(maxY));
+        ArrayList<long[]> items = new ArrayList<>();
+        final int rootClass = box.classify(0L, 0L, 1L << Integer.SIZE);
+        items.add(new long[] {0L, -1L, 0L, 0L, rootClass == INSIDE ? -1L : 0L});
+        int crossingCount = rootClass == INSIDE ? 0 : 1;
+        for (int level = Integer.SIZE - 1; level >= 0 && crossingCount != 0; level--) {
+            if (items.size() + 3L * crossingCount > maxRanges) {
+                break;
+            }
+            final ArrayList<long[]> next = new ArrayList<>();
+            final long half = 1L << level;
+            final long span = 1L << (level << 1);
+            crossingCount = 0;
+            for (long[] item : items) {
+                if (item[4] == -1L) {
+                    add(next, item);
+                    continue;
+                }
+                int row = (int) item[4] << 2;
+                for (int digit = 0; digit < 4; digit++) {
+                    int entry = children[row + digit];
+                    long cellX = item[2] + (((entry >> 1) & 1) == 0 ? 0L : half);
+                    long cellY = item[3] + ((entry & 1) == 0 ? 0L : half);
+                    long start = item[0] + digit * span;
+                    switch (box.classify(cellX, cellY, half)) {
+                        case INSIDE:
+                            add(next, new long[] {start, start + span - 1L, 0L, 0L, -1L});
+                            break;
+                        case CROSSING:
+                            add(next, new long[] {start, start + span - 1L, cellX, cellY, entry >> 2});
+                            crossingCount++;
+                            break;
+                    }
+                }
+            }
+            items = next;
+        }
+        final long[] ranges = new long[items.size() << 1];
+        int length = 0;
+        for (long[] item : items) {
+            if (length != 0 && ranges[length - 1] + 1L == item[0]) {
+                ranges[length - 1] = item[1];
+            } else {
+                ranges[length++] = item[0];
+                ranges[length++] = item[1];
+            }
+        }
+        return length == ranges.length ? ranges : Arrays.copyOf(ranges, length);
+    }
+}
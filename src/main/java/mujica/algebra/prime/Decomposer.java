@@ -2,17 +2,51 @@ package mujica.algebra.prime;
 
 import mujica.ds.i32.S32;
 import mujica.algebra.discrete.IntegralMath;
+import mujica.algebra.discrete.MontgomeryLong;
 import mujica.reflect.modifier.CodeHistory;
+import mujica.reflect.modifier.ReferencePage;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
 @CodeHistory(date = "2025/3/19")
+@CodeHistory(date = "2026/10/17")
+@ReferencePage(title = "An improved Monte Carlo factorization algorithm", href = "https://maths-people.anu.edu.au/~brent/pd/rpb051i.pdf")
 public class Decomposer {
 
     public static final Decomposer INSTANCE = new Decomposer();
 
+    private static final int SMALL_LIMIT = 1 << 10;
+
+    /**
+     * odd primes below SMALL_LIMIT, divided out before rho
+     */
+    private static final int[] SMALL_PRIMES;
+
+    static {
+        final boolean[] composite = new boolean[SMALL_LIMIT];
+        int[] primes = new int[SMALL_LIMIT];
+        int count = 0;
+        for (int number = 3; number < SMALL_LIMIT; number += 2) {
+            if (!composite[number]) {
+                primes[count++] = number;
+                for (int multiple = number * number; multiple < SMALL_LIMIT; multiple += number) {
+                    composite[multiple] = true;
+                }
+            }
+        }
+        SMALL_PRIMES = Arrays.copyOf(primes, count);
+    }
+
+    /**
+     * products of differences multiplied before one gcd
+     */
+    private static final int BATCH = 128;
+
+    private final RabinMiller rabinMiller = new RabinMiller();
+
     public void factorize(int value, @NotNull IntFactorConsumer consumer) {
         if (value < 2) {
             return;
@@ -46,6 +80,133 @@ public class Decomposer {
         return value;
     }
 
+    /**
+     * Small primes by division, then Pollard-Brent rho with Montgomery multiplication; factors ascending
+     */
+    public void factorizeLong(long value, @NotNull LongFactorConsumer consumer) {
+        if (value < 2L) {
+            return;
+        }
+        {
+            int times2 = Long.numberOfTrailingZeros(value);
+            if (times2 != 0) {
+                consumer.accept(2L, times2);
+                value >>= times2;
+                if (value == 1L) {
+                    return;
+                }
+            }
+        }
+        for (int factor : SMALL_PRIMES) {
+            if ((long) factor * factor > value) {
+                consumer.accept(value, 1);
+                return;
+            }
+            if (value % factor == 0L) {
+                int times = 0;
+                do {
+                    times++;
+                    value /= factor;
+                } while (value % factor == 0L);
+                consumer.accept(factor, times);
+                if (value == 1L) {
+                    return;
+                }
+            }
+        }
+        if (value < (long) SMALL_LIMIT * SMALL_LIMIT) {
+            consumer.accept(value, 1);
+            return;
+        }
+        final long[] factors = new long[Long.SIZE];
+        final int count = split(value, factors, 0);
+        Arrays.sort(factors, 0, count);
+        int start = 0;
+        for (int index = 1; index <= count; index++) {
+            if (index == count || factors[index] != factors[start]) {
+                consumer.accept(factors[start], index - start);
+                start = index;
+            }
+        }
+    }
+
+    /**
+     * @param value odd, without small prime factors
+     * @return new count of prime factors
+     */
+    private int split(long value, @NotNull long[] factors, int count) {
+        if (rabinMiller.isPrime(value)) {
+            factors[count++] = value;
+            return count;
+        }
+        final long factor = rho(value);
+        count = split(factor, factors, count);
+        return split(value / factor, factors, count);
+    }
+
+    /**
+     * @param value odd composite
+     * @return a nontrivial factor
+     */
+    private long rho(long value) {
+        final MontgomeryLong math = new MontgomeryLong(value);
+        for (long c = 1L; ; c++) {
+            long y = math.toMontgomery(c + 1L);
+            long x = y;
+            long ys = y;
+            long product = math.one();
+            long g = 1L;
+            for (int r = 1; g == 1L; r <<= 1) {
+                x = y;
+                for (int i = 0; i < r; i++) {
+                    y = math.add(math.square(y), c);
+                }
+                for (int k = 0; k < r && g == 1L; k += BATCH) {
+                    ys = y;
+                    int limit = Math.min(BATCH, r - k);
+                    for (int i = 0; i < limit; i++) {
+                        y = math.add(math.square(y), c);
+                        product = math.multiply(product, math.subtract(x, y));
+                    }
+                    g = gcd(product, value);
+                }
+            }
+            if (g == value) { // the batch overshot, redo it one step at a time
+                do {
+                    ys = math.add(math.square(ys), c);
+                    g = gcd(math.subtract(x, ys), value);
+                } while (g == 1L);
+            }
+            if (g != value) {
+                return g;
+            }
+        }
+    }
+
+    /**
+     * Binary gcd of non-negative values, gcd(0, b) == b
+     */
+    static long gcd(long a, long b) {
+        if (a == 0L) {
+            return b;
+        }
+        if (b == 0L) {
+            return a;
+        }
+        final int shift = Long.numberOfTrailingZeros(a | b);
+        a >>= Long.numberOfTrailingZeros(a);
+        do {
+            b >>= Long.numberOfTrailingZeros(b);
+            if (a > b) {
+                long t = a;
+                a = b;
+                b = t;
+            }
+            b -= a;
+        } while (b != 0L);
+        return a << shift;
+    }
+
     public int combination(int n, int m) {
         if (!(0 <= m && m <= n)) {
             throw new ArithmeticException("Bad combination arguments");
@@ -0,0 +1,10 @@
+package mujica.algebra.prime;
+
+import mujica.reflect.modifier.CodeHistory;
+
+@CodeHistory(date = "2026/10/17")
+@FunctionalInterface
+public interface LongFactorConsumer {
+
+    void accept(long factor, int times);
+}
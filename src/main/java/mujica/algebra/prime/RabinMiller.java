@@ -1,9 +1,11 @@
 package mujica.algebra.prime;
 
+import mujica.algebra.discrete.MontgomeryLong;
 import mujica.reflect.modifier.CodeHistory;
 import mujica.reflect.modifier.ReferencePage;
 
 @CodeHistory(date = "2025/3/20")
+@CodeHistory(date = "2026/10/17")
 @ReferencePage(title = "算法学习笔记(48): 米勒-拉宾素性检验", href = "https://zhuanlan.zhihu.com/p/220203643")
 public class RabinMiller extends PrimePredicate {
 
@@ -30,17 +32,57 @@ public class RabinMiller extends PrimePredicate {
             if (v <= 1 || v == x - 1) {
                 continue;
             }
-            for (int i = 0; i < r; i++) {
+            int i = 1;
+            while (i < r) {
                 v = (int) (((long) v) * v % x); // mod square
-                if (v == x - 1 && i != r - 1) {
-                    v = 1;
+                if (v == x - 1) {
                     break;
                 }
-                if (v == 1) {
+                i++;
+            }
+            if (i == r) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Deterministic for all long values with the same seven bases
+     */
+    public boolean isPrime(long x) {
+        if (x < 3L) {
+            return x == 2L;
+        }
+        if ((x & 1L) == 0L) {
+            return false;
+        }
+        final int r = Long.numberOfTrailingZeros(x - 1L);
+        final long d = (x - 1L) >> r;
+        final MontgomeryLong math = new MontgomeryLong(x);
+        final long one = math.one();
+        final long minusOne = x - one;
+        for (int a : A) {
+            long v = math.toMontgomery(a);
+            if (v == 0L) {
+                continue;
+            }
+            v = math.power(v, d);
+            if (v == one || v == minusOne) {
+                continue;
+            }
+            int i = 1;
+            while (i < r) {
+                v = math.square(v);
+                if (v == minusOne) {
                     break;
                 }
+                if (v == one) {
+                    return false;
+                }
+                i++;
             }
-            if (v != 1) {
+            if (i == r) {
                 return false;
             }
         }
@@ -55,11 +97,12 @@ public class RabinMiller extends PrimePredicate {
      */
     private int power(long base, long exponent, long modulus) {
         long power = 1L;
+        base %= modulus;
         while (exponent != 0) {
             if ((exponent & 1) != 0) {
                 power = power * base % modulus;
             }
-            power = power * power % modulus;
+            base = base * base % modulus;
             exponent >>= 1;
         }
         return (int) power;
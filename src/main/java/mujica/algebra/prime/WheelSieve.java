@@ -0,0 +1,524 @@
+package mujica.algebra.prime;
+
+import mujica.reflect.modifier.CodeHistory;
+import mujica.reflect.modifier.ReferencePage;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.LongPredicate;
+
+/**
+ * Segmented sieve of Eratosthenes over a BitSieveModel wheel: only residues coprime to the period get a bit, so the
+ * period 30 takes 8 bits per 30 numbers, and 210 takes 48 bits per 210 numbers. Ranges are cut into tasks of
+ * consecutive segments for the pool; each task keeps one segment and, per base prime, the next multiple to cross off.
+ * Memory is bounded by the base primes below the square root and a segment per worker
+ */
+@CodeHistory(date = "2026/10/17")
+@ReferencePage(title = "Segmented sieve of Eratosthenes", href = "https://github.com/kimwalisch/primesieve/wiki/Segmented-sieve-of-Eratosthenes")
+public class WheelSieve {
+
+    public static final int DEFAULT_SEGMENT_BYTES = 1 << 15; // L1 data cache
+
+    /**
+     * exclusive, so that the base primes stay in an int array
+     */
+    public static final long MAX = 1L << 50;
+
+    private static final int SEGMENTS_PER_TASK = 16;
+
+    @NotNull
+    final BitSieveModel model;
+
+    final int period;
+
+    @NotNull
+    final int[] offsets;
+
+    final int bitSize;
+
+    /**
+     * index in offsets by residue, -1 for residues not coprime to the period
+     */
+    @NotNull
+    final int[] residueIndex;
+
+    /**
+     * prime factors of the period, which have no bit
+     */
+    @NotNull
+    final int[] wheelPrimes;
+
+    /**
+     * by (index of p mod period) * bitSize + (index of q mod period): bit of p * q mod period, and its carry
+     */
+    @NotNull
+    final int[] productIndex, productCarry;
+
+    final int segmentBlocks;
+
+    @NotNull
+    final ForkJoinPool pool;
+
+    public WheelSieve(@NotNull BitSieveModel model, int segmentBytes, @NotNull ForkJoinPool pool) {
+        super();
+        final int[] offsets = model.offsets;
+        final int bitSize = offsets.length;
+        if ((long) bitSize * bitSize > (1 << 20)) {
+            throw new IllegalArgumentException("period " + model.period + " is too large for the product tables");
+        }
+        if (segmentBytes < 8 || ((long) segmentBytes << 3) < bitSize) {
+            throw new IllegalArgumentException("segment bytes = " + segmentBytes);
+        }
+        this.model = model;
+        this.period = model.period;
+        this.offsets = offsets;
+        this.bitSize = bitSize;
+        this.residueIndex = new int[period];
+        Arrays.fill(residueIndex, -1);
+        for (int index = 0; index < bitSize; index++) {
+            residueIndex[offsets[index]] = index;
+        }
+        final int[] factors = new int[Integer.SIZE];
+        int factorCount = 0;
+        for (int p = 2, rest = period; rest > 1; p++) {
+            if (rest % p == 0) {
+                factors[factorCount++] = p;
+                do {
+                    rest /= p;
+                } while (rest % p == 0);
+            }
+        }
+        this.wheelPrimes = Arrays.copyOf(factors, factorCount);
+        this.productIndex = new int[bitSize * bitSize];
+        this.productCarry = new int[bitSize * bitSize];
+        for (int i = 0; i < bitSize; i++) {
+            for (int j = 0; j < bitSize; j++) {
+                int product = offsets[i] * offsets[j];
+                productIndex[i * bitSize + j] = residueIndex[product % period];
+                productCarry[i * bitSize + j] = product / period;
+            }
+        }
+        this.segmentBlocks = (segmentBytes << 3) / bitSize;
+        this.pool = pool;
+    }
+
+    public WheelSieve(@NotNull BitSieveModel model) {
+        this(model, DEFAULT_SEGMENT_BYTES, ForkJoinPool.commonPool());
+    }
+
+    public WheelSieve() {
+        this(new BitSieveModel(210));
+    }
+
+    @NotNull
+    public BitSieveModel getModel() {
+        return model;
+    }
+
+    /**
+     * Plain sieve of odd numbers
+     *
+     * @return primes below the square root of the end, not dividing the period
+     */
+    @NotNull
+    int[] basePrimes(long end) {
+        final int limit = (int) Math.sqrt((double) end) + 1; // inclusive
+        final boolean[] composite = new boolean[limit + 1];
+        int[] primes = new int[64];
+        int count = 0;
+        for (int number = 2; number <= limit; number++) {
+            if (composite[number]) {
+                continue;
+            }
+            if ((long) number * number < end && period % number != 0) {
+                if (count == primes.length) {
+                    primes = Arrays.copyOf(primes, count << 1);
+                }
+                primes[count++] = number;
+            }
+            for (long multiple = (long) number * number; multiple <= limit; multiple += number) {
+                composite[(int) multiple] = true;
+            }
+        }
+        return Arrays.copyOf(primes, count);
+    }
+
+    private void checkRange(long start, long end) {
+        if (!(0L <= start && start <= end && end <= MAX)) {
+            throw new IllegalArgumentException("[" + start + ", " + end + ")");
+        }
+    }
+
+    /**
+     * Consecutive segments of [start, end), with the crossing state of the base primes
+     */
+    private class Task {
+
+        @NotNull
+        final int[] primes;
+
+        final long start, end;
+
+        /**
+         * block of the current segment
+         */
+        long segmentBlock;
+
+        final long endBlock;
+
+        /**
+         * bit 1 for a prime
+         */
+        @NotNull
+        final long[] words;
+
+        /**
+         * the next multiple of each base prime is p * (qb * period + offsets[qj])
+         */
+        @NotNull
+        final long[] qb;
+
+        @NotNull
+        final int[] qj;
+
+        Task(@NotNull int[] primes, long start, long end) {
+            super();
+            this.primes = primes;
+            this.start = start;
+            this.end = end;
+            this.segmentBlock = start / period;
+            this.endBlock = (end + period - 1) / period;
+            this.words = new long[(segmentBlocks * bitSize + Long.SIZE - 1) >> 6];
+            this.qb = new long[primes.length];
+            this.qj = new int[primes.length];
+            final long startNumber = segmentBlock * period;
+            for (int index = 0; index < primes.length; index++) {
+                long p = primes[index];
+                long q = Math.max(p, (startNumber + p - 1) / p);
+                long b = q / period;
+                int residue = (int) (q % period);
+                int j = 0;
+                while (j < bitSize && offsets[j] < residue) {
+                    j++;
+                }
+                if (j == bitSize) {
+                    j = 0;
+                    b++;
+                }
+                qb[index] = b;
+                qj[index] = j;
+            }
+        }
+
+        boolean hasNext() {
+            return segmentBlock < endBlock;
+        }
+
+        /**
+         * @return number of blocks sieved
+         */
+        int next() {
+            final long[] words = this.words;
+            final int blocks = (int) Math.min(segmentBlocks, endBlock - segmentBlock);
+            final int bits = blocks * bitSize;
+            Arrays.fill(words, -1L);
+            final long segmentEnd = segmentBlock + blocks;
+            final int[] primes = this.primes;
+            final int bitSize = WheelSieve.this.bitSize;
+            for (int index = 0; index < primes.length; index++) {
+                int p = primes[index];
+                int pq = p / period;
+                int row = residueIndex[p % period] * bitSize;
+                long b = qb[index];
+                int j = qj[index];
+                while (true) {
+                    long block = p * b + (long) pq * offsets[j] + productCarry[row + j];
+                    if (block >= segmentEnd) {
+                        break;
+                    }
+                    int bit = (int) (block - segmentBlock) * bitSize + productIndex[row + j];
+                    words[bit >>> 6] &= ~(1L << bit);
+                    if (++j == bitSize) {
+                        j = 0;
+                        b++;
+                    }
+                }
+                qb[index] = b;
+                qj[index] = j;
+            }
+            if ((bits & 0x3f) != 0) {
+                words[bits >>> 6] &= (1L << bits) - 1L;
+            }
+            Arrays.fill(words, (bits + 0x3f) >>> 6, words.length, 0L);
+            clearOutside(segmentBlock, bits);
+            clearOutside(segmentEnd - 1, bits);
+            if (segmentBlock == 0L) {
+                words[0] &= ~1L; // one is not a prime
+            }
+            return blocks;
+        }
+
+        private void clearOutside(long block, int bits) {
+            final long base = block * period;
+            final int firstBit = (int) (block - segmentBlock) * bitSize;
+            for (int j = 0; j < bitSize; j++) {
+                long number = base + offsets[j];
+                if (number < start || number >= end) {
+                    int bit = firstBit + j;
+                    if (bit < bits) {
+                        words[bit >>> 6] &= ~(1L << bit);
+                    }
+                }
+            }
+        }
+
+        long count() {
+            long count = 0L;
+            while (hasNext()) {
+                next();
+                for (long word : words) {
+                    count += Long.bitCount(word);
+                }
+                segmentBlock += segmentBlocks;
+            }
+            return count;
+        }
+
+        /**
+         * @return false if stopped by the action
+         */
+        boolean forEach(@NotNull LongPredicate action) {
+            while (hasNext()) {
+                next();
+                for (int index = 0; index < words.length; index++) {
+                    long word = words[index];
+                    while (word != 0L) {
+                        int bit = (index << 6) + Long.numberOfTrailingZeros(word);
+                        word &= word - 1L;
+                        if (!action.test((segmentBlock + bit / bitSize) * period + offsets[bit % bitSize])) {
+                            return false;
+                        }
+                    }
+                }
+                segmentBlock += segmentBlocks;
+            }
+            return true;
+        }
+    }
+
+    private int wheelPrimeCount(long start, long end) {
+        int count = 0;
+        for (int p : wheelPrimes) {
+            if (start <= p && p < end) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return boundaries of the tasks, at segment boundaries
+     */
+    @NotNull
+    private long[] split(long start, long end) {
+        final long span = (long) segmentBlocks * period;
+        final long segments = (end - start + span - 1) / span;
+        final long taskCount = Math.max(1L, Math.min(segments / SEGMENTS_PER_TASK, pool.getParallelism() * 4L));
+        final long segmentsPerTask = (segments + taskCount - 1) / taskCount;
+        final long[] bounds = new long[(int) taskCount + 1];
+        bounds[0] = start;
+        for (int index = 1; index < bounds.length; index++) {
+            bounds[index] = Math.min(end, (start / period + segmentsPerTask * segmentBlocks * index) * period);
+        }
+        bounds[bounds.length - 1] = end;
+        return bounds;
+    }
+
+    @NotNull
+    private <T> List<T> invoke(@NotNull List<Callable<T>> tasks) {
+        final List<T> results = new ArrayList<>(tasks.size());
+        try {
+            for (Future<T> future : pool.invokeAll(tasks)) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+        return results;
+    }
+
+    /**
+     * @return number of primes in [start, end)
+     */
+    public long count(long start, long end) {
+        checkRange(start, end);
+        if (start >= end) {
+            return 0L;
+        }
+        final int[] primes = basePrimes(end);
+        final long[] bounds = split(start, end);
+        final List<Callable<Long>> tasks = new ArrayList<>();
+        for (int index = 1; index < bounds.length; index++) {
+            long taskStart = bounds[index - 1];
+            long taskEnd = bounds[index];
+            tasks.add(() -> new Task(primes, taskStart, taskEnd).count());
+        }
+        long count = wheelPrimeCount(start, end);
+        for (long taskCount : invoke(tasks)) {
+            count += taskCount;
+        }
+        return count;
+    }
+
+    /**
+     * @return number of primes not greater than x
+     */
+    public long pi(long x) {
+        return x < 2L ? 0L : count(0L, x + 1L);
+    }
+
+    /**
+     * @return primes in [start, end), ascending
+     */
+    @NotNull
+    public long[] primes(long start, long end) {
+        checkRange(start, end);
+        if (start >= end) {
+            return new long[0];
+        }
+        final int[] primes = basePrimes(end);
+        final long[] bounds = split(start, end);
+        final List<Callable<long[]>> tasks = new ArrayList<>();
+        for (int index = 1; index < bounds.length; index++) {
+            long taskStart = bounds[index - 1];
+            long taskEnd = bounds[index];
+            tasks.add(() -> {
+                long[][] buffer = {new long[64]};
+                int[] length = new int[1];
+                new Task(primes, taskStart, taskEnd).forEach(prime -> {
+                    if (length[0] == buffer[0].length) {
+                        buffer[0] = Arrays.copyOf(buffer[0], length[0] << 1);
+                    }
+                    buffer[0][length[0]++] = prime;
+                    return true;
+                });
+                return Arrays.copyOf(buffer[0], length[0]);
+            });
+        }
+        final List<long[]> parts = invoke(tasks);
+        int length = wheelPrimeCount(start, end);
+        for (long[] part : parts) {
+            length += part.length;
+        }
+        final long[] result = new long[length];
+        length = 0;
+        for (int p : wheelPrimes) {
+            if (start <= p && p < end) {
+                result[length++] = p;
+            }
+        }
+        final int wheelCount = length;
+        for (long[] part : parts) {
+            System.arraycopy(part, 0, result, length, part.length);
+            length += part.length;
+        }
+        if (wheelCount != 0) {
+            int sortEnd = wheelCount;
+            while (sortEnd < length && result[sortEnd] < result[wheelCount - 1]) {
+                sortEnd++;
+            }
+            Arrays.sort(result, 0, sortEnd); // a wheel prime may exceed small sieved primes, as 13 for period 26
+        }
+        return result;
+    }
+
+    /**
+     * In the calling thread, in ascending order
+     *
+     * @return false if stopped by the action
+     */
+    public boolean forEachPrime(long start, long end, @NotNull LongPredicate action) {
+        checkRange(start, end);
+        if (start >= end) {
+            return true;
+        }
+        final int[] wheelIndex = {0};
+        final LongPredicate merged = prime -> {
+            while (wheelIndex[0] < wheelPrimes.length && wheelPrimes[wheelIndex[0]] < prime) {
+                int p = wheelPrimes[wheelIndex[0]++];
+                if (start <= p && !action.test(p)) {
+                    return false;
+                }
+            }
+            return action.test(prime);
+        };
+        if (!new Task(basePrimes(end), start, end).forEach(merged)) {
+            return false;
+        }
+        while (wheelIndex[0] < wheelPrimes.length) {
+            int p = wheelPrimes[wheelIndex[0]++];
+            if (start <= p && p < end && !action.test(p)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the smallest prime greater than the value
+     */
+    public long nextPrime(long value) {
+        long start = Math.max(0L, value + 1L);
+        long width = 1L << 10;
+        final long[] found = {-1L};
+        while (start < MAX) {
+            long end = Math.min(MAX, start + width);
+            forEachPrime(start, end, prime -> {
+                found[0] = prime;
+                return false;
+            });
+            if (found[0] >= 0L) {
+                return found[0];
+            }
+            start = end;
+            width <<= 1;
+        }
+        throw new ArithmeticException();
+    }
+
+    /**
+     * @return the greatest prime less than the value
+     */
+    public long previousPrime(long value) {
+        long end = Math.min(value, MAX);
+        long width = 1L << 10;
+        final long[] found = {-1L};
+        while (end > 2L) {
+            long start = Math.max(0L, end - width);
+            forEachPrime(start, end, prime -> {
+                found[0] = prime;
+                return true;
+            });
+            if (found[0] >= 0L) {
+                return found[0];
+            }
+            end = start;
+            width <<= 1;
+        }
+        throw new ArithmeticException();
+    }
+
+    @Override
+    public String toString() {
+        return "WheelSieve[period = " + period + ", bits = " + bitSize + ", segment blocks = " + segmentBlocks + "]";
+    }
+}
@@ -3,10 +3,12 @@ package mujica.algebra.random;
 import mujica.reflect.modifier.CodeHistory;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Objects;
 import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 
 @CodeHistory(date = "2022/4/2", project = "Ultramarine")
 @CodeHistory(date = "2025/3/2")
+@CodeHistory(date = "2026/10/17")
 public class GlobalRandomSource extends LocalRandomSource {
 
     public static final GlobalRandomSource INSTANCE = new GlobalRandomSource(0x99b2f581486c9adfL);
@@ -38,4 +40,39 @@ public class GlobalRandomSource extends LocalRandomSource {
             }
         }
     }
+
+    /**
+     * Values of a batch are computed off the shared seed, then claimed by one CAS
+     */
+    private static final int BATCH = 64;
+
+    @Override
+    public void fill(@NotNull long[] array, int startIndex, int endIndex) {
+        Objects.checkFromToIndex(startIndex, endIndex, array.length);
+        while (startIndex < endIndex) {
+            int batchEnd = Math.min(endIndex, startIndex + BATCH);
+            long x;
+            long nx;
+            do {
+                x = this.x;
+                nx = fill(x, array, startIndex, batchEnd);
+            } while (!X_UPDATER.compareAndSet(this, x, nx));
+            startIndex = batchEnd;
+        }
+    }
+
+    @Override
+    public void fill(@NotNull int[] array, int startIndex, int endIndex) {
+        Objects.checkFromToIndex(startIndex, endIndex, array.length);
+        while (startIndex < endIndex) {
+            int batchEnd = Math.min(endIndex, startIndex + BATCH);
+            long x;
+            long nx;
+            do {
+                x = this.x;
+                nx = fill(x, array, startIndex, batchEnd);
+            } while (!X_UPDATER.compareAndSet(this, x, nx));
+            startIndex = batchEnd;
+        }
+    }
 }
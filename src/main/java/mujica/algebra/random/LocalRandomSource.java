@@ -5,6 +5,7 @@ import mujica.reflect.modifier.Name;
 import mujica.reflect.modifier.ReferenceCode;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Objects;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.IntSupplier;
 import java.util.function.LongSupplier;
@@ -12,6 +13,7 @@ import java.util.function.LongSupplier;
 @CodeHistory(date = "2020/7/20", project = "JdkLcg")
 @CodeHistory(date = "2022/4/2", project = "Ultramarine")
 @CodeHistory(date = "2025/3/2")
+@CodeHistory(date = "2026/10/17")
 @ReferenceCode(groupId = "oracle-jdk", artifactId = "java.base", fullyQualifiedName = "java.util.Random")
 public class LocalRandomSource implements RandomSource, LongSupplier {
 
@@ -89,6 +91,41 @@ public class LocalRandomSource implements RandomSource, LongSupplier {
         return this;
     }
 
+    /**
+     * The same values as calls one by one, with one volatile write at the end
+     */
+    @Override
+    public void fill(@NotNull long[] array, int startIndex, int endIndex) {
+        Objects.checkFromToIndex(startIndex, endIndex, array.length);
+        this.x = fill(x, array, startIndex, endIndex);
+    }
+
+    /**
+     * @return the last seed
+     */
+    static long fill(long x, @NotNull long[] array, int startIndex, int endIndex) {
+        for (int index = startIndex; index < endIndex; index++) {
+            long high = (x * A + C) & M;
+            x = (high * A + C) & M;
+            array[index] = (high << (Long.SIZE - H)) ^ x;
+        }
+        return x;
+    }
+
+    @Override
+    public void fill(@NotNull int[] array, int startIndex, int endIndex) {
+        Objects.checkFromToIndex(startIndex, endIndex, array.length);
+        this.x = fill(x, array, startIndex, endIndex);
+    }
+
+    static long fill(long x, @NotNull int[] array, int startIndex, int endIndex) {
+        for (int index = startIndex; index < endIndex; index++) {
+            x = (x * A + C) & M;
+            array[index] = (int) (x >>> (H - Integer.SIZE));
+        }
+        return x;
+    }
+
     @Override
     public boolean equals(Object obj) {
         return obj instanceof LocalRandomSource && x == ((LocalRandomSource) obj).x;
@@ -16,6 +16,7 @@ import java.util.*;
 @CodeHistory(date = "2022/4/2", project = "infrastructure")
 @CodeHistory(date = "2022/5/26", project = "Ultramarine")
 @CodeHistory(date = "2025/3/3")
+@CodeHistory(date = "2026/10/17")
 public class RandomContext implements Serializable {
 
     private static final long serialVersionUID = 0x0cd1e2a8e072e5d5L;
@@ -286,12 +287,14 @@ public class RandomContext implements Serializable {
     @NotNull
     public int[] nextIntArray(int length) {
         final int[] array = new int[length];
-        for (int i = 0; i < length; i++) {
-            array[i] = nextInt();
-        }
+        source.fill(array, 0, length);
         return array;
     }
 
+    public void fillIntArray(@NotNull int[] array, int startIndex, int endIndex) {
+        source.fill(array, startIndex, endIndex);
+    }
+
     @NotNull
     public int[] nextIntArray(int end, int length) {
         if (end < 1) {
@@ -447,12 +450,14 @@ public class RandomContext implements Serializable {
     @NotNull
     public long[] nextLongArray(int length) {
         final long[] array = new long[length];
-        for (int i = 0; i < length; i++) {
-            array[i] = nextLong();
-        }
+        source.fill(array, 0, length);
         return array;
     }
 
+    public void fillLongArray(@NotNull long[] array, int startIndex, int endIndex) {
+        source.fill(array, startIndex, endIndex);
+    }
+
     @NotNull
     public long[] nextLongArray(long end, int length) {
         if (end < 1) {
@@ -3,6 +3,7 @@ package mujica.algebra.random;
 import mujica.reflect.modifier.CodeHistory;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Objects;
 import java.util.function.IntSupplier;
 import java.util.function.IntToLongFunction;
 import java.util.function.LongSupplier;
@@ -10,6 +11,7 @@ import java.util.function.LongSupplier;
 @CodeHistory(date = "2018/11/28", project = "mmc", name = "DiscreteRandom")
 @CodeHistory(date = "2020/7/20", project = "va")
 @CodeHistory(date = "2022/4/2")
+@CodeHistory(date = "2026/10/17")
 @FunctionalInterface
 public interface RandomSource extends IntToLongFunction, Cloneable {
 
@@ -30,4 +32,24 @@ public interface RandomSource extends IntToLongFunction, Cloneable {
         }
         return () -> applyAsLong(bitCount);
     }
+
+    /**
+     * Sources override it to keep their state in locals for the whole loop
+     */
+    default void fill(@NotNull long[] array, int startIndex, int endIndex) {
+        Objects.checkFromToIndex(startIndex, endIndex, array.length);
+        for (int index = startIndex; index < endIndex; index++) {
+            array[index] = applyAsLong(Long.SIZE);
+        }
+    }
+
+    /**
+     * Sources of 64 bits may take two values from each step, so the values may differ from calls one by one
+     */
+    default void fill(@NotNull int[] array, int startIndex, int endIndex) {
+        Objects.checkFromToIndex(startIndex, endIndex, array.length);
+        for (int index = startIndex; index < endIndex; index++) {
+            array[index] = (int) applyAsLong(Integer.SIZE);
+        }
+    }
 }
@@ -5,10 +5,12 @@ import mujica.reflect.modifier.Name;
 import mujica.reflect.modifier.ReferenceCode;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Objects;
 import java.util.function.IntSupplier;
 import java.util.function.LongSupplier;
 
 @CodeHistory(date = "2025/12/14")
+@CodeHistory(date = "2026/10/17")
 @ReferenceCode(groupId = "oracle-jdk", artifactId = "java.base", version = "12", fullyQualifiedName = "java.util.SplittableRandom")
 public class SimpleSplitSource implements SplitSource<SimpleSplitSource>, LongSupplier {
 
@@ -17,7 +19,7 @@ public class SimpleSplitSource implements SplitSource<SimpleSplitSource>, LongSu
     /**
      * Computes Stafford variant 13 of 64bit mix function.
      */
-    private static long mix64(long z) {
+    static long mix64(long z) {
         z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
         z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
         return z ^ (z >>> 31);
@@ -26,7 +28,7 @@ public class SimpleSplitSource implements SplitSource<SimpleSplitSource>, LongSu
     /**
      * Returns the gamma value to use for a new split instance.
      */
-    private static long mixGamma(long z) {
+    static long mixGamma(long z) {
         z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL; // MurmurHash3 mix constants
         z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
         z = (z ^ (z >>> 33)) | 1L; // force to be odd
@@ -112,6 +114,34 @@ public class SimpleSplitSource implements SplitSource<SimpleSplitSource>, LongSu
         return () -> (int) (getAsLong() >>> shift);
     }
 
+    @Override
+    public void fill(@NotNull long[] array, int startIndex, int endIndex) {
+        Objects.checkFromToIndex(startIndex, endIndex, array.length);
+        final long c = this.c;
+        long x = this.x;
+        for (int index = startIndex; index < endIndex; index++) {
+            x += c;
+            array[index] = mix64(x);
+        }
+        this.x = x;
+    }
+
+    @Override
+    public void fill(@NotNull int[] array, int startIndex, int endIndex) {
+        Objects.checkFromToIndex(startIndex, endIndex, array.length);
+        final long c = this.c;
+        long x = this.x;
+        for (int index = startIndex; index < endIndex; index += 2) {
+            x += c;
+            long result = mix64(x);
+            array[index] = (int) (result >>> 32);
+            if (index + 1 < endIndex) {
+                array[index + 1] = (int) result;
+            }
+        }
+        this.x = x;
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (!(obj instanceof SimpleSplitSource)) {
@@ -0,0 +1,109 @@
+package mujica.algebra.random;
+
+import mujica.reflect.modifier.CodeHistory;
+import mujica.reflect.modifier.ReferenceCode;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Objects;
+import java.util.function.LongSupplier;
+
+/**
+ * A shared source in padded cells, each a SplitMix64 stream with its own gamma; a thread always draws from the
+ * cell of its id. Advancing a cell is a single atomic add, which never fails and retries like the CAS of
+ * GlobalRandomSource, and a fill claims all its steps with one add
+ */
+@CodeHistory(date = "2026/10/17")
+@ReferenceCode(groupId = "oracle-jdk", artifactId = "java.base", version = "12", fullyQualifiedName = "java.util.SplittableRandom")
+public class StripedRandomSource implements RandomSource, LongSupplier {
+
+    public static final StripedRandomSource INSTANCE = new StripedRandomSource(GlobalRandomSource.INSTANCE.getAsLong(),
+            Runtime.getRuntime().availableProcessors() * 2);
+
+    private static final VarHandle CELL = MethodHandles.arrayElementVarHandle(long[].class);
+
+    /**
+     * 128 bytes, so that no two cells share a line, or a pair of lines of the adjacent line prefetcher
+     */
+    private static final int STRIDE = 16;
+
+    private final int mask;
+
+    /**
+     * seed at index * STRIDE, gamma right after it
+     */
+    @NotNull
+    private final long[] cells;
+
+    /**
+     * @param stripes rounded up to a power of two
+     */
+    public StripedRandomSource(long seed, int stripes) {
+        super();
+        if (stripes <= 0 || stripes > (1 << 16)) {
+            throw new IllegalArgumentException("stripes = " + stripes);
+        }
+        stripes = Integer.highestOneBit(stripes - 1) << 1;
+        if (stripes == 0) {
+            stripes = 1;
+        }
+        this.mask = stripes - 1;
+        this.cells = new long[(stripes + 1) * STRIDE]; // padding before the first cell too
+        for (int index = 0; index < stripes; index++) {
+            seed += 0x9e3779b97f4a7c15L;
+            cells[(index + 1) * STRIDE] = SimpleSplitSource.mix64(seed);
+            seed += 0x9e3779b97f4a7c15L;
+            cells[(index + 1) * STRIDE + 1] = SimpleSplitSource.mixGamma(seed);
+        }
+    }
+
+    public int stripeCount() {
+        return mask + 1;
+    }
+
+    private int cell() {
+        final long id = Thread.currentThread().getId();
+        return ((int) SimpleSplitSource.mix64(id) & mask) * STRIDE + STRIDE;
+    }
+
+    @Override
+    public long getAsLong() {
+        final int cell = cell();
+        final long gamma = cells[cell + 1];
+        return SimpleSplitSource.mix64((long) CELL.getAndAdd(cells, cell, gamma) + gamma);
+    }
+
+    @Override
+    public long applyAsLong(int bitCount) {
+        return getAsLong() >>> (Long.SIZE - bitCount);
+    }
+
+    @Override
+    public void fill(@NotNull long[] array, int startIndex, int endIndex) {
+        Objects.checkFromToIndex(startIndex, endIndex, array.length);
+        final int cell = cell();
+        final long gamma = cells[cell + 1];
+        long x = (long) CELL.getAndAdd(cells, cell, gamma * (endIndex - startIndex));
+        for (int index = startIndex; index < endIndex; index++) {
+            x += gamma;
+            array[index] = SimpleSplitSource.mix64(x);
+        }
+    }
+
+    @Override
+    public void fill(@NotNull int[] array, int startIndex, int endIndex) {
+        Objects.checkFromToIndex(startIndex, endIndex, array.length);
+        final int cell = cell();
+        final long gamma = cells[cell + 1];
+        long x = (long) CELL.getAndAdd(cells, cell, gamma * ((endIndex - startIndex + 1) >> 1));
+        for (int index = startIndex; index < endIndex; index += 2) {
+            x += gamma;
+            long result = SimpleSplitSource.mix64(x);
+            array[index] = (int) (result >>> 32);
+            if (index + 1 < endIndex) {
+                array[index + 1] = (int) result;
+            }
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package mujica.algebra.random;
+
+import mujica.reflect.modifier.CodeHistory;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Each thread draws from its own source, made once per thread from a shared root, so drawing never touches
+ * shared memory. Hot loops can hold current() instead of looking it up per call
+ */
+@CodeHistory(date = "2026/10/17")
+public class ThreadLocalRandomSource implements RandomSource, LongSupplier {
+
+    public static final ThreadLocalRandomSource INSTANCE = jumping(new XoRoShiRo128PlusPlus(GlobalRandomSource.INSTANCE));
+
+    /**
+     * Each thread gets the root state, and the root jumps 2**64 steps ahead, so the streams never overlap
+     */
+    @NotNull
+    public static ThreadLocalRandomSource jumping(@NotNull XoRoShiRo128PlusPlus root) {
+        return new ThreadLocalRandomSource(() -> {
+            final XoRoShiRo128PlusPlus source;
+            try {
+                source = root.clone();
+            } catch (CloneNotSupportedException e) {
+                throw new IllegalStateException(e);
+            }
+            root.jump();
+            return source;
+        });
+    }
+
+    @NotNull
+    public static <T extends SplitSource<T>> ThreadLocalRandomSource splitting(@NotNull T root) {
+        return new ThreadLocalRandomSource(root::split);
+    }
+
+    @NotNull
+    private final Supplier<? extends RandomSource> factory;
+
+    @NotNull
+    private final ThreadLocal<RandomSource> local = ThreadLocal.withInitial(this::create);
+
+    /**
+     * @param factory called once per thread, never concurrently
+     */
+    public ThreadLocalRandomSource(@NotNull Supplier<? extends RandomSource> factory) {
+        super();
+        this.factory = factory;
+    }
+
+    @NotNull
+    private synchronized RandomSource create() {
+        return factory.get();
+    }
+
+    /**
+     * @return source of the calling thread, not to be shared with other threads
+     */
+    @NotNull
+    public RandomSource current() {
+        return local.get();
+    }
+
+    @Override
+    public long getAsLong() {
+        return local.get().applyAsLong(Long.SIZE);
+    }
+
+    @Override
+    public long applyAsLong(int bitCount) {
+        return local.get().applyAsLong(bitCount);
+    }
+
+    @Override
+    public void fill(@NotNull long[] array, int startIndex, int endIndex) {
+        local.get().fill(array, startIndex, endIndex);
+    }
+
+    @Override
+    public void fill(@NotNull int[] array, int startIndex, int endIndex) {
+        local.get().fill(array, startIndex, endIndex);
+    }
+}
@@ -6,10 +6,12 @@ import mujica.reflect.modifier.ReferenceCode;
 import mujica.reflect.modifier.ReferencePage;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Objects;
 import java.util.function.IntSupplier;
 import java.util.function.LongSupplier;
 
 @CodeHistory(date = "2025/12/30")
+@CodeHistory(date = "2026/10/17")
 @ReferencePage(title = "A PRNG shootout", href = "http://xoshiro.di.unimi.it/")
 @ReferenceCode(groupId = "it.unimi.dsi", artifactId = "dsiutils", version = "2.7.4", fullyQualifiedName = "it.unimi.dsi.util.XoRoShiRo128PlusPlusRandom")
 @ReferenceCode(groupId = "org.apache.commons", artifactId = "commons-rng-core", version = "1.6", fullyQualifiedName = "org.apache.commons.rng.core.source64.XoRoShiRo128PlusPlus")
@@ -76,6 +78,40 @@ public class XoRoShiRo128PlusPlus implements RandomSource, LongSupplier {
         return () -> (int) (getAsLong() >>> shift);
     }
 
+    @Override
+    public void fill(@NotNull long[] array, int startIndex, int endIndex) {
+        Objects.checkFromToIndex(startIndex, endIndex, array.length);
+        long s0 = this.s0;
+        long s1 = this.s1;
+        for (int index = startIndex; index < endIndex; index++) {
+            array[index] = Long.rotateLeft(s0 + s1, 17) + s0;
+            s1 ^= s0;
+            s0 = Long.rotateLeft(s0, 49) ^ s1 ^ (s1 << 21);
+            s1 = Long.rotateLeft(s1, 28);
+        }
+        this.s0 = s0;
+        this.s1 = s1;
+    }
+
+    @Override
+    public void fill(@NotNull int[] array, int startIndex, int endIndex) {
+        Objects.checkFromToIndex(startIndex, endIndex, array.length);
+        long s0 = this.s0;
+        long s1 = this.s1;
+        for (int index = startIndex; index < endIndex; index += 2) {
+            long result = Long.rotateLeft(s0 + s1, 17) + s0;
+            s1 ^= s0;
+            s0 = Long.rotateLeft(s0, 49) ^ s1 ^ (s1 << 21);
+            s1 = Long.rotateLeft(s1, 28);
+            array[index] = (int) (result >>> 32);
+            if (index + 1 < endIndex) {
+                array[index + 1] = (int) result;
+            }
+        }
+        this.s0 = s0;
+        this.s1 = s1;
+    }
+
     private void jump(long[] jump) {
         long s0 = 0;
         long s1 = 0;
@@ -11,7 +11,8 @@ import java.util.function.IntConsumer;
 import java.util.function.IntPredicate;
 
 @CodeHistory(date = "2025/3/27")
-@DirectSubclass({EmptyI32Map.class, JdkI32Map.class, JdkI32SlotMap.class, LookUpI32Map.class, NavigableS32Map.class})
+@CodeHistory(date = "2026/10/17")
+@DirectSubclass({EmptyI32Map.class, JdkI32Map.class, JdkI32SlotMap.class, LookUpI32Map.class, NavigableS32Map.class, RobinHoodI32Map.class})
 public abstract class IterableI32Map extends I32Map implements Iterable<I32Map.Entry> {
 
     protected IterableI32Map() {
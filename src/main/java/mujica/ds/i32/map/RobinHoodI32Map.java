@@ -0,0 +1,454 @@
+package mujica.ds.i32.map;
+
+import mujica.ds.i32.list.CapacityPolicy;
+import mujica.ds.i32.list.IntEntryConsumer;
+import mujica.ds.i32.list.TwiceCapacityPolicy;
+import mujica.reflect.modifier.CodeHistory;
+import mujica.reflect.modifier.ReferencePage;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+/**
+ * Open addressing in two flat arrays, with linear probing kept in Robin Hood order and backward shift deletion.
+ * A zero value marks an empty slot, as zero values are not stored. The home slot is taken from the high bits of
+ * the mixed key times the capacity, so any capacity of the policy works
+ */
+@CodeHistory(date = "2026/10/17")
+@ReferencePage(title = "Robin Hood hashing", href = "https://cs.uwaterloo.ca/research/tr/1986/CS-86-14.pdf")
+public class RobinHoodI32Map extends IterableI32Map {
+
+    private static final long serialVersionUID = 0x5d1e8a07c34bf962L;
+
+    @NotNull
+    private final CapacityPolicy policy;
+
+    @NotNull
+    private int[] keys;
+
+    @NotNull
+    private int[] values;
+
+    private int size;
+
+    private transient int modCount;
+
+    public RobinHoodI32Map(@Nullable CapacityPolicy policy, int expectedSize) {
+        super();
+        if (policy == null) {
+            policy = TwiceCapacityPolicy.INSTANCE;
+        }
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException();
+        }
+        int capacity = policy.initialCapacity();
+        while (overloaded(policy, expectedSize, capacity)) {
+            capacity = policy.nextLargerCapacity(capacity);
+        }
+        this.policy = policy;
+        this.keys = new int[capacity];
+        this.values = new int[capacity];
+    }
+
+    public RobinHoodI32Map(@Nullable CapacityPolicy policy) {
+        this(policy, 0);
+    }
+
+    public RobinHoodI32Map() {
+        this(null, 0);
+    }
+
+    private RobinHoodI32Map(@NotNull RobinHoodI32Map that) {
+        super();
+        this.policy = that.policy;
+        this.keys = that.keys.clone();
+        this.values = that.values.clone();
+        this.size = that.size;
+    }
+
+    @NotNull
+    @Override
+    @SuppressWarnings("MethodDoesntCallSuperMethod")
+    public RobinHoodI32Map clone() {
+        return duplicate();
+    }
+
+    @NotNull
+    @Override
+    public RobinHoodI32Map duplicate() {
+        return new RobinHoodI32Map(this);
+    }
+
+    /**
+     * At least one slot is always empty, so that probing ends and the iterator has a place to start
+     */
+    private static boolean overloaded(@NotNull CapacityPolicy policy, int size, int capacity) {
+        return size >= capacity || policy.testLoadedSize(size, capacity);
+    }
+
+    /**
+     * fmix32 of MurmurHash3
+     */
+    static int mix(int key) {
+        key ^= key >>> 16;
+        key *= 0x85ebca6b;
+        key ^= key >>> 13;
+        key *= 0xc2b2ae35;
+        key ^= key >>> 16;
+        return key;
+    }
+
+    static int home(int key, int capacity) {
+        return (int) (((mix(key) & 0xffffffffL) * capacity) >>> 32);
+    }
+
+    private static int distance(int index, int key, int capacity) {
+        final int distance = index - home(key, capacity);
+        return distance < 0 ? distance + capacity : distance;
+    }
+
+    public int capacity() {
+        return keys.length;
+    }
+
+    /**
+     * @return slot index, or -1 when not found
+     */
+    private int find(int key) {
+        final int[] keys = this.keys;
+        final int[] values = this.values;
+        final int capacity = keys.length;
+        int index = home(key, capacity);
+        for (int probe = 0; values[index] != 0; probe++) {
+            int other = keys[index];
+            if (other == key) {
+                return index;
+            }
+            if (distance(index, other, capacity) < probe) {
+                break; // it would have displaced this slot
+            }
+            if (++index == capacity) {
+                index = 0;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * The key must be absent, and there must be an empty slot
+     */
+    private static void insert(@NotNull int[] keys, @NotNull int[] values, int key, int value) {
+        final int capacity = keys.length;
+        int index = home(key, capacity);
+        int probe = 0;
+        while (values[index] != 0) {
+            int other = keys[index];
+            int distance = distance(index, other, capacity);
+            if (distance < probe) {
+                keys[index] = key;
+                key = other;
+                other = values[index];
+                values[index] = value;
+                value = other;
+                probe = distance;
+            }
+            if (++index == capacity) {
+                index = 0;
+            }
+            probe++;
+        }
+        keys[index] = key;
+        values[index] = value;
+    }
+
+    private void removeAt(int index) {
+        final int[] keys = this.keys;
+        final int[] values = this.values;
+        final int capacity = keys.length;
+        while (true) {
+            int next = index + 1;
+            if (next == capacity) {
+                next = 0;
+            }
+            if (values[next] == 0 || distance(next, keys[next], capacity) == 0) {
+                break;
+            }
+            keys[index] = keys[next];
+            values[index] = values[next];
+            index = next;
+        }
+        values[index] = 0;
+        size--;
+        modCount++;
+    }
+
+    private void rehash() {
+        final int oldCapacity = keys.length;
+        final int newCapacity = policy.nextCapacity(oldCapacity);
+        if (newCapacity <= oldCapacity) {
+            throw new IllegalStateException("capacity " + oldCapacity + " is full");
+        }
+        final int[] newKeys = new int[newCapacity];
+        final int[] newValues = new int[newCapacity];
+        for (int index = 0; index < oldCapacity; index++) {
+            int value = values[index];
+            if (value != 0) {
+                insert(newKeys, newValues, keys[index], value);
+            }
+        }
+        keys = newKeys;
+        values = newValues;
+        modCount++;
+    }
+
+    private void add(int key, int value) {
+        while (overloaded(policy, size + 1, keys.length)) {
+            rehash();
+        }
+        insert(keys, values, key, value);
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public void checkHealth(@NotNull Consumer<RuntimeException> consumer) {
+        final int capacity = keys.length;
+        int count = 0;
+        for (int index = 0; index < capacity; index++) {
+            if (values[index] == 0) {
+                continue;
+            }
+            count++;
+            int key = keys[index];
+            int found = find(key);
+            if (found != index) {
+                consumer.accept(new RuntimeException("key " + key + " at " + index + " is found at " + found));
+            }
+            int next = index + 1 == capacity ? 0 : index + 1;
+            if (values[next] != 0 && distance(next, keys[next], capacity) > distance(index, key, capacity) + 1) {
+                consumer.accept(new RuntimeException("probe distance jumps at " + next));
+            }
+        }
+        if (count != size) {
+            consumer.accept(new RuntimeException("size mismatch; expected = " + count + ", actual = " + size));
+        }
+        if (count >= capacity) {
+            consumer.accept(new RuntimeException("no empty slot"));
+        }
+    }
+
+    @Override
+    public long nonZeroKeyCount() {
+        return size;
+    }
+
+    @Override
+    public long sumOfValues() {
+        long sum = 0L;
+        for (int value : values) {
+            sum += value;
+        }
+        return sum;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(values, 0);
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public int getI32(int key) {
+        final int index = find(key);
+        return index >= 0 ? values[index] : 0;
+    }
+
+    @Override
+    public int putI32(int key, int newValue) {
+        final int index = find(key);
+        if (index >= 0) {
+            final int oldValue = values[index];
+            if (newValue != 0) {
+                values[index] = newValue;
+            } else {
+                removeAt(index);
+            }
+            return oldValue;
+        }
+        if (newValue != 0) {
+            add(key, newValue);
+        }
+        return 0;
+    }
+
+    /**
+     * One probe sequence, not a get and a put
+     */
+    @Override
+    public int addI32(int key, int delta) {
+        final int index = find(key);
+        if (index >= 0) {
+            final int oldValue = values[index];
+            final int newValue = oldValue + delta;
+            if (newValue != 0) {
+                values[index] = newValue;
+            } else {
+                removeAt(index);
+            }
+            return oldValue;
+        }
+        if (delta != 0) {
+            add(key, delta);
+        }
+        return 0;
+    }
+
+    @Override
+    public void forEach(@NotNull IntEntryConsumer action) {
+        final int[] keys = this.keys;
+        final int[] values = this.values;
+        for (int index = 0; index < values.length; index++) {
+            int value = values[index];
+            if (value != 0) {
+                action.accept(keys[index], value);
+            }
+        }
+    }
+
+    @Override
+    public void forEachKey(@NotNull IntConsumer action) {
+        final int[] keys = this.keys;
+        final int[] values = this.values;
+        for (int index = 0; index < values.length; index++) {
+            if (values[index] != 0) {
+                action.accept(keys[index]);
+            }
+        }
+    }
+
+    @Override
+    public void forEachValue(@NotNull IntConsumer action) {
+        for (int value : values) {
+            if (value != 0) {
+                action.accept(value);
+            }
+        }
+    }
+
+    /**
+     * Starts after an empty slot, which no backward shift can cross, so removing from the iterator
+     * never brings a visited entry forward
+     */
+    @NotNull
+    @Override
+    public Iterator<Entry> iterator() {
+        return new Iterator<>() {
+
+            @NotNull
+            final SimpleIntMapEntry entry = new SimpleIntMapEntry();
+
+            int index;
+
+            int remaining = keys.length;
+
+            int lastIndex = -1;
+
+            int expectedModCount = modCount;
+
+            {
+                while (values[index] != 0) {
+                    index++;
+                }
+            }
+
+            private void step() {
+                if (++index == values.length) {
+                    index = 0;
+                }
+                remaining--;
+            }
+
+            @Override
+            public boolean hasNext() {
+                if (expectedModCount != modCount) {
+                    throw new ConcurrentModificationException();
+                }
+                while (remaining > 0 && values[index] == 0) {
+                    step();
+                }
+                return remaining > 0;
+            }
+
+            @Override
+            public Entry next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                entry.key = keys[index];
+                entry.value = values[index];
+                lastIndex = index;
+                step();
+                return entry;
+            }
+
+            @Override
+            public void remove() {
+                if (lastIndex == -1) {
+                    throw new IllegalStateException();
+                }
+                if (expectedModCount != modCount) {
+                    throw new ConcurrentModificationException();
+                }
+                removeAt(lastIndex); // the slot now holds the next entry of the chain, or nothing
+                expectedModCount = modCount;
+                index = lastIndex;
+                remaining++;
+                lastIndex = -1;
+            }
+        };
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 0;
+        for (int index = 0; index < values.length; index++) {
+            if (values[index] != 0) {
+                hash += keys[index] ^ values[index]; // same as HashMap<Integer, Integer>
+            }
+        }
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof RobinHoodI32Map)) {
+            return false;
+        }
+        final RobinHoodI32Map that = (RobinHoodI32Map) obj;
+        if (this.size != that.size) {
+            return false;
+        }
+        for (int index = 0; index < values.length; index++) {
+            if (values[index] != 0 && that.getI32(keys[index]) != values[index]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @NotNull
+    @Override
+    public String summaryToString() {
+        return "RobinHoodI32Map<size = " + size + ", capacity = " + keys.length + ">";
+    }
+}
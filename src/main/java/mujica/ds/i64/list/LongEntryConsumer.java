@@ -0,0 +1,10 @@
+package mujica.ds.i64.list;
+
+import mujica.reflect.modifier.CodeHistory;
+
+@CodeHistory(date = "2026/10/17")
+@FunctionalInterface
+public interface LongEntryConsumer {
+
+    void accept(long key, long value);
+}
@@ -0,0 +1,388 @@
+package mujica.ds.i64.map;
+
+import mujica.ds.base.DataStructure;
+import mujica.ds.i32.list.CapacityPolicy;
+import mujica.ds.i32.list.TwiceCapacityPolicy;
+import mujica.ds.i64.list.LongEntryConsumer;
+import mujica.ds.i64.set.I64Set;
+import mujica.reflect.modifier.CodeHistory;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+import java.util.function.LongPredicate;
+
+/**
+ * Mapping from long to long, initially all map to zero, like I32Map. Linear probing over two flat arrays;
+ * a zero value marks an empty slot, so any key can be stored
+ */
+@CodeHistory(date = "2026/10/17")
+public class I64Map implements DataStructure {
+
+    private static final long serialVersionUID = 0x81d4e6f20b79ac35L;
+
+    @NotNull
+    final CapacityPolicy policy;
+
+    @NotNull
+    long[] keys;
+
+    @NotNull
+    long[] values;
+
+    int size;
+
+    transient int modCount;
+
+    public I64Map(@Nullable CapacityPolicy policy, int expectedSize) {
+        super();
+        if (policy == null) {
+            policy = TwiceCapacityPolicy.INSTANCE;
+        }
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException();
+        }
+        int capacity = policy.initialCapacity();
+        while (overloaded(policy, expectedSize, capacity)) {
+            capacity = policy.nextLargerCapacity(capacity);
+        }
+        this.policy = policy;
+        this.keys = new long[capacity];
+        this.values = new long[capacity];
+    }
+
+    public I64Map(@Nullable CapacityPolicy policy) {
+        this(policy, 0);
+    }
+
+    public I64Map() {
+        this(null, 0);
+    }
+
+    @NotNull
+    @Override
+    @SuppressWarnings("MethodDoesntCallSuperMethod")
+    public I64Map clone() {
+        return duplicate();
+    }
+
+    @NotNull
+    @Override
+    public I64Map duplicate() {
+        final I64Map that = new I64Map(policy);
+        that.keys = this.keys.clone();
+        that.values = this.values.clone();
+        that.size = this.size;
+        return that;
+    }
+
+    private static boolean overloaded(@NotNull CapacityPolicy policy, int size, int capacity) {
+        return size >= capacity || policy.testLoadedSize(size, capacity);
+    }
+
+    public int capacity() {
+        return keys.length;
+    }
+
+    /**
+     * @return slot index, or the bitwise complement of the empty slot where it would be
+     */
+    private int find(long key) {
+        final long[] keys = this.keys;
+        final long[] values = this.values;
+        final int capacity = keys.length;
+        int index = I64Set.home(key, capacity);
+        while (values[index] != 0L) {
+            if (keys[index] == key) {
+                return index;
+            }
+            if (++index == capacity) {
+                index = 0;
+            }
+        }
+        return ~index;
+    }
+
+    private void removeAt(int hole) {
+        final long[] keys = this.keys;
+        final long[] values = this.values;
+        final int capacity = keys.length;
+        int index = hole;
+        while (true) {
+            if (++index == capacity) {
+                index = 0;
+            }
+            if (values[index] == 0L) {
+                break;
+            }
+            long key = keys[index];
+            if (I64Set.movable(hole, I64Set.home(key, capacity), index)) {
+                keys[hole] = key;
+                values[hole] = values[index];
+                hole = index;
+            }
+        }
+        values[hole] = 0L;
+        size--;
+        modCount++;
+    }
+
+    private void rehash() {
+        final int oldCapacity = keys.length;
+        final int newCapacity = policy.nextCapacity(oldCapacity);
+        if (newCapacity <= oldCapacity) {
+            throw new IllegalStateException("capacity " + oldCapacity + " is full");
+        }
+        final long[] newKeys = new long[newCapacity];
+        final long[] newValues = new long[newCapacity];
+        for (int oldIndex = 0; oldIndex < oldCapacity; oldIndex++) {
+            long value = values[oldIndex];
+            if (value == 0L) {
+                continue;
+            }
+            long key = keys[oldIndex];
+            int index = I64Set.home(key, newCapacity);
+            while (newValues[index] != 0L) {
+                if (++index == newCapacity) {
+                    index = 0;
+                }
+            }
+            newKeys[index] = key;
+            newValues[index] = value;
+        }
+        keys = newKeys;
+        values = newValues;
+        modCount++;
+    }
+
+    private void insert(long key, long value, int index) {
+        if (overloaded(policy, size + 1, keys.length)) {
+            do {
+                rehash();
+            } while (overloaded(policy, size + 1, keys.length));
+            index = find(key);
+        }
+        keys[~index] = key;
+        values[~index] = value;
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public void checkHealth(@NotNull Consumer<RuntimeException> consumer) {
+        final int capacity = keys.length;
+        int count = 0;
+        for (int k = 0; k < capacity; k++) {
+            if (values[k] == 0L) {
+                continue;
+            }
+            count++;
+            int found = find(keys[k]);
+            if (found != k) {
+                consumer.accept(new RuntimeException("key " + keys[k] + " at " + k + " is found at " + found));
+            }
+        }
+        if (count != size) {
+            consumer.accept(new RuntimeException("size mismatch; expected = " + count + ", actual = " + size));
+        }
+        if (count >= capacity) {
+            consumer.accept(new RuntimeException("no empty slot"));
+        }
+    }
+
+    public int nonZeroKeyCount() {
+        return size;
+    }
+
+    public long sumOfValues() {
+        long sum = 0L;
+        for (long value : values) {
+            sum += value;
+        }
+        return sum;
+    }
+
+    public void clear() {
+        Arrays.fill(values, 0L);
+        size = 0;
+        modCount++;
+    }
+
+    public long getI64(long key) {
+        final int index = find(key);
+        return index >= 0 ? values[index] : 0L;
+    }
+
+    public long putI64(long key, long newValue) {
+        final int index = find(key);
+        if (index >= 0) {
+            final long oldValue = values[index];
+            if (newValue != 0L) {
+                values[index] = newValue;
+            } else {
+                removeAt(index);
+            }
+            return oldValue;
+        }
+        if (newValue != 0L) {
+            insert(key, newValue, index);
+        }
+        return 0L;
+    }
+
+    public long addI64(long key, long delta) {
+        final int index = find(key);
+        if (index >= 0) {
+            final long oldValue = values[index];
+            final long newValue = oldValue + delta;
+            if (newValue != 0L) {
+                values[index] = newValue;
+            } else {
+                removeAt(index);
+            }
+            return oldValue;
+        }
+        if (delta != 0L) {
+            insert(key, delta, index);
+        }
+        return 0L;
+    }
+
+    public void increaseI64(long key) {
+        addI64(key, 1L);
+    }
+
+    public void decreaseI64(long key) {
+        addI64(key, -1L);
+    }
+
+    public void addAll(@NotNull long[] array) {
+        for (long key : array) {
+            addI64(key, 1L);
+        }
+    }
+
+    public void addAll(@NotNull I64Map that) {
+        that.forEach(this::addI64);
+    }
+
+    public void forEach(@NotNull LongEntryConsumer action) {
+        final long[] keys = this.keys;
+        final long[] values = this.values;
+        for (int index = 0; index < values.length; index++) {
+            long value = values[index];
+            if (value != 0L) {
+                action.accept(keys[index], value);
+            }
+        }
+    }
+
+    public void forEachKey(@NotNull LongConsumer action) {
+        final long[] keys = this.keys;
+        final long[] values = this.values;
+        for (int index = 0; index < values.length; index++) {
+            if (values[index] != 0L) {
+                action.accept(keys[index]);
+            }
+        }
+    }
+
+    public void forEachValue(@NotNull LongConsumer action) {
+        for (long value : values) {
+            if (value != 0L) {
+                action.accept(value);
+            }
+        }
+    }
+
+    /**
+     * Rebuilds once instead of shifting per removal
+     */
+    public void removeIfKey(@NotNull LongPredicate predicate) {
+        final long[] oldKeys = keys;
+        final long[] oldValues = values;
+        final int capacity = oldKeys.length;
+        keys = new long[capacity];
+        values = new long[capacity];
+        size = 0;
+        for (int index = 0; index < capacity; index++) {
+            long value = oldValues[index];
+            if (value != 0L && !predicate.test(oldKeys[index])) {
+                long key = oldKeys[index];
+                int slot = ~find(key);
+                keys[slot] = key;
+                values[slot] = value;
+                size++;
+            }
+        }
+        modCount++;
+    }
+
+    @NotNull
+    public long[] toKeyArray() {
+        final long[] array = new long[size];
+        final int[] length = new int[1];
+        forEachKey(key -> array[length[0]++] = key);
+        return array;
+    }
+
+    /**
+     * same as HashMap of Long to Long
+     */
+    @Override
+    public int hashCode() {
+        int hash = 0;
+        for (int index = 0; index < values.length; index++) {
+            if (values[index] != 0L) {
+                hash += Long.hashCode(keys[index]) ^ Long.hashCode(values[index]);
+            }
+        }
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof I64Map)) {
+            return false;
+        }
+        final I64Map that = (I64Map) obj;
+        if (this.size != that.size) {
+            return false;
+        }
+        for (int index = 0; index < values.length; index++) {
+            if (values[index] != 0L && that.getI64(keys[index]) != values[index]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @NotNull
+    @Override
+    public String summaryToString() {
+        return "<entry*" + size + ", capacity = " + keys.length + ">";
+    }
+
+    @NotNull
+    @Override
+    public String detailToString() {
+        final StringBuilder sb = new StringBuilder("(");
+        forEach((key, value) -> {
+            if (sb.length() > 1) {
+                sb.append(", ");
+            }
+            sb.append(key).append("=").append(value);
+        });
+        return sb.append(")").toString();
+    }
+
+    @Override
+    public String toString() {
+        return summaryToString() + detailToString();
+    }
+}
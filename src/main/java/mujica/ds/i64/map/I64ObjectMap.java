@@ -0,0 +1,369 @@
+package mujica.ds.i64.map;
+
+import mujica.ds.base.DataStructure;
+import mujica.ds.i32.list.CapacityPolicy;
+import mujica.ds.i32.list.TwiceCapacityPolicy;
+import mujica.ds.i64.set.I64Set;
+import mujica.reflect.modifier.CodeHistory;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+import java.util.function.LongFunction;
+
+/**
+ * Linear probing over a long array and an object array; a null value marks an empty slot, so null values are
+ * not stored, and putting null removes
+ */
+@CodeHistory(date = "2026/10/17")
+public class I64ObjectMap<V> implements DataStructure {
+
+    private static final long serialVersionUID = 0x4a07bd93e1c6f258L;
+
+    @CodeHistory(date = "2026/10/17")
+    @FunctionalInterface
+    public interface EntryConsumer<V> {
+
+        void accept(long key, @NotNull V value);
+    }
+
+    @NotNull
+    final CapacityPolicy policy;
+
+    @NotNull
+    long[] keys;
+
+    @NotNull
+    Object[] values;
+
+    int size;
+
+    transient int modCount;
+
+    public I64ObjectMap(@Nullable CapacityPolicy policy, int expectedSize) {
+        super();
+        if (policy == null) {
+            policy = TwiceCapacityPolicy.INSTANCE;
+        }
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException();
+        }
+        int capacity = policy.initialCapacity();
+        while (overloaded(policy, expectedSize, capacity)) {
+            capacity = policy.nextLargerCapacity(capacity);
+        }
+        this.policy = policy;
+        this.keys = new long[capacity];
+        this.values = new Object[capacity];
+    }
+
+    public I64ObjectMap(@Nullable CapacityPolicy policy) {
+        this(policy, 0);
+    }
+
+    public I64ObjectMap() {
+        this(null, 0);
+    }
+
+    @NotNull
+    @Override
+    @SuppressWarnings("MethodDoesntCallSuperMethod")
+    public I64ObjectMap<V> clone() {
+        return duplicate();
+    }
+
+    /**
+     * Shallow, the values are shared
+     */
+    @NotNull
+    @Override
+    public I64ObjectMap<V> duplicate() {
+        final I64ObjectMap<V> that = new I64ObjectMap<>(policy);
+        that.keys = this.keys.clone();
+        that.values = this.values.clone();
+        that.size = this.size;
+        return that;
+    }
+
+    private static boolean overloaded(@NotNull CapacityPolicy policy, int size, int capacity) {
+        return size >= capacity || policy.testLoadedSize(size, capacity);
+    }
+
+    public int capacity() {
+        return keys.length;
+    }
+
+    private int find(long key) {
+        final long[] keys = this.keys;
+        final Object[] values = this.values;
+        final int capacity = keys.length;
+        int index = I64Set.home(key, capacity);
+        while (values[index] != null) {
+            if (keys[index] == key) {
+                return index;
+            }
+            if (++index == capacity) {
+                index = 0;
+            }
+        }
+        return ~index;
+    }
+
+    private void removeAt(int hole) {
+        final long[] keys = this.keys;
+        final Object[] values = this.values;
+        final int capacity = keys.length;
+        int index = hole;
+        while (true) {
+            if (++index == capacity) {
+                index = 0;
+            }
+            if (values[index] == null) {
+                break;
+            }
+            long key = keys[index];
+            if (I64Set.movable(hole, I64Set.home(key, capacity), index)) {
+                keys[hole] = key;
+                values[hole] = values[index];
+                hole = index;
+            }
+        }
+        values[hole] = null;
+        size--;
+        modCount++;
+    }
+
+    private void rehash() {
+        final int oldCapacity = keys.length;
+        final int newCapacity = policy.nextCapacity(oldCapacity);
+        if (newCapacity <= oldCapacity) {
+            throw new IllegalStateException("capacity " + oldCapacity + " is full");
+        }
+        final long[] newKeys = new long[newCapacity];
+        final Object[] newValues = new Object[newCapacity];
+        for (int oldIndex = 0; oldIndex < oldCapacity; oldIndex++) {
+            Object value = values[oldIndex];
+            if (value == null) {
+                continue;
+            }
+            long key = keys[oldIndex];
+            int index = I64Set.home(key, newCapacity);
+            while (newValues[index] != null) {
+                if (++index == newCapacity) {
+                    index = 0;
+                }
+            }
+            newKeys[index] = key;
+            newValues[index] = value;
+        }
+        keys = newKeys;
+        values = newValues;
+        modCount++;
+    }
+
+    private void insert(long key, @NotNull V value, int index) {
+        if (overloaded(policy, size + 1, keys.length)) {
+            do {
+                rehash();
+            } while (overloaded(policy, size + 1, keys.length));
+            index = find(key);
+        }
+        keys[~index] = key;
+        values[~index] = value;
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public void checkHealth(@NotNull Consumer<RuntimeException> consumer) {
+        final int capacity = keys.length;
+        int count = 0;
+        for (int k = 0; k < capacity; k++) {
+            if (values[k] == null) {
+                continue;
+            }
+            count++;
+            int found = find(keys[k]);
+            if (found != k) {
+                consumer.accept(new RuntimeException("key " + keys[k] + " at " + k + " is found at " + found));
+            }
+        }
+        if (count != size) {
+            consumer.accept(new RuntimeException("size mismatch; expected = " + count + ", actual = " + size));
+        }
+        if (count >= capacity) {
+            consumer.accept(new RuntimeException("no empty slot"));
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(values, null);
+        size = 0;
+        modCount++;
+    }
+
+    public boolean containsKey(long key) {
+        return find(key) >= 0;
+    }
+
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        final int index = find(key);
+        return index >= 0 ? (V) values[index] : null;
+    }
+
+    @NotNull
+    public V getOrDefault(long key, @NotNull V defaultValue) {
+        final V value = get(key);
+        return value != null ? value : defaultValue;
+    }
+
+    /**
+     * @return the old value
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public V put(long key, @Nullable V newValue) {
+        final int index = find(key);
+        if (index >= 0) {
+            final V oldValue = (V) values[index];
+            if (newValue != null) {
+                values[index] = newValue;
+            } else {
+                removeAt(index);
+            }
+            return oldValue;
+        }
+        if (newValue != null) {
+            insert(key, newValue, index);
+        }
+        return null;
+    }
+
+    @Nullable
+    public V remove(long key) {
+        return put(key, null);
+    }
+
+    /**
+     * The function is called at most once, and may not modify this map
+     */
+    @NotNull
+    @SuppressWarnings("unchecked")
+    public V computeIfAbsent(long key, @NotNull LongFunction<? extends V> function) {
+        final int index = find(key);
+        if (index >= 0) {
+            return (V) values[index];
+        }
+        final int expectedModCount = modCount;
+        final V value = Objects.requireNonNull(function.apply(key));
+        if (expectedModCount != modCount) {
+            throw new ConcurrentModificationException();
+        }
+        insert(key, value, index);
+        return value;
+    }
+
+    @SuppressWarnings("unchecked")
+    public void forEach(@NotNull EntryConsumer<? super V> action) {
+        final long[] keys = this.keys;
+        final Object[] values = this.values;
+        for (int index = 0; index < values.length; index++) {
+            Object value = values[index];
+            if (value != null) {
+                action.accept(keys[index], (V) value);
+            }
+        }
+    }
+
+    public void forEachKey(@NotNull LongConsumer action) {
+        final long[] keys = this.keys;
+        final Object[] values = this.values;
+        for (int index = 0; index < values.length; index++) {
+            if (values[index] != null) {
+                action.accept(keys[index]);
+            }
+        }
+    }
+
+    @NotNull
+    public long[] toKeyArray() {
+        final long[] array = new long[size];
+        final int[] length = new int[1];
+        forEachKey(key -> array[length[0]++] = key);
+        return array;
+    }
+
+    /**
+     * same as HashMap of Long
+     */
+    @Override
+    public int hashCode() {
+        int hash = 0;
+        for (int index = 0; index < values.length; index++) {
+            Object value = values[index];
+            if (value != null) {
+                hash += Long.hashCode(keys[index]) ^ value.hashCode();
+            }
+        }
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof I64ObjectMap)) {
+            return false;
+        }
+        final I64ObjectMap<?> that = (I64ObjectMap<?>) obj;
+        if (this.size != that.size) {
+            return false;
+        }
+        for (int index = 0; index < values.length; index++) {
+            Object value = values[index];
+            if (value != null && !value.equals(that.get(keys[index]))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @NotNull
+    @Override
+    public String summaryToString() {
+        return "<entry*" + size + ", capacity = " + keys.length + ">";
+    }
+
+    @NotNull
+    @Override
+    public String detailToString() {
+        final StringBuilder sb = new StringBuilder("(");
+        forEach((key, value) -> {
+            if (sb.length() > 1) {
+                sb.append(", ");
+            }
+            sb.append(key).append("=").append(value);
+        });
+        return sb.append(")").toString();
+    }
+
+    @Override
+    public String toString() {
+        return summaryToString() + detailToString();
+    }
+}
@@ -0,0 +1,482 @@
+package mujica.ds.i64.set;
+
+import mujica.ds.i32.list.CapacityPolicy;
+import mujica.ds.i32.list.TwiceCapacityPolicy;
+import mujica.ds.i64.LongCollection;
+import mujica.reflect.modifier.CodeHistory;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+/**
+ * Linear probing over a flat long array, with backward shift deletion instead of removed marks.
+ * Zero is the empty mark, so zero itself is kept beside the array
+ */
+@CodeHistory(date = "2026/10/17")
+public class I64Set implements LongCollection {
+
+    private static final long serialVersionUID = 0x3c9f10e7a25b84d6L;
+
+    static final long EMPTY_MARK = 0L;
+
+    @NotNull
+    final CapacityPolicy policy;
+
+    @NotNull
+    long[] array;
+
+    boolean containsEmptyMark;
+
+    /**
+     * in the array, not counting the empty mark
+     */
+    int size;
+
+    transient int modCount;
+
+    public I64Set(@Nullable CapacityPolicy policy, int expectedSize) {
+        super();
+        if (policy == null) {
+            policy = TwiceCapacityPolicy.INSTANCE;
+        }
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException();
+        }
+        int capacity = policy.initialCapacity();
+        while (overloaded(policy, expectedSize, capacity)) {
+            capacity = policy.nextLargerCapacity(capacity);
+        }
+        this.policy = policy;
+        this.array = new long[capacity];
+    }
+
+    public I64Set(@Nullable CapacityPolicy policy) {
+        this(policy, 0);
+    }
+
+    public I64Set() {
+        this(null, 0);
+    }
+
+    @NotNull
+    @Override
+    @SuppressWarnings("MethodDoesntCallSuperMethod")
+    public I64Set clone() {
+        return duplicate();
+    }
+
+    @NotNull
+    @Override
+    public I64Set duplicate() {
+        final I64Set that = new I64Set(policy);
+        that.array = this.array.clone();
+        that.containsEmptyMark = this.containsEmptyMark;
+        that.size = this.size;
+        return that;
+    }
+
+    /**
+     * At least one slot is always empty, so that probing ends and the iterator has a place to start
+     */
+    static boolean overloaded(@NotNull CapacityPolicy policy, int size, int capacity) {
+        return size >= capacity || policy.testLoadedSize(size, capacity);
+    }
+
+    /**
+     * fmix64 of MurmurHash3, then the high 32 bits scaled to the capacity
+     */
+    public static int home(long key, int capacity) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return (int) (((key >>> 32) * capacity) >>> 32);
+    }
+
+    /**
+     * @return true if the entry at index, whose home is given, may be moved back into the hole
+     */
+    public static boolean movable(int hole, int home, int index) {
+        if (hole <= index) {
+            return home <= hole || home > index;
+        } else {
+            return home <= hole && home > index;
+        }
+    }
+
+    public int capacity() {
+        return array.length;
+    }
+
+    private int find(long t) {
+        final long[] array = this.array;
+        final int capacity = array.length;
+        int index = home(t, capacity);
+        while (true) {
+            long v = array[index];
+            if (v == t) {
+                return index;
+            }
+            if (v == EMPTY_MARK) {
+                return ~index;
+            }
+            if (++index == capacity) {
+                index = 0;
+            }
+        }
+    }
+
+    private void removeAt(int hole) {
+        final long[] array = this.array;
+        final int capacity = array.length;
+        int index = hole;
+        while (true) {
+            if (++index == capacity) {
+                index = 0;
+            }
+            long v = array[index];
+            if (v == EMPTY_MARK) {
+                break;
+            }
+            if (movable(hole, home(v, capacity), index)) {
+                array[hole] = v;
+                hole = index;
+            }
+        }
+        array[hole] = EMPTY_MARK;
+        size--;
+        modCount++;
+    }
+
+    private void grow() {
+        final int oldCapacity = array.length;
+        final int newCapacity = policy.nextCapacity(oldCapacity);
+        if (newCapacity <= oldCapacity) {
+            throw new IllegalStateException("capacity " + oldCapacity + " is full");
+        }
+        rehash(newCapacity);
+    }
+
+    private void rehash(int newCapacity) {
+        final long[] newArray = new long[newCapacity];
+        for (long t : array) {
+            if (t == EMPTY_MARK) {
+                continue;
+            }
+            int index = home(t, newCapacity);
+            while (newArray[index] != EMPTY_MARK) {
+                if (++index == newCapacity) {
+                    index = 0;
+                }
+            }
+            newArray[index] = t;
+        }
+        array = newArray;
+        modCount++;
+    }
+
+    @Override
+    public void checkHealth(@NotNull Consumer<RuntimeException> consumer) {
+        final int capacity = array.length;
+        int count = 0;
+        for (int k = 0; k < capacity; k++) {
+            long v = array[k];
+            if (v == EMPTY_MARK) {
+                continue;
+            }
+            count++;
+            int found = find(v);
+            if (found != k) {
+                consumer.accept(new RuntimeException("value " + v + " at " + k + " is found at " + found));
+            }
+        }
+        if (count != size) {
+            consumer.accept(new RuntimeException("size mismatch; expected = " + count + ", actual = " + size));
+        }
+        if (count >= capacity) {
+            consumer.accept(new RuntimeException("no empty slot"));
+        }
+    }
+
+    @Override
+    public int longLength() {
+        return containsEmptyMark ? size + 1 : size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0 && !containsEmptyMark;
+    }
+
+    @Override
+    public boolean isFull() {
+        return false;
+    }
+
+    @Override
+    public boolean contains(long t) {
+        if (t == EMPTY_MARK) {
+            return containsEmptyMark;
+        }
+        return find(t) >= 0;
+    }
+
+    public boolean add(long t) {
+        if (t == EMPTY_MARK) {
+            if (containsEmptyMark) {
+                return false;
+            }
+            containsEmptyMark = true;
+            modCount++;
+            return true;
+        }
+        int index = find(t);
+        if (index >= 0) {
+            return false;
+        }
+        if (overloaded(policy, size + 1, array.length)) {
+            do {
+                grow();
+            } while (overloaded(policy, size + 1, array.length));
+            index = find(t);
+        }
+        array[~index] = t;
+        size++;
+        modCount++;
+        return true;
+    }
+
+    /**
+     * @return number of values added
+     */
+    public int addAll(@NotNull long[] values) {
+        return addAll(values, 0, values.length);
+    }
+
+    public int addAll(@NotNull long[] values, int startIndex, int endIndex) {
+        Objects.checkFromToIndex(startIndex, endIndex, values.length);
+        int capacity = array.length;
+        while (overloaded(policy, size + endIndex - startIndex, capacity)) { // grow once, not on the way
+            int newCapacity = policy.nextCapacity(capacity);
+            if (newCapacity <= capacity) {
+                break;
+            }
+            capacity = newCapacity;
+        }
+        if (capacity > array.length) {
+            rehash(capacity);
+        }
+        int count = 0;
+        for (int index = startIndex; index < endIndex; index++) {
+            if (add(values[index])) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public boolean remove(long t) {
+        if (t == EMPTY_MARK) {
+            if (!containsEmptyMark) {
+                return false;
+            }
+            containsEmptyMark = false;
+            modCount++;
+            return true;
+        }
+        final int index = find(t);
+        if (index < 0) {
+            return false;
+        }
+        removeAt(index);
+        return true;
+    }
+
+    public void clear() {
+        containsEmptyMark = false;
+        Arrays.fill(array, EMPTY_MARK);
+        size = 0;
+        modCount++;
+    }
+
+    @NotNull
+    @Override
+    public long[] toLongArray() {
+        final long[] result = new long[longLength()];
+        int length = 0;
+        if (containsEmptyMark) {
+            result[length++] = EMPTY_MARK;
+        }
+        for (long v : array) {
+            if (v != EMPTY_MARK) {
+                result[length++] = v;
+            }
+        }
+        assert length == result.length;
+        return result;
+    }
+
+    @Override
+    public void forEach(@NotNull LongConsumer action) {
+        if (containsEmptyMark) {
+            action.accept(EMPTY_MARK);
+        }
+        for (long v : array) {
+            if (v != EMPTY_MARK) {
+                action.accept(v);
+            }
+        }
+    }
+
+    /**
+     * Starts after an empty slot, which no backward shift can cross, so removing from the iterator
+     * never brings a visited value forward
+     */
+    @NotNull
+    @Override
+    public PrimitiveIterator.OfLong iterator() {
+        return new PrimitiveIterator.OfLong() {
+
+            int index;
+
+            int remaining = array.length;
+
+            /**
+             * -1 for none, -2 for the empty mark
+             */
+            int lastIndex = -1;
+
+            boolean emptyMarkPending = containsEmptyMark;
+
+            int expectedModCount = modCount;
+
+            {
+                while (array[index] != EMPTY_MARK) {
+                    index++;
+                }
+            }
+
+            private void step() {
+                if (++index == array.length) {
+                    index = 0;
+                }
+                remaining--;
+            }
+
+            @Override
+            public boolean hasNext() {
+                if (expectedModCount != modCount) {
+                    throw new ConcurrentModificationException();
+                }
+                if (emptyMarkPending) {
+                    return true;
+                }
+                while (remaining > 0 && array[index] == EMPTY_MARK) {
+                    step();
+                }
+                return remaining > 0;
+            }
+
+            @Override
+            public long nextLong() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                if (emptyMarkPending) {
+                    emptyMarkPending = false;
+                    lastIndex = -2;
+                    return EMPTY_MARK;
+                }
+                lastIndex = index;
+                step();
+                return array[lastIndex];
+            }
+
+            @Override
+            public void remove() {
+                if (lastIndex == -1) {
+                    throw new IllegalStateException();
+                }
+                if (expectedModCount != modCount) {
+                    throw new ConcurrentModificationException();
+                }
+                if (lastIndex == -2) {
+                    containsEmptyMark = false;
+                    modCount++;
+                } else {
+                    removeAt(lastIndex); // the slot may now hold a value not visited yet
+                    index = lastIndex;
+                    remaining++;
+                }
+                expectedModCount = modCount;
+                lastIndex = -1;
+            }
+        };
+    }
+
+    @NotNull
+    @Override
+    public Spliterator<Long> spliterator() {
+        return Spliterators.spliterator(iterator(), longLength(), Spliterator.DISTINCT | Spliterator.SIZED);
+    }
+
+    /**
+     * same as HashSet of Long
+     */
+    @Override
+    public int hashCode() {
+        int hash = 0;
+        for (long v : array) {
+            hash += Long.hashCode(v); // the empty mark adds zero
+        }
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof I64Set)) {
+            return false;
+        }
+        final I64Set that = (I64Set) obj;
+        if (this.size != that.size || this.containsEmptyMark != that.containsEmptyMark) {
+            return false;
+        }
+        for (long v : array) {
+            if (v != EMPTY_MARK && that.find(v) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @NotNull
+    @Override
+    public String summaryToString() {
+        return "<size = " + longLength() + ", modCount = " + modCount + ", capacity = " + array.length + ">";
+    }
+
+    @NotNull
+    @Override
+    public String detailToString() {
+        final StringBuilder sb = new StringBuilder("[");
+        forEach((LongConsumer) v -> {
+            if (sb.length() > 1) {
+                sb.append(", ");
+            }
+            sb.append(v);
+        });
+        return sb.append("]").toString();
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getName() + " " + summaryToString() + " " + detailToString();
+    }
+}
@@ -58,13 +58,18 @@ public class LongSequenceDataView implements DataView {
     @Override
     public int byteLength() {
         guard.run();
-        return 0;
+        return ClampedMath.INSTANCE.multiply(longSequence.longLength(), Long.BYTES);
     }
 
     @Override
     public byte getByte(int index) {
         guard.run();
-        return 0;
+        final long value = longSequence.getLong(index >>> 3);
+        int shift = (index & 0x7) << 3;
+        if (byteOrder != ByteOrder.LITTLE_ENDIAN) {
+            shift = (Long.SIZE - Byte.SIZE) - shift;
+        }
+        return (byte) (value >> shift);
     }
 
     @Override
@@ -81,8 +86,7 @@ public class LongSequenceDataView implements DataView {
 
     @Override
     public short getUnsignedByte(int index) {
-        guard.run();
-        return 0;
+        return (short) (0xff & getByte(index));
     }
 
     @Override
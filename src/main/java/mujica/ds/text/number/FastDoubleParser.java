@@ -0,0 +1,233 @@
+package mujica.ds.text.number;
+
+import io.netty.buffer.ByteBuf;
+import mujica.reflect.modifier.CodeHistory;
+import org.jetbrains.annotations.NotNull;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Parses ASCII decimal into double without making a String, by Clinger's exact fast path and the Eisel-Lemire algorithm.
+ * Inputs with more than 19 significant digits, the rare halfway cases Eisel-Lemire cannot decide,
+ * and anything other than plain decimal syntax (hexadecimal, NaN, Infinity, type suffixes) fall back to Double.parseDouble(),
+ * so the result is always the same as the JDK gives, including NumberFormatException.
+ */
+@CodeHistory(date = "2026/10/17")
+public final class FastDoubleParser {
+
+    private static final int Q_MIN = -342;
+
+    private static final int Q_MAX = 308;
+
+    /**
+     * 5^q normalized to 128 bits, truncated for q >= 0 and rounded up for q < 0; high at [2 * (q - Q_MIN)], low at [2 * (q - Q_MIN) + 1]
+     */
+    private static final long[] POWERS_OF_FIVE = new long[2 * (Q_MAX - Q_MIN + 1)];
+
+    private static final double[] EXACT_POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+            1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    static {
+        final BigInteger two128 = BigInteger.ONE.shiftLeft(128);
+        final BigInteger two127 = BigInteger.ONE.shiftLeft(127);
+        for (int q = Q_MIN; q <= Q_MAX; q++) {
+            BigInteger c;
+            if (q >= 0) {
+                c = BigInteger.valueOf(5L).pow(q);
+                if (c.compareTo(two127) < 0) {
+                    c = c.shiftLeft(128 - c.bitLength());
+                } else {
+                    c = c.shiftRight(c.bitLength() - 128);
+                }
+            } else {
+                BigInteger power = BigInteger.valueOf(5L).pow(-q);
+                int z = power.bitLength();
+                if (q >= -27) {
+                    c = BigInteger.ONE.shiftLeft(z + 127).divide(power).add(BigInteger.ONE);
+                } else {
+                    c = BigInteger.ONE.shiftLeft(2 * z + 128).divide(power).add(BigInteger.ONE);
+                    c = c.shiftRight(Math.max(0, c.bitLength() - 128));
+                }
+            }
+            assert c.bitLength() == 128 && c.compareTo(two128) < 0;
+            POWERS_OF_FIVE[2 * (q - Q_MIN)] = c.shiftRight(64).longValue();
+            POWERS_OF_FIVE[2 * (q - Q_MIN) + 1] = c.longValue();
+        }
+    }
+
+    private FastDoubleParser() {
+        super();
+    }
+
+    public static double parse(@NotNull byte[] array, int startIndex, int endIndex) {
+        int index = startIndex;
+        boolean negative = false;
+        if (index < endIndex) {
+            int x = array[index];
+            if (x == '-') {
+                negative = true;
+                index++;
+            } else if (x == '+') {
+                index++;
+            }
+        }
+        long mantissa = 0L;
+        int digitCount = 0; // significant, that is after leading zeros
+        int exponent = 0;
+        boolean anyDigit = false;
+        while (index < endIndex) {
+            int d = array[index] - '0';
+            if (d < 0 || 9 < d) {
+                break;
+            }
+            anyDigit = true;
+            if (mantissa != 0L || d != 0) {
+                mantissa = mantissa * 10L + d;
+                digitCount++;
+            }
+            index++;
+        }
+        if (index < endIndex && array[index] == '.') {
+            index++;
+            while (index < endIndex) {
+                int d = array[index] - '0';
+                if (d < 0 || 9 < d) {
+                    break;
+                }
+                anyDigit = true;
+                if (mantissa != 0L || d != 0) {
+                    mantissa = mantissa * 10L + d;
+                    digitCount++;
+                }
+                exponent--;
+                index++;
+            }
+        }
+        if (!anyDigit || digitCount > 19) {
+            return fallback(array, startIndex, endIndex);
+        }
+        if (index < endIndex && (array[index] | 0x20) == 'e') {
+            index++;
+            boolean negativeExponent = false;
+            if (index < endIndex) {
+                int x = array[index];
+                if (x == '-') {
+                    negativeExponent = true;
+                    index++;
+                } else if (x == '+') {
+                    index++;
+                }
+            }
+            if (index == endIndex) {
+                return fallback(array, startIndex, endIndex);
+            }
+            int explicit = 0;
+            while (index < endIndex) {
+                int d = array[index] - '0';
+                if (d < 0 || 9 < d) {
+                    break;
+                }
+                if (explicit < 100_000) {
+                    explicit = explicit * 10 + d;
+                }
+                index++;
+            }
+            exponent += negativeExponent ? -explicit : explicit;
+        }
+        if (index != endIndex) {
+            return fallback(array, startIndex, endIndex);
+        }
+        final double value = toDouble(mantissa, exponent);
+        if (Double.isNaN(value)) { // undecided
+            return fallback(array, startIndex, endIndex);
+        }
+        return negative ? -value : value;
+    }
+
+    public static double parse(@NotNull ByteBuf data, int startIndex, int endIndex) {
+        if (data.hasArray()) {
+            final int offset = data.arrayOffset();
+            return parse(data.array(), offset + startIndex, offset + endIndex);
+        }
+        final byte[] array = new byte[endIndex - startIndex];
+        data.getBytes(startIndex, array);
+        return parse(array, 0, array.length);
+    }
+
+    /**
+     * @param startIndex absolute, position of buffer is not changed
+     */
+    public static double parse(@NotNull ByteBuffer buffer, int startIndex, int endIndex) {
+        if (buffer.hasArray()) {
+            final int offset = buffer.arrayOffset();
+            return parse(buffer.array(), offset + startIndex, offset + endIndex);
+        }
+        final byte[] array = new byte[endIndex - startIndex];
+        for (int index = 0; index < array.length; index++) {
+            array[index] = buffer.get(startIndex + index);
+        }
+        return parse(array, 0, array.length);
+    }
+
+    private static double fallback(@NotNull byte[] array, int startIndex, int endIndex) {
+        return Double.parseDouble(new String(array, startIndex, endIndex - startIndex, StandardCharsets.ISO_8859_1));
+    }
+
+    /**
+     * @param mantissa unsigned, at most 19 decimal digits
+     * @return nonnegative w 10^q correctly rounded, or NaN when it can not be decided here
+     */
+    static double toDouble(long mantissa, int q) {
+        if (mantissa == 0L || q < Q_MIN) {
+            return 0.0;
+        }
+        if (q > Q_MAX) {
+            return Double.POSITIVE_INFINITY;
+        }
+        if (-22 <= q && q <= 22 && 0L <= mantissa && mantissa <= 1L << 53) {
+            double value = mantissa;
+            return q < 0 ? value / EXACT_POWERS_OF_TEN[-q] : value * EXACT_POWERS_OF_TEN[q];
+        }
+        final int clz = Long.numberOfLeadingZeros(mantissa);
+        final long w = mantissa << clz;
+        long exponent2 = (217706L * q >> 16) + 64 + 1023 - clz;
+        final long high = POWERS_OF_FIVE[2 * (q - Q_MIN)];
+        final long low = POWERS_OF_FIVE[2 * (q - Q_MIN) + 1];
+        long xHigh = Math.multiplyHigh(w, high) + ((w >> 63) & high) + ((high >> 63) & w); // unsigned
+        long xLow = w * high;
+        if ((xHigh & 0x1ff) == 0x1ff && Long.compareUnsigned(xLow + w, w) < 0) {
+            long yHigh = Math.multiplyHigh(w, low) + ((w >> 63) & low) + ((low >> 63) & w);
+            long yLow = w * low;
+            long mergedHigh = xHigh;
+            long mergedLow = xLow + yHigh;
+            if (Long.compareUnsigned(mergedLow, xLow) < 0) {
+                mergedHigh++;
+            }
+            if ((mergedHigh & 0x1ff) == 0x1ff && mergedLow + 1L == 0L && Long.compareUnsigned(yLow + w, w) < 0) {
+                return Double.NaN;
+            }
+            xHigh = mergedHigh;
+            xLow = mergedLow;
+        }
+        final int msb = (int) (xHigh >>> 63);
+        long result = xHigh >>> (msb + 9);
+        exponent2 -= 1 ^ msb;
+        if (xLow == 0L && (xHigh & 0x1ff) == 0L && (result & 3L) == 1L) {
+            return Double.NaN;
+        }
+        result += result & 1L;
+        result >>>= 1;
+        if ((result >>> 53) != 0L) {
+            result >>>= 1;
+            exponent2++;
+        }
+        if (exponent2 <= 0L || exponent2 >= 0x7ffL) { // subnormal or overflow, left to the JDK
+            return Double.NaN;
+        }
+        return Double.longBitsToDouble(exponent2 << 52 | result & ((1L << 52) - 1));
+    }
+}
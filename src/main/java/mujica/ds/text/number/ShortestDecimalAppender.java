@@ -0,0 +1,307 @@
+package mujica.ds.text.number;
+
+import mujica.reflect.modifier.CodeHistory;
+import org.jetbrains.annotations.NotNull;
+
+import java.math.BigInteger;
+
+/**
+ * Shortest decimal which rounds back to the same float or double, by Raffaello Giulietti's Schubfach algorithm.
+ * The layout is the same as Float.toString() and Double.toString(), which use the same algorithm since Java 19;
+ * earlier versions sometimes give a longer digit string.
+ * Static methods write ASCII into a byte array without allocation.
+ */
+@CodeHistory(date = "2026/10/17")
+public class ShortestDecimalAppender implements DecimalAppender {
+
+    private static final long serialVersionUID = 0x6A1E0F4C8B3D2795L;
+
+    public static final ShortestDecimalAppender INSTANCE = new ShortestDecimalAppender();
+
+    /**
+     * Enough for "-2.2250738585072014E-308"
+     */
+    public static final int BUFFER_SIZE = 32;
+
+    private static final int DOUBLE_Q_MIN = -1074;
+
+    private static final long DOUBLE_C_MIN = 1L << 52;
+
+    private static final int DOUBLE_C_TINY = 3;
+
+    private static final int FLOAT_Q_MIN = -149;
+
+    private static final long FLOAT_C_MIN = 1L << 23;
+
+    private static final int FLOAT_C_TINY = 8;
+
+    private static final int K_MIN = -324;
+
+    private static final int K_MAX = 292;
+
+    private static final long MASK_63 = (1L << 63) - 1;
+
+    /**
+     * 10^-k = g 2^r for 2^125 <= g < 2^126, rounded up; high 63 bits at [2 * (k - K_MIN)], low 63 bits at [2 * (k - K_MIN) + 1]
+     */
+    private static final long[] G = new long[2 * (K_MAX - K_MIN + 1)];
+
+    static {
+        final BigInteger mask = BigInteger.ONE.shiftLeft(63).subtract(BigInteger.ONE);
+        for (int k = K_MIN; k <= K_MAX; k++) {
+            int e = -k;
+            int r = flog2pow10(e) - 125;
+            BigInteger g;
+            if (e >= 0) {
+                g = BigInteger.TEN.pow(e);
+                g = r >= 0 ? g.shiftRight(r) : g.shiftLeft(-r);
+            } else {
+                g = BigInteger.ONE.shiftLeft(-r).divide(BigInteger.TEN.pow(-e));
+            }
+            g = g.add(BigInteger.ONE);
+            G[2 * (k - K_MIN)] = g.shiftRight(63).longValue();
+            G[2 * (k - K_MIN) + 1] = g.and(mask).longValue();
+        }
+    }
+
+    private static int flog10pow2(int e) {
+        return (int) (e * 661_971_961_083L >> 41);
+    }
+
+    private static int flog10threeQuartersPow2(int e) {
+        return (int) (e * 661_971_961_083L - 274_743_187_321L >> 41);
+    }
+
+    private static int flog2pow10(int e) {
+        return (int) (e * 913_124_641_741L >> 38);
+    }
+
+    /**
+     * @return the product g cp / 2^127 rounded to odd
+     */
+    private static long rop(long g1, long g0, long cp) {
+        final long x1 = Math.multiplyHigh(g0, cp);
+        final long y0 = g1 * cp;
+        final long y1 = Math.multiplyHigh(g1, cp);
+        final long z = (y0 >>> 1) + x1;
+        final long vbp = y1 + (z >>> 63);
+        return vbp | (z & MASK_63) + MASK_63 >>> 63;
+    }
+
+    /**
+     * @return end index in out
+     */
+    public static int write(double value, @NotNull byte[] out, int offset) {
+        final long bits = Double.doubleToRawLongBits(value);
+        final long t = bits & ((1L << 52) - 1);
+        final int bq = (int) (bits >>> 52) & 0x7ff;
+        if (bq == 0x7ff) {
+            return writeSpecial(t != 0L, bits < 0L, out, offset);
+        }
+        if (bits < 0L) {
+            out[offset++] = '-';
+        }
+        if (bq != 0) {
+            int mq = -DOUBLE_Q_MIN + 1 - bq;
+            long c = DOUBLE_C_MIN | t;
+            if (0 < mq && mq < 53) {
+                long f = c >> mq;
+                if (f << mq == c) {
+                    return toChars(f, 0, out, offset);
+                }
+            }
+            return toDecimal(-mq, c, 0, DOUBLE_C_MIN, DOUBLE_Q_MIN, out, offset);
+        }
+        if (t != 0L) {
+            if (t < DOUBLE_C_TINY) {
+                return toDecimal(DOUBLE_Q_MIN, 10L * t, -1, DOUBLE_C_MIN, DOUBLE_Q_MIN, out, offset);
+            }
+            return toDecimal(DOUBLE_Q_MIN, t, 0, DOUBLE_C_MIN, DOUBLE_Q_MIN, out, offset);
+        }
+        return writeZero(out, offset);
+    }
+
+    /**
+     * @return end index in out
+     */
+    public static int write(float value, @NotNull byte[] out, int offset) {
+        final int bits = Float.floatToRawIntBits(value);
+        final long t = bits & ((1 << 23) - 1);
+        final int bq = (bits >>> 23) & 0xff;
+        if (bq == 0xff) {
+            return writeSpecial(t != 0L, bits < 0, out, offset);
+        }
+        if (bits < 0) {
+            out[offset++] = '-';
+        }
+        if (bq != 0) {
+            int mq = -FLOAT_Q_MIN + 1 - bq;
+            long c = FLOAT_C_MIN | t;
+            if (0 < mq && mq < 24) {
+                long f = c >> mq;
+                if (f << mq == c) {
+                    return toChars(f, 0, out, offset);
+                }
+            }
+            return toDecimal(-mq, c, 0, FLOAT_C_MIN, FLOAT_Q_MIN, out, offset);
+        }
+        if (t != 0L) {
+            if (t < FLOAT_C_TINY) {
+                return toDecimal(FLOAT_Q_MIN, 10L * t, -1, FLOAT_C_MIN, FLOAT_Q_MIN, out, offset);
+            }
+            return toDecimal(FLOAT_Q_MIN, t, 0, FLOAT_C_MIN, FLOAT_Q_MIN, out, offset);
+        }
+        return writeZero(out, offset);
+    }
+
+    private static int writeSpecial(boolean nan, boolean negative, @NotNull byte[] out, int offset) {
+        final String string;
+        if (nan) {
+            string = "NaN";
+        } else if (negative) {
+            string = "-Infinity";
+        } else {
+            string = "Infinity";
+        }
+        final int length = string.length();
+        for (int index = 0; index < length; index++) {
+            out[offset++] = (byte) string.charAt(index);
+        }
+        return offset;
+    }
+
+    private static int writeZero(@NotNull byte[] out, int offset) {
+        out[offset++] = '0';
+        out[offset++] = '.';
+        out[offset++] = '0';
+        return offset;
+    }
+
+    /**
+     * Finds the decimal for c 2^q; double and float differ only in the constants, as the 126-bit table suits both
+     */
+    private static int toDecimal(int q, long c, int dk, long cMin, int qMin, @NotNull byte[] out, int offset) {
+        final int odd = (int) c & 0x1;
+        final long cb = c << 2;
+        final long cbr = cb + 2L;
+        final long cbl;
+        final int k;
+        if (c != cMin || q == qMin) {
+            cbl = cb - 2L;
+            k = flog10pow2(q);
+        } else {
+            cbl = cb - 1L;
+            k = flog10threeQuartersPow2(q);
+        }
+        final int h = q + flog2pow10(-k) + 2;
+        final long g1 = G[2 * (k - K_MIN)];
+        final long g0 = G[2 * (k - K_MIN) + 1];
+        final long vb = rop(g1, g0, cb << h);
+        final long vbl = rop(g1, g0, cbl << h);
+        final long vbr = rop(g1, g0, cbr << h);
+        final long s = vb >> 2;
+        if (s >= 100L) {
+            long sp10 = s / 10L * 10L;
+            long tp10 = sp10 + 10L;
+            boolean upin = vbl + odd <= sp10 << 2;
+            boolean wpin = (tp10 << 2) + odd <= vbr;
+            if (upin != wpin) {
+                return toChars(upin ? sp10 : tp10, k, out, offset);
+            }
+        }
+        final long t = s + 1L;
+        final boolean uin = vbl + odd <= s << 2;
+        final boolean win = (t << 2) + odd <= vbr;
+        if (uin != win) {
+            return toChars(uin ? s : t, k + dk, out, offset);
+        }
+        final long cmp = vb - (s + t << 1);
+        return toChars(cmp < 0L || cmp == 0L && (s & 0x1L) == 0L ? s : t, k + dk, out, offset);
+    }
+
+    private static void writeDigits(long f, @NotNull byte[] out, int offset, int length) {
+        for (int index = offset + length - 1; index >= offset; index--) {
+            out[index] = (byte) ('0' + f % 10L);
+            f /= 10L;
+        }
+    }
+
+    /**
+     * Lays out f 10^e like Double.toString()
+     */
+    private static int toChars(long f, int e, @NotNull byte[] out, int offset) {
+        while (f % 10L == 0L) {
+            f /= 10L;
+            e++;
+        }
+        int length = 1;
+        for (long bound = 10L; length < 19 && f >= bound; bound *= 10L) {
+            length++;
+        }
+        e += length; // f 10^e = 0.digits 10^e now
+        if (0 < e && e <= 7) {
+            if (length <= e) {
+                writeDigits(f, out, offset, length);
+                offset += length;
+                for (int index = length; index < e; index++) {
+                    out[offset++] = '0';
+                }
+                out[offset++] = '.';
+                out[offset++] = '0';
+                return offset;
+            }
+            writeDigits(f, out, offset + 1, length);
+            System.arraycopy(out, offset + 1, out, offset, e);
+            out[offset + e] = '.';
+            return offset + length + 1;
+        }
+        if (-3 < e && e <= 0) {
+            out[offset++] = '0';
+            out[offset++] = '.';
+            for (int index = e; index < 0; index++) {
+                out[offset++] = '0';
+            }
+            writeDigits(f, out, offset, length);
+            return offset + length;
+        }
+        writeDigits(f, out, offset + 1, length);
+        out[offset] = out[offset + 1];
+        out[offset + 1] = '.';
+        offset += length + 1;
+        if (length == 1) {
+            out[offset++] = '0';
+        }
+        out[offset++] = 'E';
+        e--;
+        if (e < 0) {
+            out[offset++] = '-';
+            e = -e;
+        }
+        if (e >= 100) {
+            out[offset++] = (byte) ('0' + e / 100);
+            out[offset++] = (byte) ('0' + e / 10 % 10);
+        } else if (e >= 10) {
+            out[offset++] = (byte) ('0' + e / 10);
+        }
+        out[offset++] = (byte) ('0' + e % 10);
+        return offset;
+    }
+
+    @Override
+    public void append(float value, @NotNull StringBuilder out) {
+        final byte[] buffer = new byte[BUFFER_SIZE];
+        final int end = write(value, buffer, 0);
+        for (int index = 0; index < end; index++) {
+            out.append((char) buffer[index]);
+        }
+    }
+
+    @Override
+    public void append(double value, @NotNull StringBuilder out) {
+        final byte[] buffer = new byte[BUFFER_SIZE];
+        final int end = write(value, buffer, 0);
+        for (int index = 0; index < end; index++) {
+            out.append((char) buffer[index]);
+        }
+    }
+}
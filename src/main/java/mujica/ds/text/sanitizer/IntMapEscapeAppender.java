@@ -1,5 +1,6 @@
 package mujica.ds.text.sanitizer;
 
+import io.netty.buffer.ByteBuf;
 import mujica.ds.i32.map.JdkI32Map;
 import mujica.ds.i32.map.I32Map;
 import mujica.reflect.modifier.AccessStructure;
@@ -7,7 +8,11 @@ import mujica.reflect.modifier.CodeHistory;
 import mujica.ds.text.number.Base16Appender;
 import org.jetbrains.annotations.NotNull;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
 @CodeHistory(date = "2026/1/11")
+@CodeHistory(date = "2026/10/17")
 public class IntMapEscapeAppender extends CharSequenceAppender {
 
     private static final int HEX2 = 0x20000 | 'x';
@@ -404,4 +409,49 @@ public class IntMapEscapeAppender extends CharSequenceAppender {
             }
         }
     }
+
+    @Override
+    public void write(@NotNull CharSequence string, @NotNull ByteBuffer out) {
+        write(string, 0, string.length(), out);
+    }
+
+    @Override
+    public void write(@NotNull CharSequence string, int startIndex, int endIndex, @NotNull ByteBuffer out) {
+        final StringBuilder sb = new StringBuilder(endIndex - startIndex);
+        append(string, startIndex, endIndex, sb);
+        out.put(sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void write(@NotNull CharSequence string, @NotNull ByteBuf out) {
+        write(string, 0, string.length(), out);
+    }
+
+    /**
+     * Runs without escape are encoded straight from the string
+     */
+    @Override
+    public void write(@NotNull CharSequence string, int startIndex, int endIndex, @NotNull ByteBuf out) {
+        StringBuilder escape = null;
+        int writeIndex = startIndex;
+        for (int index = startIndex; index < endIndex; index++) {
+            if (map.getI32(string.charAt(index)) <= 0) {
+                continue;
+            }
+            if (writeIndex < index) {
+                out.writeCharSequence(string.subSequence(writeIndex, index), StandardCharsets.UTF_8);
+            }
+            if (escape == null) {
+                escape = new StringBuilder();
+            } else {
+                escape.setLength(0);
+            }
+            append(string, index, index + 1, escape);
+            out.writeCharSequence(escape, StandardCharsets.US_ASCII);
+            writeIndex = index + 1;
+        }
+        if (writeIndex < endIndex) {
+            out.writeCharSequence(string.subSequence(writeIndex, endIndex), StandardCharsets.UTF_8);
+        }
+    }
 }
@@ -10,6 +10,7 @@ import org.jetbrains.annotations.Nullable;
 @CodeHistory(date = "2022/6/26", project = "Ultramarine")
 @CodeHistory(date = "2024/4/1", project = "Ultramarine")
 @CodeHistory(date = "2025/3/2")
+@CodeHistory(date = "2026/10/17")
 public class Affine2 extends Axes {
 
     private static final long serialVersionUID = 0x5d1b263e5448d684L;
@@ -327,6 +328,25 @@ public class Affine2 extends Axes {
         );
     }
 
+    @Override
+    public void transform(@NotNull PointBuffer buffer, int startIndex, int endIndex) {
+        buffer.checkRange(startIndex, endIndex);
+        final double[] xs = buffer.xs;
+        final double[] ys = buffer.ys;
+        final double mxx = this.mxx;
+        final double mxy = this.mxy;
+        final double myx = this.myx;
+        final double myy = this.myy;
+        final double tx = this.tx;
+        final double ty = this.ty;
+        for (int index = startIndex; index < endIndex; index++) {
+            double x = xs[index];
+            double y = ys[index];
+            xs[index] = Math.fma(mxx, x, Math.fma(myx, y, tx));
+            ys[index] = Math.fma(mxy, x, Math.fma(myy, y, ty));
+        }
+    }
+
     @Override
     public void transform(@NotNull HalfPlane src, @NotNull HalfPlane dst) {
         final double a = myy * src.a - mxy * src.b;
@@ -385,6 +405,31 @@ public class Affine2 extends Axes {
         }
     }
 
+    @NotNull
+    @Override
+    public GeometryOperationResult inverseTransform(@NotNull PointBuffer buffer, int startIndex, int endIndex) {
+        buffer.checkRange(startIndex, endIndex);
+        final double det = calculateDeterminant();
+        if (!(Math.abs(det) > EPSILON)) {
+            return GeometryOperationResult.FAIL;
+        }
+        final double[] xs = buffer.xs;
+        final double[] ys = buffer.ys;
+        final double mxx = this.mxx;
+        final double mxy = this.mxy;
+        final double myx = this.myx;
+        final double myy = this.myy;
+        final double tx = this.tx;
+        final double ty = this.ty;
+        for (int index = startIndex; index < endIndex; index++) {
+            double x = xs[index] - tx;
+            double y = ys[index] - ty;
+            xs[index] = (myy * x - myx * y) / det;
+            ys[index] = (mxx * y - mxy * x) / det;
+        }
+        return GeometryOperationResult.UNKNOWN;
+    }
+
     @Override
     public double vectorComponent(int index) {
         switch (index) {
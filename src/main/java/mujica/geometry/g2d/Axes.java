@@ -9,6 +9,7 @@ import org.jetbrains.annotations.NotNull;
 @CodeHistory(date = "2018/7/9", project = "existence", name = "MtCoordSysD3")
 @CodeHistory(date = "2020/4/10", project = "coo", name = "PlanarTransform.Orthogonal")
 @CodeHistory(date = "2022/6/26")
+@CodeHistory(date = "2026/10/17")
 @ReferencePage(title = "Rotation and Translation (2D)", href = "https://www.cs.usfca.edu/~galles/visualization/RotateTranslate2D.html")
 @DirectSubclass({Affine2.class})
 public class Axes extends ViewportTransform {
@@ -327,6 +328,23 @@ public class Axes extends ViewportTransform {
         );
     }
 
+    @Override
+    public void transform(@NotNull PointBuffer buffer, int startIndex, int endIndex) {
+        buffer.checkRange(startIndex, endIndex);
+        final double[] xs = buffer.xs;
+        final double[] ys = buffer.ys;
+        final double mxx = this.mxx;
+        final double mxy = this.mxy;
+        final double tx = this.tx;
+        final double ty = this.ty;
+        for (int index = startIndex; index < endIndex; index++) {
+            double x = xs[index];
+            double y = ys[index];
+            xs[index] = Math.fma(mxx, x, Math.fma(-mxy, y, tx));
+            ys[index] = Math.fma(mxy, x, Math.fma(mxx, y, ty));
+        }
+    }
+
     @Override
     public void transform(@NotNull HalfPlane src, @NotNull HalfPlane dst) {
         final double a = mxx * src.a - mxy * src.b;
@@ -384,6 +402,29 @@ public class Axes extends ViewportTransform {
         }
     }
 
+    @NotNull
+    @Override
+    public GeometryOperationResult inverseTransform(@NotNull PointBuffer buffer, int startIndex, int endIndex) {
+        buffer.checkRange(startIndex, endIndex);
+        final double det = calculateDeterminant();
+        if (!(Math.abs(det) > EPSILON)) {
+            return GeometryOperationResult.FAIL;
+        }
+        final double[] xs = buffer.xs;
+        final double[] ys = buffer.ys;
+        final double mxx = this.mxx;
+        final double mxy = this.mxy;
+        final double tx = this.tx;
+        final double ty = this.ty;
+        for (int index = startIndex; index < endIndex; index++) {
+            double x = xs[index] - tx;
+            double y = ys[index] - ty;
+            xs[index] = (mxx * x + mxy * y) / det;
+            ys[index] = (mxx * y - mxy * x) / det;
+        }
+        return GeometryOperationResult.UNKNOWN;
+    }
+
     @Override
     public double vectorComponent(int index) {
         switch (index) {
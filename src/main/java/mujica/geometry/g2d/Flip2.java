@@ -8,6 +8,7 @@ import java.util.function.Consumer;
 
 @CodeHistory(date = "2022/6/27", project = "Ultramarine")
 @CodeHistory(date = "2025/3/2")
+@CodeHistory(date = "2026/10/17")
 public class Flip2 extends Translation2 implements FlipOption2 {
 
     private static final long serialVersionUID = 0xdd0221d9348f764cL;
@@ -226,6 +227,17 @@ public class Flip2 extends Translation2 implements FlipOption2 {
         return GeometryOperationResult.UNKNOWN;
     }
 
+    @Override
+    public void transform(@NotNull PointBuffer buffer, int startIndex, int endIndex) {
+        transformEach(buffer, startIndex, endIndex); // not the translation loop
+    }
+
+    @Override
+    @NotNull
+    public GeometryOperationResult inverseTransform(@NotNull PointBuffer buffer, int startIndex, int endIndex) {
+        return inverseTransformEach(buffer, startIndex, endIndex);
+    }
+
     @Override
     public double vectorComponent(int index) {
         switch (index) {
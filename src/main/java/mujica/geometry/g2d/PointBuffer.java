@@ -0,0 +1,404 @@
+package mujica.geometry.g2d;
+
+import mujica.geometry.Geometry;
+import mujica.geometry.GeometryOperationResult;
+import mujica.reflect.modifier.CodeHistory;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+
+/**
+ * Points as parallel x and y arrays. Batch transforms go through Transform2.transform(PointBuffer, int, int), which
+ * the common transforms implement as plain loops over the arrays, so that they compile to vector instructions
+ */
+@CodeHistory(date = "2026/10/17")
+public class PointBuffer extends Geometry {
+
+    private static final long serialVersionUID = 0x3c8e1f5a90d2b647L;
+
+    /**
+     * below this size the parallel methods run in the calling thread
+     */
+    public static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    @NotNull
+    double[] xs, ys;
+
+    int size;
+
+    public PointBuffer(int capacity) {
+        super();
+        if (capacity < 0) {
+            throw new IllegalArgumentException("capacity = " + capacity);
+        }
+        xs = new double[capacity];
+        ys = new double[capacity];
+    }
+
+    public PointBuffer() {
+        this(16);
+    }
+
+    public PointBuffer(@NotNull Point[] array) {
+        this(array.length);
+        for (Point point : array) {
+            xs[size] = point.x;
+            ys[size] = point.y;
+            size++;
+        }
+    }
+
+    @SuppressWarnings("CopyConstructorMissesField")
+    public PointBuffer(@NotNull PointBuffer that) {
+        super();
+        xs = Arrays.copyOf(that.xs, that.size);
+        ys = Arrays.copyOf(that.ys, that.size);
+        size = that.size;
+    }
+
+    @NotNull
+    @Override
+    public PointBuffer duplicate() {
+        return new PointBuffer(this);
+    }
+
+    @Override
+    public void checkHealth(@NotNull Consumer<RuntimeException> consumer) {
+        if (size > xs.length || xs.length != ys.length) {
+            consumer.accept(new RuntimeException("size = " + size + ", capacity = " + xs.length + ", " + ys.length));
+            return;
+        }
+        for (int index = 0; index < size; index++) {
+            checkNotNaN("x[" + index + "]", xs[index], consumer);
+            checkNotNaN("y[" + index + "]", ys[index], consumer);
+        }
+    }
+
+    @Override
+    public boolean isHealthy() {
+        for (int index = 0; index < size; index++) {
+            if (xs[index] != xs[index] || ys[index] != ys[index]) {
+                return false;
+            }
+        }
+        return size <= xs.length && xs.length == ys.length;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return xs.length;
+    }
+
+    /**
+     * @return backing array, replaced when the buffer grows
+     */
+    @NotNull
+    public double[] xArray() {
+        return xs;
+    }
+
+    /**
+     * @return backing array, replaced when the buffer grows
+     */
+    @NotNull
+    public double[] yArray() {
+        return ys;
+    }
+
+    void checkRange(int startIndex, int endIndex) {
+        Objects.checkFromToIndex(startIndex, endIndex, size);
+    }
+
+    public void ensureCapacity(int capacity) {
+        if (capacity > xs.length) {
+            capacity = Math.max(capacity, xs.length + (xs.length >> 1));
+            xs = Arrays.copyOf(xs, capacity);
+            ys = Arrays.copyOf(ys, capacity);
+        }
+    }
+
+    public void add(double x, double y) {
+        ensureCapacity(size + 1);
+        xs[size] = x;
+        ys[size] = y;
+        size++;
+    }
+
+    public void add(@NotNull Point point) {
+        add(point.x, point.y);
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public double getX(int index) {
+        Objects.checkIndex(index, size);
+        return xs[index];
+    }
+
+    public double getY(int index) {
+        Objects.checkIndex(index, size);
+        return ys[index];
+    }
+
+    public void getPoint(int index, @NotNull Point dst) {
+        Objects.checkIndex(index, size);
+        dst.setPoint(xs[index], ys[index]);
+    }
+
+    public void setPoint(int index, double x, double y) {
+        Objects.checkIndex(index, size);
+        xs[index] = x;
+        ys[index] = y;
+    }
+
+    public void setPoint(int index, @NotNull Point src) {
+        setPoint(index, src.x, src.y);
+    }
+
+    @NotNull
+    public Point[] toPointArray() {
+        final Point[] array = new Point[size];
+        for (int index = 0; index < size; index++) {
+            array[index] = new Point(xs[index], ys[index]);
+        }
+        return array;
+    }
+
+    @FunctionalInterface
+    private interface ChunkAction {
+
+        void apply(int chunkIndex, int startIndex, int endIndex);
+    }
+
+    /**
+     * Halves the chunk range until one chunk is left
+     */
+    @CodeHistory(date = "2026/10/17")
+    private static class Split extends RecursiveAction {
+
+        private static final long serialVersionUID = 0x9d41b7e2c05a3f18L;
+
+        @NotNull
+        final ChunkAction action;
+
+        final int chunkSize, size, startChunk, endChunk;
+
+        Split(@NotNull ChunkAction action, int chunkSize, int size, int startChunk, int endChunk) {
+            super();
+            this.action = action;
+            this.chunkSize = chunkSize;
+            this.size = size;
+            this.startChunk = startChunk;
+            this.endChunk = endChunk;
+        }
+
+        @Override
+        protected void compute() {
+            if (endChunk - startChunk == 1) {
+                action.apply(startChunk, startChunk * chunkSize, Math.min(size, (startChunk + 1) * chunkSize));
+            } else {
+                int middleChunk = (startChunk + endChunk) >>> 1;
+                invokeAll(new Split(action, chunkSize, size, startChunk, middleChunk),
+                        new Split(action, chunkSize, size, middleChunk, endChunk));
+            }
+        }
+    }
+
+    private int chunkCount() {
+        if (size < PARALLEL_THRESHOLD) {
+            return 1;
+        }
+        return Math.max(1, Math.min(ForkJoinPool.getCommonPoolParallelism() * 4, size / (PARALLEL_THRESHOLD >> 2)));
+    }
+
+    private void forChunks(int chunkCount, @NotNull ChunkAction action) {
+        if (chunkCount == 1) {
+            action.apply(0, 0, size);
+        } else {
+            ForkJoinPool.commonPool().invoke(new Split(action, (size + chunkCount - 1) / chunkCount, size, 0, chunkCount));
+        }
+    }
+
+    public void transform(@NotNull Transform2 transform) {
+        transform.transform(this, 0, size);
+    }
+
+    /**
+     * Splits large buffers over the common pool
+     */
+    public void parallelTransform(@NotNull Transform2 transform) {
+        forChunks(chunkCount(), (chunkIndex, startIndex, endIndex) -> transform.transform(this, startIndex, endIndex));
+    }
+
+    @NotNull
+    public GeometryOperationResult inverseTransform(@NotNull Transform2 transform) {
+        return transform.inverseTransform(this, 0, size);
+    }
+
+    @NotNull
+    public GeometryOperationResult parallelInverseTransform(@NotNull Transform2 transform) {
+        final int chunkCount = chunkCount();
+        final int[] results = new int[chunkCount];
+        forChunks(chunkCount, (chunkIndex, startIndex, endIndex)
+                -> results[chunkIndex] = transform.inverseTransform(this, startIndex, endIndex).ordinal());
+        int result = GeometryOperationResult.REMAIN.ordinal();
+        for (int chunkResult : results) {
+            result = Math.min(result, chunkResult);
+        }
+        return GeometryOperationResult.of(result);
+    }
+
+    /**
+     * @param out min x, max x, min y, max y from offset
+     */
+    private void bound(int startIndex, int endIndex, @NotNull double[] out, int offset) {
+        final double[] xs = this.xs;
+        final double[] ys = this.ys;
+        double minX = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY;
+        double minY = Double.POSITIVE_INFINITY;
+        double maxY = Double.NEGATIVE_INFINITY;
+        for (int index = startIndex; index < endIndex; index++) {
+            double x = xs[index];
+            double y = ys[index];
+            minX = x < minX ? x : minX; // NaN skipped, as in Bound.includePoint()
+            maxX = x > maxX ? x : maxX;
+            minY = y < minY ? y : minY;
+            maxY = y > maxY ? y : maxY;
+        }
+        out[offset] = minX;
+        out[offset + 1] = maxX;
+        out[offset + 2] = minY;
+        out[offset + 3] = maxY;
+    }
+
+    private static void setBound(@NotNull double[] array, int chunkCount, @NotNull Bound dst) {
+        double minX = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY;
+        double minY = Double.POSITIVE_INFINITY;
+        double maxY = Double.NEGATIVE_INFINITY;
+        for (int chunkIndex = 0; chunkIndex < chunkCount; chunkIndex++) {
+            minX = Math.min(minX, array[4 * chunkIndex]);
+            maxX = Math.max(maxX, array[4 * chunkIndex + 1]);
+            minY = Math.min(minY, array[4 * chunkIndex + 2]);
+            maxY = Math.max(maxY, array[4 * chunkIndex + 3]);
+        }
+        if (minX > maxX) {
+            dst.invalidate();
+        } else {
+            dst.setBound(minX, maxX, minY, maxY);
+        }
+    }
+
+    @NotNull
+    public GeometryOperationResult smallestBound(@NotNull Bound bound) {
+        final double[] array = new double[4];
+        bound(0, size, array, 0);
+        setBound(array, 1, bound);
+        return GeometryOperationResult.UNKNOWN;
+    }
+
+    @NotNull
+    public GeometryOperationResult parallelSmallestBound(@NotNull Bound bound) {
+        final int chunkCount = chunkCount();
+        final double[] array = new double[4 * chunkCount];
+        forChunks(chunkCount, (chunkIndex, startIndex, endIndex) -> bound(startIndex, endIndex, array, 4 * chunkIndex));
+        setBound(array, chunkCount, bound);
+        return GeometryOperationResult.UNKNOWN;
+    }
+
+    /**
+     * @param out square distance to the point at the same index
+     */
+    public void squareDistances(double x, double y, @NotNull double[] out, int startIndex, int endIndex) {
+        checkRange(startIndex, endIndex);
+        Objects.checkFromToIndex(startIndex, endIndex, out.length);
+        final double[] xs = this.xs;
+        final double[] ys = this.ys;
+        for (int index = startIndex; index < endIndex; index++) {
+            double dx = xs[index] - x;
+            double dy = ys[index] - y;
+            out[index] = dx * dx + dy * dy;
+        }
+    }
+
+    /**
+     * Square root of the square distance rather than hypot(), so that it vectorizes; no guard against overflow
+     */
+    public void euclidDistances(double x, double y, @NotNull double[] out, int startIndex, int endIndex) {
+        squareDistances(x, y, out, startIndex, endIndex);
+        for (int index = startIndex; index < endIndex; index++) {
+            out[index] = Math.sqrt(out[index]);
+        }
+    }
+
+    /**
+     * Points at NaN distance are skipped; a distance overflowing to infinity still counts
+     *
+     * @return index of the nearest point, the first one on ties, or -1 if empty or all the distances are NaN
+     */
+    public int nearest(double x, double y) {
+        final double[] xs = this.xs;
+        final double[] ys = this.ys;
+        int nearest = -1;
+        double min = Double.POSITIVE_INFINITY;
+        for (int index = 0; index < size; index++) {
+            double dx = xs[index] - x;
+            double dy = ys[index] - y;
+            double distance = dx * dx + dy * dy;
+            if (distance < min || nearest == -1 && distance == min) {
+                min = distance;
+                nearest = index;
+            }
+        }
+        return nearest;
+    }
+
+    @Override
+    public int vectorLength() {
+        return size << 1;
+    }
+
+    @Override
+    public double vectorComponent(int index) {
+        Objects.checkIndex(index, size << 1);
+        return ((index & 1) == 0 ? xs : ys)[index >> 1];
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = size;
+        for (int index = 0; index < size; index++) {
+            hash = hash * 31 + Double.hashCode(xs[index]);
+            hash = hash * 31 + Double.hashCode(ys[index]);
+        }
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof PointBuffer)) {
+            return false;
+        }
+        final PointBuffer that = (PointBuffer) obj;
+        return this.size == that.size && Arrays.equals(this.xs, 0, size, that.xs, 0, size)
+                && Arrays.equals(this.ys, 0, size, that.ys, 0, size);
+    }
+
+    @Override
+    public String toString() {
+        return "PointBuffer[size = " + size + "]";
+    }
+}
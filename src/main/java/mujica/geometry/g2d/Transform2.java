@@ -12,6 +12,7 @@ import java.util.function.Consumer;
 @CodeHistory(date = "2020/4/10", project = "coo", name = "PlanarTransform")
 @CodeHistory(date = "2022/6/5", project = "Ultramarine")
 @CodeHistory(date = "2024/4/1")
+@CodeHistory(date = "2026/10/17")
 @DirectSubclass({Translation2.class})
 public class Transform2 extends Geometry implements FunctionalTransform2, Comparable<Transform2> {
 
@@ -89,6 +90,26 @@ public class Transform2 extends Geometry implements FunctionalTransform2, Compar
         }
     }
 
+    /**
+     * Calls transform(Point, Point) on each point; subclasses with a closed form override this with a loop over the arrays
+     */
+    public void transform(@NotNull PointBuffer buffer, int startIndex, int endIndex) {
+        transformEach(buffer, startIndex, endIndex);
+    }
+
+    protected final void transformEach(@NotNull PointBuffer buffer, int startIndex, int endIndex) {
+        buffer.checkRange(startIndex, endIndex);
+        final double[] xs = buffer.xs;
+        final double[] ys = buffer.ys;
+        final Point point = new Point();
+        for (int index = startIndex; index < endIndex; index++) {
+            point.setPoint(xs[index], ys[index]);
+            transform(point, point);
+            xs[index] = point.x;
+            ys[index] = point.y;
+        }
+    }
+
     @NotNull
     public GeometryOperationResult setToInverse() {
         return GeometryOperationResult.REMAIN;
@@ -130,6 +151,31 @@ public class Transform2 extends Geometry implements FunctionalTransform2, Compar
         return GeometryOperationResult.of(result);
     }
 
+    /**
+     * Calls inverseTransform(Point, Point) on each point; subclasses with a closed form override this with a loop over the arrays,
+     * leaving the points unchanged on FAIL
+     */
+    @NotNull
+    public GeometryOperationResult inverseTransform(@NotNull PointBuffer buffer, int startIndex, int endIndex) {
+        return inverseTransformEach(buffer, startIndex, endIndex);
+    }
+
+    @NotNull
+    protected final GeometryOperationResult inverseTransformEach(@NotNull PointBuffer buffer, int startIndex, int endIndex) {
+        buffer.checkRange(startIndex, endIndex);
+        final double[] xs = buffer.xs;
+        final double[] ys = buffer.ys;
+        final Point point = new Point();
+        int result = GeometryOperationResult.REMAIN.ordinal();
+        for (int index = startIndex; index < endIndex; index++) {
+            point.setPoint(xs[index], ys[index]);
+            result = Math.min(result, inverseTransform(point, point).ordinal());
+            xs[index] = point.x;
+            ys[index] = point.y;
+        }
+        return GeometryOperationResult.of(result);
+    }
+
     @Override
     public int vectorLength() {
         return 9;
@@ -11,6 +11,7 @@ import java.util.function.Consumer;
 @CodeHistory(date = "2021/9/16", project = "va")
 @CodeHistory(date = "2022/6/5", project = "Ultramarine")
 @CodeHistory(date = "2025/3/2")
+@CodeHistory(date = "2026/10/17")
 @DirectSubclass({Flip2.class, ViewportTransform.class})
 public class Translation2 extends Transform2 {
 
@@ -84,6 +85,21 @@ public class Translation2 extends Transform2 {
         dst.setPoint(src.x + tx, src.y + ty);
     }
 
+    @Override
+    public void transform(@NotNull PointBuffer buffer, int startIndex, int endIndex) {
+        buffer.checkRange(startIndex, endIndex);
+        final double[] xs = buffer.xs;
+        final double[] ys = buffer.ys;
+        final double tx = this.tx;
+        final double ty = this.ty;
+        for (int index = startIndex; index < endIndex; index++) {
+            xs[index] += tx;
+        }
+        for (int index = startIndex; index < endIndex; index++) {
+            ys[index] += ty;
+        }
+    }
+
     public void transform(@NotNull HalfPlane src, @NotNull HalfPlane dst) {
         dst.setHalfPlane(src.a, src.b, src.c - tx * src.a - ty * src.b);
     }
@@ -107,6 +123,23 @@ public class Translation2 extends Transform2 {
         return GeometryOperationResult.UNKNOWN;
     }
 
+    @Override
+    @NotNull
+    public GeometryOperationResult inverseTransform(@NotNull PointBuffer buffer, int startIndex, int endIndex) {
+        buffer.checkRange(startIndex, endIndex);
+        final double[] xs = buffer.xs;
+        final double[] ys = buffer.ys;
+        final double tx = this.tx;
+        final double ty = this.ty;
+        for (int index = startIndex; index < endIndex; index++) {
+            xs[index] -= tx;
+        }
+        for (int index = startIndex; index < endIndex; index++) {
+            ys[index] -= ty;
+        }
+        return GeometryOperationResult.UNKNOWN;
+    }
+
     @Override
     public double vectorComponent(int index) {
         switch (index) {
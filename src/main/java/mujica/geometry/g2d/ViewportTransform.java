@@ -8,6 +8,7 @@ import java.util.function.Consumer;
 
 @CodeHistory(date = "2022/7/4", project = "Ultramarine")
 @CodeHistory(date = "2025/3/2")
+@CodeHistory(date = "2026/10/17")
 public class ViewportTransform extends Translation2 {
 
     private static final long serialVersionUID = 0xd8dfeb8bd098d122L;
@@ -152,6 +153,22 @@ public class ViewportTransform extends Translation2 {
         );
     }
 
+    @Override
+    public void transform(@NotNull PointBuffer buffer, int startIndex, int endIndex) {
+        buffer.checkRange(startIndex, endIndex);
+        final double[] xs = buffer.xs;
+        final double[] ys = buffer.ys;
+        final double s = mxx;
+        final double tx = this.tx;
+        final double ty = this.ty;
+        for (int index = startIndex; index < endIndex; index++) {
+            xs[index] = Math.fma(s, xs[index], tx);
+        }
+        for (int index = startIndex; index < endIndex; index++) {
+            ys[index] = Math.fma(s, ys[index], ty);
+        }
+    }
+
     @Override
     public void transform(@NotNull HalfPlane src, @NotNull HalfPlane dst) {
         dst.setHalfPlane(
@@ -206,6 +223,27 @@ public class ViewportTransform extends Translation2 {
         }
     }
 
+    @Override
+    @NotNull
+    public GeometryOperationResult inverseTransform(@NotNull PointBuffer buffer, int startIndex, int endIndex) {
+        buffer.checkRange(startIndex, endIndex);
+        final double s = mxx;
+        if (!(Math.abs(s) > EPSILON)) {
+            return GeometryOperationResult.FAIL;
+        }
+        final double[] xs = buffer.xs;
+        final double[] ys = buffer.ys;
+        final double tx = this.tx;
+        final double ty = this.ty;
+        for (int index = startIndex; index < endIndex; index++) {
+            xs[index] = (xs[index] - tx) / s;
+        }
+        for (int index = startIndex; index < endIndex; index++) {
+            ys[index] = (ys[index] - ty) / s;
+        }
+        return GeometryOperationResult.UNKNOWN;
+    }
+
     @Override
     public double vectorComponent(int index) {
         switch (index) {
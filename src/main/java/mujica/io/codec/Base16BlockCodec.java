@@ -0,0 +1,224 @@
+package mujica.io.codec;
+
+import io.netty.buffer.ByteBuf;
+import mujica.reflect.modifier.CodeHistory;
+import mujica.reflect.modifier.ReferencePage;
+import org.intellij.lang.annotations.MagicConstant;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Block kernels for the streams. 4 octets are spread to 8 nibbles in the bytes of a long, and turned to digits with SWAR,
+ * without a table or a branch. 2 digits are decoded by 2 lookups. Both cases are decoded.
+ */
+@CodeHistory(date = "2026/10/17")
+@ReferencePage(title = "RFC4648: The Base16, Base32, and Base64 Data Encodings", href = "https://www.rfc-editor.org/rfc/inline-errata/rfc4648.html")
+public final class Base16BlockCodec {
+
+    private static final VarHandle LONG_BE = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+    private static final VarHandle INT_BE = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+
+    private static final long ONES = 0x0101010101010101L;
+
+    private static final int CHUNK = 1 << 12;
+
+    private static final int[] DECODE_HIGH = new int[256];
+
+    private static final int[] DECODE_LOW = new int[256];
+
+    static {
+        for (int ch = 0; ch < 256; ch++) {
+            int value;
+            if ('0' <= ch && ch <= '9') {
+                value = ch - '0';
+            } else if ('a' <= ch && ch <= 'f') {
+                value = ch - Base16Case.LOWER_CONSTANT;
+            } else if ('A' <= ch && ch <= 'F') {
+                value = ch - Base16Case.UPPER_CONSTANT;
+            } else {
+                DECODE_HIGH[ch] = -1;
+                DECODE_LOW[ch] = -1;
+                continue;
+            }
+            DECODE_HIGH[ch] = value << 4;
+            DECODE_LOW[ch] = value;
+        }
+    }
+
+    /**
+     * @return 8 digits, the first one in the highest byte
+     */
+    static long digits(int octets, @MagicConstant(valuesFromClass = Base16Case.class) int alphabetOffset) {
+        long nibbles = 0xffffffffL & octets;
+        nibbles = (nibbles | nibbles << 16) & 0x0000ffff0000ffffL;
+        nibbles = (nibbles | nibbles << 8) & 0x00ff00ff00ff00ffL;
+        nibbles = (nibbles | nibbles << 4) & 0x0f0f0f0f0f0f0f0fL;
+        final long letters = ((nibbles + 6 * ONES) >>> 4) & ONES; // 1 in the bytes from 0xa to 0xf
+        return nibbles + '0' * ONES + letters * (alphabetOffset - '0');
+    }
+
+    /**
+     * @return the count of digits
+     */
+    public static int encode(@NotNull byte[] src, int srcOffset, int srcLength, @NotNull byte[] dst, int dstOffset,
+                             @MagicConstant(valuesFromClass = Base16Case.class) int alphabetOffset) {
+        final int start = dstOffset;
+        final int srcLimit = srcOffset + srcLength;
+        while (srcLimit - srcOffset >= Integer.BYTES) {
+            LONG_BE.set(dst, dstOffset, digits((int) INT_BE.get(src, srcOffset), alphabetOffset));
+            srcOffset += Integer.BYTES;
+            dstOffset += Long.BYTES;
+        }
+        while (srcOffset < srcLimit) {
+            long pair = digits(0xff & src[srcOffset++], alphabetOffset);
+            dst[dstOffset++] = (byte) (pair >> 8);
+            dst[dstOffset++] = (byte) pair;
+        }
+        return dstOffset - start;
+    }
+
+    /**
+     * Decodes pairs of digits until the first pair containing a character out of the alphabet
+     *
+     * @return the count of octets decoded
+     */
+    public static int decodePairs(@NotNull byte[] src, int srcOffset, @NotNull byte[] dst, int dstOffset, int pairCount) {
+        final int[] decodeHigh = DECODE_HIGH;
+        final int[] decodeLow = DECODE_LOW;
+        int pairIndex = 0;
+        for (; pairIndex < pairCount; pairIndex++) {
+            int octet = decodeHigh[0xff & src[srcOffset]] | decodeLow[0xff & src[srcOffset + 1]];
+            if (octet < 0) {
+                break;
+            }
+            dst[dstOffset + pairIndex] = (byte) octet;
+            srcOffset += 2;
+        }
+        return pairIndex;
+    }
+
+    /**
+     * @return the count of octets
+     */
+    public static int decode(@NotNull byte[] src, int srcOffset, int srcLength, @NotNull byte[] dst, int dstOffset) throws BadCodeException {
+        if ((srcLength & 1) != 0) {
+            throw new BadCodeException("length = " + srcLength);
+        }
+        final int pairCount = srcLength >> 1;
+        final int decoded = decodePairs(src, srcOffset, dst, dstOffset, pairCount);
+        if (decoded != pairCount) {
+            srcOffset += decoded << 1;
+            int ch = 0xff & src[DECODE_HIGH[0xff & src[srcOffset]] < 0 ? srcOffset : srcOffset + 1];
+            throw new BadCodeException(ch + " not in [0-9A-Fa-f]");
+        }
+        return pairCount;
+    }
+
+    /**
+     * Encodes all remaining octets of the source
+     */
+    public static void encode(@NotNull ByteBuffer src, @NotNull ByteBuffer dst, @MagicConstant(valuesFromClass = Base16Case.class) int alphabetOffset) {
+        final int srcLength = src.remaining();
+        final int dstLength = Math.multiplyExact(srcLength, 2);
+        if (dst.remaining() < dstLength) {
+            throw new BufferOverflowException();
+        }
+        if (src.hasArray() && dst.hasArray()) {
+            encode(src.array(), src.arrayOffset() + src.position(), srcLength, dst.array(), dst.arrayOffset() + dst.position(), alphabetOffset);
+            src.position(src.limit());
+            dst.position(dst.position() + dstLength);
+            return;
+        }
+        final byte[] message = new byte[Math.min(srcLength, CHUNK)];
+        final byte[] code = new byte[2 * message.length];
+        while (src.hasRemaining()) {
+            int length = Math.min(src.remaining(), message.length);
+            src.get(message, 0, length);
+            dst.put(code, 0, encode(message, 0, length, code, 0, alphabetOffset));
+        }
+    }
+
+    /**
+     * Decodes all remaining digits of the source
+     */
+    public static void decode(@NotNull ByteBuffer src, @NotNull ByteBuffer dst) throws BadCodeException {
+        final int srcLength = src.remaining();
+        if ((srcLength & 1) != 0) {
+            throw new BadCodeException("length = " + srcLength);
+        }
+        if (dst.remaining() < srcLength >> 1) {
+            throw new BufferOverflowException();
+        }
+        if (src.hasArray() && dst.hasArray()) {
+            int count = decode(src.array(), src.arrayOffset() + src.position(), srcLength, dst.array(), dst.arrayOffset() + dst.position());
+            src.position(src.limit());
+            dst.position(dst.position() + count);
+            return;
+        }
+        final byte[] code = new byte[Math.min(srcLength, 2 * CHUNK)];
+        final byte[] message = new byte[code.length >> 1];
+        while (src.hasRemaining()) {
+            int length = Math.min(src.remaining(), code.length);
+            src.get(code, 0, length);
+            dst.put(message, 0, decode(code, 0, length, message, 0));
+        }
+    }
+
+    /**
+     * Encodes all readable octets of the source, and writes to the destination
+     */
+    public static void encode(@NotNull ByteBuf src, @NotNull ByteBuf dst, @MagicConstant(valuesFromClass = Base16Case.class) int alphabetOffset) {
+        final int srcLength = src.readableBytes();
+        final int dstLength = Math.multiplyExact(srcLength, 2);
+        dst.ensureWritable(dstLength);
+        if (src.hasArray() && dst.hasArray()) {
+            encode(src.array(), src.arrayOffset() + src.readerIndex(), srcLength, dst.array(), dst.arrayOffset() + dst.writerIndex(), alphabetOffset);
+            src.skipBytes(srcLength);
+            dst.writerIndex(dst.writerIndex() + dstLength);
+            return;
+        }
+        final byte[] message = new byte[Math.min(srcLength, CHUNK)];
+        final byte[] code = new byte[2 * message.length];
+        while (src.isReadable()) {
+            int length = Math.min(src.readableBytes(), message.length);
+            src.readBytes(message, 0, length);
+            dst.writeBytes(code, 0, encode(message, 0, length, code, 0, alphabetOffset));
+        }
+    }
+
+    /**
+     * Decodes readable pairs of the source, and writes to the destination; the last odd digit is left readable
+     */
+    public static void decode(@NotNull ByteBuf src, @NotNull ByteBuf dst) throws BadCodeException {
+        final int srcLength = src.readableBytes() & ~1;
+        final int dstLength = srcLength >> 1;
+        dst.ensureWritable(dstLength);
+        if (src.hasArray() && dst.hasArray()) {
+            decode(src.array(), src.arrayOffset() + src.readerIndex(), srcLength, dst.array(), dst.arrayOffset() + dst.writerIndex());
+            src.skipBytes(srcLength);
+            dst.writerIndex(dst.writerIndex() + dstLength);
+            return;
+        }
+        final byte[] code = new byte[Math.min(srcLength, 2 * CHUNK)];
+        final byte[] message = new byte[code.length >> 1];
+        for (int remaining = srcLength; remaining > 0; ) {
+            int length = Math.min(remaining, code.length);
+            src.readBytes(code, 0, length);
+            dst.writeBytes(message, 0, decode(code, 0, length, message, 0));
+            remaining -= length;
+        }
+    }
+
+    /**
+     * No instance
+     */
+    private Base16BlockCodec() {
+        super();
+    }
+}
@@ -9,8 +9,13 @@ import java.io.IOException;
 import java.io.InputStream;
 
 @CodeHistory(date = "2025/4/19")
+@CodeHistory(date = "2026/10/17")
 public class Base16DecodeInputStream extends FilterInputStream implements Base16StreamingCodec {
 
+    private static final int CHUNK = 1 << 12;
+
+    private byte[] chunk;
+
     public Base16DecodeInputStream(@NotNull InputStream in) {
         super(in);
     }
@@ -23,6 +28,9 @@ public class Base16DecodeInputStream extends FilterInputStream implements Base16
 
     @Override
     public int read(@NotNull byte[] array, int offset, int length) throws IOException {
+        if (length >= Integer.BYTES) {
+            return readPairs(array, offset, length);
+        }
         int count = 0;
         for (int limit = Math.addExact(offset, length); offset < limit; offset++) {
             int value = read();
@@ -38,6 +46,32 @@ public class Base16DecodeInputStream extends FilterInputStream implements Base16
         return count;
     }
 
+    /**
+     * Reads once from the underlying stream, and one more digit for an odd count; the last odd digit before the end is dropped
+     * like read()
+     */
+    private int readPairs(@NotNull byte[] array, int offset, int length) throws IOException {
+        if (chunk == null) {
+            chunk = new byte[2 * CHUNK];
+        }
+        final byte[] chunk = this.chunk;
+        int count = in.read(chunk, 0, 2 * Math.min(length, CHUNK));
+        if (count == -1) {
+            return -1;
+        }
+        if ((count & 1) != 0) {
+            int digit = in.read();
+            if (digit == -1) {
+                if (--count == 0) {
+                    return -1;
+                }
+            } else {
+                chunk[count++] = (byte) digit;
+            }
+        }
+        return Base16BlockCodec.decode(chunk, 0, count, array, offset);
+    }
+
     private int decode(boolean shift) throws IOException {
         int digit = in.read();
         if ('0' <= digit && digit <= '9') {
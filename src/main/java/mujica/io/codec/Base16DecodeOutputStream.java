@@ -8,10 +8,15 @@ import java.io.IOException;
 import java.io.OutputStream;
 
 @CodeHistory(date = "2025/4/19")
+@CodeHistory(date = "2026/10/17")
 public class Base16DecodeOutputStream extends FilterOutputStream implements Base16StreamingCodec {
 
+    private static final int CHUNK = 1 << 12;
+
     private int nibble = -1;
 
+    private byte[] chunk;
+
     public Base16DecodeOutputStream(@NotNull OutputStream out) {
         super(out);
     }
@@ -28,7 +33,22 @@ public class Base16DecodeOutputStream extends FilterOutputStream implements Base
 
     @Override
     public void write(@NotNull byte[] array, int offset, int length) throws IOException {
-        for (int limit = Math.addExact(offset, length); offset < limit; offset++) {
+        final int limit = Math.addExact(offset, length);
+        if (nibble != -1 && offset < limit) {
+            write(array[offset++]);
+        }
+        if (limit - offset >= 2 * Integer.BYTES) {
+            if (chunk == null) {
+                chunk = new byte[CHUNK];
+            }
+            final int pairLimit = limit - ((limit - offset) & 1);
+            while (offset < pairLimit) {
+                int count = Math.min(pairLimit - offset, 2 * CHUNK);
+                out.write(chunk, 0, Base16BlockCodec.decode(array, offset, count, chunk, 0));
+                offset += count;
+            }
+        }
+        for (; offset < limit; offset++) {
             write(array[offset]);
         }
     }
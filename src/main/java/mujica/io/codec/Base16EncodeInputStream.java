@@ -11,10 +11,15 @@ import java.io.IOException;
 import java.io.InputStream;
 
 @CodeHistory(date = "2025/4/18")
+@CodeHistory(date = "2026/10/17")
 public class Base16EncodeInputStream extends FilterInputStream implements Base16StreamingEncoder {
 
+    private static final int CHUNK = 1 << 12;
+
     private int alphabetOffset;
 
+    private byte[] chunk;
+
     private int nibble = -1;
 
     private int markNibble = -1;
@@ -65,6 +70,16 @@ public class Base16EncodeInputStream extends FilterInputStream implements Base16
      */
     @Override
     public int read(@NotNull byte[] array, int offset, int length) throws IOException {
+        if (nibble == -1 && length >= 2 * Integer.BYTES) {
+            if (chunk == null) {
+                chunk = new byte[CHUNK];
+            }
+            int count = in.read(chunk, 0, Math.min(length >> 1, CHUNK));
+            if (count == -1) {
+                return -1;
+            }
+            return Base16BlockCodec.encode(chunk, 0, count, array, offset, alphabetOffset);
+        }
         int count = 0;
         for (int limit = Math.addExact(offset, length); offset < limit; offset++) {
             int value = read();
@@ -9,10 +9,15 @@ import java.io.IOException;
 import java.io.OutputStream;
 
 @CodeHistory(date = "2025/4/18")
+@CodeHistory(date = "2026/10/17")
 public class Base16EncodeOutputStream extends FilterOutputStream implements Base16StreamingEncoder {
 
+    private static final int CHUNK = 1 << 12;
+
     private int alphabetOffset;
 
+    private byte[] chunk;
+
     protected Base16EncodeOutputStream(@NotNull OutputStream out, @MagicConstant(valuesFromClass = Base16Case.class) int alphabetOffset) {
         super(out);
         this.alphabetOffset = alphabetOffset;
@@ -44,8 +49,20 @@ public class Base16EncodeOutputStream extends FilterOutputStream implements Base
 
     @Override
     public void write(@NotNull byte[] array, int offset, int length) throws IOException {
-        for (int limit = Math.addExact(offset, length); offset < limit; offset++) {
-            write(array[offset]);
+        final int limit = Math.addExact(offset, length);
+        if (length < Integer.BYTES) {
+            for (; offset < limit; offset++) {
+                write(array[offset]);
+            }
+            return;
+        }
+        if (chunk == null) {
+            chunk = new byte[2 * CHUNK];
+        }
+        while (offset < limit) {
+            int count = Math.min(limit - offset, CHUNK);
+            out.write(chunk, 0, Base16BlockCodec.encode(array, offset, count, chunk, 0, alphabetOffset));
+            offset += count;
         }
     }
 
@@ -0,0 +1,324 @@
+package mujica.io.codec;
+
+import io.netty.buffer.ByteBuf;
+import mujica.reflect.modifier.CodeHistory;
+import mujica.reflect.modifier.ReferencePage;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Block kernels for the streams. A group of 5 octets is encoded by 4 lookups in a table of character pairs indexed by 10 bits,
+ * and the 8 characters are written as one long. Both cases are decoded.
+ */
+@CodeHistory(date = "2026/10/17")
+@ReferencePage(title = "RFC4648: The Base16, Base32, and Base64 Data Encodings", href = "https://www.rfc-editor.org/rfc/inline-errata/rfc4648.html")
+public final class Base32BlockCodec {
+
+    public static final int MESSAGE_GROUP = 5;
+
+    public static final int CODE_GROUP = 8;
+
+    private static final VarHandle LONG_BE = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+    private static final VarHandle INT_BE = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+
+    private static final int CHUNK_GROUPS = 1 << 9;
+
+    private static final char[] UPPER_PAIRS = pairs(Base32Case.UPPER);
+
+    private static final char[] LOWER_PAIRS = pairs(Base32Case.LOWER);
+
+    private static final byte[] DECODE = new byte[256];
+
+    static {
+        for (int ch = 0; ch < 256; ch++) {
+            DECODE[ch] = (byte) value(ch);
+        }
+    }
+
+    @NotNull
+    private static char[] pairs(int alphabetOffset) {
+        final char[] pairs = new char[1 << 10];
+        for (int index = 0; index < pairs.length; index++) {
+            pairs[index] = (char) (alphabet(index >> 5, alphabetOffset) << 8 | alphabet(index & 0x1f, alphabetOffset));
+        }
+        return pairs;
+    }
+
+    private static int alphabet(int value, int alphabetOffset) {
+        if (value < 26) {
+            return value + alphabetOffset;
+        } else {
+            return value + '2' - 26;
+        }
+    }
+
+    /**
+     * @return from 0 to 31, or -1 out of the alphabet
+     */
+    static int value(int ch) {
+        if ('A' <= ch && ch <= 'Z') {
+            return ch - 'A';
+        } else if ('a' <= ch && ch <= 'z') {
+            return ch - 'a';
+        } else if ('2' <= ch && ch <= '7') {
+            return ch + 26 - '2';
+        } else {
+            return -1;
+        }
+    }
+
+    public static int encodedLength(int length) {
+        return Math.multiplyExact((length + 4) / MESSAGE_GROUP, CODE_GROUP);
+    }
+
+    /**
+     * Encodes whole groups without padding
+     *
+     * @return the destination offset after the last character
+     */
+    public static int encodeGroups(@NotNull byte[] src, int srcOffset, @NotNull byte[] dst, int dstOffset, int groupCount, boolean upperCase) {
+        final char[] pairs = upperCase ? UPPER_PAIRS : LOWER_PAIRS;
+        final int srcLimit = srcOffset + groupCount * MESSAGE_GROUP;
+        while (srcOffset < srcLimit) {
+            long bits;
+            if (srcLimit - srcOffset >= Long.BYTES) {
+                bits = (long) LONG_BE.get(src, srcOffset) >>> 24;
+            } else {
+                bits = (0xffL & src[srcOffset]) << 32 | (0xffffffffL & (int) INT_BE.get(src, srcOffset + 1));
+            }
+            LONG_BE.set(dst, dstOffset, (long) pairs[(int) (bits >>> 30)] << 48
+                    | (long) pairs[0x3ff & (int) (bits >>> 20)] << 32
+                    | (long) pairs[0x3ff & (int) (bits >>> 10)] << 16
+                    | (long) pairs[0x3ff & (int) bits]);
+            srcOffset += MESSAGE_GROUP;
+            dstOffset += CODE_GROUP;
+        }
+        return dstOffset;
+    }
+
+    /**
+     * Encodes all octets with padding
+     *
+     * @return the count of characters
+     */
+    public static int encode(@NotNull byte[] src, int srcOffset, int srcLength, @NotNull byte[] dst, int dstOffset, boolean upperCase) {
+        final int groupCount = srcLength / MESSAGE_GROUP;
+        int position = encodeGroups(src, srcOffset, dst, dstOffset, groupCount, upperCase);
+        srcOffset += groupCount * MESSAGE_GROUP;
+        final int rest = srcLength - groupCount * MESSAGE_GROUP;
+        if (rest != 0) {
+            final int alphabetOffset = upperCase ? Base32Case.UPPER : Base32Case.LOWER;
+            long bits = 0L;
+            for (int index = 0; index < rest; index++) {
+                bits |= (0xffL & src[srcOffset + index]) << (32 - Byte.SIZE * index);
+            }
+            final int dataCount = (rest * Byte.SIZE + 4) / 5;
+            for (int index = 0; index < CODE_GROUP; index++) {
+                if (index < dataCount) {
+                    dst[position + index] = (byte) alphabet(0x1f & (int) (bits >>> (35 - 5 * index)), alphabetOffset);
+                } else {
+                    dst[position + index] = '=';
+                }
+            }
+            position += CODE_GROUP;
+        }
+        return position - dstOffset;
+    }
+
+    /**
+     * Decodes whole groups until the first group containing a character out of the alphabet, padding included
+     *
+     * @return the count of groups decoded
+     */
+    public static int decodeGroups(@NotNull byte[] src, int srcOffset, @NotNull byte[] dst, int dstOffset, int groupCount) {
+        final byte[] decode = DECODE;
+        int groupIndex = 0;
+        for (; groupIndex < groupCount; groupIndex++) {
+            int v0 = decode[0xff & src[srcOffset]];
+            int v1 = decode[0xff & src[srcOffset + 1]];
+            int v2 = decode[0xff & src[srcOffset + 2]];
+            int v3 = decode[0xff & src[srcOffset + 3]];
+            int v4 = decode[0xff & src[srcOffset + 4]];
+            int v5 = decode[0xff & src[srcOffset + 5]];
+            int v6 = decode[0xff & src[srcOffset + 6]];
+            int v7 = decode[0xff & src[srcOffset + 7]];
+            if ((v0 | v1 | v2 | v3 | v4 | v5 | v6 | v7) < 0) {
+                break;
+            }
+            long bits = (long) v0 << 35 | (long) v1 << 30 | (long) v2 << 25 | (long) v3 << 20
+                    | v4 << 15 | v5 << 10 | v6 << 5 | v7;
+            INT_BE.set(dst, dstOffset, (int) (bits >>> 8));
+            dst[dstOffset + 4] = (byte) bits;
+            srcOffset += CODE_GROUP;
+            dstOffset += MESSAGE_GROUP;
+        }
+        return groupIndex;
+    }
+
+    /**
+     * Decodes one group which may end with padding
+     *
+     * @return the count of octets, from 1 to 5
+     */
+    static int decodePadded(@NotNull byte[] src, int srcOffset, @NotNull byte[] dst, int dstOffset) throws BadCodeException {
+        long bits = 0L;
+        int dataCount = 0;
+        for (int index = 0; index < CODE_GROUP; index++) {
+            int ch = 0xff & src[srcOffset + index];
+            if (dataCount < index) {
+                if (ch != '=') {
+                    throw new BadCodeException(ch + " != '='");
+                }
+                continue;
+            }
+            int value = DECODE[ch];
+            if (value >= 0) {
+                bits |= (long) value << (35 - 5 * index);
+                dataCount++;
+            } else if (ch != '=') {
+                throw new BadCodeException(ch + " not in [2-7A-Za-z]");
+            }
+        }
+        if (dataCount != 2 && dataCount != 4 && dataCount != 5 && dataCount != 7 && dataCount != 8) {
+            throw new BadCodeException("padding after " + dataCount + " characters");
+        }
+        final int count = dataCount * 5 / Byte.SIZE;
+        for (int index = 0; index < count; index++) {
+            dst[dstOffset + index] = (byte) (bits >>> (32 - Byte.SIZE * index));
+        }
+        return count;
+    }
+
+    /**
+     * Decodes whole groups, any of which may end with padding
+     *
+     * @return the count of octets
+     */
+    public static int decode(@NotNull byte[] src, int srcOffset, int srcLength, @NotNull byte[] dst, int dstOffset) throws BadCodeException {
+        if (srcLength % CODE_GROUP != 0) {
+            throw new BadCodeException("length = " + srcLength);
+        }
+        final int start = dstOffset;
+        int groupCount = srcLength / CODE_GROUP;
+        while (groupCount > 0) {
+            int decoded = decodeGroups(src, srcOffset, dst, dstOffset, groupCount);
+            srcOffset += decoded * CODE_GROUP;
+            dstOffset += decoded * MESSAGE_GROUP;
+            groupCount -= decoded;
+            if (groupCount > 0) {
+                dstOffset += decodePadded(src, srcOffset, dst, dstOffset);
+                srcOffset += CODE_GROUP;
+                groupCount--;
+            }
+        }
+        return dstOffset - start;
+    }
+
+    /**
+     * Encodes all remaining octets of the source with padding
+     */
+    public static void encode(@NotNull ByteBuffer src, @NotNull ByteBuffer dst, boolean upperCase) {
+        final int srcLength = src.remaining();
+        final int dstLength = encodedLength(srcLength);
+        if (dst.remaining() < dstLength) {
+            throw new BufferOverflowException();
+        }
+        if (src.hasArray() && dst.hasArray()) {
+            encode(src.array(), src.arrayOffset() + src.position(), srcLength, dst.array(), dst.arrayOffset() + dst.position(), upperCase);
+            src.position(src.limit());
+            dst.position(dst.position() + dstLength);
+            return;
+        }
+        final byte[] message = new byte[Math.min(srcLength, CHUNK_GROUPS * MESSAGE_GROUP)];
+        final byte[] code = new byte[encodedLength(message.length)];
+        while (src.hasRemaining()) {
+            int length = Math.min(src.remaining(), message.length);
+            src.get(message, 0, length);
+            dst.put(code, 0, encode(message, 0, length, code, 0, upperCase));
+        }
+    }
+
+    /**
+     * Decodes all remaining characters of the source
+     */
+    public static void decode(@NotNull ByteBuffer src, @NotNull ByteBuffer dst) throws BadCodeException {
+        final int srcLength = src.remaining();
+        if (srcLength % CODE_GROUP != 0) {
+            throw new BadCodeException("length = " + srcLength);
+        }
+        if (dst.remaining() < srcLength / CODE_GROUP * MESSAGE_GROUP) {
+            throw new BufferOverflowException();
+        }
+        if (src.hasArray() && dst.hasArray()) {
+            int count = decode(src.array(), src.arrayOffset() + src.position(), srcLength, dst.array(), dst.arrayOffset() + dst.position());
+            src.position(src.limit());
+            dst.position(dst.position() + count);
+            return;
+        }
+        final byte[] code = new byte[Math.min(srcLength, CHUNK_GROUPS * CODE_GROUP)];
+        final byte[] message = new byte[code.length / CODE_GROUP * MESSAGE_GROUP];
+        while (src.hasRemaining()) {
+            int length = Math.min(src.remaining(), code.length);
+            src.get(code, 0, length);
+            dst.put(message, 0, decode(code, 0, length, message, 0));
+        }
+    }
+
+    /**
+     * Encodes all readable octets of the source with padding, and writes to the destination
+     */
+    public static void encode(@NotNull ByteBuf src, @NotNull ByteBuf dst, boolean upperCase) {
+        final int srcLength = src.readableBytes();
+        final int dstLength = encodedLength(srcLength);
+        dst.ensureWritable(dstLength);
+        if (src.hasArray() && dst.hasArray()) {
+            encode(src.array(), src.arrayOffset() + src.readerIndex(), srcLength, dst.array(), dst.arrayOffset() + dst.writerIndex(), upperCase);
+            src.skipBytes(srcLength);
+            dst.writerIndex(dst.writerIndex() + dstLength);
+            return;
+        }
+        final byte[] message = new byte[Math.min(srcLength, CHUNK_GROUPS * MESSAGE_GROUP)];
+        final byte[] code = new byte[encodedLength(message.length)];
+        while (src.isReadable()) {
+            int length = Math.min(src.readableBytes(), message.length);
+            src.readBytes(message, 0, length);
+            dst.writeBytes(code, 0, encode(message, 0, length, code, 0, upperCase));
+        }
+    }
+
+    /**
+     * Decodes readable whole groups of the source, and writes to the destination; the last partial group is left readable
+     */
+    public static void decode(@NotNull ByteBuf src, @NotNull ByteBuf dst) throws BadCodeException {
+        final int srcLength = src.readableBytes() / CODE_GROUP * CODE_GROUP;
+        final int dstLength = srcLength / CODE_GROUP * MESSAGE_GROUP;
+        dst.ensureWritable(dstLength);
+        if (src.hasArray() && dst.hasArray()) {
+            int count = decode(src.array(), src.arrayOffset() + src.readerIndex(), srcLength, dst.array(), dst.arrayOffset() + dst.writerIndex());
+            src.skipBytes(srcLength);
+            dst.writerIndex(dst.writerIndex() + count);
+            return;
+        }
+        final byte[] code = new byte[Math.min(srcLength, CHUNK_GROUPS * CODE_GROUP)];
+        final byte[] message = new byte[code.length / CODE_GROUP * MESSAGE_GROUP];
+        for (int remaining = srcLength; remaining > 0; ) {
+            int length = Math.min(remaining, code.length);
+            src.readBytes(code, 0, length);
+            dst.writeBytes(message, 0, decode(code, 0, length, message, 0));
+            remaining -= length;
+        }
+    }
+
+    /**
+     * No instance
+     */
+    private Base32BlockCodec() {
+        super();
+    }
+}
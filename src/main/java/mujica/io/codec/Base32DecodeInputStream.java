@@ -6,12 +6,14 @@ import mujica.ds.i8.view.LongDataView;
 import mujica.reflect.modifier.CodeHistory;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.EOFException;
 import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 
 @CodeHistory(date = "2025/4/29", project = "UltraIO")
 @CodeHistory(date = "2025/4/30")
+@CodeHistory(date = "2026/10/17")
 public class Base32DecodeInputStream extends FilterInputStream implements Base32StreamingCodec {
 
     private long buffer;
@@ -26,6 +28,10 @@ public class Base32DecodeInputStream extends FilterInputStream implements Base32
     @NotNull
     private BufferingPolicy policy;
 
+    private static final int CHUNK_GROUPS = 1 << 9;
+
+    private byte[] chunk;
+
     public Base32DecodeInputStream(@NotNull InputStream in, @NotNull BufferingPolicy policy) {
         super(in);
         this.policy = policy;
@@ -70,7 +76,7 @@ public class Base32DecodeInputStream extends FilterInputStream implements Base32
         if ('A' <= digit && digit <= 'Z') {
             digit -= 'A';
         } else if ('a' <= digit && digit <= 'z') {
-            digit -= 'z';
+            digit -= 'a';
         } else if ('2' <= digit && digit <= '7') {
             digit += 26 - '2';
         } else {
@@ -89,7 +95,7 @@ public class Base32DecodeInputStream extends FilterInputStream implements Base32
         if ('A' <= digit && digit <= 'Z') {
             digit -= 'A';
         } else if ('a' <= digit && digit <= 'z') {
-            digit -= 'z';
+            digit -= 'a';
         } else if ('2' <= digit && digit <= '7') {
             digit += 26 - '2';
         } else {
@@ -139,8 +145,14 @@ public class Base32DecodeInputStream extends FilterInputStream implements Base32
         return 0xff & (int) (buffer >> dstShift);
     }
 
+    /**
+     * Whole groups from a group boundary go to the block kernel, reading the underlying stream once
+     */
     @Override
     public int read(@NotNull byte[] array, int offset, int length) throws IOException {
+        if (length >= Base32BlockCodec.MESSAGE_GROUP && stopShift == 0 && srcShift == dstShift && (srcShift == 0 || srcShift == START_SHIFT)) {
+            return readGroups(array, offset, length);
+        }
         int count = 0;
         for (int limit = Math.addExact(offset, length); offset < limit; offset++) {
             int value = read();
@@ -155,4 +167,30 @@ public class Base32DecodeInputStream extends FilterInputStream implements Base32
         }
         return count;
     }
+
+    /**
+     * @return count of octets decoded, or -1 at the end
+     */
+    private int readGroups(@NotNull byte[] array, int offset, int room) throws IOException {
+        if (chunk == null) {
+            chunk = new byte[CHUNK_GROUPS * Base32BlockCodec.CODE_GROUP];
+        }
+        final byte[] chunk = this.chunk;
+        int count = in.read(chunk, 0, Math.min(room / Base32BlockCodec.MESSAGE_GROUP, CHUNK_GROUPS) * Base32BlockCodec.CODE_GROUP);
+        if (count == -1) {
+            return -1;
+        }
+        final int rest = count % Base32BlockCodec.CODE_GROUP;
+        if (rest != 0) {
+            int need = Base32BlockCodec.CODE_GROUP - rest;
+            if (in.readNBytes(chunk, count, need) != need) {
+                throw new EOFException();
+            }
+            count += need;
+        }
+        buffer = 0L;
+        srcShift = 0;
+        dstShift = 0;
+        return Base32BlockCodec.decode(chunk, 0, count, array, offset);
+    }
 }
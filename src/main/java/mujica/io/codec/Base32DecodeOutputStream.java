@@ -96,7 +96,7 @@ public class Base32DecodeOutputStream extends FilterOutputStream implements Base
             if ('A' <= digit && digit <= 'Z') {
                 digit -= 'A';
             } else if ('a' <= digit && digit <= 'z') {
-                digit -= 'z';
+                digit -= 'a';
             } else if ('2' <= digit && digit <= '7') {
                 digit += 26 - '2';
             } else {
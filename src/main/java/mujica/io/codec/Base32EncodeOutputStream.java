@@ -13,6 +13,7 @@ import java.io.OutputStream;
 
 @CodeHistory(date = "2025/4/27", project = "UltraIO")
 @CodeHistory(date = "2025/4/30")
+@CodeHistory(date = "2026/10/17")
 public class Base32EncodeOutputStream extends FilterOutputStream implements Base32StreamingEncoder {
 
     private long buffer;
@@ -25,6 +26,10 @@ public class Base32EncodeOutputStream extends FilterOutputStream implements Base
 
     private int alphabetOffset;
 
+    private static final int CHUNK_GROUPS = 1 << 9;
+
+    private byte[] chunk;
+
     @NotNull
     private BufferingPolicy policy;
 
@@ -134,6 +139,47 @@ public class Base32EncodeOutputStream extends FilterOutputStream implements Base
         }
     }
 
+    /**
+     * Whole groups from a group boundary go to the block kernel, and the rest to write(int)
+     */
+    @Override
+    public void write(@NotNull byte[] array, int offset, int length) throws IOException {
+        final int limit = Math.addExact(offset, length);
+        while (offset < limit) {
+            if (srcShift == 0 || srcShift == START_SHIFT && dstShift == START_SHIFT) {
+                int groupCount = (limit - offset) / Base32BlockCodec.MESSAGE_GROUP;
+                if (policy == BufferingPolicy.GREEDY && offset + groupCount * Base32BlockCodec.MESSAGE_GROUP == limit) {
+                    groupCount--; // the last group stays buffered
+                }
+                if (groupCount > 0) {
+                    while (srcShift == 0 && dstShift > 0) {
+                        encode();
+                    }
+                    offset = writeGroups(array, offset, groupCount);
+                    buffer = 0L;
+                    srcShift = START_SHIFT;
+                    dstShift = START_SHIFT;
+                    continue;
+                }
+            }
+            write(array[offset++]);
+        }
+    }
+
+    private int writeGroups(@NotNull byte[] array, int offset, int groupCount) throws IOException {
+        if (chunk == null) {
+            chunk = new byte[CHUNK_GROUPS * Base32BlockCodec.CODE_GROUP];
+        }
+        final boolean upperCase = isUpperCase();
+        while (groupCount > 0) {
+            int count = Math.min(groupCount, CHUNK_GROUPS);
+            out.write(chunk, 0, Base32BlockCodec.encodeGroups(array, offset, chunk, 0, count, upperCase));
+            offset += count * Base32BlockCodec.MESSAGE_GROUP;
+            groupCount -= count;
+        }
+        return offset;
+    }
+
     @Override
     public boolean stop() throws IOException {
         if (srcShift == START_SHIFT) {
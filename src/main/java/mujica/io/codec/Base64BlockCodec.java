@@ -0,0 +1,351 @@
+package mujica.io.codec;
+
+import io.netty.buffer.ByteBuf;
+import mujica.reflect.modifier.CodeHistory;
+import mujica.reflect.modifier.ReferencePage;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Block kernels for the streams and the netty handlers. A group of 3 octets is encoded by two lookups in a table of character
+ * pairs indexed by 12 bits, and 6 octets are read and 8 characters are written as one long.
+ * A group of 4 characters is decoded by 4 lookups in pre-shifted tables whose entries are negative out of the alphabet.
+ * Both alphabets are decoded, like Base64DecodeInputStream.
+ */
+@CodeHistory(date = "2026/10/17")
+@ReferencePage(title = "RFC4648: The Base16, Base32, and Base64 Data Encodings", href = "https://www.rfc-editor.org/rfc/inline-errata/rfc4648.html")
+public final class Base64BlockCodec {
+
+    public static final int MESSAGE_GROUP = 3;
+
+    public static final int CODE_GROUP = 4;
+
+    private static final VarHandle LONG_BE = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+    private static final int CHUNK_GROUPS = 1 << 10;
+
+    private static final char[] PAIRS = pairs(Base64StreamingEncoder.CHAR_62, Base64StreamingEncoder.CHAR_63);
+
+    private static final char[] URL_PAIRS = pairs(Base64StreamingEncoder.URL_CHAR_62, Base64StreamingEncoder.URL_CHAR_63);
+
+    private static final int[] DECODE_18 = new int[256];
+    private static final int[] DECODE_12 = new int[256];
+    private static final int[] DECODE_6 = new int[256];
+    private static final int[] DECODE_0 = new int[256];
+
+    static {
+        for (int ch = 0; ch < 256; ch++) {
+            int value = value(ch);
+            if (value < 0) {
+                DECODE_18[ch] = -1;
+                DECODE_12[ch] = -1;
+                DECODE_6[ch] = -1;
+                DECODE_0[ch] = -1;
+            } else {
+                DECODE_18[ch] = value << 18;
+                DECODE_12[ch] = value << 12;
+                DECODE_6[ch] = value << 6;
+                DECODE_0[ch] = value;
+            }
+        }
+    }
+
+    private static int alphabet(int value, int char62, int char63) {
+        if (value < 26) {
+            return 'A' + value;
+        } else if (value < 52) {
+            return 'a' - 26 + value;
+        } else if (value < 62) {
+            return '0' - 52 + value;
+        } else if (value == 62) {
+            return char62;
+        } else {
+            return char63;
+        }
+    }
+
+    @NotNull
+    private static char[] pairs(int char62, int char63) {
+        final char[] pairs = new char[1 << 12];
+        for (int index = 0; index < pairs.length; index++) {
+            pairs[index] = (char) (alphabet(index >> 6, char62, char63) << 8 | alphabet(index & 0x3f, char62, char63));
+        }
+        return pairs;
+    }
+
+    /**
+     * @return from 0 to 63, or -1 out of the alphabet
+     */
+    static int value(int ch) {
+        if ('A' <= ch && ch <= 'Z') {
+            return ch - 'A';
+        } else if ('a' <= ch && ch <= 'z') {
+            return ch + 26 - 'a';
+        } else if ('0' <= ch && ch <= '9') {
+            return ch + 52 - '0';
+        }
+        switch (ch) {
+            case '-':
+            case '+':
+                return 62;
+            case '_':
+            case '/':
+                return 63;
+            default:
+                return -1;
+        }
+    }
+
+    public static int encodedLength(int length) {
+        return Math.multiplyExact((length + 2) / MESSAGE_GROUP, CODE_GROUP);
+    }
+
+    /**
+     * Encodes whole groups without padding
+     *
+     * @return the destination offset after the last character
+     */
+    public static int encodeGroups(@NotNull byte[] src, int srcOffset, @NotNull byte[] dst, int dstOffset, int groupCount, boolean url) {
+        final char[] pairs = url ? URL_PAIRS : PAIRS;
+        final int srcLimit = srcOffset + groupCount * MESSAGE_GROUP;
+        while (srcLimit - srcOffset >= Long.BYTES) {
+            long bits = (long) LONG_BE.get(src, srcOffset);
+            LONG_BE.set(dst, dstOffset, (long) pairs[(int) (bits >>> 52)] << 48
+                    | (long) pairs[0xfff & (int) (bits >>> 40)] << 32
+                    | (long) pairs[0xfff & (int) (bits >>> 28)] << 16
+                    | (long) pairs[0xfff & (int) (bits >>> 16)]);
+            srcOffset += 2 * MESSAGE_GROUP;
+            dstOffset += 2 * CODE_GROUP;
+        }
+        while (srcOffset < srcLimit) {
+            int bits = (0xff & src[srcOffset]) << 16 | (0xff & src[srcOffset + 1]) << 8 | (0xff & src[srcOffset + 2]);
+            int high = pairs[bits >>> 12];
+            int low = pairs[bits & 0xfff];
+            dst[dstOffset] = (byte) (high >> 8);
+            dst[dstOffset + 1] = (byte) high;
+            dst[dstOffset + 2] = (byte) (low >> 8);
+            dst[dstOffset + 3] = (byte) low;
+            srcOffset += MESSAGE_GROUP;
+            dstOffset += CODE_GROUP;
+        }
+        return dstOffset;
+    }
+
+    /**
+     * Encodes all octets with padding
+     *
+     * @return the count of characters
+     */
+    public static int encode(@NotNull byte[] src, int srcOffset, int srcLength, @NotNull byte[] dst, int dstOffset, boolean url) {
+        final int groupCount = srcLength / MESSAGE_GROUP;
+        int position = encodeGroups(src, srcOffset, dst, dstOffset, groupCount, url);
+        srcOffset += groupCount * MESSAGE_GROUP;
+        final int rest = srcLength - groupCount * MESSAGE_GROUP;
+        if (rest != 0) {
+            final char[] pairs = url ? URL_PAIRS : PAIRS;
+            int bits = (0xff & src[srcOffset]) << 16;
+            if (rest == 2) {
+                bits |= (0xff & src[srcOffset + 1]) << 8;
+            }
+            int high = pairs[bits >>> 12];
+            dst[position] = (byte) (high >> 8);
+            dst[position + 1] = (byte) high;
+            dst[position + 2] = rest == 2 ? (byte) (pairs[bits & 0xfff] >> 8) : (byte) '=';
+            dst[position + 3] = '=';
+            position += CODE_GROUP;
+        }
+        return position - dstOffset;
+    }
+
+    /**
+     * Decodes whole groups until the first group containing a character out of the alphabet, padding included
+     *
+     * @return the count of groups decoded
+     */
+    public static int decodeGroups(@NotNull byte[] src, int srcOffset, @NotNull byte[] dst, int dstOffset, int groupCount) {
+        final int[] decode18 = DECODE_18;
+        final int[] decode12 = DECODE_12;
+        final int[] decode6 = DECODE_6;
+        final int[] decode0 = DECODE_0;
+        int groupIndex = 0;
+        for (; groupIndex < groupCount; groupIndex++) {
+            int bits = decode18[0xff & src[srcOffset]] | decode12[0xff & src[srcOffset + 1]]
+                    | decode6[0xff & src[srcOffset + 2]] | decode0[0xff & src[srcOffset + 3]];
+            if (bits < 0) {
+                break;
+            }
+            dst[dstOffset] = (byte) (bits >> 16);
+            dst[dstOffset + 1] = (byte) (bits >> 8);
+            dst[dstOffset + 2] = (byte) bits;
+            srcOffset += CODE_GROUP;
+            dstOffset += MESSAGE_GROUP;
+        }
+        return groupIndex;
+    }
+
+    /**
+     * Decodes one group which may end with padding
+     *
+     * @return the count of octets, from 1 to 3
+     */
+    static int decodePadded(@NotNull byte[] src, int srcOffset, @NotNull byte[] dst, int dstOffset) throws BadCodeException {
+        final int[] values = new int[CODE_GROUP];
+        int dataCount = CODE_GROUP;
+        for (int index = 0; index < CODE_GROUP; index++) {
+            int ch = 0xff & src[srcOffset + index];
+            int value = value(ch);
+            if (value < 0) {
+                if (ch != '=' || index < 2) {
+                    throw new BadCodeException(ch + " not in [0-9A-Za-z\\-+_/]");
+                }
+                if (index == 2 && src[srcOffset + 3] != '=') {
+                    throw new BadCodeException(src[srcOffset + 3] + " != '='");
+                }
+                dataCount = index;
+                break;
+            }
+            values[index] = value;
+        }
+        final int bits = values[0] << 18 | values[1] << 12 | values[2] << 6 | values[3];
+        dst[dstOffset] = (byte) (bits >> 16);
+        if (dataCount > 2) {
+            dst[dstOffset + 1] = (byte) (bits >> 8);
+        }
+        if (dataCount > 3) {
+            dst[dstOffset + 2] = (byte) bits;
+        }
+        return dataCount - 1;
+    }
+
+    /**
+     * Decodes whole groups, any of which may end with padding
+     *
+     * @return the count of octets
+     */
+    public static int decode(@NotNull byte[] src, int srcOffset, int srcLength, @NotNull byte[] dst, int dstOffset) throws BadCodeException {
+        if (srcLength % CODE_GROUP != 0) {
+            throw new BadCodeException("length = " + srcLength);
+        }
+        final int start = dstOffset;
+        int groupCount = srcLength / CODE_GROUP;
+        while (groupCount > 0) {
+            int decoded = decodeGroups(src, srcOffset, dst, dstOffset, groupCount);
+            srcOffset += decoded * CODE_GROUP;
+            dstOffset += decoded * MESSAGE_GROUP;
+            groupCount -= decoded;
+            if (groupCount > 0) {
+                dstOffset += decodePadded(src, srcOffset, dst, dstOffset);
+                srcOffset += CODE_GROUP;
+                groupCount--;
+            }
+        }
+        return dstOffset - start;
+    }
+
+    /**
+     * Encodes all remaining octets of the source with padding
+     */
+    public static void encode(@NotNull ByteBuffer src, @NotNull ByteBuffer dst, boolean url) {
+        final int srcLength = src.remaining();
+        final int dstLength = encodedLength(srcLength);
+        if (dst.remaining() < dstLength) {
+            throw new BufferOverflowException();
+        }
+        if (src.hasArray() && dst.hasArray()) {
+            encode(src.array(), src.arrayOffset() + src.position(), srcLength, dst.array(), dst.arrayOffset() + dst.position(), url);
+            src.position(src.limit());
+            dst.position(dst.position() + dstLength);
+            return;
+        }
+        final byte[] message = new byte[Math.min(srcLength, CHUNK_GROUPS * MESSAGE_GROUP)];
+        final byte[] code = new byte[encodedLength(message.length)];
+        while (src.hasRemaining()) {
+            int length = Math.min(src.remaining(), message.length);
+            src.get(message, 0, length);
+            dst.put(code, 0, encode(message, 0, length, code, 0, url));
+        }
+    }
+
+    /**
+     * Decodes all remaining characters of the source
+     */
+    public static void decode(@NotNull ByteBuffer src, @NotNull ByteBuffer dst) throws BadCodeException {
+        final int srcLength = src.remaining();
+        if (srcLength % CODE_GROUP != 0) {
+            throw new BadCodeException("length = " + srcLength);
+        }
+        if (dst.remaining() < srcLength / CODE_GROUP * MESSAGE_GROUP) {
+            throw new BufferOverflowException();
+        }
+        if (src.hasArray() && dst.hasArray()) {
+            int count = decode(src.array(), src.arrayOffset() + src.position(), srcLength, dst.array(), dst.arrayOffset() + dst.position());
+            src.position(src.limit());
+            dst.position(dst.position() + count);
+            return;
+        }
+        final byte[] code = new byte[Math.min(srcLength, CHUNK_GROUPS * CODE_GROUP)];
+        final byte[] message = new byte[code.length / CODE_GROUP * MESSAGE_GROUP];
+        while (src.hasRemaining()) {
+            int length = Math.min(src.remaining(), code.length);
+            src.get(code, 0, length);
+            dst.put(message, 0, decode(code, 0, length, message, 0));
+        }
+    }
+
+    /**
+     * Encodes all readable octets of the source with padding, and writes to the destination
+     */
+    public static void encode(@NotNull ByteBuf src, @NotNull ByteBuf dst, boolean url) {
+        final int srcLength = src.readableBytes();
+        final int dstLength = encodedLength(srcLength);
+        dst.ensureWritable(dstLength);
+        if (src.hasArray() && dst.hasArray()) {
+            encode(src.array(), src.arrayOffset() + src.readerIndex(), srcLength, dst.array(), dst.arrayOffset() + dst.writerIndex(), url);
+            src.skipBytes(srcLength);
+            dst.writerIndex(dst.writerIndex() + dstLength);
+            return;
+        }
+        final byte[] message = new byte[Math.min(srcLength, CHUNK_GROUPS * MESSAGE_GROUP)];
+        final byte[] code = new byte[encodedLength(message.length)];
+        while (src.isReadable()) {
+            int length = Math.min(src.readableBytes(), message.length);
+            src.readBytes(message, 0, length);
+            dst.writeBytes(code, 0, encode(message, 0, length, code, 0, url));
+        }
+    }
+
+    /**
+     * Decodes readable whole groups of the source, and writes to the destination; the last partial group is left readable
+     */
+    public static void decode(@NotNull ByteBuf src, @NotNull ByteBuf dst) throws BadCodeException {
+        final int srcLength = src.readableBytes() / CODE_GROUP * CODE_GROUP;
+        final int dstLength = srcLength / CODE_GROUP * MESSAGE_GROUP;
+        dst.ensureWritable(dstLength);
+        if (src.hasArray() && dst.hasArray()) {
+            int count = decode(src.array(), src.arrayOffset() + src.readerIndex(), srcLength, dst.array(), dst.arrayOffset() + dst.writerIndex());
+            src.skipBytes(srcLength);
+            dst.writerIndex(dst.writerIndex() + count);
+            return;
+        }
+        final byte[] code = new byte[Math.min(srcLength, CHUNK_GROUPS * CODE_GROUP)];
+        final byte[] message = new byte[code.length / CODE_GROUP * MESSAGE_GROUP];
+        for (int remaining = srcLength; remaining > 0; ) {
+            int length = Math.min(remaining, code.length);
+            src.readBytes(code, 0, length);
+            dst.writeBytes(message, 0, decode(code, 0, length, message, 0));
+            remaining -= length;
+        }
+    }
+
+    /**
+     * No instance
+     */
+    private Base64BlockCodec() {
+        super();
+    }
+}
@@ -14,6 +14,7 @@ import java.io.InputStream;
 @CodeHistory(date = "2025/4/14", project = "omnidirectional", name = "Base64InputStream")
 @CodeHistory(date = "2025/4/21", project = "UltraIO")
 @CodeHistory(date = "2025/4/26")
+@CodeHistory(date = "2026/10/17")
 public class Base64DecodeInputStream extends FilterInputStream implements Base64StreamingCodec {
 
     private int buffer;
@@ -30,6 +31,10 @@ public class Base64DecodeInputStream extends FilterInputStream implements Base64
 
     private int state;
 
+    private static final int CHUNK_GROUPS = 1 << 10;
+
+    private byte[] chunk;
+
     @NotNull
     private BufferingPolicy policy;
 
@@ -275,10 +280,32 @@ public class Base64DecodeInputStream extends FilterInputStream implements Base64
         }
     }
 
+    /**
+     * Decoded octets in the buffer are copied out, and whole groups from a group boundary go to the block kernel,
+     * reading the underlying stream once; the greedy policy reads ahead at the end
+     */
     @Override
     public int read(@NotNull byte[] array, int offset, int length) throws IOException {
         int count = 0;
-        for (int limit = Math.addExact(offset, length); offset < limit; offset++) {
+        boolean bulk = false;
+        for (int limit = Math.addExact(offset, length); offset < limit; ) {
+            int buffered = drainBuffered(array, offset, limit - offset);
+            if (buffered > 0) {
+                offset += buffered;
+                count += buffered;
+                bulk = true;
+                continue;
+            }
+            if (state == STATE_SRC_0_DST_0 && limit - offset >= Base64BlockCodec.MESSAGE_GROUP) {
+                int decoded = readGroups(array, offset, limit - offset);
+                if (decoded > 0) {
+                    count += decoded;
+                    bulk = true;
+                } else if (count == 0) {
+                    count = -1;
+                }
+                break;
+            }
             int value = read();
             if (value == -1) {
                 if (count == 0) {
@@ -286,12 +313,86 @@ public class Base64DecodeInputStream extends FilterInputStream implements Base64
                 }
                 break;
             }
-            array[offset] = (byte) value;
+            array[offset++] = (byte) value;
             count++;
         }
+        if (bulk && state == STATE_SRC_0_DST_0) {
+            readGreedy(0);
+        }
         return count;
     }
 
+    /**
+     * @return count of octets copied, 0 if the buffer does not hold a whole group or the room is not enough
+     */
+    private int drainBuffered(@NotNull byte[] array, int offset, int room) {
+        final int buffer = this.buffer;
+        switch (state) {
+            case STATE_SRC_4_DST_0:
+                if (room < 3) {
+                    return 0;
+                }
+                array[offset] = (byte) (buffer >> 16);
+                array[offset + 1] = (byte) (buffer >> 8);
+                array[offset + 2] = (byte) buffer;
+                state = STATE_SRC_0_DST_0;
+                return 3;
+            case STATE_SRC_4_DST_1:
+                if (room < 2) {
+                    return 0;
+                }
+                array[offset] = (byte) (buffer >> 8);
+                array[offset + 1] = (byte) buffer;
+                state = STATE_SRC_0_DST_0;
+                return 2;
+            case STATE_SRC_3_DST_0_STOP:
+                if (room < 2) {
+                    return 0;
+                }
+                array[offset] = (byte) (buffer >> 16);
+                array[offset + 1] = (byte) (buffer >> 8);
+                state = STATE_SRC_0_DST_0;
+                return 2;
+            case STATE_SRC_4_DST_2:
+                array[offset] = (byte) buffer;
+                state = STATE_SRC_0_DST_0;
+                return 1;
+            case STATE_SRC_2_DST_0_STOP:
+                array[offset] = (byte) (buffer >> 16);
+                state = STATE_SRC_0_DST_0;
+                return 1;
+            case STATE_SRC_3_DST_1_STOP:
+                array[offset] = (byte) (buffer >> 8);
+                state = STATE_SRC_0_DST_0;
+                return 1;
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * @return count of octets decoded, or -1 at the end
+     */
+    private int readGroups(@NotNull byte[] array, int offset, int room) throws IOException {
+        if (chunk == null) {
+            chunk = new byte[CHUNK_GROUPS * Base64BlockCodec.CODE_GROUP];
+        }
+        final byte[] chunk = this.chunk;
+        int count = in.read(chunk, 0, Math.min(room / Base64BlockCodec.MESSAGE_GROUP, CHUNK_GROUPS) * Base64BlockCodec.CODE_GROUP);
+        if (count == -1) {
+            return -1;
+        }
+        final int rest = count % Base64BlockCodec.CODE_GROUP;
+        if (rest != 0) {
+            int need = Base64BlockCodec.CODE_GROUP - rest;
+            if (in.readNBytes(chunk, count, need) != need) {
+                throw new EOFException();
+            }
+            count += need;
+        }
+        return Base64BlockCodec.decode(chunk, 0, count, array, offset);
+    }
+
     @SuppressWarnings("ResultOfMethodCallIgnored")
     @Override
     public long skip(long n) throws IOException {
@@ -12,6 +12,7 @@ import java.io.InputStream;
 
 @CodeHistory(date = "2025/4/22", project = "UltraIO")
 @CodeHistory(date = "2025/4/26")
+@CodeHistory(date = "2026/10/17")
 public class Base64EncodeInputStream extends FilterInputStream implements Base64StreamingEncoder {
 
     private int buffer;
@@ -36,6 +37,10 @@ public class Base64EncodeInputStream extends FilterInputStream implements Base64
 
     private int char62, char63;
 
+    private static final int CHUNK_GROUPS = 1 << 10;
+
+    private byte[] chunk;
+
     @NotNull
     private BufferingPolicy policy;
 
@@ -94,10 +99,10 @@ public class Base64EncodeInputStream extends FilterInputStream implements Base64
         } else if (value < 62) {
             return '0' - 52 + value;
         } else if (value == 62) {
-            return CHAR_62;
+            return char62;
         } else { // value == 63
             // no need to assert
-            return CHAR_63;
+            return char63;
         }
     }
 
@@ -253,23 +258,81 @@ public class Base64EncodeInputStream extends FilterInputStream implements Base64
         }
     }
 
+    /**
+     * A whole group in the buffer is copied out, and whole groups from a group boundary go to the block kernel,
+     * reading the underlying stream once; the greedy policy reads ahead at the end
+     */
     @Override
     public int read(@NotNull byte[] array, int offset, int length) throws IOException {
         int count = 0;
-        for (int limit = Math.addExact(offset, length); offset < limit; offset++) {
-            int value = read();
-            if (value == -1) {
-                if (count == 0) {
+        boolean bulk = false;
+        for (int limit = Math.addExact(offset, length); offset < limit; ) {
+            if (limit - offset < Base64BlockCodec.CODE_GROUP) {
+                int value = read();
+                if (value == -1) {
+                    if (count == 0) {
+                        count = -1;
+                    }
+                    break;
+                }
+                array[offset++] = (byte) value;
+                count++;
+            } else if (state == STATE_SRC_3_DST_0) {
+                array[offset] = (byte) encode(buffer >> 18);
+                array[offset + 1] = (byte) encode(buffer >> 12);
+                array[offset + 2] = (byte) encode(buffer >> 6);
+                array[offset + 3] = (byte) encode(buffer);
+                offset += Base64BlockCodec.CODE_GROUP;
+                count += Base64BlockCodec.CODE_GROUP;
+                buffer = 0;
+                state = STATE_SRC_0_DST_0;
+                bulk = true;
+            } else if (state == STATE_SRC_0_DST_0) {
+                int encoded = readGroups(array, offset, limit - offset);
+                if (encoded > 0) {
+                    count += encoded;
+                    bulk = true;
+                } else if (count == 0) {
                     count = -1;
                 }
                 break;
+            } else {
+                int value = read();
+                if (value == -1) {
+                    if (count == 0) {
+                        count = -1;
+                    }
+                    break;
+                }
+                array[offset++] = (byte) value;
+                count++;
             }
-            array[offset] = (byte) value;
-            count++;
+        }
+        if (bulk && state == STATE_SRC_0_DST_0) {
+            readGreedy(0);
         }
         return count;
     }
 
+    /**
+     * @return count of characters, with padding at the end of the underlying stream, or -1 at the end
+     */
+    private int readGroups(@NotNull byte[] array, int offset, int room) throws IOException {
+        if (chunk == null) {
+            chunk = new byte[CHUNK_GROUPS * Base64BlockCodec.MESSAGE_GROUP];
+        }
+        final byte[] chunk = this.chunk;
+        int count = in.read(chunk, 0, Math.min(room / Base64BlockCodec.CODE_GROUP, CHUNK_GROUPS) * Base64BlockCodec.MESSAGE_GROUP);
+        if (count == -1) {
+            return -1;
+        }
+        final int rest = count % Base64BlockCodec.MESSAGE_GROUP;
+        if (rest != 0) {
+            count += in.readNBytes(chunk, count, Base64BlockCodec.MESSAGE_GROUP - rest);
+        }
+        return Base64BlockCodec.encode(chunk, 0, count, array, offset, char62 == URL_CHAR_62);
+    }
+
     @Override
     public boolean stop() {
         final int oldState = state;
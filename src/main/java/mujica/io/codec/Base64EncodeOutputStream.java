@@ -14,6 +14,7 @@ import java.io.OutputStream;
 @CodeHistory(date = "2025/4/14", project = "omnidirectional", name = "Base64OutputStream")
 @CodeHistory(date = "2025/4/16", project = "UltraIO")
 @CodeHistory(date = "2025/4/26")
+@CodeHistory(date = "2026/10/17")
 public class Base64EncodeOutputStream extends FilterOutputStream implements Base64StreamingEncoder {
 
     private int buffer;
@@ -32,6 +33,10 @@ public class Base64EncodeOutputStream extends FilterOutputStream implements Base
 
     private int flags;
 
+    private static final int CHUNK_GROUPS = 1 << 10;
+
+    private byte[] chunk;
+
     @NotNull
     private BufferingPolicy policy;
 
@@ -240,6 +245,67 @@ public class Base64EncodeOutputStream extends FilterOutputStream implements Base
         }
     }
 
+    /**
+     * Whole groups from a group boundary go to the block kernel, and the rest to write(int)
+     */
+    @Override
+    public void write(@NotNull byte[] array, int offset, int length) throws IOException {
+        final int limit = Math.addExact(offset, length);
+        while (offset < limit) {
+            if (state == STATE_SRC_0_DST_0 || state == STATE_SRC_3_DST_0) {
+                int runLimit = specialLimit(array, offset, limit);
+                int groupCount = (runLimit - offset) / Base64BlockCodec.MESSAGE_GROUP;
+                if (policy == BufferingPolicy.GREEDY && offset + groupCount * Base64BlockCodec.MESSAGE_GROUP == runLimit) {
+                    groupCount--; // the last group stays buffered, also before a consumed octet which does not stop
+                }
+                if (groupCount > 0) {
+                    if (state == STATE_SRC_3_DST_0) {
+                        encode(buffer >> 18);
+                        encode(buffer >> 12);
+                        encode(buffer >> 6);
+                        encode(buffer);
+                        state = STATE_SRC_0_DST_0;
+                    }
+                    offset = writeGroups(array, offset, groupCount);
+                    continue;
+                }
+            }
+            write(array[offset++]);
+        }
+    }
+
+    /**
+     * @return the first octet consumed or stopping by the flags
+     */
+    private int specialLimit(@NotNull byte[] array, int offset, int limit) {
+        final boolean nul = hasFlag(FLAG_STOP_ON_NULL | FLAG_CONSUME_NULL);
+        final boolean lineFeed = hasFlag(FLAG_STOP_ON_LINE_FEED | FLAG_CONSUME_LINE_FEED);
+        if (nul || lineFeed) {
+            for (; offset < limit; offset++) {
+                int octet = array[offset];
+                if (octet == 0x00 && nul || octet == 0x0a && lineFeed) {
+                    break;
+                }
+            }
+            return offset;
+        }
+        return limit;
+    }
+
+    private int writeGroups(@NotNull byte[] array, int offset, int groupCount) throws IOException {
+        if (chunk == null) {
+            chunk = new byte[CHUNK_GROUPS * Base64BlockCodec.CODE_GROUP];
+        }
+        final boolean url = hasFlag(FLAG_URL);
+        while (groupCount > 0) {
+            int count = Math.min(groupCount, CHUNK_GROUPS);
+            out.write(chunk, 0, Base64BlockCodec.encodeGroups(array, offset, chunk, 0, count, url));
+            offset += count * Base64BlockCodec.MESSAGE_GROUP;
+            groupCount -= count;
+        }
+        return offset;
+    }
+
     @Override
     public void flush() throws IOException {
         if (hasFlag(FLAG_STOP_ON_FLUSH)) {
@@ -13,6 +13,7 @@ import java.nio.charset.CoderResult;
 import java.nio.charset.CodingErrorAction;
 
 @CodeHistory(date = "2026/2/19")
+@CodeHistory(date = "2026/10/17")
 @ReferencePage(title = "JVMS12 The CONSTANT_Utf8_info Structure", href = "https://docs.oracle.com/javase/specs/jvms/se12/html/jvms-4.html#jvms-4.4.7")
 class ModifiedUTF8CharsetDecoder extends CharsetDecoder {
 
@@ -34,6 +35,7 @@ class ModifiedUTF8CharsetDecoder extends CharsetDecoder {
 
     @Override
     protected CoderResult decodeLoop(@NotNull ByteBuffer in, @NotNull CharBuffer out) {
+        final boolean arrays = in.hasArray() && out.hasArray();
         while (true) {
             int inRemaining = in.remaining();
             if (inRemaining < 1) {
@@ -42,6 +44,15 @@ class ModifiedUTF8CharsetDecoder extends CharsetDecoder {
             if (!out.hasRemaining()) {
                 return CoderResult.OVERFLOW;
             }
+            if (arrays) {
+                int count = UTF8BlockCodec.nonZeroAsciiLength(in.array(), in.arrayOffset() + in.position(), Math.min(inRemaining, out.remaining()));
+                if (count != 0) {
+                    UTF8BlockCodec.inflate(in.array(), in.arrayOffset() + in.position(), out.array(), out.arrayOffset() + out.position(), count);
+                    in.position(in.position() + count);
+                    out.position(out.position() + count);
+                    continue;
+                }
+            }
             int octet = in.get();
             if ((octet & 0x80) == 0x00) {
                 if (octet == 0) {
@@ -13,6 +13,7 @@ import java.nio.charset.CoderResult;
 import java.nio.charset.CodingErrorAction;
 
 @CodeHistory(date = "2026/2/20")
+@CodeHistory(date = "2026/10/17")
 @ReferencePage(title = "JVMS12 The CONSTANT_Utf8_info Structure", href = "https://docs.oracle.com/javase/specs/jvms/se12/html/jvms-4.html#jvms-4.4.7")
 class ModifiedUTF8CharsetEncoder extends CharsetEncoder {
 
@@ -33,11 +34,15 @@ class ModifiedUTF8CharsetEncoder extends CharsetEncoder {
     }
     @Override
     protected CoderResult encodeLoop(@NotNull CharBuffer in, @NotNull ByteBuffer out) {
+        final boolean arrays = in.hasArray() && out.hasArray();
         while (in.hasRemaining()) {
             int outRemaining = out.remaining();
             if (outRemaining < 1) {
                 return CoderResult.OVERFLOW;
             }
+            if (arrays && asciiLoop(in, out) != 0) {
+                continue;
+            }
             int ch = in.get();
             if (ch < 0x80 && ch != 0) {
                 out.put((byte) ch);
@@ -61,6 +66,30 @@ class ModifiedUTF8CharsetEncoder extends CharsetEncoder {
         return CoderResult.UNDERFLOW;
     }
 
+    /**
+     * Copies the leading chars in [0x01, 0x7f] between the arrays
+     *
+     * @return the count of chars copied
+     */
+    private int asciiLoop(@NotNull CharBuffer in, @NotNull ByteBuffer out) {
+        final char[] src = in.array();
+        final byte[] dst = out.array();
+        final int srcOffset = in.arrayOffset() + in.position();
+        final int dstOffset = out.arrayOffset() + out.position();
+        final int limit = Math.min(in.remaining(), out.remaining());
+        int index = 0;
+        while (index < limit) {
+            char ch = src[srcOffset + index];
+            if (ch == 0 || ch >= 0x80) {
+                break;
+            }
+            dst[dstOffset + index++] = (byte) ch;
+        }
+        in.position(in.position() + index);
+        out.position(out.position() + index);
+        return index;
+    }
+
     private void undoGet(@NotNull CharBuffer in) {
         in.position(in.position() - 1);
     }
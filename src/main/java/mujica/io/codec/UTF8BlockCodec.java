@@ -0,0 +1,248 @@
+package mujica.io.codec;
+
+import io.netty.buffer.ByteBuf;
+import mujica.reflect.modifier.CodeHistory;
+import mujica.reflect.modifier.ReferencePage;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Block kernels for UTF-8 and modified UTF-8. Runs of ASCII are detected 8 octets at a time in a long;
+ * the other sequences are validated by the well-formed table of the Unicode standard, without a call per char.
+ */
+@CodeHistory(date = "2026/10/17")
+@ReferencePage(title = "The Unicode Standard, Table 3-7. Well-Formed UTF-8 Byte Sequences", href = "https://www.unicode.org/versions/Unicode15.0.0/ch03.pdf")
+public final class UTF8BlockCodec {
+
+    private static final VarHandle LONG_LE = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private static final long ONES = 0x0101010101010101L;
+
+    private static final long HIGHS = 0x8080808080808080L;
+
+    private static final int CHUNK = 1 << 12;
+
+    /**
+     * @return the count of leading octets below 0x80
+     */
+    public static int asciiLength(@NotNull byte[] src, int offset, int length) {
+        final int limit = offset + length;
+        int index = offset;
+        while (limit - index >= Long.BYTES) {
+            long word = (long) LONG_LE.get(src, index);
+            if ((word & HIGHS) != 0L) {
+                return index - offset + (Long.numberOfTrailingZeros(word & HIGHS) >> 3);
+            }
+            index += Long.BYTES;
+        }
+        while (index < limit && src[index] >= 0) {
+            index++;
+        }
+        return index - offset;
+    }
+
+    /**
+     * @return the count of leading octets in [0x01, 0x7f], which modified UTF-8 writes as they are
+     */
+    static int nonZeroAsciiLength(@NotNull byte[] src, int offset, int length) {
+        final int limit = offset + length;
+        int index = offset;
+        while (limit - index >= Long.BYTES) {
+            long word = (long) LONG_LE.get(src, index);
+            if ((word & HIGHS) != 0L || ((word - ONES) & HIGHS) != 0L) { // a zero octet borrows its high bit
+                break;
+            }
+            index += Long.BYTES;
+        }
+        while (index < limit && src[index] > 0) {
+            index++;
+        }
+        return index - offset;
+    }
+
+    /**
+     * Widens ASCII octets to chars
+     */
+    static void inflate(@NotNull byte[] src, int srcOffset, @NotNull char[] dst, int dstOffset, int length) {
+        for (int index = 0; index < length; index++) {
+            dst[dstOffset + index] = (char) src[srcOffset + index];
+        }
+    }
+
+    /**
+     * Narrows leading chars below 0x80 to octets
+     *
+     * @return the count of chars narrowed
+     */
+    static int deflate(@NotNull char[] src, int srcOffset, int srcLength, @NotNull byte[] dst, int dstOffset) {
+        int index = 0;
+        while (srcLength - index >= Long.BYTES) {
+            int offset = srcOffset + index;
+            if ((src[offset] | src[offset + 1] | src[offset + 2] | src[offset + 3]
+                    | src[offset + 4] | src[offset + 5] | src[offset + 6] | src[offset + 7]) >= 0x80) {
+                break;
+            }
+            for (int shift = 0; shift < Long.BYTES; shift++) {
+                dst[dstOffset + index + shift] = (byte) src[offset + shift];
+            }
+            index += Long.BYTES;
+        }
+        while (index < srcLength) {
+            char ch = src[srcOffset + index];
+            if (ch >= 0x80) {
+                break;
+            }
+            dst[dstOffset + index++] = (byte) ch;
+        }
+        return index;
+    }
+
+    private static boolean isContinuation(byte octet) {
+        return (octet & 0xc0) == 0x80;
+    }
+
+    /**
+     * Strict UTF-8: no overlong form, no surrogate, nothing above U+10FFFF
+     *
+     * @return the length of the longest prefix made of whole well-formed sequences; equals to length iff all is valid
+     */
+    public static int validateUTF8(@NotNull byte[] src, int offset, int length) {
+        final int limit = offset + length;
+        int index = offset;
+        while (index < limit) {
+            index += asciiLength(src, index, limit - index);
+            if (index >= limit) {
+                break;
+            }
+            final int octet = 0xff & src[index];
+            if (octet < 0xc2) {
+                break; // continuation, or overlong 2 octets
+            } else if (octet < 0xe0) {
+                if (limit - index < 2 || !isContinuation(src[index + 1])) {
+                    break;
+                }
+                index += 2;
+            } else if (octet < 0xf0) {
+                if (limit - index < 3) {
+                    break;
+                }
+                int second = 0xff & src[index + 1];
+                if (second < (octet == 0xe0 ? 0xa0 : 0x80) || second > (octet == 0xed ? 0x9f : 0xbf)
+                        || !isContinuation(src[index + 2])) {
+                    break;
+                }
+                index += 3;
+            } else if (octet < 0xf5) {
+                if (limit - index < 4) {
+                    break;
+                }
+                int second = 0xff & src[index + 1];
+                if (second < (octet == 0xf0 ? 0x90 : 0x80) || second > (octet == 0xf4 ? 0x8f : 0xbf)
+                        || !isContinuation(src[index + 2]) || !isContinuation(src[index + 3])) {
+                    break;
+                }
+                index += 4;
+            } else {
+                break;
+            }
+        }
+        return index - offset;
+    }
+
+    /**
+     * Modified UTF-8 of class files: no zero octet, U+0000 as C0 80, surrogates encoded one by one in 3 octets, no 4 octets form
+     *
+     * @return the length of the longest prefix made of whole well-formed sequences; equals to length iff all is valid
+     */
+    public static int validateModifiedUTF8(@NotNull byte[] src, int offset, int length) {
+        final int limit = offset + length;
+        int index = offset;
+        while (index < limit) {
+            index += nonZeroAsciiLength(src, index, limit - index);
+            if (index >= limit) {
+                break;
+            }
+            final int octet = 0xff & src[index];
+            if (octet == 0xc0) {
+                if (limit - index < 2 || src[index + 1] != (byte) 0x80) {
+                    break;
+                }
+                index += 2;
+            } else if (octet < 0xc2) {
+                break; // zero, continuation, or overlong 2 octets
+            } else if (octet < 0xe0) {
+                if (limit - index < 2 || !isContinuation(src[index + 1])) {
+                    break;
+                }
+                index += 2;
+            } else if (octet < 0xf0) {
+                if (limit - index < 3) {
+                    break;
+                }
+                int second = 0xff & src[index + 1];
+                if (second < (octet == 0xe0 ? 0xa0 : 0x80) || second > 0xbf || !isContinuation(src[index + 2])) {
+                    break;
+                }
+                index += 3;
+            } else {
+                break;
+            }
+        }
+        return index - offset;
+    }
+
+    /**
+     * Validates the remaining octets without moving the position
+     */
+    public static boolean isUTF8(@NotNull ByteBuffer src) {
+        return isValid(src.duplicate(), false);
+    }
+
+    public static boolean isModifiedUTF8(@NotNull ByteBuffer src) {
+        return isValid(src.duplicate(), true);
+    }
+
+    private static boolean isValid(@NotNull ByteBuffer src, boolean modified) {
+        final int length = src.remaining();
+        if (src.hasArray()) {
+            int offset = src.arrayOffset() + src.position();
+            return (modified ? validateModifiedUTF8(src.array(), offset, length) : validateUTF8(src.array(), offset, length)) == length;
+        }
+        final byte[] scratch = new byte[Math.min(length, CHUNK) + 3];
+        int kept = 0; // a sequence cut by the chunk is moved to the next chunk
+        while (src.hasRemaining()) {
+            int count = Math.min(src.remaining(), CHUNK);
+            src.get(scratch, kept, count);
+            count += kept;
+            int valid = modified ? validateModifiedUTF8(scratch, 0, count) : validateUTF8(scratch, 0, count);
+            kept = count - valid;
+            if (kept > 3) {
+                return false;
+            }
+            System.arraycopy(scratch, valid, scratch, 0, kept);
+        }
+        return kept == 0;
+    }
+
+    /**
+     * Validates the readable octets without moving the reader index
+     */
+    public static boolean isUTF8(@NotNull ByteBuf src) {
+        return isValid(src.nioBuffer(), false);
+    }
+
+    public static boolean isModifiedUTF8(@NotNull ByteBuf src) {
+        return isValid(src.nioBuffer(), true);
+    }
+
+    /**
+     * No instance
+     */
+    private UTF8BlockCodec() {
+        super();
+    }
+}
@@ -1,5 +1,6 @@
 package mujica.io.codec;
 
+import io.netty.buffer.ByteBuf;
 import mujica.io.function.IOIntConsumer;
 import mujica.io.function.IOIntSupplier;
 import mujica.reflect.function.ByteSupplier;
@@ -10,15 +11,25 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 
 @CodeHistory(date = "2023/4/30", project = "Ultramarine", name = "Utf8Utility")
 @CodeHistory(date = "2026/2/26")
+@CodeHistory(date = "2026/10/17")
 public class UTF8PushPullDecoder extends PushPullDecoder {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(UTF8PushPullDecoder.class);
 
+    private static final int CHUNK = 1 << 12;
+
     private int buffer;
 
+    private CharArrayConsumer arrayConsumer;
+
+    private byte[] byteScratch;
+
+    private char[] charScratch;
+
     public UTF8PushPullDecoder() {
         super();
     }
@@ -461,4 +472,147 @@ public class UTF8PushPullDecoder extends PushPullDecoder {
     public int finishPullAsInt() {
         return finishPullAsChar();
     }
+
+    /**
+     * Writes chars into an array for the state machine
+     */
+    @CodeHistory(date = "2026/10/17")
+    private static class CharArrayConsumer implements CharConsumer {
+
+        char[] array;
+
+        int index;
+
+        @Override
+        public void accept(char value) {
+            array[index++] = value;
+        }
+    }
+
+    @NotNull
+    private CharArrayConsumer arrayConsumer(@NotNull char[] array, int index) {
+        CharArrayConsumer consumer = arrayConsumer;
+        if (consumer == null) {
+            arrayConsumer = consumer = new CharArrayConsumer();
+        }
+        consumer.array = array;
+        consumer.index = index;
+        return consumer;
+    }
+
+    /**
+     * Same as pushing the octets one by one; ASCII runs are copied, whole sequences are decoded in place,
+     * and only the cut or malformed sequences go through the state machine
+     *
+     * @return the count of chars written; the destination needs room for length + 1 chars
+     */
+    public int decode(@NotNull byte[] in, int offset, int length, @NotNull char[] out, int outOffset) {
+        final int limit = offset + length;
+        int outIndex = outOffset;
+        if (buffer != 0 && offset < limit) {
+            final CharArrayConsumer consumer = arrayConsumer(out, outIndex);
+            do {
+                push(in[offset++], consumer);
+            } while (buffer != 0 && offset < limit);
+            outIndex = consumer.index;
+        }
+        while (offset < limit) {
+            int count = UTF8BlockCodec.asciiLength(in, offset, limit - offset);
+            if (count != 0) {
+                UTF8BlockCodec.inflate(in, offset, out, outIndex, count);
+                offset += count;
+                outIndex += count;
+                if (offset == limit) {
+                    break;
+                }
+            }
+            final int octet = in[offset];
+            final int remaining = limit - offset;
+            if ((octet & 0xe0) == 0xc0 && remaining >= 2 && (in[offset + 1] & 0xc0) == 0x80) {
+                out[outIndex++] = (char) ((octet & 0x1f) << 6 | (in[offset + 1] & 0x3f));
+                offset += 2;
+            } else if ((octet & 0xf0) == 0xe0 && remaining >= 3 && (in[offset + 1] & 0xc0) == 0x80
+                    && (in[offset + 2] & 0xc0) == 0x80) {
+                out[outIndex++] = (char) ((octet & 0x0f) << 12 | (in[offset + 1] & 0x3f) << 6 | (in[offset + 2] & 0x3f));
+                offset += 3;
+            } else if ((octet & 0xf8) == 0xf0 && remaining >= 4 && (in[offset + 1] & 0xc0) == 0x80
+                    && (in[offset + 2] & 0xc0) == 0x80 && (in[offset + 3] & 0xc0) == 0x80) {
+                int codePoint = (octet & 0x07) << 18 | (in[offset + 1] & 0x3f) << 12
+                        | (in[offset + 2] & 0x3f) << 6 | (in[offset + 3] & 0x3f);
+                out[outIndex++] = Character.highSurrogate(codePoint);
+                out[outIndex++] = Character.lowSurrogate(codePoint);
+                offset += 4;
+            } else {
+                final CharArrayConsumer consumer = arrayConsumer(out, outIndex);
+                do {
+                    push(in[offset++], consumer);
+                } while (buffer != 0 && offset < limit);
+                outIndex = consumer.index;
+            }
+        }
+        return outIndex - outOffset;
+    }
+
+    @NotNull
+    private char[] charScratch() {
+        if (charScratch == null) {
+            charScratch = new char[CHUNK + 1];
+        }
+        return charScratch;
+    }
+
+    @NotNull
+    private byte[] byteScratch() {
+        if (byteScratch == null) {
+            byteScratch = new byte[CHUNK];
+        }
+        return byteScratch;
+    }
+
+    public void decode(@NotNull byte[] in, int offset, int length, @NotNull StringBuilder out) {
+        final char[] chars = charScratch();
+        while (length > 0) {
+            int count = Math.min(length, CHUNK);
+            out.append(chars, 0, decode(in, offset, count, chars, 0));
+            offset += count;
+            length -= count;
+        }
+    }
+
+    /**
+     * Decodes all remaining octets of the source; a cut sequence at the end is kept in the state
+     */
+    public void decode(@NotNull ByteBuffer in, @NotNull StringBuilder out) {
+        if (in.hasArray()) {
+            decode(in.array(), in.arrayOffset() + in.position(), in.remaining(), out);
+            in.position(in.limit());
+            return;
+        }
+        final byte[] bytes = byteScratch();
+        final char[] chars = charScratch();
+        while (in.hasRemaining()) {
+            int count = Math.min(in.remaining(), CHUNK);
+            in.get(bytes, 0, count);
+            out.append(chars, 0, decode(bytes, 0, count, chars, 0));
+        }
+    }
+
+    /**
+     * Decodes all readable octets of the source; a cut sequence at the end is kept in the state
+     */
+    public void decode(@NotNull ByteBuf in, @NotNull StringBuilder out) {
+        final int length = in.readableBytes();
+        if (in.hasArray()) {
+            decode(in.array(), in.arrayOffset() + in.readerIndex(), length, out);
+            in.skipBytes(length);
+            return;
+        }
+        final byte[] bytes = byteScratch();
+        final char[] chars = charScratch();
+        while (in.isReadable()) {
+            int count = Math.min(in.readableBytes(), CHUNK);
+            in.readBytes(bytes, 0, count);
+            out.append(chars, 0, decode(bytes, 0, count, chars, 0));
+        }
+    }
 }
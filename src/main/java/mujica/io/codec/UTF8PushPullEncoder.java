@@ -1,5 +1,6 @@
 package mujica.io.codec;
 
+import io.netty.buffer.ByteBuf;
 import mujica.io.function.IOByteConsumer;
 import mujica.io.function.IOIntSupplier;
 import mujica.reflect.function.ByteConsumer;
@@ -10,14 +11,24 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 
 @CodeHistory(date = "2026/3/26")
+@CodeHistory(date = "2026/10/17")
 public class UTF8PushPullEncoder extends PushPullEncoder {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(UTF8PushPullEncoder.class);
 
+    private static final int CHUNK = 1 << 12;
+
     private int buffer;
 
+    private ByteArrayConsumer arrayConsumer;
+
+    private char[] charScratch;
+
+    private byte[] byteScratch;
+
     public UTF8PushPullEncoder() {
         super();
     }
@@ -269,4 +280,155 @@ public class UTF8PushPullEncoder extends PushPullEncoder {
         assert (value & 0xff) == value;
         return value;
     }
+
+    /**
+     * Writes octets into an array for the state machine
+     */
+    @CodeHistory(date = "2026/10/17")
+    private static class ByteArrayConsumer implements ByteConsumer {
+
+        byte[] array;
+
+        int index;
+
+        @Override
+        public void accept(byte value) {
+            array[index++] = value;
+        }
+    }
+
+    @NotNull
+    private ByteArrayConsumer arrayConsumer(@NotNull byte[] array, int index) {
+        ByteArrayConsumer consumer = arrayConsumer;
+        if (consumer == null) {
+            arrayConsumer = consumer = new ByteArrayConsumer();
+        }
+        consumer.array = array;
+        consumer.index = index;
+        return consumer;
+    }
+
+    /**
+     * Same as pushing the chars one by one; ASCII runs are narrowed, whole surrogate pairs are encoded in place,
+     * and only the cut or lone surrogates go through the state machine
+     *
+     * @return the count of octets written; the destination needs room for 3 * length + 3 octets
+     */
+    public int encode(@NotNull char[] in, int offset, int length, @NotNull byte[] out, int outOffset) {
+        final int limit = offset + length;
+        int outIndex = outOffset;
+        if (buffer != 0 && offset < limit) {
+            final ByteArrayConsumer consumer = arrayConsumer(out, outIndex);
+            do {
+                push(in[offset++], consumer);
+            } while (buffer != 0 && offset < limit);
+            outIndex = consumer.index;
+        }
+        while (offset < limit) {
+            int count = UTF8BlockCodec.deflate(in, offset, limit - offset, out, outIndex);
+            offset += count;
+            outIndex += count;
+            if (offset == limit) {
+                break;
+            }
+            final char ch = in[offset];
+            if (ch < 0x800) {
+                out[outIndex++] = (byte) (0b110_00000 | (ch >> 6));
+                out[outIndex++] = (byte) (0b10_000000 | (ch & 0b00_111111));
+                offset++;
+            } else if (!Character.isSurrogate(ch)) {
+                out[outIndex++] = (byte) (0b1110_0000 | (ch >> 12));
+                out[outIndex++] = (byte) (0b10_000000 | ((ch >> 6) & 0b00_111111));
+                out[outIndex++] = (byte) (0b10_000000 | (ch & 0b00_111111));
+                offset++;
+            } else if (Character.isHighSurrogate(ch) && limit - offset >= 2 && Character.isLowSurrogate(in[offset + 1])) {
+                int codePoint = Character.toCodePoint(ch, in[offset + 1]);
+                out[outIndex++] = (byte) (0b11110_000 | (codePoint >> 18));
+                out[outIndex++] = (byte) (0b10_000000 | ((codePoint >> 12) & 0b00_111111));
+                out[outIndex++] = (byte) (0b10_000000 | ((codePoint >> 6) & 0b00_111111));
+                out[outIndex++] = (byte) (0b10_000000 | (codePoint & 0b00_111111));
+                offset += 2;
+            } else {
+                final ByteArrayConsumer consumer = arrayConsumer(out, outIndex);
+                do {
+                    push(in[offset++], consumer);
+                } while (buffer != 0 && offset < limit);
+                outIndex = consumer.index;
+            }
+        }
+        return outIndex - outOffset;
+    }
+
+    @NotNull
+    private char[] charScratch() {
+        if (charScratch == null) {
+            charScratch = new char[CHUNK];
+        }
+        return charScratch;
+    }
+
+    @NotNull
+    private byte[] byteScratch() {
+        if (byteScratch == null) {
+            byteScratch = new byte[3 * CHUNK + 3];
+        }
+        return byteScratch;
+    }
+
+    /**
+     * @return the count of octets written; the destination needs room for 3 * (end - start) + 3 octets
+     */
+    public int encode(@NotNull CharSequence in, int start, int end, @NotNull byte[] out, int outOffset) {
+        final char[] chars = charScratch();
+        int outIndex = outOffset;
+        while (start < end) {
+            int count = Math.min(end - start, CHUNK);
+            getChars(in, start, start + count, chars);
+            outIndex += encode(chars, 0, count, out, outIndex);
+            start += count;
+        }
+        return outIndex - outOffset;
+    }
+
+    private static void getChars(@NotNull CharSequence in, int start, int end, @NotNull char[] dst) {
+        if (in instanceof String) {
+            ((String) in).getChars(start, end, dst, 0);
+        } else if (in instanceof StringBuilder) {
+            ((StringBuilder) in).getChars(start, end, dst, 0);
+        } else {
+            for (int index = start; index < end; index++) {
+                dst[index - start] = in.charAt(index);
+            }
+        }
+    }
+
+    public void encode(@NotNull CharSequence in, @NotNull ByteBuffer out) {
+        final char[] chars = charScratch();
+        final byte[] bytes = byteScratch();
+        final int end = in.length();
+        for (int start = 0; start < end; ) {
+            int count = Math.min(end - start, CHUNK);
+            getChars(in, start, start + count, chars);
+            out.put(bytes, 0, encode(chars, 0, count, bytes, 0));
+            start += count;
+        }
+    }
+
+    public void encode(@NotNull CharSequence in, @NotNull ByteBuf out) {
+        final int end = in.length();
+        if (out.hasArray()) {
+            out.ensureWritable(Math.addExact(Math.multiplyExact(end, 3), 3));
+            final int writerIndex = out.writerIndex();
+            out.writerIndex(writerIndex + encode(in, 0, end, out.array(), out.arrayOffset() + writerIndex));
+            return;
+        }
+        final char[] chars = charScratch();
+        final byte[] bytes = byteScratch();
+        for (int start = 0; start < end; ) {
+            int count = Math.min(end - start, CHUNK);
+            getChars(in, start, start + count, chars);
+            out.writeBytes(bytes, 0, encode(chars, 0, count, bytes, 0));
+            start += count;
+        }
+    }
 }
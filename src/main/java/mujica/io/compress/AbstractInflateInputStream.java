@@ -13,7 +13,7 @@ import java.io.InputStream;
 @CodeHistory(date = "2025/10/19", name = "TowboatInflaterInputStream")
 @CodeHistory(date = "2025/11/7")
 @ReferencePage(title = "DEFLATE Compressed Data Format Specification version 1.3", href = "https://www.rfc-editor.org/rfc/rfc1951.html")
-@DirectSubclass({JdkInflateInputStream.class, ResidueInflateInputStream.class})
+@DirectSubclass({JdkInflateInputStream.class, ResidueInflateInputStream.class, BulkInflateInputStream.class})
 public abstract class AbstractInflateInputStream extends FilterInputStream {
 
     protected static final int MAX_RUN_BUFFER_DISTANCE = 1 << 15;
@@ -0,0 +1,654 @@
+package mujica.io.compress;
+
+import mujica.reflect.modifier.CodeHistory;
+import mujica.reflect.modifier.DataType;
+import mujica.reflect.modifier.ReferencePage;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * Reads the input in bulk into a 64-bit bit buffer, and decodes through two level lookup tables whose entries carry the base and extra bit count,
+ * so that one refill is enough for a whole length and distance pair.
+ * Output is decoded into a flat window and matches are copied with System.arraycopy.
+ * Input bytes after the deflate stream are kept for trailingBytesMode().
+ */
+@CodeHistory(date = "2026/10/17")
+@ReferencePage(title = "libdeflate", href = "https://github.com/ebiggers/libdeflate/blob/master/lib/deflate_decompress.c")
+public class BulkInflateInputStream extends AbstractInflateInputStream {
+
+    private static final VarHandle LONG_LE = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private static final int STATE_FREE                         = 0;
+    private static final int STATE_LAST_BLOCK_FREE              = 1;
+    private static final int STATE_NO_COMPRESSION               = 2;
+    private static final int STATE_LAST_BLOCK_NO_COMPRESSION    = 3;
+    private static final int STATE_HUFFMAN                      = 4;
+    private static final int STATE_LAST_BLOCK_HUFFMAN           = 5;
+    private static final int STATE_TRAILING_BYTES               = 6;
+    private static final int STATE_CLOSED                       = 7;
+
+    /*
+     * table entry: value << 16 | kind << 8 | extra bits << 4 | code length
+     * a subtable entry keeps the subtable offset as value, the subtable bits as extra bits, and the root bits as code length
+     */
+    private static final int KIND_INVALID   = 0;
+    private static final int KIND_LITERAL   = 1;
+    private static final int KIND_BASE      = 2;
+    private static final int KIND_END       = 3;
+    private static final int KIND_SUBTABLE  = 4;
+
+    private static final int LITERAL_LENGTH_ROOT_BITS = 10;
+
+    private static final int DISTANCE_ROOT_BITS = 8;
+
+    private static final int CODE_LENGTH_ROOT_BITS = 7;
+
+    private static final int MAX_CODE_LENGTH = 15;
+
+    private static final int MAX_MATCH = 258;
+
+    private static final int WINDOW_SIZE = 1 << 15;
+
+    private static final int[] LITERAL_LENGTH_TEMPLATES = new int[288];
+
+    private static final int[] DISTANCE_TEMPLATES = new int[32];
+
+    private static final int[] CODE_LENGTH_TEMPLATES = new int[19];
+
+    private static final int[] FIXED_LITERAL_LENGTH_TABLE;
+
+    private static final int[] FIXED_DISTANCE_TABLE;
+
+    static {
+        for (int symbol = 0; symbol < 0x100; symbol++) {
+            LITERAL_LENGTH_TEMPLATES[symbol] = symbol << 16 | KIND_LITERAL << 8;
+        }
+        LITERAL_LENGTH_TEMPLATES[0x100] = KIND_END << 8;
+        for (int index = 0; index < ResidueInflateInputStream.LENGTH_BASE.length; index++) {
+            LITERAL_LENGTH_TEMPLATES[0x101 + index] = ResidueInflateInputStream.LENGTH_BASE[index] << 16 | KIND_BASE << 8
+                    | ResidueInflateInputStream.LENGTH_EXTRA_BITS[index] << 4;
+        }
+        for (int index = 0; index < ResidueInflateInputStream.DISTANCE_BASE.length; index++) {
+            DISTANCE_TEMPLATES[index] = ResidueInflateInputStream.DISTANCE_BASE[index] << 16 | KIND_BASE << 8
+                    | ResidueInflateInputStream.DISTANCE_EXTRA_BITS[index] << 4;
+        }
+        for (int symbol = 0; symbol < CODE_LENGTH_TEMPLATES.length; symbol++) {
+            CODE_LENGTH_TEMPLATES[symbol] = symbol << 16 | KIND_LITERAL << 8;
+        }
+        final int[] lengths = new int[288];
+        Arrays.fill(lengths, 0, 144, 8);
+        Arrays.fill(lengths, 144, 256, 9);
+        Arrays.fill(lengths, 256, 280, 7);
+        Arrays.fill(lengths, 280, 288, 8);
+        FIXED_LITERAL_LENGTH_TABLE = new int[1 << LITERAL_LENGTH_ROOT_BITS];
+        FIXED_DISTANCE_TABLE = new int[1 << DISTANCE_ROOT_BITS];
+        try {
+            buildTable(lengths, 288, LITERAL_LENGTH_TEMPLATES, LITERAL_LENGTH_ROOT_BITS, FIXED_LITERAL_LENGTH_TABLE, new int[MAX_CODE_LENGTH + 1]);
+            Arrays.fill(lengths, 0, 32, 5);
+            buildTable(lengths, 32, DISTANCE_TEMPLATES, DISTANCE_ROOT_BITS, FIXED_DISTANCE_TABLE, new int[MAX_CODE_LENGTH + 1]);
+        } catch (CompressAlgorithmException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    @NotNull
+    private final byte[] input;
+
+    private int inputPosition, inputLimit;
+
+    private boolean inputEnd;
+
+    private long bits;
+
+    private int bitCount;
+
+    /**
+     * zero bits appended after the end of input, so that reading into them means a truncated stream
+     */
+    private int paddingBitCount;
+
+    @NotNull
+    private final byte[] window;
+
+    private int readPosition, writePosition;
+
+    private int state;
+
+    private int remainingLength;
+
+    private int[] literalLengthTable, distanceTable;
+
+    private final int[] dynamicLiteralLengthTable = new int[(1 << LITERAL_LENGTH_ROOT_BITS) + 288 * (1 << (MAX_CODE_LENGTH - LITERAL_LENGTH_ROOT_BITS))];
+
+    private final int[] dynamicDistanceTable = new int[(1 << DISTANCE_ROOT_BITS) + 32 * (1 << (MAX_CODE_LENGTH - DISTANCE_ROOT_BITS))];
+
+    private final int[] codeLengthTable = new int[1 << CODE_LENGTH_ROOT_BITS];
+
+    private final int[] codeLengths = new int[288 + 32];
+
+    private final int[] commonCounts = new int[MAX_CODE_LENGTH + 1];
+
+    public BulkInflateInputStream(@NotNull InputStream in, int inputBufferSize, int windowBufferSize) {
+        super(in);
+        if (inputBufferSize < 8 || windowBufferSize < WINDOW_SIZE + (MAX_MATCH << 1)) {
+            throw new IllegalArgumentException();
+        }
+        input = new byte[inputBufferSize];
+        window = new byte[windowBufferSize];
+    }
+
+    public BulkInflateInputStream(@NotNull InputStream in) {
+        this(in, 1 << 14, 1 << 17);
+    }
+
+    /**
+     * Canonical codes, reversed for LSB first reading; codes longer than the root bits go to subtables sized as zlib does
+     */
+    private static void buildTable(@NotNull int[] lengths, int count, @NotNull int[] templates, int rootBits, @NotNull int[] table, @NotNull int[] counts) throws CompressAlgorithmException {
+        Arrays.fill(counts, 0);
+        int maxLength = 0;
+        for (int symbol = 0; symbol < count; symbol++) {
+            int length = lengths[symbol];
+            counts[length]++;
+            if (length > maxLength) {
+                maxLength = length;
+            }
+        }
+        counts[0] = 0;
+        {
+            int left = 1;
+            for (int length = 1; length <= MAX_CODE_LENGTH; length++) {
+                left = (left << 1) - counts[length];
+                if (left < 0) {
+                    throw new CompressAlgorithmException("over-subscribed code");
+                }
+            }
+        }
+        final int rootSize = 1 << rootBits;
+        Arrays.fill(table, 0, rootSize, 0);
+        int next = rootSize;
+        int prefix = -1;
+        int subtableOffset = 0;
+        int subtableBits = 0;
+        int code = 0;
+        for (int length = 1; length <= maxLength; length++) {
+            for (int symbol = 0; symbol < count; symbol++) {
+                if (lengths[symbol] != length) {
+                    continue;
+                }
+                int entry = templates[symbol];
+                if (length <= rootBits) {
+                    for (int index = Integer.reverse(code) >>> (Integer.SIZE - length); index < rootSize; index += 1 << length) {
+                        table[index] = entry | length;
+                    }
+                } else {
+                    int thisPrefix = Integer.reverse(code >>> (length - rootBits)) >>> (Integer.SIZE - rootBits);
+                    if (thisPrefix != prefix) {
+                        prefix = thisPrefix;
+                        subtableBits = length - rootBits;
+                        int left = 1 << subtableBits;
+                        while (subtableBits + rootBits < maxLength) {
+                            left -= counts[subtableBits + rootBits];
+                            if (left <= 0) {
+                                break;
+                            }
+                            subtableBits++;
+                            left <<= 1;
+                        }
+                        subtableOffset = next;
+                        next += 1 << subtableBits;
+                        Arrays.fill(table, subtableOffset, next, 0);
+                        table[prefix] = subtableOffset << 16 | KIND_SUBTABLE << 8 | subtableBits << 4 | rootBits;
+                    }
+                    int subLength = length - rootBits;
+                    for (int index = Integer.reverse(code) >>> (Integer.SIZE - subLength); index < 1 << subtableBits; index += 1 << subLength) {
+                        table[subtableOffset + index] = entry | subLength;
+                    }
+                }
+                counts[length]--;
+                code++;
+            }
+            code <<= 1;
+        }
+    }
+
+    private void fillInput() throws IOException {
+        if (inputPosition == inputLimit && !inputEnd) {
+            int count = in.read(input, 0, input.length);
+            inputPosition = 0;
+            if (count > 0) {
+                inputLimit = count;
+            } else {
+                inputLimit = 0;
+                inputEnd = true;
+            }
+        }
+    }
+
+    /**
+     * Makes at least 57 bits available, padding with zero bits after the end of input
+     */
+    private void refillSlow() throws IOException {
+        while (bitCount <= 56) {
+            if (inputPosition == inputLimit) {
+                fillInput();
+            }
+            if (inputPosition < inputLimit) {
+                bits |= (0xffL & input[inputPosition++]) << bitCount;
+            } else {
+                paddingBitCount += Byte.SIZE;
+            }
+            bitCount += Byte.SIZE;
+        }
+    }
+
+    private void refill() throws IOException {
+        if (inputLimit - inputPosition >= Long.BYTES) {
+            bits |= (long) LONG_LE.get(input, inputPosition) << bitCount;
+            inputPosition += (63 - bitCount) >>> 3;
+            bitCount |= 56;
+        } else {
+            refillSlow();
+        }
+    }
+
+    private void checkPadding() throws EOFException {
+        if (bitCount < paddingBitCount) {
+            throw new EOFException();
+        }
+    }
+
+    private int readBits(int count) throws IOException {
+        if (bitCount < count) {
+            refill();
+        }
+        final int value = (int) bits & ((1 << count) - 1);
+        bits >>>= count;
+        bitCount -= count;
+        checkPadding();
+        return value;
+    }
+
+    private int readSymbol(@NotNull int[] table, int rootBits) throws IOException {
+        if (bitCount < MAX_CODE_LENGTH) {
+            refill();
+        }
+        int entry = table[(int) bits & ((1 << rootBits) - 1)];
+        if ((entry >> 8 & 0xff) == KIND_SUBTABLE) {
+            bits >>>= rootBits;
+            bitCount -= rootBits;
+            entry = table[(entry >>> 16) + ((int) bits & ((1 << (entry >> 4 & 0xf)) - 1))];
+        }
+        if ((entry >> 8 & 0xff) == KIND_INVALID) {
+            throw new CompressAlgorithmException("no symbol for code");
+        }
+        bits >>>= entry & 0xf;
+        bitCount -= entry & 0xf;
+        checkPadding();
+        return entry >>> 16;
+    }
+
+    private void readBlock() throws IOException {
+        final int header = readBits(3);
+        switch (header >> 1) {
+            case 0: {
+                int align = bitCount & 0x7;
+                bits >>>= align;
+                bitCount -= align;
+                int length = readBits(16);
+                if ((length ^ readBits(16)) != 0xffff) {
+                    throw new CompressAlgorithmException("stored length");
+                }
+                remainingLength = length;
+                state = STATE_NO_COMPRESSION;
+                break;
+            }
+            case 1:
+                literalLengthTable = FIXED_LITERAL_LENGTH_TABLE;
+                distanceTable = FIXED_DISTANCE_TABLE;
+                state = STATE_HUFFMAN;
+                break;
+            case 2:
+                readDynamicTables();
+                literalLengthTable = dynamicLiteralLengthTable;
+                distanceTable = dynamicDistanceTable;
+                state = STATE_HUFFMAN;
+                break;
+            default:
+                throw new CompressAlgorithmException("block type 3");
+        }
+        state |= header & 1;
+    }
+
+    private void readDynamicTables() throws IOException {
+        final int literalLengthCodeCount = readBits(5) + 257;
+        final int distanceCodeCount = readBits(5) + 1;
+        final int codeLengthCodeCount = readBits(4) + 4;
+        if (literalLengthCodeCount > 286 || distanceCodeCount > 30) {
+            throw new CompressAlgorithmException("code count");
+        }
+        Arrays.fill(codeLengths, 0, ResidueInflateInputStream.REORDER.length, 0);
+        for (int index = 0; index < codeLengthCodeCount; index++) {
+            codeLengths[ResidueInflateInputStream.REORDER[index]] = readBits(3);
+        }
+        buildTable(codeLengths, ResidueInflateInputStream.REORDER.length, CODE_LENGTH_TEMPLATES, CODE_LENGTH_ROOT_BITS, codeLengthTable, commonCounts);
+        final int total = literalLengthCodeCount + distanceCodeCount;
+        int index = 0;
+        while (index < total) {
+            int symbol = readSymbol(codeLengthTable, CODE_LENGTH_ROOT_BITS);
+            int value;
+            int times;
+            if (symbol < 16) {
+                codeLengths[index++] = symbol;
+                continue;
+            } else if (symbol == 16) {
+                if (index == 0) {
+                    throw new CompressAlgorithmException("repeat without previous length");
+                }
+                value = codeLengths[index - 1];
+                times = readBits(2) + 3;
+            } else if (symbol == 17) {
+                value = 0;
+                times = readBits(3) + 3;
+            } else {
+                value = 0;
+                times = readBits(7) + 11;
+            }
+            if (index + times > total) {
+                throw new CompressAlgorithmException("too many code lengths");
+            }
+            Arrays.fill(codeLengths, index, index + times, value);
+            index += times;
+        }
+        if (codeLengths[0x100] == 0) {
+            throw new CompressAlgorithmException("no end of block code");
+        }
+        buildTable(codeLengths, literalLengthCodeCount, LITERAL_LENGTH_TEMPLATES, LITERAL_LENGTH_ROOT_BITS, dynamicLiteralLengthTable, commonCounts);
+        System.arraycopy(codeLengths, literalLengthCodeCount, codeLengths, 0, distanceCodeCount);
+        buildTable(codeLengths, distanceCodeCount, DISTANCE_TEMPLATES, DISTANCE_ROOT_BITS, dynamicDistanceTable, commonCounts);
+    }
+
+    private void copyStored() throws IOException {
+        while (remainingLength > 0 && writePosition < window.length) {
+            if (bitCount > paddingBitCount) { // whole bytes left in the bit buffer after the header
+                window[writePosition++] = (byte) bits;
+                bits >>>= Byte.SIZE;
+                bitCount -= Byte.SIZE;
+                remainingLength--;
+                continue;
+            }
+            bits = 0L; // bits above bitCount are the next input bytes, which are copied directly
+            if (inputPosition == inputLimit) {
+                fillInput();
+                if (inputPosition == inputLimit) {
+                    throw new EOFException();
+                }
+            }
+            int count = Math.min(Math.min(remainingLength, window.length - writePosition), inputLimit - inputPosition);
+            System.arraycopy(input, inputPosition, window, writePosition, count);
+            inputPosition += count;
+            writePosition += count;
+            remainingLength -= count;
+        }
+        if (remainingLength == 0) {
+            state &= STATE_LAST_BLOCK_FREE;
+        }
+    }
+
+    /**
+     * Decodes until the window is nearly full or the block ends
+     */
+    private void decodeHuffman() throws IOException {
+        final byte[] window = this.window;
+        final int[] literalLengthTable = this.literalLengthTable;
+        final int[] distanceTable = this.distanceTable;
+        final int writeLimit = window.length - MAX_MATCH;
+        long bits = this.bits;
+        int bitCount = this.bitCount;
+        int position = writePosition;
+        try {
+            while (position < writeLimit) {
+                if (inputLimit - inputPosition >= Long.BYTES) {
+                    bits |= (long) LONG_LE.get(input, inputPosition) << bitCount;
+                    inputPosition += (63 - bitCount) >>> 3;
+                    bitCount |= 56;
+                } else {
+                    this.bits = bits;
+                    this.bitCount = bitCount;
+                    refillSlow();
+                    bits = this.bits;
+                    bitCount = this.bitCount;
+                }
+                int entry = literalLengthTable[(int) bits & ((1 << LITERAL_LENGTH_ROOT_BITS) - 1)];
+                int kind = entry >> 8 & 0xff;
+                if (kind == KIND_SUBTABLE) {
+                    bits >>>= LITERAL_LENGTH_ROOT_BITS;
+                    bitCount -= LITERAL_LENGTH_ROOT_BITS;
+                    entry = literalLengthTable[(entry >>> 16) + ((int) bits & ((1 << (entry >> 4 & 0xf)) - 1))];
+                    kind = entry >> 8 & 0xff;
+                }
+                bits >>>= entry & 0xf;
+                bitCount -= entry & 0xf;
+                if (kind == KIND_LITERAL) {
+                    window[position++] = (byte) (entry >>> 16);
+                } else if (kind == KIND_BASE) {
+                    int extra = entry >> 4 & 0xf;
+                    int length = (entry >>> 16) + ((int) bits & ((1 << extra) - 1));
+                    bits >>>= extra;
+                    bitCount -= extra;
+                    entry = distanceTable[(int) bits & ((1 << DISTANCE_ROOT_BITS) - 1)];
+                    kind = entry >> 8 & 0xff;
+                    if (kind == KIND_SUBTABLE) {
+                        bits >>>= DISTANCE_ROOT_BITS;
+                        bitCount -= DISTANCE_ROOT_BITS;
+                        entry = distanceTable[(entry >>> 16) + ((int) bits & ((1 << (entry >> 4 & 0xf)) - 1))];
+                        kind = entry >> 8 & 0xff;
+                    }
+                    if (kind != KIND_BASE) {
+                        throw new CompressAlgorithmException("no symbol for distance code");
+                    }
+                    bits >>>= entry & 0xf;
+                    bitCount -= entry & 0xf;
+                    extra = entry >> 4 & 0xf;
+                    int distance = (entry >>> 16) + ((int) bits & ((1 << extra) - 1));
+                    bits >>>= extra;
+                    bitCount -= extra;
+                    if (distance > position) {
+                        throw new CompressAlgorithmException("distance = " + distance);
+                    }
+                    int from = position - distance;
+                    if (distance >= length) {
+                        System.arraycopy(window, from, window, position, length);
+                        position += length;
+                    } else if (distance == 1) {
+                        Arrays.fill(window, position, position + length, window[from]);
+                        position += length;
+                    } else {
+                        int end = position + length;
+                        while (position < end) { // the copied run doubles every round
+                            int count = Math.min(end - position, position - from);
+                            System.arraycopy(window, from, window, position, count);
+                            position += count;
+                        }
+                    }
+                } else if (kind == KIND_END) {
+                    state &= STATE_LAST_BLOCK_FREE;
+                    break;
+                } else {
+                    throw new CompressAlgorithmException("no symbol for code");
+                }
+                if (bitCount < paddingBitCount) {
+                    throw new EOFException();
+                }
+            }
+        } finally {
+            this.bits = bits;
+            this.bitCount = bitCount;
+            writePosition = position;
+        }
+        checkPadding();
+    }
+
+    /**
+     * @return false at the end of the deflate stream
+     */
+    private boolean fill() throws IOException {
+        while (true) {
+            switch (state) {
+                case STATE_FREE:
+                    readBlock();
+                    break;
+                case STATE_LAST_BLOCK_FREE:
+                    return false;
+                case STATE_NO_COMPRESSION:
+                case STATE_LAST_BLOCK_NO_COMPRESSION:
+                    slide();
+                    copyStored();
+                    if (writePosition > readPosition) {
+                        return true;
+                    }
+                    break;
+                case STATE_HUFFMAN:
+                case STATE_LAST_BLOCK_HUFFMAN:
+                    slide();
+                    decodeHuffman();
+                    if (writePosition > readPosition) {
+                        return true;
+                    }
+                    break;
+                case STATE_CLOSED:
+                    throw new IOException("closed");
+                default:
+                    throw new IllegalStateException();
+            }
+        }
+    }
+
+    /**
+     * Keeps the last 32K bytes of output when the window is nearly full, after all of it is read
+     */
+    private void slide() {
+        if (writePosition > window.length - (MAX_MATCH << 1)) {
+            System.arraycopy(window, writePosition - WINDOW_SIZE, window, 0, WINDOW_SIZE);
+            writePosition = WINDOW_SIZE;
+            readPosition = WINDOW_SIZE;
+        }
+    }
+
+    @Override
+    public void trailingBytesMode() {
+        if (state == STATE_LAST_BLOCK_FREE) {
+            int align = bitCount & 0x7;
+            bits >>>= align;
+            bitCount -= align;
+            state = STATE_TRAILING_BYTES;
+        } else {
+            throw new IllegalStateException();
+        }
+    }
+
+    private int readTrailingByte() throws IOException {
+        if (bitCount > paddingBitCount) {
+            int value = 0xff & (int) bits;
+            bits >>>= Byte.SIZE;
+            bitCount -= Byte.SIZE;
+            return value;
+        }
+        bits = 0L;
+        bitCount = 0;
+        paddingBitCount = 0;
+        if (inputPosition < inputLimit) {
+            return 0xff & input[inputPosition++];
+        }
+        return in.read();
+    }
+
+    @Override
+    @DataType("u8+{-1}")
+    public int read() throws IOException {
+        if (readPosition < writePosition) {
+            return 0xff & window[readPosition++];
+        }
+        if (state == STATE_TRAILING_BYTES) {
+            return readTrailingByte();
+        }
+        if (fill()) {
+            return 0xff & window[readPosition++];
+        }
+        return -1;
+    }
+
+    @Override
+    public int read(@NotNull byte[] array, int offset, int length) throws IOException {
+        if (offset < 0 || length < 0 || Math.addExact(offset, length) > array.length) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (length == 0) {
+            return 0;
+        }
+        if (state == STATE_TRAILING_BYTES) {
+            if (bitCount > paddingBitCount) {
+                array[offset] = (byte) readTrailingByte();
+                return 1;
+            }
+            if (inputPosition < inputLimit) {
+                length = Math.min(length, inputLimit - inputPosition);
+                System.arraycopy(input, inputPosition, array, offset, length);
+                inputPosition += length;
+                return length;
+            }
+            return in.read(array, offset, length);
+        }
+        int count = 0;
+        while (count < length) {
+            if (readPosition == writePosition && !fill()) {
+                break;
+            }
+            int copy = Math.min(length - count, writePosition - readPosition);
+            System.arraycopy(window, readPosition, array, offset + count, copy);
+            readPosition += copy;
+            count += copy;
+        }
+        return count == 0 ? -1 : count;
+    }
+
+    @Override
+    public int available() {
+        return writePosition - readPosition;
+    }
+
+    @Override
+    public void close() throws IOException {
+        state = STATE_CLOSED;
+        readPosition = writePosition;
+        in.close();
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public void mark(int readLimit) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void reset() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public String toString() {
+        return "BulkInflateInputStream[state = " + state + ", remainingLength = " + remainingLength + ", bitCount = " + bitCount
+                + ", readPosition = " + readPosition + ", writePosition = " + writePosition + "]";
+    }
+}
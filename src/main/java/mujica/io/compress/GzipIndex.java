@@ -0,0 +1,397 @@
+package mujica.io.compress;
+
+import mujica.ds.i8.run.CyclicArrayRunBuffer;
+import mujica.io.hash.SimpleIntSizedCRC;
+import mujica.io.nest.GzipReader;
+import mujica.reflect.modifier.CodeHistory;
+import mujica.reflect.modifier.ReferencePage;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.SeekableByteChannel;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Random access into a gzip file, as zran.
+ * A checkpoint at a deflate block boundary, about every span bytes of output, keeps the bit position and the last 32K bytes of output,
+ * so that reading from an offset inflates from the checkpoint before it only.
+ * Concatenated members are supported, and every member starts with a checkpoint without window.
+ * Bit positions count from the origin, the channel position where the input given to build() starts.
+ */
+@CodeHistory(date = "2026/10/17")
+@ReferencePage(title = "zran.c", href = "https://github.com/madler/zlib/blob/develop/examples/zran.c")
+public class GzipIndex {
+
+    private static final int WINDOW_SIZE = 1 << 15;
+
+    private static final byte[] EMPTY_WINDOW = {};
+
+    @NotNull
+    public static ResidueInflateInputStream defaultInflater(@NotNull InputStream in) {
+        return new TableInflateInputStream(in, new CyclicArrayRunBuffer(WINDOW_SIZE));
+    }
+
+    @NotNull
+    private final Function<InputStream, ResidueInflateInputStream> constructor;
+
+    private long[] bitPositions = new long[16];
+
+    private long[] outputPositions = new long[16];
+
+    private byte[][] windows = new byte[16][];
+
+    private int checkpointCount;
+
+    private long uncompressedSize;
+
+    private final long origin;
+
+    private GzipIndex(@NotNull Function<InputStream, ResidueInflateInputStream> constructor, long origin) {
+        super();
+        this.constructor = constructor;
+        this.origin = origin;
+    }
+
+    /**
+     * Inflates the whole input once, and checks the CRC and size of every member
+     *
+     * @param origin position of the first byte of the input in the channels given to open()
+     * @param span minimum output bytes between two checkpoints in one member
+     */
+    @NotNull
+    public static GzipIndex build(@NotNull InputStream in, long origin, long span, @NotNull Function<InputStream, ResidueInflateInputStream> constructor) throws IOException {
+        if (origin < 0L) {
+            throw new IllegalArgumentException("origin = " + origin);
+        }
+        if (span <= 0L) {
+            throw new IllegalArgumentException("span = " + span);
+        }
+        final GzipIndex index = new GzipIndex(constructor, origin);
+        (index.new Builder(new CountingInputStream(in), span)).run();
+        return index;
+    }
+
+    /**
+     * The input must start at position 0 of the channels given to open()
+     */
+    @NotNull
+    public static GzipIndex build(@NotNull InputStream in, long span) throws IOException {
+        return build(in, 0L, span, GzipIndex::defaultInflater);
+    }
+
+    /**
+     * Reads the channel from its current position, which becomes the origin
+     */
+    @NotNull
+    public static GzipIndex build(@NotNull SeekableByteChannel channel, long span) throws IOException {
+        return build(new BufferedInputStream(Channels.newInputStream(channel)), channel.position(), span, GzipIndex::defaultInflater);
+    }
+
+    public long origin() {
+        return origin;
+    }
+
+    private void add(long bitPosition, long outputPosition, @NotNull byte[] window) {
+        if (checkpointCount == bitPositions.length) {
+            int capacity = checkpointCount << 1;
+            bitPositions = Arrays.copyOf(bitPositions, capacity);
+            outputPositions = Arrays.copyOf(outputPositions, capacity);
+            windows = Arrays.copyOf(windows, capacity);
+        }
+        bitPositions[checkpointCount] = bitPosition;
+        outputPositions[checkpointCount] = outputPosition;
+        windows[checkpointCount] = window;
+        checkpointCount++;
+    }
+
+    public int checkpointCount() {
+        return checkpointCount;
+    }
+
+    public long uncompressedSize() {
+        return uncompressedSize;
+    }
+
+    /**
+     * @return bytes of all windows kept
+     */
+    public long windowSize() {
+        long size = 0L;
+        for (int index = 0; index < checkpointCount; index++) {
+            size += windows[index].length;
+        }
+        return size;
+    }
+
+    /**
+     * @return index of the last checkpoint at or before the output position
+     */
+    private int checkpoint(long outputPosition) {
+        int index = Arrays.binarySearch(outputPositions, 0, checkpointCount, outputPosition);
+        if (index < 0) {
+            index = -index - 2;
+        } else {
+            while (index + 1 < checkpointCount && outputPositions[index + 1] == outputPosition) {
+                index++; // an empty member
+            }
+        }
+        return index;
+    }
+
+    /**
+     * The channel is read from its position set here, until the returned stream ends or is closed; closing the stream leaves the channel open
+     */
+    @NotNull
+    public InputStream open(@NotNull SeekableByteChannel channel, long offset) throws IOException {
+        if (offset < 0L || offset > uncompressedSize) {
+            throw new IndexOutOfBoundsException("offset = " + offset);
+        }
+        final int index = checkpoint(offset);
+        final long bitPosition = bitPositions[index];
+        channel.position(origin + (bitPosition >>> 3));
+        final CountingInputStream in = new CountingInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+        final ResidueInflateInputStream inflater = constructor.apply(in);
+        final int skipBits = (int) bitPosition & 0x7;
+        if (skipBits != 0) {
+            int octet = in.read();
+            if (octet == -1) {
+                throw new EOFException();
+            }
+            inflater.resumeAtBlock(octet >>> skipBits, Byte.SIZE - skipBits);
+        }
+        final byte[] window = windows[index];
+        inflater.runBuffer.putFully(window, 0, window.length);
+        final InputStream reader = new MemberInputStream(in, inflater);
+        reader.skipNBytes(offset - outputPositions[index]);
+        return reader;
+    }
+
+    @CodeHistory(date = "2026/10/17")
+    private class Builder implements ResidueInflateInputStream.BlockListener {
+
+        @NotNull
+        final CountingInputStream in;
+
+        final long span;
+
+        final byte[] ring = new byte[WINDOW_SIZE]; // inflated into directly
+
+        final SimpleIntSizedCRC crc = SimpleIntSizedCRC.crc32();
+
+        long output, memberStart, lastCheckpoint;
+
+        Builder(@NotNull CountingInputStream in, long span) {
+            super();
+            this.in = in;
+            this.span = span;
+        }
+
+        void run() throws IOException {
+            while (in.peek() != -1) {
+                GzipReader.skipHeader(in);
+                memberStart = output;
+                lastCheckpoint = output;
+                add(in.count << 3, output, EMPTY_WINDOW);
+                ResidueInflateInputStream inflater = constructor.apply(in);
+                inflater.setBlockListener(this);
+                crc.start();
+                while (true) {
+                    int start = (int) output & (WINDOW_SIZE - 1);
+                    int count = inflater.read(ring, start, WINDOW_SIZE - start);
+                    if (count == -1) {
+                        break;
+                    }
+                    crc.update(ring, start, count);
+                    output += count;
+                }
+                inflater.setBlockListener(null);
+                inflater.trailingBytesMode();
+                if (readIntelInt(inflater) != crc.getAsInt()) {
+                    throw new CompressAlgorithmException("CRC");
+                }
+                if (readIntelInt(inflater) != (int) (output - memberStart)) {
+                    throw new CompressAlgorithmException("size");
+                }
+            }
+            uncompressedSize = output;
+        }
+
+        /**
+         * The bytes of the read in progress are already in the ring
+         */
+        @Override
+        public void blockStart(@NotNull ResidueInflateInputStream inflater) {
+            final long output = this.output + inflater.pendingCount();
+            if (output - lastCheckpoint < span) {
+                return;
+            }
+            final int length = (int) Math.min(WINDOW_SIZE, output - memberStart);
+            final byte[] window = new byte[length];
+            final int start = (int) (output - length) & (WINDOW_SIZE - 1);
+            final int first = Math.min(length, WINDOW_SIZE - start);
+            System.arraycopy(ring, start, window, 0, first);
+            System.arraycopy(ring, 0, window, first, length - first);
+            add((in.count << 3) - inflater.bufferedBitCount(), output, window);
+            lastCheckpoint = output;
+        }
+    }
+
+    private static int readIntelInt(@NotNull InputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < Integer.SIZE; shift += Byte.SIZE) {
+            int octet = in.read();
+            if (octet == -1) {
+                throw new EOFException();
+            }
+            value |= octet << shift;
+        }
+        return value;
+    }
+
+    @CodeHistory(date = "2026/10/17")
+    private static class CountingInputStream extends FilterInputStream {
+
+        long count;
+
+        int peeked = -2;
+
+        CountingInputStream(@NotNull InputStream in) {
+            super(in);
+        }
+
+        int peek() throws IOException {
+            if (peeked == -2) {
+                peeked = in.read();
+            }
+            return peeked;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int octet = peeked;
+            if (octet == -2) {
+                octet = in.read();
+            } else {
+                peeked = -2;
+            }
+            if (octet != -1) {
+                count++;
+            }
+            return octet;
+        }
+
+        @Override
+        public int read(@NotNull byte[] array, int offset, int length) throws IOException {
+            if (length <= 0) {
+                return 0;
+            }
+            if (peeked != -2) {
+                int octet = read();
+                if (octet == -1) {
+                    return -1;
+                }
+                array[offset] = (byte) octet;
+                return 1;
+            }
+            length = in.read(array, offset, length);
+            if (length > 0) {
+                count += length;
+            }
+            return length;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long m = 0L;
+            while (m < n && read() != -1) {
+                m++;
+            }
+            return m;
+        }
+    }
+
+    /**
+     * Inflates from a checkpoint to the end of its member, then the following members, without checking their CRC
+     */
+    @CodeHistory(date = "2026/10/17")
+    private class MemberInputStream extends InputStream {
+
+        @NotNull
+        final CountingInputStream in;
+
+        @Nullable
+        ResidueInflateInputStream inflater;
+
+        MemberInputStream(@NotNull CountingInputStream in, @NotNull ResidueInflateInputStream inflater) {
+            super();
+            this.in = in;
+            this.inflater = inflater;
+        }
+
+        /**
+         * Skips the trailer of the finished member and starts the next one, if any
+         */
+        private void nextMember() throws IOException {
+            final ResidueInflateInputStream inflater = this.inflater;
+            assert inflater != null;
+            inflater.trailingBytesMode();
+            readIntelInt(inflater); // CRC
+            readIntelInt(inflater); // size
+            if (in.peek() == -1) {
+                this.inflater = null;
+            } else {
+                GzipReader.skipHeader(in);
+                this.inflater = constructor.apply(in);
+            }
+        }
+
+        @Override
+        public int read() throws IOException {
+            while (inflater != null) {
+                int octet = inflater.read();
+                if (octet != -1) {
+                    return octet;
+                }
+                nextMember();
+            }
+            return -1;
+        }
+
+        /**
+         * Inflates straight into the array, from the current member only
+         */
+        @Override
+        public int read(@NotNull byte[] array, int offset, int length) throws IOException {
+            Objects.checkFromIndexSize(offset, length, array.length);
+            if (length == 0) {
+                return 0;
+            }
+            while (inflater != null) {
+                int count = inflater.read(array, offset, length);
+                if (count > 0) {
+                    return count;
+                }
+                nextMember();
+            }
+            return -1;
+        }
+
+        @Override
+        public void close() {
+            inflater = null; // the channel belongs to the caller
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "GzipIndex[checkpointCount = " + checkpointCount + ", uncompressedSize = " + uncompressedSize + "]";
+    }
+}
@@ -30,6 +30,7 @@ public abstract class IntMapInflateInputStream extends ResidueInflateInputStream
         while (true) {
             switch (state) {
                 case STATE_FREE:
+                    blockStart();
                     readBlock();
                     break;
                 case STATE_LAST_BLOCK_FREE:
@@ -92,6 +93,7 @@ public abstract class IntMapInflateInputStream extends ResidueInflateInputStream
         while (true) {
             switch (state) {
                 case STATE_FREE:
+                    blockStart();
                     readBlock();
                     break;
                 case STATE_LAST_BLOCK_FREE:
@@ -0,0 +1,186 @@
+package mujica.io.compress;
+
+import mujica.reflect.modifier.CodeHistory;
+import mujica.reflect.modifier.DataType;
+import mujica.reflect.modifier.Name;
+import mujica.reflect.modifier.ReferencePage;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Decodes raw LZMA2 data, a sequence of LZMA or uncompressed chunks.
+ * No byte after the end chunk is read, so that the .xz container continues on the same stream.
+ */
+@CodeHistory(date = "2026/10/17")
+@ReferencePage(title = "The .xz File Format", href = "https://tukaani.org/xz/xz-file-format.txt")
+@Name(value = "LZMA2 decode input stream", language = "en")
+public class Lzma2DecodeInputStream extends FilterInputStream {
+
+    @NotNull
+    private final LzmaDictionary dictionary;
+
+    @Nullable
+    private LzmaDecoder decoder;
+
+    @NotNull
+    private final LzmaRangeDecoder rc = new LzmaRangeDecoder();
+
+    private int chunkRemaining;
+
+    private boolean lzmaChunk;
+
+    private boolean needDictionaryReset = true;
+
+    private boolean needProperties = true;
+
+    private boolean endReached;
+
+    private final byte[] single = new byte[1];
+
+    public Lzma2DecodeInputStream(@NotNull InputStream in, int dictionarySize) {
+        super(in);
+        if (dictionarySize < 0) {
+            throw new IllegalArgumentException();
+        }
+        dictionary = new LzmaDictionary(dictionarySize);
+        dictionary.reset();
+    }
+
+    private int readByte() throws IOException {
+        final int value = in.read();
+        if (value == -1) {
+            throw new EOFException();
+        }
+        return value;
+    }
+
+    private void startChunk() throws IOException {
+        final int control = readByte();
+        if (control == 0x00) {
+            endReached = true;
+            return;
+        }
+        if (control >= 0xe0 || control == 0x01) {
+            needProperties = true;
+            needDictionaryReset = false;
+            dictionary.reset();
+        } else if (needDictionaryReset) {
+            throw new CompressAlgorithmException("dictionary reset needed");
+        }
+        if (control >= 0x80) {
+            lzmaChunk = true;
+            chunkRemaining = ((control & 0x1f) << 16) + (readByte() << 8) + readByte() + 1;
+            int compressedSize = (readByte() << 8) + readByte() + 1;
+            if (control >= 0xc0) {
+                needProperties = false;
+                int properties = readByte();
+                if (properties >= 9 * 5 * 5) {
+                    throw new CompressAlgorithmException("properties = " + properties);
+                }
+                int lc = properties % 9;
+                int lp = properties / 9 % 5;
+                if (lc + lp > 4) {
+                    throw new CompressAlgorithmException("lc + lp > 4");
+                }
+                decoder = new LzmaDecoder(dictionary, lc, lp, properties / 45);
+            } else if (needProperties) {
+                throw new CompressAlgorithmException("properties needed");
+            } else if (control >= 0xa0) {
+                assert decoder != null;
+                decoder.reset();
+            }
+            rc.startChunk(in, compressedSize);
+        } else if (control > 0x02) {
+            throw new CompressAlgorithmException("control = " + control);
+        } else {
+            lzmaChunk = false;
+            chunkRemaining = (readByte() << 8) + readByte() + 1;
+        }
+    }
+
+    @Override
+    @DataType("u8+{-1}")
+    public int read() throws IOException {
+        return read(single, 0, 1) == -1 ? -1 : 0xff & single[0];
+    }
+
+    @Override
+    public int read(@NotNull byte[] array, int offset, int length) throws IOException {
+        if (offset < 0 || length < 0 || Math.addExact(offset, length) > array.length) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (length == 0) {
+            return 0;
+        }
+        int count = 0;
+        while (length > 0 && !endReached) {
+            if (chunkRemaining == 0) {
+                startChunk();
+                continue;
+            }
+            dictionary.setLimit(Math.min(length, chunkRemaining));
+            if (lzmaChunk) {
+                assert decoder != null;
+                decoder.decode(rc);
+                if (decoder.endMarkerDetected()) {
+                    throw new CompressAlgorithmException("end marker in LZMA2");
+                }
+            } else {
+                dictionary.copyUncompressed(in, chunkRemaining);
+            }
+            int copied = dictionary.flush(array, offset);
+            offset += copied;
+            length -= copied;
+            count += copied;
+            chunkRemaining -= copied;
+            if (chunkRemaining == 0 && lzmaChunk && (dictionary.hasPending() || !rc.isChunkFinished())) {
+                throw new CompressAlgorithmException("chunk size mismatch");
+            }
+        }
+        return count == 0 ? -1 : count;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        final byte[] buffer = new byte[(int) Math.min(n, 1 << 12)];
+        long m = 0L;
+        while (m < n) {
+            int count = read(buffer, 0, (int) Math.min(n - m, buffer.length));
+            if (count == -1) {
+                break;
+            }
+            m += count;
+        }
+        return m;
+    }
+
+    @Override
+    public int available() {
+        return lzmaChunk ? chunkRemaining : 0; // compressed bytes of the chunk are buffered
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public void mark(int readLimit) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void reset() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public String toString() {
+        return "Lzma2DecodeInputStream[dictionarySize = " + dictionary.size() + "]";
+    }
+}
@@ -0,0 +1,200 @@
+package mujica.io.compress;
+
+import mujica.reflect.modifier.CodeHistory;
+import mujica.reflect.modifier.DataType;
+import mujica.reflect.modifier.Name;
+import mujica.reflect.modifier.ReferencePage;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reading from this stream pulls the uncompressed input and gives raw LZMA2 data.
+ * A chunk falls back to uncompressed chunks when LZMA does not make it smaller.
+ */
+@CodeHistory(date = "2026/10/17")
+@ReferencePage(title = "XZ for Java", href = "https://tukaani.org/xz/java.html")
+@Name(value = "LZMA2 encode input stream", language = "en")
+public class Lzma2EncodeInputStream extends FilterInputStream {
+
+    private static final int UNCOMPRESSED_CHUNK_MAX = 1 << 16;
+
+    @NotNull
+    private final LzmaEncoder encoder;
+
+    final int dictionarySize;
+
+    private final byte[] chunk = new byte[1 << 17];
+
+    private int chunkPosition, chunkLimit;
+
+    private boolean needDictionaryReset = true;
+
+    private boolean needProperties = true;
+
+    private boolean needStateReset;
+
+    private boolean finished;
+
+    private final byte[] single = new byte[1];
+
+    public Lzma2EncodeInputStream(@NotNull InputStream in) {
+        this(in, LzmaEncodeInputStream.DEFAULT_DICTIONARY_SIZE);
+    }
+
+    public Lzma2EncodeInputStream(@NotNull InputStream in, int dictionarySize) {
+        this(in, 3, 0, 2, dictionarySize, LzmaEncodeInputStream.DEFAULT_NICE_LENGTH, true);
+    }
+
+    public Lzma2EncodeInputStream(@NotNull InputStream in, int lc, int lp, int pb, int dictionarySize, int niceLength, boolean bt4) {
+        super(in);
+        if (lc + lp > 4) {
+            throw new IllegalArgumentException("lc + lp > 4");
+        }
+        // uncompressed chunks are copied from the window
+        encoder = new LzmaEncoder(new LzmaRangeEncoder(), lc, lp, pb, dictionarySize,
+                Math.max(UNCOMPRESSED_CHUNK_MAX - dictionarySize, 0) + 16, niceLength, bt4, 0);
+        this.dictionarySize = dictionarySize;
+    }
+
+    /**
+     * @return false at the end
+     */
+    private boolean produce() throws IOException {
+        final LzmaEncoder encoder = this.encoder;
+        final LzmaMatchFinder matchFinder = encoder.matchFinder;
+        while (chunkPosition == chunkLimit) {
+            if (finished) {
+                return false;
+            }
+            chunkPosition = 0;
+            chunkLimit = 0;
+            if (encoder.encodeForLzma2()) {
+                writeChunk();
+            } else if (matchFinder.isFinishing()) {
+                if (encoder.uncompressedSize > 0) {
+                    writeChunk();
+                }
+                chunk[chunkLimit++] = 0x00;
+                finished = true;
+            } else if (matchFinder.fill(in) == -1) {
+                matchFinder.setFinishing();
+            }
+        }
+        return true;
+    }
+
+    private void writeChunk() {
+        final LzmaEncoder encoder = this.encoder;
+        final byte[] chunk = this.chunk;
+        final int compressedSize = encoder.rc.finish();
+        int uncompressedSize = encoder.uncompressedSize;
+        int position = chunkLimit;
+        if (compressedSize + 2 < uncompressedSize) {
+            int control;
+            if (needProperties) {
+                control = needDictionaryReset ? 0xe0 : 0xc0;
+            } else {
+                control = needStateReset ? 0xa0 : 0x80;
+            }
+            control |= (uncompressedSize - 1) >>> 16;
+            chunk[position++] = (byte) control;
+            chunk[position++] = (byte) ((uncompressedSize - 1) >>> 8);
+            chunk[position++] = (byte) (uncompressedSize - 1);
+            chunk[position++] = (byte) ((compressedSize - 1) >>> 8);
+            chunk[position++] = (byte) (compressedSize - 1);
+            if (needProperties) {
+                chunk[position++] = (byte) LzmaCoder.propertiesByte(encoder.lc, encoder.lp, encoder.pb);
+            }
+            encoder.rc.copyTo(chunk, position);
+            position += compressedSize;
+            needProperties = false;
+            needStateReset = false;
+            needDictionaryReset = false;
+        } else {
+            // the decoder resets the state with the next LZMA chunk, so does the encoder
+            encoder.reset();
+            int start = encoder.uncompressedStart();
+            while (uncompressedSize > 0) {
+                int size = Math.min(uncompressedSize, UNCOMPRESSED_CHUNK_MAX);
+                chunk[position++] = (byte) (needDictionaryReset ? 0x01 : 0x02);
+                chunk[position++] = (byte) ((size - 1) >>> 8);
+                chunk[position++] = (byte) (size - 1);
+                System.arraycopy(encoder.matchFinder.buffer, start, chunk, position, size);
+                position += size;
+                start += size;
+                uncompressedSize -= size;
+                needDictionaryReset = false;
+            }
+            needStateReset = true;
+        }
+        chunkLimit = position;
+        encoder.uncompressedSize = 0;
+        encoder.rc.reset();
+    }
+
+    @Override
+    @DataType("u8+{-1}")
+    public int read() throws IOException {
+        return read(single, 0, 1) == -1 ? -1 : 0xff & single[0];
+    }
+
+    @Override
+    public int read(@NotNull byte[] array, int offset, int length) throws IOException {
+        if (offset < 0 || length < 0 || Math.addExact(offset, length) > array.length) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (length == 0) {
+            return 0;
+        }
+        if (!produce()) {
+            return -1;
+        }
+        length = Math.min(length, chunkLimit - chunkPosition);
+        System.arraycopy(chunk, chunkPosition, array, offset, length);
+        chunkPosition += length;
+        return length;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        final byte[] buffer = new byte[(int) Math.min(n, 1 << 12)];
+        long m = 0L;
+        while (m < n) {
+            int count = read(buffer, 0, (int) Math.min(n - m, buffer.length));
+            if (count == -1) {
+                break;
+            }
+            m += count;
+        }
+        return m;
+    }
+
+    @Override
+    public int available() {
+        return chunkLimit - chunkPosition;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public void mark(int readLimit) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void reset() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public String toString() {
+        return "Lzma2EncodeInputStream[lc = " + encoder.lc + ", lp = " + encoder.lp + ", pb = " + encoder.pb
+                + ", dictionarySize = " + dictionarySize + "]";
+    }
+}
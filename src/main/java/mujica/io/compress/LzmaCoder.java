@@ -0,0 +1,190 @@
+package mujica.io.compress;
+
+import mujica.reflect.modifier.CodeHistory;
+import mujica.reflect.modifier.Name;
+import mujica.reflect.modifier.ReferencePage;
+
+import java.util.Arrays;
+
+/**
+ * Probability model and state machine shared by the LZMA encoder and decoder
+ */
+@CodeHistory(date = "2026/10/17")
+@ReferencePage(title = "LZMA specification (DRAFT version)", href = "https://www.7-zip.org/a/lzma-specification.7z")
+abstract class LzmaCoder {
+
+    static final int MATCH_LEN_MIN = 2;
+
+    static final int MATCH_LEN_MAX = 273;
+
+    static final int REPS = 4;
+
+    static final int STATES = 12;
+
+    static final int LITERAL_STATES = 7;
+
+    static final int POS_STATES_MAX = 1 << 4;
+
+    static final int DIST_STATES = 4;
+
+    static final int DIST_SLOT_BITS = 6;
+
+    static final int DIST_MODEL_START = 4;
+
+    static final int DIST_MODEL_END = 14;
+
+    static final int FULL_DISTANCES = 1 << (DIST_MODEL_END >> 1);
+
+    static final int ALIGN_BITS = 4;
+
+    static final int ALIGN_MASK = (1 << ALIGN_BITS) - 1;
+
+    static final int LOW_BITS = 3;
+
+    static final int MID_BITS = 3;
+
+    static final int HIGH_BITS = 8;
+
+    static final int LOW_SYMBOLS = 1 << LOW_BITS;
+
+    static final int MID_SYMBOLS = 1 << MID_BITS;
+
+    static final short PROBABILITY_INITIAL = 1 << 10;
+
+    /**
+     * lc + lp * 9 + pb * 45, the first byte of the properties
+     */
+    static int propertiesByte(int lc, int lp, int pb) {
+        return (pb * 5 + lp) * 9 + lc;
+    }
+
+    @Name(value = "literal context bits")
+    final int lc;
+
+    @Name(value = "literal position state bits")
+    final int lp;
+
+    @Name(value = "position state bits")
+    final int pb;
+
+    final int posMask;
+
+    final int literalPosMask;
+
+    int state;
+
+    final int[] reps = new int[REPS];
+
+    final short[] isMatch = new short[STATES * POS_STATES_MAX];
+
+    final short[] isRep = new short[STATES];
+
+    final short[] isRepG0 = new short[STATES];
+
+    final short[] isRepG1 = new short[STATES];
+
+    final short[] isRepG2 = new short[STATES];
+
+    final short[] isRep0Long = new short[STATES * POS_STATES_MAX];
+
+    final short[] distSlots = new short[DIST_STATES << DIST_SLOT_BITS];
+
+    /**
+     * indexed by base - slot + m as the specification, for slots below DIST_MODEL_END
+     */
+    final short[] distSpecial = new short[1 + FULL_DISTANCES - DIST_MODEL_END];
+
+    final short[] distAlign = new short[1 << ALIGN_BITS];
+
+    final short[] literal;
+
+    final LengthModel matchLength = new LengthModel();
+
+    final LengthModel repLength = new LengthModel();
+
+    LzmaCoder(int lc, int lp, int pb) {
+        super();
+        if (lc < 0 || lc > 8 || lp < 0 || lp > 4 || pb < 0 || pb > 4) {
+            throw new IllegalArgumentException("lc = " + lc + ", lp = " + lp + ", pb = " + pb);
+        }
+        this.lc = lc;
+        this.lp = lp;
+        this.pb = pb;
+        this.posMask = (1 << pb) - 1;
+        this.literalPosMask = (1 << lp) - 1;
+        this.literal = new short[0x300 << (lc + lp)];
+    }
+
+    void reset() {
+        state = 0;
+        Arrays.fill(reps, 0);
+        Arrays.fill(isMatch, PROBABILITY_INITIAL);
+        Arrays.fill(isRep, PROBABILITY_INITIAL);
+        Arrays.fill(isRepG0, PROBABILITY_INITIAL);
+        Arrays.fill(isRepG1, PROBABILITY_INITIAL);
+        Arrays.fill(isRepG2, PROBABILITY_INITIAL);
+        Arrays.fill(isRep0Long, PROBABILITY_INITIAL);
+        Arrays.fill(distSlots, PROBABILITY_INITIAL);
+        Arrays.fill(distSpecial, PROBABILITY_INITIAL);
+        Arrays.fill(distAlign, PROBABILITY_INITIAL);
+        Arrays.fill(literal, PROBABILITY_INITIAL);
+        matchLength.reset();
+        repLength.reset();
+    }
+
+    /**
+     * @return offset of the 0x300 literal probabilities for the position and the previous byte
+     */
+    int literalOffset(long position, int previousByte) {
+        return 0x300 * ((((int) position & literalPosMask) << lc) + ((previousByte & 0xff) >>> (8 - lc)));
+    }
+
+    static int distState(int length) {
+        return length < DIST_STATES + MATCH_LEN_MIN ? length - MATCH_LEN_MIN : DIST_STATES - 1;
+    }
+
+    void updateLiteral() {
+        if (state < 4) {
+            state = 0;
+        } else if (state < 10) {
+            state -= 3;
+        } else {
+            state -= 6;
+        }
+    }
+
+    void updateMatch() {
+        state = state < LITERAL_STATES ? 7 : 10;
+    }
+
+    void updateLongRep() {
+        state = state < LITERAL_STATES ? 8 : 11;
+    }
+
+    void updateShortRep() {
+        state = state < LITERAL_STATES ? 9 : 11;
+    }
+
+    @CodeHistory(date = "2026/10/17")
+    static class LengthModel {
+
+        final short[] choice = new short[2];
+
+        final short[] low = new short[POS_STATES_MAX << LOW_BITS];
+
+        final short[] mid = new short[POS_STATES_MAX << MID_BITS];
+
+        final short[] high = new short[1 << HIGH_BITS];
+
+        LengthModel() {
+            super();
+        }
+
+        void reset() {
+            Arrays.fill(choice, PROBABILITY_INITIAL);
+            Arrays.fill(low, PROBABILITY_INITIAL);
+            Arrays.fill(mid, PROBABILITY_INITIAL);
+            Arrays.fill(high, PROBABILITY_INITIAL);
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package mujica.io.compress;
+
+import mujica.reflect.modifier.CodeHistory;
+import mujica.reflect.modifier.DataType;
+import mujica.reflect.modifier.Name;
+import mujica.reflect.modifier.ReferencePage;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Decodes the .lzma format (LZMA_Alone), or raw LZMA data with known properties as in ZIP entries.
+ * The input is read byte by byte and never past the end of the LZMA data, so a BufferedInputStream below is recommended.
+ */
+@CodeHistory(date = "2026/10/17")
+@ReferencePage(title = "LZMA specification (DRAFT version)", href = "https://www.7-zip.org/a/lzma-specification.7z")
+@Name(value = "Lempel - Ziv - Markov chain - Arithmetic (LZMA) decode input stream", language = "en")
+public class LzmaDecodeInputStream extends FilterInputStream {
+
+    @NotNull
+    private final LzmaDictionary dictionary;
+
+    @NotNull
+    private final LzmaDecoder decoder;
+
+    @NotNull
+    private final LzmaRangeDecoder rc = new LzmaRangeDecoder();
+
+    /**
+     * -1 for unknown size, which needs the end marker
+     */
+    private long remainingSize;
+
+    private boolean endReached;
+
+    private final byte[] single = new byte[1];
+
+    /**
+     * Raw LZMA data without header
+     *
+     * @param uncompressedSize -1 if unknown
+     */
+    public LzmaDecodeInputStream(@NotNull InputStream in, int lc, int lp, int pb, int dictionarySize, long uncompressedSize) throws IOException {
+        super(in);
+        if (dictionarySize < 0 || uncompressedSize < -1L) {
+            throw new IllegalArgumentException();
+        }
+        if (uncompressedSize >= 0L && uncompressedSize < dictionarySize) {
+            dictionarySize = (int) uncompressedSize; // no distance reaches further
+        }
+        dictionary = new LzmaDictionary(dictionarySize);
+        dictionary.reset();
+        decoder = new LzmaDecoder(dictionary, lc, lp, pb);
+        remainingSize = uncompressedSize;
+        rc.startStream(in);
+    }
+
+    /**
+     * The .lzma format: properties byte, dictionary size and uncompressed size, in little endian
+     */
+    @NotNull
+    public static LzmaDecodeInputStream alone(@NotNull InputStream in) throws IOException {
+        int properties = in.read();
+        if (properties == -1) {
+            throw new EOFException();
+        }
+        if (properties >= 9 * 5 * 5) {
+            throw new CompressAlgorithmException("properties = " + properties);
+        }
+        long dictionarySize = 0L;
+        for (int shift = 0; shift < Integer.SIZE; shift += Byte.SIZE) {
+            dictionarySize |= (long) readByte(in) << shift;
+        }
+        long uncompressedSize = 0L;
+        for (int shift = 0; shift < Long.SIZE; shift += Byte.SIZE) {
+            uncompressedSize |= (long) readByte(in) << shift;
+        }
+        if (dictionarySize > Integer.MAX_VALUE - 15) {
+            throw new CompressAlgorithmException("dictionary size = " + dictionarySize);
+        }
+        return new LzmaDecodeInputStream(in, properties % 9, properties / 9 % 5, properties / 45, (int) dictionarySize, uncompressedSize);
+    }
+
+    private static int readByte(@NotNull InputStream in) throws IOException {
+        final int value = in.read();
+        if (value == -1) {
+            throw new EOFException();
+        }
+        return value;
+    }
+
+    @Override
+    @DataType("u8+{-1}")
+    public int read() throws IOException {
+        return read(single, 0, 1) == -1 ? -1 : 0xff & single[0];
+    }
+
+    @Override
+    public int read(@NotNull byte[] array, int offset, int length) throws IOException {
+        if (offset < 0 || length < 0 || Math.addExact(offset, length) > array.length) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (length == 0) {
+            return 0;
+        }
+        int count = 0;
+        while (length > 0 && !endReached) {
+            int limit = length;
+            if (remainingSize >= 0L && remainingSize < limit) {
+                limit = (int) remainingSize;
+            }
+            dictionary.setLimit(limit);
+            decoder.decode(rc);
+            int copied = dictionary.flush(array, offset);
+            offset += copied;
+            length -= copied;
+            count += copied;
+            if (remainingSize >= 0L) {
+                remainingSize -= copied;
+            }
+            if (decoder.endMarkerDetected()) {
+                if (remainingSize > 0L) {
+                    throw new CompressAlgorithmException("end marker before the uncompressed size");
+                }
+                end();
+            } else if (remainingSize == 0L) {
+                end();
+            }
+        }
+        return count == 0 ? -1 : count;
+    }
+
+    private void end() throws IOException {
+        endReached = true;
+        if (dictionary.hasPending() || !rc.isStreamFinished()) {
+            throw new CompressAlgorithmException("garbage after the end");
+        }
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        final byte[] buffer = new byte[(int) Math.min(n, 1 << 12)];
+        long m = 0L;
+        while (m < n) {
+            int count = read(buffer, 0, (int) Math.min(n - m, buffer.length));
+            if (count == -1) {
+                break;
+            }
+            m += count;
+        }
+        return m;
+    }
+
+    @Override
+    public int available() {
+        return 0;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public void mark(int readLimit) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void reset() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public String toString() {
+        return "LzmaDecodeInputStream[lc = " + decoder.lc + ", lp = " + decoder.lp + ", pb = " + decoder.pb
+                + ", dictionarySize = " + dictionary.size() + ", remainingSize = " + remainingSize + "]";
+    }
+}
@@ -0,0 +1,148 @@
+package mujica.io.compress;
+
+import mujica.reflect.modifier.CodeHistory;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+
+@CodeHistory(date = "2026/10/17")
+final class LzmaDecoder extends LzmaCoder {
+
+    @NotNull
+    private final LzmaDictionary dictionary;
+
+    private boolean endMarker;
+
+    LzmaDecoder(@NotNull LzmaDictionary dictionary, int lc, int lp, int pb) {
+        super(lc, lp, pb);
+        this.dictionary = dictionary;
+        reset();
+    }
+
+    @Override
+    void reset() {
+        super.reset();
+        endMarker = false;
+    }
+
+    boolean endMarkerDetected() {
+        return endMarker;
+    }
+
+    /**
+     * Decodes until the limit of the dictionary, or the end marker
+     */
+    void decode(@NotNull LzmaRangeDecoder rc) throws IOException {
+        final LzmaDictionary dictionary = this.dictionary;
+        dictionary.repeatPending();
+        while (dictionary.hasSpace()) {
+            int position = dictionary.position();
+            int posState = position & posMask;
+            if (rc.decodeBit(isMatch, (state << 4) | posState) == 0) {
+                decodeLiteral(rc, position);
+                continue;
+            }
+            int length;
+            if (rc.decodeBit(isRep, state) == 0) {
+                length = decodeMatch(rc, posState);
+                if (reps[0] == -1) {
+                    endMarker = true;
+                    break;
+                }
+            } else {
+                length = decodeRep(rc, posState);
+                if (length == 0) {
+                    continue;
+                }
+            }
+            dictionary.repeat(reps[0], length);
+        }
+        rc.normalize();
+    }
+
+    private void decodeLiteral(@NotNull LzmaRangeDecoder rc, int position) throws IOException {
+        final int offset = literalOffset(position, dictionary.getByte(0));
+        final short[] probabilities = literal;
+        int symbol = 1;
+        if (state < LITERAL_STATES) {
+            do {
+                symbol = (symbol << 1) | rc.decodeBit(probabilities, offset + symbol);
+            } while (symbol < 0x100);
+        } else {
+            int matchByte = dictionary.getByte(reps[0]);
+            int mask = 0x100;
+            do {
+                matchByte <<= 1;
+                int matchBit = matchByte & mask;
+                int bit = rc.decodeBit(probabilities, offset + mask + matchBit + symbol);
+                symbol = (symbol << 1) | bit;
+                mask &= (-bit) ^ ~matchBit;
+            } while (symbol < 0x100);
+        }
+        dictionary.putByte(symbol);
+        updateLiteral();
+    }
+
+    private int decodeLength(@NotNull LzmaRangeDecoder rc, @NotNull LengthModel model, int posState) throws IOException {
+        if (rc.decodeBit(model.choice, 0) == 0) {
+            return MATCH_LEN_MIN + rc.decodeBitTree(model.low, posState << LOW_BITS, LOW_BITS);
+        }
+        if (rc.decodeBit(model.choice, 1) == 0) {
+            return MATCH_LEN_MIN + LOW_SYMBOLS + rc.decodeBitTree(model.mid, posState << MID_BITS, MID_BITS);
+        }
+        return MATCH_LEN_MIN + LOW_SYMBOLS + MID_SYMBOLS + rc.decodeBitTree(model.high, 0, HIGH_BITS);
+    }
+
+    private int decodeMatch(@NotNull LzmaRangeDecoder rc, int posState) throws IOException {
+        updateMatch();
+        reps[3] = reps[2];
+        reps[2] = reps[1];
+        reps[1] = reps[0];
+        final int length = decodeLength(rc, matchLength, posState);
+        final int slot = rc.decodeBitTree(distSlots, distState(length) << DIST_SLOT_BITS, DIST_SLOT_BITS);
+        if (slot < DIST_MODEL_START) {
+            reps[0] = slot;
+        } else {
+            int footerBits = (slot >>> 1) - 1;
+            int distance = (2 | (slot & 1)) << footerBits;
+            if (slot < DIST_MODEL_END) {
+                distance |= rc.decodeReverseBitTree(distSpecial, distance - slot, footerBits);
+            } else {
+                distance |= rc.decodeDirectBits(footerBits - ALIGN_BITS) << ALIGN_BITS;
+                distance |= rc.decodeReverseBitTree(distAlign, 0, ALIGN_BITS);
+            }
+            reps[0] = distance;
+        }
+        return length;
+    }
+
+    /**
+     * @return 0 for a short rep, which is already put
+     */
+    private int decodeRep(@NotNull LzmaRangeDecoder rc, int posState) throws IOException {
+        if (rc.decodeBit(isRepG0, state) == 0) {
+            if (rc.decodeBit(isRep0Long, (state << 4) | posState) == 0) {
+                updateShortRep();
+                dictionary.repeat(reps[0], 1);
+                return 0;
+            }
+        } else {
+            int distance;
+            if (rc.decodeBit(isRepG1, state) == 0) {
+                distance = reps[1];
+            } else {
+                if (rc.decodeBit(isRepG2, state) == 0) {
+                    distance = reps[2];
+                } else {
+                    distance = reps[3];
+                    reps[3] = reps[2];
+                }
+                reps[2] = reps[1];
+            }
+            reps[1] = reps[0];
+            reps[0] = distance;
+        }
+        updateLongRep();
+        return decodeLength(rc, repLength, posState);
+    }
+}
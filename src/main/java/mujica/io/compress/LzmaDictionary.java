@@ -0,0 +1,137 @@
+package mujica.io.compress;
+
+import mujica.reflect.modifier.CodeHistory;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Cyclic output window of the decoder; its size is a multiple of 16, so that the position in it gives the position states
+ */
+@CodeHistory(date = "2026/10/17")
+final class LzmaDictionary {
+
+    @NotNull
+    private final byte[] buffer;
+
+    private int start, position, full, limit;
+
+    private int pendingLength, pendingDistance;
+
+    LzmaDictionary(int size) {
+        super();
+        buffer = new byte[(Math.max(size, 1 << 12) + 15) & ~15];
+    }
+
+    int size() {
+        return buffer.length;
+    }
+
+    void reset() {
+        start = 0;
+        position = 0;
+        full = 0;
+        limit = 0;
+        pendingLength = 0;
+        buffer[buffer.length - 1] = 0;
+    }
+
+    /**
+     * Called after flush()
+     */
+    void setLimit(int outputMax) {
+        limit = buffer.length - position <= outputMax ? buffer.length : position + outputMax;
+    }
+
+    boolean hasSpace() {
+        return position < limit;
+    }
+
+    boolean hasPending() {
+        return pendingLength > 0;
+    }
+
+    int position() {
+        return position;
+    }
+
+    /**
+     * @param distance 0 for the last byte
+     */
+    int getByte(int distance) {
+        int offset = position - distance - 1;
+        if (distance >= position) {
+            offset += buffer.length;
+        }
+        return 0xff & buffer[offset];
+    }
+
+    void putByte(int value) {
+        buffer[position++] = (byte) value;
+        if (full < position) {
+            full = position;
+        }
+    }
+
+    void repeat(int distance, int length) throws CompressAlgorithmException {
+        if (distance < 0 || distance >= full) {
+            throw new CompressAlgorithmException("distance = " + distance);
+        }
+        int left = Math.min(limit - position, length);
+        pendingLength = length - left;
+        pendingDistance = distance;
+        int back = position - distance - 1;
+        if (back < 0) {
+            back += buffer.length;
+        }
+        while (left > 0) {
+            int count = Math.min(left, buffer.length - back);
+            if (back < position) {
+                count = Math.min(count, position - back); // the copied run doubles every round
+            }
+            System.arraycopy(buffer, back, buffer, position, count);
+            position += count;
+            back += count;
+            if (back == buffer.length) {
+                back = 0;
+            }
+            left -= count;
+        }
+        if (full < position) {
+            full = position;
+        }
+    }
+
+    void repeatPending() throws CompressAlgorithmException {
+        if (pendingLength > 0) {
+            repeat(pendingDistance, pendingLength);
+        }
+    }
+
+    /**
+     * @return bytes copied
+     */
+    int copyUncompressed(@NotNull InputStream in, int length) throws IOException {
+        final int count = Math.min(limit - position, length);
+        if (in.readNBytes(buffer, position, count) != count) {
+            throw new EOFException();
+        }
+        position += count;
+        if (full < position) {
+            full = position;
+        }
+        return count;
+    }
+
+    int flush(@NotNull byte[] array, int offset) {
+        final int count = position - start;
+        if (position == buffer.length) {
+            position = 0;
+        }
+        System.arraycopy(buffer, start, array, offset, count);
+        start = position;
+        return count;
+    }
+}
@@ -1,6 +1,7 @@
 package mujica.io.compress;
 
 import mujica.reflect.modifier.CodeHistory;
+import mujica.reflect.modifier.DataType;
 import mujica.reflect.modifier.Name;
 import mujica.reflect.modifier.ReferencePage;
 import org.jetbrains.annotations.NotNull;
@@ -9,38 +10,138 @@ import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 
+/**
+ * Reading from this stream pulls the uncompressed input and gives the .lzma format (LZMA_Alone),
+ * with unknown uncompressed size and the end marker
+ */
 @CodeHistory(date = "2025/11/19")
+@CodeHistory(date = "2026/10/17")
 @ReferencePage(title = "LZMA specification (DRAFT version)", href = "https://www.7-zip.org/a/lzma-specification.7z")
 @Name(value = "Lempel - Ziv - Markov chain - Arithmetic (LZMA) encode input stream", language = "en")
 public class LzmaEncodeInputStream extends FilterInputStream {
 
-    @Name(value = "literal context bits")
-    private final int lc;
+    public static final int DEFAULT_DICTIONARY_SIZE = 1 << 23;
 
-    @Name(value = "literal position state bits")
-    private final int lp;
+    public static final int DEFAULT_NICE_LENGTH = 64;
 
-    @Name(value = "position state bits")
-    private final int pb;
+    @NotNull
+    private final LzmaEncoder encoder;
 
-    LzmaEncodeInputStream(@NotNull InputStream in, int lc, int lp, int pb, int dictionarySize) {
+    @NotNull
+    private final byte[] header = new byte[13];
+
+    private int headerPosition;
+
+    private boolean finished;
+
+    private final byte[] single = new byte[1];
+
+    public LzmaEncodeInputStream(@NotNull InputStream in) {
+        this(in, 3, 0, 2, DEFAULT_DICTIONARY_SIZE);
+    }
+
+    public LzmaEncodeInputStream(@NotNull InputStream in, int lc, int lp, int pb, int dictionarySize) {
+        this(in, lc, lp, pb, dictionarySize, DEFAULT_NICE_LENGTH, true);
+    }
+
+    /**
+     * @param bt4 binary tree match finder, or hash chain match finder which is faster but finds shorter matches
+     */
+    public LzmaEncodeInputStream(@NotNull InputStream in, int lc, int lp, int pb, int dictionarySize, int niceLength, boolean bt4) {
         super(in);
-        if (lc < 0 || lc > 8) {
-            throw new IllegalArgumentException();
+        encoder = new LzmaEncoder(new LzmaRangeEncoder(), lc, lp, pb, dictionarySize, 1, niceLength, bt4, 0);
+        header[0] = (byte) LzmaCoder.propertiesByte(lc, lp, pb);
+        XzFormat.writeIntLE(header, 1, dictionarySize);
+        for (int index = 5; index < 13; index++) {
+            header[index] = -1; // unknown size
         }
-        this.lc = lc;
-        if (lp < 0 || lp > 4) {
-            throw new IllegalArgumentException();
-        }
-        this.lp = lp;
-        if (pb < 0 || pb > 4) {
-            throw new IllegalArgumentException();
+    }
+
+    /**
+     * @return false at the end
+     */
+    private boolean produce() throws IOException {
+        final LzmaEncoder encoder = this.encoder;
+        while (encoder.rc.available() == 0) {
+            if (finished) {
+                return false;
+            }
+            LzmaMatchFinder matchFinder = encoder.matchFinder;
+            if (matchFinder.fill(in) == -1) {
+                matchFinder.setFinishing();
+                encoder.encodeForLzma1();
+                encoder.encodeEndMarker();
+                encoder.rc.finish();
+                finished = true;
+            } else {
+                encoder.encodeForLzma1();
+            }
         }
-        this.pb = pb;
+        return true;
     }
 
     @Override
+    @DataType("u8+{-1}")
     public int read() throws IOException {
-        return super.read();
+        return read(single, 0, 1) == -1 ? -1 : 0xff & single[0];
+    }
+
+    @Override
+    public int read(@NotNull byte[] array, int offset, int length) throws IOException {
+        if (offset < 0 || length < 0 || Math.addExact(offset, length) > array.length) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (length == 0) {
+            return 0;
+        }
+        if (headerPosition < header.length) {
+            int count = Math.min(length, header.length - headerPosition);
+            System.arraycopy(header, headerPosition, array, offset, count);
+            headerPosition += count;
+            return count;
+        }
+        if (!produce()) {
+            return -1;
+        }
+        return encoder.rc.drain(array, offset, length);
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        final byte[] buffer = new byte[(int) Math.min(n, 1 << 12)];
+        long m = 0L;
+        while (m < n) {
+            int count = read(buffer, 0, (int) Math.min(n - m, buffer.length));
+            if (count == -1) {
+                break;
+            }
+            m += count;
+        }
+        return m;
+    }
+
+    @Override
+    public int available() {
+        return header.length - headerPosition + encoder.rc.available();
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public void mark(int readLimit) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void reset() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public String toString() {
+        return "LzmaEncodeInputStream[lc = " + encoder.lc + ", lp = " + encoder.lp + ", pb = " + encoder.pb + "]";
     }
 }
@@ -0,0 +1,320 @@
+package mujica.io.compress;
+
+import mujica.reflect.modifier.CodeHistory;
+import mujica.reflect.modifier.ReferencePage;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Greedy parsing with one byte of lazy evaluation, as the fast mode of xz; no price calculation
+ */
+@CodeHistory(date = "2026/10/17")
+@ReferencePage(title = "XZ for Java", href = "https://tukaani.org/xz/java.html")
+final class LzmaEncoder extends LzmaCoder {
+
+    static final int LZMA2_COMPRESSED_LIMIT = (1 << 16) - 26;
+
+    static final int LZMA2_UNCOMPRESSED_LIMIT = (1 << 21) - MATCH_LEN_MAX;
+
+    @NotNull
+    final LzmaMatchFinder matchFinder;
+
+    @NotNull
+    final LzmaRangeEncoder rc;
+
+    private int readAhead = -1;
+
+    /**
+     * -1 for literal, 0 to 3 for reps, or distance + 4
+     */
+    private int back;
+
+    int uncompressedSize;
+
+    LzmaEncoder(@NotNull LzmaRangeEncoder rc, int lc, int lp, int pb, int dictionarySize, int extraBefore, int niceLength, boolean bt4, int depthLimit) {
+        super(lc, lp, pb);
+        this.rc = rc;
+        matchFinder = new LzmaMatchFinder(dictionarySize, extraBefore, MATCH_LEN_MAX - 1, niceLength, bt4, depthLimit);
+        reset();
+    }
+
+    static int distSlot(int distance) {
+        if (Integer.compareUnsigned(distance, DIST_MODEL_START) < 0) {
+            return distance;
+        }
+        final int bits = 31 - Integer.numberOfLeadingZeros(distance);
+        return (bits << 1) | ((distance >>> (bits - 1)) & 1);
+    }
+
+    /**
+     * Buffer index of the first byte encoded since resetUncompressedSize()
+     */
+    int uncompressedStart() {
+        return matchFinder.readPosition - readAhead - uncompressedSize;
+    }
+
+    /**
+     * Encodes as much as the available input allows
+     */
+    void encodeForLzma1() {
+        if (!matchFinder.isStarted() && !encodeFirst()) {
+            return;
+        }
+        while (encodeSymbol()) {
+            // loop
+        }
+    }
+
+    /**
+     * @return true if a chunk is full
+     */
+    boolean encodeForLzma2() {
+        if (!matchFinder.isStarted() && !encodeFirst()) {
+            return false;
+        }
+        while (uncompressedSize <= LZMA2_UNCOMPRESSED_LIMIT && rc.pendingSize() <= LZMA2_COMPRESSED_LIMIT) {
+            if (!encodeSymbol()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    void encodeEndMarker() {
+        final int posState = (matchFinder.readPosition - readAhead) & posMask;
+        rc.encodeBit(isMatch, (state << 4) | posState, 1);
+        rc.encodeBit(isRep, state, 0);
+        encodeMatch(-1, MATCH_LEN_MIN, posState);
+    }
+
+    /**
+     * There is no previous byte for the first literal
+     */
+    private boolean encodeFirst() {
+        if (!matchFinder.hasEnoughData(0)) {
+            return false;
+        }
+        readAhead++;
+        matchFinder.skip(1);
+        rc.encodeBit(isMatch, 0, 0);
+        encodeLiteral(0);
+        readAhead--;
+        uncompressedSize++;
+        return true;
+    }
+
+    private boolean encodeSymbol() {
+        if (!matchFinder.hasEnoughData(readAhead + 1)) {
+            return false;
+        }
+        final int length = nextSymbol();
+        final int position = matchFinder.readPosition - readAhead;
+        final int posState = position & posMask;
+        if (back == -1) {
+            rc.encodeBit(isMatch, (state << 4) | posState, 0);
+            encodeLiteral(matchFinder.getByte(readAhead + 1));
+        } else {
+            rc.encodeBit(isMatch, (state << 4) | posState, 1);
+            if (back < REPS) {
+                rc.encodeBit(isRep, state, 1);
+                encodeRep(back, length, posState);
+            } else {
+                rc.encodeBit(isRep, state, 0);
+                encodeMatch(back - REPS, length, posState);
+            }
+        }
+        readAhead -= length;
+        uncompressedSize += length;
+        return true;
+    }
+
+    private void getMatches() {
+        readAhead++;
+        matchFinder.getMatches();
+    }
+
+    private void skip(int length) {
+        readAhead += length;
+        matchFinder.skip(length);
+    }
+
+    private static boolean changePair(int smallDistance, int bigDistance) {
+        return smallDistance < (bigDistance >>> 7);
+    }
+
+    private int nextSymbol() {
+        final LzmaMatchFinder matchFinder = this.matchFinder;
+        if (readAhead == -1) {
+            getMatches();
+        }
+        back = -1;
+        final int available = Math.min(matchFinder.available(), MATCH_LEN_MAX);
+        if (available < MATCH_LEN_MIN) {
+            return 1;
+        }
+        final int niceLength = matchFinder.niceLength;
+        int bestRepLength = 0;
+        int bestRepIndex = 0;
+        for (int rep = 0; rep < REPS; rep++) {
+            int length = matchFinder.matchLength(reps[rep], available);
+            if (length < MATCH_LEN_MIN) {
+                continue;
+            }
+            if (length >= niceLength) {
+                back = rep;
+                skip(length - 1);
+                return length;
+            }
+            if (length > bestRepLength) {
+                bestRepIndex = rep;
+                bestRepLength = length;
+            }
+        }
+        int mainLength = 0;
+        int mainDistance = 0;
+        int count = matchFinder.matchCount;
+        if (count > 0) {
+            final int[] lengths = matchFinder.lengths;
+            final int[] distances = matchFinder.distances;
+            mainLength = lengths[count - 1];
+            mainDistance = distances[count - 1];
+            if (mainLength >= niceLength) {
+                back = mainDistance + REPS;
+                skip(mainLength - 1);
+                return mainLength;
+            }
+            while (count > 1 && mainLength == lengths[count - 2] + 1 && changePair(distances[count - 2], mainDistance)) {
+                count--;
+                mainLength = lengths[count - 1];
+                mainDistance = distances[count - 1];
+            }
+            if (mainLength == MATCH_LEN_MIN && mainDistance >= 0x80) {
+                mainLength = 1;
+            }
+        }
+        if (bestRepLength >= MATCH_LEN_MIN) {
+            if (bestRepLength + 1 >= mainLength
+                    || (bestRepLength + 2 >= mainLength && mainDistance >= 1 << 9)
+                    || (bestRepLength + 3 >= mainLength && mainDistance >= 1 << 15)) {
+                back = bestRepIndex;
+                skip(bestRepLength - 1);
+                return bestRepLength;
+            }
+        }
+        if (mainLength < MATCH_LEN_MIN || available <= MATCH_LEN_MIN) {
+            return 1;
+        }
+        getMatches(); // lazy evaluation at the next position
+        count = matchFinder.matchCount;
+        if (count > 0) {
+            int newLength = matchFinder.lengths[count - 1];
+            int newDistance = matchFinder.distances[count - 1];
+            if ((newLength >= mainLength && newDistance < mainDistance)
+                    || (newLength == mainLength + 1 && !changePair(mainDistance, newDistance))
+                    || newLength > mainLength + 1
+                    || (newLength + 1 >= mainLength && mainLength >= MATCH_LEN_MIN + 1 && changePair(newDistance, mainDistance))) {
+                return 1;
+            }
+        }
+        final int limit = Math.max(mainLength - 1, MATCH_LEN_MIN);
+        for (int rep = 0; rep < REPS; rep++) {
+            if (matchFinder.matchLength(reps[rep], limit) == limit) {
+                return 1;
+            }
+        }
+        back = mainDistance + REPS;
+        skip(mainLength - 2);
+        return mainLength;
+    }
+
+    private void encodeLiteral(int previousByte) {
+        final LzmaMatchFinder matchFinder = this.matchFinder;
+        final int base = literalOffset(matchFinder.readPosition - readAhead, previousByte);
+        final short[] probabilities = literal;
+        int symbol = matchFinder.getByte(readAhead) | 0x100;
+        if (state < LITERAL_STATES) {
+            do {
+                rc.encodeBit(probabilities, base + (symbol >>> 8), (symbol >>> 7) & 1);
+                symbol <<= 1;
+            } while (symbol < 0x10000);
+        } else {
+            int matchByte = matchFinder.getByte(reps[0] + 1 + readAhead);
+            int offset = 0x100;
+            do {
+                matchByte <<= 1;
+                int matchBit = matchByte & offset;
+                rc.encodeBit(probabilities, base + offset + matchBit + (symbol >>> 8), (symbol >>> 7) & 1);
+                symbol <<= 1;
+                offset &= ~(matchByte ^ symbol);
+            } while (symbol < 0x10000);
+        }
+        updateLiteral();
+    }
+
+    private void encodeLength(@NotNull LengthModel model, int length, int posState) {
+        length -= MATCH_LEN_MIN;
+        if (length < LOW_SYMBOLS) {
+            rc.encodeBit(model.choice, 0, 0);
+            rc.encodeBitTree(model.low, posState << LOW_BITS, LOW_BITS, length);
+            return;
+        }
+        rc.encodeBit(model.choice, 0, 1);
+        length -= LOW_SYMBOLS;
+        if (length < MID_SYMBOLS) {
+            rc.encodeBit(model.choice, 1, 0);
+            rc.encodeBitTree(model.mid, posState << MID_BITS, MID_BITS, length);
+        } else {
+            rc.encodeBit(model.choice, 1, 1);
+            rc.encodeBitTree(model.high, 0, HIGH_BITS, length - MID_SYMBOLS);
+        }
+    }
+
+    private void encodeMatch(int distance, int length, int posState) {
+        updateMatch();
+        encodeLength(matchLength, length, posState);
+        final int slot = distSlot(distance);
+        rc.encodeBitTree(distSlots, distState(length) << DIST_SLOT_BITS, DIST_SLOT_BITS, slot);
+        if (slot >= DIST_MODEL_START) {
+            int footerBits = (slot >>> 1) - 1;
+            int base = (2 | (slot & 1)) << footerBits;
+            int reduced = distance - base;
+            if (slot < DIST_MODEL_END) {
+                rc.encodeReverseBitTree(distSpecial, base - slot, footerBits, reduced);
+            } else {
+                rc.encodeDirectBits(reduced >>> ALIGN_BITS, footerBits - ALIGN_BITS);
+                rc.encodeReverseBitTree(distAlign, 0, ALIGN_BITS, reduced & ALIGN_MASK);
+            }
+        }
+        reps[3] = reps[2];
+        reps[2] = reps[1];
+        reps[1] = reps[0];
+        reps[0] = distance;
+    }
+
+    private void encodeRep(int rep, int length, int posState) {
+        if (rep == 0) {
+            rc.encodeBit(isRepG0, state, 0);
+            rc.encodeBit(isRep0Long, (state << 4) | posState, length == 1 ? 0 : 1);
+        } else {
+            int distance = reps[rep];
+            rc.encodeBit(isRepG0, state, 1);
+            if (rep == 1) {
+                rc.encodeBit(isRepG1, state, 0);
+            } else {
+                rc.encodeBit(isRepG1, state, 1);
+                rc.encodeBit(isRepG2, state, rep - 2);
+                if (rep == 3) {
+                    reps[3] = reps[2];
+                }
+                reps[2] = reps[1];
+            }
+            reps[1] = reps[0];
+            reps[0] = distance;
+        }
+        if (length == 1) {
+            updateShortRep();
+        } else {
+            encodeLength(repLength, length, posState);
+            updateLongRep();
+        }
+    }
+}
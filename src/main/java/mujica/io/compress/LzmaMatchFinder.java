@@ -0,0 +1,463 @@
+package mujica.io.compress;
+
+import mujica.reflect.modifier.CodeHistory;
+import mujica.reflect.modifier.Name;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Sliding input window of the encoder, with hash chains (HC4) or binary trees (BT4) over 2, 3 and 4 byte hashes.
+ * Positions in the window are congruent to the uncompressed positions modulo 16, so they give the position states.
+ */
+@CodeHistory(date = "2026/10/17")
+final class LzmaMatchFinder {
+
+    private static final int HASH_2_SIZE = 1 << 10;
+
+    private static final int HASH_3_SIZE = 1 << 16;
+
+    private static final int[] CRC_TABLE = new int[256];
+
+    static {
+        for (int index = 0; index < 256; index++) {
+            int value = index;
+            for (int bit = 0; bit < 8; bit++) {
+                value = (value >>> 1) ^ (0xedb88320 & -(value & 1));
+            }
+            CRC_TABLE[index] = value;
+        }
+    }
+
+    @NotNull
+    final byte[] buffer;
+
+    private final int keepBefore, keepAfter;
+
+    private final int matchLengthMax;
+
+    final int niceLength;
+
+    @Name(value = "binary tree", language = "en")
+    private final boolean bt4;
+
+    private final int depthLimit;
+
+    private final int cyclicSize;
+
+    private int cyclicPosition = -1;
+
+    private int lzPosition;
+
+    /**
+     * chain for HC4, or pairs of children for BT4
+     */
+    @NotNull
+    private final int[] links;
+
+    @NotNull
+    private final int[] hash2Table = new int[HASH_2_SIZE];
+
+    @NotNull
+    private final int[] hash3Table = new int[HASH_3_SIZE];
+
+    @NotNull
+    private final int[] hash4Table;
+
+    private final int hash4Mask;
+
+    private int hash2Value, hash3Value, hash4Value;
+
+    int readPosition = -1;
+
+    private int readLimit = -1;
+
+    private int writePosition;
+
+    private int pendingSize;
+
+    private boolean finishing;
+
+    final int[] lengths;
+
+    final int[] distances;
+
+    int matchCount;
+
+    LzmaMatchFinder(int dictionarySize, int extraBefore, int extraAfter, int niceLength, boolean bt4, int depthLimit) {
+        super();
+        if (dictionarySize < 1 << 12 || dictionarySize > 1 << 30) {
+            throw new IllegalArgumentException("dictionary size = " + dictionarySize);
+        }
+        if (niceLength < 8 || niceLength > LzmaCoder.MATCH_LEN_MAX) {
+            throw new IllegalArgumentException("nice length = " + niceLength);
+        }
+        keepBefore = extraBefore + dictionarySize;
+        keepAfter = extraAfter + LzmaCoder.MATCH_LEN_MAX;
+        final int reserve = Math.min((dictionarySize >>> 1) + (1 << 18), 1 << 29);
+        buffer = new byte[keepBefore + keepAfter + reserve];
+        matchLengthMax = LzmaCoder.MATCH_LEN_MAX;
+        this.niceLength = niceLength;
+        this.bt4 = bt4;
+        this.depthLimit = depthLimit > 0 ? depthLimit : bt4 ? 16 + niceLength / 2 : 4 + niceLength / 4;
+        cyclicSize = dictionarySize + 1;
+        lzPosition = cyclicSize;
+        links = new int[bt4 ? cyclicSize << 1 : cyclicSize];
+        int size = dictionarySize - 1;
+        size |= size >>> 1;
+        size |= size >>> 2;
+        size |= size >>> 4;
+        size |= size >>> 8;
+        size >>>= 1;
+        size |= 0xffff;
+        if (size > 1 << 24) {
+            size >>>= 1;
+        }
+        hash4Mask = size;
+        hash4Table = new int[size + 1];
+        lengths = new int[matchLengthMax];
+        distances = new int[matchLengthMax];
+    }
+
+    boolean isStarted() {
+        return readPosition != -1;
+    }
+
+    boolean isFinishing() {
+        return finishing;
+    }
+
+    /**
+     * Reads directly into the window
+     *
+     * @return bytes read, or -1 at the end of the input
+     */
+    int fill(@NotNull InputStream in) throws IOException {
+        if (readPosition >= buffer.length - keepAfter) {
+            moveWindow();
+        }
+        final int count = in.read(buffer, writePosition, buffer.length - writePosition);
+        if (count > 0) {
+            writePosition += count;
+            if (writePosition >= keepAfter) {
+                readLimit = writePosition - keepAfter;
+            }
+            processPending();
+        }
+        return count;
+    }
+
+    void setFinishing() {
+        readLimit = writePosition - 1;
+        finishing = true;
+        processPending();
+    }
+
+    private void moveWindow() {
+        final int moveOffset = (readPosition + 1 - keepBefore) & ~15;
+        if (moveOffset <= 0) {
+            return;
+        }
+        System.arraycopy(buffer, moveOffset, buffer, 0, writePosition - moveOffset);
+        readPosition -= moveOffset;
+        readLimit -= moveOffset;
+        writePosition -= moveOffset;
+    }
+
+    private void processPending() {
+        if (pendingSize > 0 && readPosition < readLimit) {
+            readPosition -= pendingSize;
+            int size = pendingSize;
+            pendingSize = 0;
+            skip(size);
+        }
+    }
+
+    boolean hasEnoughData(int alreadyRead) {
+        return readPosition - alreadyRead < readLimit;
+    }
+
+    int available() {
+        return writePosition - readPosition;
+    }
+
+    /**
+     * @param backward 0 for the byte at the read position
+     */
+    int getByte(int backward) {
+        return 0xff & buffer[readPosition - backward];
+    }
+
+    /**
+     * @param distance 0 for the previous byte
+     */
+    int matchLength(int distance, int limit) {
+        return matchLength(0, distance, limit);
+    }
+
+    int matchLength(int forward, int distance, int limit) {
+        final byte[] buffer = this.buffer;
+        final int current = readPosition + forward;
+        final int back = current - distance - 1;
+        if (back < 0) {
+            return 0;
+        }
+        int length = 0;
+        while (length < limit && buffer[current + length] == buffer[back + length]) {
+            length++;
+        }
+        return length;
+    }
+
+    private int movePosition() {
+        final int available = writePosition - ++readPosition;
+        final int required = bt4 ? niceLength : 4;
+        if (available < required && (available < 4 || !finishing)) {
+            pendingSize++;
+            return 0;
+        }
+        if (++lzPosition == Integer.MAX_VALUE) {
+            int normalization = Integer.MAX_VALUE - cyclicSize;
+            normalize(hash2Table, normalization);
+            normalize(hash3Table, normalization);
+            normalize(hash4Table, normalization);
+            normalize(links, normalization);
+            lzPosition -= normalization;
+        }
+        if (++cyclicPosition == cyclicSize) {
+            cyclicPosition = 0;
+        }
+        return available;
+    }
+
+    private static void normalize(@NotNull int[] array, int normalization) {
+        for (int index = 0; index < array.length; index++) {
+            array[index] = Math.max(array[index] - normalization, 0);
+        }
+    }
+
+    private void calculateHashes() {
+        final byte[] buffer = this.buffer;
+        final int offset = readPosition;
+        int value = CRC_TABLE[0xff & buffer[offset]] ^ (0xff & buffer[offset + 1]);
+        hash2Value = value & (HASH_2_SIZE - 1);
+        value ^= (0xff & buffer[offset + 2]) << 8;
+        hash3Value = value & (HASH_3_SIZE - 1);
+        value ^= CRC_TABLE[0xff & buffer[offset + 3]] << 5;
+        hash4Value = value & hash4Mask;
+    }
+
+    private void updateTables() {
+        hash2Table[hash2Value] = lzPosition;
+        hash3Table[hash3Value] = lzPosition;
+        hash4Table[hash4Value] = lzPosition;
+    }
+
+    /**
+     * Advances one byte and collects matches of increasing length into lengths and distances, 0 for the previous byte
+     */
+    void getMatches() {
+        matchCount = 0;
+        int lengthLimit = matchLengthMax;
+        int niceLimit = niceLength;
+        final int available = movePosition();
+        if (available < lengthLimit) {
+            if (available == 0) {
+                return;
+            }
+            lengthLimit = available;
+            if (niceLimit > available) {
+                niceLimit = available;
+            }
+        }
+        calculateHashes();
+        final byte[] buffer = this.buffer;
+        final int readPosition = this.readPosition;
+        int delta2 = lzPosition - hash2Table[hash2Value];
+        final int delta3 = lzPosition - hash3Table[hash3Value];
+        int current = hash4Table[hash4Value];
+        updateTables();
+        int best = 0;
+        if (delta2 < cyclicSize && buffer[readPosition - delta2] == buffer[readPosition]) {
+            best = 2;
+            lengths[0] = 2;
+            distances[0] = delta2 - 1;
+            matchCount = 1;
+        }
+        if (delta2 != delta3 && delta3 < cyclicSize && buffer[readPosition - delta3] == buffer[readPosition]) {
+            best = 3;
+            distances[matchCount++] = delta3 - 1;
+            delta2 = delta3;
+        }
+        if (matchCount > 0) {
+            while (best < lengthLimit && buffer[readPosition + best - delta2] == buffer[readPosition + best]) {
+                best++;
+            }
+            lengths[matchCount - 1] = best;
+            if (best >= niceLimit) {
+                if (bt4) {
+                    skipTree(niceLimit, current);
+                } else {
+                    links[cyclicPosition] = current;
+                }
+                return;
+            }
+        }
+        if (best < 3) {
+            best = 3;
+        }
+        if (bt4) {
+            searchTree(lengthLimit, niceLimit, current, best);
+        } else {
+            searchChain(lengthLimit, niceLimit, current, best);
+        }
+    }
+
+    private void searchChain(int lengthLimit, int niceLimit, int current, int best) {
+        final byte[] buffer = this.buffer;
+        final int readPosition = this.readPosition;
+        links[cyclicPosition] = current;
+        int depth = depthLimit;
+        while (true) {
+            int delta = lzPosition - current;
+            if (depth-- == 0 || delta >= cyclicSize) {
+                return;
+            }
+            current = links[cyclicPosition - delta + (delta > cyclicPosition ? cyclicSize : 0)];
+            if (buffer[readPosition + best - delta] == buffer[readPosition + best]
+                    && buffer[readPosition - delta] == buffer[readPosition]) {
+                int length = 0;
+                while (++length < lengthLimit) {
+                    if (buffer[readPosition + length - delta] != buffer[readPosition + length]) {
+                        break;
+                    }
+                }
+                if (length > best) {
+                    best = length;
+                    lengths[matchCount] = length;
+                    distances[matchCount] = delta - 1;
+                    matchCount++;
+                    if (length >= niceLimit) {
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    private void searchTree(int lengthLimit, int niceLimit, int current, int best) {
+        final byte[] buffer = this.buffer;
+        final int[] tree = links;
+        final int readPosition = this.readPosition;
+        int depth = depthLimit;
+        int pointer0 = (cyclicPosition << 1) + 1;
+        int pointer1 = cyclicPosition << 1;
+        int length0 = 0;
+        int length1 = 0;
+        while (true) {
+            int delta = lzPosition - current;
+            if (depth-- == 0 || delta >= cyclicSize) {
+                tree[pointer0] = 0;
+                tree[pointer1] = 0;
+                return;
+            }
+            int pair = (cyclicPosition - delta + (delta > cyclicPosition ? cyclicSize : 0)) << 1;
+            int length = Math.min(length0, length1);
+            if (buffer[readPosition + length - delta] == buffer[readPosition + length]) {
+                while (++length < lengthLimit) {
+                    if (buffer[readPosition + length - delta] != buffer[readPosition + length]) {
+                        break;
+                    }
+                }
+                if (length > best) {
+                    best = length;
+                    lengths[matchCount] = length;
+                    distances[matchCount] = delta - 1;
+                    matchCount++;
+                    if (length >= niceLimit) {
+                        tree[pointer1] = tree[pair];
+                        tree[pointer0] = tree[pair + 1];
+                        return;
+                    }
+                }
+            }
+            if ((0xff & buffer[readPosition + length - delta]) < (0xff & buffer[readPosition + length])) {
+                tree[pointer1] = current;
+                pointer1 = pair + 1;
+                current = tree[pointer1];
+                length1 = length;
+            } else {
+                tree[pointer0] = current;
+                pointer0 = pair;
+                current = tree[pointer0];
+                length0 = length;
+            }
+        }
+    }
+
+    private void skipTree(int niceLimit, int current) {
+        final byte[] buffer = this.buffer;
+        final int[] tree = links;
+        final int readPosition = this.readPosition;
+        int depth = depthLimit;
+        int pointer0 = (cyclicPosition << 1) + 1;
+        int pointer1 = cyclicPosition << 1;
+        int length0 = 0;
+        int length1 = 0;
+        while (true) {
+            int delta = lzPosition - current;
+            if (depth-- == 0 || delta >= cyclicSize) {
+                tree[pointer0] = 0;
+                tree[pointer1] = 0;
+                return;
+            }
+            int pair = (cyclicPosition - delta + (delta > cyclicPosition ? cyclicSize : 0)) << 1;
+            int length = Math.min(length0, length1);
+            if (buffer[readPosition + length - delta] == buffer[readPosition + length]) {
+                do {
+                    if (++length == niceLimit) {
+                        tree[pointer1] = tree[pair];
+                        tree[pointer0] = tree[pair + 1];
+                        return;
+                    }
+                } while (buffer[readPosition + length - delta] == buffer[readPosition + length]);
+            }
+            if ((0xff & buffer[readPosition + length - delta]) < (0xff & buffer[readPosition + length])) {
+                tree[pointer1] = current;
+                pointer1 = pair + 1;
+                current = tree[pointer1];
+                length1 = length;
+            } else {
+                tree[pointer0] = current;
+                pointer0 = pair;
+                current = tree[pointer0];
+                length0 = length;
+            }
+        }
+    }
+
+    /**
+     * Advances the bytes, inserting them without collecting matches
+     */
+    void skip(int length) {
+        while (length-- > 0) {
+            int niceLimit = niceLength;
+            int available = movePosition();
+            if (available == 0) {
+                continue;
+            }
+            if (available < niceLimit) {
+                niceLimit = available;
+            }
+            calculateHashes();
+            int current = hash4Table[hash4Value];
+            updateTables();
+            if (bt4) {
+                skipTree(niceLimit, current);
+            } else {
+                links[cyclicPosition] = current;
+            }
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package mujica.io.compress;
+
+import mujica.reflect.modifier.CodeHistory;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads either byte by byte from a stream, consuming no byte after the LZMA data, or from a buffer holding one LZMA2 chunk
+ */
+@CodeHistory(date = "2026/10/17")
+final class LzmaRangeDecoder {
+
+    private static final int TOP = 1 << 24;
+
+    @Nullable
+    private InputStream in;
+
+    private byte[] buffer = new byte[0];
+
+    private int position, limit;
+
+    private int range, code;
+
+    LzmaRangeDecoder() {
+        super();
+    }
+
+    void startStream(@NotNull InputStream in) throws IOException {
+        this.in = in;
+        start();
+    }
+
+    /**
+     * Reads the compressed bytes of a chunk into the buffer
+     */
+    void startChunk(@NotNull InputStream in, int length) throws IOException {
+        if (buffer.length < length) {
+            buffer = new byte[Math.max(length, 1 << 16)];
+        }
+        if (in.readNBytes(buffer, 0, length) != length) {
+            throw new EOFException();
+        }
+        this.in = null;
+        position = 0;
+        limit = length;
+        if (length < 5) {
+            throw new CompressAlgorithmException("chunk too short");
+        }
+        start();
+    }
+
+    private void start() throws IOException {
+        if (nextByte() != 0) {
+            throw new CompressAlgorithmException("first byte of range coder");
+        }
+        code = 0;
+        for (int index = 0; index < 4; index++) {
+            code = (code << 8) | nextByte();
+        }
+        range = -1;
+    }
+
+    private int nextByte() throws IOException {
+        final InputStream in = this.in;
+        if (in != null) {
+            int value = in.read();
+            if (value == -1) {
+                throw new EOFException();
+            }
+            return value;
+        }
+        if (position == limit) {
+            throw new CompressAlgorithmException("chunk overrun");
+        }
+        return 0xff & buffer[position++];
+    }
+
+    /**
+     * @return true if the chunk is consumed exactly
+     */
+    boolean isChunkFinished() {
+        return position == limit && code == 0;
+    }
+
+    boolean isStreamFinished() {
+        return code == 0;
+    }
+
+    void normalize() throws IOException {
+        if (Integer.compareUnsigned(range, TOP) < 0) {
+            range <<= 8;
+            code = (code << 8) | nextByte();
+        }
+    }
+
+    int decodeBit(@NotNull short[] probabilities, int index) throws IOException {
+        normalize();
+        final int probability = probabilities[index];
+        final int bound = (range >>> 11) * probability;
+        if ((code ^ Integer.MIN_VALUE) < (bound ^ Integer.MIN_VALUE)) {
+            range = bound;
+            probabilities[index] = (short) (probability + (((1 << 11) - probability) >>> 5));
+            return 0;
+        } else {
+            range -= bound;
+            code -= bound;
+            probabilities[index] = (short) (probability - (probability >>> 5));
+            return 1;
+        }
+    }
+
+    int decodeBitTree(@NotNull short[] probabilities, int offset, int bitCount) throws IOException {
+        int symbol = 1;
+        for (int index = 0; index < bitCount; index++) {
+            symbol = (symbol << 1) | decodeBit(probabilities, offset + symbol);
+        }
+        return symbol - (1 << bitCount);
+    }
+
+    int decodeReverseBitTree(@NotNull short[] probabilities, int offset, int bitCount) throws IOException {
+        int m = 1;
+        int symbol = 0;
+        for (int index = 0; index < bitCount; index++) {
+            int bit = decodeBit(probabilities, offset + m);
+            m = (m << 1) | bit;
+            symbol |= bit << index;
+        }
+        return symbol;
+    }
+
+    int decodeDirectBits(int bitCount) throws IOException {
+        int result = 0;
+        do {
+            normalize();
+            range >>>= 1;
+            int t = (code - range) >>> 31;
+            code -= range & (t - 1);
+            result = (result << 1) | (1 - t);
+        } while (--bitCount != 0);
+        return result;
+    }
+}
@@ -0,0 +1,155 @@
+package mujica.io.compress;
+
+import mujica.reflect.modifier.CodeHistory;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * Writes into a growable buffer, which is drained by the stream between calls
+ */
+@CodeHistory(date = "2026/10/17")
+final class LzmaRangeEncoder {
+
+    private static final int TOP_MASK = 0xff000000;
+
+    private long low;
+
+    private int range;
+
+    private int cache;
+
+    private long cacheSize;
+
+    @NotNull
+    private byte[] buffer = new byte[1 << 12];
+
+    private int start, count;
+
+    LzmaRangeEncoder() {
+        super();
+        reset();
+    }
+
+    void reset() {
+        low = 0L;
+        range = -1;
+        cache = 0;
+        cacheSize = 1L;
+        start = 0;
+        count = 0;
+    }
+
+    /**
+     * @return an upper bound of the output size if finished now
+     */
+    int pendingSize() {
+        return count + (int) cacheSize + 4;
+    }
+
+    /**
+     * @return total output size
+     */
+    int finish() {
+        for (int index = 0; index < 5; index++) {
+            shiftLow();
+        }
+        return count;
+    }
+
+    int available() {
+        return count - start;
+    }
+
+    int drain(@NotNull byte[] array, int offset, int length) {
+        length = Math.min(length, count - start);
+        System.arraycopy(buffer, start, array, offset, length);
+        start += length;
+        if (start == count) {
+            start = 0;
+            count = 0;
+        }
+        return length;
+    }
+
+    private void write(int value) {
+        if (count == buffer.length) {
+            if (start > 0) {
+                System.arraycopy(buffer, start, buffer, 0, count - start);
+                count -= start;
+                start = 0;
+            } else {
+                buffer = Arrays.copyOf(buffer, buffer.length << 1);
+            }
+        }
+        buffer[count++] = (byte) value;
+    }
+
+    private void shiftLow() {
+        final int high = (int) (low >>> 32);
+        if (high != 0 || low < 0xff000000L) {
+            int value = cache;
+            do {
+                write(value + high);
+                value = 0xff;
+            } while (--cacheSize != 0L);
+            cache = (int) (low >>> 24) & 0xff;
+        }
+        cacheSize++;
+        low = (low & 0x00ffffffL) << 8;
+    }
+
+    void encodeBit(@NotNull short[] probabilities, int index, int bit) {
+        final int probability = probabilities[index];
+        final int bound = (range >>> 11) * probability;
+        if (bit == 0) {
+            range = bound;
+            probabilities[index] = (short) (probability + (((1 << 11) - probability) >>> 5));
+        } else {
+            low += bound & 0xffffffffL;
+            range -= bound;
+            probabilities[index] = (short) (probability - (probability >>> 5));
+        }
+        if ((range & TOP_MASK) == 0) {
+            range <<= 8;
+            shiftLow();
+        }
+    }
+
+    void encodeBitTree(@NotNull short[] probabilities, int offset, int bitCount, int symbol) {
+        int m = 1;
+        while (bitCount-- > 0) {
+            int bit = (symbol >>> bitCount) & 1;
+            encodeBit(probabilities, offset + m, bit);
+            m = (m << 1) | bit;
+        }
+    }
+
+    void encodeReverseBitTree(@NotNull short[] probabilities, int offset, int bitCount, int symbol) {
+        int m = 1;
+        while (bitCount-- > 0) {
+            int bit = symbol & 1;
+            symbol >>>= 1;
+            encodeBit(probabilities, offset + m, bit);
+            m = (m << 1) | bit;
+        }
+    }
+
+    void encodeDirectBits(int value, int bitCount) {
+        do {
+            range >>>= 1;
+            low += range & -((value >>> --bitCount) & 1);
+            if ((range & TOP_MASK) == 0) {
+                range <<= 8;
+                shiftLow();
+            }
+        } while (bitCount != 0);
+    }
+
+    /**
+     * Copies the finished output after the position in the array
+     */
+    void copyTo(@NotNull byte[] array, int offset) {
+        System.arraycopy(buffer, start, array, offset, count - start);
+    }
+}
@@ -73,6 +73,7 @@ public class ObjectMapInflateInputStream extends ResidueInflateInputStream {
         while (true) {
             switch (state) {
                 case STATE_FREE:
+                    blockStart();
                     readBlock();
                     break;
                 case STATE_LAST_BLOCK_FREE:
@@ -133,6 +134,7 @@ public class ObjectMapInflateInputStream extends ResidueInflateInputStream {
         while (true) {
             switch (state) {
                 case STATE_FREE:
+                    blockStart();
                     readBlock();
                     break;
                 case STATE_LAST_BLOCK_FREE:
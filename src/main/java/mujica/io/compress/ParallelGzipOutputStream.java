@@ -0,0 +1,275 @@
+package mujica.io.compress;
+
+import mujica.io.hash.SimpleIntSizedCRC;
+import mujica.reflect.modifier.CodeHistory;
+import mujica.reflect.modifier.ReferencePage;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Compresses fixed size blocks on a ForkJoinPool, as pigz.
+ * In one member mode, each block is primed with the last 32K bytes of the previous block and ends with a sync flush,
+ * so that the blocks join into one deflate stream; the CRC of the member is combined from the CRC of the blocks.
+ * In member per block mode, each block is a gzip member by itself, which any block can be inflated from.
+ */
+@CodeHistory(date = "2026/10/17")
+@ReferencePage(title = "GZIP file format specification version 4.3", href = "https://www.rfc-editor.org/rfc/rfc1952.html")
+public class ParallelGzipOutputStream extends FilterOutputStream {
+
+    public static final int DEFAULT_BLOCK_SIZE = 1 << 17;
+
+    private static final int DICTIONARY_SIZE = 1 << 15;
+
+    private final int level;
+
+    private final int blockSize;
+
+    private final boolean memberPerBlock;
+
+    @NotNull
+    private final ForkJoinPool pool;
+
+    private final int maxInFlight;
+
+    /**
+     * Deflaters not used by a task right now, at most maxInFlight; owned by this stream rather than the pool threads, and dropped on finish
+     */
+    @NotNull
+    private final ConcurrentLinkedQueue<TowboatDeflateOutputStream> idleDeflaters = new ConcurrentLinkedQueue<>();
+
+    @NotNull
+    private final ArrayDeque<ForkJoinTask<Block>> inFlight;
+
+    @NotNull
+    private final SimpleIntSizedCRC crc = SimpleIntSizedCRC.crc32();
+
+    private int crcValue;
+
+    private long uncompressedSize;
+
+    private byte[] block;
+
+    private int blockLength;
+
+    @Nullable
+    private byte[] previous;
+
+    private int previousLength;
+
+    private boolean started, finished;
+
+    public ParallelGzipOutputStream(@NotNull OutputStream out, int level, int blockSize, boolean memberPerBlock, @NotNull ForkJoinPool pool, int maxInFlight) {
+        super(out);
+        if (level < 1 || level > 9 || blockSize <= 0 || maxInFlight <= 0) {
+            throw new IllegalArgumentException();
+        }
+        this.level = level;
+        this.blockSize = blockSize;
+        this.memberPerBlock = memberPerBlock;
+        this.pool = pool;
+        this.maxInFlight = maxInFlight;
+        this.inFlight = new ArrayDeque<>(maxInFlight);
+        this.block = new byte[blockSize];
+    }
+
+    public ParallelGzipOutputStream(@NotNull OutputStream out, int level) {
+        this(out, level, DEFAULT_BLOCK_SIZE, false, ForkJoinPool.commonPool(), ForkJoinPool.commonPool().getParallelism() << 1);
+    }
+
+    private static void writeHeader(@NotNull OutputStream out, int level) throws IOException {
+        out.write(0x1f);
+        out.write(0x8b);
+        out.write(8); // deflate
+        for (int index = 0; index < 5; index++) {
+            out.write(0); // flags and modification time
+        }
+        out.write(level == 9 ? 2 : level == 1 ? 4 : 0);
+        out.write(0xff); // unknown operating system
+    }
+
+    private static void writeIntelInt(@NotNull OutputStream out, int value) throws IOException {
+        for (int shift = 0; shift < Integer.SIZE; shift += Byte.SIZE) {
+            out.write(value >> shift);
+        }
+    }
+
+    @Override
+    public void write(int octet) throws IOException {
+        if (finished) {
+            throw new IOException("finished");
+        }
+        block[blockLength++] = (byte) octet;
+        if (blockLength == blockSize) {
+            submit(false);
+        }
+    }
+
+    @Override
+    public void write(@NotNull byte[] array, int offset, int length) throws IOException {
+        if (finished) {
+            throw new IOException("finished");
+        }
+        if ((offset | length) < 0 || offset + length > array.length) {
+            throw new IndexOutOfBoundsException();
+        }
+        while (length > 0) {
+            int count = Math.min(length, blockSize - blockLength);
+            System.arraycopy(array, offset, block, blockLength, count);
+            blockLength += count;
+            offset += count;
+            length -= count;
+            if (blockLength == blockSize) {
+                submit(false);
+            }
+        }
+    }
+
+    private void submit(boolean last) throws IOException {
+        if (!started) {
+            if (!memberPerBlock) {
+                writeHeader(out, level);
+            }
+            started = true;
+        }
+        if (inFlight.size() >= maxInFlight) {
+            writeBlock(inFlight.removeFirst().join());
+        }
+        final Block task = new Block(block, blockLength, memberPerBlock ? null : previous, previousLength, last);
+        inFlight.addLast(pool.submit(task, task));
+        previous = block;
+        previousLength = blockLength;
+        block = new byte[blockSize]; // the task and the next one still read the old block
+        blockLength = 0;
+    }
+
+    private void writeBlock(@NotNull Block task) throws IOException {
+        task.output.writeTo(out);
+        if (!memberPerBlock) {
+            crcValue = crc.combine(crcValue, task.crcValue, task.length);
+            uncompressedSize += task.length;
+        }
+    }
+
+    /**
+     * Compresses the partial block and writes all blocks in flight
+     */
+    @Override
+    public void flush() throws IOException {
+        if (!finished) {
+            if (blockLength != 0) {
+                submit(false);
+            }
+            while (!inFlight.isEmpty()) {
+                writeBlock(inFlight.removeFirst().join());
+            }
+        }
+        out.flush();
+    }
+
+    public void finish() throws IOException {
+        if (finished) {
+            return;
+        }
+        if (!memberPerBlock || blockLength != 0 || !started) { // in member per block mode, one empty member for empty input
+            submit(true);
+        }
+        while (!inFlight.isEmpty()) {
+            writeBlock(inFlight.removeFirst().join());
+        }
+        if (!memberPerBlock) {
+            writeIntelInt(out, crcValue);
+            writeIntelInt(out, (int) uncompressedSize);
+        }
+        previous = null;
+        idleDeflaters.clear();
+        finished = true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            finish();
+        } finally {
+            out.close();
+        }
+    }
+
+    @CodeHistory(date = "2026/10/17")
+    private class Block implements Runnable {
+
+        @NotNull
+        final byte[] input;
+
+        final int length;
+
+        @Nullable
+        final byte[] dictionary;
+
+        final int dictionaryLength;
+
+        final boolean last;
+
+        final ByteArrayOutputStream output = new ByteArrayOutputStream(1 << 12);
+
+        int crcValue;
+
+        Block(@NotNull byte[] input, int length, @Nullable byte[] dictionary, int dictionaryLength, boolean last) {
+            super();
+            this.input = input;
+            this.length = length;
+            this.dictionary = dictionary;
+            this.dictionaryLength = dictionaryLength;
+            this.last = last;
+        }
+
+        @Override
+        public void run() {
+            final SimpleIntSizedCRC crc = SimpleIntSizedCRC.crc32();
+            crc.start();
+            crc.update(input, 0, length);
+            crcValue = crc.getAsInt();
+            TowboatDeflateOutputStream deflater = idleDeflaters.poll();
+            if (deflater == null) {
+                deflater = new TowboatDeflateOutputStream(OutputStream.nullOutputStream(), level);
+            }
+            try {
+                if (memberPerBlock) {
+                    writeHeader(output, level);
+                }
+                deflater.restart(output);
+                if (dictionary != null) {
+                    int used = Math.min(dictionaryLength, DICTIONARY_SIZE);
+                    deflater.setDictionary(dictionary, dictionaryLength - used, used);
+                }
+                deflater.write(input, 0, length);
+                if (memberPerBlock || last) {
+                    deflater.finish();
+                } else {
+                    deflater.flush();
+                }
+                if (memberPerBlock) {
+                    writeIntelInt(output, crcValue);
+                    writeIntelInt(output, length);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            idleDeflaters.offer(deflater); // not after a failure, its state is unknown
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ParallelGzipOutputStream[out = " + out + ", level = " + level + ", blockSize = " + blockSize + "]";
+    }
+}
@@ -11,6 +11,7 @@ import java.io.IOException;
 import java.io.InputStream;
 
 @CodeHistory(date = "2025/11/6")
+@CodeHistory(date = "2026/10/17")
 public abstract class ResidueInflateInputStream extends AbstractInflateInputStream implements ReadOnlyBitArray {
 
     protected static final int MAX_SYMBOL = 287;
@@ -72,6 +73,61 @@ public abstract class ResidueInflateInputStream extends AbstractInflateInputStre
         this.runBuffer = runBuffer;
     }
 
+    @CodeHistory(date = "2026/10/17")
+    @FunctionalInterface
+    public interface BlockListener {
+
+        /**
+         * Called before each block header is read, when all bytes of the previous blocks are returned by read(),
+         * or are among the first pendingCount() bytes put by the read(byte[], int, int) in progress
+         */
+        void blockStart(@NotNull ResidueInflateInputStream in) throws IOException;
+    }
+
+    private BlockListener blockListener;
+
+    private int pendingCount;
+
+    public void setBlockListener(BlockListener blockListener) {
+        this.blockListener = blockListener;
+    }
+
+    /**
+     * @return bytes put into the array by the read(byte[], int, int) in progress, for a block listener
+     */
+    public int pendingCount() {
+        return pendingCount;
+    }
+
+    protected void blockStart() throws IOException {
+        if (blockListener != null) {
+            blockListener.blockStart(this);
+        }
+    }
+
+    /**
+     * @return bits read from the input but not consumed, so that the bit position is 8 * (bytes read) - bufferedBitCount()
+     */
+    public int bufferedBitCount() {
+        return bitSize;
+    }
+
+    /**
+     * Continues at a block boundary, with the window of the previous output already put into the run buffer
+     *
+     * @param bits the remaining high bits of the byte before the input
+     * @param bitCount 0 to 7
+     */
+    public void resumeAtBlock(int bits, int bitCount) {
+        if (bitCount < 0 || bitCount >= Byte.SIZE) {
+            throw new IllegalArgumentException("bitCount = " + bitCount);
+        }
+        buffer = bits & ((1 << bitCount) - 1);
+        bitSize = bitCount;
+        state = STATE_FREE;
+        remainingLength = 0;
+    }
+
     @Override
     public void trailingBytesMode() {
         if (state == STATE_LAST_BLOCK_FREE) {
@@ -190,16 +246,21 @@ public abstract class ResidueInflateInputStream extends AbstractInflateInputStre
     @Override
     public int read(@NotNull byte[] array, int offset, int length) throws IOException {
         int count = 0;
-        for (int limit = Math.addExact(offset, length); offset < limit; offset++) {
-            int value = read();
-            if (value == -1) {
-                if (count == 0) {
-                    count = -1;
+        try {
+            for (int limit = Math.addExact(offset, length); offset < limit; offset++) {
+                pendingCount = count;
+                int value = read();
+                if (value == -1) {
+                    if (count == 0) {
+                        count = -1;
+                    }
+                    break;
                 }
-                break;
+                array[offset] = (byte) value;
+                count++;
             }
-            array[offset] = (byte) value;
-            count++;
+        } finally {
+            pendingCount = 0;
         }
         return count;
     }
@@ -29,6 +29,7 @@ public class TableInflateInputStream extends ResidueInflateInputStream {
         while (true) {
             switch (state) {
                 case STATE_FREE:
+                    blockStart();
                     readBlock();
                     break;
                 case STATE_LAST_BLOCK_FREE:
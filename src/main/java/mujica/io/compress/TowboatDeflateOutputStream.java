@@ -0,0 +1,880 @@
+package mujica.io.compress;
+
+import mujica.io.hash.Adler32;
+import mujica.io.hash.SimpleIntSizedCRC;
+import mujica.reflect.modifier.CodeHistory;
+import mujica.reflect.modifier.ReferencePage;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Hash chain match finder and block encoder after zlib; levels 1 to 3 take the first match, levels 4 to 9 defer each match by one byte.
+ * Every block is sent stored, with fixed codes or with dynamic codes, whichever is the shortest.
+ * All buffers are allocated in the constructor.
+ */
+@CodeHistory(date = "2026/10/17")
+@ReferencePage(title = "DEFLATE Compressed Data Format Specification version 1.3", href = "https://www.rfc-editor.org/rfc/rfc1951.html")
+public class TowboatDeflateOutputStream extends FilterOutputStream {
+
+    private static final int FORMAT_RAW = 0;
+    private static final int FORMAT_ZLIB = 1;
+    private static final int FORMAT_GZIP = 2;
+
+    @NotNull
+    public static TowboatDeflateOutputStream zlib(@NotNull OutputStream out, int level) {
+        return new TowboatDeflateOutputStream(out, level, FORMAT_ZLIB);
+    }
+
+    @NotNull
+    public static TowboatDeflateOutputStream gzip(@NotNull OutputStream out, int level) {
+        return new TowboatDeflateOutputStream(out, level, FORMAT_GZIP);
+    }
+
+    private static final int WINDOW_SIZE = 1 << 15;
+    private static final int WINDOW_MASK = WINDOW_SIZE - 1;
+    private static final int HASH_BITS = 15;
+    private static final int MIN_MATCH = 3;
+    private static final int MAX_MATCH = 258;
+    private static final int MIN_LOOKAHEAD = MAX_MATCH + MIN_MATCH + 1;
+    private static final int MAX_DISTANCE = WINDOW_SIZE - MIN_LOOKAHEAD;
+    private static final int TOO_FAR = 4096;
+    private static final int SYMBOL_BUFFER_SIZE = 1 << 14;
+    private static final int PENDING_SIZE = 1 << 14;
+    private static final int MAX_STORED_LENGTH = 0xffff;
+
+    private static final int LITERAL_LENGTH_SYMBOLS = 286;
+    private static final int DISTANCE_SYMBOLS = 30;
+    private static final int CODE_LENGTH_SYMBOLS = 19;
+    private static final int END_OF_BLOCK = 256;
+    private static final int MAX_CODE_LENGTH = 15;
+    private static final int MAX_CODE_LENGTH_CODE_LENGTH = 7;
+
+    private static final int[][] CONFIG = { // good, lazy, nice, chain
+            {4, 4, 8, 4}, // 1, lazy is the longest match whose strings are all inserted
+            {4, 5, 16, 8},
+            {4, 6, 32, 32},
+            {4, 4, 16, 16}, // 4, lazy matching from here
+            {8, 16, 32, 32},
+            {8, 16, 128, 128},
+            {8, 32, 128, 256},
+            {32, 128, 258, 1024},
+            {32, 258, 258, 4096}
+    };
+
+    private static final byte[] LENGTH_CODE = new byte[256]; // by length - 3
+
+    private static final byte[] DISTANCE_CODE = new byte[512]; // by distance - 1 below 256, and by (distance - 1) >> 7 above
+
+    private static final int FIXED_LITERAL_LENGTH_SYMBOLS = 288; // 286 and 287 are never sent, but take their codes
+
+    private static final byte[] FIXED_LITERAL_LENGTH_LENGTHS = new byte[FIXED_LITERAL_LENGTH_SYMBOLS];
+
+    private static final short[] FIXED_LITERAL_LENGTH_CODES = new short[FIXED_LITERAL_LENGTH_SYMBOLS];
+
+    private static final byte[] FIXED_DISTANCE_LENGTHS = new byte[DISTANCE_SYMBOLS];
+
+    private static final short[] FIXED_DISTANCE_CODES = new short[DISTANCE_SYMBOLS];
+
+    static {
+        for (int code = 0; code < 28; code++) {
+            int base = ResidueInflateInputStream.LENGTH_BASE[code] - MIN_MATCH;
+            int end = base + (1 << ResidueInflateInputStream.LENGTH_EXTRA_BITS[code]);
+            for (int index = base; index < end; index++) {
+                LENGTH_CODE[index] = (byte) code;
+            }
+        }
+        LENGTH_CODE[MAX_MATCH - MIN_MATCH] = 28; // 258 has its own code without extra bits
+        for (int code = 0; code < DISTANCE_SYMBOLS; code++) {
+            int base = ResidueInflateInputStream.DISTANCE_BASE[code] - 1;
+            int end = base + (1 << ResidueInflateInputStream.DISTANCE_EXTRA_BITS[code]);
+            if (code < 16) {
+                for (int index = base; index < end; index++) {
+                    DISTANCE_CODE[index] = (byte) code;
+                }
+            } else {
+                for (int index = base >> 7; index < end >> 7; index++) {
+                    DISTANCE_CODE[256 + index] = (byte) code;
+                }
+            }
+        }
+        for (int symbol = 0; symbol < FIXED_LITERAL_LENGTH_SYMBOLS; symbol++) {
+            int length;
+            if (symbol < 144) {
+                length = 8;
+            } else if (symbol < 256) {
+                length = 9;
+            } else if (symbol < 280) {
+                length = 7;
+            } else {
+                length = 8;
+            }
+            FIXED_LITERAL_LENGTH_LENGTHS[symbol] = (byte) length;
+        }
+        Arrays.fill(FIXED_DISTANCE_LENGTHS, (byte) 5);
+        final int[] nextCode = new int[MAX_CODE_LENGTH + 1];
+        assignCodes(FIXED_LITERAL_LENGTH_LENGTHS, FIXED_LITERAL_LENGTH_SYMBOLS, FIXED_LITERAL_LENGTH_CODES, new int[MAX_CODE_LENGTH + 1], nextCode);
+        assignCodes(FIXED_DISTANCE_LENGTHS, DISTANCE_SYMBOLS, FIXED_DISTANCE_CODES, new int[MAX_CODE_LENGTH + 1], nextCode);
+    }
+
+    private static int distanceCode(int distance) {
+        distance--;
+        return distance < 256 ? DISTANCE_CODE[distance] : DISTANCE_CODE[256 + (distance >> 7)];
+    }
+
+    private final int goodLength, lazyLength, niceLength, maxChain;
+
+    private final boolean lazy;
+
+    private final Adler32 adler32;
+
+    private final SimpleIntSizedCRC crc;
+
+    private long uncompressedSize;
+
+    private final byte[] window = new byte[WINDOW_SIZE << 1];
+
+    private final int[] head = new int[1 << HASH_BITS]; // 0 for none, so position 0 is never matched
+
+    private final int[] previous = new int[WINDOW_SIZE];
+
+    private int windowEnd, position, lookahead, blockStart, blockLength;
+
+    private int matchLength = MIN_MATCH - 1, matchStart;
+
+    private boolean matchAvailable;
+
+    private final int[] symbols = new int[SYMBOL_BUFFER_SIZE]; // literal, or distance << 8 | length - 3
+
+    private int symbolCount;
+
+    private final int[] literalLengthFrequencies = new int[LITERAL_LENGTH_SYMBOLS];
+
+    private final int[] distanceFrequencies = new int[DISTANCE_SYMBOLS];
+
+    private final int[] codeLengthFrequencies = new int[CODE_LENGTH_SYMBOLS];
+
+    private final byte[] literalLengthLengths = new byte[LITERAL_LENGTH_SYMBOLS];
+
+    private final short[] literalLengthCodes = new short[LITERAL_LENGTH_SYMBOLS];
+
+    private final byte[] distanceLengths = new byte[DISTANCE_SYMBOLS];
+
+    private final short[] distanceCodes = new short[DISTANCE_SYMBOLS];
+
+    private final byte[] codeLengthLengths = new byte[CODE_LENGTH_SYMBOLS];
+
+    private final short[] codeLengthCodes = new short[CODE_LENGTH_SYMBOLS];
+
+    private final int[] codeLengthSymbols = new int[LITERAL_LENGTH_SYMBOLS + DISTANCE_SYMBOLS]; // symbol | extra << 8
+
+    private int codeLengthSymbolCount;
+
+    private final int[] treeWeights = new int[LITERAL_LENGTH_SYMBOLS << 1];
+
+    private final int[] treeParents = new int[LITERAL_LENGTH_SYMBOLS << 1];
+
+    private final int[] treeDepths = new int[LITERAL_LENGTH_SYMBOLS << 1];
+
+    private final int[] treeHeap = new int[LITERAL_LENGTH_SYMBOLS + 1];
+
+    private final int[] lengthCounts = new int[MAX_CODE_LENGTH + 1];
+
+    private final int[] nextCode = new int[MAX_CODE_LENGTH + 1];
+
+    private final byte[] pending = new byte[PENDING_SIZE];
+
+    private int pendingSize;
+
+    private long bitBuffer;
+
+    private int bitCount;
+
+    private boolean finished;
+
+    public TowboatDeflateOutputStream(@NotNull OutputStream out, int level) {
+        this(out, level, FORMAT_RAW);
+    }
+
+    private TowboatDeflateOutputStream(@NotNull OutputStream out, int level, int format) {
+        super(out);
+        if (level < 1 || level > 9) {
+            throw new IllegalArgumentException("level = " + level);
+        }
+        final int[] config = CONFIG[level - 1];
+        goodLength = config[0];
+        lazyLength = config[1];
+        niceLength = config[2];
+        maxChain = config[3];
+        lazy = level >= 4;
+        if (format == FORMAT_ZLIB) {
+            adler32 = new Adler32();
+            adler32.start();
+            crc = null;
+            int header = 0x7800 | (level == 1 ? 0 : level < 6 ? 1 : level == 6 ? 2 : 3) << 6; // 32K window, deflate
+            header += 31 - header % 31;
+            pending[pendingSize++] = (byte) (header >> 8);
+            pending[pendingSize++] = (byte) header;
+        } else if (format == FORMAT_GZIP) {
+            adler32 = null;
+            crc = SimpleIntSizedCRC.crc32();
+            crc.start();
+            pending[pendingSize++] = 0x1f;
+            pending[pendingSize++] = (byte) 0x8b;
+            pending[pendingSize++] = 8; // deflate
+            pendingSize += 5; // flags and modification time are zero
+            pending[pendingSize++] = (byte) (level == 9 ? 2 : level == 1 ? 4 : 0);
+            pending[pendingSize++] = (byte) 0xff; // unknown operating system
+        } else {
+            adler32 = null;
+            crc = null;
+        }
+    }
+
+    @Override
+    public void write(int octet) throws IOException {
+        if (finished) {
+            throw new IOException("finished");
+        }
+        if (windowEnd == window.length) {
+            slide();
+        }
+        window[windowEnd++] = (byte) octet;
+        lookahead++;
+        if (adler32 != null) {
+            adler32.update((byte) octet);
+        } else if (crc != null) {
+            crc.update((byte) octet);
+        }
+        uncompressedSize++;
+        compress(false);
+    }
+
+    @Override
+    public void write(@NotNull byte[] array, int offset, int length) throws IOException {
+        if (finished) {
+            throw new IOException("finished");
+        }
+        if ((offset | length) < 0 || offset + length > array.length) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (adler32 != null) {
+            adler32.update(array, offset, length);
+        } else if (crc != null) {
+            crc.update(array, offset, length);
+        }
+        uncompressedSize += length;
+        while (length > 0) {
+            if (windowEnd == window.length) {
+                slide();
+            }
+            int count = Math.min(length, window.length - windowEnd);
+            System.arraycopy(array, offset, window, windowEnd, count);
+            windowEnd += count;
+            lookahead += count;
+            offset += count;
+            length -= count;
+            compress(false);
+        }
+    }
+
+    /**
+     * Ends the current block with an empty stored block, as zlib's Z_SYNC_FLUSH, so that all written data can be inflated
+     */
+    @Override
+    public void flush() throws IOException {
+        if (!finished) {
+            compress(true);
+            if (blockLength != 0) {
+                flushBlock(false);
+            }
+            putBits(0, 3);
+            alignBits();
+            putShort(0);
+            putShort(0xffff);
+            flushPending();
+        }
+        out.flush();
+    }
+
+    /**
+     * Writes the last block and the trailer, without closing the underlying stream
+     */
+    public void finish() throws IOException {
+        if (finished) {
+            return;
+        }
+        compress(true);
+        flushBlock(true);
+        alignBits();
+        if (adler32 != null) {
+            int value = adler32.getAsInt();
+            for (int shift = Integer.SIZE - Byte.SIZE; shift >= 0; shift -= Byte.SIZE) {
+                putByte(value >> shift);
+            }
+        } else if (crc != null) {
+            putIntelInt(crc.getAsInt());
+            putIntelInt((int) uncompressedSize);
+        }
+        flushPending();
+        finished = true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            finish();
+        } finally {
+            out.close();
+        }
+    }
+
+    /**
+     * Primes the window, as zlib's deflateSetDictionary; only the last 32K bytes are used
+     */
+    public void setDictionary(@NotNull byte[] array, int offset, int length) {
+        if ((offset | length) < 0 || offset + length > array.length) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (windowEnd != 0 || finished) {
+            throw new IllegalStateException("dictionary after data");
+        }
+        if (length > WINDOW_SIZE) {
+            offset += length - WINDOW_SIZE;
+            length = WINDOW_SIZE;
+        }
+        System.arraycopy(array, offset, window, 0, length);
+        for (int at = 0; at + MIN_MATCH <= length; at++) {
+            insert(at);
+        }
+        windowEnd = length;
+        position = length;
+        blockStart = length;
+    }
+
+    /**
+     * Starts a new raw stream to another output, keeping the buffers
+     */
+    void restart(@NotNull OutputStream out) {
+        assert adler32 == null && crc == null;
+        this.out = out;
+        Arrays.fill(head, 0); // previous is only reached from head
+        windowEnd = 0;
+        position = 0;
+        lookahead = 0;
+        blockStart = 0;
+        blockLength = 0;
+        matchLength = MIN_MATCH - 1;
+        matchStart = 0;
+        matchAvailable = false;
+        symbolCount = 0;
+        Arrays.fill(literalLengthFrequencies, 0);
+        Arrays.fill(distanceFrequencies, 0);
+        pendingSize = 0;
+        bitBuffer = 0L;
+        bitCount = 0;
+        uncompressedSize = 0L;
+        finished = false;
+    }
+
+    private void slide() {
+        assert lookahead < MIN_LOOKAHEAD;
+        System.arraycopy(window, WINDOW_SIZE, window, 0, WINDOW_SIZE);
+        windowEnd -= WINDOW_SIZE;
+        position -= WINDOW_SIZE;
+        matchStart -= WINDOW_SIZE;
+        blockStart -= WINDOW_SIZE; // negative when the bytes of the block are gone, then it is not stored
+        slide(head);
+        slide(previous);
+    }
+
+    private static void slide(@NotNull int[] positions) {
+        for (int index = 0; index < positions.length; index++) {
+            int value = positions[index];
+            positions[index] = value >= WINDOW_SIZE ? value - WINDOW_SIZE : 0;
+        }
+    }
+
+    /**
+     * @return the previous head of the hash chain
+     */
+    private int insert(int at) {
+        final byte[] window = this.window;
+        final int hash = ((window[at] & 0xff) << 16 | (window[at + 1] & 0xff) << 8 | (window[at + 2] & 0xff)) * 0x9e3779b1 >>> (Integer.SIZE - HASH_BITS);
+        final int match = head[hash];
+        previous[at & WINDOW_MASK] = match;
+        head[hash] = at;
+        return match;
+    }
+
+    /**
+     * Sets matchStart if a match longer than bestLength is found
+     */
+    private int longestMatch(int match, int bestLength) {
+        final byte[] window = this.window;
+        final int scan = position;
+        final int maxLength = Math.min(MAX_MATCH, lookahead);
+        if (bestLength >= maxLength) {
+            return bestLength;
+        }
+        int chain = bestLength >= goodLength ? maxChain >> 2 : maxChain;
+        final int nice = Math.min(niceLength, maxLength);
+        final int limit = scan > MAX_DISTANCE ? scan - MAX_DISTANCE : 0;
+        byte scanEnd1 = window[scan + bestLength - 1];
+        byte scanEnd = window[scan + bestLength];
+        do {
+            if (window[match + bestLength] != scanEnd || window[match + bestLength - 1] != scanEnd1
+                    || window[match] != window[scan] || window[match + 1] != window[scan + 1]) {
+                continue;
+            }
+            int length = Arrays.mismatch(window, match + 2, match + maxLength, window, scan + 2, scan + maxLength);
+            length = length < 0 ? maxLength : length + 2;
+            if (length > bestLength) {
+                matchStart = match;
+                bestLength = length;
+                if (length >= nice) {
+                    break;
+                }
+                scanEnd1 = window[scan + bestLength - 1];
+                scanEnd = window[scan + bestLength];
+            }
+        } while ((match = previous[match & WINDOW_MASK]) > limit && --chain != 0);
+        return bestLength;
+    }
+
+    private void compress(boolean flush) throws IOException {
+        if (lazy) {
+            compressLazy(flush);
+        } else {
+            compressFast(flush);
+        }
+    }
+
+    private void compressFast(boolean flush) throws IOException {
+        while (lookahead >= MIN_LOOKAHEAD || flush && lookahead > 0) {
+            int match = lookahead >= MIN_MATCH ? insert(position) : 0;
+            int length = MIN_MATCH - 1;
+            if (match != 0 && position - match <= MAX_DISTANCE) {
+                length = longestMatch(match, MIN_MATCH - 1);
+            }
+            if (length >= MIN_MATCH) {
+                tallyMatch(position - matchStart, length);
+                lookahead -= length;
+                if (length <= lazyLength && lookahead >= MIN_MATCH) {
+                    final int end = position + length;
+                    while (++position < end) {
+                        insert(position);
+                    }
+                } else {
+                    position += length;
+                }
+            } else {
+                tallyLiteral(window[position++]);
+                lookahead--;
+            }
+            if (symbolCount == SYMBOL_BUFFER_SIZE) {
+                flushBlock(false);
+            }
+        }
+    }
+
+    private void compressLazy(boolean flush) throws IOException {
+        while (lookahead >= MIN_LOOKAHEAD || flush && lookahead > 0) {
+            int match = lookahead >= MIN_MATCH ? insert(position) : 0;
+            final int previousLength = matchLength;
+            final int previousStart = matchStart;
+            matchLength = MIN_MATCH - 1;
+            if (match != 0 && previousLength < lazyLength && position - match <= MAX_DISTANCE) {
+                matchLength = longestMatch(match, previousLength);
+                if (matchLength == MIN_MATCH && position - matchStart > TOO_FAR) {
+                    matchLength = MIN_MATCH - 1;
+                }
+            }
+            if (previousLength >= MIN_MATCH && matchLength <= previousLength) {
+                final int maxInsert = position + lookahead - MIN_MATCH;
+                tallyMatch(position - 1 - previousStart, previousLength);
+                lookahead -= previousLength - 1;
+                final int end = position - 1 + previousLength;
+                while (++position < end) {
+                    if (position <= maxInsert) {
+                        insert(position);
+                    }
+                }
+                matchAvailable = false;
+                matchLength = MIN_MATCH - 1;
+            } else if (matchAvailable) {
+                tallyLiteral(window[position - 1]);
+                position++;
+                lookahead--;
+            } else {
+                matchAvailable = true;
+                position++;
+                lookahead--;
+                continue;
+            }
+            if (symbolCount == SYMBOL_BUFFER_SIZE) {
+                flushBlock(false);
+            }
+        }
+        if (flush && matchAvailable) {
+            tallyLiteral(window[position - 1]);
+            matchAvailable = false;
+        }
+    }
+
+    private void tallyLiteral(byte literal) {
+        final int value = literal & 0xff;
+        symbols[symbolCount++] = value;
+        literalLengthFrequencies[value]++;
+        blockLength++;
+    }
+
+    private void tallyMatch(int distance, int length) {
+        assert 0 < distance && distance <= WINDOW_SIZE && MIN_MATCH <= length && length <= MAX_MATCH;
+        symbols[symbolCount++] = distance << 8 | (length - MIN_MATCH);
+        literalLengthFrequencies[END_OF_BLOCK + 1 + LENGTH_CODE[length - MIN_MATCH]]++;
+        distanceFrequencies[distanceCode(distance)]++;
+        blockLength += length;
+    }
+
+    private void flushBlock(boolean last) throws IOException {
+        literalLengthFrequencies[END_OF_BLOCK] = 1;
+        buildLengths(literalLengthFrequencies, LITERAL_LENGTH_SYMBOLS, literalLengthLengths, MAX_CODE_LENGTH);
+        buildLengths(distanceFrequencies, DISTANCE_SYMBOLS, distanceLengths, MAX_CODE_LENGTH);
+        int literalLengthCount = LITERAL_LENGTH_SYMBOLS;
+        while (literalLengthLengths[literalLengthCount - 1] == 0) {
+            literalLengthCount--;
+        }
+        int distanceCount = DISTANCE_SYMBOLS;
+        while (distanceCount > 1 && distanceLengths[distanceCount - 1] == 0) {
+            distanceCount--;
+        }
+        Arrays.fill(codeLengthFrequencies, 0);
+        codeLengthSymbolCount = 0;
+        runLengths(literalLengthLengths, literalLengthCount);
+        runLengths(distanceLengths, distanceCount);
+        buildLengths(codeLengthFrequencies, CODE_LENGTH_SYMBOLS, codeLengthLengths, MAX_CODE_LENGTH_CODE_LENGTH);
+        int codeLengthCount = CODE_LENGTH_SYMBOLS;
+        while (codeLengthCount > 4 && codeLengthLengths[ResidueInflateInputStream.REORDER[codeLengthCount - 1]] == 0) {
+            codeLengthCount--;
+        }
+        long dynamicBits = 3 + 5 + 5 + 4 + 3 * codeLengthCount + dataBits(literalLengthLengths, distanceLengths);
+        for (int symbol = 0; symbol < CODE_LENGTH_SYMBOLS; symbol++) {
+            dynamicBits += (long) codeLengthFrequencies[symbol] * codeLengthLengths[symbol];
+        }
+        dynamicBits += 2L * codeLengthFrequencies[16] + 3L * codeLengthFrequencies[17] + 7L * codeLengthFrequencies[18];
+        final long fixedBits = 3 + dataBits(FIXED_LITERAL_LENGTH_LENGTHS, FIXED_DISTANCE_LENGTHS);
+        final long storedBits = blockStart >= 0
+                ? 8L * (blockLength + 5L * Math.max(1, (blockLength + MAX_STORED_LENGTH - 1) / MAX_STORED_LENGTH)) + 7
+                : Long.MAX_VALUE;
+        if (storedBits <= fixedBits && storedBits <= dynamicBits) {
+            writeStored(last);
+        } else if (fixedBits <= dynamicBits) {
+            putBits((last ? 1 : 0) | 1 << 1, 3);
+            writeData(FIXED_LITERAL_LENGTH_LENGTHS, FIXED_LITERAL_LENGTH_CODES, FIXED_DISTANCE_LENGTHS, FIXED_DISTANCE_CODES);
+        } else {
+            assignCodes(literalLengthLengths, LITERAL_LENGTH_SYMBOLS, literalLengthCodes, lengthCounts, nextCode);
+            assignCodes(distanceLengths, DISTANCE_SYMBOLS, distanceCodes, lengthCounts, nextCode);
+            assignCodes(codeLengthLengths, CODE_LENGTH_SYMBOLS, codeLengthCodes, lengthCounts, nextCode);
+            putBits((last ? 1 : 0) | 2 << 1, 3);
+            putBits(literalLengthCount - 257, 5);
+            putBits(distanceCount - 1, 5);
+            putBits(codeLengthCount - 4, 4);
+            for (int index = 0; index < codeLengthCount; index++) {
+                putBits(codeLengthLengths[ResidueInflateInputStream.REORDER[index]], 3);
+            }
+            for (int index = 0; index < codeLengthSymbolCount; index++) {
+                int value = codeLengthSymbols[index];
+                int symbol = value & 0xff;
+                putBits(codeLengthCodes[symbol], codeLengthLengths[symbol]);
+                if (symbol >= 16) {
+                    putBits(value >>> 8, symbol == 16 ? 2 : symbol == 17 ? 3 : 7);
+                }
+            }
+            writeData(literalLengthLengths, literalLengthCodes, distanceLengths, distanceCodes);
+        }
+        Arrays.fill(literalLengthFrequencies, 0);
+        Arrays.fill(distanceFrequencies, 0);
+        symbolCount = 0;
+        blockStart += blockLength;
+        blockLength = 0;
+    }
+
+    private long dataBits(@NotNull byte[] literalLengthLengths, @NotNull byte[] distanceLengths) {
+        long bits = 0L;
+        for (int symbol = 0; symbol < LITERAL_LENGTH_SYMBOLS; symbol++) {
+            int frequency = literalLengthFrequencies[symbol];
+            if (frequency != 0) {
+                int length = literalLengthLengths[symbol];
+                if (symbol > END_OF_BLOCK) {
+                    length += ResidueInflateInputStream.LENGTH_EXTRA_BITS[symbol - END_OF_BLOCK - 1];
+                }
+                bits += (long) frequency * length;
+            }
+        }
+        for (int symbol = 0; symbol < DISTANCE_SYMBOLS; symbol++) {
+            bits += (long) distanceFrequencies[symbol] * (distanceLengths[symbol] + ResidueInflateInputStream.DISTANCE_EXTRA_BITS[symbol]);
+        }
+        return bits;
+    }
+
+    private void writeData(@NotNull byte[] literalLengthLengths, @NotNull short[] literalLengthCodes,
+                           @NotNull byte[] distanceLengths, @NotNull short[] distanceCodes) throws IOException {
+        for (int index = 0; index < symbolCount; index++) {
+            int value = symbols[index];
+            int distance = value >>> 8;
+            if (distance == 0) {
+                putBits(literalLengthCodes[value], literalLengthLengths[value]);
+                continue;
+            }
+            int length = value & 0xff;
+            int code = LENGTH_CODE[length];
+            int symbol = END_OF_BLOCK + 1 + code;
+            putBits(literalLengthCodes[symbol], literalLengthLengths[symbol]);
+            int extraBits = ResidueInflateInputStream.LENGTH_EXTRA_BITS[code];
+            if (extraBits != 0) {
+                putBits(length + MIN_MATCH - ResidueInflateInputStream.LENGTH_BASE[code], extraBits);
+            }
+            code = distanceCode(distance);
+            putBits(distanceCodes[code], distanceLengths[code]);
+            extraBits = ResidueInflateInputStream.DISTANCE_EXTRA_BITS[code];
+            if (extraBits != 0) {
+                putBits(distance - ResidueInflateInputStream.DISTANCE_BASE[code], extraBits);
+            }
+        }
+        putBits(literalLengthCodes[END_OF_BLOCK], literalLengthLengths[END_OF_BLOCK]);
+    }
+
+    private void writeStored(boolean last) throws IOException {
+        int offset = blockStart;
+        int remaining = blockLength;
+        do {
+            int length = Math.min(remaining, MAX_STORED_LENGTH);
+            remaining -= length;
+            putBits(last && remaining == 0 ? 1 : 0, 3);
+            alignBits();
+            putShort(length);
+            putShort(~length & 0xffff);
+            flushPending();
+            out.write(window, offset, length);
+            offset += length;
+        } while (remaining > 0);
+    }
+
+    /**
+     * Appends the code length symbols of one alphabet, with repeat codes 16, 17 and 18
+     */
+    private void runLengths(@NotNull byte[] lengths, int count) {
+        int index = 0;
+        while (index < count) {
+            int length = lengths[index];
+            int run = 1;
+            while (index + run < count && lengths[index + run] == length) {
+                run++;
+            }
+            index += run;
+            if (length == 0) {
+                while (run >= 11) {
+                    int repeat = Math.min(run, 138);
+                    addCodeLengthSymbol(18, repeat - 11);
+                    run -= repeat;
+                }
+                if (run >= 3) {
+                    addCodeLengthSymbol(17, run - 3);
+                    run = 0;
+                }
+            } else {
+                addCodeLengthSymbol(length, 0);
+                run--;
+                while (run >= 3) {
+                    int repeat = Math.min(run, 6);
+                    addCodeLengthSymbol(16, repeat - 3);
+                    run -= repeat;
+                }
+            }
+            while (run-- > 0) {
+                addCodeLengthSymbol(length, 0);
+            }
+        }
+    }
+
+    private void addCodeLengthSymbol(int symbol, int extra) {
+        codeLengthSymbols[codeLengthSymbolCount++] = symbol | extra << 8;
+        codeLengthFrequencies[symbol]++;
+    }
+
+    /**
+     * Huffman code lengths no longer than maxLength; the frequencies are halved until the tree is shallow enough.
+     * At least two symbols get a code, so that the code is complete.
+     */
+    private void buildLengths(@NotNull int[] frequencies, int symbolCount, @NotNull byte[] lengths, int maxLength) {
+        final int[] weights = treeWeights;
+        System.arraycopy(frequencies, 0, weights, 0, symbolCount);
+        int used = 0;
+        for (int symbol = 0; symbol < symbolCount; symbol++) {
+            if (weights[symbol] != 0) {
+                used++;
+            }
+        }
+        for (int symbol = 0; used < 2; symbol++) {
+            if (weights[symbol] == 0) {
+                weights[symbol] = 1;
+                used++;
+            }
+        }
+        while (!buildTree(symbolCount, lengths, maxLength)) {
+            for (int symbol = 0; symbol < symbolCount; symbol++) {
+                if (weights[symbol] != 0) {
+                    weights[symbol] = (weights[symbol] >> 1) | 1;
+                }
+            }
+        }
+    }
+
+    private boolean buildTree(int symbolCount, @NotNull byte[] lengths, int maxLength) {
+        final int[] weights = treeWeights;
+        final int[] parents = treeParents;
+        final int[] heap = treeHeap;
+        int heapSize = 0;
+        for (int symbol = 0; symbol < symbolCount; symbol++) {
+            parents[symbol] = -1;
+            if (weights[symbol] != 0) {
+                heap[++heapSize] = symbol;
+            }
+        }
+        for (int index = heapSize >> 1; index > 0; index--) {
+            siftDown(index, heapSize);
+        }
+        int node = symbolCount;
+        while (heapSize > 1) {
+            int first = heap[1];
+            heap[1] = heap[heapSize--];
+            siftDown(1, heapSize);
+            int second = heap[1];
+            weights[node] = weights[first] + weights[second];
+            parents[first] = node;
+            parents[second] = node;
+            heap[1] = node++;
+            siftDown(1, heapSize);
+        }
+        final int[] depths = treeDepths;
+        final int root = node - 1;
+        depths[root] = 0;
+        for (node = root - 1; node >= symbolCount; node--) {
+            depths[node] = depths[parents[node]] + 1;
+        }
+        for (int symbol = 0; symbol < symbolCount; symbol++) {
+            int depth = parents[symbol] < 0 ? 0 : depths[parents[symbol]] + 1;
+            if (depth > maxLength) {
+                return false;
+            }
+            lengths[symbol] = (byte) depth;
+        }
+        return true;
+    }
+
+    private void siftDown(int index, int heapSize) {
+        final int[] weights = treeWeights;
+        final int[] heap = treeHeap;
+        final int node = heap[index];
+        while (true) {
+            int child = index << 1;
+            if (child > heapSize) {
+                break;
+            }
+            if (child < heapSize && weights[heap[child + 1]] < weights[heap[child]]) {
+                child++;
+            }
+            if (weights[heap[child]] >= weights[node]) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = node;
+    }
+
+    /**
+     * Canonical codes, bit reversed because the bits are sent from the least significant
+     */
+    private static void assignCodes(@NotNull byte[] lengths, int symbolCount, @NotNull short[] codes,
+                                    @NotNull int[] lengthCounts, @NotNull int[] nextCode) {
+        Arrays.fill(lengthCounts, 0);
+        for (int symbol = 0; symbol < symbolCount; symbol++) {
+            lengthCounts[lengths[symbol]]++;
+        }
+        lengthCounts[0] = 0;
+        int code = 0;
+        for (int length = 1; length <= MAX_CODE_LENGTH; length++) {
+            code = (code + lengthCounts[length - 1]) << 1;
+            nextCode[length] = code;
+        }
+        for (int symbol = 0; symbol < symbolCount; symbol++) {
+            int length = lengths[symbol];
+            if (length != 0) {
+                codes[symbol] = (short) (Integer.reverse(nextCode[length]++) >>> (Integer.SIZE - length));
+            }
+        }
+    }
+
+    private void putBits(int value, int count) throws IOException {
+        bitBuffer |= (0xffffL & value) << bitCount;
+        bitCount += count;
+        if (bitCount >= Integer.SIZE) {
+            if (pendingSize > PENDING_SIZE - Integer.BYTES) {
+                flushPending();
+            }
+            final long bits = bitBuffer;
+            final byte[] pending = this.pending;
+            pending[pendingSize] = (byte) bits;
+            pending[pendingSize + 1] = (byte) (bits >> 8);
+            pending[pendingSize + 2] = (byte) (bits >> 16);
+            pending[pendingSize + 3] = (byte) (bits >> 24);
+            pendingSize += Integer.BYTES;
+            bitBuffer = bits >>> Integer.SIZE;
+            bitCount -= Integer.SIZE;
+        }
+    }
+
+    private void alignBits() throws IOException {
+        while (bitCount > 0) {
+            putByte((int) bitBuffer);
+            bitBuffer >>>= Byte.SIZE;
+            bitCount -= Byte.SIZE;
+        }
+        bitBuffer = 0L;
+        bitCount = 0;
+    }
+
+    private void putByte(int value) throws IOException {
+        if (pendingSize == PENDING_SIZE) {
+            flushPending();
+        }
+        pending[pendingSize++] = (byte) value;
+    }
+
+    private void putShort(int value) throws IOException {
+        putByte(value);
+        putByte(value >> 8);
+    }
+
+    private void putIntelInt(int value) throws IOException {
+        putShort(value);
+        putShort(value >> 16);
+    }
+
+    private void flushPending() throws IOException {
+        if (pendingSize != 0) {
+            out.write(pending, 0, pendingSize);
+            pendingSize = 0;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "TowboatDeflateOutputStream[out = " + out + "]";
+    }
+}
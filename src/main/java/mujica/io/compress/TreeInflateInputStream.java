@@ -80,6 +80,7 @@ public class TreeInflateInputStream extends ResidueInflateInputStream implements
         while (true) {
             switch (state) {
                 case STATE_FREE:
+                    blockStart();
                     readBlock();
                     break;
                 case STATE_LAST_BLOCK_FREE:
@@ -0,0 +1,303 @@
+package mujica.io.compress;
+
+import mujica.io.hash.ByteStreamHash;
+import mujica.reflect.modifier.CodeHistory;
+import mujica.reflect.modifier.DataType;
+import mujica.reflect.modifier.Name;
+import mujica.reflect.modifier.ReferencePage;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * Decodes .xz files of one or more concatenated streams, verifying the checks, the index and the footer.
+ * Only the LZMA2 filter is supported; the checks other than CRC32, CRC64 and SHA-256 are skipped.
+ */
+@CodeHistory(date = "2026/10/17")
+@ReferencePage(title = "The .xz File Format", href = "https://tukaani.org/xz/xz-file-format.txt")
+@Name(value = "xz decode input stream", language = "en")
+public class XzDecodeInputStream extends FilterInputStream {
+
+    @NotNull
+    private final XzFormat.CountingInputStream counting;
+
+    private int checkType;
+
+    @Nullable
+    private ByteStreamHash check;
+
+    private final byte[] checkBuffer = new byte[64];
+
+    @Nullable
+    private Lzma2DecodeInputStream block;
+
+    private long blockStart, blockHeaderSize, blockUncompressedSize;
+
+    private long declaredCompressedSize, declaredUncompressedSize;
+
+    /**
+     * unpadded size and uncompressed size of each block in the current stream
+     */
+    @NotNull
+    private long[] records = new long[16];
+
+    private int recordCount;
+
+    private boolean endReached;
+
+    private final byte[] single = new byte[1];
+
+    public XzDecodeInputStream(@NotNull InputStream in) throws IOException {
+        super(new XzFormat.CountingInputStream(in));
+        counting = (XzFormat.CountingInputStream) this.in;
+        final byte[] header = new byte[12];
+        counting.readFully(header, 0, header.length);
+        readStreamHeader(header);
+    }
+
+    private void readStreamHeader(@NotNull byte[] header) throws IOException {
+        if (!Arrays.equals(header, 0, 6, XzFormat.HEADER_MAGIC, 0, 6)) {
+            throw new CompressAlgorithmException("stream header magic");
+        }
+        if (XzFormat.readIntLE(header, 8) != XzFormat.crc32(header, 6, 2)) {
+            throw new CompressAlgorithmException("stream header CRC32");
+        }
+        if (header[6] != 0 || (header[7] & 0xf0) != 0) {
+            throw new CompressAlgorithmException("stream flags");
+        }
+        checkType = header[7];
+        check = XzFormat.newCheck(checkType);
+        recordCount = 0;
+    }
+
+    /**
+     * @return false at the index
+     */
+    private boolean readBlockHeader() throws IOException {
+        final XzFormat.CountingInputStream counting = this.counting;
+        blockStart = counting.count;
+        final int sizeByte = counting.readByte();
+        if (sizeByte == 0) {
+            return false;
+        }
+        final int headerSize = (sizeByte + 1) << 2;
+        final byte[] header = new byte[headerSize];
+        header[0] = (byte) sizeByte;
+        counting.readFully(header, 1, headerSize - 1);
+        if (XzFormat.readIntLE(header, headerSize - 4) != XzFormat.crc32(header, 0, headerSize - 4)) {
+            throw new CompressAlgorithmException("block header CRC32");
+        }
+        final int flags = 0xff & header[1];
+        if ((flags & 0x3c) != 0) {
+            throw new CompressAlgorithmException("block flags");
+        }
+        if ((flags & 0x03) != 0) {
+            throw new CompressAlgorithmException("only the LZMA2 filter is supported");
+        }
+        final XzFormat.CountingInputStream fields = new XzFormat.CountingInputStream(
+                new ByteArrayInputStream(header, 2, headerSize - 6));
+        declaredCompressedSize = (flags & 0x40) != 0 ? fields.readVarLong() : -1L;
+        declaredUncompressedSize = (flags & 0x80) != 0 ? fields.readVarLong() : -1L;
+        if (fields.readVarLong() != XzFormat.FILTER_LZMA2) {
+            throw new CompressAlgorithmException("only the LZMA2 filter is supported");
+        }
+        if (fields.readVarLong() != 1L) {
+            throw new CompressAlgorithmException("LZMA2 properties size");
+        }
+        final int dictionarySize;
+        try {
+            dictionarySize = XzFormat.dictionarySize(fields.readByte());
+        } catch (IllegalArgumentException e) {
+            throw new CompressAlgorithmException(e.getMessage());
+        }
+        int data;
+        while ((data = fields.read()) != -1) {
+            if (data != 0) {
+                throw new CompressAlgorithmException("block header padding");
+            }
+        }
+        blockHeaderSize = headerSize;
+        blockUncompressedSize = 0L;
+        if (check != null) {
+            check.start();
+        }
+        block = new Lzma2DecodeInputStream(counting, dictionarySize == -1 ? Integer.MAX_VALUE - 15 : dictionarySize);
+        return true;
+    }
+
+    private void finishBlock() throws IOException {
+        final XzFormat.CountingInputStream counting = this.counting;
+        final long compressedSize = counting.count - blockStart - blockHeaderSize;
+        if (declaredCompressedSize != -1L && declaredCompressedSize != compressedSize) {
+            throw new CompressAlgorithmException("block compressed size");
+        }
+        if (declaredUncompressedSize != -1L && declaredUncompressedSize != blockUncompressedSize) {
+            throw new CompressAlgorithmException("block uncompressed size");
+        }
+        for (long padding = -compressedSize & 3; padding > 0; padding--) {
+            if (counting.readByte() != 0) {
+                throw new CompressAlgorithmException("block padding");
+            }
+        }
+        final int checkSize = XzFormat.checkSize(checkType);
+        counting.readFully(checkBuffer, 0, checkSize);
+        if (check != null) {
+            byte[] expected = new byte[checkSize];
+            XzFormat.finishCheck(check, checkType, expected);
+            if (!Arrays.equals(checkBuffer, 0, checkSize, expected, 0, checkSize)) {
+                throw new CompressAlgorithmException("block check");
+            }
+        }
+        if (recordCount << 1 == records.length) {
+            records = Arrays.copyOf(records, records.length << 1);
+        }
+        records[recordCount << 1] = blockHeaderSize + compressedSize + checkSize;
+        records[(recordCount << 1) + 1] = blockUncompressedSize;
+        recordCount++;
+        block = null;
+    }
+
+    /**
+     * The index indicator is already read
+     */
+    private void readIndexAndFooter() throws IOException {
+        final XzFormat.CountingInputStream counting = this.counting;
+        final long indexStart = counting.count - 1;
+        counting.hash = XzFormat.newCheck(XzFormat.CHECK_CRC32);
+        assert counting.hash != null;
+        counting.hash.start();
+        counting.hash.update((byte) 0);
+        if (counting.readVarLong() != recordCount) {
+            throw new CompressAlgorithmException("index record count");
+        }
+        for (int index = 0; index < recordCount << 1; index++) {
+            if (counting.readVarLong() != records[index]) {
+                throw new CompressAlgorithmException("index record");
+            }
+        }
+        for (long padding = -(counting.count - indexStart) & 3; padding > 0; padding--) {
+            if (counting.readByte() != 0) {
+                throw new CompressAlgorithmException("index padding");
+            }
+        }
+        final int crc = XzFormat.crc32Result(counting.hash);
+        counting.hash = null;
+        final byte[] footer = new byte[16];
+        counting.readFully(footer, 0, footer.length);
+        final long indexSize = counting.count - footer.length - indexStart;
+        if (XzFormat.readIntLE(footer, 0) != crc) {
+            throw new CompressAlgorithmException("index CRC32");
+        }
+        if (XzFormat.readIntLE(footer, 4) != XzFormat.crc32(footer, 8, 6)) {
+            throw new CompressAlgorithmException("stream footer CRC32");
+        }
+        if (((XzFormat.readIntLE(footer, 8) + 1L) << 2) != indexSize + 4) {
+            throw new CompressAlgorithmException("backward size");
+        }
+        if (footer[12] != 0 || footer[13] != checkType || footer[14] != 'Y' || footer[15] != 'Z') {
+            throw new CompressAlgorithmException("stream footer");
+        }
+    }
+
+    /**
+     * Skips stream padding, then reads the header of the next stream if any
+     */
+    private void nextStream() throws IOException {
+        final XzFormat.CountingInputStream counting = this.counting;
+        final byte[] header = new byte[12];
+        while (true) {
+            int count = counting.readNBytes(header, 0, 4);
+            if (count == 0) {
+                endReached = true;
+                return;
+            }
+            if (count != 4) {
+                throw new CompressAlgorithmException("stream padding");
+            }
+            if (XzFormat.readIntLE(header, 0) != 0) {
+                break;
+            }
+        }
+        counting.readFully(header, 4, 8);
+        readStreamHeader(header);
+    }
+
+    @Override
+    @DataType("u8+{-1}")
+    public int read() throws IOException {
+        return read(single, 0, 1) == -1 ? -1 : 0xff & single[0];
+    }
+
+    @Override
+    public int read(@NotNull byte[] array, int offset, int length) throws IOException {
+        if (offset < 0 || length < 0 || Math.addExact(offset, length) > array.length) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (length == 0) {
+            return 0;
+        }
+        while (!endReached) {
+            if (block == null) {
+                if (!readBlockHeader()) {
+                    readIndexAndFooter();
+                    nextStream();
+                }
+                continue;
+            }
+            int count = block.read(array, offset, length);
+            if (count > 0) {
+                blockUncompressedSize += count;
+                if (check != null) {
+                    check.update(array, offset, count);
+                }
+                return count;
+            }
+            finishBlock();
+        }
+        return -1;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        final byte[] buffer = new byte[(int) Math.min(n, 1 << 12)];
+        long m = 0L;
+        while (m < n) {
+            int count = read(buffer, 0, (int) Math.min(n - m, buffer.length));
+            if (count == -1) {
+                break;
+            }
+            m += count;
+        }
+        return m;
+    }
+
+    @Override
+    public int available() {
+        return block != null ? block.available() : 0;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public void mark(int readLimit) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void reset() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public String toString() {
+        return "XzDecodeInputStream[checkType = " + checkType + ", recordCount = " + recordCount + "]";
+    }
+}
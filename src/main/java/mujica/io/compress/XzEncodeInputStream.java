@@ -0,0 +1,196 @@
+package mujica.io.compress;
+
+import mujica.io.hash.ByteStreamHash;
+import mujica.reflect.modifier.CodeHistory;
+import mujica.reflect.modifier.DataType;
+import mujica.reflect.modifier.Name;
+import mujica.reflect.modifier.ReferencePage;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * Reading from this stream pulls the uncompressed input and gives a .xz stream of one block with the LZMA2 filter.
+ * The block header has no sizes, so the input is never buffered beyond the window of the encoder.
+ */
+@CodeHistory(date = "2026/10/17")
+@ReferencePage(title = "The .xz File Format", href = "https://tukaani.org/xz/xz-file-format.txt")
+@Name(value = "xz encode input stream", language = "en")
+public class XzEncodeInputStream extends FilterInputStream {
+
+    public static final int CHECK_NONE = XzFormat.CHECK_NONE;
+
+    public static final int CHECK_CRC32 = XzFormat.CHECK_CRC32;
+
+    public static final int CHECK_CRC64 = XzFormat.CHECK_CRC64;
+
+    public static final int CHECK_SHA256 = XzFormat.CHECK_SHA256;
+
+    private final int checkType;
+
+    @NotNull
+    private final XzFormat.CountingInputStream uncompressed;
+
+    @NotNull
+    private final Lzma2EncodeInputStream lzma2;
+
+    private long compressedSize;
+
+    /**
+     * header or trailer bytes
+     */
+    @NotNull
+    private byte[] pending;
+
+    private int pendingPosition;
+
+    private boolean trailerWritten;
+
+    private final byte[] single = new byte[1];
+
+    public XzEncodeInputStream(@NotNull InputStream in) {
+        this(in, XzFormat.CHECK_CRC64, LzmaEncodeInputStream.DEFAULT_DICTIONARY_SIZE);
+    }
+
+    /**
+     * @param checkType one of CHECK_NONE, CHECK_CRC32, CHECK_CRC64 and CHECK_SHA256
+     */
+    public XzEncodeInputStream(@NotNull InputStream in, int checkType, int dictionarySize) {
+        this(in, checkType, 3, 0, 2, dictionarySize, LzmaEncodeInputStream.DEFAULT_NICE_LENGTH, true);
+    }
+
+    public XzEncodeInputStream(@NotNull InputStream in, int checkType, int lc, int lp, int pb, int dictionarySize, int niceLength, boolean bt4) {
+        super(in);
+        if (checkType != XzFormat.CHECK_NONE && XzFormat.newCheck(checkType) == null) {
+            throw new IllegalArgumentException("check type = " + checkType);
+        }
+        this.checkType = checkType;
+        uncompressed = new XzFormat.CountingInputStream(in);
+        uncompressed.hash = XzFormat.newCheck(checkType);
+        if (uncompressed.hash != null) {
+            uncompressed.hash.start();
+        }
+        final int dictionarySizeByte = XzFormat.dictionarySizeByte(dictionarySize);
+        lzma2 = new Lzma2EncodeInputStream(uncompressed, lc, lp, pb, Math.max(dictionarySize, 1 << 12), niceLength, bt4);
+        pending = new byte[24];
+        System.arraycopy(XzFormat.HEADER_MAGIC, 0, pending, 0, 6);
+        pending[7] = (byte) checkType;
+        XzFormat.writeIntLE(pending, 8, XzFormat.crc32(pending, 6, 2));
+        // block header: size, flags, filter ID, properties size, properties, padding, CRC32
+        pending[12] = 0x02;
+        pending[14] = XzFormat.FILTER_LZMA2;
+        pending[15] = 0x01;
+        pending[16] = (byte) dictionarySizeByte;
+        XzFormat.writeIntLE(pending, 20, XzFormat.crc32(pending, 12, 8));
+    }
+
+    private void writeTrailer() {
+        final int checkSize = XzFormat.checkSize(checkType);
+        final int padding = (int) (-compressedSize & 3);
+        final long unpaddedSize = 12 + compressedSize + checkSize;
+        final byte[] trailer = new byte[padding + checkSize + 64];
+        int position = padding;
+        final ByteStreamHash hash = uncompressed.hash;
+        if (hash != null) {
+            byte[] check = new byte[checkSize];
+            XzFormat.finishCheck(hash, checkType, check);
+            System.arraycopy(check, 0, trailer, position, checkSize);
+        }
+        position += checkSize;
+        final int indexStart = position;
+        trailer[position++] = 0x00;
+        position = XzFormat.writeVarLong(trailer, position, 1L);
+        position = XzFormat.writeVarLong(trailer, position, unpaddedSize);
+        position = XzFormat.writeVarLong(trailer, position, uncompressed.count);
+        while (((position - indexStart) & 3) != 0) {
+            trailer[position++] = 0x00;
+        }
+        XzFormat.writeIntLE(trailer, position, XzFormat.crc32(trailer, indexStart, position - indexStart));
+        position += 4;
+        final int footerStart = position;
+        XzFormat.writeIntLE(trailer, footerStart + 4, ((position - indexStart) >> 2) - 1);
+        trailer[footerStart + 9] = (byte) checkType;
+        XzFormat.writeIntLE(trailer, footerStart, XzFormat.crc32(trailer, footerStart + 4, 6));
+        trailer[footerStart + 10] = 'Y';
+        trailer[footerStart + 11] = 'Z';
+        position += 12;
+        pending = Arrays.copyOf(trailer, position);
+        pendingPosition = 0;
+        trailerWritten = true;
+    }
+
+    @Override
+    @DataType("u8+{-1}")
+    public int read() throws IOException {
+        return read(single, 0, 1) == -1 ? -1 : 0xff & single[0];
+    }
+
+    @Override
+    public int read(@NotNull byte[] array, int offset, int length) throws IOException {
+        if (offset < 0 || length < 0 || Math.addExact(offset, length) > array.length) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (length == 0) {
+            return 0;
+        }
+        while (true) {
+            if (pendingPosition < pending.length) {
+                int count = Math.min(length, pending.length - pendingPosition);
+                System.arraycopy(pending, pendingPosition, array, offset, count);
+                pendingPosition += count;
+                return count;
+            }
+            if (trailerWritten) {
+                return -1;
+            }
+            int count = lzma2.read(array, offset, length);
+            if (count > 0) {
+                compressedSize += count;
+                return count;
+            }
+            writeTrailer();
+        }
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        final byte[] buffer = new byte[(int) Math.min(n, 1 << 12)];
+        long m = 0L;
+        while (m < n) {
+            int count = read(buffer, 0, (int) Math.min(n - m, buffer.length));
+            if (count == -1) {
+                break;
+            }
+            m += count;
+        }
+        return m;
+    }
+
+    @Override
+    public int available() {
+        return pending.length - pendingPosition + lzma2.available();
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public void mark(int readLimit) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void reset() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public String toString() {
+        return "XzEncodeInputStream[checkType = " + checkType + ", dictionarySize = " + lzma2.dictionarySize + "]";
+    }
+}
@@ -0,0 +1,229 @@
+package mujica.io.compress;
+
+import mujica.ds.i8.view.DataView;
+import mujica.io.hash.ByteStreamHash;
+import mujica.io.hash.CrcSpec;
+import mujica.io.hash.GeneralLongSizedCRC;
+import mujica.io.hash.SHA256;
+import mujica.io.hash.SimpleByteBlockByteStreamHash;
+import mujica.io.hash.SimpleIntSizedCRC;
+import mujica.reflect.modifier.CodeHistory;
+import mujica.reflect.modifier.DataType;
+import mujica.reflect.modifier.ReferencePage;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Constants and helpers shared by the .xz decoder and encoder
+ */
+@CodeHistory(date = "2026/10/17")
+@ReferencePage(title = "The .xz File Format", href = "https://tukaani.org/xz/xz-file-format.txt")
+final class XzFormat {
+
+    static final byte[] HEADER_MAGIC = {(byte) 0xfd, '7', 'z', 'X', 'Z', 0};
+
+    static final int CHECK_NONE = 0x00;
+
+    static final int CHECK_CRC32 = 0x01;
+
+    static final int CHECK_CRC64 = 0x04;
+
+    static final int CHECK_SHA256 = 0x0a;
+
+    static final int FILTER_LZMA2 = 0x21;
+
+    private static final byte[] CHECK_SIZES = {0, 4, 4, 4, 8, 8, 8, 16, 16, 16, 32, 32, 32, 64, 64, 64};
+
+    private XzFormat() {
+        super();
+    }
+
+    static int checkSize(int checkType) {
+        return CHECK_SIZES[checkType];
+    }
+
+    /**
+     * @return null for unsupported check types, whose check fields are skipped
+     */
+    @Nullable
+    static ByteStreamHash newCheck(int checkType) {
+        switch (checkType) {
+            case CHECK_CRC32:
+                return SimpleIntSizedCRC.crc32();
+            case CHECK_CRC64:
+                return new GeneralLongSizedCRC(CrcSpec.CRC64_XZ);
+            case CHECK_SHA256:
+                return new SimpleByteBlockByteStreamHash(new SHA256());
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * CRC32 and CRC64 are stored in little endian, SHA-256 as it is
+     */
+    static void finishCheck(@NotNull ByteStreamHash hash, int checkType, @NotNull byte[] array) {
+        switch (checkType) {
+            case CHECK_CRC32:
+                writeIntLE(array, 0, ((SimpleIntSizedCRC) hash).getAsInt());
+                break;
+            case CHECK_CRC64: {
+                long value = ((GeneralLongSizedCRC) hash).getAsLong();
+                writeIntLE(array, 0, (int) value);
+                writeIntLE(array, 4, (int) (value >>> 32));
+                break;
+            }
+            default: {
+                DataView view = hash.finish();
+                for (int index = 0; index < array.length; index++) {
+                    array[index] = view.getByte(index);
+                }
+            }
+        }
+    }
+
+    static int crc32(@NotNull byte[] array, int offset, int length) {
+        final SimpleIntSizedCRC crc = SimpleIntSizedCRC.crc32();
+        crc.start();
+        crc.update(array, offset, length);
+        return crc.getAsInt();
+    }
+
+    static int crc32Result(@NotNull ByteStreamHash hash) {
+        return ((SimpleIntSizedCRC) hash).getAsInt();
+    }
+
+    static void writeIntLE(@NotNull byte[] array, int offset, int value) {
+        array[offset] = (byte) value;
+        array[offset + 1] = (byte) (value >>> 8);
+        array[offset + 2] = (byte) (value >>> 16);
+        array[offset + 3] = (byte) (value >>> 24);
+    }
+
+    static int readIntLE(@NotNull byte[] array, int offset) {
+        return (0xff & array[offset]) | (0xff & array[offset + 1]) << 8
+                | (0xff & array[offset + 2]) << 16 | (0xff & array[offset + 3]) << 24;
+    }
+
+    /**
+     * @return the next offset
+     */
+    static int writeVarLong(@NotNull byte[] array, int offset, long value) {
+        while (value >= 0x80L) {
+            array[offset++] = (byte) (value | 0x80L);
+            value >>>= 7;
+        }
+        array[offset++] = (byte) value;
+        return offset;
+    }
+
+    /**
+     * LZMA2 dictionary size in the filter properties
+     */
+    @DataType("u8")
+    static int dictionarySizeByte(int dictionarySize) {
+        int value = 0;
+        while (value < 40 && dictionarySize(value) < dictionarySize) {
+            value++;
+        }
+        return value;
+    }
+
+    static int dictionarySize(@DataType("u8") int value) throws IllegalArgumentException {
+        if (value > 40) {
+            throw new IllegalArgumentException("dictionary size byte = " + value);
+        }
+        if (value == 40) {
+            return -1;
+        }
+        return (2 | (value & 1)) << (value / 2 + 11);
+    }
+
+    /**
+     * Counts the bytes read, and updates an optional hash with them
+     */
+    @CodeHistory(date = "2026/10/17")
+    static class CountingInputStream extends FilterInputStream {
+
+        long count;
+
+        @Nullable
+        ByteStreamHash hash;
+
+        CountingInputStream(@NotNull InputStream in) {
+            super(in);
+        }
+
+        @Override
+        @DataType("u8+{-1}")
+        public int read() throws IOException {
+            final int data = in.read();
+            if (data != -1) {
+                count++;
+                if (hash != null) {
+                    hash.update((byte) data);
+                }
+            }
+            return data;
+        }
+
+        @Override
+        public int read(@NotNull byte[] array, int offset, int length) throws IOException {
+            final int count = in.read(array, offset, length);
+            if (count > 0) {
+                this.count += count;
+                if (hash != null) {
+                    hash.update(array, offset, count);
+                }
+            }
+            return count;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            final long m = in.skip(n);
+            count += m;
+            return m;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        @DataType("u8")
+        int readByte() throws IOException {
+            final int data = read();
+            if (data == -1) {
+                throw new EOFException();
+            }
+            return data;
+        }
+
+        void readFully(@NotNull byte[] array, int offset, int length) throws IOException {
+            if (readNBytes(array, offset, length) != length) {
+                throw new EOFException();
+            }
+        }
+
+        long readVarLong() throws IOException {
+            long value = 0L;
+            for (int shift = 0; shift < 63; shift += 7) {
+                int data = readByte();
+                value |= (long) (data & 0x7f) << shift;
+                if (data < 0x80) {
+                    if (data == 0 && shift != 0) {
+                        throw new CompressAlgorithmException("variable length integer not minimal");
+                    }
+                    return value;
+                }
+            }
+            throw new CompressAlgorithmException("variable length integer too long");
+        }
+    }
+}
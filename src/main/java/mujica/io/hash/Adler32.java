@@ -12,8 +12,9 @@ import java.util.function.IntSupplier;
 
 @CodeHistory(date = "2024/12/11", project = "Ultramarine")
 @CodeHistory(date = "2025/4/14")
+@CodeHistory(date = "2026/10/17")
 @ReferencePage(title = "ZLIB Compressed Data Format Specification version 3.3", href = "https://www.rfc-editor.org/rfc/rfc1950.html")
-public class Adler32 extends EachByteStreamHash implements IntSupplier, Serializable {
+public class Adler32 extends EachByteStreamHash implements CombinableHash, IntSupplier, Serializable {
 
     private static final long serialVersionUID = 0xc4dc856ffe5918fbL;
 
@@ -52,6 +53,26 @@ public class Adler32 extends EachByteStreamHash implements IntSupplier, Serializ
         b = (a + b) % MOD;
     }
 
+    private static final int MAX_DEFERRED = 5552; // largest n that 255n(n+1)/2 + (n+1)(MOD-1) fits in 32 bits unsigned
+
+    @Override
+    public void update(@NotNull byte[] array, int offset, int length) {
+        int a = this.a;
+        int b = this.b;
+        while (length > 0) {
+            int end = offset + Math.min(length, MAX_DEFERRED);
+            length -= end - offset;
+            while (offset < end) {
+                a += 0xff & array[offset++];
+                b += a;
+            }
+            a %= MOD;
+            b = Integer.remainderUnsigned(b, MOD);
+        }
+        this.a = a;
+        this.b = b;
+    }
+
     @NotNull
     @Override
     public DataView finish() {
@@ -64,4 +85,26 @@ public class Adler32 extends EachByteStreamHash implements IntSupplier, Serializ
         assert 0 <= b && b < MOD;
         return (b << 16) | a;
     }
+
+    @Override
+    public long combine(long resultA, long resultB, long lengthB) {
+        final int remainder = (int) Long.remainderUnsigned(lengthB, MOD);
+        int sum1 = (int) (resultA & 0xffff);
+        int sum2 = (int) ((long) remainder * sum1 % MOD);
+        sum1 += (int) (resultB & 0xffff) + MOD - 1;
+        sum2 += (int) ((resultA >>> 16) & 0xffff) + (int) ((resultB >>> 16) & 0xffff) + MOD - remainder;
+        if (sum1 >= MOD) {
+            sum1 -= MOD;
+        }
+        if (sum1 >= MOD) {
+            sum1 -= MOD;
+        }
+        if (sum2 >= (MOD << 1)) {
+            sum2 -= (MOD << 1);
+        }
+        if (sum2 >= MOD) {
+            sum2 -= MOD;
+        }
+        return ((long) sum2 << 16) | sum1;
+    }
 }
@@ -6,9 +6,12 @@ import org.jetbrains.annotations.NotNull;
 
 import java.io.Serializable;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.List;
 
 @CodeHistory(date = "2024/12/19", project = "OSHI", name = "BlockDigestCore")
 @CodeHistory(date = "2025/4/17")
+@CodeHistory(date = "2026/10/17")
 public abstract class ByteBlockByteHashCore implements Serializable {
 
     private static final long serialVersionUID = 0x22f098248136ae45L;
@@ -59,6 +62,36 @@ public abstract class ByteBlockByteHashCore implements Serializable {
     @NotNull
     public abstract DataView getDataView(@NotNull Runnable guard);
 
+    /**
+     * Hashes every input independently into consecutive resultBytes() sized slots of out, without per message allocation.
+     * Positions and byte orders of the inputs are kept; this default loses the previous state of this core.
+     */
+    public void hashAll(@NotNull List<ByteBuffer> inputs, @NotNull byte[] out) {
+        final int resultBytes = resultBytes();
+        if (out.length < (long) inputs.size() * resultBytes) {
+            throw new IndexOutOfBoundsException();
+        }
+        final int blockBytes = blockBytes();
+        final ByteBuffer concatBuffer = ByteBuffer.allocate(concatBufferCapacity());
+        final DataView resultView = getDataView(() -> {});
+        int offset = 0;
+        for (ByteBuffer input : inputs) {
+            int position = input.position();
+            ByteOrder order = input.order();
+            start();
+            while (input.remaining() >= blockBytes) {
+                step(input);
+            }
+            concatBuffer.clear();
+            concatBuffer.put(input);
+            finish(concatBuffer);
+            for (int index = 0; index < resultBytes; index++) {
+                out[offset++] = resultView.getByte(index);
+            }
+            input.order(order).position(position);
+        }
+    }
+
     protected void pad10(@NotNull ByteBuffer buffer, int lengthFieldBytes) {
         //
     }
@@ -0,0 +1,19 @@
+package mujica.io.hash;
+
+import mujica.reflect.modifier.CodeHistory;
+
+/**
+ * Hash whose result over a concatenation can be computed from the results over the parts,
+ * so that independently hashed chunks can be merged into one plain result
+ */
+@CodeHistory(date = "2026/10/17")
+public interface CombinableHash extends Hash {
+
+    /**
+     * @param resultA getLongAll() of the result over the first part
+     * @param resultB getLongAll() of the result over the second part, hashed independently
+     * @param lengthB byte length of the second part
+     * @return getLongAll() of the result over the concatenation
+     */
+    long combine(long resultA, long resultB, long lengthB);
+}
@@ -0,0 +1,239 @@
+package mujica.io.hash;
+
+import mujica.reflect.modifier.CodeHistory;
+import mujica.reflect.modifier.Index;
+import mujica.reflect.modifier.ReferencePage;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Byte oriented CRC engine with slicing-by-8 tables, shared by the bit oriented CRC hashes.
+ * Registers are kept in the engine domain:
+ * reflected engines hold the register in the low bitLength bits, bit reversed;
+ * normal engines hold the register in the high bitLength bits, so that any width up to 64 shares one code path.
+ */
+@CodeHistory(date = "2026/10/17")
+@ReferencePage(title = "zlib crc32.c", href = "https://github.com/madler/zlib/blob/master/crc32.c")
+public final class CrcSlicingTable {
+
+    static final int SLICES = 8;
+
+    final int bitLength;
+
+    /**
+     * normal polynomial, aligned to the high bits
+     */
+    final long alignedPolynomial;
+
+    final boolean reflected;
+
+    /**
+     * SLICES * 256 entries, table k maps a byte followed by k zero bytes
+     */
+    @NotNull
+    private final long[] table;
+
+    public CrcSlicingTable(int bitLength, long polynomial, boolean reflected) {
+        super();
+        if (!(0 < bitLength && bitLength <= Long.SIZE)) {
+            throw new IllegalArgumentException();
+        }
+        this.bitLength = bitLength;
+        this.alignedPolynomial = polynomial << (Long.SIZE - bitLength);
+        this.reflected = reflected;
+        this.table = new long[SLICES << 8];
+        if (reflected) {
+            final long reflectedPolynomial = Long.reverse(alignedPolynomial);
+            for (int index = 0; index < 0x100; index++) {
+                long value = index;
+                for (int bit = 0; bit < Byte.SIZE; bit++) {
+                    if ((value & 0x1L) != 0L) {
+                        value = (value >>> 1) ^ reflectedPolynomial;
+                    } else {
+                        value >>>= 1;
+                    }
+                }
+                table[index] = value;
+            }
+            for (int index = 0x100; index < (SLICES << 8); index++) {
+                long value = table[index - 0x100];
+                table[index] = (value >>> 8) ^ table[(int) (value & 0xffL)];
+            }
+        } else {
+            for (int index = 0; index < 0x100; index++) {
+                long value = ((long) index) << (Long.SIZE - Byte.SIZE);
+                for (int bit = 0; bit < Byte.SIZE; bit++) {
+                    if (value < 0L) {
+                        value = (value << 1) ^ alignedPolynomial;
+                    } else {
+                        value <<= 1;
+                    }
+                }
+                table[index] = value;
+            }
+            for (int index = 0x100; index < (SLICES << 8); index++) {
+                long value = table[index - 0x100];
+                table[index] = (value << 8) ^ table[(int) (value >>> (Long.SIZE - Byte.SIZE))];
+            }
+        }
+    }
+
+    /**
+     * @param state normal register value in the low bitLength bits, higher bits ignored
+     * @return register in engine domain
+     */
+    public long toRegister(long state) {
+        state <<= Long.SIZE - bitLength;
+        if (reflected) {
+            state = Long.reverse(state);
+        }
+        return state;
+    }
+
+    /**
+     * @param register register in engine domain
+     * @return normal register value in the low bitLength bits
+     */
+    public long fromRegister(long register) {
+        if (reflected) {
+            register = Long.reverse(register);
+        }
+        return register >>> (Long.SIZE - bitLength);
+    }
+
+    public long update(long register, byte input) {
+        if (reflected) {
+            return (register >>> 8) ^ table[(int) ((register ^ input) & 0xffL)];
+        } else {
+            return (register << 8) ^ table[(int) (register >>> (Long.SIZE - Byte.SIZE)) ^ (0xff & input)];
+        }
+    }
+
+    public long update(long register, @NotNull byte[] array, @Index(of = "array") int offset, int length) {
+        if (offset < 0 || length < 0 || offset + length > array.length) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (length >= SLICES) {
+            return update(register, ByteBuffer.wrap(array, offset, length));
+        }
+        final int end = offset + length;
+        while (offset < end) {
+            register = update(register, array[offset++]);
+        }
+        return register;
+    }
+
+    /**
+     * Consumes all remaining bytes of the buffer; byte order of the buffer is preserved
+     */
+    public long update(long register, @NotNull ByteBuffer input) {
+        final long[] table = this.table;
+        final ByteOrder savedOrder = input.order();
+        if (reflected) {
+            input.order(ByteOrder.LITTLE_ENDIAN);
+            while (input.remaining() >= SLICES) {
+                register ^= input.getLong();
+                register = table[0x700 | (int) (register & 0xffL)]
+                        ^ table[0x600 | (int) ((register >>> 8) & 0xffL)]
+                        ^ table[0x500 | (int) ((register >>> 16) & 0xffL)]
+                        ^ table[0x400 | (int) ((register >>> 24) & 0xffL)]
+                        ^ table[0x300 | (int) ((register >>> 32) & 0xffL)]
+                        ^ table[0x200 | (int) ((register >>> 40) & 0xffL)]
+                        ^ table[0x100 | (int) ((register >>> 48) & 0xffL)]
+                        ^ table[(int) (register >>> 56)];
+            }
+        } else {
+            input.order(ByteOrder.BIG_ENDIAN);
+            while (input.remaining() >= SLICES) {
+                register ^= input.getLong();
+                register = table[0x700 | (int) (register >>> 56)]
+                        ^ table[0x600 | (int) ((register >>> 48) & 0xffL)]
+                        ^ table[0x500 | (int) ((register >>> 40) & 0xffL)]
+                        ^ table[0x400 | (int) ((register >>> 32) & 0xffL)]
+                        ^ table[0x300 | (int) ((register >>> 24) & 0xffL)]
+                        ^ table[0x200 | (int) ((register >>> 16) & 0xffL)]
+                        ^ table[0x100 | (int) ((register >>> 8) & 0xffL)]
+                        ^ table[(int) (register & 0xffL)];
+            }
+        }
+        input.order(savedOrder);
+        while (input.hasRemaining()) {
+            register = update(register, input.get());
+        }
+        return register;
+    }
+
+    /**
+     * Multiplies two aligned polynomials modulo the generator polynomial
+     */
+    private long multiplyModulo(long a, long b) {
+        long product = 0L;
+        for (int bit = 0; bit < bitLength; bit++) {
+            product = multiplyX(product);
+            if (b < 0L) {
+                product ^= a;
+            }
+            b <<= 1;
+        }
+        return product;
+    }
+
+    private long multiplyX(long a) {
+        if (a < 0L) {
+            return (a << 1) ^ alignedPolynomial;
+        } else {
+            return a << 1;
+        }
+    }
+
+    /**
+     * @return aligned x ^ (8 * byteCount) modulo the generator polynomial
+     */
+    private long zeroBytesOperator(long byteCount) {
+        final long one = Long.MIN_VALUE >>> (bitLength - 1);
+        long result = one;
+        long square = multiplyX(one);
+        for (int bit = 1; bit < Byte.SIZE; bit <<= 1) {
+            square = multiplyModulo(square, square); // x ^ 8 after the loop
+        }
+        while (byteCount != 0L) {
+            if ((byteCount & 0x1L) != 0L) {
+                result = multiplyModulo(result, square);
+            }
+            byteCount >>>= 1;
+            if (byteCount != 0L) {
+                square = multiplyModulo(square, square);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Advances a register as if byteCount zero bytes are fed, in O(bitLength ^ 2 * log(byteCount)) time
+     */
+    public long shift(long register, long byteCount) {
+        if (byteCount < 0L) {
+            throw new IllegalArgumentException();
+        }
+        if (reflected) {
+            register = Long.reverse(register);
+        }
+        register = multiplyModulo(register, zeroBytesOperator(byteCount));
+        if (reflected) {
+            register = Long.reverse(register);
+        }
+        return register;
+    }
+
+    /**
+     * @param registerA register after feeding the first part, starting from initialRegister
+     * @param registerB register after feeding the second part, also starting from initialRegister
+     * @param lengthB byte length of the second part
+     * @return register after feeding both parts, starting from initialRegister
+     */
+    public long combine(long initialRegister, long registerA, long registerB, long lengthB) {
+        return registerB ^ shift(registerA ^ initialRegister, lengthB);
+    }
+}
@@ -2,6 +2,8 @@ package mujica.io.hash;
 
 import mujica.reflect.modifier.CodeHistory;
 
+import org.jetbrains.annotations.NotNull;
+
 import java.io.Serializable;
 
 @CodeHistory(date = "2025/4/27")
@@ -21,6 +23,8 @@ public class CrcSpec implements Serializable {
 
     final boolean reflectOut;
 
+    private transient CrcSlicingTable slicingTable;
+
     public CrcSpec(int bitLength, long polynomial, long initialState, long finalFlip, boolean reflectIn, boolean reflectOut) {
         super();
         if (!(0 < bitLength && bitLength <= Long.SIZE)) {
@@ -42,6 +46,38 @@ public class CrcSpec implements Serializable {
             32, 0x1edc6f41, 0xffffffffL, 0xffffffffL, true, true
     );
 
+    public static final CrcSpec CRC64_ECMA_182 = new CrcSpec(
+            64, 0x42f0e1eba9ea3693L, 0L, 0L, false, false
+    );
+
+    public static final CrcSpec CRC64_XZ = new CrcSpec(
+            64, 0x42f0e1eba9ea3693L, -1L, -1L, true, true
+    );
+
+    /**
+     * Tables are built on first use and shared by all hashes of this spec
+     */
+    @NotNull
+    CrcSlicingTable slicingTable() {
+        CrcSlicingTable table = slicingTable;
+        if (table == null) {
+            table = new CrcSlicingTable(bitLength, polynomial, reflectIn);
+            slicingTable = table; // racy but idempotent
+        }
+        return table;
+    }
+
+    @Override
+    public int hashCode() {
+        int h = bitLength;
+        h = h * 31 + Long.hashCode(polynomial);
+        h = h * 31 + Long.hashCode(initialState);
+        h = h * 31 + Long.hashCode(finalFlip);
+        h = h * 31 + Boolean.hashCode(reflectIn);
+        h = h * 31 + Boolean.hashCode(reflectOut);
+        return h;
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (this == obj) {
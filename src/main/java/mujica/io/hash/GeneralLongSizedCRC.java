@@ -3,15 +3,19 @@ package mujica.io.hash;
 import mujica.ds.i8.view.ByteFillPolicy;
 import mujica.ds.i8.view.DataView;
 import mujica.ds.i8.view.LongDataView;
+import mujica.ds.i8.ReadOnlyI8Array;
 import mujica.reflect.modifier.CodeHistory;
+import mujica.reflect.modifier.Index;
 import org.jetbrains.annotations.NotNull;
 
 import java.io.Serializable;
+import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.util.function.LongSupplier;
 
 @CodeHistory(date = "2025/4/27")
-public class GeneralLongSizedCRC extends EachBitStreamHash implements LongSupplier, Serializable {
+@CodeHistory(date = "2026/10/17")
+public class GeneralLongSizedCRC extends EachBitStreamHash implements CombinableHash, LongSupplier, Serializable {
 
     private static final long serialVersionUID = 0xFA1BF111EB5AB0B9L;
 
@@ -64,20 +68,95 @@ public class GeneralLongSizedCRC extends EachBitStreamHash implements LongSuppli
         }
     }
 
+    @Override
+    public void update(byte input) {
+        final CrcSlicingTable table = spec.slicingTable();
+        state = table.fromRegister(table.update(table.toRegister(state), input));
+    }
+
+    @Override
+    public void update(@NotNull ReadOnlyI8Array input) {
+        final CrcSlicingTable table = spec.slicingTable();
+        long register = table.toRegister(state);
+        final int byteLength = input.byteLength();
+        for (int index = 0; index < byteLength; index++) {
+            register = table.update(register, input.getByte(index));
+        }
+        state = table.fromRegister(register);
+    }
+
+    @Override
+    public void update(@NotNull byte[] array, @Index(of = "array") int offset, int length) {
+        final CrcSlicingTable table = spec.slicingTable();
+        state = table.fromRegister(table.update(table.toRegister(state), array, offset, length));
+    }
+
+    @Override
+    public void update(@NotNull byte[] array) {
+        update(array, 0, array.length);
+    }
+
+    @Override
+    public void update(@NotNull ByteBuffer input) {
+        final CrcSlicingTable table = spec.slicingTable();
+        state = table.fromRegister(table.update(table.toRegister(state), input));
+    }
+
     @NotNull
     @Override
     public DataView finish() {
         return new LongDataView(getAsLong(), ByteFillPolicy.RIGHT_TO_MIDDLE, spec.bitLength);
     }
 
+    private long mask() {
+        if (spec.bitLength == Long.SIZE) {
+            return -1L;
+        } else {
+            return (1L << spec.bitLength) - 1L;
+        }
+    }
+
     @Override
     public long getAsLong() {
-        long result = state;
+        return resultOf(state);
+    }
+
+    private long resultOf(long result) {
         if (spec.reflectOut) {
             result = Long.reverse(result) >> (Long.SIZE - spec.bitLength);
         }
         result ^= spec.finalFlip;
-        result &= (1L << spec.bitLength) - 1L;
+        result &= mask();
         return result;
     }
+
+    /**
+     * Inverse of getAsLong()
+     */
+    private long stateOf(long result) {
+        result ^= spec.finalFlip;
+        if (spec.reflectOut) {
+            result = Long.reverse(result) >> (Long.SIZE - spec.bitLength);
+        }
+        return result & mask();
+    }
+
+    /**
+     * @param resultA getAsLong() of the first part
+     * @param resultB getAsLong() of the second part, hashed independently
+     * @param lengthB byte length of the second part
+     * @return getAsLong() of the concatenation
+     */
+    @Override
+    public long combine(long resultA, long resultB, long lengthB) {
+        final CrcSlicingTable table = spec.slicingTable();
+        final long initialRegister = table.toRegister(spec.initialState);
+        final long register = table.combine(
+                initialRegister,
+                table.toRegister(stateOf(resultA)),
+                table.toRegister(stateOf(resultB)),
+                lengthB
+        );
+        return resultOf(table.fromRegister(register));
+    }
 }
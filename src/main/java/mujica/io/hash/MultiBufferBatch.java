@@ -0,0 +1,188 @@
+package mujica.io.hash;
+
+import mujica.reflect.modifier.CodeHistory;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Schedules many independent messages over LANES lanes of a 64 byte block, big endian, Merkle-Damgard compression function.
+ * Block words are laid out as structure of arrays, words[index * LANES + lane], so that the compression loops over lanes
+ * are independent and free for the JIT to interleave or vectorize.
+ * A lane takes the next message as soon as its current one is finished, so messages of different lengths do not stall each other.
+ * Inputs are only read with absolute gets, so their positions and byte orders are never touched, even when one buffer is listed twice.
+ */
+@CodeHistory(date = "2026/10/17")
+abstract class MultiBufferBatch {
+
+    static final int LANES = 8;
+
+    static final int BLOCK_BYTES = 64;
+
+    static final int BLOCK_INTS = 16;
+
+    @NotNull
+    private final List<ByteBuffer> inputs;
+
+    @NotNull
+    private final byte[] out;
+
+    private final int resultInts;
+
+    /**
+     * words[index * LANES + lane], index < BLOCK_INTS
+     */
+    @NotNull
+    final int[] words = new int[BLOCK_INTS * LANES];
+
+    private final int[] message = new int[LANES];
+
+    private final int[] position = new int[LANES];
+
+    private final int[] limit = new int[LANES];
+
+    private final long[] bitLength = new long[LANES];
+
+    private final boolean[] littleEndian = new boolean[LANES];
+
+    /**
+     * padded blocks not loaded yet; -1 while full blocks are still read from the input
+     */
+    private final int[] tailLeft = new int[LANES];
+
+    private final int[] tailOffset = new int[LANES];
+
+    @NotNull
+    private final byte[] tail = new byte[LANES * 2 * BLOCK_BYTES];
+
+    private int nextMessage;
+
+    private int activeCount;
+
+    MultiBufferBatch(@NotNull List<ByteBuffer> inputs, @NotNull byte[] out, int resultBytes) {
+        super();
+        if (out.length < (long) inputs.size() * resultBytes) {
+            throw new IndexOutOfBoundsException();
+        }
+        this.inputs = inputs;
+        this.out = out;
+        this.resultInts = resultBytes >> 2;
+    }
+
+    /**
+     * Resets the chaining state of one lane to the initial value
+     */
+    abstract void startLane(int lane);
+
+    /**
+     * Compresses the current block words into the chaining state of all lanes
+     */
+    abstract void compress();
+
+    abstract int resultInt(int lane, int index);
+
+    void run() {
+        Arrays.fill(message, -1);
+        for (int lane = 0; lane < LANES; lane++) {
+            assign(lane);
+        }
+        while (activeCount > 0) {
+            for (int lane = 0; lane < LANES; lane++) {
+                if (message[lane] >= 0) {
+                    load(lane);
+                }
+            }
+            compress();
+            for (int lane = 0; lane < LANES; lane++) {
+                if (message[lane] >= 0 && tailLeft[lane] == 0) {
+                    complete(lane);
+                    assign(lane);
+                }
+            }
+        }
+    }
+
+    private void assign(int lane) {
+        if (nextMessage >= inputs.size()) {
+            return;
+        }
+        final ByteBuffer input = inputs.get(nextMessage);
+        message[lane] = nextMessage++;
+        position[lane] = input.position();
+        limit[lane] = input.limit();
+        bitLength[lane] = (long) input.remaining() << 3;
+        littleEndian[lane] = input.order() == ByteOrder.LITTLE_ENDIAN;
+        tailLeft[lane] = -1;
+        startLane(lane);
+        activeCount++;
+    }
+
+    private void load(int lane) {
+        final int[] words = this.words;
+        if (tailLeft[lane] < 0) {
+            int start = position[lane];
+            if (limit[lane] - start >= BLOCK_BYTES) {
+                ByteBuffer input = inputs.get(message[lane]);
+                if (littleEndian[lane]) {
+                    for (int index = 0; index < BLOCK_INTS; index++) {
+                        words[index * LANES + lane] = Integer.reverseBytes(input.getInt(start + (index << 2)));
+                    }
+                } else {
+                    for (int index = 0; index < BLOCK_INTS; index++) {
+                        words[index * LANES + lane] = input.getInt(start + (index << 2));
+                    }
+                }
+                position[lane] = start + BLOCK_BYTES;
+                return;
+            }
+            buildTail(lane);
+        }
+        int offset = lane * 2 * BLOCK_BYTES + tailOffset[lane];
+        for (int index = 0; index < BLOCK_INTS; index++) {
+            words[index * LANES + lane] = (tail[offset] << 24)
+                    | ((0xff & tail[offset + 1]) << 16)
+                    | ((0xff & tail[offset + 2]) << 8)
+                    | (0xff & tail[offset + 3]);
+            offset += 4;
+        }
+        tailOffset[lane] += BLOCK_BYTES;
+        tailLeft[lane]--;
+    }
+
+    private void buildTail(int lane) {
+        final ByteBuffer input = inputs.get(message[lane]);
+        final int base = lane * 2 * BLOCK_BYTES;
+        final int remaining = limit[lane] - position[lane];
+        for (int index = 0; index < remaining; index++) {
+            tail[base + index] = input.get(position[lane] + index);
+        }
+        tail[base + remaining] = (byte) 0x80;
+        final int blocks = remaining + 1 + Long.BYTES > BLOCK_BYTES ? 2 : 1;
+        final int end = base + blocks * BLOCK_BYTES;
+        Arrays.fill(tail, base + remaining + 1, end - Long.BYTES, (byte) 0);
+        long value = bitLength[lane];
+        for (int index = end - 1; index >= end - Long.BYTES; index--) {
+            tail[index] = (byte) value;
+            value >>>= Byte.SIZE;
+        }
+        position[lane] = limit[lane];
+        tailLeft[lane] = blocks;
+        tailOffset[lane] = 0;
+    }
+
+    private void complete(int lane) {
+        int offset = message[lane] * (resultInts << 2);
+        for (int index = 0; index < resultInts; index++) {
+            int value = resultInt(lane, index);
+            out[offset++] = (byte) (value >>> 24);
+            out[offset++] = (byte) (value >>> 16);
+            out[offset++] = (byte) (value >>> 8);
+            out[offset++] = (byte) value;
+        }
+        message[lane] = -1;
+        activeCount--;
+    }
+}
@@ -0,0 +1,271 @@
+package mujica.io.hash;
+
+import mujica.ds.i8.view.DataView;
+import mujica.reflect.modifier.CodeHistory;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Supplier;
+
+/**
+ * Hashes a memory mapped file in fixed size chunks on a ForkJoinPool.
+ * Produces per chunk digests, a Merkle tree root over them, and the plain digest of the whole file when the hash is combinable.
+ * A leaf of the tree is H(0x00 || chunk digest); an inner node is H(0x01 || left || right); an odd node is promoted unchanged.
+ */
+@CodeHistory(date = "2026/10/17")
+public class ParallelFileHasher {
+
+    private static final long MAX_MAPPING_BYTES = 1L << 30;
+
+    private static final byte LEAF_PREFIX = 0x00;
+
+    private static final byte INNER_NODE_PREFIX = 0x01;
+
+    @NotNull
+    private final ThreadLocal<ByteStreamHash> localHash;
+
+    private final int chunkBytes;
+
+    @NotNull
+    private final ForkJoinPool pool;
+
+    private final int maxInFlight;
+
+    public ParallelFileHasher(@NotNull Supplier<? extends ByteStreamHash> factory, int chunkBytes, @NotNull ForkJoinPool pool, int maxInFlight) {
+        super();
+        if (chunkBytes <= 0 || maxInFlight <= 0) {
+            throw new IllegalArgumentException();
+        }
+        this.localHash = ThreadLocal.withInitial(factory);
+        this.chunkBytes = chunkBytes;
+        this.pool = pool;
+        this.maxInFlight = maxInFlight;
+    }
+
+    public ParallelFileHasher(@NotNull Supplier<? extends ByteStreamHash> factory, int chunkBytes) {
+        this(factory, chunkBytes, ForkJoinPool.commonPool(), ForkJoinPool.commonPool().getParallelism() << 2);
+    }
+
+    /**
+     * Each worker thread hashes with its own clone of the core
+     */
+    public ParallelFileHasher(@NotNull ByteBlockByteHashCore core, int chunkBytes) {
+        this(() -> new SimpleByteBlockByteStreamHash(core.clone()), chunkBytes);
+    }
+
+    @NotNull
+    private static byte[] toByteArray(@NotNull DataView view) {
+        final byte[] array = new byte[view.byteLength()];
+        for (int index = 0; index < array.length; index++) {
+            array[index] = view.getByte(index);
+        }
+        return array;
+    }
+
+    @NotNull
+    public Result hash(@NotNull Path path) throws IOException {
+        final long startTime = System.nanoTime();
+        final Result result;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final long fileBytes = channel.size();
+            final int chunkCount = (int) Math.max(1L, (fileBytes + chunkBytes - 1) / chunkBytes);
+            result = new Result(fileBytes, chunkCount);
+            final long mappingBytes = Math.max(chunkBytes, MAX_MAPPING_BYTES / chunkBytes * chunkBytes);
+            final ArrayDeque<ForkJoinTask<?>> inFlight = new ArrayDeque<>(maxInFlight);
+            int chunkIndex = 0;
+            for (long mappingStart = 0L; mappingStart < fileBytes; mappingStart += mappingBytes) {
+                int size = (int) Math.min(mappingBytes, fileBytes - mappingStart);
+                MappedByteBuffer mapping = channel.map(FileChannel.MapMode.READ_ONLY, mappingStart, size);
+                for (int chunkStart = 0; chunkStart < size; chunkStart += chunkBytes) {
+                    if (inFlight.size() >= maxInFlight) {
+                        long stallStart = System.nanoTime();
+                        inFlight.removeFirst().join();
+                        result.stallCount++;
+                        result.stallNanos += System.nanoTime() - stallStart;
+                    }
+                    ByteBuffer chunk = mapping.duplicate();
+                    chunk.limit(Math.min(size, chunkStart + chunkBytes)).position(chunkStart);
+                    inFlight.addLast(pool.submit(new ChunkTask(result, chunkIndex++, chunk)));
+                    result.maxInFlight = Math.max(result.maxInFlight, inFlight.size());
+                }
+            }
+            if (fileBytes == 0L) {
+                new ChunkTask(result, 0, ByteBuffer.allocate(0)).run();
+            }
+            while (!inFlight.isEmpty()) {
+                inFlight.removeFirst().join();
+            }
+        }
+        return result.complete(System.nanoTime() - startTime);
+    }
+
+    private class ChunkTask implements Runnable {
+
+        @NotNull
+        final Result result;
+
+        final int chunkIndex;
+
+        @NotNull
+        final ByteBuffer chunk;
+
+        ChunkTask(@NotNull Result result, int chunkIndex, @NotNull ByteBuffer chunk) {
+            super();
+            this.result = result;
+            this.chunkIndex = chunkIndex;
+            this.chunk = chunk;
+        }
+
+        @Override
+        public void run() {
+            final ByteStreamHash hash = localHash.get();
+            final DataView digest = hash.apply(chunk);
+            result.chunkDigests[chunkIndex] = toByteArray(digest);
+            if (hash instanceof CombinableHash) {
+                result.chunkResults[chunkIndex] = digest.getLongAll();
+            }
+            hash.start();
+            hash.update(LEAF_PREFIX);
+            hash.update(result.chunkDigests[chunkIndex]);
+            result.leaves[chunkIndex] = toByteArray(hash.finish());
+        }
+    }
+
+    public class Result {
+
+        private final long fileBytes;
+
+        @NotNull
+        private final byte[][] chunkDigests;
+
+        @NotNull
+        private final long[] chunkResults;
+
+        @NotNull
+        private final byte[][] leaves;
+
+        private byte[] merkleRoot;
+
+        private long nanos;
+
+        private int maxInFlight;
+
+        private int stallCount;
+
+        private long stallNanos;
+
+        Result(long fileBytes, int chunkCount) {
+            super();
+            this.fileBytes = fileBytes;
+            this.chunkDigests = new byte[chunkCount][];
+            this.chunkResults = new long[chunkCount];
+            this.leaves = new byte[chunkCount][];
+        }
+
+        @NotNull
+        Result complete(long nanos) {
+            this.nanos = nanos;
+            final ByteStreamHash hash = localHash.get();
+            byte[][] level = leaves.clone();
+            int levelLength = level.length;
+            while (levelLength > 1) {
+                int nextLength = 0;
+                for (int index = 0; index < levelLength; index += 2) {
+                    if (index + 1 < levelLength) {
+                        hash.start();
+                        hash.update(INNER_NODE_PREFIX);
+                        hash.update(level[index]);
+                        hash.update(level[index + 1]);
+                        level[nextLength++] = toByteArray(hash.finish());
+                    } else {
+                        level[nextLength++] = level[index];
+                    }
+                }
+                levelLength = nextLength;
+            }
+            merkleRoot = level[0];
+            return this;
+        }
+
+        public long fileBytes() {
+            return fileBytes;
+        }
+
+        public int chunkBytes() {
+            return chunkBytes;
+        }
+
+        public int chunkCount() {
+            return chunkDigests.length;
+        }
+
+        @NotNull
+        public byte[] chunkDigest(int chunkIndex) {
+            return chunkDigests[chunkIndex].clone();
+        }
+
+        @NotNull
+        public byte[] merkleRoot() {
+            return merkleRoot.clone();
+        }
+
+        /**
+         * @return getLongAll() of the digest over the whole file, or null if the hash cannot combine
+         */
+        @Nullable
+        public Long plainResult() {
+            final ByteStreamHash hash = localHash.get();
+            if (!(hash instanceof CombinableHash)) {
+                return null;
+            }
+            final CombinableHash combinable = (CombinableHash) hash;
+            long plain = chunkResults[0];
+            for (int index = 1; index < chunkResults.length; index++) {
+                long lengthB = Math.min(chunkBytes, fileBytes - (long) index * chunkBytes);
+                plain = combinable.combine(plain, chunkResults[index], lengthB);
+            }
+            return plain;
+        }
+
+        public long nanos() {
+            return nanos;
+        }
+
+        /**
+         * @return bytes per second over the whole call, including mapping and tree building
+         */
+        public double throughput() {
+            return fileBytes * 1e9 / Math.max(1L, nanos);
+        }
+
+        public int maxInFlight() {
+            return maxInFlight;
+        }
+
+        /**
+         * @return times the submitting thread blocked because maxInFlight chunks were outstanding
+         */
+        public int stallCount() {
+            return stallCount;
+        }
+
+        public long stallNanos() {
+            return stallNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d bytes in %d chunks, %.1f MB/s, in flight <= %d, %d stalls in %d ms",
+                    fileBytes, chunkDigests.length, throughput() * 1e-6, maxInFlight, stallCount, stallNanos / 1000000);
+        }
+    }
+}
@@ -10,10 +10,12 @@ import org.jetbrains.annotations.NotNull;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.util.Arrays;
+import java.util.List;
 
 @CodeHistory(date = "2024/11/4", project = "UltraIO", name = "SHA1")
 @CodeHistory(date = "2024/12/20", project = "OSHI", name = "SHA1Core")
 @CodeHistory(date = "2025/5/16")
+@CodeHistory(date = "2026/10/17")
 @ReferencePage(title = "FIPS PUB 180-4", href = "https://csrc.nist.gov/publications/fips/fips180-4/fips-180-4.pdf")
 public class SHA1 extends ByteBlockBitHashCore implements IntSequence {
 
@@ -124,6 +126,124 @@ public class SHA1 extends ByteBlockBitHashCore implements IntSequence {
         blockCount++;
     }
 
+    /**
+     * Interleaves MultiBufferBatch.LANES independent messages
+     */
+    @Override
+    public void hashAll(@NotNull List<ByteBuffer> inputs, @NotNull byte[] out) {
+        new MultiBufferBatch(inputs, out, resultBytes()) {
+
+            final int[] state = new int[5 * LANES];
+
+            final int[] schedule = new int[80 * 2];
+
+            @Override
+            void startLane(int lane) {
+                state[lane] = 0x67452301;
+                state[LANES + lane] = 0xefcdab89;
+                state[2 * LANES + lane] = 0x98badcfe;
+                state[3 * LANES + lane] = 0x10325476;
+                state[4 * LANES + lane] = 0xc3d2e1f0;
+            }
+
+            /**
+             * Two lanes per pass, interleaved in locals; schedule words of lane pair are adjacent
+             */
+            @Override
+            void compress() {
+                final int[] words = this.words;
+                final int[] w = schedule;
+                final int[] state = this.state;
+                for (int lane = 0; lane < LANES; lane += 2) {
+                    for (int i = 0; i < 16; i++) {
+                        w[i << 1] = words[i * LANES + lane];
+                        w[(i << 1) + 1] = words[i * LANES + lane + 1];
+                    }
+                    for (int i = 32; i < 160; i++) {
+                        int xor = w[i - 6] ^ w[i - 16] ^ w[i - 28] ^ w[i - 32];
+                        w[i] = (xor << 1) | (xor >>> 31);
+                    }
+                    int a0 = state[lane], a1 = state[lane + 1];
+                    int b0 = state[LANES + lane], b1 = state[LANES + lane + 1];
+                    int c0 = state[2 * LANES + lane], c1 = state[2 * LANES + lane + 1];
+                    int d0 = state[3 * LANES + lane], d1 = state[3 * LANES + lane + 1];
+                    int e0 = state[4 * LANES + lane], e1 = state[4 * LANES + lane + 1];
+                    for (int i = 0; i < 20; i++) {
+                        int t0 = w[i << 1] + ((a0 << 5) | (a0 >>> 27)) + e0 + ch(b0, c0, d0) + 0x5a827999;
+                        int t1 = w[(i << 1) + 1] + ((a1 << 5) | (a1 >>> 27)) + e1 + ch(b1, c1, d1) + 0x5a827999;
+                        e0 = d0;
+                        e1 = d1;
+                        d0 = c0;
+                        d1 = c1;
+                        c0 = (b0 << 30) | (b0 >>> 2);
+                        c1 = (b1 << 30) | (b1 >>> 2);
+                        b0 = a0;
+                        b1 = a1;
+                        a0 = t0;
+                        a1 = t1;
+                    }
+                    for (int i = 20; i < 40; i++) {
+                        int t0 = w[i << 1] + ((a0 << 5) | (a0 >>> 27)) + e0 + parity(b0, c0, d0) + 0x6ed9eba1;
+                        int t1 = w[(i << 1) + 1] + ((a1 << 5) | (a1 >>> 27)) + e1 + parity(b1, c1, d1) + 0x6ed9eba1;
+                        e0 = d0;
+                        e1 = d1;
+                        d0 = c0;
+                        d1 = c1;
+                        c0 = (b0 << 30) | (b0 >>> 2);
+                        c1 = (b1 << 30) | (b1 >>> 2);
+                        b0 = a0;
+                        b1 = a1;
+                        a0 = t0;
+                        a1 = t1;
+                    }
+                    for (int i = 40; i < 60; i++) {
+                        int t0 = w[i << 1] + ((a0 << 5) | (a0 >>> 27)) + e0 + maj(b0, c0, d0) + 0x8f1bbcdc;
+                        int t1 = w[(i << 1) + 1] + ((a1 << 5) | (a1 >>> 27)) + e1 + maj(b1, c1, d1) + 0x8f1bbcdc;
+                        e0 = d0;
+                        e1 = d1;
+                        d0 = c0;
+                        d1 = c1;
+                        c0 = (b0 << 30) | (b0 >>> 2);
+                        c1 = (b1 << 30) | (b1 >>> 2);
+                        b0 = a0;
+                        b1 = a1;
+                        a0 = t0;
+                        a1 = t1;
+                    }
+                    for (int i = 60; i < 80; i++) {
+                        int t0 = w[i << 1] + ((a0 << 5) | (a0 >>> 27)) + e0 + parity(b0, c0, d0) + 0xca62c1d6;
+                        int t1 = w[(i << 1) + 1] + ((a1 << 5) | (a1 >>> 27)) + e1 + parity(b1, c1, d1) + 0xca62c1d6;
+                        e0 = d0;
+                        e1 = d1;
+                        d0 = c0;
+                        d1 = c1;
+                        c0 = (b0 << 30) | (b0 >>> 2);
+                        c1 = (b1 << 30) | (b1 >>> 2);
+                        b0 = a0;
+                        b1 = a1;
+                        a0 = t0;
+                        a1 = t1;
+                    }
+                    state[lane] += a0;
+                    state[lane + 1] += a1;
+                    state[LANES + lane] += b0;
+                    state[LANES + lane + 1] += b1;
+                    state[2 * LANES + lane] += c0;
+                    state[2 * LANES + lane + 1] += c1;
+                    state[3 * LANES + lane] += d0;
+                    state[3 * LANES + lane + 1] += d1;
+                    state[4 * LANES + lane] += e0;
+                    state[4 * LANES + lane + 1] += e1;
+                }
+            }
+
+            @Override
+            int resultInt(int lane, int index) {
+                return state[index * LANES + lane];
+            }
+        }.run();
+    }
+
     @NotNull
     @Override
     public DataView getDataView(@NotNull Runnable guard) {
@@ -7,6 +7,7 @@ import org.jetbrains.annotations.NotNull;
 @CodeHistory(date = "2024/11/9", project = "Ultramarine")
 @CodeHistory(date = "2024/12/20", project = "OSHI", name = "SHA224Core")
 @CodeHistory(date = "2025/5/16")
+@CodeHistory(date = "2026/10/17")
 @ReferencePage(title = "FIPS PUB 180-4", href = "https://csrc.nist.gov/publications/fips/fips180-4/fips-180-4.pdf")
 public class SHA224 extends SHA256 {
 
@@ -44,6 +45,12 @@ public class SHA224 extends SHA256 {
         blockCount = 0;
     }
 
+    @NotNull
+    @Override
+    int[] initial() {
+        return INITIAL;
+    }
+
     @Override
     public int intLength() {
         return 7;
@@ -10,10 +10,12 @@ import org.jetbrains.annotations.NotNull;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.util.Arrays;
+import java.util.List;
 
 @CodeHistory(date = "2024/11/2", project = "UltraIO")
 @CodeHistory(date = "2024/12/20", project = "OSHI", name = "SHA256Core")
 @CodeHistory(date = "2025/5/16")
+@CodeHistory(date = "2026/10/17")
 @ReferencePage(title = "FIPS PUB 180-4", href = "https://csrc.nist.gov/publications/fips/fips180-4/fips-180-4.pdf")
 public class SHA256 extends ByteBlockBitHashCore implements IntSequence {
 
@@ -111,6 +113,14 @@ public class SHA256 extends ByteBlockBitHashCore implements IntSequence {
         blockCount = 0;
     }
 
+    /**
+     * @return the initial hash value, not to be modified
+     */
+    @NotNull
+    int[] initial() {
+        return INITIAL;
+    }
+
     @Override
     public void step(@NotNull ByteBuffer buffer) {
         buffer.order(ByteOrder.BIG_ENDIAN);
@@ -151,6 +161,99 @@ public class SHA256 extends ByteBlockBitHashCore implements IntSequence {
         blockCount++;
     }
 
+    /**
+     * Interleaves MultiBufferBatch.LANES independent messages in local state, so the state of this core is kept;
+     * also serves SHA224 through initial()
+     */
+    @Override
+    public void hashAll(@NotNull List<ByteBuffer> inputs, @NotNull byte[] out) {
+        final int[] initial = initial();
+        new MultiBufferBatch(inputs, out, resultBytes()) {
+
+            final int[] state = new int[INITIAL_LENGTH * LANES];
+
+            final int[] schedule = new int[ADDEND_LENGTH * 2];
+
+            @Override
+            void startLane(int lane) {
+                for (int index = 0; index < INITIAL_LENGTH; index++) {
+                    state[index * LANES + lane] = initial[index];
+                }
+            }
+
+            /**
+             * Two lanes per pass, interleaved in locals; schedule words of lane pair are adjacent
+             */
+            @Override
+            void compress() {
+                final int[] words = this.words;
+                final int[] w = schedule;
+                final int[] state = this.state;
+                for (int lane = 0; lane < LANES; lane += 2) {
+                    for (int i = 0; i < 16; i++) {
+                        w[i << 1] = words[i * LANES + lane];
+                        w[(i << 1) + 1] = words[i * LANES + lane + 1];
+                    }
+                    for (int i = 32; i < (ADDEND_LENGTH << 1); i++) {
+                        w[i] = sigma1(w[i - 4]) + w[i - 14] + sigma0(w[i - 30]) + w[i - 32];
+                    }
+                    int a0 = state[lane], a1 = state[lane + 1];
+                    int b0 = state[LANES + lane], b1 = state[LANES + lane + 1];
+                    int c0 = state[2 * LANES + lane], c1 = state[2 * LANES + lane + 1];
+                    int d0 = state[3 * LANES + lane], d1 = state[3 * LANES + lane + 1];
+                    int e0 = state[4 * LANES + lane], e1 = state[4 * LANES + lane + 1];
+                    int f0 = state[5 * LANES + lane], f1 = state[5 * LANES + lane + 1];
+                    int g0 = state[6 * LANES + lane], g1 = state[6 * LANES + lane + 1];
+                    int h0 = state[7 * LANES + lane], h1 = state[7 * LANES + lane + 1];
+                    for (int i = 0; i < ADDEND_LENGTH; i++) {
+                        int k = ADDEND[i];
+                        int t10 = h0 + bigSigma1(e0) + ch(e0, f0, g0) + k + w[i << 1];
+                        int t11 = h1 + bigSigma1(e1) + ch(e1, f1, g1) + k + w[(i << 1) + 1];
+                        int t20 = bigSigma0(a0) + maj(a0, b0, c0);
+                        int t21 = bigSigma0(a1) + maj(a1, b1, c1);
+                        h0 = g0;
+                        h1 = g1;
+                        g0 = f0;
+                        g1 = f1;
+                        f0 = e0;
+                        f1 = e1;
+                        e0 = d0 + t10;
+                        e1 = d1 + t11;
+                        d0 = c0;
+                        d1 = c1;
+                        c0 = b0;
+                        c1 = b1;
+                        b0 = a0;
+                        b1 = a1;
+                        a0 = t10 + t20;
+                        a1 = t11 + t21;
+                    }
+                    state[lane] += a0;
+                    state[lane + 1] += a1;
+                    state[LANES + lane] += b0;
+                    state[LANES + lane + 1] += b1;
+                    state[2 * LANES + lane] += c0;
+                    state[2 * LANES + lane + 1] += c1;
+                    state[3 * LANES + lane] += d0;
+                    state[3 * LANES + lane + 1] += d1;
+                    state[4 * LANES + lane] += e0;
+                    state[4 * LANES + lane + 1] += e1;
+                    state[5 * LANES + lane] += f0;
+                    state[5 * LANES + lane + 1] += f1;
+                    state[6 * LANES + lane] += g0;
+                    state[6 * LANES + lane + 1] += g1;
+                    state[7 * LANES + lane] += h0;
+                    state[7 * LANES + lane + 1] += h1;
+                }
+            }
+
+            @Override
+            int resultInt(int lane, int index) {
+                return state[index * LANES + lane];
+            }
+        }.run();
+    }
+
     @NotNull
     @Override
     public DataView getDataView(@NotNull Runnable guard) {
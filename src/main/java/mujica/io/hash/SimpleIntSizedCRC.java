@@ -3,16 +3,20 @@ package mujica.io.hash;
 import mujica.ds.i8.view.ByteFillPolicy;
 import mujica.ds.i8.view.DataView;
 import mujica.ds.i8.view.IntDataView;
+import mujica.ds.i8.ReadOnlyI8Array;
 import mujica.reflect.modifier.CodeHistory;
+import mujica.reflect.modifier.Index;
 import org.jetbrains.annotations.NotNull;
 
 import java.io.Serializable;
+import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.util.function.IntSupplier;
 
 @CodeHistory(date = "2024/12/11", name = "BaselineCRC32")
 @CodeHistory(date = "2025/4/12")
-public class SimpleIntSizedCRC extends EachBitStreamHash implements IntSupplier, Serializable {
+@CodeHistory(date = "2026/10/17")
+public class SimpleIntSizedCRC extends EachBitStreamHash implements CombinableHash, IntSupplier, Serializable {
 
     private static final long serialVersionUID = 0xf49818281cf481eeL;
 
@@ -30,6 +34,8 @@ public class SimpleIntSizedCRC extends EachBitStreamHash implements IntSupplier,
 
     private final int polynomial;
 
+    private transient CrcSlicingTable slicingTable;
+
     public SimpleIntSizedCRC(int polynomial) {
         super();
         this.polynomial = polynomial;
@@ -46,6 +52,7 @@ public class SimpleIntSizedCRC extends EachBitStreamHash implements IntSupplier,
     public SimpleIntSizedCRC clone() {
         final SimpleIntSizedCRC that = new SimpleIntSizedCRC(polynomial);
         that.remainder = this.remainder;
+        that.slicingTable = this.slicingTable;
         return that;
     }
 
@@ -70,6 +77,71 @@ public class SimpleIntSizedCRC extends EachBitStreamHash implements IntSupplier,
         }
     }
 
+    /**
+     * The remainder is already a reflected register in the engine domain
+     */
+    @NotNull
+    private CrcSlicingTable slicingTable() {
+        CrcSlicingTable table = slicingTable;
+        if (table == null) {
+            if (polynomial == 0xedb88320) {
+                table = CrcSpec.CRC32.slicingTable();
+            } else if (polynomial == 0x82f63b78) {
+                table = CrcSpec.CRC32C.slicingTable();
+            } else {
+                table = new CrcSlicingTable(Integer.SIZE, 0xffffffffL & Integer.reverse(polynomial), true);
+            }
+            slicingTable = table;
+        }
+        return table;
+    }
+
+    @Override
+    public void update(byte input) {
+        remainder = (int) slicingTable().update(0xffffffffL & remainder, input);
+    }
+
+    @Override
+    public void update(@NotNull ReadOnlyI8Array input) {
+        final CrcSlicingTable table = slicingTable();
+        long register = 0xffffffffL & remainder;
+        final int byteLength = input.byteLength();
+        for (int index = 0; index < byteLength; index++) {
+            register = table.update(register, input.getByte(index));
+        }
+        remainder = (int) register;
+    }
+
+    @Override
+    public void update(@NotNull byte[] array, @Index(of = "array") int offset, int length) {
+        remainder = (int) slicingTable().update(0xffffffffL & remainder, array, offset, length);
+    }
+
+    @Override
+    public void update(@NotNull byte[] array) {
+        update(array, 0, array.length);
+    }
+
+    @Override
+    public void update(@NotNull ByteBuffer input) {
+        remainder = (int) slicingTable().update(0xffffffffL & remainder, input);
+    }
+
+    /**
+     * @param resultA getAsInt() of the first part
+     * @param resultB getAsInt() of the second part, hashed independently
+     * @param lengthB byte length of the second part
+     * @return getAsInt() of the concatenation
+     */
+    public int combine(int resultA, int resultB, long lengthB) {
+        return ~(int) slicingTable().combine(0xffffffffL, 0xffffffffL & ~resultA, 0xffffffffL & ~resultB, lengthB);
+    }
+
+    @Override
+    public long combine(long resultA, long resultB, long lengthB) {
+        return 0xffffffffL & combine((int) resultA, (int) resultB, lengthB);
+    }
+
     @NotNull
     @Override
     public DataView finish() {
@@ -5,6 +5,7 @@ import mujica.io.stream.BufferedLimitedInputStream;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.attribute.BasicFileAttributes;
@@ -48,7 +49,51 @@ public class GzipReader implements NestReader<NestResourceKey.Gzip, BasicFileAtt
         readMagic(is);
     }
 
-    private void readMagic(@NotNull InputStream is) throws IOException {
+    /**
+     * Reads one member header, up to the deflate data
+     *
+     * @return header length in bytes
+     */
+    public static int skipHeader(@NotNull InputStream is) throws IOException {
+        readMagic(is);
+        final int flags = is.read();
+        if ((flags & ~FLAG_ALL) != 0) { // EOF check included
+            throw new IOException("reserved bits in flags = " + flags);
+        }
+        is.skipNBytes(6); // modification time, extra flags and operating system
+        int length = 10;
+        if ((flags & FLAG_EXTRA) != 0) {
+            int extraLength = readUnsignedShort(is);
+            is.skipNBytes(extraLength);
+            length += 2 + extraLength;
+        }
+        if ((flags & FLAG_NAME) != 0) {
+            length += skipZeroTerminated(is);
+        }
+        if ((flags & FLAG_COMMENT) != 0) {
+            length += skipZeroTerminated(is);
+        }
+        if ((flags & FLAG_HEADER_CRC) != 0) {
+            readUnsignedShort(is);
+            length += 2;
+        }
+        return length;
+    }
+
+    private static int skipZeroTerminated(@NotNull InputStream is) throws IOException {
+        int length = 0;
+        int octet;
+        do {
+            octet = is.read();
+            length++;
+        } while (octet > 0);
+        if (octet == -1) {
+            throw new EOFException();
+        }
+        return length;
+    }
+
+    private static void readMagic(@NotNull InputStream is) throws IOException {
         final int id1 = is.read();
         if (id1 != 0x1f) { // EOF check included
             throw new IOException("ID1 = " + id1);
@@ -64,7 +109,7 @@ public class GzipReader implements NestReader<NestResourceKey.Gzip, BasicFileAtt
     }
 
     @Nullable
-    private FileTime readModificationTime(@NotNull InputStream is) throws IOException {
+    private static FileTime readModificationTime(@NotNull InputStream is) throws IOException {
         long timeStamp = 0L;
         for (int shift = 0; shift < Integer.SIZE; shift += Byte.SIZE) {
             timeStamp |= is.read() << shift; // little (intel) endian
@@ -78,7 +123,11 @@ public class GzipReader implements NestReader<NestResourceKey.Gzip, BasicFileAtt
         return FileTime.from(timeStamp, TimeUnit.SECONDS);
     }
 
-    private int readUnsignedShort(@NotNull InputStream is) throws IOException {
-        return 0;
+    private static int readUnsignedShort(@NotNull InputStream is) throws IOException {
+        final int value = is.read() | (is.read() << Byte.SIZE); // little (intel) endian
+        if (value < 0) {
+            throw new EOFException();
+        }
+        return value;
     }
 }
@@ -0,0 +1,297 @@
+package mujica.json.container;
+
+import mujica.json.handler.JsonHandler;
+import mujica.reflect.modifier.CodeHistory;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Serializable;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Immutable JSON value as one long per token, and the characters of its strings in one byte array arena.
+ * A token keeps its tag in the highest 4 bits. An opening bracket keeps the length of its span and the child count, and has no closing token,
+ * so a subtree is a contiguous span which can be skipped or copied without rebasing.
+ * Keys come from a dictionary array shared by the tapes of one JsonTapeBuilder, unless the dictionary is full.
+ */
+@CodeHistory(date = "2026/10/17")
+public final class JsonTape implements Serializable {
+
+    private static final long serialVersionUID = 0x3F6B0C19D48A27E5L;
+
+    static final int TAG_NULL = 0;
+    static final int TAG_FALSE = 1;
+    static final int TAG_TRUE = 2;
+    static final int TAG_INT = 3; // value in low 32 bits
+    static final int TAG_LONG = 4; // value in low 60 bits
+    static final int TAG_FLOAT = 5; // bits in low 32 bits
+    static final int TAG_DOUBLE = 6; // bits shifted right by 4, when the lowest 4 bits are zero
+    static final int TAG_STRING = 7; // arena offset in low 32 bits, length in bits 32..59
+    static final int TAG_KEY = 8; // same as string
+    static final int TAG_SHARED_KEY = 9; // dictionary offset and length
+    static final int TAG_RAW_NUMBER = 10; // FastNumber, as string
+    static final int TAG_BIG_INTEGER = 11; // as string
+    static final int TAG_OPEN_OBJECT = 12; // span length in low 32 bits, member count in bits 32..59
+    static final int TAG_OPEN_ARRAY = 13; // span length in low 32 bits, element count in bits 32..59
+    static final int TAG_WIDE_LONG = 14; // value in next word
+    static final int TAG_WIDE_DOUBLE = 15; // bits in next word
+
+    static final int MAX_COUNT = (1 << 28) - 1;
+
+    static final byte[] EMPTY_ARENA = {};
+
+    static final char[] EMPTY_DICTIONARY = {};
+
+    @NotNull
+    final long[] tokens;
+
+    @NotNull
+    final byte[] arena;
+
+    final boolean wide; // arena in UTF-16BE, or else Latin-1
+
+    @NotNull
+    final char[] dictionary; // appended by the builder after dictionaryLength
+
+    final int dictionaryLength;
+
+    JsonTape(@NotNull long[] tokens, @NotNull byte[] arena, boolean wide, @NotNull char[] dictionary, int dictionaryLength) {
+        super();
+        this.tokens = tokens;
+        this.arena = arena;
+        this.wide = wide;
+        this.dictionary = dictionary;
+        this.dictionaryLength = dictionaryLength;
+    }
+
+    static long token(int tag, long payload) {
+        return (long) tag << 60 | payload;
+    }
+
+    static int tag(long token) {
+        return (int) (token >>> 60);
+    }
+
+    static int low(long token) {
+        return (int) token;
+    }
+
+    static int high(long token) {
+        return (int) (token >>> 32) & MAX_COUNT;
+    }
+
+    public int tokenCount() {
+        return tokens.length;
+    }
+
+    public int arenaLength() {
+        return wide ? arena.length >> 1 : arena.length;
+    }
+
+    public int dictionaryLength() {
+        return dictionaryLength;
+    }
+
+    /**
+     * @return approximate bytes retained on a 64-bit JVM with compressed references, counting the dictionary in full,
+     * although the tapes of one builder share it
+     */
+    public long retainedSize() {
+        long size = 32L + 16L + 8L * tokens.length;
+        if (arena.length != 0) {
+            size += 16L + (arena.length + 7 & ~7);
+        }
+        if (dictionary.length != 0) {
+            size += 16L + (2L * dictionary.length + 7 & ~7);
+        }
+        return size;
+    }
+
+    /**
+     * @return index after the value at position
+     */
+    int next(int position) {
+        final long token = tokens[position];
+        switch (tag(token)) {
+            case TAG_WIDE_LONG:
+            case TAG_WIDE_DOUBLE:
+                return position + 2;
+            case TAG_OPEN_OBJECT:
+            case TAG_OPEN_ARRAY:
+                return position + low(token);
+            default:
+                return position + 1;
+        }
+    }
+
+    @NotNull
+    String string(long token) {
+        final int offset = low(token);
+        final int length = high(token);
+        if (tag(token) == TAG_SHARED_KEY) {
+            return new String(dictionary, offset, length);
+        }
+        if (wide) {
+            return new String(arena, offset << 1, length << 1, StandardCharsets.UTF_16BE);
+        }
+        return new String(arena, offset, length, StandardCharsets.ISO_8859_1);
+    }
+
+    boolean keyEquals(long token, @NotNull String name) {
+        final int length = high(token);
+        if (length != name.length()) {
+            return false;
+        }
+        final int offset = low(token);
+        if (tag(token) == TAG_SHARED_KEY) {
+            for (int index = 0; index < length; index++) {
+                if (dictionary[offset + index] != name.charAt(index)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        for (int index = 0; index < length; index++) {
+            int ch;
+            if (wide) {
+                int i = (offset + index) << 1;
+                ch = (arena[i] & 0xff) << 8 | (arena[i + 1] & 0xff);
+            } else {
+                ch = arena[offset + index] & 0xff;
+            }
+            if (ch != name.charAt(index)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public Object root() {
+        return value(0);
+    }
+
+    /**
+     * Strings, numbers and booleans are boxed on each call; objects and arrays are views sharing this tape
+     */
+    Object value(int position) {
+        final long token = tokens[position];
+        switch (tag(token)) {
+            case TAG_NULL:
+                return null;
+            case TAG_FALSE:
+                return Boolean.FALSE;
+            case TAG_TRUE:
+                return Boolean.TRUE;
+            case TAG_INT:
+                return low(token);
+            case TAG_LONG:
+                return token << 4 >> 4;
+            case TAG_FLOAT:
+                return Float.intBitsToFloat(low(token));
+            case TAG_DOUBLE:
+                return Double.longBitsToDouble(token << 4);
+            case TAG_STRING:
+                return string(token);
+            case TAG_RAW_NUMBER:
+                return new FastNumber(string(token));
+            case TAG_BIG_INTEGER:
+                return new BigInteger(string(token));
+            case TAG_OPEN_OBJECT:
+                return new JsonTapeObject(this, position);
+            case TAG_OPEN_ARRAY:
+                return new JsonTapeArray(this, position);
+            case TAG_WIDE_LONG:
+                return tokens[position + 1];
+            case TAG_WIDE_DOUBLE:
+                return Double.longBitsToDouble(tokens[position + 1]);
+            default:
+                throw new RuntimeException("value expected at " + position);
+        }
+    }
+
+    /**
+     * Replays the whole tape
+     */
+    public void write(@NotNull JsonHandler jh) {
+        write(0, jh);
+    }
+
+    /**
+     * @return index after the value written
+     */
+    int write(int position, @NotNull JsonHandler jh) {
+        final long token = tokens[position];
+        switch (tag(token)) {
+            case TAG_NULL:
+                jh.nullValue();
+                break;
+            case TAG_FALSE:
+                jh.booleanValue(false);
+                break;
+            case TAG_TRUE:
+                jh.booleanValue(true);
+                break;
+            case TAG_INT:
+                jh.numberValue(low(token));
+                break;
+            case TAG_LONG:
+                jh.numberValue(token << 4 >> 4);
+                break;
+            case TAG_FLOAT:
+                jh.numberValue(Float.intBitsToFloat(low(token)));
+                break;
+            case TAG_DOUBLE:
+                jh.numberValue(Double.longBitsToDouble(token << 4));
+                break;
+            case TAG_STRING:
+                jh.stringValue(string(token));
+                break;
+            case TAG_RAW_NUMBER:
+                jh.numberValue(new FastNumber(string(token)));
+                break;
+            case TAG_BIG_INTEGER:
+                jh.numberValue(new BigInteger(string(token)));
+                break;
+            case TAG_OPEN_OBJECT: {
+                final int end = position + low(token);
+                jh.openObject();
+                position++;
+                while (position < end) {
+                    jh.key(string(tokens[position]));
+                    position = write(position + 1, jh);
+                }
+                jh.closeObject();
+                return end;
+            }
+            case TAG_OPEN_ARRAY: {
+                final int end = position + low(token);
+                jh.openArray();
+                position++;
+                while (position < end) {
+                    position = write(position, jh);
+                }
+                jh.closeArray();
+                return end;
+            }
+            case TAG_WIDE_LONG:
+                jh.numberValue(tokens[position + 1]);
+                return position + 2;
+            case TAG_WIDE_DOUBLE:
+                jh.numberValue(Double.longBitsToDouble(tokens[position + 1]));
+                return position + 2;
+            default:
+                throw new RuntimeException("value expected at " + position);
+        }
+        return position + 1;
+    }
+
+    /**
+     * @return a tape of the value at position, copying its span and sharing the arena and the dictionary
+     */
+    @NotNull
+    JsonTape copy(int position) {
+        final long[] span = new long[next(position) - position];
+        System.arraycopy(tokens, position, span, 0, span.length);
+        return new JsonTape(span, arena, wide, dictionary, dictionaryLength);
+    }
+}
@@ -0,0 +1,72 @@
+package mujica.json.container;
+
+import mujica.json.handler.JsonHandler;
+import mujica.json.reflect.ContainerConfig;
+import mujica.reflect.modifier.CodeHistory;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.Consumer;
+
+/**
+ * Read-only view of an array on a JsonTape; element positions are found on first indexed access and kept by the view
+ */
+@CodeHistory(date = "2026/10/17")
+public final class JsonTapeArray extends JsonArray {
+
+    private static final long serialVersionUID = 0x1C84E6B27F09D35AL;
+
+    @NotNull
+    private final JsonTape tape;
+
+    private final int position;
+
+    private transient int[] offsets;
+
+    JsonTapeArray(@NotNull JsonTape tape, int position) {
+        super();
+        this.tape = tape;
+        this.position = position;
+    }
+
+    @Override
+    public int size() {
+        return JsonTape.high(tape.tokens[position]);
+    }
+
+    @Override
+    public Object getObject(int index) {
+        if (offsets == null) {
+            final int[] array = new int[size()];
+            int offset = position + 1;
+            for (int i = 0; i < array.length; i++) {
+                array[i] = offset;
+                offset = tape.next(offset);
+            }
+            offsets = array;
+        }
+        return tape.value(offsets[index]);
+    }
+
+    @Override
+    public void setObject(int index, Object value) {
+        throw new UnsupportedOperationException();
+    }
+
+    @NotNull
+    @Override
+    public Consumer<Object> consumer(@NotNull ContainerConfig.ArrayAction action) {
+        throw new UnsupportedOperationException();
+    }
+
+    public void write(@NotNull JsonHandler jh) {
+        tape.write(position, jh);
+    }
+
+    /**
+     * @return a tape of this array alone, by copying its span of tokens
+     */
+    @NotNull
+    public JsonTape toTape() {
+        return position == 0 ? tape : tape.copy(position);
+    }
+}
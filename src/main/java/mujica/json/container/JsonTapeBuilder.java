@@ -0,0 +1,296 @@
+package mujica.json.container;
+
+import mujica.json.handler.JsonHandler;
+import mujica.reflect.modifier.CodeHistory;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * Receives one JSON value and builds a JsonTape; reusable after build() or reset().
+ * Equal short strings in one value share a span of its arena.
+ * Keys go to a dictionary kept across values, so that tapes with the same keys share one dictionary array.
+ * The dictionary is only appended to, in place while it has room, so a tape never sees it change below its own length.
+ */
+@CodeHistory(date = "2026/10/17")
+public class JsonTapeBuilder extends JsonHandler {
+
+    private static final int MAX_SHARED_LENGTH = 64;
+
+    private static final int MAX_DICTIONARY_LENGTH = 1 << 16;
+
+    private long[] tokens = new long[64];
+
+    private int size;
+
+    private final StringBuilder arena = new StringBuilder();
+
+    private final HashMap<String, Integer> sharedOffsets = new HashMap<>();
+
+    private int[] openPositions = new int[16];
+
+    private int[] counts = new int[16];
+
+    private int depth;
+
+    @NotNull
+    private char[] dictionary = JsonTape.EMPTY_DICTIONARY;
+
+    private int dictionaryLength;
+
+    private final HashMap<String, Integer> dictionaryOffsets = new HashMap<>();
+
+    public JsonTapeBuilder() {
+        super();
+    }
+
+    public void reset() {
+        size = 0;
+        arena.setLength(0);
+        sharedOffsets.clear();
+        depth = 0;
+    }
+
+    @NotNull
+    public JsonTape build() {
+        if (size == 0 || depth != 0) {
+            throw new RuntimeException("incomplete");
+        }
+        final int length = arena.length();
+        boolean wide = false;
+        for (int index = 0; index < length; index++) {
+            if (arena.charAt(index) > 0xff) {
+                wide = true;
+                break;
+            }
+        }
+        final byte[] bytes;
+        if (length == 0) {
+            bytes = JsonTape.EMPTY_ARENA;
+        } else if (wide) {
+            bytes = arena.toString().getBytes(StandardCharsets.UTF_16BE);
+        } else {
+            bytes = arena.toString().getBytes(StandardCharsets.ISO_8859_1);
+        }
+        final JsonTape tape = new JsonTape(Arrays.copyOf(tokens, size), bytes, wide, dictionary, dictionaryLength);
+        reset();
+        if (tokens.length > 4096) {
+            tokens = new long[64];
+        }
+        return tape;
+    }
+
+    private void add(long token) {
+        if (size == tokens.length) {
+            tokens = Arrays.copyOf(tokens, size << 1);
+        }
+        tokens[size++] = token;
+    }
+
+    private void anyValue() {
+        if (depth == 0) {
+            if (size != 0) {
+                throw new RuntimeException("value after root");
+            }
+        } else if (JsonTape.tag(tokens[openPositions[depth - 1]]) == JsonTape.TAG_OPEN_ARRAY) {
+            counts[depth - 1]++;
+        }
+    }
+
+    private long span(@NotNull CharSequence string) {
+        final int length = string.length();
+        if (length > JsonTape.MAX_COUNT) {
+            throw new IllegalArgumentException("string too long");
+        }
+        int offset;
+        if (length <= MAX_SHARED_LENGTH) {
+            String key = string.toString();
+            Integer shared = sharedOffsets.get(key);
+            if (shared != null) {
+                offset = shared;
+            } else {
+                offset = arena.length();
+                arena.append(key);
+                sharedOffsets.put(key, offset);
+            }
+        } else {
+            offset = arena.length();
+            arena.append(string);
+        }
+        return (long) length << 32 | (offset & 0xffffffffL);
+    }
+
+    private void open(int tag) {
+        anyValue();
+        if (depth == openPositions.length) {
+            openPositions = Arrays.copyOf(openPositions, depth << 1);
+            counts = Arrays.copyOf(counts, depth << 1);
+        }
+        openPositions[depth] = size;
+        counts[depth] = 0;
+        depth++;
+        add(JsonTape.token(tag, 0L));
+    }
+
+    private void close(int openTag) {
+        if (depth == 0) {
+            throw new RuntimeException("close without open");
+        }
+        final int position = openPositions[--depth];
+        if (JsonTape.tag(tokens[position]) != openTag) {
+            throw new RuntimeException("bracket mismatch");
+        }
+        final int count = counts[depth];
+        if (count > JsonTape.MAX_COUNT) {
+            throw new RuntimeException("too many children");
+        }
+        tokens[position] = JsonTape.token(openTag, (long) count << 32 | (size - position));
+    }
+
+    @Override
+    public void openArray() {
+        open(JsonTape.TAG_OPEN_ARRAY);
+    }
+
+    @Override
+    public void closeArray() {
+        close(JsonTape.TAG_OPEN_ARRAY);
+    }
+
+    @Override
+    public void openObject() {
+        open(JsonTape.TAG_OPEN_OBJECT);
+    }
+
+    @Override
+    public void closeObject() {
+        close(JsonTape.TAG_OPEN_OBJECT);
+    }
+
+    @Override
+    public void key(@NotNull String key) {
+        if (depth == 0 || JsonTape.tag(tokens[openPositions[depth - 1]]) != JsonTape.TAG_OPEN_OBJECT) {
+            throw new RuntimeException("key outside object");
+        }
+        counts[depth - 1]++;
+        Integer offset = dictionaryOffsets.get(key);
+        if (offset == null && dictionaryLength + key.length() <= MAX_DICTIONARY_LENGTH) {
+            offset = dictionaryLength;
+            if (offset + key.length() > dictionary.length) {
+                dictionary = Arrays.copyOf(dictionary, Math.min(MAX_DICTIONARY_LENGTH, Math.max(offset + key.length(), Math.max(256, dictionary.length << 1))));
+            }
+            key.getChars(0, key.length(), dictionary, offset);
+            dictionaryLength = offset + key.length();
+            dictionaryOffsets.put(key, offset);
+        }
+        if (offset != null) {
+            add(JsonTape.token(JsonTape.TAG_SHARED_KEY, (long) key.length() << 32 | offset));
+        } else {
+            add(JsonTape.token(JsonTape.TAG_KEY, span(key)));
+        }
+    }
+
+    @Override
+    public void key(@NotNull FastString key) {
+        key(key.string);
+    }
+
+    @Override
+    public void simpleValue(@Nullable Object value) {
+        if (value == null) {
+            nullValue();
+        } else if (value instanceof Boolean) {
+            booleanValue((Boolean) value);
+        } else if (value instanceof Integer) {
+            numberValue((int) (Integer) value);
+        } else if (value instanceof Long) {
+            numberValue((long) (Long) value);
+        } else if (value instanceof Float) {
+            numberValue((float) (Float) value);
+        } else if (value instanceof Double) {
+            numberValue((double) (Double) value);
+        } else if (value instanceof BigInteger) {
+            numberValue((BigInteger) value);
+        } else if (value instanceof FastNumber) {
+            numberValue((FastNumber) value);
+        } else if (value instanceof CharSequence) {
+            stringValue((CharSequence) value);
+        } else {
+            throw new IllegalArgumentException("value " + value.getClass().getName());
+        }
+    }
+
+    @Override
+    public void nullValue() {
+        anyValue();
+        add(JsonTape.token(JsonTape.TAG_NULL, 0L));
+    }
+
+    @Override
+    public void booleanValue(boolean value) {
+        anyValue();
+        add(JsonTape.token(value ? JsonTape.TAG_TRUE : JsonTape.TAG_FALSE, 0L));
+    }
+
+    @Override
+    public void numberValue(int value) {
+        anyValue();
+        add(JsonTape.token(JsonTape.TAG_INT, value & 0xffffffffL));
+    }
+
+    @Override
+    public void numberValue(long value) {
+        anyValue();
+        if (value << 4 >> 4 == value) {
+            add(JsonTape.token(JsonTape.TAG_LONG, value & ((1L << 60) - 1)));
+        } else {
+            add(JsonTape.token(JsonTape.TAG_WIDE_LONG, 0L));
+            add(value);
+        }
+    }
+
+    @Override
+    public void numberValue(float value) {
+        anyValue();
+        add(JsonTape.token(JsonTape.TAG_FLOAT, Float.floatToRawIntBits(value) & 0xffffffffL));
+    }
+
+    @Override
+    public void numberValue(double value) {
+        anyValue();
+        final long bits = Double.doubleToRawLongBits(value);
+        if ((bits & 0xfL) == 0L) {
+            add(JsonTape.token(JsonTape.TAG_DOUBLE, bits >>> 4));
+        } else {
+            add(JsonTape.token(JsonTape.TAG_WIDE_DOUBLE, 0L));
+            add(bits);
+        }
+    }
+
+    @Override
+    public void numberValue(@NotNull BigInteger value) {
+        anyValue();
+        add(JsonTape.token(JsonTape.TAG_BIG_INTEGER, span(value.toString())));
+    }
+
+    @Override
+    public void numberValue(@NotNull FastNumber value) {
+        anyValue();
+        add(JsonTape.token(JsonTape.TAG_RAW_NUMBER, span(value.value)));
+    }
+
+    @Override
+    public void stringValue(@NotNull CharSequence value) {
+        anyValue();
+        add(JsonTape.token(JsonTape.TAG_STRING, span(value)));
+    }
+
+    @Override
+    public void stringValue(@NotNull FastString value) {
+        stringValue(value.string);
+    }
+}
@@ -0,0 +1,75 @@
+package mujica.json.container;
+
+import mujica.json.handler.JsonHandler;
+import mujica.json.reflect.ContainerConfig;
+import mujica.reflect.modifier.CodeHistory;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Read-only view of an object on a JsonTape; lookup scans the keys of this object only, skipping nested values by their spans
+ */
+@CodeHistory(date = "2026/10/17")
+public final class JsonTapeObject extends JsonObject {
+
+    private static final long serialVersionUID = 0x52D7A3E90C41B86FL;
+
+    @NotNull
+    private final JsonTape tape;
+
+    private final int position;
+
+    JsonTapeObject(@NotNull JsonTape tape, int position) {
+        super();
+        this.tape = tape;
+        this.position = position;
+    }
+
+    public int size() {
+        return JsonTape.high(tape.tokens[position]);
+    }
+
+    @NotNull
+    @Override
+    public Set<String> nameSet() {
+        final LinkedHashSet<String> set = new LinkedHashSet<>();
+        final long[] tokens = tape.tokens;
+        final int end = tape.next(position);
+        for (int index = position + 1; index < end; index = tape.next(index + 1)) {
+            set.add(tape.string(tokens[index]));
+        }
+        return Collections.unmodifiableSet(set);
+    }
+
+    @Override
+    public Object getObject(@NotNull String name) {
+        final long[] tokens = tape.tokens;
+        final int end = tape.next(position);
+        for (int index = position + 1; index < end; index = tape.next(index + 1)) {
+            if (tape.keyEquals(tokens[index], name)) {
+                return tape.value(index + 1);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void setObject(@NotNull String name, Object value, @NotNull ContainerConfig.ObjectAction action) {
+        throw new UnsupportedOperationException();
+    }
+
+    public void write(@NotNull JsonHandler jh) {
+        tape.write(position, jh);
+    }
+
+    /**
+     * @return a tape of this object alone, by copying its span of tokens
+     */
+    @NotNull
+    public JsonTape toTape() {
+        return position == 0 ? tape : tape.copy(position);
+    }
+}
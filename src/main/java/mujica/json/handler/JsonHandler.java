@@ -14,10 +14,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
 
 @CodeHistory(date = "2022/6/4", project = "Ultramarine", name = "JsonConsumer")
 @CodeHistory(date = "2025/10/12", name = "JsonConsumer")
 @CodeHistory(date = "2026/1/4")
+@CodeHistory(date = "2026/10/17")
 @DirectSubclass({JsonHandlerAdapter.class})
 public abstract class JsonHandler implements TypePreference {
 
@@ -122,6 +124,13 @@ public abstract class JsonHandler implements TypePreference {
         simpleValue(value);
     }
 
+    /**
+     * @param value readable octets of a literal in the number grammar of JSON; not consumed, not released
+     */
+    public void numberValue(@NotNull ByteBuf value) {
+        numberValue(new FastNumber(value.toString(StandardCharsets.US_ASCII)));
+    }
+
     public void stringValue(@NotNull CharSequence value) {
         simpleValue(value.toString());
     }
@@ -130,6 +139,13 @@ public abstract class JsonHandler implements TypePreference {
         simpleValue(value.toString());
     }
 
+    /**
+     * @param value readable octets of well-formed UTF-8, not escaped; not consumed, not released
+     */
+    public void stringValue(@NotNull ByteBuf value) {
+        stringValue(value.toString(StandardCharsets.UTF_8));
+    }
+
     public void emptyArrayValue() {
         openArray();
         closeArray();
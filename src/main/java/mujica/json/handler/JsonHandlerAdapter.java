@@ -11,6 +11,7 @@ import org.jetbrains.annotations.Nullable;
 import java.math.BigInteger;
 
 @CodeHistory(date = "2026/4/1")
+@CodeHistory(date = "2026/10/17")
 @DirectSubclass({StructureCheckAdapter.class, CacheAdapter.class, UndoKeyJsonHandlerAdapter.class, EarlyKeyCheckAdapter.class})
 public class JsonHandlerAdapter<H extends JsonHandler> extends JsonHandler {
 
@@ -161,6 +162,13 @@ public class JsonHandlerAdapter<H extends JsonHandler> extends JsonHandler {
         afterValue();
     }
 
+    @Override
+    public void numberValue(@NotNull ByteBuf value) {
+        beforeValue();
+        h.numberValue(value);
+        afterValue();
+    }
+
     @Override
     public void stringValue(@NotNull CharSequence value) {
         beforeValue();
@@ -174,4 +182,11 @@ public class JsonHandlerAdapter<H extends JsonHandler> extends JsonHandler {
         h.stringValue(value);
         afterValue();
     }
+
+    @Override
+    public void stringValue(@NotNull ByteBuf value) {
+        beforeValue();
+        h.stringValue(value);
+        afterValue();
+    }
 }
@@ -17,6 +17,7 @@ public interface TypePreference {
     int FLAG_DO_NOT_CACHE_FAST_STRING_KEY       = 0x200;
     int FLAG_DO_NOT_CACHE_STRING_VALUE          = 0x400;
     int FLAG_DO_NOT_CACHE_FAST_STRING_VALUE     = 0x800;
+    int FLAG_TRANSIENT_STRING_VALUE             = 0x1000; // stringValue(CharSequence) may be given a buffer reused after return
 
     int typePreference();
 }
@@ -0,0 +1,512 @@
+package mujica.json.io;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.util.ByteProcessor;
+import mujica.ds.i32.list.CopyOnResizeIntList;
+import mujica.json.handler.JsonHandler;
+import mujica.json.handler.TypePreference;
+import mujica.reflect.modifier.CodeHistory;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.Closeable;
+
+/**
+ * Push parser: bytes are given in chunks split anywhere, events are sent to the handler as soon as a token is complete.
+ * Successive top level values are read one after another, as from repeated JsonSyncReader.read() calls.
+ * Only structure, gaps and token boundaries are tracked here; a complete scalar token is copied to a scratch buffer
+ * and read by JsonByteBufReader, so that the values are the same as those of the sync readers.
+ */
+@CodeHistory(date = "2026/10/17")
+public class JsonAsyncByteBufReader implements JsonReader, ByteProcessor, Closeable {
+
+    private static final int CONTAINER_ARRAY = 0;
+
+    private static final int CONTAINER_OBJECT = 1;
+
+    private static final int STATE_VALUE = 0;
+
+    private static final int STATE_AFTER_VALUE = 1;
+
+    private static final int STATE_FIRST_ELEMENT = 2;
+
+    private static final int STATE_NEXT_ELEMENT = 3;
+
+    private static final int STATE_FIRST_KEY = 4;
+
+    private static final int STATE_NEXT_KEY = 5;
+
+    private static final int STATE_COLON = 6;
+
+    private static final int TOKEN_NONE = 0;
+
+    private static final int TOKEN_STRING = 1;
+
+    private static final int TOKEN_STRING_ESCAPE = 2;
+
+    private static final int TOKEN_KEY = 3;
+
+    private static final int TOKEN_KEY_ESCAPE = 4;
+
+    private static final int TOKEN_NUMBER = 5;
+
+    private static final int TOKEN_WORD = 6;
+
+    private static final int TOKEN_COMMENT_START = 7;
+
+    private static final int TOKEN_LINE_COMMENT = 8;
+
+    private static final int TOKEN_BLOCK_COMMENT = 9;
+
+    private static final int TOKEN_BLOCK_COMMENT_STAR = 10;
+
+    private static class TokenReader extends JsonByteBufReader {
+
+        TokenReader(@NotNull ByteBuf data) {
+            super(data);
+        }
+
+        @NotNull
+        String readKey() {
+            final ByteBuf data = content();
+            return readJsonString(data.readUnsignedByte());
+        }
+    }
+
+    @NotNull
+    private final JsonHandler jh;
+
+    @NotNull
+    private final ByteBuf scratch = Unpooled.buffer();
+
+    @NotNull
+    private final TokenReader tokenReader = new TokenReader(scratch);
+
+    @NotNull
+    private final CopyOnResizeIntList stack = new CopyOnResizeIntList(null);
+
+    private int flags;
+
+    private int state = STATE_VALUE;
+
+    private int token = TOKEN_NONE;
+
+    private int quoteChar;
+
+    @Nullable
+    private String key;
+
+    /**
+     * stack depth at which the value being skipped started, or -1
+     */
+    private int skipDepth = -1;
+
+    /**
+     * raw bytes of the value being skipped, for handlers preferring FLAG_SKIP_TO_BYTE_BUF
+     */
+    @Nullable
+    private ByteBuf skipped;
+
+    private long valueCount;
+
+    public JsonAsyncByteBufReader(@NotNull JsonHandler jh) {
+        super();
+        this.jh = jh;
+    }
+
+    @Override
+    public void setFlags(int flags) {
+        this.flags = flags;
+        tokenReader.setFlags(flags);
+    }
+
+    @Override
+    public int getFlags() {
+        return flags;
+    }
+
+    /**
+     * @return top level values completed so far
+     */
+    public long valueCount() {
+        return valueCount;
+    }
+
+    /**
+     * @return true if no value is partially read
+     */
+    public boolean isIdle() {
+        return state == STATE_VALUE && stack.isEmpty() && token == TOKEN_NONE;
+    }
+
+    /**
+     * Reads all readable bytes of chunk, not released here
+     */
+    public void read(@NotNull ByteBuf chunk) {
+        if (chunk.isReadable()) {
+            chunk.forEachByte(this);
+            chunk.skipBytes(chunk.readableBytes());
+        }
+    }
+
+    /**
+     * Completes a number or word ending at the end of input; fails if a value is partially read
+     */
+    public void end() {
+        if (token == TOKEN_NUMBER || token == TOKEN_WORD) {
+            endScalar();
+        } else if (token == TOKEN_LINE_COMMENT) {
+            token = TOKEN_NONE;
+        }
+        if (!isIdle()) {
+            throw new IndexOutOfBoundsException("end of input");
+        }
+    }
+
+    @Override
+    public void close() {
+        scratch.release();
+        if (skipped != null) {
+            skipped.release();
+            skipped = null;
+        }
+    }
+
+    @Override
+    public boolean process(byte value) {
+        final int x = 0xff & value;
+        if (skipped != null) {
+            skipped.writeByte(x);
+        }
+        switch (token) {
+            case TOKEN_NONE:
+                break;
+            case TOKEN_STRING:
+            case TOKEN_KEY:
+                if (skipDepth < 0) {
+                    scratch.writeByte(x);
+                }
+                if (x == '\\') {
+                    token++;
+                } else if (x == quoteChar) {
+                    endString();
+                }
+                return true;
+            case TOKEN_STRING_ESCAPE:
+            case TOKEN_KEY_ESCAPE:
+                if (skipDepth < 0) {
+                    scratch.writeByte(x);
+                }
+                token--;
+                return true;
+            case TOKEN_NUMBER:
+                if ('0' <= x && x <= '9' || 'a' <= x && x <= 'z' || 'A' <= x && x <= 'Z' || x == '+' || x == '-' || x == '.') {
+                    if (skipDepth < 0) {
+                        scratch.writeByte(x);
+                    }
+                    return true;
+                }
+                excludeFromSkipped();
+                endScalar();
+                includeInSkipped(x);
+                break;
+            case TOKEN_WORD:
+                if ('a' <= x && x <= 'z' || 'A' <= x && x <= 'Z') {
+                    if (skipDepth < 0) {
+                        scratch.writeByte(x);
+                    }
+                    return true;
+                }
+                excludeFromSkipped();
+                endScalar();
+                includeInSkipped(x);
+                break;
+            case TOKEN_COMMENT_START:
+                if (x == '/') {
+                    if ((flags & FLAG_LINE_COMMENT) == 0) {
+                        throw new RuntimeException("line comment");
+                    }
+                    token = TOKEN_LINE_COMMENT;
+                } else if (x == '*') {
+                    if ((flags & FLAG_BLOCK_COMMENT) == 0) {
+                        throw new RuntimeException("block comment");
+                    }
+                    token = TOKEN_BLOCK_COMMENT;
+                } else {
+                    throw new RuntimeException("comment unrecognized " + x);
+                }
+                return true;
+            case TOKEN_LINE_COMMENT:
+                if (x == '\n') {
+                    token = TOKEN_NONE;
+                }
+                return true;
+            case TOKEN_BLOCK_COMMENT:
+                if (x == '*') {
+                    token = TOKEN_BLOCK_COMMENT_STAR;
+                }
+                return true;
+            case TOKEN_BLOCK_COMMENT_STAR:
+                if (x == '/') {
+                    token = TOKEN_NONE;
+                } else if (x != '*') {
+                    token = TOKEN_BLOCK_COMMENT;
+                }
+                return true;
+        }
+        if (x <= 0x20) {
+            return true;
+        }
+        if (x == '/' && (flags & (FLAG_LINE_COMMENT | FLAG_BLOCK_COMMENT)) != 0) {
+            token = TOKEN_COMMENT_START;
+            return true;
+        }
+        switch (state) {
+            case STATE_AFTER_VALUE:
+                if (stack.getInt(stack.intLength() - 1) == CONTAINER_ARRAY) {
+                    if (x == ',') {
+                        state = STATE_NEXT_ELEMENT;
+                    } else if (x == ']') {
+                        closeContainer();
+                    } else {
+                        throw new RuntimeException("missing comma");
+                    }
+                } else {
+                    if (x == ',') {
+                        state = STATE_NEXT_KEY;
+                    } else if (x == '}') {
+                        closeContainer();
+                    } else {
+                        throw new RuntimeException("missing comma");
+                    }
+                }
+                break;
+            case STATE_FIRST_ELEMENT:
+            case STATE_NEXT_ELEMENT:
+                if (x == ']') {
+                    if (state == STATE_NEXT_ELEMENT && (flags & FLAG_TRAILING_COMMA) == 0) {
+                        throw new RuntimeException("trailing comma");
+                    }
+                    closeContainer();
+                } else if (x == ',') {
+                    if (state == STATE_NEXT_ELEMENT) {
+                        throw new RuntimeException("duplicate comma");
+                    }
+                    if ((flags & FLAG_LEADING_COMMA) == 0) {
+                        throw new RuntimeException("leading comma");
+                    }
+                    state = STATE_NEXT_ELEMENT;
+                } else {
+                    startValue(x);
+                }
+                break;
+            case STATE_FIRST_KEY:
+            case STATE_NEXT_KEY:
+                switch (x) {
+                    case '}':
+                        if (state == STATE_NEXT_KEY && (flags & FLAG_TRAILING_COMMA) == 0) {
+                            throw new RuntimeException("trailing comma");
+                        }
+                        closeContainer();
+                        break;
+                    case ',':
+                        if (state == STATE_NEXT_KEY) {
+                            throw new RuntimeException("duplicate comma");
+                        }
+                        if ((flags & FLAG_LEADING_COMMA) == 0) {
+                            throw new RuntimeException("leading comma");
+                        }
+                        state = STATE_NEXT_KEY;
+                        break;
+                    case '\'':
+                        if ((flags & FLAG_APOSTROPHE_QUOTE_STRING) == 0) {
+                            throw new RuntimeException("apostrophe");
+                        }
+                        startString(x, TOKEN_KEY);
+                        break;
+                    case '`':
+                        if ((flags & FLAG_GRAVE_ACCENT_QUOTE_STRING) == 0) {
+                            throw new RuntimeException("grave accent");
+                        }
+                        startString(x, TOKEN_KEY);
+                        break;
+                    case '"':
+                        startString(x, TOKEN_KEY);
+                        break;
+                    default:
+                        throw new RuntimeException("unrecognized " + x);
+                }
+                break;
+            case STATE_COLON:
+                if (x != ':') {
+                    throw new RuntimeException("expect colon actual " + x);
+                }
+                if (skipDepth < 0) {
+                    jh.key(key);
+                    key = null;
+                }
+                state = STATE_VALUE;
+                break;
+            default: // STATE_VALUE
+                startValue(x);
+                break;
+        }
+        return true;
+    }
+
+    private void startValue(int x) {
+        if (skipDepth < 0 && (jh.typePreference() & (TypePreference.FLAG_SKIP_VALUE | TypePreference.FLAG_SKIP_TO_BYTE_BUF)) != 0) {
+            skipDepth = stack.intLength();
+            if (jh.testTypePreference(TypePreference.FLAG_SKIP_TO_BYTE_BUF)) {
+                skipped = Unpooled.buffer();
+                skipped.writeByte(x);
+            }
+        }
+        switch (x) {
+            case '{':
+                stack.offerLast(CONTAINER_OBJECT);
+                state = STATE_FIRST_KEY;
+                if (skipDepth < 0) {
+                    jh.openObject();
+                }
+                break;
+            case '[':
+                stack.offerLast(CONTAINER_ARRAY);
+                state = STATE_FIRST_ELEMENT;
+                if (skipDepth < 0) {
+                    jh.openArray();
+                }
+                break;
+            case '\'':
+                if ((flags & FLAG_APOSTROPHE_QUOTE_STRING) == 0) {
+                    throw new RuntimeException("apostrophe");
+                }
+                startString(x, TOKEN_STRING);
+                break;
+            case '`':
+                if ((flags & FLAG_GRAVE_ACCENT_QUOTE_STRING) == 0) {
+                    throw new RuntimeException("grave accent");
+                }
+                startString(x, TOKEN_STRING);
+                break;
+            case '"':
+                startString(x, TOKEN_STRING);
+                break;
+            case '+':
+                if ((flags & FLAG_PLUS_SIGN_NUMBER) == 0) {
+                    throw new RuntimeException("plus sign");
+                }
+                // no break here
+            case '-':
+            case '0': case '1': case '2': case '3': case '4':
+            case '5': case '6': case '7': case '8': case '9':
+                startScalar(x, TOKEN_NUMBER);
+                break;
+            case 'I': case 'N':
+                if ((flags & FLAG_INFINITY_NAN_EXTENSION) == 0) {
+                    throw new RuntimeException(x == 'I' ? "infinity" : "not a number");
+                }
+                // no break here
+            case 'f': case 'n': case 't':
+                startScalar(x, TOKEN_WORD);
+                break;
+            default:
+                throw new RuntimeException("unrecognized " + x);
+        }
+    }
+
+    private void startString(int x, int token) {
+        this.token = token;
+        quoteChar = x;
+        if (skipDepth < 0) {
+            scratch.clear();
+            scratch.writeByte(x);
+        }
+    }
+
+    private void startScalar(int x, int token) {
+        this.token = token;
+        if (skipDepth < 0) {
+            scratch.clear();
+            scratch.writeByte(x);
+        }
+    }
+
+    private void endString() {
+        if (token == TOKEN_KEY) {
+            token = TOKEN_NONE;
+            if (skipDepth < 0) {
+                key = tokenReader.readKey();
+            }
+            state = STATE_COLON;
+        } else {
+            token = TOKEN_NONE;
+            endValue(true);
+        }
+    }
+
+    private void endScalar() {
+        token = TOKEN_NONE;
+        endValue(true);
+    }
+
+    /**
+     * @param scalar the value is in scratch, unless skipped
+     */
+    private void endValue(boolean scalar) {
+        if (skipDepth >= 0) {
+            if (stack.intLength() > skipDepth) {
+                state = STATE_AFTER_VALUE;
+                return;
+            }
+            skipDepth = -1;
+            if (skipped != null) {
+                ByteBuf value = skipped;
+                skipped = null;
+                jh.skippedValue(value);
+            } else {
+                jh.skippedValue();
+            }
+        } else if (scalar) {
+            tokenReader.read(jh);
+            if (scratch.isReadable()) {
+                throw new RuntimeException("unrecognized " + scratch.getUnsignedByte(scratch.readerIndex()));
+            }
+        }
+        if (stack.isEmpty()) {
+            state = STATE_VALUE;
+            valueCount++;
+        } else {
+            state = STATE_AFTER_VALUE;
+        }
+    }
+
+    private void closeContainer() {
+        if (stack.removeLast() == CONTAINER_ARRAY) {
+            if (skipDepth < 0) {
+                jh.closeArray();
+            }
+        } else {
+            if (skipDepth < 0) {
+                jh.closeObject();
+            }
+        }
+        endValue(false);
+    }
+
+    /**
+     * The byte ending a number or word was already written to skipped, but it is not part of the value
+     */
+    private void excludeFromSkipped() {
+        if (skipped != null) {
+            skipped.writerIndex(skipped.writerIndex() - 1);
+        }
+    }
+
+    private void includeInSkipped(int x) {
+        if (skipped != null) {
+            skipped.writeByte(x);
+        }
+    }
+}
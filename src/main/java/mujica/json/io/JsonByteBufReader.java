@@ -3,6 +3,7 @@ package mujica.json.io;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.DefaultByteBufHolder;
 import mujica.algebra.discrete.BigConstants;
+import mujica.ds.text.number.FastDoubleParser;
 import mujica.io.codec.Base16Case;
 import mujica.json.container.FastNumber;
 import mujica.json.handler.JsonHandler;
@@ -332,7 +333,7 @@ public class JsonByteBufReader extends DefaultByteBufHolder implements JsonSyncS
         }
     }
 
-    private void readJsonLiteral(@NotNull JsonHandler jh) {
+    protected void readJsonLiteral(@NotNull JsonHandler jh) {
         final ByteBuf data = content();
         final int startIndex = data.readerIndex() - 1;
         int endIndex = data.writerIndex();
@@ -351,21 +352,21 @@ public class JsonByteBufReader extends DefaultByteBufHolder implements JsonSyncS
             break;
         }
         if (isFractional) {
-            readJsonLiteral(jh, data.toString(startIndex, endIndex - startIndex, StandardCharsets.US_ASCII));
+            readFractionalLiteral(jh, data, startIndex, endIndex);
         } else {
             readJsonLiteral(jh, data, startIndex, endIndex);
         }
     }
 
-    private void readJsonLiteral(@NotNull JsonHandler jh, @NotNull String string) {
+    private void readFractionalLiteral(@NotNull JsonHandler jh, @NotNull ByteBuf data, int startIndex, int endIndex) {
         if (!jh.testTypePreference(TypePreference.FLAG_FRACTIONAL_FORCE_TO_RAW)) {
-            double value = Double.parseDouble(string);
+            double value = FastDoubleParser.parse(data, startIndex, endIndex);
             if (!jh.testTypePreference(TypePreference.FLAG_FRACTIONAL_OVERFLOW_TO_RAW) || Double.isFinite(value)) {
                 jh.numberValue(value);
                 return;
             }
         }
-        jh.numberValue(new FastNumber(string));
+        jh.numberValue(new FastNumber(data.toString(startIndex, endIndex - startIndex, StandardCharsets.US_ASCII)));
     }
 
     private void readJsonLiteral(@NotNull JsonHandler jh, @NotNull ByteBuf data, int startIndex, int endIndex) {
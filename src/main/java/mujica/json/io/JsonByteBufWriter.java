@@ -4,6 +4,8 @@ import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufHolder;
 import io.netty.buffer.ByteBufUtil;
 import io.netty.buffer.DefaultByteBufHolder;
+import io.netty.util.ByteProcessor;
+import mujica.ds.text.number.ShortestDecimalAppender;
 import mujica.json.container.FastString;
 import mujica.reflect.modifier.CodeHistory;
 import mujica.ds.text.sanitizer.CharSequenceAppender;
@@ -12,10 +14,18 @@ import org.jetbrains.annotations.NotNull;
 import java.nio.charset.StandardCharsets;
 
 @CodeHistory(date = "2026/4/5")
+@CodeHistory(date = "2026/10/17")
 public class JsonByteBufWriter extends JsonWriter implements ByteBufHolder {
 
+    /**
+     * Stops at the octets to escape; the other octets of UTF-8 are copied as they are
+     */
+    private static final ByteProcessor FIND_ESCAPE = octet -> octet != '"' && octet != '\\' && (octet < 0 || octet >= 0x20);
+
     @NotNull
-    protected final ByteBuf data;
+    protected ByteBuf data;
+
+    private final byte[] numberBuffer = new byte[ShortestDecimalAppender.BUFFER_SIZE];
 
     public JsonByteBufWriter(@NotNull ByteBuf data) {
         super();
@@ -92,6 +102,18 @@ public class JsonByteBufWriter extends JsonWriter implements ByteBufHolder {
         data.clear();
     }
 
+    /**
+     * Continues in another buffer, keeping the stack, so that what is written so far can be passed on without a copy
+     *
+     * @return the buffer written so far, owned by the caller
+     */
+    @NotNull
+    public ByteBuf swapContent(@NotNull ByteBuf data) {
+        final ByteBuf written = this.data;
+        this.data = data;
+        return written;
+    }
+
     @Override
     public boolean supportsUndoKey() {
         return true;
@@ -363,7 +385,7 @@ public class JsonByteBufWriter extends JsonWriter implements ByteBufHolder {
             nullValue();
         } else {
             anyValue();
-            data.writeCharSequence(String.valueOf(value), StandardCharsets.US_ASCII);
+            data.writeBytes(numberBuffer, 0, ShortestDecimalAppender.write(value, numberBuffer, 0));
         }
     }
 
@@ -375,7 +397,7 @@ public class JsonByteBufWriter extends JsonWriter implements ByteBufHolder {
             nullValue();
         } else {
             anyValue();
-            data.writeCharSequence(String.valueOf(value), StandardCharsets.US_ASCII);
+            data.writeBytes(numberBuffer, 0, ShortestDecimalAppender.write(value, numberBuffer, 0));
         }
     }
 
@@ -401,4 +423,90 @@ public class JsonByteBufWriter extends JsonWriter implements ByteBufHolder {
         data.writeByte('"').writeCharSequence(value.toString(), StandardCharsets.US_ASCII);
         data.writeByte('"');
     }
+
+    private static int findEscape(@NotNull ByteBuf value, int start, int end) {
+        if (value.hasArray()) {
+            final byte[] array = value.array();
+            final int offset = value.arrayOffset();
+            int index = start;
+            while (index < end) {
+                int octet = array[offset + index];
+                if (octet == '"' || octet == '\\' || (octet >= 0 && octet < 0x20)) {
+                    break;
+                }
+                index++;
+            }
+            return index;
+        }
+        final int index = value.forEachByte(start, end - start, FIND_ESCAPE);
+        return index < 0 ? end : index;
+    }
+
+    private void writeEscape(int octet) {
+        data.writeByte('\\');
+        switch (octet) {
+            case '"':
+            case '\\':
+                data.writeByte(octet);
+                break;
+            case '\b':
+                data.writeByte('b');
+                break;
+            case '\t':
+                data.writeByte('t');
+                break;
+            case '\n':
+                data.writeByte('n');
+                break;
+            case '\f':
+                data.writeByte('f');
+                break;
+            case '\r':
+                data.writeByte('r');
+                break;
+            default:
+                data.writeByte('u').writeByte('0').writeByte('0');
+                data.writeByte('0' + (octet >> 4));
+                octet = Character.forDigit(octet & 0xf, 16);
+                data.writeByte((flags & ConfigFlags.UPPERCASE_HEX) != 0 ? Character.toUpperCase(octet) : octet);
+                break;
+        }
+    }
+
+    @Override
+    public void numberValue(@NotNull ByteBuf value) {
+        anyValue();
+        data.writeBytes(value, value.readerIndex(), value.readableBytes());
+    }
+
+    /**
+     * Copies UTF-8 bytes through, escaping only ASCII; with ESCAPE_EXTRA, decodes and escapes as stringValue(CharSequence)
+     */
+    @Override
+    public void stringValue(@NotNull ByteBuf value) {
+        if ((flags & ConfigFlags.ESCAPE_EXTRA) != 0) {
+            stringValue(value.toString(StandardCharsets.UTF_8));
+            return;
+        }
+        anyValue();
+        final int end = value.writerIndex();
+        int start = value.readerIndex();
+        data.ensureWritable(end - start + 2);
+        data.writeByte('"');
+        final byte[] array = value.hasArray() ? value.array() : null;
+        while (start < end) {
+            int index = findEscape(value, start, end);
+            if (array != null) {
+                data.writeBytes(array, value.arrayOffset() + start, index - start);
+            } else {
+                data.writeBytes(value, start, index - start);
+            }
+            if (index == end) {
+                break;
+            }
+            writeEscape(value.getByte(index));
+            start = index + 1;
+        }
+        data.writeByte('"');
+    }
 }
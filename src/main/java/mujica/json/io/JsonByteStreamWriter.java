@@ -1,6 +1,7 @@
 package mujica.json.io;
 
 import io.netty.buffer.ByteBuf;
+import mujica.ds.text.number.ShortestDecimalAppender;
 import mujica.io.codec.Base16Case;
 import mujica.io.codec.UTF8PushPullEncoder;
 import mujica.json.container.FastNumber;
@@ -22,7 +23,7 @@ public class JsonByteStreamWriter extends JsonStreamWriter {
     @NotNull
     private final UTF8PushPullEncoder encoder = new UTF8PushPullEncoder();
 
-    private static final int NUMBER_BUFFER_SIZE = 20; // int: 1..11, long: 1..20
+    private static final int NUMBER_BUFFER_SIZE = ShortestDecimalAppender.BUFFER_SIZE; // int: 1..11, long: 1..20, double: 3..24
 
     private final byte[] numberBuffer = new byte[NUMBER_BUFFER_SIZE];
 
@@ -375,7 +376,7 @@ public class JsonByteStreamWriter extends JsonStreamWriter {
     public void numberValue(float value) {
         try {
             anyValue();
-            writeString(String.valueOf(value));
+            out.write(numberBuffer, 0, ShortestDecimalAppender.write(value, numberBuffer, 0));
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         }
@@ -385,7 +386,7 @@ public class JsonByteStreamWriter extends JsonStreamWriter {
     public void numberValue(double value) {
         try {
             anyValue();
-            writeString(String.valueOf(value));
+            out.write(numberBuffer, 0, ShortestDecimalAppender.write(value, numberBuffer, 0));
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         }
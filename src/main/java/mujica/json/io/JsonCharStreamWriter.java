@@ -1,6 +1,7 @@
 package mujica.json.io;
 
 import io.netty.buffer.ByteBuf;
+import mujica.ds.text.number.ShortestDecimalAppender;
 import mujica.io.codec.Base16Case;
 import mujica.json.container.FastNumber;
 import mujica.json.container.FastString;
@@ -21,11 +22,24 @@ public class JsonCharStreamWriter extends JsonStreamWriter {
     @NotNull
     protected final Writer out;
 
+    private final byte[] numberBuffer = new byte[ShortestDecimalAppender.BUFFER_SIZE];
+
+    private final char[] numberChars = new char[ShortestDecimalAppender.BUFFER_SIZE];
+
     public JsonCharStreamWriter(@NotNull Writer out) {
         super();
         this.out = out;
     }
 
+    private void writeDecimal(int length) throws IOException {
+        final char e = (flags & ConfigFlags.UPPERCASE_E) != 0 ? 'E' : 'e';
+        for (int index = 0; index < length; index++) {
+            char ch = (char) numberBuffer[index];
+            numberChars[index] = ch == 'E' ? e : ch;
+        }
+        out.write(numberChars, 0, length);
+    }
+
     protected void anyKey() throws IOException {
         final int state = stack.removeLast();
         switch (state) {
@@ -361,13 +375,7 @@ public class JsonCharStreamWriter extends JsonStreamWriter {
         try {
             anyValue();
             if (Float.isFinite(value)) {
-                String string = String.valueOf(value);
-                if ((flags & ConfigFlags.UPPERCASE_E) != 0) { // is there e?
-                    string = string.toUpperCase();
-                } else {
-                    string = string.toLowerCase();
-                }
-                out.write(string);
+                writeDecimal(ShortestDecimalAppender.write(value, numberBuffer, 0));
             } else if (Float.isNaN(value)) {
                 if ((flags & ConfigFlags.NAN_TO_NULL) != 0) {
                     out.write("null");
@@ -393,13 +401,7 @@ public class JsonCharStreamWriter extends JsonStreamWriter {
         try {
             anyValue();
             if (Double.isFinite(value)) {
-                String string = String.valueOf(value);
-                if ((flags & ConfigFlags.UPPERCASE_E) != 0) {
-                    string = string.toUpperCase();
-                } else {
-                    string = string.toLowerCase();
-                }
-                out.write(string);
+                writeDecimal(ShortestDecimalAppender.write(value, numberBuffer, 0));
             } else if (Double.isNaN(value)) {
                 if ((flags & ConfigFlags.NAN_TO_NULL) != 0) {
                     out.write("null");
@@ -0,0 +1,819 @@
+package mujica.json.io;
+
+import io.netty.buffer.ByteBuf;
+import mujica.ds.i32.list.CopyOnResizeIntList;
+import mujica.io.codec.Base16Case;
+import mujica.json.container.FastNumber;
+import mujica.json.container.FastString;
+import mujica.json.handler.JsonHandler;
+import mujica.json.handler.TypePreference;
+import mujica.reflect.modifier.CodeHistory;
+import mujica.reflect.modifier.DataType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads the same dialect as JsonByteBufReader, without recursion, and without garbage per document in steady state.
+ * Open containers are kept on an explicit stack; string bodies are scanned eight bytes at a time for quote and backslash.
+ * Keys are interned per reader by their raw bytes, and delivered as FastString if they need no escape, as String otherwise.
+ * String values are delivered in a reused StringBuilder to handlers preferring FLAG_TRANSIENT_STRING_VALUE.
+ */
+@CodeHistory(date = "2026/10/17")
+public class JsonFastByteBufReader extends JsonByteBufReader {
+
+    private static final long ONES = 0x0101010101010101L;
+
+    private static final long HIGHS = 0x8080808080808080L;
+
+    private static final long BACKSLASH_PATTERN = ONES * '\\';
+
+    private static final VarHandle LONG_LE = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private static final int CONTAINER_ARRAY = 0;
+
+    private static final int CONTAINER_OBJECT = 1;
+
+    private static final int STATE_VALUE = 0;
+
+    private static final int STATE_AFTER_VALUE = 1;
+
+    private static final int STATE_FIRST_ELEMENT = 2;
+
+    private static final int STATE_NEXT_ELEMENT = 3;
+
+    private static final int STATE_FIRST_KEY = 4;
+
+    private static final int STATE_NEXT_KEY = 5;
+
+    private static final int INITIAL_INTERN_CAPACITY = 64;
+
+    private static final int MAX_INTERN_SIZE = 1 << 12;
+
+    private static final int MAX_INTERN_KEY_BYTES = 64;
+
+    @NotNull
+    private final CopyOnResizeIntList stack = new CopyOnResizeIntList(null);
+
+    @NotNull
+    private final StringBuilder sb = new StringBuilder();
+
+    @NotNull
+    private int[] internHashes = new int[INITIAL_INTERN_CAPACITY];
+
+    @NotNull
+    private byte[][] internBytes = new byte[INITIAL_INTERN_CAPACITY][];
+
+    @NotNull
+    private Object[] internKeys = new Object[INITIAL_INTERN_CAPACITY];
+
+    private int internSize;
+
+    /**
+     * last key read by readKey(), String or FastString
+     */
+    private Object key;
+
+    /**
+     * content() of current call, not checked again for each byte
+     */
+    private ByteBuf data;
+
+    /**
+     * backing array of data, or null to go through ByteBuf methods
+     */
+    private byte[] array;
+
+    private int arrayOffset;
+
+    private int limit;
+
+    public JsonFastByteBufReader(@NotNull ByteBuf data) {
+        super(data);
+    }
+
+    public int internSize() {
+        return internSize;
+    }
+
+    @Override
+    public void skip() {
+        prepare();
+        data.readerIndex(run(null, data.readerIndex()));
+    }
+
+    @Override
+    public void read(@NotNull JsonHandler jh) {
+        prepare();
+        data.readerIndex(run(jh, data.readerIndex()));
+    }
+
+    private void prepare() {
+        data = content();
+        if (data.hasArray()) {
+            array = data.array();
+            arrayOffset = data.arrayOffset();
+        } else {
+            array = null;
+            arrayOffset = 0;
+        }
+        limit = data.writerIndex();
+        stack.clear(); // may be left over by an exception
+    }
+
+    /**
+     * Reads one value starting after a possible gap at index, or skips it if jh is null
+     *
+     * @return index after the value
+     */
+    private int run(@Nullable JsonHandler jh, int index) {
+        final CopyOnResizeIntList stack = this.stack;
+        final int base = stack.intLength();
+        int state = STATE_VALUE;
+        while (true) {
+            index = skipGap(index);
+            int x = byteAt(index);
+            switch (state) {
+                case STATE_AFTER_VALUE:
+                    if (stack.getInt(stack.intLength() - 1) == CONTAINER_ARRAY) {
+                        if (x == ',') {
+                            index++;
+                            state = STATE_NEXT_ELEMENT;
+                            continue;
+                        }
+                        if (x != ']') {
+                            throw new RuntimeException("missing comma");
+                        }
+                    } else {
+                        if (x == ',') {
+                            index++;
+                            state = STATE_NEXT_KEY;
+                            continue;
+                        }
+                        if (x != '}') {
+                            throw new RuntimeException("missing comma");
+                        }
+                    }
+                    index = close(jh, index);
+                    break;
+                case STATE_FIRST_ELEMENT:
+                case STATE_NEXT_ELEMENT:
+                    if (x == ']') {
+                        if (state == STATE_NEXT_ELEMENT && (flags & FLAG_TRAILING_COMMA) == 0) {
+                            throw new RuntimeException("trailing comma");
+                        }
+                        index = close(jh, index);
+                        break;
+                    }
+                    if (x == ',') {
+                        if (state == STATE_NEXT_ELEMENT) {
+                            throw new RuntimeException("duplicate comma");
+                        }
+                        if ((flags & FLAG_LEADING_COMMA) == 0) {
+                            throw new RuntimeException("leading comma");
+                        }
+                        index++;
+                        state = STATE_NEXT_ELEMENT;
+                        continue;
+                    }
+                    state = STATE_VALUE;
+                    continue;
+                case STATE_FIRST_KEY:
+                case STATE_NEXT_KEY:
+                    switch (x) {
+                        case '}':
+                            if (state == STATE_NEXT_KEY && (flags & FLAG_TRAILING_COMMA) == 0) {
+                                throw new RuntimeException("trailing comma");
+                            }
+                            index = close(jh, index);
+                            break;
+                        case ',':
+                            if (state == STATE_NEXT_KEY) {
+                                throw new RuntimeException("duplicate comma");
+                            }
+                            if ((flags & FLAG_LEADING_COMMA) == 0) {
+                                throw new RuntimeException("leading comma");
+                            }
+                            index++;
+                            state = STATE_NEXT_KEY;
+                            continue;
+                        case '\'':
+                            if ((flags & FLAG_APOSTROPHE_QUOTE_STRING) == 0) {
+                                throw new RuntimeException("apostrophe");
+                            }
+                            // no break here
+                        case '"':
+                        case '`':
+                            if (x == '`' && (flags & FLAG_GRAVE_ACCENT_QUOTE_STRING) == 0) {
+                                throw new RuntimeException("grave accent");
+                            }
+                            if (jh == null) {
+                                index = skipString(index + 1, x);
+                            } else {
+                                index = readKey(index + 1, x);
+                            }
+                            index = skipGap(index);
+                            x = byteAt(index);
+                            if (x != ':') {
+                                throw new RuntimeException("expect colon actual " + x);
+                            }
+                            index++;
+                            if (jh != null) {
+                                if (key instanceof FastString) {
+                                    jh.key((FastString) key);
+                                } else {
+                                    jh.key((String) key);
+                                }
+                            }
+                            state = STATE_VALUE;
+                            continue;
+                        default:
+                            throw new RuntimeException("unrecognized " + x);
+                    }
+                    break;
+                default: // STATE_VALUE
+                    if (x == '{' || x == '[') {
+                        if (jh != null && skipPreferred(jh)) {
+                            index = skipValue(jh, index);
+                            break;
+                        }
+                        index++;
+                        if (x == '{') {
+                            stack.offerLast(CONTAINER_OBJECT);
+                            state = STATE_FIRST_KEY;
+                            if (jh != null) {
+                                jh.openObject();
+                            }
+                        } else {
+                            stack.offerLast(CONTAINER_ARRAY);
+                            state = STATE_FIRST_ELEMENT;
+                            if (jh != null) {
+                                jh.openArray();
+                            }
+                        }
+                        continue;
+                    }
+                    if (jh == null) {
+                        index = skipScalar(index, x);
+                    } else if (skipPreferred(jh)) {
+                        index = skipValue(jh, index);
+                    } else {
+                        index = readScalar(jh, index, x);
+                    }
+                    break;
+            }
+            // a value is complete here
+            if (stack.intLength() == base) {
+                return index;
+            }
+            state = STATE_AFTER_VALUE;
+        }
+    }
+
+    private int close(@Nullable JsonHandler jh, int index) {
+        if (stack.removeLast() == CONTAINER_ARRAY) {
+            if (jh != null) {
+                jh.closeArray();
+            }
+        } else {
+            if (jh != null) {
+                jh.closeObject();
+            }
+        }
+        return index + 1;
+    }
+
+    private static boolean skipPreferred(@NotNull JsonHandler jh) {
+        return (jh.typePreference() & (TypePreference.FLAG_SKIP_VALUE | TypePreference.FLAG_SKIP_TO_BYTE_BUF)) != 0;
+    }
+
+    private int skipValue(@NotNull JsonHandler jh, int index) {
+        final int endIndex = run(null, index);
+        if (jh.testTypePreference(TypePreference.FLAG_SKIP_TO_BYTE_BUF)) {
+            jh.skippedValue(data.retainedSlice(index, endIndex - index));
+        } else {
+            jh.skippedValue();
+        }
+        return endIndex;
+    }
+
+    @DataType("u8")
+    private int byteAt(int index) {
+        if (index >= limit) {
+            throw new IndexOutOfBoundsException("end of input");
+        }
+        if (array != null) {
+            return 0xff & array[arrayOffset + index];
+        }
+        return data.getUnsignedByte(index);
+    }
+
+    /**
+     * @param index less than limit
+     */
+    @DataType("s8")
+    private byte s8(int index) {
+        if (array != null) {
+            return array[arrayOffset + index];
+        }
+        return data.getByte(index);
+    }
+
+    /**
+     * @param index not greater than limit - 8
+     */
+    private long longLE(int index) {
+        if (array != null) {
+            return (long) LONG_LE.get(array, arrayOffset + index);
+        }
+        return data.getLongLE(index);
+    }
+
+    private int skipGap(int index) {
+        while (true) {
+            int x = byteAt(index);
+            if (x <= 0x20) {
+                index++;
+                continue;
+            }
+            if (x != '/' || (flags & (FLAG_LINE_COMMENT | FLAG_BLOCK_COMMENT)) == 0) {
+                return index;
+            }
+            x = byteAt(index + 1);
+            if (x == '/') {
+                if ((flags & FLAG_LINE_COMMENT) == 0) {
+                    throw new RuntimeException("line comment");
+                }
+                index = data.indexOf(index + 2, limit, (byte) '\n');
+                if (index < 0) {
+                    throw new IndexOutOfBoundsException("end of input");
+                }
+            } else if (x == '*') {
+                if ((flags & FLAG_BLOCK_COMMENT) == 0) {
+                    throw new RuntimeException("block comment");
+                }
+                index += 2;
+                while (byteAt(index) != '*' || byteAt(index + 1) != '/') {
+                    index++;
+                }
+                index += 2;
+            } else {
+                throw new RuntimeException("comment unrecognized " + x);
+            }
+        }
+    }
+
+    private int skipWord(int index, @NotNull String word) {
+        final int n = word.length();
+        for (int i = 1; i < n; i++) { // char at 0 is already checked
+            if (byteAt(index + i) != word.charAt(i)) {
+                throw new RuntimeException("word " + word);
+            }
+        }
+        return index + n;
+    }
+
+    private int skipScalar(int index, @DataType("u8") int x) {
+        switch (x) {
+            case 'I':
+                return skipWord(index, "Infinity");
+            case 'N':
+                return skipWord(index, "NaN");
+            case 'f':
+                return skipWord(index, "false");
+            case 'n':
+                return skipWord(index, "null");
+            case 't':
+                return skipWord(index, "true");
+            case '+': case '-':
+            case '0': case '1': case '2': case '3': case '4':
+            case '5': case '6': case '7': case '8': case '9':
+                for (index++; index < limit; index++) {
+                    x = s8(index);
+                    if (!('0' <= x && x <= '9' || 'a' <= x && x <= 'z' || 'A' <= x && x <= 'Z' || x == '+' || x == '-' || x == '.')) {
+                        break;
+                    }
+                }
+                return index;
+            case '"': case '\'': case '`':
+                return skipString(index + 1, x);
+            default:
+                throw new RuntimeException("unrecognized " + x);
+        }
+    }
+
+    private int readScalar(@NotNull JsonHandler jh, int index, @DataType("u8") int x) {
+        switch (x) {
+            case 'I':
+                if ((flags & FLAG_INFINITY_NAN_EXTENSION) == 0) {
+                    throw new RuntimeException("infinity");
+                }
+                index = skipWord(index, "Infinity");
+                jh.numberValue(new FastNumber("Infinity"));
+                return index;
+            case 'N':
+                if ((flags & FLAG_INFINITY_NAN_EXTENSION) == 0) {
+                    throw new RuntimeException("not a number");
+                }
+                index = skipWord(index, "NaN");
+                jh.numberValue(new FastNumber("NaN"));
+                return index;
+            case 'f':
+                index = skipWord(index, "false");
+                jh.booleanValue(false);
+                return index;
+            case 'n':
+                index = skipWord(index, "null");
+                jh.nullValue();
+                return index;
+            case 't':
+                index = skipWord(index, "true");
+                jh.booleanValue(true);
+                return index;
+            case '+': case '-':
+            case '0': case '1': case '2': case '3': case '4':
+            case '5': case '6': case '7': case '8': case '9':
+                return readNumber(jh, index);
+            case '`':
+                if ((flags & FLAG_GRAVE_ACCENT_QUOTE_STRING) == 0) {
+                    throw new RuntimeException("grave accent");
+                }
+                return readString(jh, index + 1, x);
+            case '\'':
+                if ((flags & FLAG_APOSTROPHE_QUOTE_STRING) == 0) {
+                    throw new RuntimeException("apostrophe");
+                }
+                // no break here
+            case '"':
+                return readString(jh, index + 1, x);
+            default:
+                throw new RuntimeException("unrecognized " + x);
+        }
+    }
+
+    /**
+     * Integers shorter than 19 bytes are parsed in place; others go to readJsonLiteral(). A sign needs at least one digit
+     * or letter after it
+     */
+    private int readNumber(@NotNull JsonHandler jh, int index) {
+        int endIndex = index + 1;
+        while (endIndex < limit) {
+            int x = s8(endIndex);
+            if (x < '0' || '9' < x) {
+                break;
+            }
+            endIndex++;
+        }
+        if (endIndex == index + 1 && s8(index) == '-') {
+            int x = endIndex < limit ? s8(endIndex) : ' ';
+            if (!('a' <= x && x <= 'z' || 'A' <= x && x <= 'Z')) {
+                throw new RuntimeException("digit expected after -");
+            }
+        }
+        if (endIndex - index < 19 && (jh.typePreference() & (TypePreference.FLAG_INTEGRAL_FORCE_TO_FRACTIONAL | TypePreference.FLAG_INTEGRAL_FORCE_TO_RAW)) == 0) {
+            int x = endIndex < limit ? s8(endIndex) : ' ';
+            if (!('a' <= x && x <= 'z' || 'A' <= x && x <= 'Z' || x == '+' || x == '-' || x == '.')) {
+                x = s8(index);
+                long value = 0L;
+                if ('0' <= x && x <= '9') {
+                    value = x - '0';
+                }
+                for (int digitIndex = index + 1; digitIndex < endIndex; digitIndex++) {
+                    value = value * 10L + (s8(digitIndex) - '0');
+                }
+                if (x == '-') {
+                    value = -value;
+                }
+                if (Integer.MIN_VALUE <= value && value <= Integer.MAX_VALUE) {
+                    jh.numberValue((int) value);
+                } else {
+                    jh.numberValue(value);
+                }
+                return endIndex;
+            }
+        }
+        data.readerIndex(index + 1);
+        readJsonLiteral(jh);
+        return data.readerIndex();
+    }
+
+    /**
+     * @return nonzero with the high bit set in the lowest byte of word which is zero, maybe also in higher bytes
+     */
+    private static long zeroBytes(long word) {
+        return (word - ONES) & ~word & HIGHS;
+    }
+
+    /**
+     * @return index of the first quote or backslash
+     */
+    private int scanQuoteOrBackslash(int index, @DataType("u8") int quoteChar) {
+        final long quotePattern = ONES * quoteChar;
+        while (index + Long.BYTES <= limit) {
+            long word = longLE(index);
+            long found = zeroBytes(word ^ quotePattern) | zeroBytes(word ^ BACKSLASH_PATTERN);
+            if (found != 0L) {
+                return index + (Long.numberOfTrailingZeros(found) >>> 3);
+            }
+            index += Long.BYTES;
+        }
+        while (true) {
+            int x = byteAt(index);
+            if (x == quoteChar || x == '\\') {
+                return index;
+            }
+            index++;
+        }
+    }
+
+    /**
+     * @return index of the first quote, backslash or non-ASCII byte
+     */
+    private int scanSpecial(int index, @DataType("u8") int quoteChar) {
+        final long quotePattern = ONES * quoteChar;
+        while (index + Long.BYTES <= limit) {
+            long word = longLE(index);
+            long found = zeroBytes(word ^ quotePattern) | zeroBytes(word ^ BACKSLASH_PATTERN) | (word & HIGHS);
+            if (found != 0L) {
+                return index + (Long.numberOfTrailingZeros(found) >>> 3);
+            }
+            index += Long.BYTES;
+        }
+        while (true) {
+            int x = byteAt(index);
+            if (x == quoteChar || x == '\\' || x >= 0x80) {
+                return index;
+            }
+            index++;
+        }
+    }
+
+    /**
+     * @param index after the opening quote
+     * @return index after the closing quote
+     */
+    private int skipString(int index, @DataType("u8") int quoteChar) {
+        while (true) {
+            index = scanQuoteOrBackslash(index, quoteChar);
+            if (s8(index) == quoteChar) {
+                return index + 1;
+            }
+            index += 2;
+        }
+    }
+
+    private int readString(@NotNull JsonHandler jh, int index, @DataType("u8") int quoteChar) {
+        final boolean transientValue = jh.testTypePreference(TypePreference.FLAG_TRANSIENT_STRING_VALUE);
+        if (!transientValue) {
+            int endIndex = scanQuoteOrBackslash(index, quoteChar);
+            if (s8(endIndex) == quoteChar) {
+                jh.stringValue(data.toString(index, endIndex - index, StandardCharsets.UTF_8));
+                return endIndex + 1;
+            }
+        }
+        sb.setLength(0);
+        index = decodeString(index, quoteChar);
+        if (transientValue) {
+            jh.stringValue(sb);
+        } else {
+            jh.stringValue(sb.toString());
+        }
+        return index;
+    }
+
+    /**
+     * Appends the string body to sb
+     *
+     * @return index after the closing quote
+     */
+    private int decodeString(int index, @DataType("u8") int quoteChar) {
+        final StringBuilder sb = this.sb;
+        while (true) {
+            int endIndex = scanSpecial(index, quoteChar);
+            for (; index < endIndex; index++) {
+                sb.append((char) s8(index));
+            }
+            int x = byteAt(index);
+            if (x == quoteChar) {
+                return index + 1;
+            }
+            if (x == '\\') {
+                index = decodeEscape(index + 1, quoteChar);
+            } else {
+                index = decodeUTF8(index, x);
+            }
+        }
+    }
+
+    /**
+     * @param index after the backslash
+     */
+    private int decodeEscape(int index, @DataType("u8") int quoteChar) {
+        int value = byteAt(index++);
+        switch (value) {
+            case '\r':
+                if (index < limit && s8(index) == '\n') {
+                    index++;
+                }
+                return index;
+            case '\n':
+                return index;
+            case '\'':
+                if (value != quoteChar) {
+                    throw new RuntimeException("escape apostrophe");
+                }
+                break;
+            case '`':
+                if (value != quoteChar) {
+                    throw new RuntimeException("escape grave accent");
+                }
+                break;
+            case 'b':
+                value = '\b';
+                break;
+            case 'f':
+                value = '\f';
+                break;
+            case 'n':
+                value = '\n';
+                break;
+            case 'r':
+                value = '\r';
+                break;
+            case 't':
+                value = '\t';
+                break;
+            case 'u':
+                value = 0;
+                for (int shift = 12; shift >= 0; shift -= 4) {
+                    int digit = byteAt(index++);
+                    if ('0' <= digit && digit <= '9') {
+                        digit -= '0';
+                    } else if ('A' <= digit && digit <= 'Z') {
+                        digit -= Base16Case.UPPER_CONSTANT;
+                    } else if ('a' <= digit && digit <= 'z') {
+                        digit -= Base16Case.LOWER_CONSTANT;
+                    } else {
+                        throw new RuntimeException("hex digit " + digit);
+                    }
+                    value |= digit << shift;
+                }
+                break;
+        }
+        sb.append((char) value);
+        return index;
+    }
+
+    /**
+     * Malformed sequences are replaced by U+FFFD, one byte at a time
+     *
+     * @param x the lead byte at index, not ASCII
+     */
+    private int decodeUTF8(int index, @DataType("u8") int x) {
+        final int length;
+        final int min;
+        if (x < 0xc2) {
+            length = 0;
+            min = 0;
+        } else if (x < 0xe0) {
+            length = 2;
+            min = 0x80;
+            x &= 0x1f;
+        } else if (x < 0xf0) {
+            length = 3;
+            min = 0x800;
+            x &= 0x0f;
+        } else if (x < 0xf5) {
+            length = 4;
+            min = 0x10000;
+            x &= 0x07;
+        } else {
+            length = 0;
+            min = 0;
+        }
+        if (length == 0 || index + length > limit) {
+            sb.append('\uFFFD');
+            return index + 1;
+        }
+        for (int offset = 1; offset < length; offset++) {
+            int y = s8(index + offset);
+            if ((y & 0xc0) != 0x80) {
+                sb.append('\uFFFD');
+                return index + 1;
+            }
+            x = (x << 6) | (y & 0x3f);
+        }
+        if (x < min || x > Character.MAX_CODE_POINT || Character.MIN_SURROGATE <= x && x <= Character.MAX_SURROGATE) {
+            sb.append('\uFFFD');
+            return index + 1;
+        }
+        sb.appendCodePoint(x);
+        return index + length;
+    }
+
+    private int keyHash(int index, int length) {
+        long hash = length;
+        final int endIndex = index + length;
+        for (; index + Long.BYTES <= endIndex; index += Long.BYTES) {
+            hash = (hash ^ longLE(index)) * 0x9e3779b97f4a7c15L;
+        }
+        for (; index < endIndex; index++) {
+            hash = (hash ^ s8(index)) * 0x9e3779b97f4a7c15L;
+        }
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    private boolean keyEquals(@NotNull byte[] bytes, int index) {
+        for (byte b : bytes) {
+            if (s8(index++) != b) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Sets key field
+     *
+     * @param index after the opening quote
+     * @return index after the closing quote
+     */
+    private int readKey(int index, @DataType("u8") int quoteChar) {
+        final int endIndex = scanQuoteOrBackslash(index, quoteChar);
+        if (s8(endIndex) != quoteChar) {
+            sb.setLength(0);
+            int nextIndex = decodeString(index, quoteChar);
+            key = sb.toString(); // escaped keys are rare, not interned
+            return nextIndex;
+        }
+        final int length = endIndex - index;
+        if (length > MAX_INTERN_KEY_BYTES) {
+            key = data.toString(index, length, StandardCharsets.UTF_8);
+            return endIndex + 1;
+        }
+        final int hash = keyHash(index, length);
+        final int mask = internBytes.length - 1;
+        int slot = hash & mask;
+        while (true) {
+            byte[] bytes = internBytes[slot];
+            if (bytes == null) {
+                break;
+            }
+            if (internHashes[slot] == hash && bytes.length == length && keyEquals(bytes, index)) {
+                key = internKeys[slot];
+                return endIndex + 1;
+            }
+            slot = (slot + 1) & mask;
+        }
+        final byte[] bytes = new byte[length];
+        data.getBytes(index, bytes);
+        boolean fast = true;
+        for (byte b : bytes) {
+            if (b < 0x20 || b == 0x7f || b == '"' || b == '\\') { // also true for non-ASCII bytes
+                fast = false;
+                break;
+            }
+        }
+        if (fast) {
+            key = new FastString(new String(bytes, StandardCharsets.ISO_8859_1));
+        } else {
+            key = new String(bytes, StandardCharsets.UTF_8);
+        }
+        if (internSize < MAX_INTERN_SIZE) {
+            internHashes[slot] = hash;
+            internBytes[slot] = bytes;
+            internKeys[slot] = key;
+            if (++internSize << 1 > internBytes.length) {
+                rehash();
+            }
+        }
+        return endIndex + 1;
+    }
+
+    private void rehash() {
+        final int[] oldHashes = internHashes;
+        final byte[][] oldBytes = internBytes;
+        final Object[] oldKeys = internKeys;
+        final int capacity = oldBytes.length << 1;
+        final int mask = capacity - 1;
+        internHashes = new int[capacity];
+        internBytes = new byte[capacity][];
+        internKeys = new Object[capacity];
+        for (int index = 0; index < oldBytes.length; index++) {
+            if (oldBytes[index] == null) {
+                continue;
+            }
+            int slot = oldHashes[index] & mask;
+            while (internBytes[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            internHashes[slot] = oldHashes[index];
+            internBytes[slot] = oldBytes[index];
+            internKeys[slot] = oldKeys[index];
+        }
+    }
+}
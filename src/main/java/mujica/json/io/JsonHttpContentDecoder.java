@@ -0,0 +1,97 @@
+package mujica.json.io;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.MessageToMessageDecoder;
+import io.netty.handler.codec.http.DefaultHttpRequest;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.HttpObject;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.LastHttpContent;
+import mujica.json.handler.JsonHandler;
+import mujica.reflect.modifier.CodeHistory;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Goes after HttpServerCodec instead of HttpObjectAggregator.
+ * For each request, a JsonHandler is made from the request and fed with the body chunks as they arrive.
+ * The request (without content) is passed on when it arrives, and the JsonHandler is passed on after the last content.
+ * A FullHttpRequest is passed on as a DefaultHttpRequest with the same line and headers; its content is released by this decoder.
+ */
+@CodeHistory(date = "2026/10/17")
+public class JsonHttpContentDecoder extends MessageToMessageDecoder<HttpObject> {
+
+    @NotNull
+    private final Function<? super HttpRequest, ? extends JsonHandler> factory;
+
+    private final int flags;
+
+    @Nullable
+    private JsonHandler jh;
+
+    @Nullable
+    private JsonAsyncByteBufReader reader;
+
+    public JsonHttpContentDecoder(@NotNull Function<? super HttpRequest, ? extends JsonHandler> factory, int flags) {
+        super();
+        this.factory = factory;
+        this.flags = flags;
+    }
+
+    @Override
+    protected void decode(ChannelHandlerContext ctx, HttpObject msg, List<Object> out) {
+        if (msg instanceof HttpRequest) {
+            HttpRequest request = (HttpRequest) msg;
+            closeReader();
+            jh = factory.apply(request);
+            reader = new JsonAsyncByteBufReader(jh);
+            reader.setFlags(flags);
+            if (msg instanceof HttpContent) { // full request
+                HttpRequest head = new DefaultHttpRequest(request.protocolVersion(), request.method(), request.uri(), request.headers());
+                head.setDecoderResult(request.decoderResult());
+                out.add(head);
+            } else {
+                out.add(msg);
+            }
+        }
+        if (msg instanceof HttpContent) {
+            if (reader == null) {
+                throw new RuntimeException("content without request");
+            }
+            try {
+                reader.read(((HttpContent) msg).content().duplicate());
+                if (msg instanceof LastHttpContent) {
+                    reader.end();
+                    out.add(jh);
+                    closeReader();
+                }
+            } catch (RuntimeException e) {
+                closeReader();
+                throw e;
+            }
+        }
+    }
+
+    private void closeReader() {
+        if (reader != null) {
+            reader.close();
+            reader = null;
+        }
+        jh = null;
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        closeReader();
+        super.channelInactive(ctx);
+    }
+
+    @Override
+    public void handlerRemoved(ChannelHandlerContext ctx) throws Exception {
+        closeReader();
+        super.handlerRemoved(ctx);
+    }
+}
@@ -25,6 +25,7 @@ import java.util.ArrayList;
 @CodeHistory(date = "2021/1/8", project = "webbiton", name = "JsonInputStreamReader")
 @CodeHistory(date = "2022/8/13", project = "Ultramarine", name = "JsonInputStreamReader")
 @CodeHistory(date = "2026/2/23")
+@CodeHistory(date = "2026/10/17")
 public class JsonObjectInputStream extends OneBufferDataInputStream implements JsonSyncSkipReader, ObjectInput {
 
     @NotNull
@@ -33,6 +34,12 @@ public class JsonObjectInputStream extends OneBufferDataInputStream implements J
     @NotNull
     private final UTF8PushPullDecoder decoder = new UTF8PushPullDecoder();
 
+    /**
+     * Octets of a string between escapes, decoded in bulk
+     */
+    @NotNull
+    private final byte[] run = new byte[256];
+
     private int flags;
 
     public JsonObjectInputStream(@NotNull InputStream in) {
@@ -503,9 +510,12 @@ public class JsonObjectInputStream extends OneBufferDataInputStream implements J
     private String readJsonString(@DataType("u8") int quoteChar) throws IOException {
         sb.delete(0, sb.length());
         decoder.reset();
+        int runLength = 0;
         while (true) {
             int octet = super.readUnsignedByte();
             if (octet == '\\') {
+                decoder.decode(run, 0, runLength, sb);
+                runLength = 0;
                 decoder.finishPush(sb);
                 octet = super.readUnsignedByte();
                 switch (octet) {
@@ -560,10 +570,15 @@ public class JsonObjectInputStream extends OneBufferDataInputStream implements J
                 continue;
             }
             if (octet == quoteChar) {
+                decoder.decode(run, 0, runLength, sb);
                 decoder.finishPush(sb);
                 break;
             }
-            decoder.push((byte) octet, sb);
+            if (runLength == run.length) {
+                decoder.decode(run, 0, runLength, sb);
+                runLength = 0;
+            }
+            run[runLength++] = (byte) octet;
         }
         return sb.toString();
     }
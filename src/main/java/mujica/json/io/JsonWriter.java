@@ -56,6 +56,14 @@ public abstract class JsonWriter extends JsonHandler {
         return flags;
     }
 
+    /**
+     * String values are written out before stringValue() returns
+     */
+    @Override
+    public int typePreference() {
+        return FLAG_TRANSIENT_STRING_VALUE;
+    }
+
 
     public static final int STATE_START = 0;
     public static final int STATE_END = 1;
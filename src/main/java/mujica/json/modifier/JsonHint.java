@@ -42,6 +42,11 @@ public @interface JsonHint {
     int COLLECT_NON_PUBLIC          = 0x0040_0000;
     int SEALED                      = 0x0080_0000;
     int DERIVED                     = 0x0100_0000;
+    /**
+     * Replaces the reflective field getters, setters and builder with generated bytecode; accessors only.
+     * Stringify and parse still dispatch per field through JsonType and match keys through the field map
+     */
+    int GENERATE_ACCESSOR           = 0x0200_0000;
 
     @MagicConstant(flagsFromClass = JsonHint.class)
     int value();
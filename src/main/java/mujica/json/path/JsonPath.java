@@ -19,6 +19,11 @@ public interface JsonPath extends Serializable {
         return new JsonPathNameSegment(value);
     }
 
+    @NotNull
+    static JsonPath of(@NotNull JsonPathSegment... segments) {
+        return new JsonPathArray(segments.clone());
+    }
+
     int length();
 
     @NotNull
@@ -0,0 +1,29 @@
+package mujica.json.path;
+
+import mujica.reflect.modifier.CodeHistory;
+import org.jetbrains.annotations.NotNull;
+
+@CodeHistory(date = "2026/10/17")
+class JsonPathArray implements JsonPath {
+
+    private static final long serialVersionUID = 0x5E0C6A1F9B37D248L;
+
+    @NotNull
+    final JsonPathSegment[] segments;
+
+    JsonPathArray(@NotNull JsonPathSegment[] segments) {
+        super();
+        this.segments = segments;
+    }
+
+    @Override
+    public int length() {
+        return segments.length;
+    }
+
+    @NotNull
+    @Override
+    public JsonPathSegment get(int index) {
+        return segments[index];
+    }
+}
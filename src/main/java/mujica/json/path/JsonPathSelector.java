@@ -0,0 +1,450 @@
+package mujica.json.path;
+
+import io.netty.buffer.ByteBuf;
+import mujica.json.handler.JsonHandler;
+import mujica.json.io.JsonByteBufReader;
+import mujica.json.io.JsonReader;
+import mujica.reflect.modifier.CodeHistory;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Compiles paths into a trie, and walks a document selecting the values at the paths.
+ * Only containers on the way to a path are looked into, where keys are compared as raw bytes unless escaped;
+ * everything else is skipped by counting brackets and quotes, without decoding strings or parsing numbers.
+ * Selected values are read by a JsonByteBufReader into the handler of the path.
+ * The quote and comma flags of JsonReader are honoured on the way too; comments are not supported outside the selected values.
+ */
+@CodeHistory(date = "2026/10/17")
+public class JsonPathSelector {
+
+    private static final int[] EMPTY_INTS = {};
+
+    @CodeHistory(date = "2026/10/17")
+    private static class Node {
+
+        int[] terminals = EMPTY_INTS; // path indexes ending here
+
+        byte[][] names = {};
+
+        String[] nameStrings = {};
+
+        Node[] nameNodes = {};
+
+        int[] indexes = EMPTY_INTS;
+
+        Node[] indexNodes = {};
+
+        Node() {
+            super();
+        }
+
+        @NotNull
+        Node nameChild(@NotNull String name) {
+            for (int i = 0; i < nameStrings.length; i++) {
+                if (nameStrings[i].equals(name)) {
+                    return nameNodes[i];
+                }
+            }
+            final int n = nameStrings.length;
+            names = Arrays.copyOf(names, n + 1);
+            names[n] = name.getBytes(StandardCharsets.UTF_8);
+            nameStrings = Arrays.copyOf(nameStrings, n + 1);
+            nameStrings[n] = name;
+            nameNodes = Arrays.copyOf(nameNodes, n + 1);
+            return nameNodes[n] = new Node();
+        }
+
+        @NotNull
+        Node indexChild(int index) {
+            for (int i = 0; i < indexes.length; i++) {
+                if (indexes[i] == index) {
+                    return indexNodes[i];
+                }
+            }
+            final int n = indexes.length;
+            indexes = Arrays.copyOf(indexes, n + 1);
+            indexes[n] = index;
+            indexNodes = Arrays.copyOf(indexNodes, n + 1);
+            return indexNodes[n] = new Node();
+        }
+
+        boolean hasChildren() {
+            return nameNodes.length != 0 || indexNodes.length != 0;
+        }
+    }
+
+    @NotNull
+    private final Node root = new Node();
+
+    private final int pathCount;
+
+    private int flags;
+
+    private ByteBuf data;
+
+    private byte[] array;
+
+    private int arrayOffset;
+
+    private int limit;
+
+    private JsonByteBufReader reader;
+
+    private JsonHandler[] handlers;
+
+    private int matchCount;
+
+    public JsonPathSelector(@NotNull JsonPath... paths) {
+        super();
+        for (int pathIndex = 0; pathIndex < paths.length; pathIndex++) {
+            JsonPath path = paths[pathIndex];
+            Node node = root;
+            for (int i = 0, n = path.length(); i < n; i++) {
+                JsonPathSegment segment = path.get(i);
+                if (segment instanceof JsonPathNameSegment) {
+                    node = node.nameChild(((JsonPathNameSegment) segment).value);
+                } else if (segment instanceof JsonPathIndexSegment) {
+                    node = node.indexChild(((JsonPathIndexSegment) segment).value);
+                } else {
+                    throw new IllegalArgumentException("segment " + segment);
+                }
+            }
+            node.terminals = Arrays.copyOf(node.terminals, node.terminals.length + 1);
+            node.terminals[node.terminals.length - 1] = pathIndex;
+        }
+        pathCount = paths.length;
+    }
+
+    public int pathCount() {
+        return pathCount;
+    }
+
+    /**
+     * @param flags JsonReader flags for walking the document and reading the selected values
+     */
+    @NotNull
+    public JsonPathSelector setFlags(int flags) {
+        this.flags = flags;
+        return this;
+    }
+
+    public int getFlags() {
+        return flags;
+    }
+
+    /**
+     * Selects from one JSON value starting at the reader index, and moves the reader index to its end
+     *
+     * @param handlers one for each path, by the order given to the constructor; null handler drops the value
+     * @return count of selected values
+     */
+    public int select(@NotNull ByteBuf data, @NotNull JsonHandler[] handlers) {
+        if (handlers.length != pathCount) {
+            throw new IllegalArgumentException("handler count");
+        }
+        this.data = data;
+        this.handlers = handlers;
+        if (data.hasArray()) {
+            array = data.array();
+            arrayOffset = data.arrayOffset();
+        } else {
+            array = null;
+            arrayOffset = 0;
+        }
+        limit = data.writerIndex();
+        reader = new JsonByteBufReader(data);
+        reader.setFlags(flags);
+        matchCount = 0;
+        try {
+            data.readerIndex(match(root, data.readerIndex()));
+            return matchCount;
+        } finally {
+            this.data = null;
+            this.handlers = null;
+            array = null;
+            reader = null;
+        }
+    }
+
+    private int byteAt(int index) {
+        if (index >= limit) {
+            throw new IndexOutOfBoundsException("end of input");
+        }
+        if (array != null) {
+            return array[arrayOffset + index];
+        } else {
+            return data.getByte(index);
+        }
+    }
+
+    private int skipWhitespace(int index) {
+        while (true) {
+            int x = byteAt(index);
+            if (x != ' ' && x != '\n' && x != '\r' && x != '\t') {
+                return index;
+            }
+            index++;
+        }
+    }
+
+    private int match(@NotNull Node node, int index) {
+        index = skipWhitespace(index);
+        if (node.terminals.length != 0) {
+            int end = index;
+            for (int pathIndex : node.terminals) {
+                data.readerIndex(index);
+                JsonHandler jh = handlers[pathIndex];
+                if (jh != null) {
+                    reader.read(jh);
+                    end = data.readerIndex();
+                } else {
+                    end = skipValue(index);
+                }
+                matchCount++;
+            }
+            if (!node.hasChildren()) {
+                return end;
+            }
+        }
+        final int x = byteAt(index);
+        if (x == '{' && node.nameNodes.length != 0) {
+            return matchObject(node, index + 1);
+        }
+        if (x == '[' && node.indexNodes.length != 0) {
+            return matchArray(node, index + 1);
+        }
+        return skipValue(index);
+    }
+
+    private boolean isQuote(int x) {
+        return x == '"' || x == '\'' && (flags & JsonReader.FLAG_APOSTROPHE_QUOTE_STRING) != 0
+                || x == '`' && (flags & JsonReader.FLAG_GRAVE_ACCENT_QUOTE_STRING) != 0;
+    }
+
+    /**
+     * @param index inside a container, after the opening bracket
+     * @return index of the first value or the closing bracket, after a leading comma if allowed
+     */
+    private int skipLeadingComma(int index) {
+        index = skipWhitespace(index);
+        if (byteAt(index) == ',' && (flags & JsonReader.FLAG_LEADING_COMMA) != 0) {
+            index = skipWhitespace(index + 1);
+        }
+        return index;
+    }
+
+    private int matchObject(@NotNull Node node, int index) {
+        final int childCount = node.nameNodes.length;
+        int remaining = childCount <= Long.SIZE ? childCount : -1; // no early end when too many to track
+        long seen = 0L;
+        index = skipLeadingComma(index);
+        if (byteAt(index) == '}') {
+            return index + 1;
+        }
+        while (true) {
+            if (!isQuote(byteAt(index))) {
+                throw new RuntimeException("key expected");
+            }
+            int keyStart = index + 1;
+            int keyEnd = skipString(index);
+            int childIndex = findName(node, keyStart, keyEnd - 1);
+            index = skipWhitespace(keyEnd);
+            if (byteAt(index) != ':') {
+                throw new RuntimeException("colon expected");
+            }
+            if (childIndex != -1) {
+                index = match(node.nameNodes[childIndex], index + 1);
+                if (remaining > 0 && (seen & (1L << childIndex)) == 0L) { // a duplicate key is not another child
+                    seen |= 1L << childIndex;
+                    remaining--;
+                }
+            } else {
+                index = skipValue(skipWhitespace(index + 1));
+            }
+            index = skipWhitespace(index);
+            int x = byteAt(index);
+            if (x == '}') {
+                return index + 1;
+            }
+            if (x != ',') {
+                throw new RuntimeException("missing comma");
+            }
+            if (remaining == 0) { // every child seen, nothing more to look for
+                return skipContainer(index + 1);
+            }
+            index = skipWhitespace(index + 1);
+            if (byteAt(index) == '}' && (flags & JsonReader.FLAG_TRAILING_COMMA) != 0) {
+                return index + 1;
+            }
+        }
+    }
+
+    private int matchArray(@NotNull Node node, int index) {
+        int remaining = node.indexNodes.length;
+        index = skipLeadingComma(index);
+        if (byteAt(index) == ']') {
+            return index + 1;
+        }
+        for (int position = 0; ; position++) {
+            Node child = null;
+            for (int i = 0; i < node.indexes.length; i++) {
+                if (node.indexes[i] == position) {
+                    child = node.indexNodes[i];
+                    break;
+                }
+            }
+            if (child != null) {
+                index = match(child, index);
+                remaining--;
+            } else {
+                index = skipValue(index);
+            }
+            index = skipWhitespace(index);
+            int x = byteAt(index);
+            if (x == ']') {
+                return index + 1;
+            }
+            if (x != ',') {
+                throw new RuntimeException("missing comma");
+            }
+            if (remaining == 0) {
+                return skipContainer(index + 1);
+            }
+            index = skipWhitespace(index + 1);
+            if (byteAt(index) == ']' && (flags & JsonReader.FLAG_TRAILING_COMMA) != 0) {
+                return index + 1;
+            }
+        }
+    }
+
+    /**
+     * @return index of the child, or -1
+     */
+    private int findName(@NotNull Node node, int start, int end) {
+        final int length = end - start;
+        boolean escaped = false;
+        LABEL:
+        for (int i = 0; i < node.names.length; i++) {
+            byte[] name = node.names[i];
+            if (name.length != length) {
+                continue;
+            }
+            for (int j = 0; j < length; j++) {
+                int x = byteAt(start + j);
+                if (x == '\\') {
+                    escaped = true;
+                    break LABEL;
+                }
+                if (x != name[j]) {
+                    continue LABEL;
+                }
+            }
+            return i;
+        }
+        if (!escaped) {
+            for (int j = start; j < end; j++) {
+                if (byteAt(j) == '\\') {
+                    escaped = true;
+                    break;
+                }
+            }
+        }
+        if (escaped) {
+            String key = decodeKey(start - 1);
+            for (int i = 0; i < node.nameStrings.length; i++) {
+                if (node.nameStrings[i].equals(key)) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    @NotNull
+    private String decodeKey(int quoteIndex) {
+        final int readerIndex = data.readerIndex();
+        try {
+            data.readerIndex(quoteIndex);
+            StringBuilder sb = new StringBuilder();
+            reader.read(new JsonHandler() {
+                @Override
+                public void stringValue(@NotNull CharSequence value) {
+                    sb.append(value);
+                }
+            });
+            return sb.toString();
+        } finally {
+            data.readerIndex(readerIndex);
+        }
+    }
+
+    /**
+     * @param index at the opening quote
+     * @return index after the closing quote
+     */
+    private int skipString(int index) {
+        final int quote = byteAt(index);
+        index++;
+        while (true) {
+            int x = byteAt(index++);
+            if (x == '\\') {
+                index++;
+            } else if (x == quote) {
+                return index;
+            }
+        }
+    }
+
+    /**
+     * @param index at the start of the value
+     * @return index after the value
+     */
+    private int skipValue(int index) {
+        final int x = byteAt(index);
+        switch (x) {
+            case '"': case '\'': case '`':
+                return skipString(index);
+            case '{': case '[':
+                return skipContainer(index + 1);
+            default:
+                while (index < limit) {
+                    int y = byteAt(index);
+                    if (y == ',' || y == '}' || y == ']' || y == ' ' || y == '\n' || y == '\r' || y == '\t') {
+                        break;
+                    }
+                    index++;
+                }
+                return index;
+        }
+    }
+
+    /**
+     * @param index inside a container, after the opening bracket or a comma
+     * @return index after the closing bracket
+     */
+    private int skipContainer(int index) {
+        int depth = 1;
+        while (true) {
+            int x = byteAt(index);
+            switch (x) {
+                case '"': case '\'': case '`':
+                    index = skipString(index);
+                    continue;
+                case '{': case '[':
+                    depth++;
+                    break;
+                case '}': case ']':
+                    if (--depth == 0) {
+                        return index + 1;
+                    }
+                    break;
+                default:
+                    break;
+            }
+            index++;
+        }
+    }
+}
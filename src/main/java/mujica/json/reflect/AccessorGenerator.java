@@ -0,0 +1,523 @@
+package mujica.json.reflect;
+
+import mujica.reflect.bytecode.ClassFile;
+import mujica.reflect.bytecode.ConstantPool;
+import mujica.reflect.bytecode.Opcode;
+import mujica.reflect.modifier.CodeHistory;
+import mujica.reflect.modifier.ReferencePage;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates one IndexedGetter subclass and one IndexedSetter subclass per plain object class.
+ * Each generated instance holds a member index, and every accessor method is a tableswitch over direct getfield, putfield, invokevirtual or new instructions.
+ * The typed accessors like getInt() and setInt() are overridden for members of that primitive type, so that no boxing happens.
+ * Class file version is 49, so that no StackMapTable is needed for the switch.
+ * Both classes are defined by a class loader of their own, so that they are unloaded with the accessors.
+ */
+@CodeHistory(date = "2026/10/17")
+@ReferencePage(title = "JVMS12 The class File Format", href = "https://docs.oracle.com/javase/specs/jvms/se12/html/jvms-4.html")
+final class AccessorGenerator {
+
+    private static final AtomicInteger SERIAL = new AtomicInteger();
+
+    private static final String PACKAGE = "mujica/json/reflect/";
+
+    private static final String GETTER = PACKAGE + "IndexedGetter";
+
+    private static final String SETTER = PACKAGE + "IndexedSetter";
+
+    private static final int MAJOR_VERSION = 49; // Java 5
+
+    private static final int ACC_PUBLIC_FINAL_SUPER = 0x0031;
+
+    private static final int ACC_PUBLIC = 0x0001;
+
+    private static final int ACC_PROTECTED = 0x0004;
+
+    private static final int MAX_STACK = 8; // enough for new-dup and two-slot values
+
+    private static final int MAX_LOCALS = 4; // this + self + two-slot value
+
+    private static final Class<?>[] PRIMITIVES = {boolean.class, byte.class, char.class, short.class, int.class, long.class, float.class, double.class};
+
+    private static final String[] TYPED_SUFFIXES = {"Boolean", "Byte", "Char", "Short", "Int", "Long", "Float", "Double"};
+
+    private static final String[] BOX_CLASSES = {"java/lang/Boolean", "java/lang/Byte", "java/lang/Character", "java/lang/Short", "java/lang/Integer", "java/lang/Long", "java/lang/Float", "java/lang/Double"};
+
+    private static final int KIND_FIELD = 0;
+    private static final int KIND_METHOD = 1;
+    private static final int KIND_CONSTRUCTOR = 2;
+
+    @CodeHistory(date = "2026/10/17")
+    private static class Member {
+
+        @NotNull
+        final Class<?> owner;
+
+        @NotNull
+        final String name;
+
+        @NotNull
+        final Class<?> type; // void for constructor
+
+        final int kind;
+
+        Member(@NotNull Class<?> owner, @NotNull String name, @NotNull Class<?> type, int kind) {
+            super();
+            this.owner = owner;
+            this.name = name;
+            this.type = type;
+            this.kind = kind;
+        }
+    }
+
+    private final ClassLoader loader = AccessorGenerator.class.getClassLoader();
+
+    private final ArrayList<Member> getterMembers = new ArrayList<>();
+
+    private final ArrayList<Member> setterMembers = new ArrayList<>();
+
+    private AccessorGenerator() {
+        super();
+    }
+
+    /**
+     * Replaces the reflective getters and setters of the fields and the builder of the type, if the members can be linked from this package
+     */
+    static void generate(@NotNull PlainObjectType type, @NotNull Collection<PlainObjectField> fields, @NotNull JsonContext context) {
+        final AccessorGenerator generator = new AccessorGenerator();
+        final int[] getterIndexes = new int[fields.size()];
+        final int[] setterIndexes = new int[fields.size()];
+        int position = 0;
+        for (PlainObjectField field : fields) {
+            getterIndexes[position] = generator.collect(generator.getterMember(field.getter), generator.getterMembers);
+            setterIndexes[position] = generator.collect(generator.setterMember(field.setter), generator.setterMembers);
+            position++;
+        }
+        final int builderIndex = generator.collect(generator.builderMember(type.builder), generator.getterMembers);
+        try {
+            final GeneratedClassLoader classLoader = new GeneratedClassLoader(generator.loader);
+            if (!generator.getterMembers.isEmpty()) {
+                Constructor<?> constructor = classLoader.define(generator.getterClass()).getDeclaredConstructor(int.class);
+                position = 0;
+                for (PlainObjectField field : fields) {
+                    if (getterIndexes[position] != -1) {
+                        field.getter = (Getter) constructor.newInstance(getterIndexes[position]);
+                    }
+                    position++;
+                }
+                if (builderIndex != -1) {
+                    type.builder = (Getter) constructor.newInstance(builderIndex);
+                }
+            }
+            if (!generator.setterMembers.isEmpty()) {
+                Constructor<?> constructor = classLoader.define(generator.setterClass()).getDeclaredConstructor(int.class);
+                position = 0;
+                for (PlainObjectField field : fields) {
+                    if (setterIndexes[position] != -1) {
+                        field.setter = (Setter) constructor.newInstance(setterIndexes[position]);
+                    }
+                    position++;
+                }
+            }
+        } catch (IOException | ReflectiveOperationException | LinkageError e) {
+            context.getLogger().warn("generate accessor fail", e);
+        }
+    }
+
+    /**
+     * Child of the loader of this package, one per plain object class; nothing else refers to it, so the generated
+     * classes can be unloaded when the accessors are dropped
+     */
+    @CodeHistory(date = "2026/10/17")
+    private static class GeneratedClassLoader extends ClassLoader {
+
+        GeneratedClassLoader(@NotNull ClassLoader parent) {
+            super(parent);
+        }
+
+        @NotNull
+        Class<?> define(@NotNull ClassFile classFile) throws IOException {
+            final ByteArrayOutputStream os = new ByteArrayOutputStream();
+            try (DataOutputStream out = new DataOutputStream(os)) {
+                classFile.write(out);
+            }
+            final byte[] data = os.toByteArray();
+            return defineClass(classFile.getFullName().replace('/', '.'), data, 0, data.length);
+        }
+    }
+
+    private int collect(@Nullable Member member, @NotNull ArrayList<Member> members) {
+        if (member == null) {
+            return -1;
+        }
+        members.add(member);
+        return members.size() - 1;
+    }
+
+    @Nullable
+    private Member getterMember(@NotNull Getter getter) {
+        if (getter instanceof ClassicalFieldGetter) {
+            Field field = ((ClassicalFieldGetter) getter).field;
+            if (linkable(field.getDeclaringClass(), field.getModifiers()) && linkable(field.getType())) {
+                return new Member(field.getDeclaringClass(), field.getName(), field.getType(), KIND_FIELD);
+            }
+        } else if (getter instanceof ClassicalMethodGetter) {
+            Method method = ((ClassicalMethodGetter) getter).method;
+            if (linkable(method.getDeclaringClass(), method.getModifiers()) && linkable(method.getReturnType())) {
+                return new Member(method.getDeclaringClass(), method.getName(), method.getReturnType(), KIND_METHOD);
+            }
+        }
+        return null;
+    }
+
+    @Nullable
+    private Member setterMember(@NotNull Setter setter) {
+        if (setter instanceof ClassicalFieldSetter) {
+            Field field = ((ClassicalFieldSetter) setter).field;
+            if ((field.getModifiers() & Modifier.FINAL) == 0
+                    && linkable(field.getDeclaringClass(), field.getModifiers()) && linkable(field.getType())) {
+                return new Member(field.getDeclaringClass(), field.getName(), field.getType(), KIND_FIELD);
+            }
+        } else if (setter instanceof ClassicalMethodSetter) {
+            Method method = ((ClassicalMethodSetter) setter).method;
+            if (method.getReturnType() == void.class
+                    && linkable(method.getDeclaringClass(), method.getModifiers()) && linkable(method.getParameterTypes()[0])) {
+                return new Member(method.getDeclaringClass(), method.getName(), method.getParameterTypes()[0], KIND_METHOD);
+            }
+        }
+        return null;
+    }
+
+    @Nullable
+    private Member builderMember(@NotNull Getter builder) {
+        if (builder instanceof ClassicalConstructor) {
+            Constructor<?> constructor = ((ClassicalConstructor) builder).constructor;
+            Class<?> owner = constructor.getDeclaringClass();
+            if ((owner.getModifiers() & (Modifier.ABSTRACT | Modifier.INTERFACE)) == 0
+                    && linkable(owner, constructor.getModifiers())) {
+                return new Member(owner, "<init>", void.class, KIND_CONSTRUCTOR);
+            }
+        }
+        return null;
+    }
+
+    private boolean linkable(@NotNull Class<?> owner, int memberModifiers) {
+        return (memberModifiers & Modifier.PUBLIC) != 0 && (memberModifiers & Modifier.STATIC) == 0 && linkable(owner);
+    }
+
+    /**
+     * @return true if the class can be resolved by name and accessed from a class defined in this package
+     */
+    private boolean linkable(@NotNull Class<?> clazz) {
+        while (clazz.isArray()) {
+            clazz = clazz.getComponentType();
+        }
+        if (clazz.isPrimitive()) {
+            return true;
+        }
+        for (Class<?> enclosing = clazz; enclosing != null; enclosing = enclosing.getDeclaringClass()) {
+            if ((enclosing.getModifiers() & Modifier.PUBLIC) == 0) {
+                return false;
+            }
+        }
+        if (!clazz.getModule().isExported(clazz.getPackageName())) { // to the unnamed module of the generated classes
+            return false;
+        }
+        try {
+            if (Class.forName(clazz.getName(), false, loader) != clazz) {
+                return false;
+            }
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+        return true;
+    }
+
+    @NotNull
+    private static String internalName(@NotNull Class<?> clazz) {
+        return clazz.getName().replace('.', '/'); // arrays are already in descriptor form
+    }
+
+    @NotNull
+    private static String descriptor(@NotNull Class<?> clazz) {
+        if (clazz.isPrimitive()) {
+            if (clazz == void.class) {
+                return "V";
+            }
+            return String.valueOf("ZBCSIJFD".charAt(primitiveIndex(clazz)));
+        }
+        if (clazz.isArray()) {
+            return internalName(clazz);
+        }
+        return "L" + internalName(clazz) + ";";
+    }
+
+    private static int primitiveIndex(@NotNull Class<?> clazz) {
+        for (int index = 0; index < PRIMITIVES.length; index++) {
+            if (PRIMITIVES[index] == clazz) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    private static int loadOpcode(@NotNull Class<?> clazz) {
+        if (clazz == long.class) {
+            return Opcode.LLOAD;
+        } else if (clazz == float.class) {
+            return Opcode.FLOAD;
+        } else if (clazz == double.class) {
+            return Opcode.DLOAD;
+        } else if (clazz.isPrimitive()) {
+            return Opcode.ILOAD;
+        } else {
+            return Opcode.ALOAD;
+        }
+    }
+
+    private static int returnOpcode(@NotNull Class<?> clazz) {
+        return loadOpcode(clazz) - Opcode.ILOAD + Opcode.IRETURN;
+    }
+
+    private static void local(@NotNull ByteBuffer code, int opcode, int index) {
+        code.put((byte) opcode);
+        code.put((byte) index);
+    }
+
+    private static void constantInstruction(@NotNull ByteBuffer code, int opcode, int index) {
+        code.put((byte) opcode);
+        code.putShort((short) index);
+    }
+
+    @NotNull
+    private static ByteBuffer newCode(@NotNull ArrayList<Member> members) {
+        return ByteBuffer.allocate(64 + 32 * members.size()); // a case takes at most 17 bytes and a table entry
+    }
+
+    @NotNull
+    private static byte[] toArray(@NotNull ByteBuffer code) {
+        return Arrays.copyOf(code.array(), code.position());
+    }
+
+    @CodeHistory(date = "2026/10/17")
+    private interface CaseWriter {
+
+        /**
+         * @return false if the member is not handled by this method
+         */
+        boolean write(@NotNull Member member);
+    }
+
+    /**
+     * Emits switch (this.index) { case i: ... } default: fallback
+     */
+    private static void switchOnIndex(@NotNull ConstantPool pool, @NotNull String superClass, @NotNull ByteBuffer code,
+                                      @NotNull ArrayList<Member> members, @NotNull CaseWriter caseWriter, @NotNull Runnable fallback) {
+        code.put((byte) Opcode.ALOAD_0);
+        constantInstruction(code, Opcode.GETFIELD, pool.putFieldReference(superClass, "index", "I"));
+        final int switchPosition = code.position();
+        code.put((byte) Opcode.TABLESWITCH);
+        while ((code.position() & 3) != 0) {
+            code.put((byte) 0);
+        }
+        final int defaultPosition = code.position();
+        code.putInt(0);
+        code.putInt(0);
+        code.putInt(members.size() - 1);
+        final int tablePosition = code.position();
+        for (int index = 0; index < members.size(); index++) {
+            code.putInt(0);
+        }
+        final boolean[] handled = new boolean[members.size()];
+        for (int index = 0; index < members.size(); index++) {
+            int casePosition = code.position();
+            if (caseWriter.write(members.get(index))) {
+                code.putInt(tablePosition + 4 * index, casePosition - switchPosition);
+                handled[index] = true;
+            }
+        }
+        final int fallbackOffset = code.position() - switchPosition;
+        code.putInt(defaultPosition, fallbackOffset);
+        for (int index = 0; index < members.size(); index++) {
+            if (!handled[index]) {
+                code.putInt(tablePosition + 4 * index, fallbackOffset);
+            }
+        }
+        fallback.run();
+    }
+
+    private static void constructor(@NotNull ClassFile classFile, @NotNull String superClass) {
+        final ByteBuffer code = ByteBuffer.allocate(8);
+        code.put((byte) Opcode.ALOAD_0);
+        code.put((byte) Opcode.ILOAD_1);
+        constantInstruction(code, Opcode.INVOKESPECIAL, classFile.getConstantPool().putMethodReference(superClass, "<init>", "(I)V", false));
+        code.put((byte) Opcode.RETURN);
+        classFile.addMethod(ACC_PUBLIC, "<init>", "(I)V", MAX_STACK, MAX_LOCALS, toArray(code));
+    }
+
+    /**
+     * Pushes self casted to the owner of the member
+     */
+    private static void loadSelf(@NotNull ConstantPool pool, @NotNull ByteBuffer code, @NotNull Member member) {
+        code.put((byte) Opcode.ALOAD_1);
+        constantInstruction(code, Opcode.CHECKCAST, pool.putClassName(internalName(member.owner)));
+    }
+
+    private static void read(@NotNull ConstantPool pool, @NotNull ByteBuffer code, @NotNull Member member) {
+        switch (member.kind) {
+            case KIND_FIELD:
+                loadSelf(pool, code, member);
+                constantInstruction(code, Opcode.GETFIELD, pool.putFieldReference(internalName(member.owner), member.name, descriptor(member.type)));
+                break;
+            case KIND_METHOD:
+                loadSelf(pool, code, member);
+                invoke(pool, code, member, "()" + descriptor(member.type), 1);
+                break;
+            case KIND_CONSTRUCTOR:
+                constantInstruction(code, Opcode.NEW, pool.putClassName(internalName(member.owner)));
+                code.put((byte) Opcode.DUP);
+                constantInstruction(code, Opcode.INVOKESPECIAL, pool.putMethodReference(internalName(member.owner), "<init>", "()V", false));
+                break;
+            default:
+                throw new IllegalArgumentException();
+        }
+    }
+
+    /**
+     * Self and value are already pushed
+     */
+    private static void write(@NotNull ConstantPool pool, @NotNull ByteBuffer code, @NotNull Member member) {
+        if (member.kind == KIND_FIELD) {
+            constantInstruction(code, Opcode.PUTFIELD, pool.putFieldReference(internalName(member.owner), member.name, descriptor(member.type)));
+        } else {
+            final int slots = (member.type == long.class || member.type == double.class) ? 3 : 2;
+            invoke(pool, code, member, "(" + descriptor(member.type) + ")V", slots);
+        }
+    }
+
+    private static void invoke(@NotNull ConstantPool pool, @NotNull ByteBuffer code, @NotNull Member member, @NotNull String descriptor, int slots) {
+        if (member.owner.isInterface()) {
+            constantInstruction(code, Opcode.INVOKEINTERFACE, pool.putMethodReference(internalName(member.owner), member.name, descriptor, true));
+            code.put((byte) slots);
+            code.put((byte) 0);
+        } else {
+            constantInstruction(code, Opcode.INVOKEVIRTUAL, pool.putMethodReference(internalName(member.owner), member.name, descriptor, false));
+        }
+    }
+
+    @NotNull
+    private ClassFile getterClass() {
+        final ClassFile classFile = new ClassFile(MAJOR_VERSION, ACC_PUBLIC_FINAL_SUPER, PACKAGE + "GeneratedGetter$" + SERIAL.incrementAndGet(), GETTER);
+        final ConstantPool pool = classFile.getConstantPool();
+        constructor(classFile, GETTER);
+        {
+            final ByteBuffer code = newCode(getterMembers);
+            switchOnIndex(pool, GETTER, code, getterMembers, member -> {
+                read(pool, code, member);
+                int primitive = primitiveIndex(member.type);
+                if (primitive != -1) {
+                    constantInstruction(code, Opcode.INVOKESTATIC, pool.putMethodReference(BOX_CLASSES[primitive], "valueOf",
+                            "(" + descriptor(member.type) + ")L" + BOX_CLASSES[primitive] + ";", false));
+                }
+                code.put((byte) Opcode.ARETURN);
+                return true;
+            }, () -> {
+                code.put((byte) Opcode.ACONST_NULL);
+                code.put((byte) Opcode.ARETURN);
+            });
+            classFile.addMethod(ACC_PROTECTED, "get", "(Ljava/lang/Object;)Ljava/lang/Object;", MAX_STACK, MAX_LOCALS, toArray(code));
+        }
+        for (int primitive = 0; primitive < PRIMITIVES.length; primitive++) {
+            final Class<?> clazz = PRIMITIVES[primitive];
+            if (getterMembers.stream().noneMatch(member -> member.type == clazz)) {
+                continue;
+            }
+            final ByteBuffer code = newCode(getterMembers);
+            final String name = "get" + TYPED_SUFFIXES[primitive];
+            final String descriptor = "(Ljava/lang/Object;)" + descriptor(clazz);
+            switchOnIndex(pool, GETTER, code, getterMembers, member -> {
+                if (member.type != clazz) {
+                    return false;
+                }
+                read(pool, code, member);
+                code.put((byte) returnOpcode(clazz));
+                return true;
+            }, () -> {
+                code.put((byte) Opcode.ALOAD_0);
+                code.put((byte) Opcode.ALOAD_1);
+                constantInstruction(code, Opcode.INVOKESPECIAL, pool.putMethodReference(GETTER, name, descriptor, false));
+                code.put((byte) returnOpcode(clazz));
+            });
+            classFile.addMethod(ACC_PROTECTED, name, descriptor, MAX_STACK, MAX_LOCALS, toArray(code));
+        }
+        return classFile;
+    }
+
+    @NotNull
+    private ClassFile setterClass() {
+        final ClassFile classFile = new ClassFile(MAJOR_VERSION, ACC_PUBLIC_FINAL_SUPER, PACKAGE + "GeneratedSetter$" + SERIAL.incrementAndGet(), SETTER);
+        final ConstantPool pool = classFile.getConstantPool();
+        constructor(classFile, SETTER);
+        {
+            final ByteBuffer code = newCode(setterMembers);
+            switchOnIndex(pool, SETTER, code, setterMembers, member -> {
+                loadSelf(pool, code, member);
+                code.put((byte) Opcode.ALOAD_2);
+                int primitive = primitiveIndex(member.type);
+                if (primitive != -1) {
+                    constantInstruction(code, Opcode.CHECKCAST, pool.putClassName(BOX_CLASSES[primitive]));
+                    constantInstruction(code, Opcode.INVOKEVIRTUAL, pool.putMethodReference(BOX_CLASSES[primitive],
+                            member.type.getName() + "Value", "()" + descriptor(member.type), false));
+                } else if (member.type != Object.class) {
+                    constantInstruction(code, Opcode.CHECKCAST, pool.putClassName(internalName(member.type)));
+                }
+                write(pool, code, member);
+                code.put((byte) Opcode.RETURN);
+                return true;
+            }, () -> code.put((byte) Opcode.RETURN));
+            classFile.addMethod(ACC_PROTECTED, "set", "(Ljava/lang/Object;Ljava/lang/Object;)V", MAX_STACK, MAX_LOCALS, toArray(code));
+        }
+        for (int primitive = 0; primitive < PRIMITIVES.length; primitive++) {
+            final Class<?> clazz = PRIMITIVES[primitive];
+            if (setterMembers.stream().noneMatch(member -> member.type == clazz)) {
+                continue;
+            }
+            final ByteBuffer code = newCode(setterMembers);
+            final String name = "set" + TYPED_SUFFIXES[primitive];
+            final String descriptor = "(Ljava/lang/Object;" + descriptor(clazz) + ")V";
+            switchOnIndex(pool, SETTER, code, setterMembers, member -> {
+                if (member.type != clazz) {
+                    return false;
+                }
+                loadSelf(pool, code, member);
+                local(code, loadOpcode(clazz), 2);
+                write(pool, code, member);
+                code.put((byte) Opcode.RETURN);
+                return true;
+            }, () -> {
+                code.put((byte) Opcode.ALOAD_0);
+                code.put((byte) Opcode.ALOAD_1);
+                local(code, loadOpcode(clazz), 2);
+                constantInstruction(code, Opcode.INVOKESPECIAL, pool.putMethodReference(SETTER, name, descriptor, false));
+                code.put((byte) Opcode.RETURN);
+            });
+            classFile.addMethod(ACC_PROTECTED, name, descriptor, MAX_STACK, MAX_LOCALS, toArray(code));
+        }
+        return classFile;
+    }
+}
@@ -8,7 +8,8 @@ import java.lang.invoke.MethodHandles;
 
 @CodeHistory(date = "2022/6/5", project = "Ultramarine")
 @CodeHistory(date = "2025/11/14")
-@DirectSubclass({ClassicalFieldGetter.class, ClassicalMethodGetter.class, ClassicalConstructor.class, MethodHandleGetter.class, ArrayNewInstance.class})
+@CodeHistory(date = "2026/10/17")
+@DirectSubclass({ClassicalFieldGetter.class, ClassicalMethodGetter.class, ClassicalConstructor.class, MethodHandleGetter.class, ArrayNewInstance.class, IndexedGetter.class})
 class Getter {
 
     static final Getter NOP = new Getter();
@@ -3,6 +3,8 @@ package mujica.json.reflect;
 import mujica.reflect.modifier.CodeHistory;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.IdentityHashMap;
+
 @CodeHistory(date = "2026/4/12", name = "IntArrayType")
 @CodeHistory(date = "2026/6/16")
 class I32ArrayType extends JsonType {
@@ -16,4 +18,9 @@ class I32ArrayType extends JsonType {
         super(flags);
         this.componentType = componentType;
     }
+
+    @Override
+    void copyReferences(@NotNull IdentityHashMap<Object, Object> copies) {
+        componentType = (I32Type) componentType.copy(copies);
+    }
 }
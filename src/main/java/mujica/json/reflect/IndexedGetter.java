@@ -0,0 +1,21 @@
+package mujica.json.reflect;
+
+import mujica.reflect.modifier.CodeHistory;
+
+/**
+ * Supported API as the base of the getters generated for JsonHint.GENERATE_ACCESSOR. It is public because they are
+ * defined by their own class loader, and so are not in this runtime package; the constructor and the index are stable
+ */
+@CodeHistory(date = "2026/10/17")
+public abstract class IndexedGetter extends Getter {
+
+    /**
+     * member index switched on by the generated methods
+     */
+    protected final int index;
+
+    protected IndexedGetter(int index) {
+        super();
+        this.index = index;
+    }
+}
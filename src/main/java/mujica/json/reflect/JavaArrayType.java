@@ -10,6 +10,7 @@ import org.jetbrains.annotations.Nullable;
 
 import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Array;
+import java.util.IdentityHashMap;
 
 @CodeHistory(date = "2021/3/22", project = "webbiton", name = "RegistryArrayField")
 @CodeHistory(date = "2021/12/31", project = "infrastructure", name = "JsonArrayType")
@@ -190,4 +191,9 @@ class JavaArrayType extends BuiltType {
     void collectComponentType(@NotNull Class<?> clazz, @NotNull JsonContext context) {
         componentType = context.forClass(clazz.getComponentType());
     }
+
+    @Override
+    void copyReferences(@NotNull IdentityHashMap<Object, Object> copies) {
+        componentType = componentType.copy(copies);
+    }
 }
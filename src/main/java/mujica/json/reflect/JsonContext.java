@@ -11,12 +11,14 @@ import mujica.json.io.JsonSyncReader;
 import mujica.json.modifier.JsonHint;
 import mujica.reflect.modifier.CodeHistory;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.BufferedReader;
 import java.io.InputStreamReader;
 import java.lang.invoke.MethodHandles;
+import java.lang.ref.WeakReference;
 import java.lang.invoke.MethodType;
 import java.lang.reflect.Modifier;
 import java.math.BigInteger;
@@ -35,6 +37,7 @@ import java.util.regex.Pattern;
 @CodeHistory(date = "2022/7/12", project = "Ultramarine", name = "JsonParser")
 @CodeHistory(date = "2025/10/28", name = "JsonParser")
 @CodeHistory(date = "2026/4/3")
+@CodeHistory(date = "2026/10/17")
 public class JsonContext extends ReflectConfig {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(JsonContext.class);
@@ -79,6 +82,12 @@ public class JsonContext extends ReflectConfig {
 
     static final Module MODULE = JsonContext.class.getModule();
 
+    @Nullable
+    final JsonTypeCache typeCache;
+
+    @Nullable
+    private HashMap<String, WeakReference<JsonType>> templateCopies; // own copies, strongly held only by typeCache until evicted
+
     @NotNull
     JsonType forClass(@NotNull Class<?> clazz) {
         final String className = clazz.getName();
@@ -86,6 +95,22 @@ public class JsonContext extends ReflectConfig {
         if (type != null) {
             return type;
         }
+        if (typeCache != null) {
+            if (templateCopies == null) {
+                templateCopies = new HashMap<>();
+            }
+            final WeakReference<JsonType> reference = templateCopies.get(className);
+            if (reference != null && (type = reference.get()) != null) {
+                typeCache.touch(clazz);
+                return type;
+            }
+            type = typeCache.copy(clazz, this);
+            if (templateCopies.size() >= typeCache.getMaxSize()) {
+                templateCopies.values().removeIf(evicted -> evicted.get() == null);
+            }
+            templateCopies.put(className, new WeakReference<>(type));
+            return type;
+        }
         if ((clazz.getModifiers() & Modifier.PUBLIC) != 0 && clazz.getModule().isExported(clazz.getPackageName(), MODULE)) {
             type = newForClass(clazz);
             reflectCache.put(className, type);
@@ -109,6 +134,14 @@ public class JsonContext extends ReflectConfig {
         return JsonType.NOP;
     }
     
+    @NotNull
+    JsonType copyTemplate(@NotNull JsonType template) {
+        final IdentityHashMap<Object, Object> copies = new IdentityHashMap<>();
+        copies.put(JsonType.NOP, JsonType.NOP);
+        copies.put(AnyType.ANY, AnyType.ANY);
+        return template.copy(copies);
+    }
+
     private void put(@NotNull Class<?> clazz, @NotNull JsonType type) {
         reflectCache.put(clazz.getName(), type);
     }
@@ -172,10 +205,17 @@ public class JsonContext extends ReflectConfig {
 
     JsonContext(long flags) {
         super(flags);
+        typeCache = null;
+    }
+
+    JsonContext(long flags, @NotNull JsonTypeCache typeCache) {
+        super(flags);
+        this.typeCache = typeCache;
     }
 
     public JsonContext() {
         super();
+        typeCache = null;
     }
 
     @NotNull
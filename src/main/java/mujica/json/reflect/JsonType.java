@@ -13,6 +13,7 @@ import org.jetbrains.annotations.Nullable;
 import java.lang.reflect.AnnotatedElement;
 import java.lang.reflect.Type;
 import java.math.BigInteger;
+import java.util.IdentityHashMap;
 
 @CodeHistory(date = "2022/6/5", project = "Ultramarine")
 @CodeHistory(date = "2025/12/22")
@@ -151,6 +152,28 @@ class JsonType extends ReflectConfig implements TypePreference, JsonContextTrans
         return that;
     }
 
+    /**
+     * Deep copy for another context, so that the transient value and state are not shared between threads
+     */
+    @NotNull
+    JsonType copy(@NotNull IdentityHashMap<Object, Object> copies) {
+        JsonType that = (JsonType) copies.get(this);
+        if (that == null) {
+            try {
+                that = (JsonType) clone();
+            } catch (CloneNotSupportedException e) {
+                throw new InternalError(e);
+            }
+            copies.put(this, that);
+            that.copyReferences(copies);
+        }
+        return that;
+    }
+
+    void copyReferences(@NotNull IdentityHashMap<Object, Object> copies) {
+        // pass
+    }
+
     @NotNull
     JsonType derive() {
         if ((flags & JsonHint.DERIVED) == 0L) {
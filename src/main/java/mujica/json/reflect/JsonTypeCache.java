@@ -0,0 +1,224 @@
+package mujica.json.reflect;
+
+import mujica.reflect.modifier.CodeHistory;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Reflection results shared by the contexts of many threads.
+ * Types are built once by the given builder context, under its lock, and kept as templates keyed by class.
+ * Each context from newContext() takes its own deep copy of a template on first use, since types keep per-call state.
+ * The copies are held by the entry, weakly keyed by context, and the contexts only keep weak references to them.
+ * When there are more than maxSize classes, the least recently requested one is evicted together with its copies, so that generated classes can be unloaded.
+ */
+@CodeHistory(date = "2026/10/17")
+public class JsonTypeCache {
+
+    @CodeHistory(date = "2026/10/17")
+    private static class Entry {
+
+        @NotNull
+        final JsonType template;
+
+        @NotNull
+        final String[] builtNames; // added to the builder while building the template
+
+        final WeakHashMap<JsonContext, JsonType> copies = new WeakHashMap<>(); // guarded by this
+
+        volatile long lastUse;
+
+        Entry(@NotNull JsonType template, @NotNull String[] builtNames, long lastUse) {
+            super();
+            this.template = template;
+            this.builtNames = builtNames;
+            this.lastUse = lastUse;
+        }
+    }
+
+    @NotNull
+    private final JsonContext builder;
+
+    @NotNull
+    private final HashSet<String> preloaded;
+
+    private final int maxSize;
+
+    private final ConcurrentHashMap<Class<?>, Entry> map = new ConcurrentHashMap<>();
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private final LongAdder hitCount = new LongAdder();
+
+    private final LongAdder missCount = new LongAdder();
+
+    private final LongAdder buildNanos = new LongAdder();
+
+    private final LongAdder evictionCount = new LongAdder();
+
+    /**
+     * @param builder a configured context (loadBasic() etc.) which is owned by this cache afterwards
+     */
+    public JsonTypeCache(@NotNull JsonContext builder, int maxSize) {
+        super();
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException();
+        }
+        if (builder.typeCache != null) {
+            throw new IllegalArgumentException("builder is cached");
+        }
+        this.builder = builder;
+        this.preloaded = new HashSet<>(builder.reflectCache.keySet());
+        this.maxSize = maxSize;
+    }
+
+    public JsonTypeCache(@NotNull JsonContext builder) {
+        this(builder, 4096);
+    }
+
+    /**
+     * @return a new context for a single thread, with the same flags and logger as the builder
+     */
+    @NotNull
+    public JsonContext newContext() {
+        final JsonContext context = new JsonContext(builder.flags, this);
+        context.logger = builder.logger;
+        return context;
+    }
+
+    @NotNull
+    public JsonTypeCache warmUp(@NotNull Class<?>... classes) {
+        for (Class<?> clazz : classes) {
+            template(clazz);
+        }
+        return this;
+    }
+
+    @NotNull
+    JsonType template(@NotNull Class<?> clazz) {
+        return entry(clazz).template;
+    }
+
+    /**
+     * @return the copy of the template owned by the context, made on first request
+     */
+    @NotNull
+    JsonType copy(@NotNull Class<?> clazz, @NotNull JsonContext context) {
+        final Entry entry = entry(clazz);
+        synchronized (entry) {
+            JsonType copy = entry.copies.get(context);
+            if (copy == null) {
+                copy = context.copyTemplate(entry.template);
+                entry.copies.put(context, copy);
+            }
+            return copy;
+        }
+    }
+
+    /**
+     * Marks a use of a copy the context already has
+     */
+    void touch(@NotNull Class<?> clazz) {
+        final Entry entry = map.get(clazz);
+        if (entry != null) {
+            entry.lastUse = clock.incrementAndGet();
+        }
+    }
+
+    @NotNull
+    private Entry entry(@NotNull Class<?> clazz) {
+        Entry entry = map.get(clazz);
+        if (entry != null) {
+            hitCount.increment();
+            entry.lastUse = clock.incrementAndGet();
+            return entry;
+        }
+        missCount.increment();
+        synchronized (builder) {
+            entry = map.get(clazz);
+            if (entry == null) {
+                HashSet<String> names = new HashSet<>(builder.reflectCache.keySet());
+                long start = System.nanoTime();
+                JsonType template = builder.forClass(clazz);
+                buildNanos.add(System.nanoTime() - start);
+                ArrayList<String> builtNames = new ArrayList<>();
+                for (String name : builder.reflectCache.keySet()) {
+                    if (!names.contains(name)) {
+                        builtNames.add(name);
+                    }
+                }
+                entry = new Entry(template, builtNames.toArray(new String[0]), clock.incrementAndGet());
+                map.put(clazz, entry);
+                if (map.size() > maxSize) {
+                    evict(clazz);
+                }
+            }
+        }
+        return entry;
+    }
+
+    private void evict(@NotNull Class<?> keep) {
+        Class<?> oldestClass = null;
+        long oldestUse = Long.MAX_VALUE;
+        for (Map.Entry<Class<?>, Entry> mapEntry : map.entrySet()) {
+            long lastUse = mapEntry.getValue().lastUse;
+            if (lastUse < oldestUse && mapEntry.getKey() != keep) {
+                oldestClass = mapEntry.getKey();
+                oldestUse = lastUse;
+            }
+        }
+        if (oldestClass != null) {
+            final Entry entry = map.remove(oldestClass);
+            synchronized (entry) {
+                entry.copies.clear();
+            }
+            final HashSet<String> cachedNames = new HashSet<>();
+            for (Class<?> clazz : map.keySet()) {
+                cachedNames.add(clazz.getName());
+            }
+            for (String name : entry.builtNames) {
+                if (!preloaded.contains(name) && !cachedNames.contains(name)) {
+                    builder.reflectCache.remove(name); // nested types go too, the next build makes them again
+                }
+            }
+            evictionCount.increment();
+        }
+    }
+
+    public int size() {
+        return map.size();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public long hitCount() {
+        return hitCount.sum();
+    }
+
+    public long missCount() {
+        return missCount.sum();
+    }
+
+    public long buildNanos() {
+        return buildNanos.sum();
+    }
+
+    public long evictionCount() {
+        return evictionCount.sum();
+    }
+
+    @NotNull
+    @Override
+    public String toString() {
+        return "JsonTypeCache[size = " + map.size() + ", hit = " + hitCount() + ", miss = " + missCount()
+                + ", buildNanos = " + buildNanos() + ", eviction = " + evictionCount() + "]";
+    }
+}
@@ -12,11 +12,12 @@ import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.Type;
+import java.util.IdentityHashMap;
 
 @CodeHistory(date = "2021/12/30", project = "infrastructure", name = "Mapping")
 @CodeHistory(date = "2022/6/3", project = "Ultramarine", name = "Mapping")
 @CodeHistory(date = "2026/4/3") // plain object, record object, ordinary object, bean object...
-abstract class PlainObjectField implements Serializable {
+abstract class PlainObjectField implements Serializable, Cloneable {
 
     private static final long serialVersionUID = 0xf952640a6a05d352L;
 
@@ -42,6 +43,21 @@ abstract class PlainObjectField implements Serializable {
         }
     }
 
+    @NotNull
+    PlainObjectField copy(@NotNull IdentityHashMap<Object, Object> copies) {
+        PlainObjectField that = (PlainObjectField) copies.get(this);
+        if (that == null) {
+            try {
+                that = (PlainObjectField) clone();
+            } catch (CloneNotSupportedException e) {
+                throw new InternalError(e);
+            }
+            copies.put(this, that);
+            that.declaredType = declaredType.copy(copies);
+        }
+        return that;
+    }
+
     @NotNull
     public NopFrame createFrame(@NotNull PlainObjectFrame frame) throws Throwable {
         final Object object = getter.get(frame.self); // check always build
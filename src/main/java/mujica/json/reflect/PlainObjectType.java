@@ -18,7 +18,9 @@ import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
+import java.util.Map;
 
 @CodeHistory(date = "2021/12/24", project = "va", name = "JsonClass")
 @CodeHistory(date = "2021/12/30", project = "infrastructure", name = "ReflectedClass")
@@ -152,7 +154,7 @@ class PlainObjectType extends BuiltType {
         private static final long serialVersionUID = 0x2078cb85bea19a3bL;
 
         @NotNull
-        final ArrayList<PlainObjectField> list;
+        ArrayList<PlainObjectField> list;
 
         ListBased(long flags, @NotNull Getter builder, @NotNull Collection<PlainObjectField> collection) {
             super(flags, builder);
@@ -175,6 +177,15 @@ class PlainObjectType extends BuiltType {
             return list;
         }
 
+        @Override
+        void copyReferences(@NotNull IdentityHashMap<Object, Object> copies) {
+            final ArrayList<PlainObjectField> thatList = new ArrayList<>(list.size());
+            for (PlainObjectField field : list) {
+                thatList.add(field.copy(copies));
+            }
+            list = thatList;
+        }
+
         @NotNull
         @Override
         JsonType collectType(@NotNull Class<?> clazz, @NotNull JsonContext context) {
@@ -188,7 +199,7 @@ class PlainObjectType extends BuiltType {
         private static final long serialVersionUID = 0xf02a125f0b001a2bL;
 
         @NotNull
-        final LinkedHashMap<String, PlainObjectField> map;
+        LinkedHashMap<String, PlainObjectField> map;
 
         MapBased(long flags) {
             super(flags);
@@ -207,6 +218,15 @@ class PlainObjectType extends BuiltType {
             return map.values();
         }
 
+        @Override
+        void copyReferences(@NotNull IdentityHashMap<Object, Object> copies) {
+            final LinkedHashMap<String, PlainObjectField> thatMap = new LinkedHashMap<>();
+            for (Map.Entry<String, PlainObjectField> entry : map.entrySet()) {
+                thatMap.put(entry.getKey(), entry.getValue().copy(copies));
+            }
+            map = thatMap;
+        }
+
         @NotNull
         @Override
         JsonType collectType(@NotNull Class<?> clazz, @NotNull JsonContext context) {
@@ -234,6 +254,7 @@ class PlainObjectType extends BuiltType {
                         mergeSuperType(context.forClass(superInterface), context);
                     }
                 }
+                collectAccessor(context);
             }
             if (map.isEmpty()) {
                 return new PlainObjectType(flags, builder);
@@ -244,6 +265,12 @@ class PlainObjectType extends BuiltType {
             return this;
         }
 
+        void collectAccessor(@NotNull JsonContext context) {
+            if ((flags & JsonHint.GENERATE_ACCESSOR) != 0L) {
+                AccessorGenerator.generate(this, map.values(), context);
+            }
+        }
+
         void collectJsonFieldOrder(@NotNull AnnotatedElement annotated) {
             final FieldOrder fieldOrder = annotated.getDeclaredAnnotation(FieldOrder.class);
             if (fieldOrder != null) {
@@ -9,7 +9,8 @@ import java.lang.invoke.MethodHandles;
 
 @CodeHistory(date = "2022/6/5", project = "Ultramarine")
 @CodeHistory(date = "2025/11/14")
-@DirectSubclass({ClassicalFieldSetter.class, ClassicalMethodSetter.class, MethodHandleSetter.class})
+@CodeHistory(date = "2026/10/17")
+@DirectSubclass({ClassicalFieldSetter.class, ClassicalMethodSetter.class, MethodHandleSetter.class, IndexedSetter.class})
 class Setter {
 
     static final Setter NOP = new Setter();
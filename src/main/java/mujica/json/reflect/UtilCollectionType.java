@@ -12,6 +12,7 @@ import org.jetbrains.annotations.Nullable;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.Collection;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 
 @CodeHistory(date = "2022/8/5", project = "Ultramarine", name = "JsonCollectionType")
@@ -184,4 +185,9 @@ class UtilCollectionType extends BuiltType {
         }
         return that;
     }
+
+    @Override
+    void copyReferences(@NotNull IdentityHashMap<Object, Object> copies) {
+        componentType = componentType.copy(copies);
+    }
 }
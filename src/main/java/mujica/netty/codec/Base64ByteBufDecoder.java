@@ -0,0 +1,43 @@
+package mujica.netty.codec;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.ByteToMessageDecoder;
+import mujica.io.codec.Base64BlockCodec;
+import mujica.io.codec.BadCodeException;
+import mujica.reflect.modifier.CodeHistory;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * Decodes the whole groups received so far, the partial group waits in the cumulation.
+ * Padding may end any group, so concatenated messages are accepted; a partial group at the end of input is an error.
+ */
+@CodeHistory(date = "2026/10/17")
+public class Base64ByteBufDecoder extends ByteToMessageDecoder {
+
+    @Override
+    protected void decode(@NotNull ChannelHandlerContext ctx, @NotNull ByteBuf in, @NotNull List<Object> out) throws BadCodeException {
+        final int groupCount = in.readableBytes() / Base64BlockCodec.CODE_GROUP;
+        if (groupCount == 0) {
+            return;
+        }
+        final ByteBuf message = ctx.alloc().heapBuffer(groupCount * Base64BlockCodec.MESSAGE_GROUP);
+        try {
+            Base64BlockCodec.decode(in, message);
+        } catch (BadCodeException e) {
+            message.release();
+            throw e;
+        }
+        out.add(message);
+    }
+
+    @Override
+    protected void decodeLast(@NotNull ChannelHandlerContext ctx, @NotNull ByteBuf in, @NotNull List<Object> out) throws BadCodeException {
+        decode(ctx, in, out);
+        if (in.isReadable()) {
+            throw new BadCodeException("partial group of " + in.readableBytes() + " characters at the end");
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package mujica.netty.codec;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.MessageToByteEncoder;
+import mujica.io.codec.Base64BlockCodec;
+import mujica.reflect.modifier.CodeHistory;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Encodes each message as a whole, with padding. Heap buffers are preferred, where the block kernel works on the arrays.
+ */
+@CodeHistory(date = "2026/10/17")
+@ChannelHandler.Sharable
+public class Base64ByteBufEncoder extends MessageToByteEncoder<ByteBuf> {
+
+    private final boolean url;
+
+    public Base64ByteBufEncoder(boolean url) {
+        super(false);
+        this.url = url;
+    }
+
+    public Base64ByteBufEncoder() {
+        this(false);
+    }
+
+    @Override
+    protected ByteBuf allocateBuffer(@NotNull ChannelHandlerContext ctx, @NotNull ByteBuf msg, boolean preferDirect) {
+        final int capacity = Base64BlockCodec.encodedLength(msg.readableBytes());
+        if (preferDirect) {
+            return ctx.alloc().ioBuffer(capacity);
+        } else {
+            return ctx.alloc().heapBuffer(capacity);
+        }
+    }
+
+    @Override
+    protected void encode(@NotNull ChannelHandlerContext ctx, @NotNull ByteBuf msg, @NotNull ByteBuf out) {
+        Base64BlockCodec.encode(msg, out, url);
+    }
+}
@@ -0,0 +1,48 @@
+package mujica.netty.mysql;
+
+import mujica.reflect.modifier.CodeHistory;
+import mujica.reflect.modifier.ConstantComposition;
+import mujica.reflect.modifier.ConstantInterface;
+import mujica.reflect.modifier.ReferencePage;
+
+@CodeHistory(date = "2026/10/17")
+@ReferencePage(title = "enum_field_types", href = "https://dev.mysql.com/doc/dev/mysql-server/latest/field__types_8h.html")
+@ConstantInterface(composition = ConstantComposition.NEVER)
+public interface ColumnTypes {
+
+    int DECIMAL = 0;
+    int TINY = 1;
+    int SHORT = 2;
+    int LONG = 3;
+    int FLOAT = 4;
+    int DOUBLE = 5;
+    int NULL = 6;
+    int TIMESTAMP = 7;
+    int LONGLONG = 8;
+    int INT24 = 9;
+    int DATE = 10;
+    int TIME = 11;
+    int DATETIME = 12;
+    int YEAR = 13;
+    int NEWDATE = 14; // internal to the server
+    int VARCHAR = 15;
+    int BIT = 16;
+    int TIMESTAMP2 = 17; // internal to the server
+    int DATETIME2 = 18; // internal to the server
+    int TIME2 = 19; // internal to the server
+    int TYPED_ARRAY = 20; // replication only
+    int VECTOR = 242;
+    int INVALID = 243;
+    int BOOL = 244; // not used
+    int JSON = 245;
+    int NEWDECIMAL = 246;
+    int ENUM = 247;
+    int SET = 248;
+    int TINY_BLOB = 249;
+    int MEDIUM_BLOB = 250;
+    int LONG_BLOB = 251;
+    int BLOB = 252;
+    int VAR_STRING = 253;
+    int STRING = 254;
+    int GEOMETRY = 255;
+}
@@ -0,0 +1,122 @@
+package mujica.netty.mysql;
+
+import mujica.ds.i8.view.DataView;
+import mujica.io.hash.ByteBlockByteHashCore;
+import mujica.io.hash.SHA1;
+import mujica.io.hash.SHA256;
+import mujica.io.hash.SimpleByteBlockByteStreamHash;
+import mujica.reflect.modifier.CodeHistory;
+import mujica.reflect.modifier.ReferencePage;
+import org.jetbrains.annotations.NotNull;
+
+import javax.crypto.Cipher;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Arrays;
+import java.util.Base64;
+
+@CodeHistory(date = "2026/10/17")
+@ReferencePage(title = "Native Authentication", href = "https://dev.mysql.com/doc/dev/mysql-server/latest/page_protocol_connection_phase_authentication_methods_native_password_authentication.html")
+@ReferencePage(title = "Caching_sha2_password information", href = "https://dev.mysql.com/doc/dev/mysql-server/latest/page_caching_sha2_authentication_exchanges.html")
+final class MysqlAuth {
+
+    static final String NATIVE_PASSWORD = "mysql_native_password";
+
+    static final String CACHING_SHA2_PASSWORD = "caching_sha2_password";
+
+    /**
+     * Sent after the scramble of caching_sha2_password, when the server has the password cached
+     */
+    static final int FAST_AUTH_SUCCESS = 3;
+
+    static final int PERFORM_FULL_AUTHENTICATION = 4;
+
+    static final int REQUEST_PUBLIC_KEY = 2;
+
+    @NotNull
+    private static byte[] digest(@NotNull ByteBlockByteHashCore core, @NotNull byte[]... inputs) {
+        final SimpleByteBlockByteStreamHash hash = new SimpleByteBlockByteStreamHash(core);
+        hash.start();
+        for (byte[] input : inputs) {
+            hash.update(input);
+        }
+        final DataView view = hash.finish();
+        final byte[] array = new byte[view.byteLength()];
+        for (int index = 0; index < array.length; index++) {
+            array[index] = view.getByte(index);
+        }
+        return array;
+    }
+
+    private static byte[] xor(@NotNull byte[] a, @NotNull byte[] b) {
+        for (int index = 0; index < a.length; index++) {
+            a[index] ^= b[index];
+        }
+        return a;
+    }
+
+    /**
+     * SHA1(password) XOR SHA1(seed, SHA1(SHA1(password)))
+     */
+    @NotNull
+    static byte[] nativePassword(@NotNull byte[] password, @NotNull byte[] seed) {
+        if (password.length == 0) {
+            return password;
+        }
+        final byte[] stage1 = digest(new SHA1(), password);
+        final byte[] stage2 = digest(new SHA1(), stage1);
+        return xor(stage1, digest(new SHA1(), seed, stage2));
+    }
+
+    /**
+     * SHA256(password) XOR SHA256(SHA256(SHA256(password)), seed)
+     */
+    @NotNull
+    static byte[] cachingSha2Password(@NotNull byte[] password, @NotNull byte[] seed) {
+        if (password.length == 0) {
+            return password;
+        }
+        final byte[] stage1 = digest(new SHA256(), password);
+        final byte[] stage2 = digest(new SHA256(), stage1);
+        return xor(stage1, digest(new SHA256(), stage2, seed));
+    }
+
+    @NotNull
+    static byte[] scramble(@NotNull String plugin, @NotNull byte[] password, @NotNull byte[] seed) throws MysqlServerException {
+        switch (plugin) {
+            case NATIVE_PASSWORD:
+                return nativePassword(password, seed);
+            case CACHING_SHA2_PASSWORD:
+                return cachingSha2Password(password, seed);
+            default:
+                throw new MysqlServerException(0, "HY000", "authentication plugin " + plugin);
+        }
+    }
+
+    /**
+     * Full authentication of caching_sha2_password without TLS: (password, 0) XOR seed, encrypted by the public key of the server
+     */
+    @NotNull
+    static byte[] rsaEncrypt(@NotNull byte[] password, @NotNull byte[] seed, @NotNull String publicKeyPem) throws GeneralSecurityException {
+        final byte[] message = Arrays.copyOf(password, password.length + 1);
+        for (int index = 0; index < message.length; index++) {
+            message[index] ^= seed[index % seed.length];
+        }
+        final String base64 = publicKeyPem
+                .replaceAll("-----[A-Z ]+-----", "")
+                .replaceAll("\\s", "");
+        final PublicKey key = KeyFactory.getInstance("RSA").generatePublic(new X509EncodedKeySpec(Base64.getDecoder().decode(base64)));
+        final Cipher cipher = Cipher.getInstance("RSA/ECB/OAEPWithSHA-1AndMGF1Padding");
+        cipher.init(Cipher.ENCRYPT_MODE, key);
+        return cipher.doFinal(message);
+    }
+
+    /**
+     * No instance
+     */
+    private MysqlAuth() {
+        super();
+    }
+}
@@ -0,0 +1,348 @@
+package mujica.netty.mysql;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import mujica.reflect.modifier.CodeHistory;
+import mujica.reflect.modifier.ReferencePage;
+import org.intellij.lang.annotations.MagicConstant;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Values of the binary protocol, in the parameters of COM_STMT_EXECUTE and in the binary rows
+ */
+@CodeHistory(date = "2026/10/17")
+@ReferencePage(title = "Binary Protocol Value", href = "https://dev.mysql.com/doc/dev/mysql-server/latest/page_protocol_binary_resultset.html")
+final class MysqlBinaryCodec {
+
+    /**
+     * In the second octet of a parameter type
+     */
+    static final int UNSIGNED_PARAMETER = 0x8000;
+
+    private static final BigInteger UNSIGNED_LONG = BigInteger.ONE.shiftLeft(Long.SIZE);
+
+    /**
+     * @return the type to send a parameter as
+     */
+    @MagicConstant(valuesFromClass = ColumnTypes.class)
+    static int typeOf(@Nullable Object value) {
+        if (value == null) {
+            return ColumnTypes.NULL;
+        } else if (value instanceof Boolean || value instanceof Byte) {
+            return ColumnTypes.TINY;
+        } else if (value instanceof Short) {
+            return ColumnTypes.SHORT;
+        } else if (value instanceof Integer) {
+            return ColumnTypes.LONG;
+        } else if (value instanceof Long) {
+            return ColumnTypes.LONGLONG;
+        } else if (value instanceof Float) {
+            return ColumnTypes.FLOAT;
+        } else if (value instanceof Double) {
+            return ColumnTypes.DOUBLE;
+        } else if (value instanceof BigDecimal || value instanceof BigInteger) {
+            return ColumnTypes.NEWDECIMAL;
+        } else if (value instanceof LocalDate) {
+            return ColumnTypes.DATE;
+        } else if (value instanceof LocalDateTime) {
+            return ColumnTypes.DATETIME;
+        } else if (value instanceof Duration || value instanceof LocalTime) {
+            return ColumnTypes.TIME;
+        } else if (value instanceof byte[] || value instanceof ByteBuf) {
+            return ColumnTypes.BLOB;
+        } else {
+            return ColumnTypes.VAR_STRING;
+        }
+    }
+
+    /**
+     * Writes a value as the type; nothing for null
+     */
+    static void write(@MagicConstant(valuesFromClass = ColumnTypes.class) int type, @Nullable Object value, @NotNull ByteBuf payload) {
+        if (value == null) {
+            return;
+        }
+        switch (type) {
+            case ColumnTypes.NULL:
+                break;
+            case ColumnTypes.TINY:
+                payload.writeByte(value instanceof Boolean ? ((Boolean) value ? 1 : 0) : ((Number) value).intValue());
+                break;
+            case ColumnTypes.SHORT:
+            case ColumnTypes.YEAR:
+                payload.writeShortLE(((Number) value).intValue());
+                break;
+            case ColumnTypes.LONG:
+            case ColumnTypes.INT24:
+                payload.writeIntLE(((Number) value).intValue());
+                break;
+            case ColumnTypes.LONGLONG:
+                payload.writeLongLE(((Number) value).longValue());
+                break;
+            case ColumnTypes.FLOAT:
+                payload.writeFloatLE(((Number) value).floatValue());
+                break;
+            case ColumnTypes.DOUBLE:
+                payload.writeDoubleLE(((Number) value).doubleValue());
+                break;
+            case ColumnTypes.DATE:
+            case ColumnTypes.DATETIME:
+            case ColumnTypes.TIMESTAMP:
+                writeDateTime(value instanceof LocalDate ? ((LocalDate) value).atStartOfDay() : (LocalDateTime) value, payload);
+                break;
+            case ColumnTypes.TIME:
+                writeTime(value instanceof LocalTime ? Duration.ofNanos(((LocalTime) value).toNanoOfDay()) : (Duration) value, payload);
+                break;
+            default:
+                if (value instanceof byte[]) {
+                    MysqlIO.writeEncodedBytes((byte[]) value, payload);
+                } else if (value instanceof ByteBuf) {
+                    ByteBuf buf = (ByteBuf) value;
+                    MysqlIO.writeEncoded(buf.readableBytes(), payload);
+                    payload.writeBytes(buf, buf.readerIndex(), buf.readableBytes());
+                } else if (value instanceof BigDecimal) {
+                    MysqlIO.writeEncodedString(((BigDecimal) value).toPlainString(), payload);
+                } else {
+                    MysqlIO.writeEncodedString(value.toString(), payload);
+                }
+                break;
+        }
+    }
+
+    private static void writeDateTime(@NotNull LocalDateTime value, @NotNull ByteBuf payload) {
+        final int micros = value.getNano() / 1000;
+        final boolean time = micros != 0 || value.getHour() != 0 || value.getMinute() != 0 || value.getSecond() != 0;
+        payload.writeByte(micros != 0 ? 11 : time ? 7 : 4);
+        payload.writeShortLE(value.getYear());
+        payload.writeByte(value.getMonthValue());
+        payload.writeByte(value.getDayOfMonth());
+        if (time) {
+            payload.writeByte(value.getHour());
+            payload.writeByte(value.getMinute());
+            payload.writeByte(value.getSecond());
+            if (micros != 0) {
+                payload.writeIntLE(micros);
+            }
+        }
+    }
+
+    private static void writeTime(@NotNull Duration value, @NotNull ByteBuf payload) {
+        if (value.isZero()) {
+            payload.writeByte(0);
+            return;
+        }
+        final boolean negative = value.isNegative();
+        value = value.abs();
+        final long seconds = value.getSeconds();
+        final int micros = value.getNano() / 1000;
+        payload.writeByte(micros != 0 ? 12 : 8);
+        payload.writeByte(negative ? 1 : 0);
+        payload.writeIntLE((int) (seconds / 86400));
+        payload.writeByte((int) (seconds / 3600 % 24));
+        payload.writeByte((int) (seconds / 60 % 60));
+        payload.writeByte((int) (seconds % 60));
+        if (micros != 0) {
+            payload.writeIntLE(micros);
+        }
+    }
+
+    /**
+     * @return the octets a value takes, including its length
+     */
+    static int size(@MagicConstant(valuesFromClass = ColumnTypes.class) int type, @NotNull ByteBuf payload, int index) {
+        switch (type) {
+            case ColumnTypes.NULL:
+                return 0;
+            case ColumnTypes.TINY:
+                return 1;
+            case ColumnTypes.SHORT:
+            case ColumnTypes.YEAR:
+                return 2;
+            case ColumnTypes.LONG:
+            case ColumnTypes.INT24:
+            case ColumnTypes.FLOAT:
+                return 4;
+            case ColumnTypes.LONGLONG:
+            case ColumnTypes.DOUBLE:
+                return 8;
+            case ColumnTypes.DATE:
+            case ColumnTypes.DATETIME:
+            case ColumnTypes.TIMESTAMP:
+            case ColumnTypes.TIME:
+                return 1 + payload.getUnsignedByte(index);
+            default: {
+                int size = MysqlIO.encodedSize(payload.getUnsignedByte(index));
+                return Math.toIntExact(size + MysqlIO.getEncoded(payload, index));
+            }
+        }
+    }
+
+    /**
+     * @return the offset of the content, after the length
+     */
+    static int contentOffset(@MagicConstant(valuesFromClass = ColumnTypes.class) int type, @NotNull ByteBuf payload, int index) {
+        if (isLengthEncoded(type)) {
+            return index + MysqlIO.encodedSize(payload.getUnsignedByte(index));
+        }
+        switch (type) {
+            case ColumnTypes.DATE:
+            case ColumnTypes.DATETIME:
+            case ColumnTypes.TIMESTAMP:
+            case ColumnTypes.TIME:
+                return index + 1;
+            default:
+                return index;
+        }
+    }
+
+    /**
+     * Strings, decimals, enums, sets, blobs, JSON and so on
+     */
+    static boolean isLengthEncoded(@MagicConstant(valuesFromClass = ColumnTypes.class) int type) {
+        switch (type) {
+            case ColumnTypes.NULL:
+            case ColumnTypes.TINY:
+            case ColumnTypes.SHORT:
+            case ColumnTypes.YEAR:
+            case ColumnTypes.LONG:
+            case ColumnTypes.INT24:
+            case ColumnTypes.FLOAT:
+            case ColumnTypes.LONGLONG:
+            case ColumnTypes.DOUBLE:
+            case ColumnTypes.DATE:
+            case ColumnTypes.DATETIME:
+            case ColumnTypes.TIMESTAMP:
+            case ColumnTypes.TIME:
+                return false;
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * Integral value of an integral type
+     */
+    static long getLong(@MagicConstant(valuesFromClass = ColumnTypes.class) int type, boolean unsigned, @NotNull ByteBuf payload, int offset) {
+        switch (type) {
+            case ColumnTypes.TINY:
+                return unsigned ? payload.getUnsignedByte(offset) : payload.getByte(offset);
+            case ColumnTypes.SHORT:
+            case ColumnTypes.YEAR:
+                return unsigned ? payload.getUnsignedShortLE(offset) : payload.getShortLE(offset);
+            case ColumnTypes.LONG:
+            case ColumnTypes.INT24:
+                return unsigned ? payload.getUnsignedIntLE(offset) : payload.getIntLE(offset);
+            case ColumnTypes.LONGLONG:
+                return payload.getLongLE(offset);
+            case ColumnTypes.FLOAT:
+                return (long) payload.getFloatLE(offset);
+            case ColumnTypes.DOUBLE:
+                return (long) payload.getDoubleLE(offset);
+            default:
+                throw new IllegalArgumentException("type " + type);
+        }
+    }
+
+    static boolean isIntegral(@MagicConstant(valuesFromClass = ColumnTypes.class) int type) {
+        switch (type) {
+            case ColumnTypes.TINY:
+            case ColumnTypes.SHORT:
+            case ColumnTypes.YEAR:
+            case ColumnTypes.LONG:
+            case ColumnTypes.INT24:
+            case ColumnTypes.LONGLONG:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * @param length length of the content
+     * @return null for zero dates
+     */
+    @Nullable
+    static Object get(@MagicConstant(valuesFromClass = ColumnTypes.class) int type, boolean unsigned, boolean binary,
+                      @NotNull ByteBuf payload, int offset, int length) {
+        switch (type) {
+            case ColumnTypes.NULL:
+                return null;
+            case ColumnTypes.TINY:
+            case ColumnTypes.SHORT:
+            case ColumnTypes.YEAR:
+            case ColumnTypes.LONG:
+            case ColumnTypes.INT24:
+                return getLong(type, unsigned, payload, offset);
+            case ColumnTypes.LONGLONG: {
+                long value = payload.getLongLE(offset);
+                if (unsigned && value < 0L) {
+                    return BigInteger.valueOf(value).add(UNSIGNED_LONG);
+                }
+                return value;
+            }
+            case ColumnTypes.FLOAT:
+                return payload.getFloatLE(offset);
+            case ColumnTypes.DOUBLE:
+                return payload.getDoubleLE(offset);
+            case ColumnTypes.DECIMAL:
+            case ColumnTypes.NEWDECIMAL:
+                return new BigDecimal(payload.toString(offset, length, StandardCharsets.US_ASCII));
+            case ColumnTypes.DATE:
+            case ColumnTypes.DATETIME:
+            case ColumnTypes.TIMESTAMP: {
+                if (length < 4) {
+                    return null;
+                }
+                int year = payload.getUnsignedShortLE(offset);
+                int month = payload.getUnsignedByte(offset + 2);
+                int day = payload.getUnsignedByte(offset + 3);
+                if (month == 0 || day == 0) {
+                    return null;
+                }
+                if (type == ColumnTypes.DATE) {
+                    return LocalDate.of(year, month, day);
+                }
+                int hour = 0, minute = 0, second = 0, micros = 0;
+                if (length >= 7) {
+                    hour = payload.getUnsignedByte(offset + 4);
+                    minute = payload.getUnsignedByte(offset + 5);
+                    second = payload.getUnsignedByte(offset + 6);
+                }
+                if (length >= 11) {
+                    micros = payload.getIntLE(offset + 7);
+                }
+                return LocalDateTime.of(year, month, day, hour, minute, second, micros * 1000);
+            }
+            case ColumnTypes.TIME: {
+                if (length < 8) {
+                    return Duration.ZERO;
+                }
+                long seconds = payload.getUnsignedIntLE(offset + 1) * 86400L + payload.getUnsignedByte(offset + 5) * 3600L
+                        + payload.getUnsignedByte(offset + 6) * 60L + payload.getUnsignedByte(offset + 7);
+                Duration value = Duration.ofSeconds(seconds, length >= 12 ? payload.getIntLE(offset + 8) * 1000L : 0L);
+                return payload.getByte(offset) != 0 ? value.negated() : value;
+            }
+            default:
+                if (binary || type == ColumnTypes.BIT || type == ColumnTypes.GEOMETRY) {
+                    return ByteBufUtil.getBytes(payload, offset, length);
+                }
+                return payload.toString(offset, length, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * No instance
+     */
+    private MysqlBinaryCodec() {
+        super();
+    }
+}
@@ -0,0 +1,124 @@
+package mujica.netty.mysql;
+
+import io.netty.buffer.ByteBuf;
+import mujica.reflect.modifier.CodeHistory;
+import mujica.reflect.modifier.ReferencePage;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * A header 0x00, a NULL bitmap with 2 bits of offset, then the values of the binary protocol
+ */
+@CodeHistory(date = "2026/10/17")
+@ReferencePage(title = "Binary Protocol Resultset Row", href = "https://dev.mysql.com/doc/dev/mysql-server/latest/page_protocol_binary_resultset.html")
+final class MysqlBinaryRow extends MysqlRow {
+
+    static final int BITMAP_OFFSET = 2;
+
+    MysqlBinaryRow(@NotNull List<MysqlColumn> columns) {
+        super(columns);
+    }
+
+    static int bitmapSize(int columnCount, int bitmapOffset) {
+        return (columnCount + 7 + bitmapOffset) >> 3;
+    }
+
+    @Override
+    void parse(@NotNull ByteBuf payload) {
+        this.payload = payload;
+        final int bitmap = payload.readerIndex() + 1; // header
+        int index = bitmap + bitmapSize(lengths.length, BITMAP_OFFSET);
+        for (int column = 0; column < lengths.length; column++) {
+            int bit = column + BITMAP_OFFSET;
+            if ((payload.getByte(bitmap + (bit >> 3)) & (1 << (bit & 7))) != 0) {
+                lengths[column] = -1;
+                continue;
+            }
+            int type = columns.get(column).type;
+            int offset = MysqlBinaryCodec.contentOffset(type, payload, index);
+            int size = MysqlBinaryCodec.size(type, payload, index);
+            offsets[column] = offset;
+            lengths[column] = size - (offset - index);
+            index += size;
+        }
+        if (index > payload.writerIndex()) {
+            throw new IndexOutOfBoundsException("row " + index + " > " + payload.writerIndex());
+        }
+    }
+
+    @Override
+    public long getLong(int index) {
+        final int length = lengths[index];
+        if (length < 0) {
+            return 0L;
+        }
+        final MysqlColumn column = columns.get(index);
+        switch (column.type) {
+            case ColumnTypes.TINY:
+            case ColumnTypes.SHORT:
+            case ColumnTypes.YEAR:
+            case ColumnTypes.LONG:
+            case ColumnTypes.INT24:
+            case ColumnTypes.LONGLONG:
+            case ColumnTypes.FLOAT:
+            case ColumnTypes.DOUBLE:
+                return MysqlBinaryCodec.getLong(column.type, column.isUnsigned(), payload, offsets[index]);
+            default:
+                try {
+                    return MysqlIO.parseLong(payload, offsets[index], length);
+                } catch (NumberFormatException e) {
+                    return (long) getDouble(index);
+                }
+        }
+    }
+
+    @Override
+    public double getDouble(int index) {
+        final int length = lengths[index];
+        if (length < 0) {
+            return 0.0;
+        }
+        final MysqlColumn column = columns.get(index);
+        switch (column.type) {
+            case ColumnTypes.FLOAT:
+                return payload.getFloatLE(offsets[index]);
+            case ColumnTypes.DOUBLE:
+                return payload.getDoubleLE(offsets[index]);
+            default:
+                if (MysqlBinaryCodec.isIntegral(column.type)) {
+                    return getLong(index);
+                }
+                return Double.parseDouble(payload.toString(offsets[index], length, StandardCharsets.US_ASCII));
+        }
+    }
+
+    /**
+     * Strings are decoded from the buffer; other values are converted by String.valueOf
+     */
+    @Nullable
+    @Override
+    public String getString(int index) {
+        final int length = lengths[index];
+        if (length < 0) {
+            return null;
+        }
+        if (MysqlBinaryCodec.isLengthEncoded(columns.get(index).type)) {
+            return payload.toString(offsets[index], length, StandardCharsets.UTF_8);
+        }
+        return String.valueOf(getObject(index));
+    }
+
+    @Nullable
+    @Override
+    public Object getObject(int index) {
+        final int length = lengths[index];
+        if (length < 0) {
+            return null;
+        }
+        final MysqlColumn column = columns.get(index);
+        return MysqlBinaryCodec.get(column.type, column.isUnsigned(), column.isBinary(), payload, offsets[index], length);
+    }
+}
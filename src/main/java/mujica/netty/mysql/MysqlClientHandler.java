@@ -0,0 +1,458 @@
+package mujica.netty.mysql;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import io.netty.util.concurrent.Promise;
+import mujica.reflect.modifier.CodeHistory;
+import mujica.reflect.modifier.ReferencePage;
+import org.intellij.lang.annotations.MagicConstant;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.channels.ClosedChannelException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * The connection phase, then the command phase. Commands are written as soon as they come, and the responses are
+ * matched to them in order, so many commands can be in flight on one connection
+ */
+@CodeHistory(date = "2026/10/17")
+@ReferencePage(title = "Connection Phase", href = "https://dev.mysql.com/doc/dev/mysql-server/latest/page_protocol_connection_phase.html")
+@ReferencePage(title = "Command Phase", href = "https://dev.mysql.com/doc/dev/mysql-server/latest/page_protocol_command_phase.html")
+class MysqlClientHandler extends ChannelDuplexHandler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MysqlClientHandler.class);
+
+    static final int CLIENT_CAPABILITIES = Capabilities.LONG_PASSWORD | Capabilities.LONG_FLAG | Capabilities.PROTOCOL_41
+            | Capabilities.TRANSACTIONS | Capabilities.RESERVED_2 | Capabilities.PLUGIN_AUTH | Capabilities.PLUGIN_AUTH_LENENC_CLIENT_DATA;
+
+    static final int UTF8MB4_GENERAL_CI = 45;
+
+    static final int MAX_PACKET = 1 << 30;
+
+    static final int OK = 0x00;
+
+    static final int EOF = 0xfe;
+
+    static final int ERR = 0xff;
+
+    static final int LOCAL_INFILE = 0xfb;
+
+    static final int AUTH_MORE_DATA = 0x01;
+
+    @NotNull
+    private final String user;
+
+    @NotNull
+    private final byte[] password;
+
+    @Nullable
+    private final String database;
+
+    @NotNull
+    private final Promise<MysqlConnection> connectPromise;
+
+    @NotNull
+    final MysqlConnectionMetrics metrics = new MysqlConnectionMetrics();
+
+    private final ArrayDeque<MysqlCommand<?>> pending = new ArrayDeque<>();
+
+    @MagicConstant(valuesFromClass = ProtocolStates.class)
+    private int state = ProtocolStates.HANDSHAKE;
+
+    private int capabilities;
+
+    private byte[] seed;
+
+    private String plugin;
+
+    private boolean publicKeyRequested;
+
+    String serverVersion;
+
+    long connectionId;
+
+    MysqlClientHandler(@NotNull String user, @NotNull String password, @Nullable String database,
+                       @NotNull Promise<MysqlConnection> connectPromise) {
+        super();
+        this.user = user;
+        this.password = password.getBytes(StandardCharsets.UTF_8);
+        this.database = database;
+        this.connectPromise = connectPromise;
+    }
+
+    @Override
+    public void channelRead(@NotNull ChannelHandlerContext ctx, @NotNull Object msg) throws Exception {
+        if (!(msg instanceof MysqlPacket)) {
+            ctx.fireChannelRead(msg);
+            return;
+        }
+        final MysqlPacket packet = (MysqlPacket) msg;
+        try {
+            read(ctx, packet.content(), packet.sequenceId());
+        } finally {
+            packet.release();
+        }
+    }
+
+    private void read(@NotNull ChannelHandlerContext ctx, @NotNull ByteBuf payload, int sequenceId) throws Exception {
+        switch (state) {
+            case ProtocolStates.HANDSHAKE:
+                readHandshake(ctx, payload, sequenceId);
+                return;
+            case ProtocolStates.AUTH:
+                readAuth(ctx, payload, sequenceId);
+                return;
+            default:
+                break;
+        }
+        final MysqlCommand<?> command = pending.peek();
+        if (command == null) {
+            throw new MysqlServerException(0, "HY000", "unexpected packet in state " + state);
+        }
+        final int header = payload.isReadable() ? payload.getUnsignedByte(payload.readerIndex()) : -1;
+        if (header == ERR) {
+            finish(command, readError(payload));
+            return;
+        }
+        switch (state) {
+            case ProtocolStates.IDLE:
+                readFirst(ctx, command, payload, sequenceId, header);
+                break;
+            case ProtocolStates.QUERY_COLUMNS:
+            case ProtocolStates.STATEMENT_EXECUTE_COLUMNS: {
+                MysqlResult result = command.result;
+                assert result != null;
+                if (result.columns.size() < command.columnCount) {
+                    result.columns.add(MysqlColumn.read(payload));
+                    break;
+                }
+                if (!isEof(payload, header)) {
+                    throw new MysqlServerException(0, "HY000", "expect EOF after columns");
+                }
+                boolean binary = state == ProtocolStates.STATEMENT_EXECUTE_COLUMNS;
+                command.row = binary ? new MysqlBinaryRow(result.columns) : new MysqlTextRow(result.columns);
+                if (command.rowHandler != null) {
+                    try {
+                        command.rowHandler.columns(result.columns);
+                    } catch (Throwable e) {
+                        command.failure = e;
+                    }
+                }
+                state = binary ? ProtocolStates.STATEMENT_EXECUTE_ROWS : ProtocolStates.QUERY_ROWS;
+                break;
+            }
+            case ProtocolStates.QUERY_ROWS:
+            case ProtocolStates.STATEMENT_EXECUTE_ROWS: {
+                MysqlResult result = command.result;
+                assert result != null;
+                if (isEof(payload, header)) {
+                    payload.skipBytes(1);
+                    result.warnings = payload.readUnsignedShortLE();
+                    result.statusFlags = payload.readUnsignedShortLE();
+                    finish(command, command.failure != null ? command.failure : result);
+                    break;
+                }
+                if (command.failure != null) {
+                    break; // skip the rest
+                }
+                MysqlRow row = command.row;
+                assert row != null;
+                try {
+                    row.parse(payload);
+                    if (command.rowHandler != null) {
+                        command.rowHandler.row(row);
+                    } else {
+                        result.rows.add(row.toArray());
+                    }
+                } catch (Throwable e) {
+                    command.failure = e;
+                }
+                break;
+            }
+            case ProtocolStates.STATEMENT_PREPARE_PARAMETERS:
+            case ProtocolStates.STATEMENT_PREPARE_COLUMNS: {
+                MysqlStatement statement = command.statement;
+                assert statement != null;
+                boolean parameters = state == ProtocolStates.STATEMENT_PREPARE_PARAMETERS;
+                if (parameters ? statement.parameters.size() < statement.parameterCount : statement.columns.size() < statement.columnCount) {
+                    (parameters ? statement.parameters : statement.columns).add(MysqlColumn.read(payload));
+                    break;
+                }
+                if (!isEof(payload, header)) {
+                    throw new MysqlServerException(0, "HY000", "expect EOF after definitions");
+                }
+                if (parameters && statement.columnCount != 0) {
+                    state = ProtocolStates.STATEMENT_PREPARE_COLUMNS;
+                } else {
+                    finish(command, statement);
+                }
+                break;
+            }
+            default:
+                throw new IllegalStateException("state " + state);
+        }
+    }
+
+    private void readFirst(@NotNull ChannelHandlerContext ctx, @NotNull MysqlCommand<?> command, @NotNull ByteBuf payload,
+                           int sequenceId, int header) {
+        if (command.command == ServerCommands.STATEMENT_PREPARE) {
+            if (header != OK) {
+                finish(command, new MysqlServerException(0, "HY000", "expect COM_STMT_PREPARE_OK " + header));
+                return;
+            }
+            payload.skipBytes(1);
+            MysqlStatement statement = command.statement;
+            assert statement != null;
+            int id = payload.readIntLE();
+            int columnCount = payload.readUnsignedShortLE();
+            int parameterCount = payload.readUnsignedShortLE();
+            statement = new MysqlStatement(statement.sql, id, parameterCount, columnCount);
+            command.statement = statement;
+            if (statement.parameterCount != 0) {
+                state = ProtocolStates.STATEMENT_PREPARE_PARAMETERS;
+            } else if (statement.columnCount != 0) {
+                state = ProtocolStates.STATEMENT_PREPARE_COLUMNS;
+            } else {
+                finish(command, statement);
+            }
+            return;
+        }
+        if (header == OK) {
+            finish(command, readOk(payload));
+            return;
+        }
+        if (header == LOCAL_INFILE && (command.command == ServerCommands.QUERY)) {
+            LOGGER.warn("refuse LOCAL INFILE {}", payload.toString(payload.readerIndex() + 1, payload.readableBytes() - 1, StandardCharsets.UTF_8));
+            ctx.writeAndFlush(new MysqlPacket(sequenceId + 1, ctx.alloc().buffer(0))); // empty file, then OK or ERR
+            return;
+        }
+        if (command.command != ServerCommands.QUERY && command.command != ServerCommands.STATEMENT_EXECUTE) {
+            finish(command, new MysqlServerException(0, "HY000", "unexpected response " + header));
+            return;
+        }
+        final MysqlResult result = new MysqlResult();
+        command.columnCount = Math.toIntExact(MysqlIO.readEncoded(payload));
+        result.columns = new ArrayList<>(command.columnCount);
+        command.result = result;
+        state = command.command == ServerCommands.QUERY ? ProtocolStates.QUERY_COLUMNS : ProtocolStates.STATEMENT_EXECUTE_COLUMNS;
+    }
+
+    private static boolean isEof(@NotNull ByteBuf payload, int header) {
+        return header == EOF && payload.readableBytes() < 9;
+    }
+
+    @NotNull
+    private MysqlResult readOk(@NotNull ByteBuf payload) {
+        final MysqlResult result = new MysqlResult();
+        payload.skipBytes(1);
+        result.affectedRows = MysqlIO.readEncoded(payload);
+        result.lastInsertId = MysqlIO.readEncoded(payload);
+        if (payload.readableBytes() >= 4) {
+            result.statusFlags = payload.readUnsignedShortLE();
+            result.warnings = payload.readUnsignedShortLE();
+        }
+        result.info = MysqlIO.readRestString(payload);
+        return result;
+    }
+
+    @NotNull
+    private MysqlServerException readError(@NotNull ByteBuf payload) {
+        payload.skipBytes(1);
+        final int errorCode = payload.readUnsignedShortLE();
+        String sqlState = "HY000";
+        if (payload.isReadable() && payload.getByte(payload.readerIndex()) == '#') {
+            payload.skipBytes(1);
+            sqlState = MysqlIO.readString(payload, 5);
+        }
+        return new MysqlServerException(errorCode, sqlState, MysqlIO.readRestString(payload));
+    }
+
+    private void finish(@NotNull MysqlCommand<?> command, @NotNull Object outcome) {
+        pending.poll();
+        state = ProtocolStates.IDLE;
+        final boolean success = !(outcome instanceof Throwable);
+        metrics.finish(System.nanoTime() - command.startNanos, success);
+        if (success) {
+            command.succeed(outcome);
+        } else {
+            command.fail((Throwable) outcome);
+        }
+    }
+
+    @ReferencePage(title = "Protocol::HandshakeV10", href = "https://dev.mysql.com/doc/dev/mysql-server/latest/page_protocol_connection_phase_packets_protocol_handshake_v10.html")
+    private void readHandshake(@NotNull ChannelHandlerContext ctx, @NotNull ByteBuf payload, int sequenceId) throws Exception {
+        final int protocolVersion = payload.readUnsignedByte();
+        if (protocolVersion == ERR) {
+            payload.readerIndex(payload.readerIndex() - 1);
+            throw readError(payload);
+        }
+        if (protocolVersion != 10) {
+            throw new MysqlServerException(0, "08004", "protocol version " + protocolVersion);
+        }
+        serverVersion = MysqlIO.readNullTerminatedString(payload);
+        connectionId = payload.readUnsignedIntLE();
+        final byte[] seed1 = MysqlIO.readBytes(payload, 8);
+        payload.skipBytes(1); // filler
+        int serverCapabilities = payload.readUnsignedShortLE();
+        int authDataLength = 0;
+        if (payload.isReadable()) {
+            payload.skipBytes(3); // character set, status flags
+            serverCapabilities |= payload.readUnsignedShortLE() << 16;
+            authDataLength = payload.readUnsignedByte();
+            payload.skipBytes(10); // reserved
+        }
+        if ((serverCapabilities & Capabilities.PROTOCOL_41) == 0) {
+            throw new MysqlServerException(0, "08004", "server without 4.1 protocol");
+        }
+        byte[] seed2 = MysqlIO.readBytes(payload, Math.min(payload.readableBytes(), Math.max(13, authDataLength - 8)));
+        if (seed2.length != 0 && seed2[seed2.length - 1] == 0) {
+            seed2 = Arrays.copyOf(seed2, seed2.length - 1);
+        }
+        seed = Arrays.copyOf(seed1, seed1.length + seed2.length);
+        System.arraycopy(seed2, 0, seed, seed1.length, seed2.length);
+        plugin = MysqlAuth.NATIVE_PASSWORD;
+        if ((serverCapabilities & Capabilities.PLUGIN_AUTH) != 0 && payload.isReadable()) {
+            int length = payload.bytesBefore((byte) 0);
+            plugin = MysqlIO.readString(payload, length < 0 ? payload.readableBytes() : length);
+        }
+        if (!plugin.equals(MysqlAuth.CACHING_SHA2_PASSWORD)) {
+            plugin = MysqlAuth.NATIVE_PASSWORD; // others are switched by the server
+        }
+        capabilities = CLIENT_CAPABILITIES & serverCapabilities;
+        if (database != null) {
+            capabilities |= Capabilities.CONNECT_WITH_DB & serverCapabilities;
+        }
+        final ByteBuf response = ctx.alloc().buffer();
+        response.writeIntLE(capabilities);
+        response.writeIntLE(MAX_PACKET);
+        response.writeByte(UTF8MB4_GENERAL_CI);
+        response.writeZero(23);
+        MysqlIO.writeNullTerminatedString(user, response);
+        final byte[] auth = MysqlAuth.scramble(plugin, password, seed);
+        if ((capabilities & Capabilities.PLUGIN_AUTH_LENENC_CLIENT_DATA) != 0) {
+            MysqlIO.writeEncodedBytes(auth, response);
+        } else {
+            response.writeByte(auth.length);
+            response.writeBytes(auth);
+        }
+        if ((capabilities & Capabilities.CONNECT_WITH_DB) != 0) {
+            MysqlIO.writeNullTerminatedString(database, response);
+        }
+        if ((capabilities & Capabilities.PLUGIN_AUTH) != 0) {
+            MysqlIO.writeNullTerminatedString(plugin, response);
+        }
+        ctx.writeAndFlush(new MysqlPacket(sequenceId + 1, response));
+        state = ProtocolStates.AUTH;
+    }
+
+    private void readAuth(@NotNull ChannelHandlerContext ctx, @NotNull ByteBuf payload, int sequenceId) throws Exception {
+        final int header = payload.readUnsignedByte();
+        switch (header) {
+            case OK:
+                state = ProtocolStates.IDLE;
+                connectPromise.trySuccess(new MysqlConnection(ctx.channel(), this));
+                break;
+            case ERR:
+                payload.readerIndex(payload.readerIndex() - 1);
+                throw readError(payload);
+            case EOF: { // AuthSwitchRequest
+                int length = payload.bytesBefore((byte) 0);
+                plugin = MysqlIO.readString(payload, length < 0 ? payload.readableBytes() : length);
+                payload.skipBytes(length < 0 ? 0 : 1);
+                seed = MysqlIO.readRestBytes(payload);
+                if (seed.length != 0 && seed[seed.length - 1] == 0) {
+                    seed = Arrays.copyOf(seed, seed.length - 1);
+                }
+                ctx.writeAndFlush(new MysqlPacket(sequenceId + 1, ctx.alloc().buffer().writeBytes(MysqlAuth.scramble(plugin, password, seed))));
+                break;
+            }
+            case AUTH_MORE_DATA: {
+                if (publicKeyRequested) {
+                    byte[] encrypted;
+                    try {
+                        encrypted = MysqlAuth.rsaEncrypt(password, seed, MysqlIO.readRestString(payload));
+                    } catch (GeneralSecurityException e) {
+                        throw new MysqlServerException(0, "28000", "public key " + e);
+                    }
+                    ctx.writeAndFlush(new MysqlPacket(sequenceId + 1, ctx.alloc().buffer().writeBytes(encrypted)));
+                    break;
+                }
+                int status = payload.readUnsignedByte();
+                if (status == MysqlAuth.PERFORM_FULL_AUTHENTICATION) {
+                    publicKeyRequested = true;
+                    ctx.writeAndFlush(new MysqlPacket(sequenceId + 1, ctx.alloc().buffer(1).writeByte(MysqlAuth.REQUEST_PUBLIC_KEY)));
+                } else if (status != MysqlAuth.FAST_AUTH_SUCCESS) {
+                    throw new MysqlServerException(0, "28000", "auth more data " + status);
+                }
+                break;
+            }
+            default:
+                throw new MysqlServerException(0, "28000", "auth response " + ByteBufUtil.hexDump(payload));
+        }
+    }
+
+    @Override
+    public void write(@NotNull ChannelHandlerContext ctx, @NotNull Object msg, @NotNull ChannelPromise promise) throws Exception {
+        if (!(msg instanceof MysqlCommand)) {
+            ctx.write(msg, promise);
+            return;
+        }
+        final MysqlCommand<?> command = (MysqlCommand<?>) msg;
+        command.accepted = true;
+        if (state == ProtocolStates.HANDSHAKE || state == ProtocolStates.AUTH || !ctx.channel().isActive()) {
+            command.payload.release();
+            Exception e = ctx.channel().isActive() ? new IllegalStateException("connecting") : new ClosedChannelException();
+            command.fail(e);
+            if (!promise.isVoid()) {
+                promise.tryFailure(e);
+            }
+            return;
+        }
+        command.startNanos = System.nanoTime();
+        if (command.hasResponse()) {
+            pending.add(command);
+            metrics.start();
+        }
+        final ChannelFuture future = ctx.write(new MysqlPacket(0, command.payload), promise.unvoid());
+        future.addListener(f -> {
+            if (!f.isSuccess()) { // the server may have part of the packet, so no later response can be trusted
+                LOGGER.warn("close {} after failed write", ctx.channel(), f.cause());
+                failAll(f.cause());
+                ctx.close();
+            }
+        });
+    }
+
+    private void failAll(@NotNull Throwable cause) {
+        connectPromise.tryFailure(cause);
+        MysqlCommand<?> command;
+        while ((command = pending.poll()) != null) {
+            metrics.finish(System.nanoTime() - command.startNanos, false);
+            command.fail(cause);
+        }
+    }
+
+    @Override
+    public void channelInactive(@NotNull ChannelHandlerContext ctx) throws Exception {
+        failAll(new ClosedChannelException());
+        super.channelInactive(ctx);
+    }
+
+    @Override
+    public void exceptionCaught(@NotNull ChannelHandlerContext ctx, @NotNull Throwable cause) {
+        LOGGER.warn("close {}", ctx.channel(), cause);
+        failAll(cause);
+        ctx.close();
+    }
+}
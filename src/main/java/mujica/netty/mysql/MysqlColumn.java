@@ -0,0 +1,167 @@
+package mujica.netty.mysql;
+
+import io.netty.buffer.ByteBuf;
+import mujica.reflect.modifier.CodeHistory;
+import mujica.reflect.modifier.DataType;
+import mujica.reflect.modifier.ReferencePage;
+import org.intellij.lang.annotations.MagicConstant;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Protocol::ColumnDefinition41
+ */
+@CodeHistory(date = "2026/10/17")
+@ReferencePage(title = "Column Definition", href = "https://dev.mysql.com/doc/dev/mysql-server/latest/page_protocol_com_query_response_text_resultset_column_definition.html")
+public final class MysqlColumn {
+
+    public static final int NOT_NULL_FLAG = 1;
+    public static final int PRIMARY_KEY_FLAG = 1 << 1;
+    public static final int UNIQUE_KEY_FLAG = 1 << 2;
+    public static final int MULTIPLE_KEY_FLAG = 1 << 3;
+    public static final int BLOB_FLAG = 1 << 4;
+    public static final int UNSIGNED_FLAG = 1 << 5;
+    public static final int ZEROFILL_FLAG = 1 << 6;
+    public static final int BINARY_FLAG = 1 << 7;
+
+    /**
+     * The collation of binary strings
+     */
+    public static final int BINARY_CHARSET = 63;
+
+    @NotNull
+    final String schema;
+
+    @NotNull
+    final String table;
+
+    @NotNull
+    final String originalTable;
+
+    @NotNull
+    final String name;
+
+    @NotNull
+    final String originalName;
+
+    @DataType("u16")
+    final int charset;
+
+    @DataType("u32")
+    final long length;
+
+    @MagicConstant(valuesFromClass = ColumnTypes.class)
+    final int type;
+
+    @DataType("u16")
+    final int flags;
+
+    @DataType("u8")
+    final int decimals;
+
+    public MysqlColumn(@NotNull String schema, @NotNull String table, @NotNull String originalTable, @NotNull String name,
+                       @NotNull String originalName, int charset, long length,
+                       @MagicConstant(valuesFromClass = ColumnTypes.class) int type, int flags, int decimals) {
+        super();
+        this.schema = schema;
+        this.table = table;
+        this.originalTable = originalTable;
+        this.name = name;
+        this.originalName = originalName;
+        this.charset = charset;
+        this.length = length;
+        this.type = type;
+        this.flags = flags;
+        this.decimals = decimals;
+    }
+
+    public MysqlColumn(@NotNull String name, @MagicConstant(valuesFromClass = ColumnTypes.class) int type, int flags) {
+        this("", "", "", name, name, (flags & BINARY_FLAG) != 0 ? BINARY_CHARSET : 45, 0L, type, flags, 0);
+    }
+
+    @NotNull
+    static MysqlColumn read(@NotNull ByteBuf payload) {
+        MysqlIO.readEncodedToSkip(payload); // catalog, always "def"
+        final String schema = MysqlIO.readEncodedString(payload);
+        final String table = MysqlIO.readEncodedString(payload);
+        final String originalTable = MysqlIO.readEncodedString(payload);
+        final String name = MysqlIO.readEncodedString(payload);
+        final String originalName = MysqlIO.readEncodedString(payload);
+        MysqlIO.readEncoded(payload); // length of fixed length fields, always 0x0c
+        final int charset = payload.readUnsignedShortLE();
+        final long length = payload.readUnsignedIntLE();
+        final int type = payload.readUnsignedByte();
+        final int flags = payload.readUnsignedShortLE();
+        final int decimals = payload.readUnsignedByte();
+        return new MysqlColumn(schema, table, originalTable, name, originalName, charset, length, type, flags, decimals);
+    }
+
+    void write(@NotNull ByteBuf payload) {
+        MysqlIO.writeEncodedString("def", payload);
+        MysqlIO.writeEncodedString(schema, payload);
+        MysqlIO.writeEncodedString(table, payload);
+        MysqlIO.writeEncodedString(originalTable, payload);
+        MysqlIO.writeEncodedString(name, payload);
+        MysqlIO.writeEncodedString(originalName, payload);
+        payload.writeByte(0x0c);
+        payload.writeShortLE(charset);
+        payload.writeIntLE((int) length);
+        payload.writeByte(type);
+        payload.writeShortLE(flags);
+        payload.writeByte(decimals);
+        payload.writeShortLE(0); // filler
+    }
+
+    @NotNull
+    public String getSchema() {
+        return schema;
+    }
+
+    @NotNull
+    public String getTable() {
+        return table;
+    }
+
+    @NotNull
+    public String getName() {
+        return name;
+    }
+
+    @NotNull
+    public String getOriginalName() {
+        return originalName;
+    }
+
+    public int getCharset() {
+        return charset;
+    }
+
+    @MagicConstant(valuesFromClass = ColumnTypes.class)
+    public int getType() {
+        return type;
+    }
+
+    public int getFlags() {
+        return flags;
+    }
+
+    public int getDecimals() {
+        return decimals;
+    }
+
+    public boolean isUnsigned() {
+        return (flags & UNSIGNED_FLAG) != 0;
+    }
+
+    /**
+     * Binary strings and blobs, not text
+     */
+    public boolean isBinary() {
+        return charset == BINARY_CHARSET;
+    }
+
+    @NotNull
+    @Override
+    public String toString() {
+        return "MysqlColumn(" + name + ", " + type + ")";
+    }
+}
@@ -0,0 +1,83 @@
+package mujica.netty.mysql;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.util.concurrent.Promise;
+import mujica.reflect.modifier.CodeHistory;
+import org.intellij.lang.annotations.MagicConstant;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A command written to MysqlClientHandler, and its progress while the response is read
+ */
+@CodeHistory(date = "2026/10/17")
+final class MysqlCommand<T> {
+
+    @MagicConstant(valuesFromClass = ServerCommands.class)
+    final int command;
+
+    /**
+     * Starts with the command octet
+     */
+    @NotNull
+    final ByteBuf payload;
+
+    /**
+     * Null for the commands without a response
+     */
+    @Nullable
+    final Promise<T> promise;
+
+    @Nullable
+    final MysqlRowHandler rowHandler;
+
+    @Nullable
+    MysqlStatement statement;
+
+    @Nullable
+    MysqlResult result;
+
+    int columnCount;
+
+    @Nullable
+    MysqlRow row;
+
+    /**
+     * From the row handler; the rest of the response is still read
+     */
+    @Nullable
+    Throwable failure;
+
+    long startNanos;
+
+    /**
+     * Set by MysqlClientHandler, which owns the payload since then
+     */
+    boolean accepted;
+
+    MysqlCommand(@MagicConstant(valuesFromClass = ServerCommands.class) int command, @NotNull ByteBuf payload,
+                 @Nullable Promise<T> promise, @Nullable MysqlRowHandler rowHandler) {
+        super();
+        this.command = command;
+        this.payload = payload;
+        this.promise = promise;
+        this.rowHandler = rowHandler;
+    }
+
+    boolean hasResponse() {
+        return promise != null;
+    }
+
+    @SuppressWarnings("unchecked")
+    void succeed(@NotNull Object value) {
+        if (promise != null) {
+            ((Promise<Object>) promise).trySuccess(value);
+        }
+    }
+
+    void fail(@NotNull Throwable cause) {
+        if (promise != null) {
+            promise.tryFailure(cause);
+        }
+    }
+}
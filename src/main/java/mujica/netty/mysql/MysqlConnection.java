@@ -0,0 +1,215 @@
+package mujica.netty.mysql;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelInitializer;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.Promise;
+import mujica.reflect.modifier.CodeHistory;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.Closeable;
+import java.net.SocketAddress;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * An authenticated connection. All methods can be called from any thread; the commands are sent in the order of the
+ * calls without waiting for the former responses, and the returned futures complete in the same order
+ */
+@CodeHistory(date = "2026/10/17")
+public final class MysqlConnection implements Closeable {
+
+    @NotNull
+    public static Future<MysqlConnection> connect(@NotNull Bootstrap bootstrap, @NotNull SocketAddress address,
+                                                  @NotNull String user, @NotNull String password, @Nullable String database) {
+        final Bootstrap clone = bootstrap.clone();
+        final Promise<MysqlConnection> promise = clone.config().group().next().newPromise();
+        clone.handler(new ChannelInitializer<Channel>() {
+            @Override
+            protected void initChannel(@NotNull Channel channel) {
+                channel.pipeline().addLast(new MysqlPacketDecoder(), MysqlPacketEncoder.INSTANCE,
+                        new MysqlClientHandler(user, password, database, promise));
+            }
+        });
+        final ChannelFuture future = clone.connect(address);
+        future.addListener(f -> {
+            if (!f.isSuccess()) {
+                promise.tryFailure(f.cause());
+            }
+        });
+        promise.addListener(f -> {
+            if (!f.isSuccess()) {
+                future.channel().close();
+            }
+        });
+        return promise;
+    }
+
+    @NotNull
+    private final Channel channel;
+
+    @NotNull
+    private final MysqlClientHandler handler;
+
+    MysqlConnection(@NotNull Channel channel, @NotNull MysqlClientHandler handler) {
+        super();
+        this.channel = channel;
+        this.handler = handler;
+    }
+
+    @NotNull
+    public Channel channel() {
+        return channel;
+    }
+
+    @NotNull
+    public MysqlConnectionMetrics metrics() {
+        return handler.metrics;
+    }
+
+    public String getServerVersion() {
+        return handler.serverVersion;
+    }
+
+    public long getConnectionId() {
+        return handler.connectionId;
+    }
+
+    public boolean isActive() {
+        return channel.isActive();
+    }
+
+    @NotNull
+    private <T> Future<T> send(int command, @NotNull ByteBuf payload, @Nullable MysqlRowHandler rowHandler,
+                               @Nullable MysqlStatement statement) {
+        final Promise<T> promise = channel.eventLoop().newPromise();
+        final MysqlCommand<T> mysqlCommand = new MysqlCommand<>(command, payload, promise, rowHandler);
+        mysqlCommand.statement = statement;
+        write(mysqlCommand);
+        return promise;
+    }
+
+    /**
+     * After the channel is closed, the pipeline may be emptied, and the command does not reach the handler
+     */
+    @NotNull
+    private ChannelFuture write(@NotNull MysqlCommand<?> command) {
+        return channel.writeAndFlush(command).addListener(f -> {
+            if (!f.isSuccess() && !command.accepted) {
+                command.payload.release();
+                command.fail(f.cause());
+            }
+        });
+    }
+
+    @NotNull
+    private ByteBuf command(int command, @Nullable String text) {
+        final ByteBuf payload = channel.alloc().buffer();
+        payload.writeByte(command);
+        if (text != null) {
+            payload.writeCharSequence(text, StandardCharsets.UTF_8);
+        }
+        return payload;
+    }
+
+    /**
+     * COM_QUERY; rows are collected into the result
+     */
+    @NotNull
+    public Future<MysqlResult> query(@NotNull String sql) {
+        return send(ServerCommands.QUERY, command(ServerCommands.QUERY, sql), null, null);
+    }
+
+    /**
+     * COM_QUERY; rows are given to the handler on the event loop, and the result has no rows
+     */
+    @NotNull
+    public Future<MysqlResult> query(@NotNull String sql, @NotNull MysqlRowHandler rowHandler) {
+        return send(ServerCommands.QUERY, command(ServerCommands.QUERY, sql), rowHandler, null);
+    }
+
+    @NotNull
+    public Future<MysqlStatement> prepare(@NotNull String sql) {
+        return send(ServerCommands.STATEMENT_PREPARE, command(ServerCommands.STATEMENT_PREPARE, sql), null,
+                new MysqlStatement(sql, 0, 0, 0));
+    }
+
+    @NotNull
+    public Future<MysqlResult> execute(@NotNull MysqlStatement statement, @Nullable Object... parameters) {
+        return execute(statement, null, parameters);
+    }
+
+    /**
+     * COM_STMT_EXECUTE; parameters are sent in the binary protocol, with the types from their classes
+     */
+    @NotNull
+    public Future<MysqlResult> execute(@NotNull MysqlStatement statement, @Nullable MysqlRowHandler rowHandler, @Nullable Object... parameters) {
+        if (parameters == null) {
+            parameters = new Object[] {null};
+        }
+        if (parameters.length != statement.parameterCount) {
+            throw new IllegalArgumentException("expect " + statement.parameterCount + " parameters, got " + parameters.length);
+        }
+        final ByteBuf payload = command(ServerCommands.STATEMENT_EXECUTE, null);
+        try {
+            payload.writeIntLE(statement.id);
+            payload.writeByte(0); // CURSOR_TYPE_NO_CURSOR
+            payload.writeIntLE(1); // iteration count
+            if (parameters.length != 0) {
+                final int bitmapIndex = payload.writerIndex();
+                payload.writeZero((parameters.length + 7) >> 3);
+                payload.writeByte(1); // new params bound flag
+                for (int index = 0; index < parameters.length; index++) {
+                    Object parameter = parameters[index];
+                    if (parameter == null) {
+                        payload.setByte(bitmapIndex + (index >> 3), payload.getByte(bitmapIndex + (index >> 3)) | (1 << (index & 7)));
+                    }
+                    payload.writeShortLE(MysqlBinaryCodec.typeOf(parameter));
+                }
+                for (Object parameter : parameters) {
+                    MysqlBinaryCodec.write(MysqlBinaryCodec.typeOf(parameter), parameter, payload);
+                }
+            }
+        } catch (RuntimeException e) {
+            payload.release();
+            throw e;
+        }
+        return send(ServerCommands.STATEMENT_EXECUTE, payload, rowHandler, statement);
+    }
+
+    /**
+     * COM_STMT_CLOSE has no response
+     */
+    public void closeStatement(@NotNull MysqlStatement statement) {
+        final ByteBuf payload = command(ServerCommands.STATEMENT_CLOSE, null);
+        payload.writeIntLE(statement.id);
+        write(new MysqlCommand<Void>(ServerCommands.STATEMENT_CLOSE, payload, null, null));
+    }
+
+    @NotNull
+    public Future<MysqlResult> ping() {
+        return send(ServerCommands.PING, command(ServerCommands.PING, null), null, null);
+    }
+
+    /**
+     * COM_QUIT, then closes the channel; pending commands fail
+     */
+    @Override
+    public void close() {
+        if (channel.isActive()) {
+            write(new MysqlCommand<Void>(ServerCommands.QUIT, command(ServerCommands.QUIT, null), null, null))
+                    .addListener(f -> channel.close());
+        } else {
+            channel.close();
+        }
+    }
+
+    @NotNull
+    @Override
+    public String toString() {
+        return "MysqlConnection(" + channel + ", " + handler.metrics + ")";
+    }
+}
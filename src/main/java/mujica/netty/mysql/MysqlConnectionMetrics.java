@@ -0,0 +1,91 @@
+package mujica.netty.mysql;
+
+import mujica.reflect.modifier.CodeHistory;
+
+/**
+ * Written in the event loop of the connection only, read from any thread
+ */
+@CodeHistory(date = "2026/10/17")
+public final class MysqlConnectionMetrics {
+
+    private volatile int inFlight;
+
+    private volatile int maxInFlight;
+
+    private volatile long completed;
+
+    private volatile long failed;
+
+    private volatile long totalNanos;
+
+    private volatile long maxNanos;
+
+    private volatile long lastNanos;
+
+    MysqlConnectionMetrics() {
+        super();
+    }
+
+    void start() {
+        final int value = inFlight + 1;
+        inFlight = value;
+        if (value > maxInFlight) {
+            maxInFlight = value;
+        }
+    }
+
+    void finish(long nanos, boolean success) {
+        inFlight--;
+        if (success) {
+            completed++;
+        } else {
+            failed++;
+        }
+        totalNanos += nanos;
+        lastNanos = nanos;
+        if (nanos > maxNanos) {
+            maxNanos = nanos;
+        }
+    }
+
+    /**
+     * Commands written and waiting for the response
+     */
+    public int getInFlight() {
+        return inFlight;
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public long getCompleted() {
+        return completed;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    /**
+     * From the write of a command to the end of its response
+     */
+    public long getMeanLatencyNanos() {
+        final long count = completed + failed;
+        return count != 0L ? totalNanos / count : 0L;
+    }
+
+    public long getMaxLatencyNanos() {
+        return maxNanos;
+    }
+
+    public long getLastLatencyNanos() {
+        return lastNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "MysqlConnectionMetrics(in flight " + inFlight + ", completed " + completed + ", failed " + failed
+                + ", mean " + getMeanLatencyNanos() + " ns, max " + maxNanos + " ns)";
+    }
+}
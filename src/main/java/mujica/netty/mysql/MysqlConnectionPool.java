@@ -0,0 +1,203 @@
+package mujica.netty.mysql;
+
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.Promise;
+import mujica.reflect.modifier.CodeHistory;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Closeable;
+import java.nio.channels.ClosedChannelException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * At most maxSize connections; a lease is exclusive until released. Acquiring waits in order when all are leased.
+ * Closed connections are dropped at release and at acquire. Releasing a connection which is not leased throws
+ */
+@CodeHistory(date = "2026/10/17")
+public final class MysqlConnectionPool implements Closeable {
+
+    @NotNull
+    private final EventExecutor executor;
+
+    @NotNull
+    private final Supplier<Future<MysqlConnection>> factory;
+
+    private final int maxSize;
+
+    private final ArrayDeque<MysqlConnection> idle = new ArrayDeque<>();
+
+    private final ArrayDeque<Promise<MysqlConnection>> waiters = new ArrayDeque<>();
+
+    private final Set<MysqlConnection> leased = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /**
+     * Idle, leased and connecting
+     */
+    private int size;
+
+    private boolean closed;
+
+    public MysqlConnectionPool(@NotNull EventExecutor executor, @NotNull Supplier<Future<MysqlConnection>> factory, int maxSize) {
+        super();
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("max size = " + maxSize);
+        }
+        this.executor = executor;
+        this.factory = factory;
+        this.maxSize = maxSize;
+    }
+
+    @NotNull
+    public Future<MysqlConnection> acquire() {
+        final Promise<MysqlConnection> promise = executor.newPromise();
+        synchronized (this) {
+            if (closed) {
+                return promise.setFailure(new ClosedChannelException());
+            }
+            MysqlConnection connection;
+            while ((connection = idle.poll()) != null) {
+                if (connection.isActive()) {
+                    leased.add(connection);
+                    return promise.setSuccess(connection);
+                }
+                size--;
+            }
+            if (size >= maxSize) {
+                waiters.add(promise);
+                return promise;
+            }
+            size++;
+        }
+        connect(promise);
+        return promise;
+    }
+
+    private void connect(@NotNull Promise<MysqlConnection> promise) {
+        final Future<MysqlConnection> future;
+        try {
+            future = factory.get();
+        } catch (RuntimeException e) {
+            shrink();
+            promise.setFailure(e);
+            return;
+        }
+        future.addListener(f -> {
+            if (!f.isSuccess()) {
+                shrink();
+                promise.tryFailure(f.cause());
+            } else {
+                MysqlConnection connection = future.getNow();
+                synchronized (this) {
+                    leased.add(connection);
+                }
+                if (!promise.trySuccess(connection)) {
+                    release(connection); // the waiter was cancelled
+                }
+            }
+        });
+    }
+
+    /**
+     * A slot is free after a failed connect; a waiter takes it
+     */
+    private void shrink() {
+        final Promise<MysqlConnection> waiter;
+        synchronized (this) {
+            size--;
+            waiter = closed ? null : waiters.poll();
+            if (waiter == null) {
+                return;
+            }
+            size++;
+        }
+        connect(waiter);
+    }
+
+    public void release(@NotNull MysqlConnection connection) {
+        synchronized (this) {
+            if (!leased.remove(connection)) {
+                throw new IllegalStateException("not leased " + connection.channel());
+            }
+        }
+        if (!connection.isActive()) {
+            shrink();
+            return;
+        }
+        while (true) {
+            Promise<MysqlConnection> waiter;
+            synchronized (this) {
+                if (closed) {
+                    size--;
+                    break;
+                }
+                waiter = waiters.poll();
+                if (waiter == null) {
+                    idle.push(connection); // the most recent is warm
+                    return;
+                }
+                leased.add(connection);
+            }
+            if (waiter.trySuccess(connection)) {
+                return;
+            }
+            synchronized (this) {
+                leased.remove(connection);
+            }
+        }
+        connection.close();
+    }
+
+    public synchronized int getSize() {
+        return size;
+    }
+
+    public synchronized int getIdleCount() {
+        return idle.size();
+    }
+
+    public synchronized int getWaiterCount() {
+        return waiters.size();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Closes the idle connections and fails the waiters; leased connections are closed when released
+     */
+    @Override
+    public void close() {
+        final ArrayList<MysqlConnection> connections;
+        final ArrayList<Promise<MysqlConnection>> promises;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            connections = new ArrayList<>(idle);
+            promises = new ArrayList<>(waiters);
+            size -= idle.size();
+            idle.clear();
+            waiters.clear();
+        }
+        for (MysqlConnection connection : connections) {
+            connection.close();
+        }
+        for (Promise<MysqlConnection> promise : promises) {
+            promise.tryFailure(new ClosedChannelException());
+        }
+    }
+
+    @NotNull
+    @Override
+    public synchronized String toString() {
+        return "MysqlConnectionPool(" + size + "/" + maxSize + ", " + idle.size() + " idle, " + waiters.size() + " waiting)";
+    }
+}
@@ -3,6 +3,7 @@ package mujica.netty.mysql;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufUtil;
 import mujica.reflect.modifier.CodeHistory;
+import mujica.reflect.modifier.DataType;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -10,6 +11,7 @@ import java.nio.charset.StandardCharsets;
 
 @CodeHistory(date = "2024/5/19", project = "netty-mysql-connector", name = "MysqlByteBuf")
 @CodeHistory(date = "2026/5/2")
+@CodeHistory(date = "2026/10/17")
 final class MysqlIO {
 
     static final int MAX_SIZE = 0x40000;
@@ -176,4 +178,75 @@ final class MysqlIO {
     static String readRestString(@NotNull ByteBuf srcBuf) {
         return readString(srcBuf, srcBuf.readableBytes());
     }
+
+    /**
+     * @return the size of a length encoded integer by its first octet
+     */
+    static int encodedSize(@DataType("u8") int first) {
+        if (first < 0xfb) {
+            return 1;
+        }
+        switch (first) {
+            case 0xfc:
+                return 3;
+            case 0xfd:
+                return 4;
+            case 0xfe:
+                return 9;
+            default:
+                throw new IllegalArgumentException("first octet " + first);
+        }
+    }
+
+    /**
+     * Reads a length encoded integer without moving the reader index
+     */
+    static long getEncoded(@NotNull ByteBuf data, int index) {
+        final int first = data.getUnsignedByte(index);
+        switch (encodedSize(first)) {
+            default:
+                return first;
+            case 3:
+                return data.getUnsignedShortLE(index + 1);
+            case 4:
+                return data.getUnsignedMediumLE(index + 1);
+            case 9:
+                return data.getLongLE(index + 1);
+        }
+    }
+
+    /**
+     * Parses decimal digits with an optional sign, without a string
+     *
+     * @throws NumberFormatException not an integer, or overflow
+     */
+    static long parseLong(@NotNull ByteBuf data, int index, int length) {
+        if (length <= 0) {
+            throw new NumberFormatException("empty");
+        }
+        final int limit = index + length;
+        final boolean negative = data.getByte(index) == '-';
+        if (negative || data.getByte(index) == '+') {
+            if (++index == limit) {
+                throw new NumberFormatException("sign only");
+            }
+        }
+        long value = 0L; // accumulated negatively, for Long.MIN_VALUE
+        for (; index < limit; index++) {
+            int digit = data.getByte(index) - '0';
+            if (digit < 0 || digit > 9) {
+                throw new NumberFormatException(data.toString(limit - length, length, StandardCharsets.US_ASCII));
+            }
+            if (value < Long.MIN_VALUE / 10 || (value = value * 10 - digit) > 0L) {
+                throw new NumberFormatException("overflow");
+            }
+        }
+        if (negative) {
+            return value;
+        }
+        if (value == Long.MIN_VALUE) {
+            throw new NumberFormatException("overflow");
+        }
+        return -value;
+    }
 }
@@ -0,0 +1,192 @@
+package mujica.netty.mysql;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.Promise;
+import mujica.json.io.JsonByteBufWriter;
+import mujica.reflect.modifier.CodeHistory;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.channels.ClosedChannelException;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Streams a result set to another channel as a JSON array, in chunks. When the target is not writable, the MySQL
+ * channel stops reading until it is, so the memory taken does not grow with the row count.
+ * If the query fails after some chunks, the target has got an incomplete array. If the target closes, the export fails
+ * and the remaining rows are read and dropped, so that the MySQL connection stays usable
+ */
+@CodeHistory(date = "2026/10/17")
+public final class MysqlJsonExporter implements MysqlRowHandler {
+
+    public static final int DEFAULT_CHUNK_SIZE = 1 << 16;
+
+    @NotNull
+    public static Future<Long> export(@NotNull MysqlConnection connection, @NotNull String sql, @NotNull Channel target,
+                                      boolean objects, int chunkSize) {
+        final MysqlJsonExporter exporter = new MysqlJsonExporter(connection.channel(), target, objects, chunkSize);
+        return exporter.start(connection.query(sql, exporter));
+    }
+
+    @NotNull
+    public static Future<Long> export(@NotNull MysqlConnection connection, @NotNull MysqlStatement statement, @NotNull Channel target,
+                                      boolean objects, int chunkSize, @Nullable Object... parameters) {
+        final MysqlJsonExporter exporter = new MysqlJsonExporter(connection.channel(), target, objects, chunkSize);
+        return exporter.start(connection.execute(statement, exporter, parameters));
+    }
+
+    @NotNull
+    private final Channel source;
+
+    @NotNull
+    private final Channel target;
+
+    private final int chunkSize;
+
+    @NotNull
+    private final JsonByteBufWriter writer;
+
+    @NotNull
+    private final MysqlJsonRowWriter rowWriter;
+
+    @NotNull
+    private final Promise<Long> promise;
+
+    @NotNull
+    private final WritabilityHandler writabilityHandler = new WritabilityHandler();
+
+    private boolean opened;
+
+    private MysqlJsonExporter(@NotNull Channel source, @NotNull Channel target, boolean objects, int chunkSize) {
+        super();
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunk size = " + chunkSize);
+        }
+        this.source = source;
+        this.target = target;
+        this.chunkSize = chunkSize;
+        this.writer = new JsonByteBufWriter(allocate());
+        this.rowWriter = new MysqlJsonRowWriter(writer, objects);
+        this.promise = source.eventLoop().newPromise();
+        target.pipeline().addLast(writabilityHandler);
+    }
+
+    @NotNull
+    private ByteBuf allocate() {
+        return target.alloc().buffer(chunkSize + (chunkSize >> 2));
+    }
+
+    @NotNull
+    private Future<Long> start(@NotNull Future<MysqlResult> result) {
+        result.addListener(f -> finish(f.cause()));
+        return promise;
+    }
+
+    @Override
+    public void columns(@NotNull List<MysqlColumn> columns) {
+        if (targetClosed()) {
+            return;
+        }
+        rowWriter.columns(columns);
+        writer.openArray();
+        opened = true;
+    }
+
+    @Override
+    public void row(@NotNull MysqlRow row) {
+        if (targetClosed()) {
+            return; // dropped
+        }
+        rowWriter.row(row);
+        if (writer.content().readableBytes() >= chunkSize) {
+            emit();
+            if (!target.isWritable()) {
+                source.config().setAutoRead(false);
+                if (target.isWritable() || !target.isActive()) { // it may have changed before autoRead is cleared
+                    source.config().setAutoRead(true);
+                }
+            }
+        }
+    }
+
+    private void emit() {
+        target.writeAndFlush(writer.swapContent(allocate()), target.voidPromise());
+    }
+
+    /**
+     * Called on the source event loop; the target may have closed before the handler was added
+     */
+    private boolean targetClosed() {
+        if (promise.isDone()) {
+            return true;
+        }
+        if (target.isActive()) {
+            return false;
+        }
+        abort();
+        return true;
+    }
+
+    /**
+     * Called on either event loop
+     */
+    private void abort() {
+        source.config().setAutoRead(true);
+        promise.tryFailure(new ClosedChannelException());
+    }
+
+    private void finish(@Nullable Throwable cause) {
+        source.config().setAutoRead(true);
+        try {
+            try {
+                target.pipeline().remove(writabilityHandler);
+            } catch (NoSuchElementException ignored) {
+                // target closed and its pipeline torn down
+            }
+            if (cause != null) {
+                promise.tryFailure(cause);
+                return;
+            }
+            if (targetClosed()) {
+                return;
+            }
+            if (!opened) {
+                writer.openArray(); // no result set
+            }
+            writer.closeArray();
+            emit();
+            promise.trySuccess(rowWriter.getRowCount());
+        } catch (RuntimeException e) {
+            promise.tryFailure(e);
+        } finally {
+            writer.release();
+        }
+    }
+
+    @CodeHistory(date = "2026/10/17")
+    private class WritabilityHandler extends ChannelInboundHandlerAdapter {
+
+        WritabilityHandler() {
+            super();
+        }
+
+        @Override
+        public void channelWritabilityChanged(@NotNull ChannelHandlerContext ctx) throws Exception {
+            if (ctx.channel().isWritable()) {
+                source.config().setAutoRead(true);
+            }
+            super.channelWritabilityChanged(ctx);
+        }
+
+        @Override
+        public void channelInactive(@NotNull ChannelHandlerContext ctx) throws Exception {
+            abort();
+            super.channelInactive(ctx);
+        }
+    }
+}
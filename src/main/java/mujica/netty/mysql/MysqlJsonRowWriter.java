@@ -0,0 +1,253 @@
+package mujica.netty.mysql;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.base64.Base64;
+import mujica.json.container.FastString;
+import mujica.json.handler.JsonHandler;
+import mujica.reflect.modifier.CodeHistory;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Feeds each row to a JsonHandler as an array or an object, straight from the payload.
+ * Strings go as their UTF-8 octets, decimals and text numbers as their literals; binary strings as Base64.
+ * Temporal values of both protocols are written in the text form of MySQL
+ */
+@CodeHistory(date = "2026/10/17")
+public final class MysqlJsonRowWriter implements MysqlRowHandler {
+
+    private static final Pattern PLAIN_NAME = Pattern.compile("[ !#-\\[\\]-~]*");
+
+    @NotNull
+    private final JsonHandler handler;
+
+    private final boolean objects;
+
+    /**
+     * FastString for plain ASCII names, String for the others
+     */
+    private CharSequence[] keys = new CharSequence[0];
+
+    /**
+     * For binary temporal values
+     */
+    private final ByteBuf scratch = Unpooled.buffer(32);
+
+    private long rowCount;
+
+    /**
+     * @param objects true for {name: value}, false for [value]
+     */
+    public MysqlJsonRowWriter(@NotNull JsonHandler handler, boolean objects) {
+        super();
+        this.handler = handler;
+        this.objects = objects;
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public void columns(@NotNull List<MysqlColumn> columns) {
+        keys = new CharSequence[columns.size()];
+        for (int index = 0; index < keys.length; index++) {
+            String name = columns.get(index).getName();
+            keys[index] = PLAIN_NAME.matcher(name).matches() ? new FastString(name) : name;
+        }
+    }
+
+    @Override
+    public void row(@NotNull MysqlRow row) {
+        if (objects) {
+            handler.openObject();
+            for (int index = 0; index < keys.length; index++) {
+                CharSequence key = keys[index];
+                if (key instanceof FastString) {
+                    handler.key((FastString) key);
+                } else {
+                    handler.key((String) key);
+                }
+                value(row, index);
+            }
+            handler.closeObject();
+        } else {
+            handler.openArray();
+            for (int index = 0; index < keys.length; index++) {
+                value(row, index);
+            }
+            handler.closeArray();
+        }
+        rowCount++;
+    }
+
+    private void value(@NotNull MysqlRow row, int index) {
+        final int length = row.lengths[index];
+        if (length < 0) {
+            handler.nullValue();
+            return;
+        }
+        final MysqlColumn column = row.columns.get(index);
+        final ByteBuf payload = row.payload;
+        final int offset = row.offsets[index];
+        final boolean binary = row instanceof MysqlBinaryRow;
+        switch (column.type) {
+            case ColumnTypes.TINY:
+            case ColumnTypes.SHORT:
+            case ColumnTypes.YEAR:
+            case ColumnTypes.LONG:
+            case ColumnTypes.INT24:
+            case ColumnTypes.LONGLONG:
+                if (binary) {
+                    long value = MysqlBinaryCodec.getLong(column.type, column.isUnsigned(), payload, offset);
+                    if (value < 0L && column.isUnsigned()) {
+                        scratch.clear().writeCharSequence(Long.toUnsignedString(value), StandardCharsets.US_ASCII);
+                        handler.numberValue(scratch);
+                    } else {
+                        handler.numberValue(value);
+                    }
+                } else {
+                    try {
+                        handler.numberValue(MysqlIO.parseLong(payload, offset, length));
+                    } catch (NumberFormatException e) {
+                        literal(payload, offset, length, true); // unsigned above Long.MAX_VALUE
+                    }
+                }
+                break;
+            case ColumnTypes.FLOAT:
+                if (binary) {
+                    handler.numberValue(payload.getFloatLE(offset));
+                } else {
+                    literal(payload, offset, length, true);
+                }
+                break;
+            case ColumnTypes.DOUBLE:
+                if (binary) {
+                    handler.numberValue(payload.getDoubleLE(offset));
+                } else {
+                    literal(payload, offset, length, true);
+                }
+                break;
+            case ColumnTypes.DECIMAL:
+            case ColumnTypes.NEWDECIMAL:
+                literal(payload, offset, length, true);
+                break;
+            case ColumnTypes.DATE:
+            case ColumnTypes.DATETIME:
+            case ColumnTypes.TIMESTAMP:
+                if (binary) {
+                    formatDateTime(column, payload, offset, length);
+                    handler.stringValue(scratch);
+                } else {
+                    literal(payload, offset, length, false);
+                }
+                break;
+            case ColumnTypes.TIME:
+                if (binary) {
+                    formatTime(column, payload, offset, length);
+                    handler.stringValue(scratch);
+                } else {
+                    literal(payload, offset, length, false);
+                }
+                break;
+            default:
+                if (column.isBinary() || column.type == ColumnTypes.BIT || column.type == ColumnTypes.GEOMETRY) {
+                    ByteBuf base64 = Base64.encode(payload, offset, length, false);
+                    try {
+                        handler.stringValue(base64);
+                    } finally {
+                        base64.release();
+                    }
+                } else {
+                    literal(payload, offset, length, false);
+                }
+                break;
+        }
+    }
+
+    /**
+     * Narrows the payload to the value for the call, without a slice
+     */
+    private void literal(@NotNull ByteBuf payload, int offset, int length, boolean number) {
+        final int readerIndex = payload.readerIndex();
+        final int writerIndex = payload.writerIndex();
+        payload.setIndex(offset, offset + length);
+        try {
+            if (number) {
+                handler.numberValue(payload);
+            } else {
+                handler.stringValue(payload);
+            }
+        } finally {
+            payload.setIndex(readerIndex, writerIndex);
+        }
+    }
+
+    private static void digits(@NotNull ByteBuf out, long value, int width) {
+        int start = out.writerIndex();
+        do {
+            out.writeByte('0' + (int) (value % 10));
+            value /= 10;
+            width--;
+        } while (value != 0 || width > 0);
+        for (int end = out.writerIndex() - 1; start < end; start++, end--) {
+            byte octet = out.getByte(start);
+            out.setByte(start, out.getByte(end));
+            out.setByte(end, octet);
+        }
+    }
+
+    /**
+     * As many digits as the column has
+     */
+    private static void fraction(@NotNull ByteBuf out, @NotNull MysqlColumn column, int micros) {
+        final int decimals = column.decimals;
+        if (decimals <= 0 || decimals > 6) {
+            return;
+        }
+        out.writeByte('.');
+        digits(out, micros, 6);
+        out.writerIndex(out.writerIndex() - (6 - decimals));
+    }
+
+    private void formatDateTime(@NotNull MysqlColumn column, @NotNull ByteBuf payload, int offset, int length) {
+        final ByteBuf out = scratch.clear();
+        digits(out, length >= 4 ? payload.getUnsignedShortLE(offset) : 0, 4);
+        out.writeByte('-');
+        digits(out, length >= 4 ? payload.getUnsignedByte(offset + 2) : 0, 2);
+        out.writeByte('-');
+        digits(out, length >= 4 ? payload.getUnsignedByte(offset + 3) : 0, 2);
+        if (column.type == ColumnTypes.DATE) {
+            return;
+        }
+        out.writeByte(' ');
+        digits(out, length >= 7 ? payload.getUnsignedByte(offset + 4) : 0, 2);
+        out.writeByte(':');
+        digits(out, length >= 7 ? payload.getUnsignedByte(offset + 5) : 0, 2);
+        out.writeByte(':');
+        digits(out, length >= 7 ? payload.getUnsignedByte(offset + 6) : 0, 2);
+        fraction(out, column, length >= 11 ? payload.getIntLE(offset + 7) : 0);
+    }
+
+    private void formatTime(@NotNull MysqlColumn column, @NotNull ByteBuf payload, int offset, int length) {
+        final ByteBuf out = scratch.clear();
+        if (length < 8) {
+            out.writeCharSequence("00:00:00", StandardCharsets.US_ASCII);
+            fraction(out, column, 0);
+            return;
+        }
+        if (payload.getByte(offset) != 0) {
+            out.writeByte('-');
+        }
+        digits(out, payload.getUnsignedIntLE(offset + 1) * 24L + payload.getUnsignedByte(offset + 5), 2);
+        out.writeByte(':');
+        digits(out, payload.getUnsignedByte(offset + 6), 2);
+        out.writeByte(':');
+        digits(out, payload.getUnsignedByte(offset + 7), 2);
+        fraction(out, column, length >= 12 ? payload.getIntLE(offset + 8) : 0);
+    }
+}
@@ -0,0 +1,49 @@
+package mujica.netty.mysql;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.DefaultByteBufHolder;
+import mujica.reflect.modifier.CodeHistory;
+import mujica.reflect.modifier.DataType;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A whole payload, joined from the 16 MB parts on the wire
+ */
+@CodeHistory(date = "2026/10/17")
+public final class MysqlPacket extends DefaultByteBufHolder {
+
+    @DataType("u8")
+    private final int sequenceId;
+
+    public MysqlPacket(@DataType("u8") int sequenceId, @NotNull ByteBuf payload) {
+        super(payload);
+        this.sequenceId = sequenceId & 0xff;
+    }
+
+    /**
+     * @return the sequence id of the last part when decoded, or of the first part to encode
+     */
+    @DataType("u8")
+    public int sequenceId() {
+        return sequenceId;
+    }
+
+    @NotNull
+    @Override
+    public MysqlPacket replace(@NotNull ByteBuf content) {
+        return new MysqlPacket(sequenceId, content);
+    }
+
+    @NotNull
+    @Override
+    public MysqlPacket retain() {
+        super.retain();
+        return this;
+    }
+
+    @NotNull
+    @Override
+    public String toString() {
+        return "MysqlPacket(" + sequenceId + ", " + content().readableBytes() + ")";
+    }
+}
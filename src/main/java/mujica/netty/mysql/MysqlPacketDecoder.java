@@ -0,0 +1,87 @@
+package mujica.netty.mysql;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.ByteToMessageDecoder;
+import io.netty.handler.codec.TooLongFrameException;
+import mujica.reflect.modifier.CodeHistory;
+import mujica.reflect.modifier.ReferencePage;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * Frames packets; a part of 0xffffff octets is followed by another part of the same payload
+ */
+@CodeHistory(date = "2026/10/17")
+@ReferencePage(title = "MySQL Packets", href = "https://dev.mysql.com/doc/dev/mysql-server/latest/page_protocol_basic_packets.html")
+public class MysqlPacketDecoder extends ByteToMessageDecoder {
+
+    static final int MAX_PART = 0xffffff;
+
+    private final int maxPayload;
+
+    @Nullable
+    private CompositeByteBuf parts;
+
+    public MysqlPacketDecoder(int maxPayload) {
+        super();
+        if (maxPayload <= 0) {
+            throw new IllegalArgumentException("max payload = " + maxPayload);
+        }
+        this.maxPayload = maxPayload;
+    }
+
+    public MysqlPacketDecoder() {
+        this(1 << 30);
+    }
+
+    @Override
+    protected void decode(@NotNull ChannelHandlerContext ctx, @NotNull ByteBuf in, @NotNull List<Object> out) throws Exception {
+        while (in.readableBytes() >= 4) {
+            final int index = in.readerIndex();
+            final int length = in.getUnsignedMediumLE(index);
+            if (in.readableBytes() < 4 + length) {
+                return;
+            }
+            final int sequenceId = in.getUnsignedByte(index + 3);
+            in.skipBytes(4);
+            final int total = (parts != null ? parts.readableBytes() : 0) + length;
+            if (total > maxPayload || total < 0) {
+                in.skipBytes(length);
+                releaseParts();
+                throw new TooLongFrameException("payload " + total + " > " + maxPayload);
+            }
+            final ByteBuf part = in.readRetainedSlice(length);
+            if (length == MAX_PART) {
+                if (parts == null) {
+                    parts = ctx.alloc().compositeBuffer(Integer.MAX_VALUE);
+                }
+                parts.addComponent(true, part);
+                continue;
+            }
+            if (parts != null) {
+                final CompositeByteBuf payload = parts;
+                parts = null;
+                payload.addComponent(true, part);
+                out.add(new MysqlPacket(sequenceId, payload));
+            } else {
+                out.add(new MysqlPacket(sequenceId, part));
+            }
+        }
+    }
+
+    private void releaseParts() {
+        if (parts != null) {
+            parts.release();
+            parts = null;
+        }
+    }
+
+    @Override
+    protected void handlerRemoved0(@NotNull ChannelHandlerContext ctx) throws Exception {
+        releaseParts();
+    }
+}
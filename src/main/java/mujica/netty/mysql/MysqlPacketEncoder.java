@@ -0,0 +1,44 @@
+package mujica.netty.mysql;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.MessageToMessageEncoder;
+import mujica.reflect.modifier.CodeHistory;
+import mujica.reflect.modifier.ReferencePage;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * Splits a payload to parts of at most 0xffffff octets, and sends the parts as slices behind the headers
+ */
+@CodeHistory(date = "2026/10/17")
+@ReferencePage(title = "MySQL Packets", href = "https://dev.mysql.com/doc/dev/mysql-server/latest/page_protocol_basic_packets.html")
+@ChannelHandler.Sharable
+public class MysqlPacketEncoder extends MessageToMessageEncoder<MysqlPacket> {
+
+    public static final MysqlPacketEncoder INSTANCE = new MysqlPacketEncoder();
+
+    public MysqlPacketEncoder() {
+        super();
+    }
+
+    @Override
+    protected void encode(@NotNull ChannelHandlerContext ctx, @NotNull MysqlPacket msg, @NotNull List<Object> out) {
+        final ByteBuf payload = msg.content();
+        int sequenceId = msg.sequenceId();
+        int length;
+        do { // a part of exactly 0xffffff octets is followed by a part, maybe empty
+            length = Math.min(payload.readableBytes(), MysqlPacketDecoder.MAX_PART);
+            final ByteBuf header = ctx.alloc().buffer(4);
+            MysqlIO.writeInt3(length, header);
+            header.writeByte(sequenceId);
+            sequenceId = (sequenceId + 1) & 0xff;
+            out.add(header);
+            if (length != 0) {
+                out.add(payload.readRetainedSlice(length));
+            }
+        } while (length == MysqlPacketDecoder.MAX_PART);
+    }
+}
@@ -0,0 +1,76 @@
+package mujica.netty.mysql;
+
+import mujica.reflect.modifier.CodeHistory;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * From an OK_Packet, or from the end of a result set
+ */
+@CodeHistory(date = "2026/10/17")
+public final class MysqlResult {
+
+    @NotNull
+    List<MysqlColumn> columns = Collections.emptyList();
+
+    /**
+     * Empty when the rows are given to a MysqlRowHandler
+     */
+    @NotNull
+    final List<Object[]> rows = new ArrayList<>();
+
+    long affectedRows;
+
+    long lastInsertId;
+
+    int statusFlags;
+
+    int warnings;
+
+    @NotNull
+    String info = "";
+
+    MysqlResult() {
+        super();
+    }
+
+    @NotNull
+    public List<MysqlColumn> getColumns() {
+        return columns;
+    }
+
+    @NotNull
+    public List<Object[]> getRows() {
+        return rows;
+    }
+
+    public long getAffectedRows() {
+        return affectedRows;
+    }
+
+    public long getLastInsertId() {
+        return lastInsertId;
+    }
+
+    public int getStatusFlags() {
+        return statusFlags;
+    }
+
+    public int getWarnings() {
+        return warnings;
+    }
+
+    @NotNull
+    public String getInfo() {
+        return info;
+    }
+
+    @NotNull
+    @Override
+    public String toString() {
+        return "MysqlResult(" + columns.size() + " columns, " + rows.size() + " rows, " + affectedRows + " affected)";
+    }
+}
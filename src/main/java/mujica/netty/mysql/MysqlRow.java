@@ -0,0 +1,94 @@
+package mujica.netty.mysql;
+
+import io.netty.buffer.ByteBuf;
+import mujica.reflect.modifier.CodeHistory;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * A view over the payload of a row packet; the column values are decoded from the buffer on demand.
+ * Valid only in the call of MysqlRowHandler.row; copy out what is needed later
+ */
+@CodeHistory(date = "2026/10/17")
+public abstract class MysqlRow {
+
+    @NotNull
+    final List<MysqlColumn> columns;
+
+    final int[] offsets;
+
+    /**
+     * -1 for NULL
+     */
+    final int[] lengths;
+
+    ByteBuf payload;
+
+    MysqlRow(@NotNull List<MysqlColumn> columns) {
+        super();
+        this.columns = columns;
+        this.offsets = new int[columns.size()];
+        this.lengths = new int[columns.size()];
+    }
+
+    abstract void parse(@NotNull ByteBuf payload);
+
+    public int size() {
+        return columns.size();
+    }
+
+    @NotNull
+    public MysqlColumn column(int index) {
+        return columns.get(index);
+    }
+
+    public boolean isNull(int index) {
+        return lengths[index] < 0;
+    }
+
+    /**
+     * @return the undecoded content, a slice sharing the payload; null for NULL
+     */
+    @Nullable
+    public ByteBuf getContent(int index) {
+        final int length = lengths[index];
+        if (length < 0) {
+            return null;
+        }
+        return payload.slice(offsets[index], length);
+    }
+
+    /**
+     * @return 0 for NULL
+     * @throws NumberFormatException not a number
+     */
+    public abstract long getLong(int index);
+
+    /**
+     * @return 0 for NULL
+     * @throws NumberFormatException not a number
+     */
+    public abstract double getDouble(int index);
+
+    @Nullable
+    public abstract String getString(int index);
+
+    /**
+     * Integers as Long, or BigInteger above Long.MAX_VALUE; FLOAT as Float; DOUBLE as Double; DECIMAL as BigDecimal;
+     * DATE as LocalDate; DATETIME and TIMESTAMP as LocalDateTime, or null for zero dates; TIME as Duration;
+     * binary strings, BIT and GEOMETRY as byte[]; other strings as String
+     */
+    @Nullable
+    public abstract Object getObject(int index);
+
+    @NotNull
+    public Object[] toArray() {
+        final Object[] array = new Object[size()];
+        for (int index = 0; index < array.length; index++) {
+            array[index] = getObject(index);
+        }
+        return array;
+    }
+}
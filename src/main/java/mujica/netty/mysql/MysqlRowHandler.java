@@ -0,0 +1,20 @@
+package mujica.netty.mysql;
+
+import mujica.reflect.modifier.CodeHistory;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * Receives a result set row by row, in the event loop of the connection
+ */
+@CodeHistory(date = "2026/10/17")
+public interface MysqlRowHandler {
+
+    void columns(@NotNull List<MysqlColumn> columns) throws Exception;
+
+    /**
+     * @param row valid only in this call
+     */
+    void row(@NotNull MysqlRow row) throws Exception;
+}
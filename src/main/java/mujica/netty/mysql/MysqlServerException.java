@@ -0,0 +1,43 @@
+package mujica.netty.mysql;
+
+import mujica.reflect.modifier.CodeHistory;
+import mujica.reflect.modifier.ReferencePage;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+
+/**
+ * From an ERR_Packet, or a failure in the connection phase
+ */
+@CodeHistory(date = "2026/10/17")
+@ReferencePage(title = "ERR_Packet", href = "https://dev.mysql.com/doc/dev/mysql-server/latest/page_protocol_basic_err_packet.html")
+public class MysqlServerException extends IOException {
+
+    private static final long serialVersionUID = 0x5b3e0d9a47c2f618L;
+
+    private final int errorCode;
+
+    @NotNull
+    private final String sqlState;
+
+    public MysqlServerException(int errorCode, @NotNull String sqlState, String message) {
+        super(message);
+        this.errorCode = errorCode;
+        this.sqlState = sqlState;
+    }
+
+    public int getErrorCode() {
+        return errorCode;
+    }
+
+    @NotNull
+    public String getSqlState() {
+        return sqlState;
+    }
+
+    @NotNull
+    @Override
+    public String toString() {
+        return "MysqlServerException(" + errorCode + ", " + sqlState + ", " + getMessage() + ")";
+    }
+}
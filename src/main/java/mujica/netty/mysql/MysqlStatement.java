@@ -0,0 +1,70 @@
+package mujica.netty.mysql;
+
+import mujica.reflect.modifier.CodeHistory;
+import mujica.reflect.modifier.DataType;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A prepared statement of a connection, from COM_STMT_PREPARE_OK
+ */
+@CodeHistory(date = "2026/10/17")
+public final class MysqlStatement {
+
+    @NotNull
+    final String sql;
+
+    @DataType("u32")
+    final int id;
+
+    @NotNull
+    final List<MysqlColumn> parameters;
+
+    @NotNull
+    final List<MysqlColumn> columns;
+
+    final int parameterCount;
+
+    final int columnCount;
+
+    MysqlStatement(@NotNull String sql, int id, int parameterCount, int columnCount) {
+        super();
+        this.sql = sql;
+        this.id = id;
+        this.parameterCount = parameterCount;
+        this.columnCount = columnCount;
+        this.parameters = new ArrayList<>(parameterCount);
+        this.columns = new ArrayList<>(columnCount);
+    }
+
+    @NotNull
+    public String getSql() {
+        return sql;
+    }
+
+    public long getId() {
+        return 0xffffffffL & id;
+    }
+
+    public int getParameterCount() {
+        return parameterCount;
+    }
+
+    @NotNull
+    public List<MysqlColumn> getParameters() {
+        return parameters;
+    }
+
+    @NotNull
+    public List<MysqlColumn> getColumns() {
+        return columns;
+    }
+
+    @NotNull
+    @Override
+    public String toString() {
+        return "MysqlStatement(" + getId() + ", " + sql + ")";
+    }
+}
@@ -0,0 +1,151 @@
+package mujica.netty.mysql;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import mujica.reflect.modifier.CodeHistory;
+import mujica.reflect.modifier.ReferencePage;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * Values as length encoded strings, 0xfb for NULL
+ */
+@CodeHistory(date = "2026/10/17")
+@ReferencePage(title = "Text Resultset Row", href = "https://dev.mysql.com/doc/dev/mysql-server/latest/page_protocol_com_query_response_text_resultset_row.html")
+final class MysqlTextRow extends MysqlRow {
+
+    static final int NULL = 0xfb;
+
+    MysqlTextRow(@NotNull List<MysqlColumn> columns) {
+        super(columns);
+    }
+
+    @Override
+    void parse(@NotNull ByteBuf payload) {
+        this.payload = payload;
+        int index = payload.readerIndex();
+        for (int column = 0; column < lengths.length; column++) {
+            int first = payload.getUnsignedByte(index);
+            if (first == NULL) {
+                lengths[column] = -1;
+                index++;
+                continue;
+            }
+            int offset = index + MysqlIO.encodedSize(first);
+            int length = Math.toIntExact(MysqlIO.getEncoded(payload, index));
+            offsets[column] = offset;
+            lengths[column] = length;
+            index = offset + length;
+        }
+        if (index > payload.writerIndex()) {
+            throw new IndexOutOfBoundsException("row " + index + " > " + payload.writerIndex());
+        }
+    }
+
+    @Override
+    public long getLong(int index) {
+        final int length = lengths[index];
+        if (length < 0) {
+            return 0L;
+        }
+        if (MysqlBinaryCodec.isIntegral(columns.get(index).type)) {
+            return MysqlIO.parseLong(payload, offsets[index], length);
+        }
+        return (long) getDouble(index);
+    }
+
+    @Override
+    public double getDouble(int index) {
+        final String string = getString(index);
+        if (string == null) {
+            return 0.0;
+        }
+        return Double.parseDouble(string);
+    }
+
+    @Nullable
+    @Override
+    public String getString(int index) {
+        final int length = lengths[index];
+        if (length < 0) {
+            return null;
+        }
+        return payload.toString(offsets[index], length, StandardCharsets.UTF_8);
+    }
+
+    @Nullable
+    @Override
+    public Object getObject(int index) {
+        final int length = lengths[index];
+        if (length < 0) {
+            return null;
+        }
+        final MysqlColumn column = columns.get(index);
+        final int offset = offsets[index];
+        switch (column.type) {
+            case ColumnTypes.TINY:
+            case ColumnTypes.SHORT:
+            case ColumnTypes.YEAR:
+            case ColumnTypes.LONG:
+            case ColumnTypes.INT24:
+            case ColumnTypes.LONGLONG:
+                try {
+                    return MysqlIO.parseLong(payload, offset, length);
+                } catch (NumberFormatException e) {
+                    return new BigInteger(getString(index)); // unsigned above Long.MAX_VALUE
+                }
+            case ColumnTypes.FLOAT:
+                return Float.parseFloat(getString(index));
+            case ColumnTypes.DOUBLE:
+                return Double.parseDouble(getString(index));
+            case ColumnTypes.DECIMAL:
+            case ColumnTypes.NEWDECIMAL:
+                return new BigDecimal(getString(index));
+            case ColumnTypes.DATE:
+            case ColumnTypes.DATETIME:
+            case ColumnTypes.TIMESTAMP:
+                try {
+                    String string = getString(index);
+                    if (column.type == ColumnTypes.DATE) {
+                        return LocalDate.parse(string);
+                    }
+                    return LocalDateTime.parse(string.replace(' ', 'T'));
+                } catch (DateTimeParseException e) {
+                    return null; // zero date
+                }
+            case ColumnTypes.TIME:
+                return parseTime(getString(index));
+            default:
+                if (column.isBinary() || column.type == ColumnTypes.BIT || column.type == ColumnTypes.GEOMETRY) {
+                    return ByteBufUtil.getBytes(payload, offset, length);
+                }
+                return getString(index);
+        }
+    }
+
+    /**
+     * [-]H+:MM:SS[.ffffff]
+     */
+    @NotNull
+    static Duration parseTime(@NotNull String string) {
+        final boolean negative = string.startsWith("-");
+        final String[] parts = string.substring(negative ? 1 : 0).split(":");
+        if (parts.length != 3) {
+            throw new NumberFormatException(string);
+        }
+        final BigDecimal seconds = new BigDecimal(parts[2]);
+        final Duration value = Duration.ofHours(Long.parseLong(parts[0]))
+                .plusMinutes(Long.parseLong(parts[1]))
+                .plusNanos(seconds.movePointRight(9).longValueExact());
+        return negative ? value.negated() : value;
+    }
+}
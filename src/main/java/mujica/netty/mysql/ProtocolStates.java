@@ -6,6 +6,7 @@ import mujica.reflect.modifier.ConstantInterface;
 
 @CodeHistory(date = "2024/6/16", project = "netty-mysql-connector")
 @CodeHistory(date = "2026/5/26")
+@CodeHistory(date = "2026/10/17")
 @ConstantInterface(composition = ConstantComposition.NEVER)
 public interface ProtocolStates extends ServerCommands {
 
@@ -16,6 +17,7 @@ public interface ProtocolStates extends ServerCommands {
     int QUERY_COLUMNS = 301;
     int QUERY_ROWS = 302;
     int STATEMENT_PREPARE_COLUMNS = 2201;
+    int STATEMENT_PREPARE_PARAMETERS = 2202;
     int STATEMENT_EXECUTE_COLUMNS = 2301;
     int STATEMENT_EXECUTE_ROWS = 2302;
 
@@ -23,6 +23,7 @@ import java.util.function.Predicate;
 
 @CodeHistory(date = "2019/8/15", project = "bone", name = "JavaClassFile")
 @CodeHistory(date = "2025/9/9")
+@CodeHistory(date = "2026/10/17")
 @ReferencePage(title = "JVMS12 The ClassFile Structure", href = "https://docs.oracle.com/javase/specs/jvms/se12/html/jvms-4.html#jvms-4.1")
 public class ClassFile implements ClassFileNode.Independent, BiConsumer<AttributeInfo.Statistics, String>, Consumer<CodeAttributeInfo.Statistics> {
 
@@ -72,6 +73,46 @@ public class ClassFile implements ClassFileNode.Independent, BiConsumer<Attribut
         super();
     }
 
+    /**
+     * A class without members or attributes, see addMethod()
+     *
+     * @param thisClass like mujica/reflect/bytecode/ClassFile
+     */
+    public ClassFile(int majorVersion, int accessFlags, @NotNull String thisClass, @NotNull String superClass) {
+        super();
+        this.majorVersion = majorVersion;
+        this.accessFlags = accessFlags;
+        this.thisClass = constantPool.putClassName(thisClass);
+        this.superClass = constantPool.putClassName(superClass);
+        superInterfaces = new short[0];
+        fields = new FieldInfo[0];
+        methods = new MethodInfo[0];
+        attributes = new AttributeInfo[0];
+        fullName = thisClass;
+        final int slash = thisClass.lastIndexOf('/');
+        packageName = slash != -1 ? thisClass.substring(0, slash) : "";
+    }
+
+    /**
+     * The names are put into the constant pool here, as it is written before the methods
+     *
+     * @param code without exception table; verified by type inference, so the major version should be below 50
+     */
+    public void addMethod(int accessFlags, @NotNull String name, @NotNull String descriptor,
+                          int maxStack, int maxLocals, @NotNull byte[] code) {
+        final MethodInfo method = new MethodInfo();
+        method.accessFlags = accessFlags;
+        method.name = name;
+        method.descriptor = descriptor;
+        method.code = new CodeAttributeInfo(maxStack, maxLocals, code);
+        method.attributes = new AttributeInfo[] {method.code};
+        constantPool.putUtf8(name);
+        constantPool.putUtf8(descriptor);
+        constantPool.putUtf8(CodeAttributeInfo.NAME);
+        methods = Arrays.copyOf(methods, methods.length + 1);
+        methods[methods.length - 1] = method;
+    }
+
     @NotNull
     public ConstantPool getConstantPool() {
         return constantPool;
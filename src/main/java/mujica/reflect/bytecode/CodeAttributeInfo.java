@@ -231,6 +231,18 @@ public class CodeAttributeInfo extends AttributeInfo implements Consumer<CodeAtt
         super();
     }
 
+    /**
+     * No exception table and no attributes
+     */
+    CodeAttributeInfo(int maxStack, int maxLocals, @NotNull byte[] code) {
+        super();
+        this.maxStack = maxStack;
+        this.maxLocals = maxLocals;
+        this.code = ByteBuffer.wrap(code);
+        this.exceptions = new CodeException[0];
+        this.attributes = new AttributeInfo[0];
+    }
+
     @Override
     public int groupCount() {
         return instructionStarts != null ? 3 : 2;
@@ -16,6 +16,7 @@ import java.util.HashMap;
 import java.util.function.IntUnaryOperator;
 
 @CodeHistory(date = "2025/9/13")
+@CodeHistory(date = "2026/10/17")
 @ReferencePage(title = "JVMS12 The Constant Pool", href = "https://docs.oracle.com/javase/specs/jvms/se12/html/jvms-4.html#jvms-4.4")
 public class ConstantPool implements ClassFileNode.Independent, IntUnaryOperator {
 
@@ -29,6 +30,7 @@ public class ConstantPool implements ClassFileNode.Independent, IntUnaryOperator
 
     public ConstantPool() {
         super();
+        list.add(new ConstantSlot()); // index zero is not used
     }
 
     @Override
@@ -201,6 +203,7 @@ public class ConstantPool implements ClassFileNode.Independent, IntUnaryOperator
             return index;
         }
         index = list.size();
+        info.newIndex = index;
         list.add(info);
         map.put(info, index);
         return index;
@@ -224,6 +227,20 @@ public class ConstantPool implements ClassFileNode.Independent, IntUnaryOperator
         return put(new ClassConstantInfo(putUtf8(className)));
     }
 
+    public int putNameAndType(@NotNull String name, @NotNull String descriptor) {
+        return put(new NameAndTypeConstantInfo(putUtf8(name), putUtf8(descriptor)));
+    }
+
+    public int putFieldReference(@NotNull String className, @NotNull String name, @NotNull String descriptor) {
+        return put(new MemberReferenceConstantInfo(MemberReferenceConstantInfo.TAG_FIELDREF,
+                putClassName(className), putNameAndType(name, descriptor)));
+    }
+
+    public int putMethodReference(@NotNull String className, @NotNull String name, @NotNull String descriptor, boolean isInterface) {
+        return put(new MemberReferenceConstantInfo(isInterface ? MemberReferenceConstantInfo.TAG_INTERFACEMETHODREF : MemberReferenceConstantInfo.TAG_METHODREF,
+                putClassName(className), putNameAndType(name, descriptor)));
+    }
+
     @NotNull
     public String getSourceClassName(int index) {
         return getClassName(index).replace('/', '.');
@@ -40,6 +40,14 @@ class MemberReferenceConstantInfo extends ConstantInfo {
         this.tag = tag;
     }
 
+    MemberReferenceConstantInfo(@MagicConstant(intValues = {TAG_FIELDREF, TAG_METHODREF, TAG_INTERFACEMETHODREF}) int tag,
+                                int classIndex, int nameAndTypeIndex) {
+        super();
+        this.tag = tag;
+        this.classIndex = classIndex;
+        this.nameAndTypeIndex = nameAndTypeIndex;
+    }
+
     @Name(value = "field reference", language = "en")
     public static final int TAG_FIELDREF = 9;
 
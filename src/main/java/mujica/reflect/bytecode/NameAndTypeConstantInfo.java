@@ -30,6 +30,12 @@ class NameAndTypeConstantInfo extends ConstantInfo {
         super();
     }
 
+    NameAndTypeConstantInfo(int nameIndex, int typeIndex) {
+        super();
+        this.nameIndex = nameIndex;
+        this.typeIndex = typeIndex;
+    }
+
     public static final int TAG = 12;
 
     @Override
@@ -11,6 +11,7 @@ import java.util.Arrays;
 
 @CodeHistory(date = "2023/10/6")
 @CodeHistory(date = "2026/4/25")
+@CodeHistory(date = "2026/10/17")
 public class DimensionCodecTest {
 
     private static final int REPEAT = 205;
@@ -84,6 +85,12 @@ public class DimensionCodecTest {
         checkCastDecode(UnsignedTriangle.INSTANCE);
     }
 
+    @Test
+    public void checkCastHilbert() {
+        checkCastEncode(HilbertCurve.INSTANCE);
+        checkCastDecode(HilbertCurve.INSTANCE);
+    }
+
     private void fuzzAround64(@NotNull DimensionCodec codec) {
         final int[] in = new int[2];
         final int[] out = new int[2];
@@ -107,4 +114,207 @@ public class DimensionCodecTest {
         fuzzAround64(UnsignedSquare.INSTANCE);
         fuzzAround64(UnsignedTriangle.INSTANCE);
     }
+
+    @Test
+    public void fuzzAround64Hilbert() {
+        fuzzAround64(HilbertCurve.INSTANCE);
+    }
+
+    @Test
+    public void checkBaselineBitInterleave() {
+        final DimensionCodec expected = new BaselineBitInterleave();
+        final DimensionCodec actual = BitInterleave.INSTANCE;
+        final int[] v = new int[2];
+        final int[] w = new int[2];
+        for (int repeatIndex = 0; repeatIndex < REPEAT * 10; repeatIndex++) {
+            v[0] = fc.nextInt();
+            v[1] = fc.nextInt();
+            Assert.assertEquals(expected.encode2(v), actual.encode2(v));
+            long code = fc.nextLong();
+            expected.decode2(code, v);
+            actual.decode2(code, w);
+            Assert.assertArrayEquals(v, w);
+        }
+        final int length = fc.nextInt(1, SMALL);
+        final int[] vectors = fc.nextIntArray(2 * length);
+        final long[] codes = new long[length];
+        final int startIndex = fc.nextInt(length);
+        actual.encode2(vectors, codes, startIndex, length);
+        for (int index = 0; index < length; index++) {
+            v[0] = vectors[2 * index];
+            v[1] = vectors[2 * index + 1];
+            Assert.assertEquals(index < startIndex ? 0L : expected.encode2(v), codes[index]);
+        }
+        final int[] decoded = new int[2 * length];
+        actual.decode2(codes, decoded, startIndex, length);
+        Assert.assertArrayEquals(Arrays.copyOfRange(vectors, 2 * startIndex, 2 * length),
+                Arrays.copyOfRange(decoded, 2 * startIndex, 2 * length));
+    }
+
+    @Test
+    public void checkMorton3() {
+        final int[] v = new int[3];
+        final int[] w = new int[3];
+        for (int repeatIndex = 0; repeatIndex < REPEAT * 10; repeatIndex++) {
+            long expected = 0L;
+            for (int index = 0; index < 3; index++) {
+                v[index] = fc.nextInt() & 0x1fffff;
+                for (int shift = 0; shift < 21; shift++) {
+                    if ((v[index] & (1 << shift)) != 0) {
+                        expected |= 1L << (3 * shift + index);
+                    }
+                }
+            }
+            long code = BitInterleave.encode3(v[0], v[1], v[2]);
+            Assert.assertEquals(expected, code);
+            BitInterleave.decode3(code, w);
+            Assert.assertArrayEquals(v, w);
+        }
+        final int[] vectors = new int[3 * SMALL];
+        for (int index = 0; index < vectors.length; index++) {
+            vectors[index] = fc.nextInt() & 0x1fffff;
+        }
+        final long[] codes = new long[SMALL];
+        BitInterleave.encode3(vectors, codes, 0, SMALL);
+        final int[] decoded = new int[3 * SMALL];
+        BitInterleave.decode3(codes, decoded, 0, SMALL);
+        Assert.assertArrayEquals(vectors, decoded);
+    }
+
+    @Test
+    public void caseHilbertAdjacent() {
+        final DimensionCodec codec = HilbertCurve.INSTANCE;
+        final int[] previous = new int[2];
+        final int[] current = new int[2];
+        for (int order = 1; order <= 6; order++) {
+            int side = 1 << order;
+            boolean[] seen = new boolean[side * side];
+            for (int x = 0; x < side; x++) {
+                for (int y = 0; y < side; y++) {
+                    long code = codec.encode2(new int[] {x, y});
+                    Assert.assertTrue(0L <= code && code < seen.length);
+                    Assert.assertFalse(seen[(int) code]);
+                    seen[(int) code] = true;
+                }
+            }
+            codec.decode2(0L, previous);
+            Assert.assertArrayEquals(new int[2], previous);
+            for (long code = 1L; code < (long) side * side; code++) {
+                codec.decode2(code, current);
+                Assert.assertEquals(1, Math.abs(current[0] - previous[0]) + Math.abs(current[1] - previous[1]));
+                System.arraycopy(current, 0, previous, 0, 2);
+            }
+        }
+        for (int repeatIndex = 0; repeatIndex < REPEAT; repeatIndex++) { // around the top levels
+            long code = fc.nextLong();
+            if (code == -1L) {
+                continue;
+            }
+            codec.decode2(code, previous);
+            codec.decode2(code + 1L, current);
+            Assert.assertEquals(1L, Math.abs(Integer.toUnsignedLong(current[0]) - Integer.toUnsignedLong(previous[0]))
+                    + Math.abs(Integer.toUnsignedLong(current[1]) - Integer.toUnsignedLong(previous[1])));
+        }
+    }
+
+    private static boolean covered(@NotNull long[] ranges, long code) {
+        for (int index = 0; index < ranges.length; index += 2) {
+            if (Long.compareUnsigned(ranges[index], code) <= 0 && Long.compareUnsigned(code, ranges[index + 1]) <= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void checkRanges(@NotNull DimensionCodec codec) {
+        final int[] v = new int[2];
+        for (int repeatIndex = 0; repeatIndex < REPEAT; repeatIndex++) {
+            int base = fc.nextBoolean() ? 0 : fc.nextInt();
+            int minX = base + fc.nextInt(64);
+            int minY = base + fc.nextInt(64);
+            int maxX = minX + fc.nextInt(40);
+            int maxY = minY + fc.nextInt(40);
+            if (Integer.compareUnsigned(minX, maxX) > 0 || Integer.compareUnsigned(minY, maxY) > 0) {
+                continue;
+            }
+            int maxRanges = fc.nextBoolean() ? Integer.MAX_VALUE : fc.nextInt(1, 20);
+            long[] ranges = codec instanceof HilbertCurve
+                    ? ((HilbertCurve) codec).ranges2(minX, minY, maxX, maxY, maxRanges)
+                    : ((BitInterleave) codec).ranges2(minX, minY, maxX, maxY, maxRanges);
+            Assert.assertTrue(ranges.length <= 2L * maxRanges);
+            long size = 0L;
+            for (int index = 0; index < ranges.length; index += 2) {
+                Assert.assertTrue(Long.compareUnsigned(ranges[index], ranges[index + 1]) <= 0);
+                if (index != 0) {
+                    Assert.assertTrue(Long.compareUnsigned(ranges[index - 1] + 1L, ranges[index]) < 0); // merged
+                }
+                size += ranges[index + 1] - ranges[index] + 1L;
+            }
+            for (int x = minX; Integer.compareUnsigned(x, maxX) <= 0 && x != maxX + 1; x++) {
+                for (int y = minY; Integer.compareUnsigned(y, maxY) <= 0 && y != maxY + 1; y++) {
+                    v[0] = x;
+                    v[1] = y;
+                    Assert.assertTrue(covered(ranges, codec.encode2(v)));
+                }
+            }
+            if (maxRanges == Integer.MAX_VALUE) {
+                Assert.assertEquals((maxX - minX + 1L) * (maxY - minY + 1L), size);
+            }
+        }
+    }
+
+    @Test
+    public void checkRanges() {
+        checkRanges(BitInterleave.INSTANCE);
+        checkRanges(HilbertCurve.INSTANCE);
+        Assert.assertArrayEquals(new long[] {0L, -1L}, HilbertCurve.INSTANCE.ranges2(0, 0, -1, -1, 1));
+        Assert.assertArrayEquals(new long[] {0L, 3L}, BitInterleave.INSTANCE.ranges2(0, 0, 1, 1, 4));
+    }
+
+    @Test
+    public void benchmark() {
+        final int length = 1 << 20;
+        final int[] vectors = fc.nextIntArray(2 * length);
+        final long[] codes = new long[length];
+        final int[] decoded = new int[2 * length];
+        final String[] names = {"BaselineBitInterleave", "BitInterleave", "HilbertCurve"};
+        final DimensionCodec[] codecs = {new BaselineBitInterleave(), BitInterleave.INSTANCE, HilbertCurve.INSTANCE};
+        final long[] nanos = new long[2 * codecs.length];
+        Arrays.fill(nanos, Long.MAX_VALUE);
+        final int[] v = new int[2];
+        long sink = 0L;
+        for (int pass = 0; pass < 4; pass++) { // first passes warm up
+            for (int index = 0; index < codecs.length; index++) {
+                DimensionCodec codec = codecs[index];
+                long start = System.nanoTime();
+                if (index == 0) {
+                    for (int vectorIndex = 0; vectorIndex < length; vectorIndex++) { // no batch override
+                        v[0] = vectors[2 * vectorIndex];
+                        v[1] = vectors[2 * vectorIndex + 1];
+                        codes[vectorIndex] = codec.encode2(v);
+                    }
+                } else {
+                    codec.encode2(vectors, codes, 0, length);
+                }
+                long middle = System.nanoTime();
+                if (index == 0) {
+                    for (int codeIndex = 0; codeIndex < length; codeIndex++) {
+                        codec.decode2(codes[codeIndex], v);
+                        decoded[2 * codeIndex] = v[0];
+                        decoded[2 * codeIndex + 1] = v[1];
+                    }
+                } else {
+                    codec.decode2(codes, decoded, 0, length);
+                }
+                nanos[2 * index] = Math.min(nanos[2 * index], middle - start);
+                nanos[2 * index + 1] = Math.min(nanos[2 * index + 1], System.nanoTime() - middle);
+                sink += codes[length - 1] + decoded[0];
+            }
+        }
+        System.out.printf("%d vectors   encode   decode   (ns/op)   sink %d%n", length, sink & 1);
+        for (int index = 0; index < codecs.length; index++) {
+            System.out.printf("  %-22s %6.2f   %6.2f%n", names[index], nanos[2 * index] / (double) length,
+                    nanos[2 * index + 1] / (double) length);
+        }
+    }
 }
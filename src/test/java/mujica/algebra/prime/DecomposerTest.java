@@ -0,0 +1,161 @@
+package mujica.algebra.prime;
+
+import mujica.algebra.discrete.MontgomeryLong;
+import mujica.algebra.random.RandomContext;
+import mujica.reflect.modifier.CodeHistory;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+@CodeHistory(date = "2026/10/17")
+public class DecomposerTest {
+
+    private static final int REPEAT = 2000;
+
+    private final RandomContext rc = new RandomContext();
+
+    private final RabinMiller rabinMiller = new RabinMiller();
+
+    @Test
+    public void caseMontgomery() {
+        for (long mod : new long[] {3L, 1000000007L, 0x7fffffffffffffe7L, Long.MAX_VALUE}) {
+            MontgomeryLong math = new MontgomeryLong(mod);
+            BigInteger bigMod = BigInteger.valueOf(mod);
+            for (int repeatIndex = 0; repeatIndex < REPEAT; repeatIndex++) {
+                long a = rc.nextLong();
+                long b = rc.nextLong();
+                long ma = math.toMontgomery(a);
+                long mb = math.toMontgomery(b);
+                Assert.assertEquals(BigInteger.valueOf(a).mod(bigMod).longValue(), math.fromMontgomery(ma));
+                Assert.assertEquals(BigInteger.valueOf(a).multiply(BigInteger.valueOf(b)).mod(bigMod).longValue(),
+                        math.fromMontgomery(math.multiply(ma, mb)));
+                Assert.assertEquals(BigInteger.valueOf(a).add(BigInteger.valueOf(b)).mod(bigMod).longValue(),
+                        math.fromMontgomery(math.add(ma, mb)));
+                Assert.assertEquals(BigInteger.valueOf(a).subtract(BigInteger.valueOf(b)).mod(bigMod).longValue(),
+                        math.fromMontgomery(math.subtract(ma, mb)));
+                long exponent = rc.nextLong() >>> 1;
+                Assert.assertEquals(BigInteger.valueOf(a).modPow(BigInteger.valueOf(exponent), bigMod).longValue(),
+                        math.fromMontgomery(math.power(ma, exponent)));
+            }
+        }
+    }
+
+    @Test
+    public void checkIsPrime() {
+        for (int repeatIndex = 0; repeatIndex < REPEAT * 10; repeatIndex++) {
+            long value = rc.nextLong() >>> rc.nextInt(1, 40);
+            Assert.assertEquals(BigInteger.valueOf(value).isProbablePrime(50), rabinMiller.isPrime(value));
+        }
+        // strong pseudoprimes to several small bases
+        Assert.assertFalse(rabinMiller.isPrime(3215031751L));
+        Assert.assertFalse(rabinMiller.isPrime(2152302898747L));
+        Assert.assertFalse(rabinMiller.isPrime(3825123056546413051L));
+        Assert.assertTrue(rabinMiller.isPrime(Long.MAX_VALUE - 24L)); // 2 ** 63 - 25
+        Assert.assertFalse(rabinMiller.isPrime(Long.MAX_VALUE));
+    }
+
+    private void checkFactorize(long value) {
+        final List<Long> factors = new ArrayList<>();
+        final BigInteger[] product = {BigInteger.ONE};
+        Decomposer.INSTANCE.factorizeLong(value, (factor, times) -> {
+            Assert.assertTrue(times > 0);
+            Assert.assertTrue(BigInteger.valueOf(factor).isProbablePrime(50));
+            Assert.assertTrue(factors.isEmpty() || factors.get(factors.size() - 1) < factor);
+            factors.add(factor);
+            product[0] = product[0].multiply(BigInteger.valueOf(factor).pow(times));
+        });
+        Assert.assertEquals(value < 2L ? BigInteger.ONE : BigInteger.valueOf(value), product[0]);
+    }
+
+    @Test
+    public void checkFactorize() {
+        for (long value = -2L; value < 100000L; value++) {
+            checkFactorize(value);
+        }
+        checkFactorize(Long.MAX_VALUE);
+        checkFactorize(1L << 62);
+        checkFactorize(4611685283988009601L); // (2 ** 31 - 1) ** 2
+        checkFactorize(2147483647L * 2147483629L);
+        checkFactorize(1009L * 1009L * 1013L * 1013L * 1019L);
+        for (int repeatIndex = 0; repeatIndex < REPEAT; repeatIndex++) {
+            checkFactorize(rc.nextLong() >>> rc.nextInt(1, 40));
+        }
+    }
+
+    @Test
+    public void checkIntAgree() {
+        for (int repeatIndex = 0; repeatIndex < REPEAT; repeatIndex++) {
+            int value = rc.nextInt(1 << 24);
+            StringBuilder expected = new StringBuilder();
+            StringBuilder actual = new StringBuilder();
+            Decomposer.INSTANCE.factorize(value, (factor, times) -> expected.append(factor).append('^').append(times).append(' '));
+            Decomposer.INSTANCE.factorizeLong(value, (factor, times) -> actual.append(factor).append('^').append(times).append(' '));
+            Assert.assertEquals(expected.toString(), actual.toString());
+        }
+    }
+
+    @NotNull
+    private long[] semiprimes(int count) {
+        final Random random = new Random(rc.nextLong());
+        final long[] values = new long[count];
+        for (int index = 0; index < count; index++) {
+            values[index] = BigInteger.probablePrime(31, random).longValue() * BigInteger.probablePrime(31, random).longValue();
+        }
+        return values;
+    }
+
+    @Test
+    public void benchmark() {
+        final long[] values = semiprimes(2000);
+        final long[] nanos = new long[3];
+        Arrays.fill(nanos, Long.MAX_VALUE);
+        long sink = 0L;
+        for (int pass = 0; pass < 4; pass++) { // first passes warm up
+            {
+                long start = System.nanoTime();
+                for (long value : values) {
+                    long[] smallest = {0L};
+                    Decomposer.INSTANCE.factorizeLong(value, (factor, times) -> {
+                        if (smallest[0] == 0L) {
+                            smallest[0] = factor;
+                        }
+                    });
+                    sink += smallest[0];
+                }
+                nanos[0] = Math.min(nanos[0], System.nanoTime() - start);
+            }
+            {
+                long start = System.nanoTime();
+                for (long value : values) {
+                    for (int index = 0; index < 64; index++) {
+                        if (rabinMiller.isPrime(value + 2L * index)) {
+                            sink++;
+                        }
+                    }
+                }
+                nanos[1] = Math.min(nanos[1], System.nanoTime() - start);
+            }
+            {
+                long start = System.nanoTime();
+                for (long value : values) {
+                    for (int index = 0; index < 64; index++) {
+                        if (BigInteger.valueOf(value + 2L * index).isProbablePrime(50)) {
+                            sink++;
+                        }
+                    }
+                }
+                nanos[2] = Math.min(nanos[2], System.nanoTime() - start);
+            }
+        }
+        System.out.printf("62-bit semiprimes   sink %d%n", sink & 1);
+        System.out.printf("  factorize                  %9.2f us/op%n", nanos[0] * 1e-3 / values.length);
+        System.out.printf("  RabinMiller.isPrime(long)  %9.2f us/op%n", nanos[1] * 1e-3 / (values.length * 64));
+        System.out.printf("  BigInteger.isProbablePrime %9.2f us/op%n", nanos[2] * 1e-3 / (values.length * 64));
+    }
+}
@@ -25,5 +25,6 @@ public class PrimePredicateTest {
     @Test
     public void checkIsPrime() {
         checkIsPrime(BaselinePrimePredicate.INSTANCE, PrimePredicate.INSTANCE);
+        checkIsPrime(BaselinePrimePredicate.INSTANCE, new RabinMiller());
     }
 }
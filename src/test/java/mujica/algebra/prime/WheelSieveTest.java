@@ -0,0 +1,153 @@
+package mujica.algebra.prime;
+
+import mujica.algebra.random.RandomContext;
+import mujica.reflect.modifier.CodeHistory;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+@CodeHistory(date = "2026/10/17")
+public class WheelSieveTest {
+
+    private static final int REPEAT = 200;
+
+    private static final int[] PERIODS = {2, 6, 26, 30, 210, 2310};
+
+    private final RandomContext rc = new RandomContext();
+
+    @Test
+    public void casePi() {
+        final WheelSieve sieve = new WheelSieve();
+        Assert.assertEquals(0L, sieve.pi(1L));
+        Assert.assertEquals(1L, sieve.pi(2L));
+        Assert.assertEquals(4L, sieve.pi(10L));
+        Assert.assertEquals(25L, sieve.pi(100L));
+        Assert.assertEquals(168L, sieve.pi(1000L));
+        Assert.assertEquals(78498L, sieve.pi(1000000L));
+        Assert.assertEquals(664579L, sieve.pi(10000000L));
+        Assert.assertEquals(5761455L, sieve.pi(100000000L));
+        Assert.assertEquals(50847534L, sieve.pi(1000000000L));
+    }
+
+    @Test
+    public void caseNextPrevious() {
+        final WheelSieve sieve = new WheelSieve(new BitSieveModel(30));
+        Assert.assertEquals(2L, sieve.nextPrime(-5L));
+        Assert.assertEquals(3L, sieve.nextPrime(2L));
+        Assert.assertEquals(1000000007L, sieve.nextPrime(1000000000L));
+        Assert.assertEquals(999999937L, sieve.previousPrime(1000000000L));
+        Assert.assertEquals(1000000000039L, sieve.nextPrime(1000000000000L));
+        Assert.assertEquals(999999999989L, sieve.previousPrime(1000000000000L));
+        Assert.assertEquals(2L, sieve.previousPrime(3L));
+        try {
+            sieve.previousPrime(2L);
+            Assert.fail();
+        } catch (ArithmeticException ignored) {
+        }
+    }
+
+    private void checkRange(@NotNull WheelSieve sieve, int start, int end) {
+        final long[] actual = sieve.primes(start, end);
+        final long[] expected = new long[end - start];
+        int length = 0;
+        for (int value = start; value < end; value++) {
+            if (BaselinePrimePredicate.INSTANCE.isPrime(value)) {
+                expected[length++] = value;
+            }
+        }
+        Assert.assertArrayEquals(Arrays.copyOf(expected, length), actual);
+        Assert.assertEquals(length, sieve.count(start, end));
+        final long[] ordered = new long[length];
+        final int[] index = {0};
+        Assert.assertTrue(sieve.forEachPrime(start, end, prime -> {
+            ordered[index[0]++] = prime;
+            return true;
+        }));
+        Assert.assertArrayEquals(actual, ordered);
+    }
+
+    @Test
+    public void checkSmallRanges() {
+        for (int period : PERIODS) {
+            WheelSieve sieve = new WheelSieve(new BitSieveModel(period), 64 << rc.nextInt(6), ForkJoinPool.commonPool());
+            checkRange(sieve, 0, 2);
+            checkRange(sieve, 0, 100);
+            for (int repeatIndex = 0; repeatIndex < REPEAT; repeatIndex++) {
+                int start = rc.nextInt(1 << rc.nextInt(1, 20));
+                checkRange(sieve, start, start + rc.nextInt(1 << rc.nextInt(1, 15)));
+            }
+        }
+    }
+
+    @Test
+    public void checkLargeRange() {
+        for (int period : PERIODS) {
+            WheelSieve sieve = new WheelSieve(new BitSieveModel(period));
+            long start = 1000000000000L - rc.nextInt(1 << 20);
+            long end = start + 20000;
+            long[] primes = sieve.primes(start, end);
+            int index = 0;
+            for (long value = start; value < end; value++) {
+                if (BigInteger.valueOf(value).isProbablePrime(40)) {
+                    Assert.assertEquals(value, primes[index++]);
+                }
+            }
+            Assert.assertEquals(primes.length, index);
+        }
+    }
+
+    @Test
+    public void checkStop() {
+        final WheelSieve sieve = new WheelSieve(new BitSieveModel(26));
+        final long[] seen = new long[3];
+        final int[] count = {0};
+        Assert.assertFalse(sieve.forEachPrime(0L, 100L, prime -> {
+            seen[count[0]++] = prime;
+            return count[0] < 3;
+        }));
+        Assert.assertArrayEquals(new long[] {2L, 3L, 5L}, seen);
+    }
+
+    @Test
+    public void benchmark() {
+        final int[] limits = {1 << 20, 1 << 24, 100000000};
+        final WheelSieve[] sieves = {
+                new WheelSieve(new BitSieveModel(30)),
+                new WheelSieve(new BitSieveModel(210)),
+                new WheelSieve(new BitSieveModel(2310))
+        };
+        final RabinMiller rabinMiller = new RabinMiller();
+        for (int limit : limits) {
+            long[] nanos = new long[sieves.length + 1];
+            Arrays.fill(nanos, Long.MAX_VALUE);
+            long sink = 0L;
+            for (int pass = 0; pass < 4; pass++) { // first passes warm up
+                for (int index = 0; index < sieves.length; index++) {
+                    long start = System.nanoTime();
+                    sink += sieves[index].count(0L, limit);
+                    nanos[index] = Math.min(nanos[index], System.nanoTime() - start);
+                }
+                if (limit <= (1 << 24)) {
+                    long start = System.nanoTime();
+                    for (int value = 0; value < limit; value++) {
+                        if (rabinMiller.isPrime(value)) {
+                            sink++;
+                        }
+                    }
+                    nanos[sieves.length] = Math.min(nanos[sieves.length], System.nanoTime() - start);
+                }
+            }
+            System.out.printf("limit %d (ms)   sink %d%n", limit, sink & 1);
+            for (int index = 0; index < sieves.length; index++) {
+                System.out.printf("  WheelSieve %-5d %9.2f%n", sieves[index].getModel().period, nanos[index] * 1e-6);
+            }
+            if (nanos[sieves.length] != Long.MAX_VALUE) {
+                System.out.printf("  RabinMiller      %9.2f%n", nanos[sieves.length] * 1e-6);
+            }
+        }
+    }
+}
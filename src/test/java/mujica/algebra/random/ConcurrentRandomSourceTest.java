@@ -0,0 +1,193 @@
+package mujica.algebra.random;
+
+import mujica.reflect.modifier.CodeHistory;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Supplier;
+
+@CodeHistory(date = "2026/10/17")
+public class ConcurrentRandomSourceTest {
+
+    private static final int REPEAT = 50;
+
+    private final RandomContext rc = new RandomContext();
+
+    private void checkFill(@NotNull Supplier<RandomSource> supplier) throws CloneNotSupportedException {
+        for (int repeatIndex = 0; repeatIndex < REPEAT; repeatIndex++) {
+            RandomSource one = supplier.get();
+            RandomSource bulk = (RandomSource) (one instanceof LocalRandomSource ? ((LocalRandomSource) one).clone()
+                    : one instanceof XoRoShiRo128PlusPlus ? ((XoRoShiRo128PlusPlus) one).clone()
+                    : ((SimpleSplitSource) one).duplicate());
+            int length = rc.nextInt(300);
+            int startIndex = rc.nextInt(length + 1);
+            int endIndex = rc.nextInt(startIndex, length + 1);
+            long[] expected = new long[length];
+            for (int index = startIndex; index < endIndex; index++) {
+                expected[index] = one.applyAsLong(Long.SIZE);
+            }
+            long[] actual = new long[length];
+            bulk.fill(actual, startIndex, endIndex);
+            Assert.assertArrayEquals(expected, actual);
+            Assert.assertEquals(one.applyAsLong(Long.SIZE), bulk.applyAsLong(Long.SIZE)); // state is written back
+        }
+    }
+
+    @Test
+    public void checkFill() throws CloneNotSupportedException {
+        checkFill(() -> new LocalRandomSource(rc.nextLong()));
+        checkFill(() -> new GlobalRandomSource(rc.nextLong()));
+        checkFill(() -> new XoRoShiRo128PlusPlus(rc.nextLong(), rc.nextLong()));
+        checkFill(() -> new SimpleSplitSource(rc.nextLong()));
+    }
+
+    @Test
+    public void checkFillIntLocal() {
+        for (int repeatIndex = 0; repeatIndex < REPEAT; repeatIndex++) {
+            long seed = rc.nextLong();
+            LocalRandomSource one = new LocalRandomSource(seed);
+            int[] expected = new int[rc.nextInt(300)];
+            for (int index = 0; index < expected.length; index++) {
+                expected[index] = (int) one.applyAsLong(Integer.SIZE);
+            }
+            Assert.assertArrayEquals(expected, new RandomContext(new LocalRandomSource(seed)).nextIntArray(expected.length));
+        }
+    }
+
+    @Test
+    public void checkFillIntHalves() {
+        final long s0 = rc.nextLong();
+        final long s1 = rc.nextLong();
+        final XoRoShiRo128PlusPlus one = new XoRoShiRo128PlusPlus(s0, s1);
+        final int[] actual = new int[7];
+        new XoRoShiRo128PlusPlus(s0, s1).fill(actual, 0, 7);
+        for (int index = 0; index < 7; index += 2) {
+            long value = one.getAsLong();
+            Assert.assertEquals((int) (value >>> 32), actual[index]);
+            if (index + 1 < 7) {
+                Assert.assertEquals((int) value, actual[index + 1]);
+            }
+        }
+    }
+
+    /**
+     * Threads get distinct streams, and the first values never collide
+     */
+    private void checkThreads(@NotNull RandomSource source) throws InterruptedException {
+        final int threadCount = 8;
+        final ConcurrentHashMap<Long, Boolean> seen = new ConcurrentHashMap<>();
+        final Thread[] threads = new Thread[threadCount];
+        for (int threadIndex = 0; threadIndex < threadCount; threadIndex++) {
+            threads[threadIndex] = new Thread(() -> {
+                long[] array = new long[1000];
+                source.fill(array, 0, array.length);
+                for (long value : array) {
+                    seen.put(value, Boolean.TRUE);
+                }
+                for (int index = 0; index < 1000; index++) {
+                    seen.put(source.applyAsLong(Long.SIZE), Boolean.TRUE);
+                }
+            });
+            threads[threadIndex].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        Assert.assertEquals(threadCount * 2000, seen.size());
+    }
+
+    @Test
+    public void checkThreads() throws InterruptedException {
+        checkThreads(ThreadLocalRandomSource.jumping(new XoRoShiRo128PlusPlus(rc.nextLong(), rc.nextLong())));
+        checkThreads(ThreadLocalRandomSource.splitting(new SimpleSplitSource(rc.nextLong())));
+        checkThreads(new StripedRandomSource(rc.nextLong(), 3));
+        checkThreads(new StripedRandomSource(rc.nextLong(), 1));
+    }
+
+    @Test
+    public void checkCurrent() throws InterruptedException {
+        final ThreadLocalRandomSource source = ThreadLocalRandomSource.jumping(new XoRoShiRo128PlusPlus(1L, 2L));
+        final HashSet<RandomSource> set = new HashSet<>();
+        final RandomSource main = source.current();
+        Assert.assertSame(main, source.current());
+        final Thread thread = new Thread(() -> set.add(source.current()));
+        thread.start();
+        thread.join();
+        Assert.assertFalse(set.contains(main));
+        Assert.assertEquals(1, set.size());
+    }
+
+    private static double throughput(@NotNull RandomSource source, int threadCount, boolean bulk) throws InterruptedException {
+        final int perThread = 1 << 21;
+        final CountDownLatch start = new CountDownLatch(1);
+        final Thread[] threads = new Thread[threadCount];
+        final long[] sinks = new long[threadCount];
+        for (int threadIndex = 0; threadIndex < threadCount; threadIndex++) {
+            int finalThreadIndex = threadIndex;
+            threads[threadIndex] = new Thread(() -> {
+                long sink = 0L;
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                if (bulk) {
+                    long[] array = new long[1024];
+                    for (int round = 0; round < perThread; round += array.length) {
+                        source.fill(array, 0, array.length);
+                        sink += array[round & 1023];
+                    }
+                } else {
+                    for (int round = 0; round < perThread; round++) {
+                        sink += source.applyAsLong(Long.SIZE);
+                    }
+                }
+                sinks[finalThreadIndex] = sink;
+            });
+            threads[threadIndex].start();
+        }
+        final long startTime = System.nanoTime();
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        return (double) perThread * threadCount * 1e3 / (System.nanoTime() - startTime); // million per second
+    }
+
+    @Test
+    public void benchmark() throws InterruptedException {
+        final int maxThreads = Math.max(2, Runtime.getRuntime().availableProcessors());
+        final String[] names = {"GlobalRandomSource", "StripedRandomSource", "ThreadLocalRandomSource", "Global fill", "Striped fill", "ThreadLocal fill"};
+        final RandomSource[] sources = {
+                new GlobalRandomSource(rc.nextLong()),
+                new StripedRandomSource(rc.nextLong(), maxThreads * 2),
+                ThreadLocalRandomSource.jumping(new XoRoShiRo128PlusPlus(rc.nextLong(), rc.nextLong()))
+        };
+        System.out.printf("%-24s", "M/s by threads");
+        for (int threadCount = 1; threadCount <= maxThreads; threadCount <<= 1) {
+            System.out.printf("%9d", threadCount);
+        }
+        System.out.println();
+        for (int index = 0; index < names.length; index++) {
+            double[] results = new double[Integer.SIZE - Integer.numberOfLeadingZeros(maxThreads)];
+            Arrays.fill(results, 0.0);
+            for (int pass = 0; pass < 3; pass++) { // first passes warm up
+                int column = 0;
+                for (int threadCount = 1; threadCount <= maxThreads; threadCount <<= 1) {
+                    results[column] = Math.max(results[column], throughput(sources[index % 3], threadCount, index >= 3));
+                    column++;
+                }
+            }
+            System.out.printf("%-24s", names[index]);
+            for (double result : results) {
+                System.out.printf("%9.1f", result);
+            }
+            System.out.println();
+        }
+    }
+}
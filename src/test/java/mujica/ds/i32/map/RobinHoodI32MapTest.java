@@ -0,0 +1,203 @@
+package mujica.ds.i32.map;
+
+import mujica.algebra.random.FuzzyContext;
+import mujica.ds.i32.list.CapacityPolicy;
+import mujica.ds.i32.list.LookUpCapacityPolicy;
+import mujica.ds.i32.list.ShiftCapacityPolicy;
+import mujica.ds.i32.list.TwiceCapacityPolicy;
+import mujica.reflect.modifier.CodeHistory;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Iterator;
+
+@CodeHistory(date = "2026/10/17")
+public class RobinHoodI32MapTest {
+
+    private static final int REPEAT = 40;
+
+    private final FuzzyContext fc = new FuzzyContext();
+
+    private static void checkHealth(@NotNull I32Map map) {
+        map.checkHealth(e -> {
+            throw e;
+        });
+    }
+
+    private static void assertSame(@NotNull JdkI32Map expected, @NotNull RobinHoodI32Map actual) {
+        Assert.assertEquals(expected.nonZeroKeyCount(), actual.nonZeroKeyCount());
+        Assert.assertEquals(expected.sumOfValues(), actual.sumOfValues());
+        Assert.assertEquals(expected.hashCode(), actual.hashCode());
+        for (I32Map.Entry entry : expected) {
+            Assert.assertEquals(entry.getI32Value(), actual.getI32(entry.getI32Key()));
+        }
+        final long[] count = new long[1];
+        actual.forEach((key, value) -> {
+            Assert.assertEquals(expected.getI32(key), value);
+            count[0]++;
+        });
+        Assert.assertEquals(expected.nonZeroKeyCount(), count[0]);
+    }
+
+    @Test
+    public void caseBasic() {
+        final RobinHoodI32Map map = new RobinHoodI32Map();
+        Assert.assertEquals(0, map.getI32(0));
+        Assert.assertEquals(0, map.putI32(0, 5));
+        Assert.assertEquals(0, map.putI32(Integer.MIN_VALUE, -1));
+        Assert.assertEquals(5, map.putI32(0, 6));
+        Assert.assertEquals(6, map.getI32(0));
+        Assert.assertEquals(-1, map.addI32(Integer.MIN_VALUE, 1)); // becomes zero, so removed
+        Assert.assertEquals(1, map.nonZeroKeyCount());
+        Assert.assertEquals(6, map.putI32(0, 0));
+        Assert.assertEquals(0, map.nonZeroKeyCount());
+        for (int key = 0; key < 1000; key++) {
+            map.increaseI32(key * 7);
+        }
+        Assert.assertEquals(1000, map.nonZeroKeyCount());
+        Assert.assertEquals(1000, map.sumOfValues());
+        checkHealth(map);
+        final RobinHoodI32Map copy = map.duplicate();
+        Assert.assertEquals(map, copy);
+        copy.decreaseI32(7);
+        Assert.assertNotEquals(map, copy);
+        map.clear();
+        Assert.assertEquals(0, map.nonZeroKeyCount());
+        Assert.assertEquals(0, map.getI32(7));
+        checkHealth(map);
+    }
+
+    @Test
+    public void caseExpectedSize() {
+        final RobinHoodI32Map map = new RobinHoodI32Map(ShiftCapacityPolicy.INSTANCE, 1000);
+        final int capacity = map.capacity();
+        for (int key = 0; key < 1000; key++) {
+            map.putI32(key, key + 1);
+        }
+        Assert.assertEquals(capacity, map.capacity());
+        checkHealth(map);
+    }
+
+    @Test
+    public void caseIteratorRemove() {
+        final RobinHoodI32Map map = new RobinHoodI32Map(ShiftCapacityPolicy.INSTANCE);
+        final JdkI32Map expected = new JdkI32Map();
+        for (int key = -500; key < 500; key++) {
+            map.putI32(key, key * 3 + 1);
+            expected.putI32(key, key * 3 + 1);
+        }
+        int visited = 0;
+        for (Iterator<I32Map.Entry> iterator = map.iterator(); iterator.hasNext(); visited++) {
+            I32Map.Entry entry = iterator.next();
+            Assert.assertEquals(expected.getI32(entry.getI32Key()), entry.getI32Value());
+            if ((entry.getI32Key() & 1) == 0) {
+                iterator.remove();
+            }
+        }
+        Assert.assertEquals(1000, visited);
+        expected.removeIfKey(key -> (key & 1) == 0);
+        checkHealth(map);
+        assertSame(expected, map);
+    }
+
+    @Test
+    public void caseTrie() {
+        final String[] patterns = {"he", "she", "his", "hers", "使用", "使用者"};
+        final JdkI32Map expected = new JdkI32Map();
+        final RobinHoodI32Map actual = new RobinHoodI32Map();
+        expected.buildTrie(patterns);
+        actual.buildTrie(patterns);
+        for (String string : new String[] {"hers", "shell", "history", "使用者", "xyz"}) {
+            Assert.assertEquals(expected.runTrie(string), actual.runTrie(string));
+        }
+        checkHealth(actual);
+        assertSame(expected, actual);
+    }
+
+    @NotNull
+    private CapacityPolicy nextPolicy() {
+        switch (fc.nextInt(4)) {
+            case 0:
+                return ShiftCapacityPolicy.INSTANCE;
+            case 1:
+                return LookUpCapacityPolicy.PRIME_PAPER;
+            case 2:
+                return LookUpCapacityPolicy.GOLDEN;
+            default:
+                return new TwiceCapacityPolicy(fc);
+        }
+    }
+
+    @Test
+    public void fuzz() {
+        for (int repeatIndex = 0; repeatIndex < REPEAT; repeatIndex++) {
+            JdkI32Map expected = new JdkI32Map();
+            RobinHoodI32Map actual = new RobinHoodI32Map(nextPolicy());
+            int range = 1 << fc.nextInt(4, 16); // small ranges hit the same keys, and removal by zero
+            int operations = fc.nextInt(1, 20000);
+            for (int operationIndex = 0; operationIndex < operations; operationIndex++) {
+                int key = fc.nextInt(range) * (range < 0x1000 ? 1 : fc.nextInt());
+                int value = fc.nextInt(4) == 0 ? 0 : fc.nextInt(-3, 4);
+                switch (fc.nextInt(3)) {
+                    case 0:
+                        Assert.assertEquals(expected.putI32(key, value), actual.putI32(key, value));
+                        break;
+                    case 1:
+                        Assert.assertEquals(expected.addI32(key, value), actual.addI32(key, value));
+                        break;
+                    default:
+                        Assert.assertEquals(expected.getI32(key), actual.getI32(key));
+                        break;
+                }
+            }
+            checkHealth(actual);
+            assertSame(expected, actual);
+        }
+    }
+
+    @Test
+    public void benchmark() {
+        final int[] sizes = {1 << 10, 1 << 15, 1 << 20, 1 << 22};
+        for (int size : sizes) {
+            int[] keys = new int[size];
+            int offset = fc.nextInt();
+            for (int index = 0; index < size; index++) {
+                keys[index] = index * 0x9e3779b9 + offset; // distinct, as the multiplier is odd
+            }
+            long[] nanos = new long[6];
+            Arrays.fill(nanos, Long.MAX_VALUE);
+            long sink = 0L;
+            int capacity = 0;
+            for (int pass = 0; pass < 4; pass++) { // first passes warm up
+                for (int kind = 0; kind < 2; kind++) {
+                    I32Map map = kind == 0 ? new JdkI32Map() : new RobinHoodI32Map(ShiftCapacityPolicy.INSTANCE);
+                    long start = System.nanoTime();
+                    for (int key : keys) {
+                        map.putI32(key, key | 1);
+                    }
+                    long middle = System.nanoTime();
+                    nanos[3 * kind] = Math.min(nanos[3 * kind], middle - start);
+                    for (int key : keys) {
+                        sink += map.getI32(key);
+                    }
+                    long end = System.nanoTime();
+                    nanos[3 * kind + 1] = Math.min(nanos[3 * kind + 1], end - middle);
+                    for (int key : keys) {
+                        map.addI32(key, 2);
+                    }
+                    nanos[3 * kind + 2] = Math.min(nanos[3 * kind + 2], System.nanoTime() - end);
+                    if (kind == 1) {
+                        capacity = ((RobinHoodI32Map) map).capacity();
+                    }
+                }
+            }
+            System.out.printf("%9d entries   put      get      add   (ns/op)   sink %d%n", size, sink & 1);
+            System.out.printf("  JdkI32Map       %6.1f   %6.1f   %6.1f   ~%d bytes/entry%n", nanos[0] / (double) size,
+                    nanos[1] / (double) size, nanos[2] / (double) size, 48); // 16 entry + 2 * 16 Integer, plus the table
+            System.out.printf("  RobinHoodI32Map %6.1f   %6.1f   %6.1f   %.1f bytes/entry%n", nanos[3] / (double) size,
+                    nanos[4] / (double) size, nanos[5] / (double) size, 8.0 * capacity / size);
+        }
+    }
+}
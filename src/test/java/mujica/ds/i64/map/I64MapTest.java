@@ -0,0 +1,171 @@
+package mujica.ds.i64.map;
+
+import mujica.algebra.random.FuzzyContext;
+import mujica.ds.i32.list.LookUpCapacityPolicy;
+import mujica.ds.i32.list.ShiftCapacityPolicy;
+import mujica.ds.i32.list.TwiceCapacityPolicy;
+import mujica.reflect.modifier.CodeHistory;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+@CodeHistory(date = "2026/10/17")
+public class I64MapTest {
+
+    private static final int REPEAT = 40;
+
+    private final FuzzyContext fc = new FuzzyContext();
+
+    @Test
+    public void caseCounter() {
+        final I64Map map = new I64Map();
+        map.addAll(new long[] {0L, 0L, -1L, Long.MAX_VALUE, 0L});
+        Assert.assertEquals(3L, map.getI64(0L));
+        Assert.assertEquals(1L, map.getI64(-1L));
+        Assert.assertEquals(3, map.nonZeroKeyCount());
+        Assert.assertEquals(5L, map.sumOfValues());
+        Assert.assertEquals(1L, map.addI64(-1L, -1L)); // becomes zero, so removed
+        Assert.assertEquals(2, map.nonZeroKeyCount());
+        Assert.assertEquals(3L, map.putI64(0L, 0L));
+        Assert.assertEquals(1, map.nonZeroKeyCount());
+        map.checkHealth();
+        final I64Map copy = map.duplicate();
+        Assert.assertEquals(map, copy);
+        copy.increaseI64(7L);
+        Assert.assertNotEquals(map, copy);
+        copy.removeIfKey(key -> key == 7L);
+        Assert.assertEquals(map, copy);
+        copy.checkHealth();
+    }
+
+    @Test
+    public void caseObjectMap() {
+        final I64ObjectMap<String> map = new I64ObjectMap<>(ShiftCapacityPolicy.INSTANCE);
+        Assert.assertNull(map.put(0L, "zero"));
+        Assert.assertEquals("zero", map.put(0L, "nil"));
+        Assert.assertTrue(map.containsKey(0L));
+        Assert.assertEquals("x1", map.computeIfAbsent(1L, key -> "x" + key));
+        Assert.assertEquals("x1", map.computeIfAbsent(1L, key -> "y" + key));
+        Assert.assertEquals(2, map.size());
+        Assert.assertEquals("nil", map.remove(0L));
+        Assert.assertFalse(map.containsKey(0L));
+        Assert.assertEquals("-", map.getOrDefault(0L, "-"));
+        final HashMap<Long, String> expected = new HashMap<>();
+        expected.put(1L, "x1");
+        Assert.assertEquals(expected.hashCode(), map.hashCode());
+        map.checkHealth();
+    }
+
+    @Test
+    public void fuzz() {
+        for (int repeatIndex = 0; repeatIndex < REPEAT; repeatIndex++) {
+            HashMap<Long, Long> expected = new HashMap<>();
+            I64Map actual = new I64Map(repeatIndex % 2 == 0 ? new TwiceCapacityPolicy(fc) : LookUpCapacityPolicy.PRIME_GOLDEN);
+            I64ObjectMap<Long> objects = new I64ObjectMap<>(ShiftCapacityPolicy.INSTANCE, fc.nextInt(100));
+            int range = 1 << fc.nextInt(2, 14);
+            int operations = fc.nextInt(1, 20000);
+            for (int operationIndex = 0; operationIndex < operations; operationIndex++) {
+                long key = fc.nextInt(range) * (range < 0x400 ? 1L : fc.nextLong());
+                long value = fc.nextInt(4) == 0 ? 0L : fc.nextInt(-3, 4);
+                Long oldValue = expected.get(key);
+                switch (fc.nextInt(3)) {
+                    case 0:
+                        if (value != 0L) {
+                            expected.put(key, value);
+                        } else {
+                            expected.remove(key);
+                        }
+                        Assert.assertEquals(oldValue != null ? oldValue : 0L, actual.putI64(key, value));
+                        Assert.assertEquals(oldValue, objects.put(key, value != 0L ? value : null));
+                        break;
+                    case 1:
+                        long newValue = (oldValue != null ? oldValue : 0L) + value;
+                        if (newValue != 0L) {
+                            expected.put(key, newValue);
+                        } else {
+                            expected.remove(key);
+                        }
+                        Assert.assertEquals(oldValue != null ? oldValue : 0L, actual.addI64(key, value));
+                        Assert.assertEquals(oldValue, objects.put(key, newValue != 0L ? newValue : null));
+                        break;
+                    default:
+                        Assert.assertEquals(oldValue != null ? oldValue : 0L, actual.getI64(key));
+                        Assert.assertEquals(oldValue, objects.get(key));
+                        break;
+                }
+            }
+            actual.checkHealth();
+            objects.checkHealth();
+            Assert.assertEquals(expected.size(), actual.nonZeroKeyCount());
+            Assert.assertEquals(expected.size(), objects.size());
+            Assert.assertEquals(expected.hashCode(), actual.hashCode());
+            Assert.assertEquals(expected.hashCode(), objects.hashCode());
+            actual.forEach((key, value) -> Assert.assertEquals(expected.get(key), Long.valueOf(value)));
+        }
+    }
+
+    private static long usedMemory() {
+        final Runtime runtime = Runtime.getRuntime();
+        for (int index = 0; index < 3; index++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    @Test
+    public void benchmark() {
+        final int[] sizes = {1 << 16, 1 << 20, 1 << 22};
+        for (int size : sizes) {
+            long[] keys = new long[size];
+            long offset = fc.nextLong();
+            for (int index = 0; index < size; index++) {
+                keys[index] = index * 0x9e3779b97f4a7c15L + offset;
+            }
+            long[] nanos = new long[4];
+            Arrays.fill(nanos, Long.MAX_VALUE);
+            long[] bytes = new long[2];
+            long sink = 0L;
+            for (int pass = 0; pass < 4; pass++) { // first passes warm up
+                {
+                    long memory = usedMemory();
+                    long start = System.nanoTime();
+                    HashMap<Long, Long> map = new HashMap<>();
+                    for (long key : keys) {
+                        map.merge(key, key | 1L, Long::sum);
+                    }
+                    long middle = System.nanoTime();
+                    for (long key : keys) {
+                        sink += map.getOrDefault(key, 0L);
+                    }
+                    nanos[0] = Math.min(nanos[0], middle - start);
+                    nanos[1] = Math.min(nanos[1], System.nanoTime() - middle);
+                    bytes[0] = usedMemory() - memory;
+                    sink += map.size();
+                }
+                {
+                    long memory = usedMemory();
+                    long start = System.nanoTime();
+                    I64Map map = new I64Map(ShiftCapacityPolicy.INSTANCE);
+                    for (long key : keys) {
+                        map.addI64(key, key | 1L);
+                    }
+                    long middle = System.nanoTime();
+                    for (long key : keys) {
+                        sink += map.getI64(key);
+                    }
+                    nanos[2] = Math.min(nanos[2], middle - start);
+                    nanos[3] = Math.min(nanos[3], System.nanoTime() - middle);
+                    bytes[1] = usedMemory() - memory;
+                    sink += map.nonZeroKeyCount();
+                }
+            }
+            System.out.printf("%9d entries   add      get   (ns/op)   sink %d%n", size, sink & 1);
+            System.out.printf("  HashMap<Long, Long> %6.1f   %6.1f   %.1f bytes/entry%n", nanos[0] / (double) size,
+                    nanos[1] / (double) size, bytes[0] / (double) size);
+            System.out.printf("  I64Map              %6.1f   %6.1f   %.1f bytes/entry%n", nanos[2] / (double) size,
+                    nanos[3] / (double) size, bytes[1] / (double) size);
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package mujica.ds.i64.set;
+
+import mujica.algebra.random.FuzzyContext;
+import mujica.ds.i32.list.CapacityPolicy;
+import mujica.ds.i32.list.LookUpCapacityPolicy;
+import mujica.ds.i32.list.ShiftCapacityPolicy;
+import mujica.ds.i32.list.TwiceCapacityPolicy;
+import mujica.reflect.modifier.CodeHistory;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.PrimitiveIterator;
+
+@CodeHistory(date = "2026/10/17")
+public class I64SetTest {
+
+    private static final int REPEAT = 40;
+
+    private final FuzzyContext fc = new FuzzyContext();
+
+    @NotNull
+    private CapacityPolicy nextPolicy() {
+        switch (fc.nextInt(3)) {
+            case 0:
+                return ShiftCapacityPolicy.INSTANCE;
+            case 1:
+                return LookUpCapacityPolicy.PRIME_PAPER;
+            default:
+                return new TwiceCapacityPolicy(fc);
+        }
+    }
+
+    private static void assertSame(@NotNull HashSet<Long> expected, @NotNull I64Set actual) {
+        actual.checkHealth();
+        Assert.assertEquals(expected.size(), actual.longLength());
+        Assert.assertEquals(expected.hashCode(), actual.hashCode());
+        for (long v : expected) {
+            Assert.assertTrue(actual.contains(v));
+        }
+        final long[] array = actual.toLongArray();
+        Assert.assertEquals(expected.size(), array.length);
+        for (long v : array) {
+            Assert.assertTrue(expected.contains(v));
+        }
+    }
+
+    @Test
+    public void caseZero() {
+        final I64Set set = new I64Set();
+        Assert.assertTrue(set.isEmpty());
+        Assert.assertFalse(set.contains(0L));
+        Assert.assertTrue(set.add(0L));
+        Assert.assertFalse(set.add(0L));
+        Assert.assertTrue(set.add(Long.MIN_VALUE));
+        Assert.assertEquals(2, set.longLength());
+        Assert.assertArrayEquals(new long[] {0L, Long.MIN_VALUE}, set.toLongArray());
+        Assert.assertTrue(set.remove(0L));
+        Assert.assertFalse(set.contains(0L));
+        Assert.assertEquals(1, set.longLength());
+        set.checkHealth();
+    }
+
+    @Test
+    public void caseAddAll() {
+        final long[] array = new long[10000];
+        for (int index = 0; index < array.length; index++) {
+            array[index] = (index % 5000) * 0x100000001L;
+        }
+        final I64Set set = new I64Set(ShiftCapacityPolicy.INSTANCE);
+        Assert.assertEquals(5000, set.addAll(array));
+        Assert.assertEquals(0, set.addAll(array, 0, 5000));
+        Assert.assertEquals(5000, set.longLength());
+        set.checkHealth();
+        final I64Set copy = set.duplicate();
+        Assert.assertEquals(set, copy);
+        copy.remove(0L);
+        Assert.assertNotEquals(set, copy);
+        set.clear();
+        Assert.assertTrue(set.isEmpty());
+        set.checkHealth();
+    }
+
+    @Test
+    public void caseIteratorRemove() {
+        final I64Set set = new I64Set(ShiftCapacityPolicy.INSTANCE);
+        final HashSet<Long> expected = new HashSet<>();
+        for (long v = -600; v < 600; v++) {
+            set.add(v);
+            expected.add(v);
+        }
+        int visited = 0;
+        for (PrimitiveIterator.OfLong iterator = set.iterator(); iterator.hasNext(); visited++) {
+            long v = iterator.nextLong();
+            Assert.assertTrue(expected.contains(v));
+            if (v % 3 == 0) {
+                iterator.remove();
+            }
+        }
+        Assert.assertEquals(1200, visited);
+        expected.removeIf(v -> v % 3 == 0);
+        assertSame(expected, set);
+    }
+
+    @Test
+    public void fuzz() {
+        for (int repeatIndex = 0; repeatIndex < REPEAT; repeatIndex++) {
+            HashSet<Long> expected = new HashSet<>();
+            I64Set actual = new I64Set(nextPolicy());
+            int range = 1 << fc.nextInt(2, 14);
+            int operations = fc.nextInt(1, 20000);
+            for (int operationIndex = 0; operationIndex < operations; operationIndex++) {
+                long v = fc.nextInt(range) * (range < 0x400 ? 1L : fc.nextLong());
+                switch (fc.nextInt(3)) {
+                    case 0:
+                        Assert.assertEquals(expected.add(v), actual.add(v));
+                        break;
+                    case 1:
+                        Assert.assertEquals(expected.remove(v), actual.remove(v));
+                        break;
+                    default:
+                        Assert.assertEquals(expected.contains(v), actual.contains(v));
+                        break;
+                }
+            }
+            assertSame(expected, actual);
+        }
+    }
+
+    private static long usedMemory() {
+        final Runtime runtime = Runtime.getRuntime();
+        for (int index = 0; index < 3; index++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    @Test
+    public void benchmark() {
+        final int[] sizes = {1 << 16, 1 << 20, 1 << 22};
+        for (int size : sizes) {
+            long[] values = new long[size];
+            long offset = fc.nextLong();
+            for (int index = 0; index < size; index++) {
+                values[index] = index * 0x9e3779b97f4a7c15L + offset; // distinct, as the multiplier is odd
+            }
+            long[] nanos = new long[4];
+            Arrays.fill(nanos, Long.MAX_VALUE);
+            long[] bytes = new long[2];
+            long sink = 0L;
+            for (int pass = 0; pass < 4; pass++) { // first passes warm up
+                {
+                    long memory = usedMemory();
+                    long start = System.nanoTime();
+                    HashSet<Long> set = new HashSet<>();
+                    for (long v : values) {
+                        set.add(v);
+                    }
+                    long middle = System.nanoTime();
+                    for (long v : values) {
+                        if (set.contains(v ^ 1L)) {
+                            sink++;
+                        }
+                    }
+                    nanos[0] = Math.min(nanos[0], middle - start);
+                    nanos[1] = Math.min(nanos[1], System.nanoTime() - middle);
+                    bytes[0] = usedMemory() - memory;
+                    sink += set.size();
+                }
+                {
+                    long memory = usedMemory();
+                    long start = System.nanoTime();
+                    I64Set set = new I64Set(ShiftCapacityPolicy.INSTANCE);
+                    set.addAll(values);
+                    long middle = System.nanoTime();
+                    for (long v : values) {
+                        if (set.contains(v ^ 1L)) {
+                            sink++;
+                        }
+                    }
+                    nanos[2] = Math.min(nanos[2], middle - start);
+                    nanos[3] = Math.min(nanos[3], System.nanoTime() - middle);
+                    bytes[1] = usedMemory() - memory;
+                    sink += set.longLength();
+                }
+            }
+            System.out.printf("%9d values   add      contains (ns/op)   sink %d%n", size, sink & 1);
+            System.out.printf("  HashSet<Long> %6.1f   %6.1f   %.1f bytes/value%n", nanos[0] / (double) size,
+                    nanos[1] / (double) size, bytes[0] / (double) size);
+            System.out.printf("  I64Set        %6.1f   %6.1f   %.1f bytes/value%n", nanos[2] / (double) size,
+                    nanos[3] / (double) size, bytes[1] / (double) size);
+        }
+    }
+}
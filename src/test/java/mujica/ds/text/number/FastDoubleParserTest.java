@@ -0,0 +1,132 @@
+package mujica.ds.text.number;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import mujica.reflect.modifier.CodeHistory;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+@CodeHistory(date = "2026/10/17")
+public class FastDoubleParserTest {
+
+    private static void check(@NotNull String string) {
+        final byte[] bytes = string.getBytes(StandardCharsets.US_ASCII);
+        final long expected = Double.doubleToRawLongBits(Double.parseDouble(string));
+        Assert.assertEquals(string, expected, Double.doubleToRawLongBits(FastDoubleParser.parse(bytes, 0, bytes.length)));
+    }
+
+    @Test
+    public void caseSyntax() {
+        for (String string : new String[] {
+                "0", "-0", "0.0", "-0.0", "1", "+1", "1.", ".5", "35.0", "3.5e1", "3.5E+1", "1e-400", "-1e400", "1e308", "1.8e308",
+                "4.9e-324", "2.4703282292062327e-324", "2.4703282292062328e-324", "2.2250738585072011e-308",
+                "9007199254740993", "18446744073709551615", "9999999999999999999", "12345678901234567890123",
+                "0.000000000000000000000000000001", "123456789e-20", "1e22", "1e23", "NaN", "-Infinity", "0x1p3", "1.5f", "2d"
+        }) {
+            check(string);
+        }
+        for (String string : new String[] {"", "-", "e5", "1e", "1e+", "1.2.3", "--1", "1x"}) {
+            byte[] bytes = string.getBytes(StandardCharsets.US_ASCII);
+            try {
+                FastDoubleParser.parse(bytes, 0, bytes.length);
+                Assert.fail(string);
+            } catch (NumberFormatException e) {
+                // pass
+            }
+        }
+        final ByteBuf heap = Unpooled.copiedBuffer("[-12.5e-3]", StandardCharsets.US_ASCII);
+        Assert.assertEquals(-12.5e-3, FastDoubleParser.parse(heap, 1, 9), 0.0);
+        final ByteBuf direct = Unpooled.directBuffer().writeBytes(heap, 0, 10);
+        Assert.assertEquals(-12.5e-3, FastDoubleParser.parse(direct, 1, 9), 0.0);
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(10).put("[-12.5e-3]".getBytes(StandardCharsets.US_ASCII));
+        Assert.assertEquals(-12.5e-3, FastDoubleParser.parse(buffer, 1, 9), 0.0);
+        direct.release();
+    }
+
+    @Test
+    public void caseRandom() {
+        final Random random = new Random(0xE15E1L);
+        final StringBuilder sb = new StringBuilder();
+        for (int round = 0; round < 1_000_000; round++) {
+            switch (round & 3) {
+                case 0: // every double
+                    double value = Double.longBitsToDouble(random.nextLong());
+                    if (Double.isFinite(value)) {
+                        check(Double.toString(value));
+                    }
+                    break;
+                case 1: { // random digits and exponent, up to 21 digits
+                    sb.setLength(0);
+                    int digits = 1 + random.nextInt(21);
+                    for (int index = 0; index < digits; index++) {
+                        sb.append((char) ('0' + random.nextInt(10)));
+                    }
+                    if (random.nextBoolean()) {
+                        sb.insert(random.nextInt(digits + 1), '.');
+                    }
+                    sb.append('e').append(random.nextInt(700) - 350);
+                    check(sb.toString());
+                    break;
+                }
+                case 2: { // near the middle of two neighbours, the hard cases
+                    double low = Math.abs(Double.longBitsToDouble(random.nextLong() >>> 1));
+                    if (!Double.isFinite(low) || low == Double.MAX_VALUE) {
+                        break;
+                    }
+                    BigDecimal middle = (new BigDecimal(low)).add(new BigDecimal(Math.nextUp(low))).divide(BigDecimal.valueOf(2L));
+                    String exact = middle.toString();
+                    check(exact);
+                    int precision = 15 + random.nextInt(5);
+                    check(middle.round(new MathContext(precision, RoundingMode.FLOOR)).toString());
+                    check(middle.round(new MathContext(precision, RoundingMode.CEILING)).toString());
+                    break;
+                }
+                default: { // short decimals
+                    check(random.nextInt(100_000_000) + "." + random.nextInt(1000) + "e" + (random.nextInt(60) - 30));
+                    break;
+                }
+            }
+        }
+    }
+
+    @Test
+    public void benchmark() {
+        final Random random = new Random(0xBE4C5L);
+        final byte[][] inputs = new byte[4096][];
+        final String[] strings = new String[inputs.length];
+        for (int index = 0; index < inputs.length; index++) {
+            double value = (index & 1) == 0 ? random.nextDouble() * 1e6 : Math.round(random.nextDouble() * 1e6) / 100.0;
+            strings[index] = Double.toString(value);
+            inputs[index] = strings[index].getBytes(StandardCharsets.US_ASCII);
+        }
+        final int rounds = 1_000_000;
+        double total = 0.0;
+        long jdkNanos = 0L;
+        long ourNanos = 0L;
+        for (int pass = 0; pass < 2; pass++) { // first pass warms up
+            long start = System.nanoTime();
+            for (int round = 0; round < rounds; round++) {
+                byte[] bytes = inputs[round & 4095];
+                total += Double.parseDouble(new String(bytes, StandardCharsets.US_ASCII));
+            }
+            jdkNanos = System.nanoTime() - start;
+            start = System.nanoTime();
+            for (int round = 0; round < rounds; round++) {
+                byte[] bytes = inputs[round & 4095];
+                total += FastDoubleParser.parse(bytes, 0, bytes.length);
+            }
+            ourNanos = System.nanoTime() - start;
+        }
+        Assert.assertTrue(total > 0.0);
+        System.out.printf("Double.parseDouble %6.1f ns/op  FastDoubleParser %6.1f ns/op%n",
+                (double) jdkNanos / rounds, (double) ourNanos / rounds);
+    }
+}
@@ -0,0 +1,168 @@
+package mujica.ds.text.number;
+
+import mujica.reflect.modifier.CodeHistory;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+@CodeHistory(date = "2026/10/17")
+public class ShortestDecimalAppenderTest {
+
+    private final byte[] buffer = new byte[ShortestDecimalAppender.BUFFER_SIZE];
+
+    @NotNull
+    private String stringify(double value) {
+        return new String(buffer, 0, ShortestDecimalAppender.write(value, buffer, 0), StandardCharsets.US_ASCII);
+    }
+
+    @NotNull
+    private String stringify(float value) {
+        return new String(buffer, 0, ShortestDecimalAppender.write(value, buffer, 0), StandardCharsets.US_ASCII);
+    }
+
+    private static int digitCount(@NotNull String string) {
+        final int e = string.indexOf('E');
+        return (new BigDecimal(e < 0 ? string : string.substring(0, e))).stripTrailingZeros().precision();
+    }
+
+    @Test
+    public void caseLayout() {
+        Assert.assertEquals("0.0", stringify(0.0));
+        Assert.assertEquals("-0.0", stringify(-0.0));
+        Assert.assertEquals("1.0", stringify(1.0));
+        Assert.assertEquals("35.0", stringify(35.0));
+        Assert.assertEquals("0.1", stringify(0.1));
+        Assert.assertEquals("0.001", stringify(0.001));
+        Assert.assertEquals("1.0E-4", stringify(1e-4));
+        Assert.assertEquals("9999999.0", stringify(9999999.0));
+        Assert.assertEquals("1.0E7", stringify(1e7));
+        Assert.assertEquals("1.2345678E7", stringify(12345678.0));
+        Assert.assertEquals("-2000.5", stringify(-2000.5));
+        Assert.assertEquals("1.0E23", stringify(1e23));
+        Assert.assertEquals("0.002", stringify(2e-3));
+        Assert.assertEquals("1.7976931348623157E308", stringify(Double.MAX_VALUE));
+        Assert.assertEquals("4.9E-324", stringify(Double.MIN_VALUE));
+        Assert.assertEquals("2.2250738585072014E-308", stringify(Double.MIN_NORMAL));
+        Assert.assertEquals("NaN", stringify(Double.NaN));
+        Assert.assertEquals("-Infinity", stringify(Double.NEGATIVE_INFINITY));
+        Assert.assertEquals("1.4E-45", stringify(Float.MIN_VALUE));
+        Assert.assertEquals("3.4028235E38", stringify(Float.MAX_VALUE));
+        Assert.assertEquals("0.3", stringify(0.3f));
+        Assert.assertEquals("Infinity", stringify(Float.POSITIVE_INFINITY));
+        final StringBuilder sb = new StringBuilder();
+        ShortestDecimalAppender.INSTANCE.append(-1.5e-10, sb);
+        Assert.assertEquals("-1.5E-10", sb.toString());
+    }
+
+    /**
+     * Rounds back to the same bits, and no string with fewer digits does
+     */
+    private void checkShortest(double value, @NotNull String string) {
+        Assert.assertEquals(string, Double.doubleToLongBits(value), Double.doubleToLongBits(Double.parseDouble(string)));
+        final int digits = digitCount(string);
+        if (digits > 1 && value != 0.0) {
+            BigDecimal exact = new BigDecimal(value);
+            MathContext shorter = new MathContext(digits - 1, RoundingMode.FLOOR);
+            BigDecimal down = exact.round(shorter);
+            BigDecimal up = down.add(down.ulp());
+            Assert.assertNotEquals(string, value, down.doubleValue(), 0.0);
+            Assert.assertNotEquals(string, value, up.doubleValue(), 0.0);
+        }
+    }
+
+    @Test
+    public void caseRandomDouble() {
+        final Random random = new Random(0x5C4B_FAC4L);
+        int longerThanJdk = 0;
+        int shorterThanJdk = 0;
+        int sameLengthDifferent = 0;
+        for (int round = 0; round < 1_000_000; round++) {
+            double value;
+            if ((round & 1) == 0) {
+                value = Double.longBitsToDouble(random.nextLong());
+                if (!Double.isFinite(value)) {
+                    continue;
+                }
+            } else { // short decimals are common in real data
+                value = Double.parseDouble(random.nextInt(1_000_000) + "e" + (random.nextInt(80) - 40));
+            }
+            String string = stringify(value);
+            String expected = Double.toString(value);
+            if (round % 16 == 0) {
+                checkShortest(value, string);
+            } else {
+                Assert.assertEquals(string, Double.doubleToLongBits(value), Double.doubleToLongBits(Double.parseDouble(string)));
+            }
+            if (!string.equals(expected)) {
+                int ours = digitCount(string);
+                int jdk = digitCount(expected);
+                if (ours > jdk) {
+                    longerThanJdk++;
+                } else if (ours < jdk) {
+                    shorterThanJdk++; // Double.toString() before Java 19 is not always shortest
+                } else {
+                    sameLengthDifferent++; // neither is closest in some old cases
+                }
+            }
+        }
+        System.out.printf("double: %d longer, %d shorter, %d same length but different than Double.toString()%n",
+                longerThanJdk, shorterThanJdk, sameLengthDifferent);
+        Assert.assertEquals(0, longerThanJdk);
+    }
+
+    @Test
+    public void caseRandomFloat() {
+        final Random random = new Random(0xF10A7L);
+        int longerThanJdk = 0;
+        for (int round = 0; round < 1_000_000; round++) {
+            float value = Float.intBitsToFloat(random.nextInt());
+            if (!Float.isFinite(value)) {
+                continue;
+            }
+            String string = stringify(value);
+            Assert.assertEquals(string, Float.floatToIntBits(value), Float.floatToIntBits(Float.parseFloat(string)));
+            if (digitCount(string) > digitCount(Float.toString(value))) {
+                longerThanJdk++;
+            }
+        }
+        for (int bits = 0; bits < 100_000; bits++) { // subnormal
+            float value = Float.intBitsToFloat(bits);
+            Assert.assertEquals(bits, Float.floatToIntBits(Float.parseFloat(stringify(value))));
+        }
+        Assert.assertEquals(0, longerThanJdk);
+    }
+
+    @Test
+    public void benchmark() {
+        final Random random = new Random(0xBE4C5L);
+        final double[] values = new double[4096];
+        for (int index = 0; index < values.length; index++) {
+            values[index] = (index & 1) == 0 ? random.nextDouble() * 1e6 : Math.round(random.nextDouble() * 1e6) / 100.0;
+        }
+        final int rounds = 1_000_000;
+        long total = 0L;
+        long jdkNanos = 0L;
+        long ourNanos = 0L;
+        for (int pass = 0; pass < 2; pass++) { // first pass warms up
+            long start = System.nanoTime();
+            for (int round = 0; round < rounds; round++) {
+                total += Double.toString(values[round & 4095]).length();
+            }
+            jdkNanos = System.nanoTime() - start;
+            start = System.nanoTime();
+            for (int round = 0; round < rounds; round++) {
+                total += ShortestDecimalAppender.write(values[round & 4095], buffer, 0);
+            }
+            ourNanos = System.nanoTime() - start;
+        }
+        Assert.assertTrue(total > 0L);
+        System.out.printf("Double.toString %6.1f ns/op  ShortestDecimalAppender %6.1f ns/op%n",
+                (double) jdkNanos / rounds, (double) ourNanos / rounds);
+    }
+}
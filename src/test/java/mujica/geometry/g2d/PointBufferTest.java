@@ -0,0 +1,250 @@
+package mujica.geometry.g2d;
+
+import mujica.geometry.GeometryOperationResult;
+import mujica.reflect.modifier.CodeHistory;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+@CodeHistory(date = "2026/10/17")
+public class PointBufferTest extends G2dTest {
+
+    private final Transform2Test transforms = new Transform2Test();
+
+    @NotNull
+    private Transform2 nextTransform() {
+        switch (rc.nextInt(6)) {
+            default:
+                return new Transform2();
+            case 1: {
+                Point point = nextPoint();
+                return new Translation2(point.x, point.y);
+            }
+            case 2: {
+                Point point = nextPoint();
+                return new Flip2(point.x, point.y, rc.nextInt(FlipOption2.MASK + 1));
+            }
+            case 3:
+                return transforms.nextViewportTransform();
+            case 4:
+                return transforms.nextAxes();
+            case 5:
+                return transforms.nextAffine2();
+        }
+    }
+
+    @NotNull
+    private PointBuffer nextBuffer(int size) {
+        final PointBuffer buffer = new PointBuffer(rc.nextInt(size + 1));
+        for (int index = 0; index < size; index++) {
+            buffer.add(nextPoint());
+        }
+        return buffer;
+    }
+
+    private static void assertSame(@NotNull Point[] expected, @NotNull PointBuffer actual) {
+        Assert.assertEquals(expected.length, actual.size());
+        for (int index = 0; index < expected.length; index++) {
+            Assert.assertEquals(expected[index].x, actual.getX(index), 0.0);
+            Assert.assertEquals(expected[index].y, actual.getY(index), 0.0);
+        }
+    }
+
+    @Test
+    public void caseBuffer() {
+        final PointBuffer buffer = new PointBuffer(0);
+        Assert.assertEquals(-1, buffer.nearest(0.0, 0.0));
+        final Bound bound = new Bound();
+        bound.setBound(0.0, 1.0, 0.0, 1.0);
+        buffer.smallestBound(bound);
+        Assert.assertTrue(Double.isNaN(bound.x1));
+        buffer.add(1.0, 2.0);
+        buffer.add(new Point(-3.0, 4.0));
+        buffer.add(Double.NaN, -5.0);
+        Assert.assertEquals(3, buffer.size());
+        Assert.assertEquals(6, buffer.vectorLength());
+        Assert.assertEquals(4.0, buffer.vectorComponent(3), 0.0);
+        Assert.assertFalse(buffer.isHealthy());
+        buffer.smallestBound(bound);
+        Assert.assertEquals(-3.0, bound.x1, 0.0);
+        Assert.assertEquals(1.0, bound.x2, 0.0);
+        Assert.assertEquals(-5.0, bound.y1, 0.0);
+        Assert.assertEquals(4.0, bound.y2, 0.0);
+        Assert.assertEquals(1, buffer.nearest(-2.0, 3.0));
+        Assert.assertEquals(buffer, buffer.duplicate());
+        try {
+            buffer.getX(3);
+            Assert.fail();
+        } catch (IndexOutOfBoundsException ignored) {
+        }
+        try {
+            new Translation2().transform(buffer, 2, 4);
+            Assert.fail();
+        } catch (IndexOutOfBoundsException ignored) {
+        }
+        final ViewportTransform singular = new ViewportTransform();
+        singular.setCoreScale(0.0);
+        Assert.assertEquals(GeometryOperationResult.FAIL, buffer.inverseTransform(singular));
+        Assert.assertEquals(-3.0, buffer.getX(1), 0.0);
+    }
+
+    @Test
+    public void caseNearestNotFinite() {
+        final PointBuffer buffer = new PointBuffer();
+        buffer.add(Double.NaN, 0.0);
+        Assert.assertEquals(-1, buffer.nearest(0.0, 0.0));
+        buffer.add(1e200, -1e200);
+        buffer.add(-1e200, 1e200);
+        Assert.assertEquals(1, buffer.nearest(0.0, 0.0)); // both overflow, first one wins
+        buffer.add(1.0, 1.0);
+        Assert.assertEquals(3, buffer.nearest(0.0, 0.0));
+    }
+
+    /**
+     * A subclass overriding only the point methods is still applied to buffers
+     */
+    @Test
+    public void casePointOnlySubclass() {
+        final Transform2 swap = new Transform2() {
+
+            private static final long serialVersionUID = 0x5b0e93d2a74c1f68L;
+
+            @Override
+            public void transform(@NotNull Point src, @NotNull Point dst) {
+                dst.setPoint(src.y, src.x);
+            }
+
+            @NotNull
+            @Override
+            public GeometryOperationResult inverseTransform(@NotNull Point src, @NotNull Point dst) {
+                dst.setPoint(src.y, src.x);
+                return GeometryOperationResult.MODIFIED;
+            }
+        };
+        final PointBuffer buffer = new PointBuffer();
+        buffer.add(1.0, 2.0);
+        buffer.add(3.0, 4.0);
+        swap.transform(buffer, 1, 2);
+        Assert.assertEquals(1.0, buffer.getX(0), 0.0);
+        Assert.assertEquals(4.0, buffer.getX(1), 0.0);
+        Assert.assertEquals(3.0, buffer.getY(1), 0.0);
+        Assert.assertEquals(GeometryOperationResult.MODIFIED, buffer.inverseTransform(swap));
+        Assert.assertEquals(2.0, buffer.getX(0), 0.0);
+        Assert.assertEquals(3.0, buffer.getX(1), 0.0);
+    }
+
+    @Test
+    public void checkTransform() {
+        for (int repeatIndex = 0; repeatIndex < TRANSFORM; repeatIndex++) {
+            Transform2 transform = nextTransform();
+            PointBuffer buffer = nextBuffer(rc.nextInt(POINT));
+            Point[] array = buffer.toPointArray();
+            int startIndex = rc.nextInt(buffer.size() + 1);
+            int endIndex = startIndex + rc.nextInt(buffer.size() - startIndex + 1);
+            transform.transform(Arrays.copyOfRange(array, startIndex, endIndex));
+            transform.transform(buffer, startIndex, endIndex);
+            assertSame(array, buffer);
+            GeometryOperationResult expected = transform.inverseTransform(array);
+            Assert.assertEquals(expected == GeometryOperationResult.FAIL, buffer.inverseTransform(transform) == GeometryOperationResult.FAIL);
+            assertSame(array, buffer);
+        }
+    }
+
+    private static final int TRANSFORM = (4 * 4) * LOOP;
+
+    @Test
+    public void checkParallel() {
+        for (int repeatIndex = 0; repeatIndex < 6; repeatIndex++) {
+            Transform2 transform = nextTransform();
+            PointBuffer buffer = nextBuffer(PointBuffer.PARALLEL_THRESHOLD + rc.nextInt(PointBuffer.PARALLEL_THRESHOLD << 2));
+            PointBuffer expected = buffer.duplicate();
+            transform.transform(expected, 0, expected.size());
+            buffer.parallelTransform(transform);
+            Assert.assertEquals(expected, buffer);
+            Assert.assertEquals(expected.inverseTransform(transform), buffer.parallelInverseTransform(transform));
+            Assert.assertEquals(expected, buffer);
+            Bound bound0 = new Bound();
+            Bound bound1 = new Bound();
+            buffer.smallestBound(bound0);
+            buffer.parallelSmallestBound(bound1);
+            Assert.assertEquals(bound0, bound1);
+        }
+    }
+
+    @Test
+    public void checkBound() {
+        for (int repeatIndex = 0; repeatIndex < BOUND; repeatIndex++) {
+            PointBuffer buffer = nextBuffer(1 + rc.nextInt(POINT));
+            Bound expected = new Bound();
+            for (Point point : buffer.toPointArray()) {
+                expected.includePoint(point);
+            }
+            Bound actual = new Bound();
+            buffer.smallestBound(actual);
+            Assert.assertEquals(expected, actual);
+        }
+    }
+
+    @Test
+    public void checkDistance() {
+        for (int repeatIndex = 0; repeatIndex < POINT; repeatIndex++) {
+            PointBuffer buffer = nextBuffer(1 + rc.nextInt(POINT));
+            Point target = nextPoint();
+            double[] distances = new double[buffer.size()];
+            buffer.squareDistances(target.x, target.y, distances, 0, buffer.size());
+            Point[] array = buffer.toPointArray();
+            int nearest = 0;
+            for (int index = 0; index < array.length; index++) {
+                double expected = Point.squareNorm(array[index], target);
+                Assert.assertEquals(expected, distances[index], 0.0);
+                if (expected < distances[nearest]) {
+                    nearest = index;
+                }
+            }
+            Assert.assertEquals(nearest, buffer.nearest(target.x, target.y));
+            buffer.euclidDistances(target.x, target.y, distances, 0, buffer.size());
+            for (int index = 0; index < array.length; index++) {
+                Assert.assertEquals(Point.euclidDistance(array[index], target), distances[index], 1e-12);
+            }
+        }
+    }
+
+    @Test
+    public void benchmark() {
+        final Affine2 transform = transforms.nextAffine2();
+        for (int size : new int[] {1 << 20, 1 << 22}) {
+            PointBuffer buffer = nextBuffer(size);
+            Point[] array = buffer.toPointArray();
+            Bound bound = new Bound();
+            long[] nanos = new long[5];
+            Arrays.fill(nanos, Long.MAX_VALUE);
+            for (int pass = 0; pass < 4; pass++) { // first passes warm up
+                long start = System.nanoTime();
+                transform.transform(array);
+                nanos[0] = Math.min(nanos[0], System.nanoTime() - start);
+                start = System.nanoTime();
+                buffer.transform(transform);
+                nanos[1] = Math.min(nanos[1], System.nanoTime() - start);
+                start = System.nanoTime();
+                buffer.parallelTransform(transform);
+                nanos[2] = Math.min(nanos[2], System.nanoTime() - start);
+                start = System.nanoTime();
+                for (Point point : array) {
+                    bound.includePoint(point);
+                }
+                nanos[3] = Math.min(nanos[3], System.nanoTime() - start);
+                start = System.nanoTime();
+                buffer.smallestBound(bound);
+                nanos[4] = Math.min(nanos[4], System.nanoTime() - start);
+            }
+            System.out.printf("%d points (ns/point)   bound %s%n", size, bound.isHealthy());
+            System.out.printf("  Affine2 Point[]                  %7.2f%n", (double) nanos[0] / size);
+            System.out.printf("  Affine2 PointBuffer              %7.2f%n", (double) nanos[1] / size);
+            System.out.printf("  Affine2 PointBuffer parallel     %7.2f%n", (double) nanos[2] / size);
+            System.out.printf("  Bound.includePoint Point[]       %7.2f%n", (double) nanos[3] / size);
+            System.out.printf("  PointBuffer.smallestBound        %7.2f%n", (double) nanos[4] / size);
+        }
+    }
+}
@@ -0,0 +1,403 @@
+package mujica.io.codec;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import mujica.algebra.random.FuzzyContext;
+import mujica.reflect.modifier.CodeHistory;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+
+@CodeHistory(date = "2026/10/17")
+public class BaseBlockCodecTest {
+
+    private static final int REPEAT = 60;
+
+    private static final int SIZE = 5000;
+
+    private static final BufferingPolicy[] POLICIES = BufferingPolicy.values();
+
+    private final FuzzyContext fc = new FuzzyContext();
+
+    /**
+     * Returns at most a few bytes each call
+     */
+    @CodeHistory(date = "2026/10/17")
+    private static class TrickleInputStream extends FilterInputStream {
+
+        final int limit;
+
+        TrickleInputStream(@NotNull InputStream in, int limit) {
+            super(in);
+            this.limit = limit;
+        }
+
+        @Override
+        public int read(@NotNull byte[] array, int offset, int length) throws IOException {
+            return super.read(array, offset, Math.min(length, limit));
+        }
+    }
+
+    @NotNull
+    private InputStream nextSource(@NotNull byte[] data) {
+        final InputStream in = new ByteArrayInputStream(data);
+        return fc.nextBoolean() ? new TrickleInputStream(in, fc.nextInt(1, 40)) : in;
+    }
+
+    private void writeSplit(@NotNull OutputStream os, @NotNull byte[] data) throws IOException {
+        int offset = 0;
+        while (offset < data.length) {
+            if (fc.nextInt(8) == 0) {
+                os.write(data[offset++]);
+            } else {
+                int length = Math.min(data.length - offset, fc.nextInt(1, 700));
+                os.write(data, offset, length);
+                offset += length;
+            }
+        }
+    }
+
+    @NotNull
+    private byte[] readSplit(@NotNull InputStream is, int expectedLength) throws IOException {
+        final byte[] actual = new byte[expectedLength];
+        int offset = 0;
+        while (offset < expectedLength) {
+            if (fc.nextInt(8) == 0) {
+                int value = is.read();
+                Assert.assertNotEquals(-1, value);
+                actual[offset++] = (byte) value;
+            } else {
+                int count = is.read(actual, offset, Math.min(expectedLength - offset, fc.nextInt(1, 700)));
+                Assert.assertTrue(count > 0);
+                offset += count;
+            }
+        }
+        Assert.assertEquals(-1, is.read());
+        return actual;
+    }
+
+    @NotNull
+    private static byte[] ascii(@NotNull String string) {
+        return string.getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    @Test
+    public void caseBase64Kernel() throws IOException {
+        for (int length = 0; length < 300; length++) {
+            byte[] message = fc.nextByteArray(length);
+            for (boolean url : new boolean[] {false, true}) {
+                byte[] expected = (url ? Base64.getUrlEncoder() : Base64.getEncoder()).encode(message);
+                byte[] code = new byte[Base64BlockCodec.encodedLength(length)];
+                Assert.assertEquals(expected.length, Base64BlockCodec.encode(message, 0, length, code, 0, url));
+                Assert.assertArrayEquals(expected, code);
+                byte[] decoded = new byte[length + 2];
+                Assert.assertEquals(length, Base64BlockCodec.decode(code, 0, code.length, decoded, 0));
+                Assert.assertArrayEquals(message, Arrays.copyOf(decoded, length));
+            }
+        }
+    }
+
+    @Test
+    public void caseBase64Buffers() throws IOException {
+        for (int repeatIndex = 0; repeatIndex < REPEAT; repeatIndex++) {
+            byte[] message = fc.nextByteArray(fc.nextInt(SIZE));
+            byte[] expected = Base64.getEncoder().encode(message);
+            ByteBuffer src = fc.nextBoolean() ? ByteBuffer.wrap(message) : ByteBuffer.allocateDirect(message.length).put(message).flip();
+            ByteBuffer code = fc.nextBoolean() ? ByteBuffer.allocate(expected.length) : ByteBuffer.allocateDirect(expected.length);
+            Base64BlockCodec.encode(src, code, false);
+            Assert.assertFalse(src.hasRemaining());
+            Assert.assertFalse(code.hasRemaining());
+            code.flip();
+            Assert.assertEquals(ByteBuffer.wrap(expected), code);
+            ByteBuffer decoded = fc.nextBoolean() ? ByteBuffer.allocate(message.length + 2) : ByteBuffer.allocateDirect(message.length + 2);
+            Base64BlockCodec.decode(code, decoded);
+            Assert.assertEquals(ByteBuffer.wrap(message), decoded.flip());
+
+            ByteBuf srcBuf = fc.nextBoolean() ? Unpooled.wrappedBuffer(message) : Unpooled.directBuffer().writeBytes(message);
+            ByteBuf codeBuf = fc.nextBoolean() ? Unpooled.buffer() : Unpooled.directBuffer();
+            Base64BlockCodec.encode(srcBuf, codeBuf, false);
+            Assert.assertArrayEquals(expected, ByteBufUtil.getBytes(codeBuf));
+            ByteBuf decodedBuf = fc.nextBoolean() ? Unpooled.buffer() : Unpooled.directBuffer();
+            Base64BlockCodec.decode(codeBuf, decodedBuf);
+            Assert.assertArrayEquals(message, ByteBufUtil.getBytes(decodedBuf));
+            srcBuf.release();
+            codeBuf.release();
+            decodedBuf.release();
+        }
+    }
+
+    @Test
+    public void caseBase64BadCode() {
+        for (String code : new String[] {"Zm9vYmFy T T ", "Zm9v<p>A", "Zm9v=i==", "Zm9vE=A=", "Zm9vHH=0", "Zm9v===="}) {
+            byte[] array = ascii(code);
+            try {
+                Base64BlockCodec.decode(array, 0, array.length, new byte[array.length], 0);
+                Assert.fail(code);
+            } catch (BadCodeException e) {
+                // pass
+            }
+            try (InputStream is = new Base64DecodeInputStream(new ByteArrayInputStream(array))) {
+                is.readAllBytes();
+                Assert.fail(code);
+            } catch (IOException e) {
+                // pass
+            }
+        }
+    }
+
+    @Test
+    public void caseBase64Concatenated() throws IOException {
+        final byte[] code = ascii("Zm8=Zm9vYg==Zm9vYmFy");
+        final byte[] expected = ascii("fofoobfoobar");
+        final byte[] actual = new byte[expected.length];
+        Assert.assertEquals(expected.length, Base64BlockCodec.decode(code, 0, code.length, actual, 0));
+        Assert.assertArrayEquals(expected, actual);
+        try (InputStream is = new Base64DecodeInputStream(new ByteArrayInputStream(code))) {
+            Assert.assertArrayEquals(expected, is.readAllBytes());
+        }
+    }
+
+    @Test
+    public void fuzzBase64Streams() throws IOException {
+        for (int repeatIndex = 0; repeatIndex < REPEAT; repeatIndex++) {
+            byte[] message = fc.nextByteArray(fc.nextInt(SIZE));
+            boolean url = fc.nextBoolean();
+            int flags = url ? Base64StreamingEncoder.FLAG_URL : 0;
+            byte[] code = (url ? Base64.getUrlEncoder() : Base64.getEncoder()).encode(message);
+            BufferingPolicy policy = POLICIES[fc.nextInt(POLICIES.length)];
+            {
+                ByteArrayOutputStream actual = new ByteArrayOutputStream();
+                try (Base64EncodeOutputStream os = new Base64EncodeOutputStream(actual, policy, flags | Base64StreamingEncoder.FLAG_STOP_ON_CLOSE)) {
+                    writeSplit(os, message);
+                }
+                Assert.assertArrayEquals(code, actual.toByteArray());
+            }
+            try (Base64EncodeInputStream is = new Base64EncodeInputStream(nextSource(message), policy, flags)) {
+                Assert.assertArrayEquals(code, readSplit(is, code.length));
+            }
+            try (Base64DecodeInputStream is = new Base64DecodeInputStream(nextSource(code), policy)) {
+                Assert.assertArrayEquals(message, readSplit(is, message.length));
+            }
+        }
+    }
+
+    /**
+     * Bulk writes give the same output as writes of single octets, when some octets are consumed or stop the encoder
+     */
+    @Test
+    public void fuzzBase64Flags() throws IOException {
+        final int[] flagsArray = {Base64StreamingEncoder.FLAG_STOP_ON_NULL, Base64StreamingEncoder.FLAG_CONSUME_NULL,
+                Base64StreamingEncoder.FLAG_STOP_ON_NULL | Base64StreamingEncoder.FLAG_CONSUME_NULL,
+                Base64StreamingEncoder.FLAG_STOP_ON_LINE_FEED | Base64StreamingEncoder.FLAG_CONSUME_LINE_FEED | Base64StreamingEncoder.FLAG_URL,
+                Base64StreamingEncoder.FLAG_CONSUME_NULL | Base64StreamingEncoder.FLAG_STOP_ON_LINE_FEED};
+        for (int repeatIndex = 0; repeatIndex < REPEAT; repeatIndex++) {
+            byte[] message = fc.nextByteArray(fc.nextInt(SIZE));
+            for (int index = 0; index < message.length; index++) {
+                if (fc.nextInt(100) == 0) {
+                    message[index] = (byte) (fc.nextBoolean() ? 0x00 : 0x0a);
+                }
+            }
+            int flags = flagsArray[fc.nextInt(flagsArray.length)] | Base64StreamingEncoder.FLAG_STOP_ON_CLOSE;
+            BufferingPolicy policy = POLICIES[fc.nextInt(POLICIES.length)];
+            ByteArrayOutputStream expected = new ByteArrayOutputStream();
+            try (OutputStream os = new Base64EncodeOutputStream(expected, policy, flags)) {
+                for (byte octet : message) {
+                    os.write(octet);
+                }
+            }
+            ByteArrayOutputStream actual = new ByteArrayOutputStream();
+            try (OutputStream os = new Base64EncodeOutputStream(actual, policy, flags)) {
+                writeSplit(os, message);
+            }
+            Assert.assertArrayEquals(expected.toByteArray(), actual.toByteArray());
+        }
+    }
+
+    /**
+     * Same as above, but the output is also compared after each write, so that octets held back by the policy count
+     */
+    @Test
+    public void fuzzBase64FlagsPerWrite() throws IOException {
+        final int[] flagsArray = new int[34];
+        for (int mask = 0; mask < 32; mask++) { // stop and consume on null and line-feed, with or without url
+            flagsArray[mask] = (mask & 0x3) | (mask & 0xc) << 2 | (mask & 0x10) << 4;
+        }
+        flagsArray[32] = 0x1e0;
+        flagsArray[33] = 0x121;
+        for (int flags : flagsArray) {
+            for (BufferingPolicy policy : POLICIES) {
+                byte[] message = fc.nextByteArray(fc.nextInt(SIZE >> 2));
+                for (int index = 0; index < message.length; index++) {
+                    if (fc.nextInt(20) == 0) {
+                        message[index] = (byte) (fc.nextBoolean() ? 0x00 : 0x0a);
+                    }
+                }
+                ByteArrayOutputStream expected = new ByteArrayOutputStream();
+                ByteArrayOutputStream actual = new ByteArrayOutputStream();
+                try (OutputStream single = new Base64EncodeOutputStream(expected, policy, flags);
+                     OutputStream bulk = new Base64EncodeOutputStream(actual, policy, flags)) {
+                    int offset = 0;
+                    while (offset < message.length) {
+                        int length = Math.min(message.length - offset, fc.nextInt(1, 40));
+                        for (int index = 0; index < length; index++) {
+                            single.write(message[offset + index]);
+                        }
+                        bulk.write(message, offset, length);
+                        offset += length;
+                        Assert.assertArrayEquals("flags = " + Integer.toHexString(flags) + ", policy = " + policy,
+                                expected.toByteArray(), actual.toByteArray());
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void fuzzBase32Streams() throws IOException {
+        for (int repeatIndex = 0; repeatIndex < REPEAT; repeatIndex++) {
+            byte[] message = fc.nextByteArray(fc.nextInt(SIZE));
+            boolean upperCase = fc.nextBoolean();
+            BufferingPolicy policy = POLICIES[fc.nextInt(POLICIES.length)];
+            ByteArrayOutputStream expected = new ByteArrayOutputStream();
+            try (OutputStream os = new Base32EncodeOutputStream(expected, upperCase, policy)) {
+                for (byte octet : message) {
+                    os.write(octet);
+                }
+            }
+            byte[] code = expected.toByteArray();
+            byte[] kernelCode = new byte[Base32BlockCodec.encodedLength(message.length)];
+            Assert.assertEquals(code.length, Base32BlockCodec.encode(message, 0, message.length, kernelCode, 0, upperCase));
+            Assert.assertArrayEquals(code, kernelCode);
+            ByteArrayOutputStream actual = new ByteArrayOutputStream();
+            try (OutputStream os = new Base32EncodeOutputStream(actual, upperCase, policy)) {
+                writeSplit(os, message);
+            }
+            Assert.assertArrayEquals(code, actual.toByteArray());
+            try (InputStream is = new Base32DecodeInputStream(nextSource(code), policy)) {
+                Assert.assertArrayEquals(message, readSplit(is, message.length));
+            }
+            byte[] decoded = new byte[message.length + 4];
+            Assert.assertEquals(message.length, Base32BlockCodec.decode(code, 0, code.length, decoded, 0));
+            Assert.assertArrayEquals(message, Arrays.copyOf(decoded, message.length));
+        }
+    }
+
+    @Test
+    public void fuzzBase16Streams() throws IOException {
+        for (int repeatIndex = 0; repeatIndex < REPEAT; repeatIndex++) {
+            byte[] message = fc.nextByteArray(fc.nextInt(SIZE));
+            boolean upperCase = fc.nextBoolean();
+            String hex = ByteBufUtil.hexDump(message);
+            byte[] code = ascii(upperCase ? hex.toUpperCase() : hex);
+            byte[] kernelCode = new byte[2 * message.length];
+            Assert.assertEquals(code.length, Base16BlockCodec.encode(message, 0, message.length, kernelCode, 0,
+                    upperCase ? Base16Case.UPPER_CONSTANT : Base16Case.LOWER_CONSTANT));
+            Assert.assertArrayEquals(code, kernelCode);
+            {
+                ByteArrayOutputStream actual = new ByteArrayOutputStream();
+                try (Base16EncodeOutputStream os = new Base16EncodeOutputStream(actual)) {
+                    os.setUpperCase(upperCase);
+                    writeSplit(os, message);
+                }
+                Assert.assertArrayEquals(code, actual.toByteArray());
+            }
+            try (Base16EncodeInputStream is = new Base16EncodeInputStream(nextSource(message))) {
+                is.setUpperCase(upperCase);
+                Assert.assertArrayEquals(code, readSplit(is, code.length));
+            }
+            {
+                ByteArrayOutputStream actual = new ByteArrayOutputStream();
+                try (OutputStream os = new Base16DecodeOutputStream(actual)) {
+                    writeSplit(os, code);
+                }
+                Assert.assertArrayEquals(message, actual.toByteArray());
+            }
+            try (InputStream is = new Base16DecodeInputStream(nextSource(code))) {
+                Assert.assertArrayEquals(message, readSplit(is, message.length));
+            }
+        }
+    }
+
+    @Test
+    public void benchmark() throws IOException {
+        final byte[] message = fc.nextByteArray(1 << 22);
+        final byte[] expected = Base64.getEncoder().encode(message);
+        final String[] names = {"java.util.Base64", "Base64BlockCodec", "Base64EncodeOutputStream", "Base64EncodeOutputStream single",
+                "Base64EncodeInputStream"};
+        final long[] encodeNanos = new long[names.length];
+        final long[] decodeNanos = new long[names.length];
+        Arrays.fill(encodeNanos, Long.MAX_VALUE);
+        Arrays.fill(decodeNanos, Long.MAX_VALUE);
+        final byte[] code = new byte[expected.length];
+        final byte[] decoded = new byte[message.length];
+        for (int pass = 0; pass < 4; pass++) { // first passes warm up
+            for (int index = 0; index < names.length; index++) {
+                long start = System.nanoTime();
+                switch (index) {
+                    case 0:
+                        Base64.getEncoder().encode(message, code);
+                        encodeNanos[index] = Math.min(encodeNanos[index], System.nanoTime() - start);
+                        start = System.nanoTime();
+                        Base64.getDecoder().decode(code, decoded);
+                        break;
+                    case 1:
+                        Base64BlockCodec.encode(message, 0, message.length, code, 0, false);
+                        encodeNanos[index] = Math.min(encodeNanos[index], System.nanoTime() - start);
+                        start = System.nanoTime();
+                        Base64BlockCodec.decode(code, 0, code.length, decoded, 0);
+                        break;
+                    case 2:
+                    case 3: {
+                        ByteArrayOutputStream bos = new ByteArrayOutputStream(code.length);
+                        try (OutputStream os = new Base64EncodeOutputStream(bos)) {
+                            if (index == 2) {
+                                os.write(message);
+                            } else {
+                                for (byte octet : message) {
+                                    os.write(octet);
+                                }
+                            }
+                        }
+                        encodeNanos[index] = Math.min(encodeNanos[index], System.nanoTime() - start);
+                        System.arraycopy(bos.toByteArray(), 0, code, 0, code.length);
+                        start = System.nanoTime();
+                        try (InputStream is = new Base64DecodeInputStream(new ByteArrayInputStream(code))) {
+                            if (index == 2) {
+                                is.readNBytes(decoded, 0, decoded.length);
+                            } else {
+                                for (int offset = 0; offset < decoded.length; offset++) {
+                                    decoded[offset] = (byte) is.read();
+                                }
+                            }
+                        }
+                        break;
+                    }
+                    default: {
+                        try (InputStream is = new Base64EncodeInputStream(new ByteArrayInputStream(message))) {
+                            is.readNBytes(code, 0, code.length);
+                        }
+                        encodeNanos[index] = Math.min(encodeNanos[index], System.nanoTime() - start);
+                        start = System.nanoTime();
+                        try (InputStream is = new Base64DecodeInputStream(new BufferedInputStream(new ByteArrayInputStream(code)))) {
+                            is.readNBytes(decoded, 0, decoded.length);
+                        }
+                    }
+                }
+                decodeNanos[index] = Math.min(decodeNanos[index], System.nanoTime() - start);
+                Assert.assertTrue(names[index], Arrays.equals(expected, code)); // assertArrayEquals is slow
+                Assert.assertTrue(names[index], Arrays.equals(message, decoded));
+            }
+        }
+        for (int index = 0; index < names.length; index++) {
+            System.out.printf("%-32s encode %7.1f MB/s decode %7.1f MB/s%n", names[index],
+                    1e3 * message.length / encodeNanos[index], 1e3 * message.length / decodeNanos[index]);
+        }
+    }
+}
@@ -0,0 +1,306 @@
+package mujica.io.codec;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import mujica.algebra.random.FuzzyContext;
+import mujica.reflect.function.ByteConsumer;
+import mujica.reflect.modifier.CodeHistory;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+@CodeHistory(date = "2026/10/17")
+public class UTF8BlockCodecTest {
+
+    private static final int REPEAT = 200;
+
+    private final FuzzyContext fc = new FuzzyContext();
+
+    @NotNull
+    private String nextString(int length, int kind) {
+        final StringBuilder sb = new StringBuilder(length);
+        while (sb.length() < length) {
+            switch (kind == 0 ? fc.nextInt(6) : kind) {
+                case 1:
+                    sb.append(fc.nextCharEN());
+                    break;
+                case 2:
+                    sb.append(fc.nextCharCJK());
+                    break;
+                case 3:
+                    sb.append((char) fc.nextInt(0x80, 0x800));
+                    break;
+                case 4:
+                    sb.appendCodePoint(fc.nextInt(0x10000, 0x110000));
+                    break;
+                default:
+                    sb.append(fc.nextChar());
+                    break;
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Mostly UTF-8 of random text, sometimes with random octets in it
+     */
+    @NotNull
+    private byte[] nextOctets(int length) {
+        final byte[] data = nextString(length, fc.nextInt(5)).getBytes(StandardCharsets.UTF_8);
+        if (fc.nextBoolean()) {
+            for (int count = fc.nextInt(4); count > 0 && data.length > 0; count--) {
+                data[fc.nextInt(data.length)] = fc.nextByte();
+            }
+        }
+        return data;
+    }
+
+    private static boolean isStrictUTF8(@NotNull byte[] data, int length) {
+        try {
+            StandardCharsets.UTF_8.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPORT)
+                    .onUnmappableCharacter(CodingErrorAction.REPORT)
+                    .decode(ByteBuffer.wrap(data, 0, length));
+            return true;
+        } catch (CharacterCodingException e) {
+            return false;
+        }
+    }
+
+    @Test
+    public void caseValidate() {
+        final int[][] valid = {
+                {}, {0x00}, {0x7f}, {0xc2, 0x80}, {0xdf, 0xbf}, {0xe0, 0xa0, 0x80}, {0xed, 0x9f, 0xbf}, {0xee, 0x80, 0x80},
+                {0xef, 0xbf, 0xbf}, {0xf0, 0x90, 0x80, 0x80}, {0xf4, 0x8f, 0xbf, 0xbf}
+        };
+        final int[][] invalid = {
+                {0x80}, {0xc0, 0x80}, {0xc1, 0xbf}, {0xc2}, {0xc2, 0x41}, {0xe0, 0x9f, 0xbf}, {0xed, 0xa0, 0x80},
+                {0xef, 0xbf}, {0xf0, 0x8f, 0xbf, 0xbf}, {0xf4, 0x90, 0x80, 0x80}, {0xf5, 0x80, 0x80, 0x80}, {0xff}
+        };
+        for (int[] sequence : valid) {
+            byte[] data = toBytes(sequence);
+            Assert.assertEquals(data.length, UTF8BlockCodec.validateUTF8(data, 0, data.length));
+        }
+        for (int[] sequence : invalid) {
+            byte[] data = toBytes(sequence);
+            Assert.assertEquals(0, UTF8BlockCodec.validateUTF8(data, 0, data.length));
+        }
+        final byte[] modified = toBytes(new int[] {0x41, 0xc0, 0x80, 0xed, 0xa0, 0xbd, 0xed, 0xb8, 0x80});
+        Assert.assertEquals(modified.length, UTF8BlockCodec.validateModifiedUTF8(modified, 0, modified.length));
+        Assert.assertEquals(1, UTF8BlockCodec.validateUTF8(modified, 0, modified.length));
+        final byte[] zero = {0x41, 0x00};
+        Assert.assertEquals(1, UTF8BlockCodec.validateModifiedUTF8(zero, 0, zero.length));
+    }
+
+    @NotNull
+    private static byte[] toBytes(@NotNull int[] sequence) {
+        final byte[] data = new byte[sequence.length];
+        for (int index = 0; index < data.length; index++) {
+            data[index] = (byte) sequence[index];
+        }
+        return data;
+    }
+
+    @Test
+    public void fuzzValidate() {
+        for (int repeat = 0; repeat < REPEAT; repeat++) {
+            byte[] data = nextOctets(fc.nextInt(300));
+            int valid = UTF8BlockCodec.validateUTF8(data, 0, data.length);
+            Assert.assertEquals(isStrictUTF8(data, data.length), valid == data.length);
+            Assert.assertTrue(isStrictUTF8(data, valid));
+            Assert.assertEquals(valid == data.length, UTF8BlockCodec.isUTF8(ByteBuffer.wrap(data)));
+            ByteBuffer direct = ByteBuffer.allocateDirect(data.length);
+            direct.put(data).flip();
+            Assert.assertEquals(valid == data.length, UTF8BlockCodec.isUTF8(direct));
+            Assert.assertEquals(0, direct.position());
+        }
+    }
+
+    @Test
+    public void fuzzModified() throws IOException {
+        final Charset charset = new ModifiedUTF8Charset();
+        for (int repeat = 0; repeat < REPEAT; repeat++) {
+            String string = nextString(fc.nextInt(300), fc.nextInt(5));
+            ByteArrayOutputStream bos = new ByteArrayOutputStream();
+            new DataOutputStream(bos).writeUTF(string);
+            byte[] data = Arrays.copyOfRange(bos.toByteArray(), 2, bos.size());
+            Assert.assertEquals(data.length, UTF8BlockCodec.validateModifiedUTF8(data, 0, data.length));
+            Assert.assertTrue(UTF8BlockCodec.isModifiedUTF8(Unpooled.wrappedBuffer(data)));
+            Assert.assertEquals(string, charset.decode(ByteBuffer.wrap(data)).toString());
+            ByteBuffer encoded = charset.encode(CharBuffer.wrap(string));
+            Assert.assertArrayEquals(data, Arrays.copyOf(encoded.array(), encoded.limit()));
+        }
+    }
+
+    @NotNull
+    private static String pushAll(@NotNull byte[] data) {
+        final UTF8PushPullDecoder decoder = new UTF8PushPullDecoder();
+        final StringBuilder sb = new StringBuilder();
+        for (byte octet : data) {
+            decoder.push(octet, sb);
+        }
+        decoder.finishPush(sb);
+        return sb.toString();
+    }
+
+    @Test
+    public void fuzzDecode() {
+        final UTF8PushPullDecoder decoder = new UTF8PushPullDecoder();
+        for (int repeat = 0; repeat < REPEAT; repeat++) {
+            byte[] data = nextOctets(fc.nextInt(400));
+            StringBuilder sb = new StringBuilder();
+            decoder.reset();
+            for (int offset = 0; offset < data.length; ) {
+                int length = Math.min(data.length - offset, fc.nextInt(1, 50));
+                switch (fc.nextInt(4)) {
+                    case 0: {
+                        char[] chars = new char[length + 1];
+                        sb.append(chars, 0, decoder.decode(data, offset, length, chars, 0));
+                        break;
+                    }
+                    case 1:
+                        decoder.decode(data, offset, length, sb);
+                        break;
+                    case 2: {
+                        ByteBuffer direct = ByteBuffer.allocateDirect(length);
+                        direct.put(data, offset, length).flip();
+                        decoder.decode(direct, sb);
+                        Assert.assertFalse(direct.hasRemaining());
+                        break;
+                    }
+                    default: {
+                        ByteBuf buf = Unpooled.directBuffer(length).writeBytes(data, offset, length);
+                        decoder.decode(buf, sb);
+                        Assert.assertFalse(buf.isReadable());
+                        buf.release();
+                        break;
+                    }
+                }
+                offset += length;
+            }
+            decoder.finishPush(sb);
+            Assert.assertEquals(pushAll(data), sb.toString());
+        }
+    }
+
+    @NotNull
+    private static byte[] pushAll(@NotNull String string) {
+        final UTF8PushPullEncoder encoder = new UTF8PushPullEncoder();
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        final ByteConsumer out = bos::write;
+        for (int index = 0; index < string.length(); index++) {
+            encoder.push(string.charAt(index), out);
+        }
+        encoder.finishPush(out);
+        return bos.toByteArray();
+    }
+
+    @Test
+    public void fuzzEncode() {
+        final UTF8PushPullEncoder encoder = new UTF8PushPullEncoder();
+        for (int repeat = 0; repeat < REPEAT; repeat++) {
+            String string = nextString(fc.nextInt(400), 0);
+            ByteBuf buf = Unpooled.buffer();
+            encoder.reset();
+            for (int start = 0; start < string.length(); ) {
+                int end = Math.min(string.length(), start + fc.nextInt(1, 50));
+                switch (fc.nextInt(3)) {
+                    case 0: {
+                        byte[] bytes = new byte[3 * (end - start) + 3];
+                        buf.writeBytes(bytes, 0, encoder.encode(string.toCharArray(), start, end - start, bytes, 0));
+                        break;
+                    }
+                    case 1:
+                        encoder.encode(new StringBuilder(string.substring(start, end)), buf);
+                        break;
+                    default: {
+                        ByteBuffer bb = ByteBuffer.allocate(3 * (end - start) + 3);
+                        encoder.encode(string.subSequence(start, end), bb);
+                        buf.writeBytes(bb.flip());
+                        break;
+                    }
+                }
+                start = end;
+            }
+            encoder.finishPush(buf);
+            byte[] expected = pushAll(string);
+            byte[] actual = new byte[buf.readableBytes()];
+            buf.readBytes(actual);
+            Assert.assertArrayEquals(expected, actual);
+        }
+    }
+
+    @Test
+    public void benchmark() {
+        final String[] corpora = {"mostly ASCII", "CJK"};
+        final String[] names = {"StandardCharsets.UTF_8", "block", "push"};
+        for (int corpus = 0; corpus < corpora.length; corpus++) {
+            StringBuilder sb = new StringBuilder();
+            while (sb.length() < 1 << 20) {
+                sb.append(corpus == 0 ? (fc.nextInt(200) == 0 ? fc.nextCharCJK() : fc.nextCharEN()) : fc.nextCharCJK());
+            }
+            String string = sb.toString();
+            byte[] data = string.getBytes(StandardCharsets.UTF_8);
+            char[] chars = new char[string.length() + 1];
+            byte[] bytes = new byte[3 * string.length() + 3];
+            long[] decodeNanos = new long[names.length];
+            long[] encodeNanos = new long[names.length];
+            Arrays.fill(decodeNanos, Long.MAX_VALUE);
+            Arrays.fill(encodeNanos, Long.MAX_VALUE);
+            UTF8PushPullDecoder decoder = new UTF8PushPullDecoder();
+            UTF8PushPullEncoder encoder = new UTF8PushPullEncoder();
+            for (int pass = 0; pass < 5; pass++) { // first passes warm up
+                for (int index = 0; index < names.length; index++) {
+                    String decoded;
+                    byte[] encoded;
+                    long start = System.nanoTime();
+                    switch (index) {
+                        case 0:
+                            decoded = new String(data, StandardCharsets.UTF_8);
+                            decodeNanos[index] = Math.min(decodeNanos[index], System.nanoTime() - start);
+                            start = System.nanoTime();
+                            encoded = string.getBytes(StandardCharsets.UTF_8);
+                            break;
+                        case 1:
+                            decoded = new String(chars, 0, decoder.decode(data, 0, data.length, chars, 0));
+                            decodeNanos[index] = Math.min(decodeNanos[index], System.nanoTime() - start);
+                            start = System.nanoTime();
+                            encoded = Arrays.copyOf(bytes, encoder.encode(string, 0, string.length(), bytes, 0));
+                            break;
+                        default:
+                            decoded = pushAll(data);
+                            decodeNanos[index] = Math.min(decodeNanos[index], System.nanoTime() - start);
+                            start = System.nanoTime();
+                            encoded = pushAll(string);
+                            break;
+                    }
+                    encodeNanos[index] = Math.min(encodeNanos[index], System.nanoTime() - start);
+                    Assert.assertEquals(string, decoded);
+                    Assert.assertTrue(Arrays.equals(data, encoded));
+                }
+            }
+            for (int index = 0; index < names.length; index++) {
+                System.out.printf("%s %s decode %.1f MB/s, encode %.1f MB/s%n", corpora[corpus], names[index],
+                        1e3 * data.length / decodeNanos[index], 1e3 * data.length / encodeNanos[index]);
+            }
+            long validateNanos = Long.MAX_VALUE;
+            for (int pass = 0; pass < 5; pass++) {
+                long start = System.nanoTime();
+                Assert.assertEquals(data.length, UTF8BlockCodec.validateUTF8(data, 0, data.length));
+                validateNanos = Math.min(validateNanos, System.nanoTime() - start);
+            }
+            System.out.printf("%s validate %.1f MB/s%n", corpora[corpus], 1e3 * data.length / validateNanos);
+        }
+    }
+}
@@ -0,0 +1,285 @@
+package mujica.io.compress;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import mujica.algebra.random.FuzzyContext;
+import mujica.ds.i32.map.JdkI32Map;
+import mujica.ds.i8.run.CyclicArrayRunBuffer;
+import mujica.reflect.modifier.CodeHistory;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.*;
+
+@CodeHistory(date = "2026/10/17")
+public class BulkInflateTest {
+
+    @BeforeClass
+    public static void initializeNetty() {
+        final ByteBuf buf = Unpooled.buffer();
+        ByteBufUtil.hexDump(buf);
+        buf.release();
+    }
+
+    private static final int REPEAT = 80;
+
+    private static final int SIZE = 300000;
+
+    private final FuzzyContext fc = new FuzzyContext();
+
+    /**
+     * Random bytes, with runs and copies of earlier parts
+     */
+    @NotNull
+    private byte[] nextCompressible(int size) {
+        final byte[] array = new byte[size];
+        final int alphabet = fc.nextBoolean() ? 256 : fc.nextInt(2, 40);
+        int index = 0;
+        while (index < size) {
+            int length = Math.min(size - index, fc.nextInt(1, 300));
+            int distance = index > 0 ? fc.nextInt(1, Math.min(index, 40000) + 1) : 0;
+            for (int end = index + length; index < end; index++) {
+                array[index] = distance != 0 && fc.nextInt(3) != 0 ? array[index - distance] : (byte) fc.nextInt(alphabet);
+            }
+        }
+        return array;
+    }
+
+    @NotNull
+    private byte[] deflate(@NotNull byte[] data) {
+        final Deflater deflater = new Deflater(fc.nextInt(Deflater.NO_COMPRESSION, Deflater.BEST_COMPRESSION + 1), true);
+        deflater.setStrategy(new int[] {Deflater.DEFAULT_STRATEGY, Deflater.FILTERED, Deflater.HUFFMAN_ONLY}[fc.nextInt(3)]);
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[0x1000];
+        int offset = 0;
+        while (offset < data.length) { // sync flushes make empty stored blocks
+            int length = Math.min(data.length - offset, fc.nextInt(1, 100000));
+            deflater.setInput(data, offset, length);
+            offset += length;
+            int flush = fc.nextInt(4) == 0 ? Deflater.SYNC_FLUSH : Deflater.NO_FLUSH;
+            int count;
+            do {
+                count = deflater.deflate(buffer, 0, buffer.length, flush);
+                bos.write(buffer, 0, count);
+            } while (count == buffer.length || !deflater.needsInput());
+        }
+        deflater.finish();
+        while (!deflater.finished()) {
+            bos.write(buffer, 0, deflater.deflate(buffer));
+        }
+        deflater.end();
+        return bos.toByteArray();
+    }
+
+    /**
+     * Returns at most a few bytes each call, for the slow refill path
+     */
+    @CodeHistory(date = "2026/10/17")
+    private static class TrickleInputStream extends FilterInputStream {
+
+        final int limit;
+
+        TrickleInputStream(@NotNull InputStream in, int limit) {
+            super(in);
+            this.limit = limit;
+        }
+
+        @Override
+        public int read(@NotNull byte[] array, int offset, int length) throws IOException {
+            return super.read(array, offset, Math.min(length, limit));
+        }
+    }
+
+    @NotNull
+    private BulkInflateInputStream nextInflater(@NotNull byte[] compressed) {
+        final InputStream in = new ByteArrayInputStream(compressed);
+        switch (fc.nextInt(3)) {
+            case 0:
+                return new BulkInflateInputStream(in);
+            case 1:
+                return new BulkInflateInputStream(new TrickleInputStream(in, fc.nextInt(1, 20)), fc.nextInt(8, 100), 0x8400);
+            default:
+                return new BulkInflateInputStream(in, fc.nextInt(8, 0x10000), fc.nextInt(0x8400, 0x40000));
+        }
+    }
+
+    private void readAll(@NotNull byte[] expected, @NotNull InputStream in) throws IOException {
+        int offset = 0;
+        while (offset < expected.length) {
+            if (fc.nextInt(10) == 0) {
+                Assert.assertEquals(0xff & expected[offset++], in.read());
+            } else {
+                byte[] actual = in.readNBytes(Math.min(expected.length - offset, fc.nextInt(1, 70000)));
+                for (int index = 0; index < actual.length; index++) {
+                    if (expected[offset + index] != actual[index]) {
+                        Assert.fail("offset = " + (offset + index) + ", " + in);
+                    }
+                }
+                offset += actual.length;
+            }
+        }
+        Assert.assertEquals(-1, in.read());
+    }
+
+    @Test
+    public void fuzzRaw() throws IOException {
+        for (int repeatIndex = 0; repeatIndex < REPEAT; repeatIndex++) {
+            byte[] expected = nextCompressible(fc.nextInt(SIZE));
+            try (BulkInflateInputStream in = nextInflater(deflate(expected))) {
+                readAll(expected, in);
+            }
+        }
+    }
+
+    @Test
+    public void fuzzTowboat() throws IOException {
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        for (int repeatIndex = 0; repeatIndex < REPEAT; repeatIndex++) {
+            byte[] expected = nextCompressible(fc.nextInt(SIZE));
+            bos.reset();
+            try (TowboatDeflateOutputStream dos = new TowboatDeflateOutputStream(bos, fc.nextInt(1, 10))) {
+                dos.write(expected);
+            }
+            try (BulkInflateInputStream in = nextInflater(bos.toByteArray())) {
+                readAll(expected, in);
+            }
+        }
+    }
+
+    @Test
+    public void fuzzGzip() throws IOException {
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        for (int repeatIndex = 0; repeatIndex < REPEAT; repeatIndex++) {
+            byte[] expected = nextCompressible(fc.nextInt(SIZE));
+            bos.reset();
+            try (GZIPOutputStream gos = new GZIPOutputStream(bos)) {
+                gos.write(expected);
+            }
+            bos.write(0x5a); // trailing garbage after the member
+            byte[] compressed = bos.toByteArray();
+            InputStream source = new ByteArrayInputStream(compressed);
+            try (InputStream in = WrapperGzipInputStream.create(source, fc.nextBoolean() ? BulkInflateInputStream::new
+                    : input -> new BulkInflateInputStream(new TrickleInputStream(input, 3), 8, 0x8400))) {
+                readAll(expected, in);
+            }
+        }
+    }
+
+    @Test
+    public void caseTruncated() throws IOException {
+        final byte[] expected = nextCompressible(50000);
+        final byte[] compressed = deflate(expected);
+        for (int length = 0; length < compressed.length; length += fc.nextInt(1, 500)) {
+            try (BulkInflateInputStream in = new BulkInflateInputStream(new ByteArrayInputStream(compressed, 0, length))) {
+                in.readNBytes(expected.length + 1);
+                Assert.fail("length = " + length);
+            } catch (IOException e) {
+                // pass
+            }
+        }
+    }
+
+    @Test
+    public void caseCorrupt() throws IOException {
+        for (int repeatIndex = 0; repeatIndex < 2000; repeatIndex++) {
+            byte[] compressed = deflate(nextCompressible(fc.nextInt(5000)));
+            for (int flip = fc.nextInt(1, 4); flip > 0; flip--) {
+                compressed[fc.nextInt(compressed.length)] ^= (byte) (1 << fc.nextInt(8));
+            }
+            try (BulkInflateInputStream in = new BulkInflateInputStream(new ByteArrayInputStream(compressed))) {
+                in.readAllBytes();
+            } catch (IOException e) {
+                // expected mostly, but a flipped bit may still decode
+            }
+        }
+    }
+
+    @NotNull
+    private static byte[] corpusInput() throws IOException {
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (ZipInputStream zis = new ZipInputStream(BulkInflateTest.class.getResourceAsStream("zip/deflate-ffmpeg.html.zip"))) {
+            Assert.assertNotNull(zis.getNextEntry());
+            byte[] html = zis.readAllBytes();
+            for (int repeat = 0; repeat < 8; repeat++) {
+                bos.write(html);
+            }
+        }
+        try (ZipInputStream zis = new ZipInputStream(BulkInflateTest.class.getResourceAsStream("zip/deflate-git.exe.zip"))) {
+            Assert.assertNotNull(zis.getNextEntry());
+            bos.write(zis.readAllBytes());
+        }
+        return bos.toByteArray();
+    }
+
+    private static long time(@NotNull AbstractInflateInputStream.Constructor1 constructor, @NotNull byte[] compressed, @NotNull byte[] buffer, int expected) throws IOException {
+        long best = Long.MAX_VALUE;
+        for (int pass = 0; pass < 4; pass++) { // first passes warm up
+            long start = System.nanoTime();
+            int total = 0;
+            try (InputStream in = constructor.apply(new ByteArrayInputStream(compressed))) {
+                int count;
+                while ((count = in.read(buffer)) != -1) {
+                    total += count;
+                }
+            }
+            best = Math.min(best, System.nanoTime() - start);
+            Assert.assertEquals(expected, total);
+        }
+        return best;
+    }
+
+    @Test
+    public void benchmark() throws IOException {
+        final byte[] data = corpusInput();
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (DeflaterOutputStream dos = new DeflaterOutputStream(bos, new Deflater(6, true))) {
+            dos.write(data);
+        }
+        final byte[] compressed = bos.toByteArray();
+        final byte[] buffer = new byte[1 << 16];
+        final String[] names = {"Inflater", "BulkInflateInputStream", "JdkInflateInputStream", "TableInflateInputStream",
+                "TreeInflateInputStream", "ObjectMapInflateInputStream", "IntMapInflateInputStream.Prefix"};
+        final AbstractInflateInputStream.Constructor1[] constructors = {
+                null,
+                BulkInflateInputStream::new,
+                in -> new JdkInflateInputStream(in, 1 << 14),
+                in -> new TableInflateInputStream(in, new CyclicArrayRunBuffer(AbstractInflateInputStream.MAX_RUN_BUFFER_DISTANCE)),
+                in -> new TreeInflateInputStream(in, new CyclicArrayRunBuffer(AbstractInflateInputStream.MAX_RUN_BUFFER_DISTANCE)),
+                in -> new ObjectMapInflateInputStream(in, new CyclicArrayRunBuffer(AbstractInflateInputStream.MAX_RUN_BUFFER_DISTANCE)),
+                in -> new IntMapInflateInputStream.Prefix(in, new CyclicArrayRunBuffer(AbstractInflateInputStream.MAX_RUN_BUFFER_DISTANCE), JdkI32Map::new)
+        };
+        final long[] nanos = new long[names.length];
+        for (int pass = 0; pass < 4; pass++) {
+            long start = System.nanoTime();
+            Inflater inflater = new Inflater(true);
+            inflater.setInput(compressed);
+            int total = 0;
+            try {
+                while (!inflater.finished()) {
+                    total += inflater.inflate(buffer);
+                }
+            } catch (DataFormatException e) {
+                throw new IOException(e);
+            }
+            inflater.end();
+            Assert.assertEquals(data.length, total);
+            long elapsed = System.nanoTime() - start;
+            nanos[0] = pass == 0 ? elapsed : Math.min(nanos[0], elapsed);
+        }
+        for (int index = 1; index < names.length; index++) {
+            nanos[index] = time(constructors[index], compressed, buffer, data.length);
+        }
+        for (int index = 0; index < names.length; index++) {
+            System.out.printf("%-32s %8.1f MB/s %6.2fx%n", names[index], 1e3 * data.length / nanos[index], (double) nanos[index] / nanos[0]);
+        }
+        Assert.assertTrue(nanos[1] < 3L * nanos[0]); // 1.5x is the target, with margin for noisy machines
+    }
+}
@@ -0,0 +1,163 @@
+package mujica.io.compress;
+
+import mujica.algebra.random.FuzzyContext;
+import mujica.ds.i8.run.CyclicArrayRunBuffer;
+import mujica.reflect.modifier.CodeHistory;
+import org.jetbrains.annotations.NotNull;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.zip.GZIPOutputStream;
+
+@CodeHistory(date = "2026/10/17")
+public class GzipIndexTest {
+
+    private static final int SPAN = 1 << 16;
+
+    private static byte[] content;
+
+    private static Path path;
+
+    private final FuzzyContext fc = new FuzzyContext();
+
+    @BeforeClass
+    public static void createFile() throws IOException {
+        content = ParallelGzipOutputStreamTest.log(60000, 7L);
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(bos)) { // zlib blocks
+            out.write(content, 0, content.length / 3);
+        }
+        try (TowboatDeflateOutputStream out = TowboatDeflateOutputStream.gzip(bos, 9)) { // a second member
+            out.write(content, content.length / 3, content.length / 3);
+        }
+        try (GZIPOutputStream out = new GZIPOutputStream(bos)) { // an empty member
+            out.flush();
+        }
+        try (TowboatDeflateOutputStream out = TowboatDeflateOutputStream.gzip(bos, 1)) {
+            out.write(content, 2 * (content.length / 3), content.length - 2 * (content.length / 3));
+        }
+        path = Files.createTempFile("GzipIndexTest", ".gz");
+        Files.write(path, bos.toByteArray());
+    }
+
+    @AfterClass
+    public static void deleteFile() throws IOException {
+        Files.deleteIfExists(path);
+    }
+
+    @NotNull
+    private static GzipIndex index() throws IOException {
+        try (InputStream in = Files.newInputStream(path)) {
+            return GzipIndex.build(in, SPAN);
+        }
+    }
+
+    @Test
+    public void caseRandomAccess() throws IOException {
+        final GzipIndex index = index();
+        Assert.assertEquals(content.length, index.uncompressedSize());
+        Assert.assertTrue(index.toString(), index.checkpointCount() > 8); // four members, and blocks of about 200K bytes
+        try (FileChannel channel = FileChannel.open(path)) {
+            for (int round = 0; round < 200; round++) {
+                int offset = round == 0 ? content.length : fc.nextInt(content.length);
+                int length = Math.min(content.length - offset, fc.nextInt(1, 100000));
+                try (InputStream in = index.open(channel, offset)) {
+                    Assert.assertArrayEquals("offset = " + offset, Arrays.copyOfRange(content, offset, offset + length), in.readNBytes(length));
+                    if (offset + length == content.length) {
+                        Assert.assertEquals(-1, in.read());
+                    }
+                }
+            }
+        }
+    }
+
+    private void checkRandomAccess(@NotNull GzipIndex index, @NotNull FileChannel channel) throws IOException {
+        Assert.assertEquals(content.length, index.uncompressedSize());
+        for (int round = 0; round < 50; round++) {
+            int offset = fc.nextInt(content.length);
+            int length = Math.min(content.length - offset, fc.nextInt(1, 100000));
+            try (InputStream in = index.open(channel, offset)) {
+                Assert.assertArrayEquals("offset = " + offset, Arrays.copyOfRange(content, offset, offset + length), in.readNBytes(length));
+            }
+        }
+    }
+
+    /**
+     * The gzip data starts after other bytes in the file
+     */
+    @Test
+    public void caseOrigin() throws IOException {
+        final byte[] compressed = Files.readAllBytes(path);
+        final int origin = 1000 + fc.nextInt(1000);
+        final byte[] array = new byte[origin + compressed.length];
+        System.arraycopy(compressed, 0, array, origin, compressed.length);
+        final Path embedded = Files.createTempFile("GzipIndexTest", ".bin");
+        try {
+            Files.write(embedded, array);
+            try (FileChannel channel = FileChannel.open(embedded)) {
+                channel.position(origin);
+                GzipIndex index = GzipIndex.build(channel, SPAN);
+                Assert.assertEquals(origin, index.origin());
+                checkRandomAccess(index, channel);
+                index = GzipIndex.build(new ByteArrayInputStream(array, origin, compressed.length), origin, SPAN,
+                        in -> new ObjectMapInflateInputStream(in, new CyclicArrayRunBuffer(1 << 15)));
+                Assert.assertTrue(index.checkpointCount() > 8);
+                checkRandomAccess(index, channel);
+            }
+        } finally {
+            Files.delete(embedded);
+        }
+    }
+
+    @Test
+    public void caseCorrupt() throws IOException {
+        final byte[] compressed = Files.readAllBytes(path);
+        compressed[compressed.length - 5] ^= 1; // the CRC of the last member
+        try {
+            GzipIndex.build(new ByteArrayInputStream(compressed), SPAN);
+            Assert.fail();
+        } catch (CompressAlgorithmException e) {
+            // pass
+        }
+    }
+
+    @Test
+    public void benchmark() throws IOException {
+        final GzipIndex index = index();
+        final int rounds = 50;
+        long scanNanos = 0L;
+        long seekNanos = 0L;
+        try (FileChannel channel = FileChannel.open(path)) {
+            for (int pass = 0; pass < 2; pass++) { // first pass warms up
+                long start = System.nanoTime();
+                for (int round = 0; round < rounds; round++) {
+                    try (InputStream in = index.open(channel, 0L)) { // a full scan from the start
+                        in.skipNBytes(content.length - 100 - round);
+                        Assert.assertEquals(content[content.length - 100 - round] & 0xff, in.read());
+                    }
+                }
+                scanNanos = System.nanoTime() - start;
+                start = System.nanoTime();
+                for (int round = 0; round < rounds; round++) {
+                    try (InputStream in = index.open(channel, content.length - 100 - round)) {
+                        Assert.assertEquals(content[content.length - 100 - round] & 0xff, in.read());
+                    }
+                }
+                seekNanos = System.nanoTime() - start;
+            }
+        }
+        System.out.printf("%d bytes, %d checkpoints, %d window bytes: scan %.2f ms, seek %.2f ms%n", content.length, index.checkpointCount(),
+                index.windowSize(), 1e-6 * scanNanos / rounds, 1e-6 * seekNanos / rounds);
+        Assert.assertTrue(seekNanos < scanNanos);
+    }
+}
@@ -109,7 +109,7 @@ public class InflateTest {
 
     @NotNull
     private InputStream nextInflateInputStream(@NotNull InputStream in) {
-        switch (fc.nextInt(10)) {
+        switch (fc.nextInt(11)) {
             case 0:
                 return new IntMapInflateInputStream.Prefix(in, nextRunBuffer(), nextDecodeMapSupplier());
             case 1:
@@ -128,6 +128,8 @@ public class InflateTest {
                 return new JdkInflateInputStream(in, fc.nextInt(0x80, 0x1000));
             case 9:
                 return new InflaterInputStream(in, new Inflater(true));
+            case 10:
+                return new BulkInflateInputStream(in, fc.nextInt(8, 0x1000), fc.nextInt(0x8400, 0x20000));
             default:
                 throw new IllegalStateException();
         }
@@ -170,7 +172,7 @@ public class InflateTest {
 
     @NotNull
     private AbstractInflateInputStream.Constructor2 nextInflateInputStreamConstructor2() {
-        switch (fc.nextInt(10)) {
+        switch (fc.nextInt(11)) {
             case 0:
                 return (in, maxDistance) -> new IntMapInflateInputStream.Prefix(in, nextRunBuffer(maxDistance), nextDecodeMapSupplier());
             case 1:
@@ -189,6 +191,8 @@ public class InflateTest {
                 return (in, maxDistance) -> new TableInflateInputStream(in, nextRunBuffer(maxDistance));
             case 9:
                 return (in, maxDistance) -> new JdkInflateInputStream(in, fc.nextInt(0x80, 0x1000));
+            case 10:
+                return (in, maxDistance) -> new BulkInflateInputStream(in);
             default:
                 throw new IllegalStateException();
         }
@@ -231,7 +235,7 @@ public class InflateTest {
 
     @NotNull
     private AbstractInflateInputStream.Constructor1 nextInflateInputStreamConstructor1() {
-        switch (fc.nextInt(10)) {
+        switch (fc.nextInt(11)) {
             case 0:
                 return in -> new IntMapInflateInputStream.Prefix(in, nextRunBuffer(), nextDecodeMapSupplier());
             case 1:
@@ -249,6 +253,8 @@ public class InflateTest {
                 return in -> new TableInflateInputStream(in, nextRunBuffer());
             case 9:
                 return in -> new JdkInflateInputStream(in, fc.nextInt(0x80, 0x1000));
+            case 10:
+                return in -> new BulkInflateInputStream(in, fc.nextInt(8, 0x1000), fc.nextInt(0x8400, 0x20000));
             default:
                 throw new IllegalStateException();
         }
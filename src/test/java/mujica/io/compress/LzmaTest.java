@@ -0,0 +1,273 @@
+package mujica.io.compress;
+
+import mujica.algebra.random.FuzzyContext;
+import mujica.reflect.modifier.CodeHistory;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.*;
+import java.util.Objects;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.ZipInputStream;
+
+@CodeHistory(date = "2026/10/17")
+public class LzmaTest {
+
+    private static final String DIRECTORY = "xz/";
+
+    private static final int REPEAT = 30;
+
+    private static final int SIZE = 200000;
+
+    private final FuzzyContext fc = new FuzzyContext();
+
+    @NotNull
+    private static byte[] resource(@NotNull String name) throws IOException {
+        try (InputStream in = LzmaTest.class.getResourceAsStream(DIRECTORY + name)) {
+            return Objects.requireNonNull(in).readAllBytes();
+        }
+    }
+
+    /**
+     * Random bytes, with runs and copies of earlier parts
+     */
+    @NotNull
+    private byte[] nextCompressible(int size) {
+        final byte[] array = new byte[size];
+        final int alphabet = fc.nextBoolean() ? 256 : fc.nextInt(2, 40);
+        int index = 0;
+        while (index < size) {
+            int length = Math.min(size - index, fc.nextInt(1, 300));
+            int distance = index > 0 ? fc.nextInt(1, Math.min(index, 100000) + 1) : 0;
+            for (int end = index + length; index < end; index++) {
+                array[index] = distance != 0 && fc.nextInt(3) != 0 ? array[index - distance] : (byte) fc.nextInt(alphabet);
+            }
+        }
+        return array;
+    }
+
+    /**
+     * Returns at most a few bytes each call
+     */
+    @CodeHistory(date = "2026/10/17")
+    private static class TrickleInputStream extends FilterInputStream {
+
+        final int limit;
+
+        TrickleInputStream(@NotNull InputStream in, int limit) {
+            super(in);
+            this.limit = limit;
+        }
+
+        @Override
+        public int read(@NotNull byte[] array, int offset, int length) throws IOException {
+            return super.read(array, offset, Math.min(length, limit));
+        }
+    }
+
+    @NotNull
+    private InputStream nextSource(@NotNull byte[] data) {
+        final InputStream in = new ByteArrayInputStream(data);
+        return fc.nextInt(4) == 0 ? new TrickleInputStream(in, fc.nextInt(1, 3000)) : in;
+    }
+
+    private void readAll(@NotNull byte[] expected, @NotNull InputStream in) throws IOException {
+        int offset = 0;
+        while (offset < expected.length) {
+            if (fc.nextInt(10) == 0) {
+                Assert.assertEquals(0xff & expected[offset++], in.read());
+            } else {
+                byte[] actual = in.readNBytes(Math.min(expected.length - offset, fc.nextInt(1, 70000)));
+                Assert.assertTrue(actual.length > 0);
+                for (int index = 0; index < actual.length; index++) {
+                    if (expected[offset + index] != actual[index]) {
+                        Assert.fail("offset = " + (offset + index) + ", " + in);
+                    }
+                }
+                offset += actual.length;
+            }
+        }
+        Assert.assertEquals(-1, in.read());
+    }
+
+    @Test
+    public void caseReferenceXz() throws IOException {
+        final byte[] sample = resource("sample.txt");
+        for (String name : new String[] {"sample-crc32.xz", "sample-crc64.xz", "sample-sha256.xz", "sample-none.xz",
+                "sample-blocks.xz", "sample-concat.xz"}) {
+            try (InputStream in = new XzDecodeInputStream(nextSource(resource(name)))) {
+                readAll(sample, in);
+            }
+        }
+        try (InputStream in = new XzDecodeInputStream(new ByteArrayInputStream(resource("random.xz")))) {
+            readAll(resource("random.bin"), in); // uncompressed chunks
+        }
+    }
+
+    @Test
+    public void caseReferenceLzma() throws IOException {
+        try (InputStream in = LzmaDecodeInputStream.alone(new BufferedInputStream(nextSource(resource("sample.lzma"))))) {
+            readAll(resource("sample.txt"), in);
+        }
+    }
+
+    @Test
+    public void caseReferenceCorrupt() throws IOException {
+        final byte[] compressed = resource("sample-crc64.xz");
+        for (int repeatIndex = 0; repeatIndex < 300; repeatIndex++) {
+            byte[] corrupt = compressed.clone();
+            corrupt[fc.nextInt(corrupt.length)] ^= (byte) (1 << fc.nextInt(8));
+            try (InputStream in = new XzDecodeInputStream(new ByteArrayInputStream(corrupt))) {
+                in.readAllBytes();
+                Assert.fail(); // every byte is covered by a check
+            } catch (IOException e) {
+                // pass
+            }
+        }
+    }
+
+    @Test
+    public void caseTruncated() throws IOException {
+        final byte[] compressed = resource("sample-blocks.xz");
+        for (int length = 0; length < compressed.length; length += fc.nextInt(1, 300)) {
+            try (InputStream in = new XzDecodeInputStream(new ByteArrayInputStream(compressed, 0, length))) {
+                in.readAllBytes();
+                Assert.fail("length = " + length);
+            } catch (IOException e) {
+                // pass
+            }
+        }
+    }
+
+    @Test
+    public void caseEmpty() throws IOException {
+        final byte[] empty = new byte[0];
+        try (InputStream in = LzmaDecodeInputStream.alone(new LzmaEncodeInputStream(new ByteArrayInputStream(empty)))) {
+            Assert.assertEquals(-1, in.read());
+        }
+        try (InputStream in = new XzDecodeInputStream(new XzEncodeInputStream(new ByteArrayInputStream(empty)))) {
+            Assert.assertEquals(-1, in.read());
+        }
+        try (InputStream in = new XzDecodeInputStream(new XzEncodeInputStream(new ByteArrayInputStream(new byte[] {42})))) {
+            Assert.assertEquals(42, in.read());
+            Assert.assertEquals(-1, in.read());
+        }
+    }
+
+    @Test
+    public void fuzzLzma() throws IOException {
+        for (int repeatIndex = 0; repeatIndex < REPEAT; repeatIndex++) {
+            byte[] expected = nextCompressible(fc.nextInt(SIZE));
+            byte[] compressed;
+            try (InputStream in = new LzmaEncodeInputStream(nextSource(expected), fc.nextInt(9), fc.nextInt(5), fc.nextInt(5),
+                    fc.nextInt(1 << 12, 1 << 20), fc.nextInt(8, LzmaCoder.MATCH_LEN_MAX + 1), fc.nextBoolean())) {
+                compressed = in.readAllBytes();
+            }
+            try (InputStream in = LzmaDecodeInputStream.alone(nextSource(compressed))) {
+                readAll(expected, in);
+            }
+        }
+    }
+
+    @Test
+    public void fuzzXz() throws IOException {
+        final int[] checkTypes = {XzEncodeInputStream.CHECK_NONE, XzEncodeInputStream.CHECK_CRC32,
+                XzEncodeInputStream.CHECK_CRC64, XzEncodeInputStream.CHECK_SHA256};
+        for (int repeatIndex = 0; repeatIndex < REPEAT; repeatIndex++) {
+            byte[] expected = nextCompressible(fc.nextInt(SIZE));
+            int lc = fc.nextInt(5);
+            byte[] compressed;
+            try (InputStream in = new XzEncodeInputStream(nextSource(expected), checkTypes[fc.nextInt(checkTypes.length)],
+                    lc, fc.nextInt(5 - lc), fc.nextInt(5), fc.nextInt(1 << 12, 1 << 20), fc.nextInt(8, LzmaCoder.MATCH_LEN_MAX + 1), fc.nextBoolean())) {
+                compressed = in.readAllBytes();
+            }
+            try (InputStream in = new XzDecodeInputStream(nextSource(compressed))) {
+                readAll(expected, in);
+            }
+        }
+    }
+
+    @Test
+    public void caseLarge() throws IOException {
+        // more than one LZMA2 chunk, and the window moves many times with the small dictionary
+        final byte[] expected = nextCompressible(5 << 20);
+        for (int index = 3 << 20; index < (4 << 20); index++) {
+            expected[index] = (byte) fc.nextInt(256); // incompressible, for uncompressed chunks
+        }
+        for (boolean bt4 : new boolean[] {true, false}) {
+            byte[] compressed;
+            try (InputStream in = new XzEncodeInputStream(new ByteArrayInputStream(expected), XzEncodeInputStream.CHECK_CRC32,
+                    3, 0, 2, 1 << 16, 32, bt4)) {
+                compressed = in.readAllBytes();
+            }
+            try (InputStream in = new XzDecodeInputStream(new ByteArrayInputStream(compressed))) {
+                readAll(expected, in);
+            }
+        }
+    }
+
+    @NotNull
+    private static byte[] corpusInput() throws IOException {
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        for (String name : new String[] {"zip/deflate-ffmpeg.html.zip", "zip/deflate-git.exe.zip", "zip/deflate-web.xml.zip"}) {
+            try (ZipInputStream zis = new ZipInputStream(LzmaTest.class.getResourceAsStream(name))) {
+                Assert.assertNotNull(zis.getNextEntry());
+                bos.write(zis.readAllBytes());
+            }
+        }
+        bos.write(resource("sample.txt"));
+        return bos.toByteArray();
+    }
+
+    @NotNull
+    private static byte[] readFully(@NotNull InputStream in) throws IOException {
+        try (in) {
+            return in.readAllBytes();
+        }
+    }
+
+    @Test
+    public void benchmark() throws IOException {
+        final byte[] data = corpusInput();
+        final String[] names = {"Deflater 6", "TowboatDeflateOutputStream 6", "XzEncodeInputStream HC4", "XzEncodeInputStream BT4"};
+        final long[] sizes = new long[names.length];
+        final long[] encodeNanos = new long[names.length];
+        final long[] decodeNanos = new long[names.length];
+        for (int index = 0; index < names.length; index++) {
+            encodeNanos[index] = Long.MAX_VALUE;
+            decodeNanos[index] = Long.MAX_VALUE;
+            for (int pass = 0; pass < 3; pass++) { // first passes warm up
+                long start = System.nanoTime();
+                byte[] compressed;
+                InputStream decoder;
+                if (index < 2) {
+                    ByteArrayOutputStream bos = new ByteArrayOutputStream();
+                    try (OutputStream os = index == 0 ? new DeflaterOutputStream(bos, new Deflater(6, true)) : new TowboatDeflateOutputStream(bos, 6)) {
+                        os.write(data);
+                    }
+                    compressed = bos.toByteArray();
+                    encodeNanos[index] = Math.min(encodeNanos[index], System.nanoTime() - start);
+                    start = System.nanoTime();
+                    decoder = new BulkInflateInputStream(new ByteArrayInputStream(compressed));
+                } else {
+                    compressed = readFully(new XzEncodeInputStream(new ByteArrayInputStream(data), XzEncodeInputStream.CHECK_CRC64,
+                            3, 0, 2, 1 << 20, LzmaEncodeInputStream.DEFAULT_NICE_LENGTH, index == 3));
+                    encodeNanos[index] = Math.min(encodeNanos[index], System.nanoTime() - start);
+                    start = System.nanoTime();
+                    decoder = new XzDecodeInputStream(new ByteArrayInputStream(compressed));
+                }
+                byte[] decoded = readFully(decoder);
+                decodeNanos[index] = Math.min(decodeNanos[index], System.nanoTime() - start);
+                Assert.assertArrayEquals(data, decoded);
+                sizes[index] = compressed.length;
+            }
+        }
+        for (int index = 0; index < names.length; index++) {
+            System.out.printf("%-30s %9d bytes %6.2f%% encode %7.1f MB/s decode %7.1f MB/s%n", names[index], sizes[index],
+                    100.0 * sizes[index] / data.length, 1e3 * data.length / encodeNanos[index], 1e3 * data.length / decodeNanos[index]);
+        }
+        Assert.assertTrue(sizes[3] < sizes[0]);
+    }
+}
@@ -0,0 +1,127 @@
+package mujica.io.compress;
+
+import mujica.algebra.random.FuzzyContext;
+import mujica.ds.i8.run.CyclicArrayRunBuffer;
+import mujica.reflect.modifier.CodeHistory;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+@CodeHistory(date = "2026/10/17")
+public class ParallelGzipOutputStreamTest {
+
+    private final FuzzyContext fc = new FuzzyContext();
+
+    /**
+     * Lines of a log, so that the dictionary of the previous block matters
+     */
+    @NotNull
+    static byte[] log(int lineCount, long seed) {
+        final StringBuilder sb = new StringBuilder();
+        long value = seed;
+        for (int line = 0; line < lineCount; line++) {
+            value = value * 6364136223846793005L + 1442695040888963407L;
+            sb.append("2026-10-17T12:").append(line % 60).append(':').append((value >>> 40) % 60)
+                    .append(" INFO [worker-").append((value >>> 20) & 7).append("] request ").append(value >>> 44)
+                    .append(value % 5 == 0 ? " failed with status 503 after retry" : " completed in ").append((value >>> 32) & 1023).append(" ms\n");
+        }
+        return sb.toString().getBytes();
+    }
+
+    @NotNull
+    private static byte[] gunzip(@NotNull byte[] compressed) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return in.readAllBytes();
+        }
+    }
+
+    @NotNull
+    private byte[] compress(@NotNull byte[] data, int level, int blockSize, boolean memberPerBlock, @NotNull ForkJoinPool pool) throws IOException {
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (ParallelGzipOutputStream out = new ParallelGzipOutputStream(bos, level, blockSize, memberPerBlock, pool, 3)) {
+            int offset = 0;
+            while (offset < data.length) {
+                int length = Math.min(data.length - offset, fc.nextInt(1, 3 * blockSize));
+                if (length == 1) {
+                    out.write(data[offset]);
+                } else {
+                    out.write(data, offset, length);
+                }
+                offset += length;
+                if (fc.nextInt(50) == 0) {
+                    out.flush();
+                }
+            }
+        }
+        return bos.toByteArray();
+    }
+
+    @Test
+    public void caseRoundTrip() throws IOException {
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int round = 0; round < 24; round++) {
+                byte[] data = fc.nextInt(4) == 0 ? fc.nextByteArray(fc.nextInt(200000)) : log(fc.nextInt(5000), round);
+                int level = fc.nextInt(1, 10);
+                int blockSize = fc.nextInt(1, 100000);
+                boolean memberPerBlock = (round & 1) != 0;
+                byte[] compressed = compress(data, level, blockSize, memberPerBlock, pool);
+                Assert.assertArrayEquals(data, gunzip(compressed));
+                if (!memberPerBlock) { // one member, readable by the wrapper of this package
+                    try (WrapperGzipInputStream in = WrapperGzipInputStream.create(new ByteArrayInputStream(compressed),
+                            input -> new TableInflateInputStream(input, new CyclicArrayRunBuffer(1 << 15)))) {
+                        Assert.assertArrayEquals(data, in.readNBytes(data.length));
+                        Assert.assertEquals(-1, in.read());
+                    }
+                }
+            }
+            Assert.assertEquals(0, gunzip(compress(new byte[0], 6, 1000, false, pool)).length);
+            Assert.assertEquals(0, gunzip(compress(new byte[0], 6, 1000, true, pool)).length);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void benchmark() throws IOException {
+        final byte[] data = log(400000, 1L);
+        long serialNanos = 0L;
+        long parallelNanos = 0L;
+        int serialSize = 0;
+        int parallelSize = 0;
+        int memberSize = 0;
+        for (int pass = 0; pass < 3; pass++) { // first passes warm up
+            long start = System.nanoTime();
+            ByteArrayOutputStream bos = new ByteArrayOutputStream();
+            try (GZIPOutputStream out = new GZIPOutputStream(bos, 1 << 16)) {
+                out.write(data);
+            }
+            serialNanos = System.nanoTime() - start;
+            serialSize = bos.size();
+            start = System.nanoTime();
+            bos = new ByteArrayOutputStream();
+            try (ParallelGzipOutputStream out = new ParallelGzipOutputStream(bos, 6)) {
+                out.write(data);
+            }
+            parallelNanos = System.nanoTime() - start;
+            parallelSize = bos.size();
+            bos = new ByteArrayOutputStream();
+            try (ParallelGzipOutputStream out = new ParallelGzipOutputStream(bos, 6, ParallelGzipOutputStream.DEFAULT_BLOCK_SIZE, true,
+                    ForkJoinPool.commonPool(), ForkJoinPool.commonPool().getParallelism() << 1)) {
+                out.write(data);
+            }
+            memberSize = bos.size();
+        }
+        System.out.printf("%d bytes on %d threads: GZIPOutputStream %d B %6.1f MB/s, ParallelGzipOutputStream %d B %6.1f MB/s, member per block %d B%n",
+                data.length, ForkJoinPool.commonPool().getParallelism(), serialSize, 1e3 * data.length / serialNanos,
+                parallelSize, 1e3 * data.length / parallelNanos, memberSize);
+        Assert.assertTrue(parallelSize < serialSize * 21L / 20L);
+    }
+}
@@ -0,0 +1,284 @@
+package mujica.io.compress;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import mujica.algebra.random.FuzzyContext;
+import mujica.ds.i32.map.JdkI32Map;
+import mujica.ds.i32.map.JdkI32SlotMap;
+import mujica.ds.i8.run.*;
+import mujica.reflect.modifier.CodeHistory;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Objects;
+import java.util.zip.*;
+
+@CodeHistory(date = "2026/10/17")
+public class TowboatDeflateTest {
+
+    @BeforeClass
+    public static void initializeNetty() {
+        final ByteBuf buf = Unpooled.buffer();
+        ByteBufUtil.hexDump(buf);
+        buf.release();
+    }
+
+    private static final int REPEAT = 60;
+
+    private static final int SIZE = 200000;
+
+    private static final int DISTANCE = AbstractInflateInputStream.MAX_RUN_BUFFER_DISTANCE;
+
+    /**
+     * Every deflate inflater of this package, and the JDK one; Inflate64InputStream reads a different format
+     */
+    private static final AbstractInflateInputStream.Constructor1[] INFLATERS = {
+            in -> new IntMapInflateInputStream.Prefix(in, new CyclicArrayRunBuffer(DISTANCE), JdkI32Map::new),
+            in -> new IntMapInflateInputStream.LengthValue(in, new ArrayCopyRunBuffer(DISTANCE), JdkI32SlotMap::new),
+            in -> new IntMapInflateInputStream.ValueLength(in, new BlockRunBuffer(DISTANCE, 12), JdkI32Map::new),
+            in -> new ObjectMapInflateInputStream(in, new ByteBufRunBuffer()),
+            in -> new TreeInflateInputStream(in, new StrictByteBufRunBuffer()),
+            in -> new TableInflateInputStream(in, new CyclicArrayRunBuffer(DISTANCE)),
+            in -> new JdkInflateInputStream(in, 0x400)
+    };
+
+    private final FuzzyContext fc = new FuzzyContext();
+
+    /**
+     * Random bytes, with runs and copies of earlier parts, over a small alphabet now and then
+     */
+    @NotNull
+    private byte[] nextCompressible(int size) {
+        final byte[] array = new byte[size];
+        final int alphabet = fc.nextBoolean() ? 256 : fc.nextInt(2, 40);
+        int index = 0;
+        while (index < size) {
+            int length = Math.min(size - index, fc.nextInt(1, 300));
+            switch (fc.nextInt(4)) {
+                case 0: {
+                    byte value = (byte) fc.nextInt(alphabet);
+                    for (int end = index + length; index < end; index++) {
+                        array[index] = value;
+                    }
+                    break;
+                }
+                case 1:
+                case 2:
+                    if (index > 0) {
+                        int distance = fc.nextInt(1, Math.min(index, 40000) + 1);
+                        for (int end = index + length; index < end; index++) {
+                            array[index] = array[index - distance];
+                        }
+                        break;
+                    }
+                    // fall through
+                default:
+                    for (int end = index + length; index < end; index++) {
+                        array[index] = (byte) fc.nextInt(alphabet);
+                    }
+                    break;
+            }
+        }
+        return array;
+    }
+
+    private void write(@NotNull TowboatDeflateOutputStream dos, @NotNull byte[] data) throws IOException {
+        int offset = 0;
+        while (offset < data.length) {
+            switch (fc.nextInt(8)) {
+                case 0:
+                    dos.write(data[offset++]);
+                    break;
+                case 1:
+                    if (fc.nextInt(20) == 0) {
+                        dos.flush();
+                    }
+                    break;
+                default: {
+                    int length = Math.min(data.length - offset, fc.nextInt(1, 100000));
+                    dos.write(data, offset, length);
+                    offset += length;
+                }
+            }
+        }
+    }
+
+    private static void check(@NotNull byte[] expected, @NotNull InputStream is) throws IOException {
+        try (InputStream in = is) {
+            Assert.assertArrayEquals(in.toString(), expected, in.readNBytes(expected.length));
+            Assert.assertEquals(-1, in.read());
+        }
+    }
+
+    @Test
+    public void fuzzRaw() throws IOException {
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        for (int repeatIndex = 0; repeatIndex < REPEAT; repeatIndex++) {
+            byte[] expected = nextCompressible(fc.nextInt(SIZE));
+            bos.reset();
+            try (TowboatDeflateOutputStream dos = new TowboatDeflateOutputStream(bos, fc.nextInt(1, 10))) {
+                write(dos, expected);
+            }
+            byte[] compressed = bos.toByteArray();
+            for (AbstractInflateInputStream.Constructor1 constructor : INFLATERS) {
+                check(expected, constructor.apply(new ByteArrayInputStream(compressed)));
+            }
+            check(expected, new InflaterInputStream(new ByteArrayInputStream(compressed), new Inflater(true)));
+        }
+    }
+
+    @Test
+    public void fuzzZlib() throws IOException {
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        for (int repeatIndex = 0; repeatIndex < REPEAT; repeatIndex++) {
+            byte[] expected = nextCompressible(fc.nextInt(SIZE));
+            bos.reset();
+            try (TowboatDeflateOutputStream dos = TowboatDeflateOutputStream.zlib(bos, fc.nextInt(1, 10))) {
+                write(dos, expected);
+            }
+            byte[] compressed = bos.toByteArray();
+            AbstractInflateInputStream.Constructor1 constructor = INFLATERS[repeatIndex % INFLATERS.length];
+            check(expected, WrapperZlibInputStream.create(new ByteArrayInputStream(compressed), (in, maxDistance) -> constructor.apply(in)));
+            check(expected, new InflaterInputStream(new ByteArrayInputStream(compressed)));
+        }
+    }
+
+    @Test
+    public void fuzzGzip() throws IOException {
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        for (int repeatIndex = 0; repeatIndex < REPEAT; repeatIndex++) {
+            byte[] expected = nextCompressible(fc.nextInt(SIZE));
+            bos.reset();
+            try (TowboatDeflateOutputStream dos = TowboatDeflateOutputStream.gzip(bos, fc.nextInt(1, 10))) {
+                write(dos, expected);
+            }
+            byte[] compressed = bos.toByteArray();
+            check(expected, WrapperGzipInputStream.create(new ByteArrayInputStream(compressed), INFLATERS[repeatIndex % INFLATERS.length]));
+            check(expected, new GZIPInputStream(new ByteArrayInputStream(compressed)));
+        }
+    }
+
+    @Test
+    public void caseSyncFlush() throws IOException {
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        final byte[] expected = nextCompressible(5000);
+        final TowboatDeflateOutputStream dos = new TowboatDeflateOutputStream(bos, 6);
+        dos.write(expected);
+        dos.flush();
+        final Inflater inflater = new Inflater(true);
+        inflater.setInput(bos.toByteArray());
+        final byte[] actual = new byte[expected.length];
+        try {
+            Assert.assertEquals(expected.length, inflater.inflate(actual));
+        } catch (DataFormatException e) {
+            throw new AssertionError(e);
+        }
+        Assert.assertArrayEquals(expected, actual);
+        Assert.assertFalse(inflater.finished());
+        inflater.end();
+        dos.close();
+        try {
+            dos.write(0);
+            Assert.fail();
+        } catch (IOException e) {
+            // pass
+        }
+    }
+
+    @Test
+    public void caseEmpty() throws IOException {
+        for (int level = 1; level <= 9; level++) {
+            ByteArrayOutputStream bos = new ByteArrayOutputStream();
+            TowboatDeflateOutputStream.gzip(bos, level).close();
+            check(new byte[0], new GZIPInputStream(new ByteArrayInputStream(bos.toByteArray())));
+            bos.reset();
+            TowboatDeflateOutputStream.zlib(bos, level).close();
+            check(new byte[0], new InflaterInputStream(new ByteArrayInputStream(bos.toByteArray())));
+        }
+    }
+
+    /**
+     * The files in the deflate samples of ZipSampleTest
+     */
+    @NotNull
+    private static ArrayList<byte[]> corpus() throws IOException {
+        final ArrayList<byte[]> list = new ArrayList<>();
+        for (String name : new String[] {"area.effect", "default.effect", "ffmpeg.html", "git.exe", "web.xml"}) {
+            try (ZipInputStream zis = new ZipInputStream(Objects.requireNonNull(
+                    TowboatDeflateTest.class.getResourceAsStream("zip/deflate-" + name + ".zip")))) {
+                Assert.assertNotNull(zis.getNextEntry());
+                list.add(zis.readAllBytes());
+            }
+        }
+        return list;
+    }
+
+    @Test
+    public void caseCorpus() throws IOException {
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        for (byte[] expected : corpus()) {
+            for (int level = 1; level <= 9; level++) {
+                bos.reset();
+                try (TowboatDeflateOutputStream dos = new TowboatDeflateOutputStream(bos, level)) {
+                    dos.write(expected);
+                }
+                byte[] compressed = bos.toByteArray();
+                check(expected, INFLATERS[level % INFLATERS.length].apply(new ByteArrayInputStream(compressed)));
+                check(expected, new InflaterInputStream(new ByteArrayInputStream(compressed), new Inflater(true)));
+            }
+        }
+    }
+
+    @Test
+    public void benchmark() throws IOException {
+        final ArrayList<byte[]> corpus = corpus();
+        long uncompressed = 0L;
+        for (byte[] data : corpus) {
+            uncompressed += data.length;
+        }
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[1 << 16];
+        for (int level : new int[] {1, 6, 9}) {
+            long jdkSize = 0L;
+            long ourSize = 0L;
+            long jdkNanos = 0L;
+            long ourNanos = 0L;
+            for (int pass = 0; pass < 3; pass++) { // first passes warm up
+                jdkSize = 0L;
+                long start = System.nanoTime();
+                for (byte[] data : corpus) {
+                    Deflater deflater = new Deflater(level, true);
+                    deflater.setInput(data);
+                    deflater.finish();
+                    while (!deflater.finished()) {
+                        jdkSize += deflater.deflate(buffer);
+                    }
+                    deflater.end();
+                }
+                jdkNanos = System.nanoTime() - start;
+                ourSize = 0L;
+                start = System.nanoTime();
+                for (byte[] data : corpus) {
+                    bos.reset();
+                    try (TowboatDeflateOutputStream dos = new TowboatDeflateOutputStream(bos, level)) {
+                        dos.write(data);
+                    }
+                    ourSize += bos.size();
+                }
+                ourNanos = System.nanoTime() - start;
+            }
+            System.out.printf("level %d: Deflater %.2f%% %6.1f MB/s  TowboatDeflateOutputStream %.2f%% %6.1f MB/s%n", level,
+                    100.0 * jdkSize / uncompressed, 1e3 * uncompressed / jdkNanos,
+                    100.0 * ourSize / uncompressed, 1e3 * uncompressed / ourNanos);
+            Assert.assertTrue(ourSize < jdkSize * 21L / 20L); // within 5% of zlib
+        }
+    }
+}
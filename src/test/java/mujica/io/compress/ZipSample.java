@@ -80,7 +80,7 @@ class ZipSample { // can not extends org.junit.runner.Description because there
         long[] actual;
         if ((flags & 0x0004) != 0) {
             bis.setRemaining(Long.MAX_VALUE);
-            actual = performTest(bis, compressionMethod);
+            actual = performTest(bis, compressionMethod, flags, -1L);
             actual[INDEX_COMPRESSED_SIZE] = Long.MAX_VALUE - bis.getRemaining();
             bis.setRemaining(12);
             expected[INDEX_CRC32] = bis.readIntelUnsignedInt();
@@ -88,7 +88,7 @@ class ZipSample { // can not extends org.junit.runner.Description because there
             expected[INDEX_UNCOMPRESSED_SIZE] = bis.readIntelUnsignedInt();
         } else {
             bis.setRemaining(expected[INDEX_COMPRESSED_SIZE]);
-            actual = performTest(bis, compressionMethod);
+            actual = performTest(bis, compressionMethod, flags, expected[INDEX_UNCOMPRESSED_SIZE]);
             actual[INDEX_COMPRESSED_SIZE] = expected[INDEX_COMPRESSED_SIZE] - bis.getRemaining();
         }
         Assert.assertArrayEquals(expected, actual);
@@ -107,7 +107,7 @@ class ZipSample { // can not extends org.junit.runner.Description because there
                 return true;
             case 14:
                 Assert.assertTrue(description.getDisplayName().toLowerCase().startsWith("lzma-"));
-                return true;
+                return false;
             case 93:
                 Assert.assertTrue(description.getDisplayName().toLowerCase().startsWith("zstd-"));
                 return true;
@@ -120,12 +120,14 @@ class ZipSample { // can not extends org.junit.runner.Description because there
     }
 
     @NotNull
-    private long[] performTest(@NotNull InputStream is, int compressionMethod) throws IOException {
+    private long[] performTest(@NotNull InputStream is, int compressionMethod, int flags, long uncompressedSize) throws IOException {
         switch (compressionMethod) {
             case 8:
                 return testDeflate(is);
             case 9:
                 return testDeflate64(is);
+            case 14:
+                return testLzma(is, flags, uncompressedSize);
             default:
                 throw new IOException("compressionMethod = " + compressionMethod);
         }
@@ -143,6 +145,19 @@ class ZipSample { // can not extends org.junit.runner.Description because there
         return readUncompressedStream(is);
     }
 
+    @NotNull
+    private long[] testLzma(@NotNull InputStream is, int flags, long uncompressedSize) throws IOException {
+        final byte[] header = is.readNBytes(9); // version, properties size, properties
+        Assert.assertEquals(5, (0xff & header[2]) | (0xff & header[3]) << 8);
+        final int properties = 0xff & header[4];
+        final int dictionarySize = (0xff & header[5]) | (0xff & header[6]) << 8 | (0xff & header[7]) << 16 | (0xff & header[8]) << 24;
+        if ((flags & 0x0002) != 0) {
+            uncompressedSize = -1L; // end marker
+        }
+        is = new LzmaDecodeInputStream(is, properties % 9, properties / 9 % 5, properties / 45, dictionarySize, uncompressedSize);
+        return readUncompressedStream(is);
+    }
+
     @NotNull
     private long[] readUncompressedStream(@NotNull InputStream is) throws IOException {
         final int bufferSize = 1024;
@@ -0,0 +1,91 @@
+package mujica.io.hash;
+
+import mujica.algebra.random.FuzzyContext;
+import mujica.ds.i8.view.DataView;
+import mujica.reflect.modifier.CodeHistory;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Prints messages per second of single message and batched hashing, asserts only the results
+ */
+@CodeHistory(date = "2026/10/17")
+public class BatchHashThroughputTest {
+
+    private static final int COUNT = 1 << 14;
+
+    private static final int ROUNDS = 8;
+
+    private final FuzzyContext fc = new FuzzyContext();
+
+    @NotNull
+    private List<ByteBuffer> inputs(int messageBytes) {
+        final List<ByteBuffer> inputs = new ArrayList<>(COUNT);
+        for (int index = 0; index < COUNT; index++) {
+            inputs.add(ByteBuffer.wrap(fc.nextByteArray(messageBytes)));
+        }
+        return inputs;
+    }
+
+    private static void print(@NotNull String name, int messageBytes, long nanos) {
+        System.out.printf("%-12s %5d B %12.0f msg/s%n", name, messageBytes, (double) COUNT * ROUNDS * 1e9 / nanos);
+    }
+
+    private void measure(@NotNull String name, @NotNull Supplier<ByteBlockByteHashCore> factory, int messageBytes) {
+        final List<ByteBuffer> inputs = inputs(messageBytes);
+        final ByteBlockByteHashCore core = factory.get();
+        final int resultBytes = core.resultBytes();
+        final byte[] single = new byte[COUNT * resultBytes];
+        final byte[] batch = new byte[COUNT * resultBytes];
+        for (int pass = 0; pass < 2; pass++) { // first pass warms up
+            long start = System.nanoTime();
+            for (int round = 0; round < ROUNDS; round++) {
+                for (int index = 0; index < COUNT; index++) {
+                    ByteBuffer input = inputs.get(index);
+                    new SimpleByteBlockByteStreamHash(factory.get()).apply(input);
+                    input.rewind();
+                }
+            }
+            if (pass == 1) {
+                print(name + " single", messageBytes, System.nanoTime() - start);
+            }
+            start = System.nanoTime();
+            for (int round = 0; round < ROUNDS; round++) {
+                core.hashAll(inputs, batch);
+            }
+            if (pass == 1) {
+                print(name + " batch", messageBytes, System.nanoTime() - start);
+            }
+        }
+        final SimpleByteBlockByteStreamHash hash = new SimpleByteBlockByteStreamHash(factory.get());
+        for (int index = 0; index < COUNT; index++) {
+            ByteBuffer input = inputs.get(index);
+            DataView result = hash.apply(input);
+            input.rewind();
+            for (int offset = 0; offset < resultBytes; offset++) {
+                single[index * resultBytes + offset] = result.getByte(offset);
+            }
+        }
+        Assert.assertArrayEquals(single, batch);
+    }
+
+    @Test
+    public void throughputSHA256() {
+        for (int messageBytes : new int[] {64, 256, 1024}) {
+            measure("SHA256", SHA256::new, messageBytes);
+        }
+    }
+
+    @Test
+    public void throughputSHA1() {
+        for (int messageBytes : new int[] {64, 256, 1024}) {
+            measure("SHA1", SHA1::new, messageBytes);
+        }
+    }
+}
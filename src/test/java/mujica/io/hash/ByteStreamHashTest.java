@@ -9,6 +9,9 @@ import org.junit.Assert;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
@@ -347,6 +350,72 @@ public class ByteStreamHashTest {
         );
     }
 
+    private void fuzzHashAll(@NotNull MessageDigest expectedAlgorithm, @NotNull ByteBlockByteHashCore actualCore) {
+        for (int repeatIndex = 0; repeatIndex < REPEAT; repeatIndex++) {
+            int count = fc.nextInt(SIZE);
+            List<ByteBuffer> inputs = new ArrayList<>(count);
+            ByteArrayOutputStream expected = new ByteArrayOutputStream();
+            for (int index = 0; index < count; index++) {
+                byte[] input = fc.nextByteArray(fc.nextInt(3 * SIZE));
+                expectedAlgorithm.reset();
+                expected.writeBytes(expectedAlgorithm.digest(input));
+                int offset = fc.nextInt(4);
+                ByteBuffer buffer = ByteBuffer.allocate(offset + input.length);
+                buffer.position(offset).mark();
+                buffer.put(input).reset();
+                inputs.add(buffer);
+            }
+            byte[] actual = new byte[count * actualCore.resultBytes()];
+            actualCore.hashAll(inputs, actual);
+            Assert.assertArrayEquals(expected.toByteArray(), actual);
+            for (ByteBuffer buffer : inputs) {
+                Assert.assertTrue(buffer.position() < 4);
+            }
+        }
+    }
+
+    @Test
+    public void fuzzHashAll() throws NoSuchAlgorithmException {
+        fuzzHashAll(MessageDigest.getInstance("SHA-1"), new SHA1());
+        fuzzHashAll(MessageDigest.getInstance("SHA-224"), new SHA224());
+        fuzzHashAll(MessageDigest.getInstance("SHA-256"), new SHA256());
+        fuzzHashAll(MessageDigest.getInstance("SHA-512"), new SHA512());
+        fuzzHashAll(MessageDigest.getInstance("MD5"), new MD5());
+    }
+
+    /**
+     * One little endian buffer listed twice, in the middle of a hash in progress
+     */
+    private void caseHashAllShared(@NotNull MessageDigest expectedAlgorithm, @NotNull SHA256 actualCore) {
+        final byte[] input = fc.nextByteArray(3 * SIZE);
+        final ByteBuffer shared = ByteBuffer.wrap(input).order(ByteOrder.LITTLE_ENDIAN);
+        final byte[] actual = new byte[3 * actualCore.resultBytes()];
+        actualCore.start();
+        actualCore.step(ByteBuffer.wrap(input, 0, actualCore.blockBytes()));
+        final int[] state = new int[actualCore.intLength()];
+        for (int index = 0; index < state.length; index++) {
+            state[index] = actualCore.getInt(index);
+        }
+        actualCore.hashAll(Arrays.asList(shared, ByteBuffer.wrap(input, 1, 100), shared), actual);
+        for (int index = 0; index < state.length; index++) {
+            Assert.assertEquals(state[index], actualCore.getInt(index));
+        }
+        Assert.assertEquals(1, actualCore.blockCount());
+        Assert.assertEquals(ByteOrder.LITTLE_ENDIAN, shared.order());
+        Assert.assertEquals(0, shared.position());
+        final byte[] expected = expectedAlgorithm.digest(input);
+        final int resultBytes = actualCore.resultBytes();
+        Assert.assertArrayEquals(expected, Arrays.copyOfRange(actual, 0, resultBytes));
+        Assert.assertArrayEquals(expectedAlgorithm.digest(Arrays.copyOfRange(input, 1, 101)), Arrays.copyOfRange(actual, resultBytes, 2 * resultBytes));
+        Assert.assertArrayEquals(expected, Arrays.copyOfRange(actual, 2 * resultBytes, 3 * resultBytes));
+    }
+
+    @Test
+    public void caseHashAllShared() throws NoSuchAlgorithmException {
+        caseHashAllShared(MessageDigest.getInstance("SHA-224"), new SHA224());
+        caseHashAllShared(MessageDigest.getInstance("SHA-256"), new SHA256());
+    }
+
     private void fuzzHash(@NotNull Checksum expectedAlgorithm, @NotNull ByteStreamHash actualAlgorithm) {
         for (int repeatIndex = 0; repeatIndex < REPEAT; repeatIndex++) {
             byte[] input = fc.nextByteArray(fc.nextInt(SIZE));
@@ -389,6 +458,102 @@ public class ByteStreamHashTest {
         fuzzHash(new CRC32C(), new GeneralLongSizedCRC(CrcSpec.CRC32C));
     }
 
+    private static final int BULK_SIZE = 5000;
+
+    private void fuzzBulkHash(@NotNull Checksum expectedAlgorithm, @NotNull ByteStreamHash actualAlgorithm) {
+        for (int repeatIndex = 0; repeatIndex < REPEAT; repeatIndex++) {
+            byte[] input = fc.nextByteArray(fc.nextInt(BULK_SIZE));
+            expectedAlgorithm.reset();
+            expectedAlgorithm.update(input);
+            int split0 = fc.nextInt(input.length + 1);
+            int split1 = split0 + fc.nextInt(input.length - split0 + 1);
+            actualAlgorithm.start();
+            actualAlgorithm.update(input, 0, split0);
+            ByteBuffer direct = ByteBuffer.allocateDirect(split1 - split0);
+            direct.put(input, split0, split1 - split0).flip();
+            actualAlgorithm.update(direct);
+            Assert.assertFalse(direct.hasRemaining());
+            for (int index = split1; index < input.length; index++) {
+                actualAlgorithm.update(input[index]);
+            }
+            Assert.assertEquals(expectedAlgorithm.getValue(), actualAlgorithm.finish().getLongAll());
+        }
+    }
+
+    @Test
+    public void fuzzBulkSimpleIntSizedCRC() {
+        fuzzBulkHash(new CRC32(), SimpleIntSizedCRC.crc32());
+        fuzzBulkHash(new CRC32C(), SimpleIntSizedCRC.crc32C());
+    }
+
+    @Test
+    public void fuzzBulkGeneralLongSizedCRC() {
+        fuzzBulkHash(new CRC32(), new GeneralLongSizedCRC(CrcSpec.CRC32));
+        fuzzBulkHash(new CRC32C(), new GeneralLongSizedCRC(CrcSpec.CRC32C));
+    }
+
+    @Test
+    public void caseGeneralLongSizedCRC() {
+        final byte[] input = "123456789".getBytes(StandardCharsets.UTF_8);
+        final GeneralLongSizedCRC crc64ECMA182 = new GeneralLongSizedCRC(CrcSpec.CRC64_ECMA_182);
+        crc64ECMA182.apply(input);
+        Assert.assertEquals(0x6c40df5f0b497347L, crc64ECMA182.getAsLong());
+        final GeneralLongSizedCRC crc64XZ = new GeneralLongSizedCRC(CrcSpec.CRC64_XZ);
+        crc64XZ.apply(input);
+        Assert.assertEquals(0x995dc9bbdf1939faL, crc64XZ.getAsLong());
+        final GeneralLongSizedCRC crc16CCITT = new GeneralLongSizedCRC(new CrcSpec(16, 0x1021, 0xffff, 0, false, false));
+        crc16CCITT.apply(input);
+        Assert.assertEquals(0x29b1L, crc16CCITT.getAsLong());
+        final GeneralLongSizedCRC crc5USB = new GeneralLongSizedCRC(new CrcSpec(5, 0x05, 0x1f, 0x1f, true, true));
+        crc5USB.apply(input);
+        Assert.assertEquals(0x19L, crc5USB.getAsLong());
+    }
+
+    @Test
+    public void checkBitAndByteGeneralLongSizedCRC() {
+        final CrcSpec[] specs = {CrcSpec.CRC32, CrcSpec.CRC64_ECMA_182, CrcSpec.CRC64_XZ, new CrcSpec(5, 0x05, 0x1f, 0x1f, true, true)};
+        for (CrcSpec spec : specs) {
+            GeneralLongSizedCRC bulk = new GeneralLongSizedCRC(spec);
+            GeneralLongSizedCRC each = new GeneralLongSizedCRC(spec);
+            for (int repeatIndex = 0; repeatIndex < REPEAT; repeatIndex++) {
+                byte[] input = fc.nextByteArray(fc.nextInt(SIZE));
+                bulk.apply(input);
+                each.start();
+                for (byte value : input) {
+                    for (int shift = 0; shift < Byte.SIZE; shift++) {
+                        each.update((value & (1 << (spec.reflectIn ? shift : Byte.SIZE - 1 - shift))) != 0);
+                    }
+                }
+                Assert.assertEquals(each.getAsLong(), bulk.getAsLong());
+            }
+        }
+    }
+
+    @Test
+    public void fuzzCombineCRC() {
+        final SimpleIntSizedCRC simple = SimpleIntSizedCRC.crc32C();
+        final CrcSpec[] specs = {CrcSpec.CRC32, CrcSpec.CRC64_ECMA_182, CrcSpec.CRC64_XZ, new CrcSpec(16, 0x1021, 0xffff, 0, false, false)};
+        for (int repeatIndex = 0; repeatIndex < REPEAT; repeatIndex++) {
+            byte[] input = fc.nextByteArray(fc.nextInt(BULK_SIZE));
+            int split = fc.nextInt(input.length + 1);
+            simple.apply(input, 0, split);
+            int resultA = simple.getAsInt();
+            simple.apply(input, split, input.length - split);
+            int resultB = simple.getAsInt();
+            simple.apply(input);
+            Assert.assertEquals(simple.getAsInt(), simple.combine(resultA, resultB, input.length - split));
+            for (CrcSpec spec : specs) {
+                GeneralLongSizedCRC general = new GeneralLongSizedCRC(spec);
+                general.apply(input, 0, split);
+                long longA = general.getAsLong();
+                general.apply(input, split, input.length - split);
+                long longB = general.getAsLong();
+                general.apply(input);
+                Assert.assertEquals(general.getAsLong(), general.combine(longA, longB, input.length - split));
+            }
+        }
+    }
+
     @Test
     public void fuzzAdler32() {
         fuzzHash(new java.util.zip.Adler32(), new mujica.io.hash.Adler32());
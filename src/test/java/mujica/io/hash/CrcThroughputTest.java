@@ -0,0 +1,99 @@
+package mujica.io.hash;
+
+import mujica.algebra.random.FuzzyContext;
+import mujica.reflect.modifier.CodeHistory;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.function.LongSupplier;
+import java.util.zip.CRC32;
+import java.util.zip.CRC32C;
+import java.util.zip.Checksum;
+
+/**
+ * Prints MB/s, asserts only the results
+ */
+@CodeHistory(date = "2026/10/17")
+public class CrcThroughputTest {
+
+    private static final int SIZE = 1 << 24;
+
+    private static final int ROUNDS = 8;
+
+    private final byte[] input = new FuzzyContext().nextByteArray(SIZE);
+
+    private static void print(@NotNull String name, long nanos) {
+        System.out.printf("%-32s %10.1f MB/s%n", name, (double) SIZE * ROUNDS * 1e3 / nanos);
+    }
+
+    private long measure(@NotNull String name, @NotNull Checksum checksum) {
+        long result = 0L;
+        for (int round = 0; round < ROUNDS; round++) { // warm up
+            checksum.reset();
+            checksum.update(input, 0, SIZE);
+            result = checksum.getValue();
+        }
+        final long start = System.nanoTime();
+        for (int round = 0; round < ROUNDS; round++) {
+            checksum.reset();
+            checksum.update(input, 0, SIZE);
+            result = checksum.getValue();
+        }
+        print(name, System.nanoTime() - start);
+        return result;
+    }
+
+    private long measure(@NotNull String name, @NotNull ByteStreamHash hash, @NotNull LongSupplier result) {
+        for (int round = 0; round < ROUNDS; round++) { // warm up
+            hash.apply(input);
+        }
+        final long start = System.nanoTime();
+        for (int round = 0; round < ROUNDS; round++) {
+            hash.apply(input);
+        }
+        print(name, System.nanoTime() - start);
+        return result.getAsLong();
+    }
+
+    private long measureDirect(@NotNull String name, @NotNull ByteStreamHash hash, @NotNull LongSupplier result) {
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(SIZE).put(input);
+        for (int round = 0; round < ROUNDS; round++) { // warm up
+            hash.apply(buffer.flip());
+        }
+        final long start = System.nanoTime();
+        for (int round = 0; round < ROUNDS; round++) {
+            hash.apply(buffer.flip());
+        }
+        print(name, System.nanoTime() - start);
+        return result.getAsLong();
+    }
+
+    @Test
+    public void throughputCRC32() {
+        final long expected = measure("java.util.zip.CRC32", new CRC32());
+        final SimpleIntSizedCRC simple = SimpleIntSizedCRC.crc32();
+        Assert.assertEquals(expected, 0xffffffffL & measure("SimpleIntSizedCRC", simple, simple::getAsInt));
+        Assert.assertEquals(expected, 0xffffffffL & measureDirect("SimpleIntSizedCRC direct", simple, simple::getAsInt));
+        final GeneralLongSizedCRC general = new GeneralLongSizedCRC(CrcSpec.CRC32);
+        Assert.assertEquals(expected, measure("GeneralLongSizedCRC", general, general));
+    }
+
+    @Test
+    public void throughputCRC32C() {
+        final long expected = measure("java.util.zip.CRC32C", new CRC32C());
+        final SimpleIntSizedCRC simple = SimpleIntSizedCRC.crc32C();
+        Assert.assertEquals(expected, 0xffffffffL & measure("SimpleIntSizedCRC", simple, simple::getAsInt));
+        final GeneralLongSizedCRC general = new GeneralLongSizedCRC(CrcSpec.CRC32C);
+        Assert.assertEquals(expected, measureDirect("GeneralLongSizedCRC direct", general, general));
+    }
+
+    @Test
+    public void throughputCRC64() {
+        final GeneralLongSizedCRC normal = new GeneralLongSizedCRC(CrcSpec.CRC64_ECMA_182);
+        measure("GeneralLongSizedCRC ECMA-182", normal, normal);
+        final GeneralLongSizedCRC reflected = new GeneralLongSizedCRC(CrcSpec.CRC64_XZ);
+        measure("GeneralLongSizedCRC XZ", reflected, reflected);
+    }
+}
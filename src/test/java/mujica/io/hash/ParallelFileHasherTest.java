@@ -0,0 +1,166 @@
+package mujica.io.hash;
+
+import mujica.algebra.random.FuzzyContext;
+import mujica.reflect.modifier.CodeHistory;
+import org.jetbrains.annotations.NotNull;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.CRC32;
+
+@CodeHistory(date = "2026/10/17")
+public class ParallelFileHasherTest {
+
+    private static final int CHUNK_BYTES = 1 << 16;
+
+    private static byte[] content;
+
+    private static Path path;
+
+    @BeforeClass
+    public static void createFile() throws IOException {
+        content = new FuzzyContext().nextByteArray(CHUNK_BYTES * 37 + 1234);
+        path = Files.createTempFile("ParallelFileHasherTest", ".bin");
+        Files.write(path, content);
+    }
+
+    @AfterClass
+    public static void deleteFile() throws IOException {
+        Files.deleteIfExists(path);
+    }
+
+    @NotNull
+    private static byte[] leaf(@NotNull MessageDigest digest, @NotNull byte[] chunkDigest) {
+        digest.reset();
+        digest.update((byte) 0x00);
+        digest.update(chunkDigest);
+        return digest.digest();
+    }
+
+    @NotNull
+    private static byte[] innerNode(@NotNull MessageDigest digest, @NotNull byte[] left, @NotNull byte[] right) {
+        digest.reset();
+        digest.update((byte) 0x01);
+        digest.update(left);
+        digest.update(right);
+        return digest.digest();
+    }
+
+    @Test
+    public void checkSHA256() throws IOException, NoSuchAlgorithmException {
+        final ParallelFileHasher.Result result = new ParallelFileHasher(new SHA256(), CHUNK_BYTES).hash(path);
+        final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        final int chunkCount = (content.length + CHUNK_BYTES - 1) / CHUNK_BYTES;
+        Assert.assertEquals(chunkCount, result.chunkCount());
+        byte[][] level = new byte[chunkCount][];
+        for (int index = 0; index < chunkCount; index++) {
+            digest.reset();
+            digest.update(content, index * CHUNK_BYTES, Math.min(CHUNK_BYTES, content.length - index * CHUNK_BYTES));
+            byte[] chunkDigest = digest.digest();
+            Assert.assertArrayEquals(chunkDigest, result.chunkDigest(index));
+            level[index] = leaf(digest, chunkDigest);
+        }
+        while (level.length > 1) {
+            byte[][] next = new byte[(level.length + 1) >> 1][];
+            for (int index = 0; index < next.length; index++) {
+                if ((index << 1) + 1 < level.length) {
+                    next[index] = innerNode(digest, level[index << 1], level[(index << 1) + 1]);
+                } else {
+                    next[index] = level[index << 1];
+                }
+            }
+            level = next;
+        }
+        Assert.assertArrayEquals(level[0], result.merkleRoot());
+        Assert.assertNull(result.plainResult());
+    }
+
+    @Test
+    public void checkCombinable() throws IOException {
+        final CRC32 crc32 = new CRC32();
+        crc32.update(content);
+        Assert.assertEquals(
+                Long.valueOf(crc32.getValue()),
+                new ParallelFileHasher(SimpleIntSizedCRC::crc32, CHUNK_BYTES).hash(path).plainResult()
+        );
+        Assert.assertEquals(
+                Long.valueOf(crc32.getValue()),
+                new ParallelFileHasher(() -> new GeneralLongSizedCRC(CrcSpec.CRC32), CHUNK_BYTES).hash(path).plainResult()
+        );
+        final java.util.zip.Adler32 adler32 = new java.util.zip.Adler32();
+        adler32.update(content);
+        Assert.assertEquals(
+                Long.valueOf(adler32.getValue()),
+                new ParallelFileHasher(Adler32::new, CHUNK_BYTES).hash(path).plainResult()
+        );
+    }
+
+    @Test
+    public void checkEmpty() throws IOException, NoSuchAlgorithmException {
+        final Path empty = Files.createTempFile("ParallelFileHasherTest", ".bin");
+        try {
+            final ParallelFileHasher.Result result = new ParallelFileHasher(new SHA256(), CHUNK_BYTES).hash(empty);
+            Assert.assertEquals(1, result.chunkCount());
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            Assert.assertArrayEquals(leaf(digest, digest.digest()), result.merkleRoot());
+        } finally {
+            Files.delete(empty);
+        }
+    }
+
+    /**
+     * A single chunk holding 0x01 || d1 || d2 must not have the root of two chunks digesting to d1 and d2
+     */
+    @Test
+    public void caseSecondPreimage() throws IOException, NoSuchAlgorithmException {
+        final Path twoChunks = Files.createTempFile("ParallelFileHasherTest", ".bin");
+        final Path oneChunk = Files.createTempFile("ParallelFileHasherTest", ".bin");
+        try {
+            Files.write(twoChunks, Arrays.copyOf(content, 96));
+            final ParallelFileHasher.Result two = new ParallelFileHasher(new SHA256(), 64).hash(twoChunks);
+            Assert.assertEquals(2, two.chunkCount());
+            final byte[] forged = new byte[65];
+            forged[0] = 0x01;
+            System.arraycopy(two.chunkDigest(0), 0, forged, 1, 32);
+            System.arraycopy(two.chunkDigest(1), 0, forged, 33, 32);
+            Files.write(oneChunk, forged);
+            final ParallelFileHasher.Result one = new ParallelFileHasher(new SHA256(), 65).hash(oneChunk);
+            Assert.assertEquals(1, one.chunkCount());
+            Assert.assertArrayEquals(MessageDigest.getInstance("SHA-256").digest(forged), one.chunkDigest(0));
+            Assert.assertFalse(Arrays.equals(two.merkleRoot(), one.merkleRoot()));
+        } finally {
+            Files.delete(twoChunks);
+            Files.delete(oneChunk);
+        }
+    }
+
+    @Test
+    public void throughputSHA256() throws IOException {
+        final int processors = Runtime.getRuntime().availableProcessors();
+        byte[] root = null;
+        for (int parallelism = 1; parallelism <= processors; parallelism <<= 1) {
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                ParallelFileHasher hasher = new ParallelFileHasher(() -> new SimpleByteBlockByteStreamHash(new SHA256()), CHUNK_BYTES, pool, parallelism << 2);
+                hasher.hash(path); // warm up
+                ParallelFileHasher.Result result = hasher.hash(path);
+                System.out.println(parallelism + " threads: " + result);
+                if (root != null) {
+                    Assert.assertTrue(Arrays.equals(root, result.merkleRoot()));
+                }
+                root = result.merkleRoot();
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+}
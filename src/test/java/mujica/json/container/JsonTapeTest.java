@@ -0,0 +1,257 @@
+package mujica.json.container;
+
+import mujica.json.handler.JsonHandler;
+import mujica.json.io.JsonCharSequenceReader;
+import mujica.json.io.JsonStringBuilderWriter;
+import mujica.json.reflect.ContainerConfig;
+import mujica.reflect.modifier.CodeHistory;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.function.Consumer;
+
+@CodeHistory(date = "2026/10/17")
+public class JsonTapeTest {
+
+    private static final String DOCUMENT = "{\"id\":42,\"big\":12345678901234,\"huge\":123456789012345678901234567890,"
+            + "\"ratio\":0.25,\"name\":\"café\",\"tags\":[\"a\",\"b\",\"a\"],\"empty\":{},\"none\":[],"
+            + "\"nested\":{\"ok\":true,\"no\":false,\"nothing\":null,\"list\":[1,[2,3],{\"x\":-1}]}}";
+
+    /**
+     * Builds the HashMap and ArrayList backed containers, as the baseline
+     */
+    @CodeHistory(date = "2026/10/17")
+    private static class UtilContainerBuilder extends JsonHandler {
+
+        final ArrayList<Object> stack = new ArrayList<>();
+
+        final ArrayList<Object> consumers = new ArrayList<>();
+
+        String key;
+
+        Object root;
+
+        UtilContainerBuilder() {
+            super();
+        }
+
+        @SuppressWarnings("unchecked")
+        void value(Object value) {
+            if (stack.isEmpty()) {
+                root = value;
+                return;
+            }
+            final Object top = stack.get(stack.size() - 1);
+            if (top instanceof JsonObject) {
+                ((JsonObject) top).setObject(key, value, ContainerConfig.ObjectAction.PUT);
+            } else {
+                ((Consumer<Object>) consumers.get(consumers.size() - 1)).accept(value);
+            }
+        }
+
+        void open(Object container, Object consumer) {
+            value(container);
+            stack.add(container);
+            consumers.add(consumer);
+        }
+
+        void close() {
+            stack.remove(stack.size() - 1);
+            consumers.remove(consumers.size() - 1);
+        }
+
+        @Override
+        public void openArray() {
+            JsonArray array = JsonArray.newArrayList();
+            open(array, array.consumer(ContainerConfig.ArrayAction.APPEND));
+        }
+
+        @Override
+        public void closeArray() {
+            close();
+        }
+
+        @Override
+        public void openObject() {
+            open(JsonObject.newHashMap(), null);
+        }
+
+        @Override
+        public void closeObject() {
+            close();
+        }
+
+        @Override
+        public void key(@NotNull String key) {
+            this.key = key;
+        }
+
+        @Override
+        public void key(@NotNull FastString key) {
+            this.key = key.string;
+        }
+
+        @Override
+        public void simpleValue(Object value) {
+            value(value);
+        }
+    }
+
+    @NotNull
+    private static JsonTape tape(@NotNull String document) {
+        final JsonTapeBuilder builder = new JsonTapeBuilder();
+        (new JsonCharSequenceReader(document)).read(builder);
+        return builder.build();
+    }
+
+    @NotNull
+    private static String stringify(@NotNull String document) {
+        final JsonStringBuilderWriter writer = new JsonStringBuilderWriter();
+        (new JsonCharSequenceReader(document)).read(writer);
+        return writer.getString();
+    }
+
+    @Test
+    public void caseReplay() {
+        final JsonTape tape = tape(DOCUMENT);
+        final JsonStringBuilderWriter writer = new JsonStringBuilderWriter();
+        tape.write(writer);
+        Assert.assertEquals(stringify(DOCUMENT), writer.getString());
+        for (String document : new String[] {"1", "\"s\"", "null", "[]", "{}", "-2.5e-7", "[[[[]]]]"}) {
+            writer.reset();
+            tape(document).write(writer);
+            Assert.assertEquals(stringify(document), writer.getString());
+        }
+    }
+
+    @Test
+    public void caseAccess() {
+        final JsonTapeObject root = (JsonTapeObject) tape(DOCUMENT).root();
+        Assert.assertEquals(9, root.size());
+        Assert.assertEquals(Arrays.asList("id", "big", "huge", "ratio", "name", "tags", "empty", "none", "nested"), new ArrayList<>(root.nameSet()));
+        Assert.assertEquals(42, root.getObject("id"));
+        Assert.assertEquals(12345678901234L, root.getObject("big"));
+        Assert.assertEquals(new BigInteger("123456789012345678901234567890"), root.getObject("huge"));
+        Assert.assertEquals(0.25, root.getObject("ratio"));
+        Assert.assertEquals("café", root.getObject("name"));
+        Assert.assertNull(root.getObject("missing"));
+        Assert.assertNull(root.getObject("i"));
+        final JsonArray tags = (JsonArray) root.getObject("tags");
+        Assert.assertEquals(3, tags.size());
+        Assert.assertEquals("a", tags.getObject(2));
+        Assert.assertEquals("b", tags.getObject(1));
+        Assert.assertEquals(0, ((JsonObject) root.getObject("empty")).nameSet().size());
+        Assert.assertEquals(0, ((JsonArray) root.getObject("none")).size());
+        final JsonTapeObject nested = (JsonTapeObject) root.getObject("nested");
+        Assert.assertEquals(Boolean.TRUE, nested.getObject("ok"));
+        Assert.assertEquals(Boolean.FALSE, nested.getObject("no"));
+        Assert.assertNull(nested.getObject("nothing"));
+        final JsonTapeArray list = (JsonTapeArray) nested.getObject("list");
+        Assert.assertEquals(3, list.size());
+        Assert.assertEquals(3, ((JsonArray) list.getObject(1)).getObject(1));
+        Assert.assertEquals(-1, ((JsonObject) list.getObject(2)).getObject("x"));
+        final JsonStringBuilderWriter writer = new JsonStringBuilderWriter();
+        list.toTape().write(writer);
+        Assert.assertEquals("[1,[2,3],{\"x\":-1}]", writer.getString());
+        try {
+            root.setObject("id", 1, ContainerConfig.ObjectAction.PUT);
+            Assert.fail();
+        } catch (UnsupportedOperationException e) {
+            // pass
+        }
+    }
+
+    @Test
+    public void caseSharedStrings() {
+        final JsonTapeBuilder builder = new JsonTapeBuilder();
+        (new JsonCharSequenceReader("[{\"key\":\"value\"},{\"key\":\"value\"},{\"key\":\"other\"}]")).read(builder);
+        final JsonTape first = builder.build();
+        Assert.assertEquals("valueother".length(), first.arenaLength());
+        Assert.assertEquals("key".length(), first.dictionaryLength());
+        (new JsonCharSequenceReader("{\"key\":\"\u4e2d\u6587\",\"\u952e\":[\"value\"]}")).read(builder);
+        final JsonTape second = builder.build();
+        Assert.assertEquals("\u4e2d\u6587value".length(), second.arenaLength());
+        Assert.assertTrue(second.wide);
+        final JsonTapeObject object = (JsonTapeObject) second.root();
+        Assert.assertEquals("\u4e2d\u6587", object.getObject("key"));
+        Assert.assertEquals("value", ((JsonArray) object.getObject("\u952e")).getObject(0));
+        (new JsonCharSequenceReader("{\"key\":1}")).read(builder);
+        Assert.assertSame(second.dictionary, builder.build().dictionary);
+    }
+
+    @Test
+    public void caseDictionaryGrowth() {
+        final JsonTapeBuilder builder = new JsonTapeBuilder();
+        final JsonTape[] tapes = new JsonTape[2000];
+        final Set<Object> dictionaries = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (int index = 0; index < tapes.length; index++) {
+            (new JsonCharSequenceReader("{\"key" + index + "\":" + index + "}")).read(builder);
+            tapes[index] = builder.build();
+            dictionaries.add(tapes[index].dictionary);
+        }
+        Assert.assertTrue(dictionaries.size() < 16); // grows by doubling, not copied per tape
+        for (int index = 0; index < tapes.length; index++) {
+            Assert.assertEquals(index, ((JsonTapeObject) tapes[index].root()).getObject("key" + index));
+            Assert.assertTrue(tapes[index].retainedSize() > 2L * tapes[index].dictionaryLength());
+        }
+    }
+
+    /**
+     * A typical cached record, ten fields with two levels
+     */
+    @NotNull
+    private static String record(int seed) {
+        return "{\"id\":" + seed + ",\"type\":\"order\",\"status\":\"" + (seed % 3 == 0 ? "open" : "closed")
+                + "\",\"amount\":" + (seed * 0.25) + ",\"created\":" + (1_700_000_000_000L + seed)
+                + ",\"paid\":" + (seed % 2 == 0) + ",\"customer\":{\"id\":" + (seed * 7) + ",\"name\":\"customer" + seed
+                + "\",\"vip\":false},\"items\":[" + seed + "," + (seed + 1) + "," + (seed + 2) + "],\"note\":null}";
+    }
+
+    private static long usedMemory() {
+        final Runtime runtime = Runtime.getRuntime();
+        for (int round = 0; round < 4; round++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    @Test
+    public void caseMemory() {
+        final int count = 50000;
+        final String[] documents = new String[count];
+        for (int index = 0; index < count; index++) {
+            documents[index] = record(index);
+        }
+        final JsonTapeBuilder tapeBuilder = new JsonTapeBuilder();
+        long start = usedMemory();
+        final Object[] tapes = new Object[count];
+        long estimated = 0L;
+        for (int index = 0; index < count; index++) {
+            (new JsonCharSequenceReader(documents[index])).read(tapeBuilder);
+            JsonTape tape = tapeBuilder.build();
+            estimated += tape.retainedSize();
+            tapes[index] = tape.root();
+        }
+        final long tapeBytes = usedMemory() - start;
+        start = usedMemory();
+        final Object[] maps = new Object[count];
+        for (int index = 0; index < count; index++) {
+            UtilContainerBuilder builder = new UtilContainerBuilder();
+            (new JsonCharSequenceReader(documents[index])).read(builder);
+            maps[index] = builder.root;
+        }
+        final long mapBytes = usedMemory() - start;
+        System.out.printf("per record: tape %d B (estimated %d B), HashMap %d B, ratio %.1f%n",
+                tapeBytes / count, estimated / count, mapBytes / count, (double) mapBytes / tapeBytes);
+        Assert.assertEquals("order", ((JsonObject) tapes[count - 1]).getObject("type"));
+        Assert.assertEquals("order", ((JsonObject) maps[count - 1]).getObject("type"));
+        Assert.assertTrue(mapBytes > 7L * tapeBytes / 2L); // 4.1x measured, with some margin for gc noise
+    }
+}
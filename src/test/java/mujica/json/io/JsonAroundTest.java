@@ -51,6 +51,18 @@ public class JsonAroundTest {
         }
     }
 
+    private void aroundFromByteBuf3(@NotNull String in, @NotNull String out, int flags) {
+        final JsonFastByteBufReader reader = new JsonFastByteBufReader(Unpooled.wrappedBuffer(in.getBytes(StandardCharsets.UTF_8)));
+        try {
+            reader.setFlags(flags);
+            JsonStringBuilderWriter writer = new JsonStringBuilderWriter();
+            reader.read(writer);
+            Assert.assertEquals(out, writer.getString());
+        } finally {
+            reader.release();
+        }
+    }
+
     private void aroundFromByteStream(@NotNull String in, @NotNull String out, int flags) throws IOException {
         final JsonStringBuilderWriter writer = new JsonStringBuilderWriter();
         try (JsonObjectInputStream is = new JsonObjectInputStream(new ByteArrayInputStream(in.getBytes(StandardCharsets.UTF_8)))) {
@@ -86,6 +98,7 @@ public class JsonAroundTest {
         aroundString(in, out, flags);
         aroundFromByteBuf1(in, out, flags);
         aroundFromByteBuf2(in, out, flags);
+        aroundFromByteBuf3(in, out, flags);
         aroundFromByteStream(in, out, flags);
         aroundToCharStream(in, out, flags);
         aroundToByteStream(in, out, flags);
@@ -318,6 +331,19 @@ public class JsonAroundTest {
         }
     }
 
+    private void skipAroundFromByteBuf3(@NotNull String in, @NotNull String out, int flags) {
+        final JsonFastByteBufReader reader = new JsonFastByteBufReader(Unpooled.wrappedBuffer(in.getBytes(StandardCharsets.UTF_8)));
+        try {
+            reader.setFlags(flags);
+            reader.skip();
+            JsonStringBuilderWriter writer = new JsonStringBuilderWriter();
+            reader.read(writer);
+            Assert.assertEquals(out, writer.getString());
+        } finally {
+            reader.release();
+        }
+    }
+
     private void skipAroundFromByteStream(@NotNull String in, @NotNull String out, int flags) throws IOException {
         final JsonStringBuilderWriter writer = new JsonStringBuilderWriter();
         try (JsonObjectInputStream is = new JsonObjectInputStream(new ByteArrayInputStream(in.getBytes(StandardCharsets.UTF_8)))) {
@@ -331,6 +357,7 @@ public class JsonAroundTest {
     private void skipAround(@NotNull String in, @NotNull String out, int flags) throws IOException {
         skipAroundFromByteBuf1(in, out, flags);
         skipAroundFromByteBuf2(in, out, flags);
+        skipAroundFromByteBuf3(in, out, flags);
         skipAroundFromByteStream(in, out, flags);
     }
 
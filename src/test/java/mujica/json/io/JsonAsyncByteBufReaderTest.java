@@ -0,0 +1,220 @@
+package mujica.json.io;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.DefaultFullHttpRequest;
+import io.netty.handler.codec.http.DefaultHttpContent;
+import io.netty.handler.codec.http.DefaultHttpRequest;
+import io.netty.handler.codec.http.DefaultLastHttpContent;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpVersion;
+import mujica.algebra.random.FuzzyContext;
+import mujica.json.handler.JsonHandler;
+import mujica.reflect.modifier.CodeHistory;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+@CodeHistory(date = "2026/10/17")
+@SuppressWarnings("SpellCheckingInspection")
+public class JsonAsyncByteBufReaderTest {
+
+    private static final int ALL_FLAGS = JsonReader.FLAG_LINE_COMMENT | JsonReader.FLAG_BLOCK_COMMENT
+            | JsonReader.FLAG_APOSTROPHE_QUOTE_STRING | JsonReader.FLAG_GRAVE_ACCENT_QUOTE_STRING
+            | JsonReader.FLAG_LEADING_COMMA | JsonReader.FLAG_TRAILING_COMMA
+            | JsonReader.FLAG_PLUS_SIGN_NUMBER | JsonReader.FLAG_INFINITY_NAN_EXTENSION;
+
+    private static final String[] CORPUS = {
+            "null",
+            "  true ",
+            "false",
+            "4999",
+            "-56",
+            "2.25",
+            "1e3",
+            "12345678901234567890123",
+            "\"\"",
+            "\"fjwoijriowejfmoi\\t\"",
+            "\"\\r\\n\\\\ \\\" \\u00e9\\u4e2d\"",
+            "\"a’s, c’s, d’s, été, 中文, 😀\"",
+            "[]",
+            "{}",
+            "[true,9,10,[],{},\"ridge\",null,-0.5]",
+            "{\"x\":4,\"nested\":{\"deeper\":[1,[2,[3]]]},\"s\":\"\\\"quoted\\\"\"}",
+            "{\"groups\":[\"Tommy\",\"Steve\",],}",
+            "[,true]",
+            "//xx\r\n64//yy\r\n",
+            "/**/\t[\t]\t/**/",
+            "{\t/*****//** zone & allocate **/}",
+            "{\"hyphens\"\t\t/******/:/* mesosphere & meteorite */\"manual\"}",
+            "[{/* breadcrumb navigation\\n */// ***? \n }]",
+            "{'apostrophe':'it\\'s'}",
+            "[`grave`, `back\\`tick`]",
+            "[+5, Infinity, -Infinity, NaN]",
+            "[{\"count-over\":64,\"quick-scan\":null,},null,null,[],]"
+    };
+
+    @NotNull
+    private static String expected(@NotNull byte[] bytes, int flags) {
+        final JsonByteBufReader reader = new JsonByteBufReader(Unpooled.wrappedBuffer(bytes));
+        try {
+            reader.setFlags(flags);
+            JsonStringBuilderWriter writer = new JsonStringBuilderWriter();
+            reader.read(writer);
+            return writer.getString();
+        } finally {
+            reader.release();
+        }
+    }
+
+    @NotNull
+    private static String actual(@NotNull byte[] bytes, int flags, @NotNull int[] splits) {
+        final JsonStringBuilderWriter writer = new JsonStringBuilderWriter();
+        try (JsonAsyncByteBufReader reader = new JsonAsyncByteBufReader(writer)) {
+            reader.setFlags(flags);
+            int start = 0;
+            for (int split : splits) {
+                ByteBuf chunk = Unpooled.copiedBuffer(bytes, start, split - start);
+                reader.read(chunk);
+                Assert.assertFalse(chunk.isReadable());
+                chunk.release();
+                start = split;
+            }
+            reader.read(Unpooled.wrappedBuffer(bytes, start, bytes.length - start));
+            reader.end();
+            Assert.assertEquals(1L, reader.valueCount());
+        }
+        return writer.getString();
+    }
+
+    @Test
+    public void caseSplitEveryOffset() {
+        for (String string : CORPUS) {
+            byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            String expected = expected(bytes, ALL_FLAGS);
+            for (int split = 0; split <= bytes.length; split++) {
+                Assert.assertEquals(string + " split at " + split, expected, actual(bytes, ALL_FLAGS, new int[] {split}));
+            }
+        }
+    }
+
+    @Test
+    public void caseSplitEveryByte() {
+        for (String string : CORPUS) {
+            byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            int[] splits = new int[bytes.length];
+            for (int index = 0; index < bytes.length; index++) {
+                splits[index] = index;
+            }
+            Assert.assertEquals(string, expected(bytes, ALL_FLAGS), actual(bytes, ALL_FLAGS, splits));
+        }
+    }
+
+    @Test
+    public void fuzzSplitTwice() {
+        final FuzzyContext fc = new FuzzyContext();
+        for (String string : CORPUS) {
+            byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            String expected = expected(bytes, ALL_FLAGS);
+            for (int round = 0; round < 64; round++) {
+                int a = fc.nextInt(bytes.length + 1);
+                int b = fc.nextInt(bytes.length + 1);
+                Assert.assertEquals(expected, actual(bytes, ALL_FLAGS, new int[] {Math.min(a, b), Math.max(a, b)}));
+            }
+        }
+    }
+
+    private static void assertFails(@NotNull String string, int flags) {
+        final byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        try {
+            actual(bytes, flags, new int[0]);
+        } catch (RuntimeException e) {
+            return;
+        }
+        Assert.fail(string);
+    }
+
+    @Test
+    public void caseFlagsRequired() {
+        assertFails("//x\n1", 0);
+        assertFails("/*x*/1", 0);
+        assertFails("'apostrophe'", 0);
+        assertFails("`grave`", 0);
+        assertFails("[,1]", 0);
+        assertFails("[1,]", 0);
+        assertFails("{\"a\":1,}", 0);
+        assertFails("+5", 0);
+        assertFails("NaN", 0);
+        assertFails("[1 2]", ALL_FLAGS);
+        assertFails("[1,,2]", ALL_FLAGS);
+        assertFails("{\"a\" 1}", ALL_FLAGS);
+        assertFails("truex", ALL_FLAGS);
+        assertFails("[1", ALL_FLAGS);
+        assertFails("\"open", ALL_FLAGS);
+    }
+
+    @Test
+    public void caseValueStream() {
+        final List<Object> values = new ArrayList<>();
+        final JsonHandler jh = new JsonHandler() {
+            @Override
+            public void simpleValue(Object value) {
+                values.add(value);
+            }
+        };
+        try (JsonAsyncByteBufReader reader = new JsonAsyncByteBufReader(jh)) {
+            reader.read(Unpooled.copiedBuffer("1 \"two\"\n", StandardCharsets.UTF_8));
+            Assert.assertEquals(2, values.size());
+            reader.read(Unpooled.copiedBuffer("true 4", StandardCharsets.UTF_8));
+            Assert.assertEquals(3, values.size()); // 4 may continue in the next chunk
+            Assert.assertFalse(reader.isIdle());
+            reader.read(Unpooled.copiedBuffer("2", StandardCharsets.UTF_8));
+            reader.end();
+            Assert.assertEquals(4L, reader.valueCount());
+        }
+        Assert.assertEquals(List.of(1, "two", true, 42), values);
+    }
+
+    @Test
+    public void caseHttpContentDecoder() {
+        final EmbeddedChannel channel = new EmbeddedChannel(new JsonHttpContentDecoder(request -> new JsonStringBuilderWriter(), ALL_FLAGS));
+        final String body = "{\"name\":\"chunked\",\n// comment\n\"items\":[1,2,3,],}";
+        final byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        Assert.assertTrue(channel.writeInbound(new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/upload")));
+        for (int start = 0; start < bytes.length; start += 7) {
+            channel.writeInbound(new DefaultHttpContent(Unpooled.copiedBuffer(bytes, start, Math.min(7, bytes.length - start))));
+        }
+        channel.writeInbound(new DefaultLastHttpContent());
+        Assert.assertTrue(channel.readInbound() instanceof HttpRequest);
+        final JsonStringBuilderWriter writer = channel.readInbound();
+        Assert.assertEquals("{\"name\":\"chunked\",\"items\":[1,2,3]}", writer.getString());
+        Assert.assertNull(channel.readInbound());
+        Assert.assertFalse(channel.finish());
+    }
+
+    @Test
+    public void caseFullHttpRequest() {
+        final EmbeddedChannel channel = new EmbeddedChannel(new JsonHttpContentDecoder(request -> new JsonStringBuilderWriter(), ALL_FLAGS));
+        final FullHttpRequest full = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/upload",
+                Unpooled.copiedBuffer("[1,2]", StandardCharsets.UTF_8));
+        full.headers().set(HttpHeaderNames.CONTENT_TYPE, "application/json");
+        Assert.assertTrue(channel.writeInbound(full));
+        Assert.assertEquals(0, full.refCnt()); // released by the decoder
+        final HttpRequest request = channel.readInbound();
+        Assert.assertFalse(request instanceof HttpContent);
+        Assert.assertEquals("/upload", request.uri());
+        Assert.assertEquals("application/json", request.headers().get(HttpHeaderNames.CONTENT_TYPE));
+        final JsonStringBuilderWriter writer = channel.readInbound();
+        Assert.assertEquals("[1,2]", writer.getString());
+        Assert.assertFalse(channel.finish());
+    }
+}
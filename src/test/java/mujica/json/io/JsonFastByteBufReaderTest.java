@@ -0,0 +1,296 @@
+package mujica.json.io;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import mujica.algebra.random.FuzzyContext;
+import mujica.json.container.FastString;
+import mujica.json.handler.JsonHandler;
+import mujica.json.handler.TypePreference;
+import mujica.reflect.modifier.CodeHistory;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+@CodeHistory(date = "2026/10/17")
+public class JsonFastByteBufReaderTest {
+
+    private static class CountHandler extends JsonHandler {
+
+        final int preference;
+
+        final List<Object> keys = new ArrayList<>();
+
+        boolean keepKeys;
+
+        long count;
+
+        CountHandler(int preference) {
+            super();
+            this.preference = preference;
+        }
+
+        @Override
+        public int typePreference() {
+            return preference;
+        }
+
+        @Override
+        public void openArray() {
+            count++;
+        }
+
+        @Override
+        public void closeArray() {
+            count++;
+        }
+
+        @Override
+        public void openObject() {
+            count++;
+        }
+
+        @Override
+        public void closeObject() {
+            count++;
+        }
+
+        @Override
+        public void key(@NotNull String key) {
+            if (keepKeys) {
+                keys.add(key);
+            }
+            count++;
+        }
+
+        @Override
+        public void key(@NotNull FastString key) {
+            if (keepKeys) {
+                keys.add(key);
+            }
+            count++;
+        }
+
+        @Override
+        public void nullValue() {
+            count++;
+        }
+
+        @Override
+        public void booleanValue(boolean value) {
+            count++;
+        }
+
+        @Override
+        public void numberValue(int value) {
+            count++;
+        }
+
+        @Override
+        public void numberValue(long value) {
+            count++;
+        }
+
+        @Override
+        public void numberValue(double value) {
+            count++;
+        }
+
+        @Override
+        public void numberValue(@NotNull BigInteger value) {
+            count++;
+        }
+
+        @Override
+        public void stringValue(@NotNull CharSequence value) {
+            count += value.length();
+        }
+    }
+
+    private static final String NAME_CHARS = "abcdefghijklmnopqrstuvwxyz ABCDEFGHIJKLMNOPQRSTUVWXYZ 0123456789 -_.,:/ éèüßø 你好世界 かなカナ";
+
+    @NotNull
+    private static ByteBuf buffer(@NotNull String string) {
+        return Unpooled.wrappedBuffer(string.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * An API response like document, integers only so that number parsing does not allocate
+     */
+    @NotNull
+    private static String payload(@NotNull FuzzyContext fc, int approximateBytes) {
+        final StringBuilder sb = new StringBuilder("{\"status\":\"ok\",\"items\":[");
+        for (int index = 0; sb.length() < approximateBytes; index++) {
+            if (index > 0) {
+                sb.append(',');
+            }
+            sb.append("{\"id\":").append(fc.nextInt() & 0xfffffff)
+                    .append(",\"name\":\"");
+            for (int length = fc.nextInt(4, 24); length > 0; length--) {
+                sb.append(fc.nextChar(NAME_CHARS));
+            }
+            sb.append("\",\"description\":\"caf\\u00e9 au lait été ").append(index)
+                    .append("\",\"tags\":[\"alpha\",\"beta\"],\"active\":").append(fc.nextBoolean())
+                    .append(",\"parent\":null,\"created_at\":\"2026-10-17T12:00:00Z\"}");
+        }
+        return sb.append("]}").toString();
+    }
+
+    @Test
+    public void caseDeepNesting() {
+        final int depth = 1 << 17;
+        final StringBuilder sb = new StringBuilder();
+        for (int index = 0; index < depth; index++) {
+            sb.append("[{\"a\":");
+        }
+        sb.append("null");
+        for (int index = 0; index < depth; index++) {
+            sb.append("}]");
+        }
+        final String string = sb.toString();
+        final JsonFastByteBufReader reader = new JsonFastByteBufReader(buffer(string));
+        try {
+            CountHandler handler = new CountHandler(0);
+            reader.read(handler);
+            Assert.assertEquals(depth * 5L + 1L, handler.count);
+            Assert.assertFalse(reader.content().isReadable());
+        } finally {
+            reader.release();
+        }
+        final JsonFastByteBufReader skipper = new JsonFastByteBufReader(buffer(string + " true"));
+        try {
+            skipper.skip();
+            JsonStringBuilderWriter writer = new JsonStringBuilderWriter();
+            skipper.read(writer);
+            Assert.assertEquals("true", writer.getString());
+        } finally {
+            skipper.release();
+        }
+    }
+
+    @Test
+    public void caseInternKeys() {
+        final String document = "{\"alpha\":1,\"b\\u0065ta\":2,\"été\":3,\"space key\":4}";
+        final CountHandler handler = new CountHandler(0);
+        handler.keepKeys = true;
+        final JsonFastByteBufReader reader = new JsonFastByteBufReader(buffer(document + document));
+        try {
+            reader.read(handler);
+            reader.read(handler);
+        } finally {
+            reader.release();
+        }
+        Assert.assertEquals(8, handler.keys.size());
+        Assert.assertEquals(new FastString("alpha"), handler.keys.get(0));
+        Assert.assertEquals("beta", handler.keys.get(1));
+        Assert.assertEquals("été", handler.keys.get(2));
+        Assert.assertEquals(new FastString("space key"), handler.keys.get(3));
+        Assert.assertSame(handler.keys.get(0), handler.keys.get(4));
+        Assert.assertSame(handler.keys.get(2), handler.keys.get(6));
+        Assert.assertSame(handler.keys.get(3), handler.keys.get(7));
+        Assert.assertEquals(3, reader.internSize());
+    }
+
+    @Test
+    public void caseLoneMinus() {
+        for (String document : new String[] {"-", "-  ", "[-]", "[-,1]", "{\"a\":-}", "-\"a\""}) {
+            JsonFastByteBufReader reader = new JsonFastByteBufReader(buffer(document));
+            try {
+                reader.read(new CountHandler(0));
+                Assert.fail(document);
+            } catch (RuntimeException ignored) {
+            } finally {
+                reader.release();
+            }
+        }
+        final JsonFastByteBufReader reader = new JsonFastByteBufReader(buffer("[-0,-5,-12345678901234567890]"));
+        try {
+            JsonStringBuilderWriter writer = new JsonStringBuilderWriter();
+            reader.read(writer);
+            Assert.assertEquals("[0,-5,-12345678901234567890]", writer.getString());
+        } finally {
+            reader.release();
+        }
+    }
+
+    @Test
+    public void fuzzAgainstJsonByteBufReader() {
+        final FuzzyContext fc = new FuzzyContext();
+        for (int round = 0; round < 64; round++) {
+            String document = payload(fc, fc.nextInt(10, 4000));
+            JsonByteBufReader expectedReader = new JsonByteBufReader(buffer(document));
+            JsonFastByteBufReader actualReader = new JsonFastByteBufReader(buffer(document));
+            try {
+                JsonStringBuilderWriter expected = new JsonStringBuilderWriter();
+                expectedReader.read(expected);
+                JsonStringBuilderWriter actual = new JsonStringBuilderWriter();
+                actualReader.read(actual);
+                Assert.assertEquals(expected.getString(), actual.getString());
+            } finally {
+                expectedReader.release();
+                actualReader.release();
+            }
+        }
+    }
+
+    /**
+     * @return bytes allocated by current thread, or -1 if not supported; by reflection as the module does not read jdk.management
+     */
+    private static long allocatedBytes() {
+        try {
+            Method method = Class.forName("com.sun.management.ThreadMXBean").getMethod("getThreadAllocatedBytes", long.class);
+            return (Long) method.invoke(ManagementFactory.getThreadMXBean(), Thread.currentThread().getId());
+        } catch (ReflectiveOperationException e) {
+            return -1L;
+        }
+    }
+
+    @Test
+    public void throughput() {
+        final FuzzyContext fc = new FuzzyContext();
+        for (int size : new int[] {5 << 10, 50 << 10}) {
+            final ByteBuf data = buffer(payload(fc, size));
+            final int bytes = data.readableBytes();
+            final int rounds = Math.max(64, (64 << 20) / bytes);
+            final CountHandler handler = new CountHandler(TypePreference.FLAG_TRANSIENT_STRING_VALUE);
+            final JsonFastByteBufReader fastReader = new JsonFastByteBufReader(data.retainedSlice());
+            final JsonByteBufReader reader = new JsonByteBufReader(data.retainedSlice());
+            try {
+                long fastNanos = 0L;
+                long nanos = 0L;
+                long garbage = 0L;
+                for (int pass = 0; pass < 2; pass++) { // first pass warms up
+                    long start = System.nanoTime();
+                    for (int round = 0; round < rounds; round++) {
+                        reader.content().readerIndex(0);
+                        reader.read(handler);
+                    }
+                    nanos = System.nanoTime() - start;
+                    long allocated = allocatedBytes();
+                    start = System.nanoTime();
+                    for (int round = 0; round < rounds; round++) {
+                        fastReader.content().readerIndex(0);
+                        fastReader.read(handler);
+                    }
+                    fastNanos = System.nanoTime() - start;
+                    garbage = allocatedBytes() - allocated;
+                }
+                System.out.printf("%6d B  JsonByteBufReader %7.1f MB/s  JsonFastByteBufReader %7.1f MB/s  %.1f B garbage per document%n",
+                        bytes, (double) bytes * rounds * 1e3 / nanos, (double) bytes * rounds * 1e3 / fastNanos, (double) garbage / rounds);
+                if (allocatedBytes() >= 0L) {
+                    Assert.assertTrue(garbage < (long) rounds * 64);
+                }
+            } finally {
+                fastReader.release();
+                reader.release();
+                data.release();
+            }
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package mujica.json.io;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import mujica.algebra.random.FuzzyContext;
 import mujica.json.handler.JsonHandler;
 import mujica.json.handler.JsonStructure;
 import mujica.reflect.modifier.CodeHistory;
@@ -7,9 +10,14 @@ import org.jetbrains.annotations.NotNull;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.nio.charset.StandardCharsets;
+
 @CodeHistory(date = "2026/4/23")
+@CodeHistory(date = "2026/10/17")
 public class JsonWriterTest {
 
+    private final FuzzyContext fc = new FuzzyContext();
+
     private void caseFlags(@NotNull JsonStructure in, @NotNull String out, int flags) {
         {
             JsonStringBuilderWriter writer = new JsonStringBuilderWriter();
@@ -237,4 +245,85 @@ public class JsonWriterTest {
             jh.closeObject();
         }, "{\"solid\":[]}");
     }
+
+    @NotNull
+    private static String byteBufValues(@NotNull String string, boolean direct, boolean number) {
+        final ByteBuf value = (direct ? Unpooled.directBuffer() : Unpooled.buffer()).writeBytes(string.getBytes(StandardCharsets.UTF_8));
+        final JsonByteBufWriter writer = new JsonByteBufWriter(Unpooled.buffer());
+        writer.openArray();
+        if (number) {
+            writer.numberValue(value);
+        } else {
+            writer.stringValue(value);
+        }
+        writer.closeArray();
+        Assert.assertEquals(string.getBytes(StandardCharsets.UTF_8).length, value.readableBytes()); // not consumed
+        value.release();
+        final String json = writer.content().toString(StandardCharsets.UTF_8);
+        writer.release();
+        return json;
+    }
+
+    @Test
+    public void caseByteBufValue() {
+        for (boolean direct : new boolean[] {false, true}) {
+            Assert.assertEquals("[\"\"]", byteBufValues("", direct, false));
+            Assert.assertEquals("[\"a\\\"b\\\\c\\n\\t\u4e2d\ud83d\ude00\\u0001\\u001f\"]",
+                    byteBufValues("a\"b\\c\n\t\u4e2d\ud83d\ude00\u0001\u001f", direct, false));
+            Assert.assertEquals("[-12.50]", byteBufValues("-12.50", direct, true));
+        }
+        final JsonStringBuilderWriter writer = new JsonStringBuilderWriter(); // the default of JsonHandler
+        writer.stringValue(Unpooled.copiedBuffer("\u4e2d\"", StandardCharsets.UTF_8));
+        Assert.assertEquals("\"\u4e2d\\\"\"", writer.getString());
+    }
+
+    /**
+     * With ESCAPE_EXTRA, the ByteBuf overload escapes like the CharSequence overload
+     */
+    @Test
+    public void caseByteBufValueEscapeExtra() {
+        final String string = "a b\u007f\u00ad\u00a0\u200b\u2028\u2029\u4e2d\ud83d\ude00\n\"";
+        for (int flags : new int[] {JsonWriter.ConfigFlags.ESCAPE_EXTRA, JsonWriter.ConfigFlags.ESCAPE_EXTRA | JsonWriter.ConfigFlags.UPPERCASE_HEX}) {
+            for (boolean direct : new boolean[] {false, true}) {
+                JsonByteBufWriter expected = new JsonByteBufWriter(Unpooled.buffer());
+                expected.setFlags(flags);
+                expected.stringValue(string);
+                ByteBuf value = (direct ? Unpooled.directBuffer() : Unpooled.buffer()).writeBytes(string.getBytes(StandardCharsets.UTF_8));
+                JsonByteBufWriter actual = new JsonByteBufWriter(Unpooled.buffer());
+                actual.setFlags(flags);
+                actual.stringValue(value);
+                value.release();
+                String json = expected.content().toString(StandardCharsets.UTF_8);
+                Assert.assertTrue(json, json.contains("\\u2028") || json.contains("\\u2028".toUpperCase()));
+                Assert.assertEquals(json, actual.content().toString(StandardCharsets.UTF_8));
+                expected.release();
+                actual.release();
+            }
+        }
+    }
+
+    @Test
+    public void fuzzByteBufValue() {
+        final String alphabet = "ab\"\\\n\r\t\b\f \u00e9\u4e2d\ud83d\ude00";
+        for (int repeatIndex = 0; repeatIndex < 400; repeatIndex++) {
+            StringBuilder sb = new StringBuilder();
+            int length = fc.nextInt(40);
+            for (int index = 0; index < length; index++) {
+                int position = fc.nextInt(alphabet.length() - 1);
+                if (Character.isLowSurrogate(alphabet.charAt(position))) {
+                    position--;
+                }
+                sb.append(alphabet.charAt(position));
+                if (Character.isHighSurrogate(alphabet.charAt(position))) {
+                    sb.append(alphabet.charAt(position + 1));
+                }
+            }
+            String string = sb.toString();
+            JsonStringBuilderWriter expected = new JsonStringBuilderWriter();
+            expected.openArray();
+            expected.stringValue(string);
+            expected.closeArray();
+            Assert.assertEquals(expected.getString(), byteBufValues(string, fc.nextBoolean(), false));
+        }
+    }
 }
@@ -0,0 +1,243 @@
+package mujica.json.path;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import mujica.json.container.FastString;
+import mujica.json.handler.JsonHandler;
+import mujica.json.io.JsonByteBufReader;
+import mujica.json.io.JsonStringBuilderWriter;
+import mujica.reflect.modifier.CodeHistory;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+
+@CodeHistory(date = "2026/10/17")
+public class JsonPathSelectorTest {
+
+    private static final String DOCUMENT = "{\"meta\" : {\"id\": 42, \"tags\": [\"x\", \"]}\\\"\"]},"
+            + " \"items\": [{\"name\": \"a\"}, {\"name\": \"b\", \"size\": [1, 2]}, 3.5e1],"
+            + " \"n\\u0061me\": \"escaped\", \"last\": null}";
+
+    private static class CountHandler extends JsonHandler {
+
+        long count;
+
+        CountHandler() {
+            super();
+        }
+
+        @Override
+        public void openArray() {
+            count++;
+        }
+
+        @Override
+        public void closeArray() {
+            count++;
+        }
+
+        @Override
+        public void openObject() {
+            count++;
+        }
+
+        @Override
+        public void closeObject() {
+            count++;
+        }
+
+        @Override
+        public void key(@NotNull String key) {
+            count++;
+        }
+
+        @Override
+        public void key(@NotNull FastString key) {
+            count++;
+        }
+
+        @Override
+        public void nullValue() {
+            count++;
+        }
+
+        @Override
+        public void booleanValue(boolean value) {
+            count++;
+        }
+
+        @Override
+        public void numberValue(int value) {
+            count++;
+        }
+
+        @Override
+        public void numberValue(long value) {
+            count++;
+        }
+
+        @Override
+        public void numberValue(double value) {
+            count++;
+        }
+
+        @Override
+        public void stringValue(@NotNull CharSequence value) {
+            count++;
+        }
+    }
+
+    @NotNull
+    private static ByteBuf buffer(@NotNull String string) {
+        return Unpooled.wrappedBuffer(string.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @NotNull
+    private static String[] select(@NotNull String document, @NotNull JsonPath... paths) {
+        final JsonStringBuilderWriter[] writers = new JsonStringBuilderWriter[paths.length];
+        for (int index = 0; index < paths.length; index++) {
+            writers[index] = new JsonStringBuilderWriter();
+        }
+        final ByteBuf data = buffer(document + " ");
+        (new JsonPathSelector(paths)).select(data, writers);
+        Assert.assertEquals(document.length(), data.readerIndex());
+        final String[] strings = new String[paths.length];
+        for (int index = 0; index < paths.length; index++) {
+            strings[index] = writers[index].getString();
+        }
+        return strings;
+    }
+
+    @Test
+    public void caseSelect() {
+        Assert.assertArrayEquals(new String[] {
+                "42", "[\"x\",\"]}\\\"\"]", "\"b\"", "[1,2]", "35.0", "\"escaped\"", "null", "", ""
+        }, select(DOCUMENT,
+                JsonPath.of(JsonPath.of("meta"), JsonPath.of("id")),
+                JsonPath.of(JsonPath.of("meta"), JsonPath.of("tags")),
+                JsonPath.of(JsonPath.of("items"), JsonPath.of(1), JsonPath.of("name")),
+                JsonPath.of(JsonPath.of("items"), JsonPath.of(1), JsonPath.of("size")),
+                JsonPath.of(JsonPath.of("items"), JsonPath.of(2)),
+                JsonPath.of("name"),
+                JsonPath.of("last"),
+                JsonPath.of(JsonPath.of("items"), JsonPath.of(7)),
+                JsonPath.of(JsonPath.of("meta"), JsonPath.of("id"), JsonPath.of("deeper"))
+        ));
+    }
+
+    @Test
+    public void caseOverlapping() {
+        Assert.assertArrayEquals(new String[] {"{\"id\":42,\"tags\":[\"x\",\"]}\\\"\"]}", "\"x\"", "\"x\""}, select(DOCUMENT,
+                JsonPath.of("meta"),
+                JsonPath.of(JsonPath.of("meta"), JsonPath.of("tags"), JsonPath.of(0)),
+                JsonPath.of(JsonPath.of("meta"), JsonPath.of("tags"), JsonPath.of(0))
+        ));
+        Assert.assertArrayEquals(new String[] {"[1,[2]]"}, select("[1,[2]]", JsonPath.of()));
+    }
+
+    @Test
+    public void caseDuplicateKey() {
+        final ByteBuf data = buffer("{\"a\":1,\"a\":2,\"b\":3,\"c\":4}");
+        final JsonStringBuilderWriter writer = new JsonStringBuilderWriter();
+        Assert.assertEquals(3, (new JsonPathSelector(JsonPath.of("a"), JsonPath.of("b"))).select(data, new JsonHandler[] {null, writer}));
+        Assert.assertEquals("3", writer.getString());
+        Assert.assertFalse(data.isReadable());
+    }
+
+    @Test
+    public void caseLenientFlags() {
+        final String document = "{,'meta':{`id`:42,'tags':['x',],},\"items\":[,1,{'name':'b'},],}";
+        final int flags = JsonByteBufReader.FLAG_APOSTROPHE_QUOTE_STRING | JsonByteBufReader.FLAG_GRAVE_ACCENT_QUOTE_STRING
+                | JsonByteBufReader.FLAG_LEADING_COMMA | JsonByteBufReader.FLAG_TRAILING_COMMA;
+        final JsonByteBufReader reader = new JsonByteBufReader(buffer(document));
+        reader.setFlags(flags);
+        reader.read(new CountHandler()); // the same flags let the reader parse it
+        final ByteBuf data = buffer(document);
+        final JsonStringBuilderWriter[] writers = {new JsonStringBuilderWriter(), new JsonStringBuilderWriter(),
+                new JsonStringBuilderWriter(), new JsonStringBuilderWriter()};
+        final JsonPathSelector selector = (new JsonPathSelector(
+                JsonPath.of(JsonPath.of("meta"), JsonPath.of("id")),
+                JsonPath.of(JsonPath.of("meta"), JsonPath.of("tags"), JsonPath.of(1)),
+                JsonPath.of(JsonPath.of("items"), JsonPath.of(1), JsonPath.of("name")),
+                JsonPath.of(JsonPath.of("items"), JsonPath.of(0))
+        )).setFlags(flags);
+        Assert.assertEquals(3, selector.select(data, writers));
+        Assert.assertEquals("42", writers[0].getString());
+        Assert.assertEquals("", writers[1].getString());
+        Assert.assertEquals("\"b\"", writers[2].getString());
+        Assert.assertEquals("1", writers[3].getString());
+        Assert.assertFalse(data.isReadable());
+        try {
+            (new JsonPathSelector(JsonPath.of(JsonPath.of("meta"), JsonPath.of("id")))).select(buffer(document), new JsonHandler[1]);
+            Assert.fail();
+        } catch (RuntimeException e) {
+            // pass, strict by default
+        }
+    }
+
+    @Test
+    public void caseValueStream() {
+        final ByteBuf data = buffer("{\"a\":1,\"b\":2} {\"b\":3}");
+        final JsonPathSelector selector = new JsonPathSelector(JsonPath.of("b"));
+        final JsonStringBuilderWriter first = new JsonStringBuilderWriter();
+        Assert.assertEquals(1, selector.select(data, new JsonHandler[] {first}));
+        final JsonStringBuilderWriter second = new JsonStringBuilderWriter();
+        Assert.assertEquals(1, selector.select(data, new JsonHandler[] {second}));
+        Assert.assertEquals("2", first.getString());
+        Assert.assertEquals("3", second.getString());
+        Assert.assertFalse(data.isReadable());
+    }
+
+    /**
+     * About 2 MB of records, three values selected near the start, the middle and the end
+     */
+    @NotNull
+    private static String largeDocument(int records) {
+        final StringBuilder sb = new StringBuilder("{\"head\":{\"version\":3},\"records\":[");
+        for (int index = 0; index < records; index++) {
+            if (index > 0) {
+                sb.append(',');
+            }
+            sb.append("{\"id\":").append(index)
+                    .append(",\"text\":\"caf\\u00e9 \\\"quoted\\\" été ").append(index * 7919L)
+                    .append("\",\"values\":[1.5,-2e3,true,false,null],\"nested\":{\"k\":[{\"deep\":\"[{\"}]}}");
+        }
+        return sb.append("],\"tail\":{\"checksum\":\"abc\"}}").toString();
+    }
+
+    @Test
+    public void benchmark() {
+        final int records = 16000;
+        final ByteBuf data = buffer(largeDocument(records));
+        final int bytes = data.readableBytes();
+        final JsonPathSelector selector = new JsonPathSelector(
+                JsonPath.of(JsonPath.of("head"), JsonPath.of("version")),
+                JsonPath.of(JsonPath.of("records"), JsonPath.of(records / 2), JsonPath.of("id")),
+                JsonPath.of(JsonPath.of("tail"), JsonPath.of("checksum")));
+        final CountHandler handler = new CountHandler();
+        final int rounds = 20;
+        long selectNanos = 0L;
+        long parseNanos = 0L;
+        for (int pass = 0; pass < 2; pass++) { // first pass warms up
+            long start = System.nanoTime();
+            for (int round = 0; round < rounds; round++) {
+                data.readerIndex(0);
+                JsonStringBuilderWriter[] writers = {new JsonStringBuilderWriter(), new JsonStringBuilderWriter(), new JsonStringBuilderWriter()};
+                Assert.assertEquals(3, selector.select(data, writers));
+                Assert.assertEquals(String.valueOf(records / 2), writers[1].getString());
+                Assert.assertEquals("\"abc\"", writers[2].getString());
+            }
+            selectNanos = System.nanoTime() - start;
+            start = System.nanoTime();
+            for (int round = 0; round < rounds; round++) {
+                data.readerIndex(0);
+                (new JsonByteBufReader(data)).read(handler);
+            }
+            parseNanos = System.nanoTime() - start;
+        }
+        System.out.printf("%d B  full parse %7.1f MB/s  select %7.1f MB/s  speedup %.1fx%n", bytes,
+                (double) bytes * rounds * 1e3 / parseNanos, (double) bytes * rounds * 1e3 / selectNanos, (double) parseNanos / selectNanos);
+    }
+}
@@ -0,0 +1,160 @@
+package mujica.json.reflect;
+
+import mujica.json.io.JsonCharSequenceReader;
+import mujica.json.modifier.JsonHint;
+import mujica.reflect.modifier.CodeHistory;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.Assert;
+import org.junit.Test;
+
+@CodeHistory(date = "2026/10/17")
+public class AccessorGeneratorTest {
+
+    @CodeHistory(date = "2026/10/17")
+    public static class Dto20 {
+
+        public int id;
+        public int version;
+        public int count;
+        public int width;
+        public int height;
+        public int depth;
+        public long createdAt;
+        public long updatedAt;
+        public long size;
+        public double latitude;
+        public double longitude;
+        public double score;
+        public boolean enabled;
+        public boolean visible;
+        public boolean archived;
+        public String name;
+        public String title;
+        public String owner;
+        public String description;
+
+        private int priority;
+
+        public int getPriority() {
+            return priority;
+        }
+
+        public void setPriority(int priority) {
+            this.priority = priority;
+        }
+
+        @NotNull
+        static Dto20 sample(int seed) {
+            final Dto20 dto = new Dto20();
+            dto.id = seed;
+            dto.version = seed + 1;
+            dto.count = seed * 3;
+            dto.width = 1920;
+            dto.height = -1080;
+            dto.depth = 24;
+            dto.createdAt = 1_700_000_000_000L + seed;
+            dto.updatedAt = 1_800_000_000_000L - seed;
+            dto.size = 1L << 40;
+            dto.latitude = 31.25;
+            dto.longitude = -121.5;
+            dto.score = seed * 0.5;
+            dto.enabled = true;
+            dto.visible = (seed & 1) == 0;
+            dto.name = "name" + seed;
+            dto.title = "title";
+            dto.owner = "owner";
+            dto.description = "a quick brown fox jumps over the lazy dog";
+            dto.priority = 7;
+            return dto;
+        }
+    }
+
+    private static final JsonContext REFLECT = (new JsonContext()).loadBasic();
+
+    private static final JsonContext GENERATED = (new JsonContext(JsonHint.GENERATE_ACCESSOR)).loadBasic();
+
+    @Test
+    public void caseGenerated() {
+        final PlainObjectType type = (PlainObjectType) GENERATED.forClass(Dto20.class);
+        Assert.assertEquals(20, type.fieldCollection().size());
+        for (PlainObjectField field : type.fieldCollection()) {
+            Assert.assertTrue(field.getName(), field.getter.getClass().getName().startsWith("mujica.json.reflect.GeneratedGetter$"));
+            Assert.assertTrue(field.getName(), field.setter.getClass().getName().startsWith("mujica.json.reflect.GeneratedSetter$"));
+        }
+        Assert.assertTrue(type.builder.getClass().getName().startsWith("mujica.json.reflect.GeneratedGetter$"));
+        final ClassLoader loader = type.builder.getClass().getClassLoader();
+        Assert.assertNotSame(AccessorGenerator.class.getClassLoader(), loader);
+        Assert.assertSame(AccessorGenerator.class.getClassLoader(), loader.getParent());
+    }
+
+    @Test
+    public void caseRoundTrip() {
+        for (int seed = 0; seed < 16; seed++) {
+            Dto20 dto = Dto20.sample(seed);
+            String expected = REFLECT.stringify(dto);
+            Assert.assertEquals(expected, GENERATED.stringify(dto));
+            Dto20 parsed = new Dto20();
+            GENERATED.parse(expected, parsed);
+            Assert.assertEquals(expected, REFLECT.stringify(parsed));
+            Assert.assertEquals(7, parsed.getPriority());
+        }
+        final Dto20 dto = new Dto20();
+        GENERATED.parse("{\"title\":\"t\",\"size\":5,\"enabled\":true}", dto);
+        Assert.assertEquals("t", dto.title);
+        Assert.assertEquals(5L, dto.size);
+        Assert.assertTrue(dto.enabled);
+    }
+
+    /**
+     * Same as JsonContext.parse(), but the root frame does not log the finished object
+     */
+    private static void parseQuietly(@NotNull JsonContext context, @NotNull String document, @NotNull Object root) {
+        final ParserStack stack = new ParserStack(new ImmutableFrame(context, root) {
+            @Override
+            public void structureValue(@Nullable Object value) {
+                // pass
+            }
+        });
+        try {
+            (new JsonCharSequenceReader(document)).read(stack);
+        } finally {
+            stack.close();
+        }
+    }
+
+    @Test
+    public void benchmark() {
+        final Dto20[] samples = new Dto20[64];
+        final String[] documents = new String[samples.length];
+        for (int index = 0; index < samples.length; index++) {
+            samples[index] = Dto20.sample(index);
+            documents[index] = REFLECT.stringify(samples[index]);
+        }
+        final JsonContext[] contexts = {REFLECT, GENERATED};
+        final String[] names = {"reflect", "generated"};
+        final int rounds = 100000;
+        for (int pass = 0; pass < 2; pass++) { // first pass warms up
+            for (int index = 0; index < contexts.length; index++) {
+                JsonContext context = contexts[index];
+                long start = System.nanoTime();
+                for (int round = 0; round < rounds; round++) {
+                    int position = round % samples.length;
+                    Assert.assertEquals(documents[position].length(), context.stringify(samples[position]).length());
+                }
+                long stringify = System.nanoTime() - start;
+                start = System.nanoTime();
+                for (int round = 0; round < rounds; round++) {
+                    Dto20 dto = new Dto20();
+                    parseQuietly(context, documents[round % documents.length], dto);
+                    Assert.assertEquals(7, dto.getPriority());
+                }
+                long parse = System.nanoTime() - start;
+                if (pass == 1) {
+                    System.out.printf("%-14s stringify %7.1f ns/op  parse %7.1f ns/op%n",
+                            names[index], (double) stringify / rounds, (double) parse / rounds);
+                }
+            }
+        }
+    }
+}
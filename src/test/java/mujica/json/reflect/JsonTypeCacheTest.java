@@ -0,0 +1,160 @@
+package mujica.json.reflect;
+
+import mujica.reflect.modifier.CodeHistory;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+
+@CodeHistory(date = "2026/10/17")
+public class JsonTypeCacheTest {
+
+    @CodeHistory(date = "2026/10/17")
+    public static class Point {
+
+        public int x;
+
+        public long y;
+
+        public String label;
+
+        public Point next;
+    }
+
+    @CodeHistory(date = "2026/10/17")
+    public static class Other {
+
+        public boolean flag;
+    }
+
+    @CodeHistory(date = "2026/10/17")
+    public static class Another {
+
+        public int count;
+    }
+
+    @Test
+    public void caseCopyPerContext() {
+        final JsonTypeCache cache = new JsonTypeCache((new JsonContext()).loadBasic());
+        cache.warmUp(Point.class);
+        Assert.assertEquals(1L, cache.missCount());
+        final JsonContext a = cache.newContext();
+        final JsonContext b = cache.newContext();
+        final JsonType typeA = a.forClass(Point.class);
+        final JsonType typeB = b.forClass(Point.class);
+        Assert.assertNotSame(typeA, typeB);
+        Assert.assertSame(typeA, a.forClass(Point.class));
+        Assert.assertEquals(2L, cache.hitCount());
+        Assert.assertEquals(1L, cache.missCount());
+        final ArrayList<PlainObjectField> fieldsA = new ArrayList<>(((PlainObjectType) typeA).fieldCollection());
+        final ArrayList<PlainObjectField> fieldsB = new ArrayList<>(((PlainObjectType) typeB).fieldCollection());
+        Assert.assertEquals(4, fieldsA.size());
+        for (int index = 0; index < fieldsA.size(); index++) {
+            Assert.assertNotSame(fieldsA.get(index).declaredType, fieldsB.get(index).declaredType); // per call state is not shared
+        }
+        final Point point = new Point();
+        point.x = 3;
+        point.y = -4L;
+        point.label = "p";
+        point.next = new Point();
+        final String expected = (new JsonContext()).loadBasic().stringify(point);
+        Assert.assertEquals(expected, a.stringify(point));
+        final Point parsed = new Point();
+        b.parse(expected, parsed);
+        Assert.assertEquals(expected, a.stringify(parsed));
+    }
+
+    @Test
+    public void caseEviction() {
+        final JsonTypeCache cache = new JsonTypeCache((new JsonContext()).loadBasic(), 2);
+        cache.warmUp(Point.class, Other.class);
+        Assert.assertEquals(2, cache.size());
+        cache.warmUp(Point.class, Another.class);
+        Assert.assertEquals(2, cache.size());
+        Assert.assertEquals(1L, cache.evictionCount());
+        cache.warmUp(Point.class);
+        Assert.assertEquals(2L, cache.hitCount());
+        cache.warmUp(int.class, Other.class);
+        Assert.assertEquals(2, cache.size());
+        Assert.assertTrue(cache.newContext().forClass(int.class) instanceof I32Type); // preloaded type survives eviction
+    }
+
+    @CodeHistory(date = "2026/10/17")
+    public static class Outer {
+
+        public Other inner;
+    }
+
+    private static void awaitCleared(@NotNull WeakReference<?>... references) throws InterruptedException {
+        for (int round = 0; round < 100; round++) {
+            boolean cleared = true;
+            for (WeakReference<?> reference : references) {
+                cleared &= reference.get() == null;
+            }
+            if (cleared) {
+                return;
+            }
+            System.gc();
+            Thread.sleep(10L);
+        }
+        for (WeakReference<?> reference : references) {
+            Assert.assertNull(reference.get());
+        }
+    }
+
+    @Test
+    public void caseEvictionReleases() throws InterruptedException {
+        final JsonContext builder = (new JsonContext()).loadBasic();
+        final JsonTypeCache cache = new JsonTypeCache(builder, 1);
+        final JsonContext context = cache.newContext();
+        final WeakReference<JsonType> template = new WeakReference<>(cache.template(Outer.class));
+        final WeakReference<JsonType> copy = new WeakReference<>(context.forClass(Outer.class));
+        Assert.assertTrue(builder.reflectCache.containsKey(Other.class.getName()));
+        cache.warmUp(Another.class);
+        Assert.assertEquals(1L, cache.evictionCount());
+        Assert.assertFalse(builder.reflectCache.containsKey(Outer.class.getName()));
+        Assert.assertFalse(builder.reflectCache.containsKey(Other.class.getName())); // nested type built with it
+        awaitCleared(template, copy);
+        final Outer outer = new Outer();
+        outer.inner = new Other();
+        Assert.assertEquals((new JsonContext()).loadBasic().stringify(outer), context.stringify(outer));
+        Assert.assertEquals(2L, cache.evictionCount());
+    }
+
+    @Test
+    public void caseThreads() throws InterruptedException {
+        final JsonTypeCache cache = new JsonTypeCache((new JsonContext()).loadBasic());
+        final Point point = new Point();
+        point.x = 100;
+        point.label = "shared";
+        final String expected = (new JsonContext()).loadBasic().stringify(point);
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final ArrayList<Thread> threads = new ArrayList<>();
+        for (int index = 0; index < 8; index++) {
+            threads.add(new Thread(() -> {
+                try {
+                    JsonContext context = cache.newContext();
+                    for (int round = 0; round < 200; round++) {
+                        Point parsed = new Point();
+                        context.parse(expected, parsed);
+                        Assert.assertEquals(expected, context.stringify(parsed));
+                    }
+                } catch (Throwable e) {
+                    failure.set(e);
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        Assert.assertNull(failure.get());
+        Assert.assertEquals(8L, cache.hitCount() + cache.missCount());
+        System.out.println(cache);
+    }
+}
@@ -0,0 +1,73 @@
+package mujica.netty.codec;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.DecoderException;
+import mujica.algebra.random.FuzzyContext;
+import mujica.reflect.modifier.CodeHistory;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+@CodeHistory(date = "2026/10/17")
+public class Base64ByteBufCodecTest {
+
+    private static final int REPEAT = 40;
+
+    private static final int SIZE = 20000;
+
+    private final FuzzyContext fc = new FuzzyContext();
+
+    @Test
+    public void fuzzEncoder() {
+        for (int repeatIndex = 0; repeatIndex < REPEAT; repeatIndex++) {
+            boolean url = fc.nextBoolean();
+            EmbeddedChannel channel = new EmbeddedChannel(new Base64ByteBufEncoder(url));
+            byte[] message = fc.nextByteArray(fc.nextInt(SIZE));
+            Assert.assertTrue(channel.writeOutbound(fc.nextBoolean() ? Unpooled.wrappedBuffer(message) : Unpooled.directBuffer().writeBytes(message)));
+            ByteBuf code = channel.readOutbound();
+            Assert.assertArrayEquals((url ? Base64.getUrlEncoder() : Base64.getEncoder()).encode(message), ByteBufUtil.getBytes(code));
+            code.release();
+            Assert.assertFalse(channel.finish());
+        }
+    }
+
+    @Test
+    public void fuzzDecoder() {
+        for (int repeatIndex = 0; repeatIndex < REPEAT; repeatIndex++) {
+            EmbeddedChannel channel = new EmbeddedChannel(new Base64ByteBufDecoder());
+            byte[] message = fc.nextByteArray(fc.nextInt(SIZE));
+            byte[] code = Base64.getEncoder().encode(message);
+            for (int offset = 0; offset < code.length; ) {
+                int length = Math.min(code.length - offset, fc.nextInt(1, 3000));
+                channel.writeInbound(Unpooled.copiedBuffer(code, offset, length));
+                offset += length;
+            }
+            channel.finish();
+            ByteArrayOutputStream actual = new ByteArrayOutputStream();
+            for (ByteBuf part; (part = channel.readInbound()) != null; ) {
+                actual.writeBytes(ByteBufUtil.getBytes(part));
+                part.release();
+            }
+            Assert.assertArrayEquals(message, actual.toByteArray());
+        }
+    }
+
+    @Test(expected = DecoderException.class)
+    public void caseBadCode() {
+        final EmbeddedChannel channel = new EmbeddedChannel(new Base64ByteBufDecoder());
+        channel.writeInbound(Unpooled.copiedBuffer("Zm9v<p>A", StandardCharsets.ISO_8859_1));
+    }
+
+    @Test(expected = DecoderException.class)
+    public void casePartialGroup() {
+        final EmbeddedChannel channel = new EmbeddedChannel(new Base64ByteBufDecoder());
+        channel.writeInbound(Unpooled.copiedBuffer("Zm9vYm", StandardCharsets.ISO_8859_1));
+        channel.finish();
+    }
+}
@@ -0,0 +1,327 @@
+package mujica.netty.mysql;
+
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.local.LocalAddress;
+import io.netty.channel.local.LocalServerChannel;
+import mujica.reflect.modifier.CodeHistory;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Closeable;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Speaks the server side over a local channel, with the same codec as the client. Understands:
+ * "SELECT n" gives n rows of the table; "INSERT ..." gives an OK with a new insert id; anything else gives an ERR.
+ * A prepared "SELECT ?, ?" takes the row count and a name prefix, and gives binary rows
+ */
+@CodeHistory(date = "2026/10/17")
+class FakeMysqlServer implements Closeable {
+
+    static final String USER = "root";
+
+    static final String PASSWORD = "p@ssw0rd";
+
+    static final List<MysqlColumn> COLUMNS = Arrays.asList(
+            new MysqlColumn("id", ColumnTypes.LONGLONG, MysqlColumn.NOT_NULL_FLAG),
+            new MysqlColumn("name", ColumnTypes.VAR_STRING, 0),
+            new MysqlColumn("score", ColumnTypes.DOUBLE, 0),
+            new MysqlColumn("born", ColumnTypes.DATE, 0)
+    );
+
+    static final LocalDate EPOCH = LocalDate.of(2000, 1, 1);
+
+    @NotNull
+    static Object[] row(int index, String prefix) {
+        return new Object[] {(long) index, prefix == null || index % 3 == 2 ? null : prefix + index, index * 0.5, EPOCH.plusDays(index)};
+    }
+
+    final LocalAddress address = new LocalAddress("fake-mysql-" + ThreadLocalRandom.current().nextLong());
+
+    final AtomicInteger connections = new AtomicInteger();
+
+    @NotNull
+    private final Channel serverChannel;
+
+    FakeMysqlServer(@NotNull EventLoopGroup group) throws InterruptedException {
+        super();
+        serverChannel = new ServerBootstrap()
+                .group(group)
+                .channel(LocalServerChannel.class)
+                .childHandler(new ChannelInitializer<Channel>() {
+                    @Override
+                    protected void initChannel(@NotNull Channel channel) {
+                        connections.incrementAndGet();
+                        channel.pipeline().addLast(new MysqlPacketDecoder(), MysqlPacketEncoder.INSTANCE, new Session());
+                    }
+                })
+                .bind(address).sync().channel();
+    }
+
+    @Override
+    public void close() {
+        serverChannel.close().syncUninterruptibly();
+    }
+
+    @CodeHistory(date = "2026/10/17")
+    private static class Session extends SimpleChannelInboundHandler<MysqlPacket> {
+
+        final byte[] seed = new byte[20];
+
+        final HashMap<Integer, MysqlStatement> statements = new HashMap<>();
+
+        boolean authenticated;
+
+        int nextStatementId = 1;
+
+        long nextInsertId = 1;
+
+        Session() {
+            super();
+            for (int index = 0; index < seed.length; index++) {
+                seed[index] = (byte) ThreadLocalRandom.current().nextInt(1, 128);
+            }
+        }
+
+        @Override
+        public void channelActive(@NotNull ChannelHandlerContext ctx) {
+            final ByteBuf payload = ctx.alloc().buffer();
+            payload.writeByte(10);
+            MysqlIO.writeNullTerminatedString("8.0.0-fake", payload);
+            payload.writeIntLE(ctx.channel().hashCode());
+            payload.writeBytes(seed, 0, 8);
+            payload.writeByte(0);
+            final int capabilities = MysqlClientHandler.CLIENT_CAPABILITIES | Capabilities.CONNECT_WITH_DB;
+            payload.writeShortLE(capabilities);
+            payload.writeByte(MysqlClientHandler.UTF8MB4_GENERAL_CI);
+            payload.writeShortLE(2); // autocommit
+            payload.writeShortLE(capabilities >>> 16);
+            payload.writeByte(seed.length + 1);
+            payload.writeZero(10);
+            payload.writeBytes(seed, 8, seed.length - 8);
+            payload.writeByte(0);
+            MysqlIO.writeNullTerminatedString(MysqlAuth.NATIVE_PASSWORD, payload);
+            ctx.writeAndFlush(new MysqlPacket(0, payload));
+        }
+
+        @Override
+        protected void channelRead0(@NotNull ChannelHandlerContext ctx, @NotNull MysqlPacket msg) throws Exception {
+            final ByteBuf payload = msg.content();
+            if (!authenticated) {
+                payload.skipBytes(32);
+                String user = MysqlIO.readNullTerminatedString(payload);
+                byte[] auth = MysqlIO.readEncodedBytes(payload);
+                if (USER.equals(user) && Arrays.equals(auth, MysqlAuth.nativePassword(PASSWORD.getBytes(StandardCharsets.UTF_8), seed))) {
+                    authenticated = true;
+                    ok(ctx, msg.sequenceId() + 1, 0, 0);
+                } else {
+                    error(ctx, msg.sequenceId() + 1, 1045, "28000", "Access denied for user '" + user + "'");
+                    ctx.close();
+                }
+                return;
+            }
+            final int command = payload.readUnsignedByte();
+            switch (command) {
+                case ServerCommands.QUERY:
+                    query(ctx, payload.toString(StandardCharsets.UTF_8));
+                    break;
+                case ServerCommands.PING:
+                    ok(ctx, 1, 0, 0);
+                    break;
+                case ServerCommands.STATEMENT_PREPARE:
+                    prepare(ctx, payload.toString(StandardCharsets.UTF_8));
+                    break;
+                case ServerCommands.STATEMENT_EXECUTE:
+                    execute(ctx, payload);
+                    break;
+                case ServerCommands.STATEMENT_CLOSE:
+                    statements.remove(payload.readIntLE());
+                    break;
+                case ServerCommands.QUIT:
+                    ctx.close();
+                    break;
+                default:
+                    error(ctx, 1, 1047, "08S01", "Unknown command");
+                    break;
+            }
+        }
+
+        private void query(@NotNull ChannelHandlerContext ctx, @NotNull String sql) {
+            if (sql.startsWith("INSERT")) {
+                ok(ctx, 1, 1, nextInsertId++);
+            } else if (sql.startsWith("SELECT ")) {
+                int count = Integer.parseInt(sql.substring(7).trim());
+                int sequenceId = columns(ctx, 1, true);
+                for (int index = 0; index < count; index++) {
+                    ByteBuf row = ctx.alloc().buffer();
+                    for (Object value : row(index, "name")) {
+                        if (value == null) {
+                            row.writeByte(MysqlTextRow.NULL);
+                        } else {
+                            MysqlIO.writeEncodedString(value.toString(), row);
+                        }
+                    }
+                    ctx.write(new MysqlPacket(sequenceId++, row));
+                }
+                eof(ctx, sequenceId);
+            } else {
+                error(ctx, 1, 1064, "42000", "You have an error in your SQL syntax");
+            }
+        }
+
+        private void prepare(@NotNull ChannelHandlerContext ctx, @NotNull String sql) {
+            if (!sql.startsWith("SELECT")) {
+                error(ctx, 1, 1064, "42000", "You have an error in your SQL syntax");
+                return;
+            }
+            int parameterCount = 0;
+            for (int index = 0; index < sql.length(); index++) {
+                if (sql.charAt(index) == '?') {
+                    parameterCount++;
+                }
+            }
+            final MysqlStatement statement = new MysqlStatement(sql, nextStatementId++, parameterCount, COLUMNS.size());
+            statements.put(statement.id, statement);
+            final ByteBuf payload = ctx.alloc().buffer();
+            payload.writeByte(0);
+            payload.writeIntLE(statement.id);
+            payload.writeShortLE(statement.columnCount);
+            payload.writeShortLE(statement.parameterCount);
+            payload.writeByte(0);
+            payload.writeShortLE(0);
+            ctx.write(new MysqlPacket(1, payload));
+            int sequenceId = 2;
+            if (parameterCount != 0) {
+                for (int index = 0; index < parameterCount; index++) {
+                    ByteBuf definition = ctx.alloc().buffer();
+                    new MysqlColumn("?", ColumnTypes.VAR_STRING, 0).write(definition);
+                    ctx.write(new MysqlPacket(sequenceId++, definition));
+                }
+                sequenceId = eof(ctx, sequenceId);
+            }
+            columns(ctx, sequenceId, false);
+            ctx.flush();
+        }
+
+        private void execute(@NotNull ChannelHandlerContext ctx, @NotNull ByteBuf payload) {
+            final MysqlStatement statement = statements.get(payload.readIntLE());
+            if (statement == null) {
+                error(ctx, 1, 1243, "HY000", "Unknown prepared statement handler");
+                return;
+            }
+            payload.skipBytes(5);
+            final Object[] parameters = new Object[statement.parameterCount];
+            if (parameters.length != 0) {
+                int bitmap = payload.readerIndex();
+                payload.skipBytes((parameters.length + 7) >> 3);
+                int[] types = new int[parameters.length];
+                if (payload.readByte() == 1) {
+                    for (int index = 0; index < types.length; index++) {
+                        types[index] = payload.readUnsignedShortLE();
+                    }
+                }
+                for (int index = 0; index < parameters.length; index++) {
+                    if ((payload.getByte(bitmap + (index >> 3)) & (1 << (index & 7))) != 0) {
+                        continue;
+                    }
+                    int type = types[index] & 0xff;
+                    int index0 = payload.readerIndex();
+                    int size = MysqlBinaryCodec.size(type, payload, index0);
+                    int offset = MysqlBinaryCodec.contentOffset(type, payload, index0);
+                    parameters[index] = MysqlBinaryCodec.get(type, false, false, payload, offset, index0 + size - offset);
+                    payload.skipBytes(size);
+                }
+            }
+            final int count = parameters.length > 0 ? ((Number) parameters[0]).intValue() : 1;
+            final String prefix = parameters.length > 1 ? (String) parameters[1] : null;
+            int sequenceId = columns(ctx, 1, true);
+            final int bitmapSize = MysqlBinaryRow.bitmapSize(COLUMNS.size(), MysqlBinaryRow.BITMAP_OFFSET);
+            for (int index = 0; index < count; index++) {
+                Object[] values = row(index, prefix);
+                ByteBuf row = ctx.alloc().buffer();
+                row.writeByte(0);
+                int bitmap = row.writerIndex();
+                row.writeZero(bitmapSize);
+                for (int column = 0; column < values.length; column++) {
+                    if (values[column] == null) {
+                        int bit = column + MysqlBinaryRow.BITMAP_OFFSET;
+                        row.setByte(bitmap + (bit >> 3), row.getByte(bitmap + (bit >> 3)) | (1 << (bit & 7)));
+                    } else {
+                        MysqlBinaryCodec.write(COLUMNS.get(column).type, values[column], row);
+                    }
+                }
+                ctx.write(new MysqlPacket(sequenceId++, row));
+            }
+            eof(ctx, sequenceId);
+        }
+
+        /**
+         * @return the next sequence id
+         */
+        private int columns(@NotNull ChannelHandlerContext ctx, int sequenceId, boolean withCount) {
+            if (withCount) {
+                ByteBuf count = ctx.alloc().buffer();
+                MysqlIO.writeEncoded(COLUMNS.size(), count);
+                ctx.write(new MysqlPacket(sequenceId++, count));
+            }
+            for (MysqlColumn column : COLUMNS) {
+                ByteBuf definition = ctx.alloc().buffer();
+                column.write(definition);
+                ctx.write(new MysqlPacket(sequenceId++, definition));
+            }
+            return eof(ctx, sequenceId);
+        }
+
+        private int eof(@NotNull ChannelHandlerContext ctx, int sequenceId) {
+            ctx.writeAndFlush(new MysqlPacket(sequenceId, ctx.alloc().buffer(5).writeByte(0xfe).writeShortLE(0).writeShortLE(2)));
+            return sequenceId + 1;
+        }
+
+        private void ok(@NotNull ChannelHandlerContext ctx, int sequenceId, long affectedRows, long lastInsertId) {
+            final ByteBuf payload = ctx.alloc().buffer();
+            payload.writeByte(0);
+            MysqlIO.writeEncoded(affectedRows, payload);
+            MysqlIO.writeEncoded(lastInsertId, payload);
+            payload.writeShortLE(2);
+            payload.writeShortLE(0);
+            ctx.writeAndFlush(new MysqlPacket(sequenceId, payload));
+        }
+
+        private void error(@NotNull ChannelHandlerContext ctx, int sequenceId, int errorCode, @NotNull String sqlState, @NotNull String message) {
+            final ByteBuf payload = ctx.alloc().buffer();
+            payload.writeByte(0xff);
+            payload.writeShortLE(errorCode);
+            payload.writeByte('#');
+            payload.writeCharSequence(sqlState, StandardCharsets.US_ASCII);
+            payload.writeCharSequence(message, StandardCharsets.UTF_8);
+            ctx.writeAndFlush(new MysqlPacket(sequenceId, payload));
+        }
+
+        @Override
+        public void exceptionCaught(@NotNull ChannelHandlerContext ctx, @NotNull Throwable cause) {
+            cause.printStackTrace();
+            ctx.close();
+        }
+    }
+
+    @NotNull
+    static List<Object[]> expected(int count, String prefix) {
+        final ArrayList<Object[]> rows = new ArrayList<>(count);
+        for (int index = 0; index < count; index++) {
+            rows.add(row(index, prefix));
+        }
+        return rows;
+    }
+}
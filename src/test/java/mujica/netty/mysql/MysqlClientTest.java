@@ -0,0 +1,406 @@
+package mujica.netty.mysql;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.DefaultEventLoopGroup;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.channel.local.LocalChannel;
+import io.netty.handler.codec.TooLongFrameException;
+import io.netty.util.ReferenceCountUtil;
+import io.netty.util.concurrent.Future;
+import mujica.algebra.random.FuzzyContext;
+import mujica.reflect.modifier.CodeHistory;
+import org.jetbrains.annotations.NotNull;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+@CodeHistory(date = "2026/10/17")
+public class MysqlClientTest {
+
+    private static final int REPEAT = 40;
+
+    private final FuzzyContext fc = new FuzzyContext();
+
+    private EventLoopGroup group;
+
+    private FakeMysqlServer server;
+
+    private Bootstrap bootstrap;
+
+    @Before
+    public void start() throws InterruptedException {
+        group = new DefaultEventLoopGroup(2);
+        server = new FakeMysqlServer(group);
+        bootstrap = new Bootstrap().group(group).channel(LocalChannel.class);
+    }
+
+    @After
+    public void stop() {
+        server.close();
+        group.shutdownGracefully(0, 1, TimeUnit.SECONDS).syncUninterruptibly();
+    }
+
+    @NotNull
+    private MysqlConnection connect() throws Exception {
+        return get(MysqlConnection.connect(bootstrap, server.address, FakeMysqlServer.USER, FakeMysqlServer.PASSWORD, "test"));
+    }
+
+    private static <T> T get(@NotNull Future<T> future) throws Exception {
+        Assert.assertTrue(future.await(10, TimeUnit.SECONDS));
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw (Exception) e.getCause();
+        }
+    }
+
+    private static void assertRows(@NotNull List<Object[]> expected, @NotNull List<Object[]> actual) {
+        Assert.assertEquals(expected.size(), actual.size());
+        for (int index = 0; index < expected.size(); index++) {
+            Assert.assertArrayEquals(expected.get(index), actual.get(index));
+        }
+    }
+
+    @Test
+    public void caseQuery() throws Exception {
+        final MysqlConnection connection = connect();
+        Assert.assertEquals("8.0.0-fake", connection.getServerVersion());
+        final MysqlResult result = get(connection.query("SELECT 7"));
+        Assert.assertEquals(FakeMysqlServer.COLUMNS.size(), result.getColumns().size());
+        Assert.assertEquals("score", result.getColumns().get(2).getName());
+        assertRows(FakeMysqlServer.expected(7, "name"), result.getRows());
+        final MysqlResult insert = get(connection.query("INSERT INTO t VALUES (1)"));
+        Assert.assertEquals(1L, insert.getAffectedRows());
+        Assert.assertEquals(1L, insert.getLastInsertId());
+        Assert.assertEquals(0, get(connection.query("SELECT 0")).getRows().size());
+        get(connection.ping());
+        connection.close();
+    }
+
+    @Test
+    public void caseRowHandler() throws Exception {
+        final MysqlConnection connection = connect();
+        final ArrayList<Object[]> rows = new ArrayList<>();
+        final long[] sum = new long[1];
+        final MysqlResult result = get(connection.query("SELECT 10", new MysqlRowHandler() {
+            @Override
+            public void columns(@NotNull List<MysqlColumn> columns) {
+                Assert.assertEquals(4, columns.size());
+            }
+
+            @Override
+            public void row(@NotNull MysqlRow row) {
+                sum[0] += row.getLong(0);
+                Assert.assertEquals(row.isNull(1), row.getContent(1) == null);
+                rows.add(row.toArray());
+            }
+        }));
+        Assert.assertTrue(result.getRows().isEmpty());
+        Assert.assertEquals(45L, sum[0]);
+        assertRows(FakeMysqlServer.expected(10, "name"), rows);
+        connection.close();
+    }
+
+    @Test
+    public void caseRowHandlerFailure() throws Exception {
+        final MysqlConnection connection = connect();
+        final Future<MysqlResult> failed = connection.query("SELECT 5", new MysqlRowHandler() {
+            @Override
+            public void columns(@NotNull List<MysqlColumn> columns) {
+                // pass
+            }
+
+            @Override
+            public void row(@NotNull MysqlRow row) {
+                throw new IllegalStateException("row " + row.getLong(0));
+            }
+        });
+        final Future<MysqlResult> next = connection.query("SELECT 3");
+        try {
+            get(failed);
+            Assert.fail();
+        } catch (IllegalStateException e) {
+            Assert.assertEquals("row 0", e.getMessage());
+        }
+        assertRows(FakeMysqlServer.expected(3, "name"), get(next).getRows()); // the connection is still in sync
+        connection.close();
+    }
+
+    @Test
+    public void caseError() throws Exception {
+        final MysqlConnection connection = connect();
+        try {
+            get(connection.query("DROP DATABASE test"));
+            Assert.fail();
+        } catch (MysqlServerException e) {
+            Assert.assertEquals(1064, e.getErrorCode());
+            Assert.assertEquals("42000", e.getSqlState());
+        }
+        Assert.assertEquals(2, get(connection.query("SELECT 2")).getRows().size());
+        Assert.assertEquals(1L, connection.metrics().getFailed());
+        Assert.assertEquals(1L, connection.metrics().getCompleted());
+        connection.close();
+    }
+
+    @Test
+    public void caseAccessDenied() {
+        try {
+            get(MysqlConnection.connect(bootstrap, server.address, FakeMysqlServer.USER, "wrong", null));
+            Assert.fail();
+        } catch (MysqlServerException e) {
+            Assert.assertEquals(1045, e.getErrorCode());
+        } catch (Exception e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    @Test
+    public void casePrepareExecute() throws Exception {
+        final MysqlConnection connection = connect();
+        final MysqlStatement statement = get(connection.prepare("SELECT * FROM t LIMIT ? -- prefix ?"));
+        Assert.assertEquals(2, statement.getParameterCount());
+        Assert.assertEquals(4, statement.getColumns().size());
+        assertRows(FakeMysqlServer.expected(9, "p"), get(connection.execute(statement, 9, "p")).getRows());
+        assertRows(FakeMysqlServer.expected(4, null), get(connection.execute(statement, 4L, null)).getRows());
+        try {
+            connection.execute(statement, 1);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            // pass
+        }
+        final StringBuilder names = new StringBuilder();
+        get(connection.execute(statement, new MysqlRowHandler() {
+            @Override
+            public void columns(@NotNull List<MysqlColumn> columns) {
+                // pass
+            }
+
+            @Override
+            public void row(@NotNull MysqlRow row) {
+                names.append(row.getString(1)).append(',').append(row.getDouble(2)).append(';');
+            }
+        }, (short) 3, "q"));
+        Assert.assertEquals("q0,0.0;q1,0.5;null,1.0;", names.toString());
+        connection.closeStatement(statement);
+        try {
+            get(connection.execute(statement, 1, "x"));
+            Assert.fail();
+        } catch (MysqlServerException e) {
+            Assert.assertEquals(1243, e.getErrorCode());
+        }
+        connection.close();
+    }
+
+    @Test
+    public void fuzzPipelining() throws Exception {
+        final MysqlConnection connection = connect();
+        final MysqlStatement statement = get(connection.prepare("SELECT ?, ?"));
+        final ArrayList<Future<MysqlResult>> futures = new ArrayList<>();
+        final ArrayList<List<Object[]>> expected = new ArrayList<>();
+        for (int repeatIndex = 0; repeatIndex < 20 * REPEAT; repeatIndex++) {
+            int count = fc.nextInt(30);
+            if (fc.nextBoolean()) {
+                futures.add(connection.query("SELECT " + count));
+                expected.add(FakeMysqlServer.expected(count, "name"));
+            } else {
+                String prefix = fc.nextBoolean() ? null : "r" + repeatIndex + "_";
+                futures.add(connection.execute(statement, count, prefix));
+                expected.add(FakeMysqlServer.expected(count, prefix));
+            }
+        }
+        for (int index = 0; index < futures.size(); index++) {
+            assertRows(expected.get(index), get(futures.get(index)).getRows());
+        }
+        final MysqlConnectionMetrics metrics = connection.metrics();
+        Assert.assertEquals(0, metrics.getInFlight());
+        Assert.assertTrue(metrics.getMaxInFlight() > 1);
+        Assert.assertEquals(futures.size() + 1, metrics.getCompleted());
+        Assert.assertTrue(metrics.getMeanLatencyNanos() > 0L);
+        Assert.assertTrue(metrics.getMaxLatencyNanos() >= metrics.getMeanLatencyNanos());
+        connection.close();
+    }
+
+    @Test
+    public void caseClosed() throws Exception {
+        final MysqlConnection connection = connect();
+        connection.close();
+        connection.channel().closeFuture().await(10, TimeUnit.SECONDS);
+        try {
+            get(connection.query("SELECT 1"));
+            Assert.fail();
+        } catch (java.nio.channels.ClosedChannelException e) {
+            // pass
+        }
+    }
+
+    @Test
+    public void caseWriteFailure() throws Exception {
+        final MysqlConnection connection = connect();
+        final IOException cause = new IOException("refused");
+        connection.channel().pipeline().addFirst(new ChannelOutboundHandlerAdapter() {
+            @Override
+            public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) {
+                ReferenceCountUtil.release(msg);
+                promise.setFailure(cause);
+            }
+        });
+        try {
+            get(connection.query("SELECT 1"));
+            Assert.fail();
+        } catch (IOException e) {
+            Assert.assertSame(cause, e);
+        }
+        Assert.assertTrue(connection.channel().closeFuture().await(10, TimeUnit.SECONDS));
+        Assert.assertEquals(0, connection.metrics().getInFlight());
+    }
+
+    @Test
+    public void casePool() throws Exception {
+        final MysqlConnectionPool pool = new MysqlConnectionPool(group.next(), () -> MysqlConnection.connect(bootstrap,
+                server.address, FakeMysqlServer.USER, FakeMysqlServer.PASSWORD, null), 3);
+        final ArrayList<Future<MysqlConnection>> leases = new ArrayList<>();
+        for (int index = 0; index < 5; index++) {
+            leases.add(pool.acquire());
+        }
+        final MysqlConnection first = get(leases.get(0));
+        get(leases.get(1));
+        get(leases.get(2));
+        Assert.assertEquals(3, pool.getSize());
+        Assert.assertEquals(2, pool.getWaiterCount());
+        Assert.assertFalse(leases.get(3).isDone());
+        pool.release(first);
+        Assert.assertSame(first, get(leases.get(3)));
+        get(leases.get(2)).close();
+        get(leases.get(2)).channel().closeFuture().await(10, TimeUnit.SECONDS);
+        pool.release(get(leases.get(2))); // closed, so a new one is made for the waiter
+        final MysqlConnection fifth = get(leases.get(4));
+        Assert.assertTrue(fifth.isActive());
+        Assert.assertEquals(3, pool.getSize());
+        Assert.assertEquals(4, server.connections.get());
+        Assert.assertEquals(3, get(fifth.query("SELECT 3")).getRows().size());
+        pool.release(fifth);
+        pool.release(first);
+        Assert.assertEquals(2, pool.getIdleCount());
+        try {
+            pool.release(first);
+            Assert.fail();
+        } catch (IllegalStateException e) {
+            // pass
+        }
+        Assert.assertEquals(2, pool.getIdleCount());
+        pool.close();
+        Assert.assertEquals(1, pool.getSize());
+        pool.release(get(leases.get(1)));
+        Assert.assertEquals(0, pool.getSize());
+        try {
+            get(pool.acquire());
+            Assert.fail();
+        } catch (java.nio.channels.ClosedChannelException e) {
+            // pass
+        }
+    }
+
+    @Test
+    public void fuzzPacketCodec() {
+        for (int repeatIndex = 0; repeatIndex < REPEAT; repeatIndex++) {
+            int length = fc.nextInt(8) != 0 ? fc.nextInt(3000) : MysqlPacketDecoder.MAX_PART * fc.nextInt(1, 3) - fc.nextInt(-1, 2);
+            byte[] payload = fc.nextByteArray(length);
+            int sequenceId = fc.nextInt(256);
+            EmbeddedChannel encoder = new EmbeddedChannel(new MysqlPacketEncoder());
+            Assert.assertTrue(encoder.writeOutbound(new MysqlPacket(sequenceId, Unpooled.wrappedBuffer(payload))));
+            EmbeddedChannel decoder = new EmbeddedChannel(new MysqlPacketDecoder());
+            int parts = 0;
+            for (ByteBuf buf; (buf = encoder.readOutbound()) != null; ) {
+                if (buf.readableBytes() == 4) {
+                    parts++;
+                }
+                while (buf.isReadable()) { // random fragments
+                    decoder.writeInbound(buf.readRetainedSlice(Math.min(buf.readableBytes(), fc.nextInt(1, 1 << 22))));
+                }
+                buf.release();
+            }
+            Assert.assertEquals(length / MysqlPacketDecoder.MAX_PART + 1, parts);
+            MysqlPacket packet = decoder.readInbound();
+            Assert.assertEquals((sequenceId + parts - 1) & 0xff, packet.sequenceId());
+            Assert.assertTrue(Arrays.equals(payload, ByteBufUtil.getBytes(packet.content())));
+            packet.release();
+            Assert.assertNull(decoder.readInbound());
+            Assert.assertFalse(decoder.finish());
+        }
+    }
+
+    @Test
+    public void caseTooLong() {
+        final EmbeddedChannel decoder = new EmbeddedChannel(new MysqlPacketDecoder(100));
+        final ByteBuf buf = Unpooled.buffer();
+        MysqlIO.writeInt3(101, buf);
+        buf.writeByte(0).writeZero(101);
+        try {
+            decoder.writeInbound(buf);
+            Assert.fail();
+        } catch (TooLongFrameException e) {
+            // pass
+        }
+        final ByteBuf next = Unpooled.buffer();
+        MysqlIO.writeInt3(3, next);
+        next.writeByte(1).writeBytes(new byte[] {1, 2, 3});
+        decoder.writeInbound(next);
+        MysqlPacket packet = decoder.readInbound();
+        Assert.assertEquals(3, packet.content().readableBytes());
+        packet.release();
+    }
+
+    @Test
+    public void caseScramble() throws Exception {
+        final byte[] seed = "0123456789abcdefghij".getBytes();
+        final byte[] password = "secret".getBytes();
+        Assert.assertEquals(20, MysqlAuth.nativePassword(password, seed).length);
+        Assert.assertEquals(32, MysqlAuth.cachingSha2Password(password, seed).length);
+        Assert.assertEquals(0, MysqlAuth.scramble(MysqlAuth.NATIVE_PASSWORD, new byte[0], seed).length);
+        Assert.assertFalse(Arrays.equals(MysqlAuth.nativePassword(password, seed), MysqlAuth.nativePassword(password, "0123456789abcdefghiJ".getBytes())));
+    }
+
+    @Test
+    public void benchmark() throws Exception {
+        final MysqlConnection connection = connect();
+        final MysqlStatement statement = get(connection.prepare("SELECT ?, ?"));
+        for (int pass = 0; pass < 3; pass++) {
+            for (boolean pipelined : new boolean[] {false, true}) {
+                final int count = 2000;
+                long start = System.nanoTime();
+                ArrayList<Future<MysqlResult>> futures = new ArrayList<>();
+                for (int index = 0; index < count; index++) {
+                    Future<MysqlResult> future = connection.execute(statement, 10, "b");
+                    if (pipelined) {
+                        futures.add(future);
+                    } else {
+                        get(future);
+                    }
+                }
+                for (Future<MysqlResult> future : futures) {
+                    get(future);
+                }
+                long time = System.nanoTime() - start;
+                System.out.printf("%s: %d executes in %.2f ms, %.0f per second, mean latency %.1f us%n",
+                        pipelined ? "pipelined" : "sequential", count, time * 1e-6, count * 1e9 / time,
+                        connection.metrics().getMeanLatencyNanos() * 1e-3);
+            }
+        }
+        connection.close();
+    }
+}
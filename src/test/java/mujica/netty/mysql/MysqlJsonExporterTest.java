@@ -0,0 +1,365 @@
+package mujica.netty.mysql;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.DefaultEventLoopGroup;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.local.LocalAddress;
+import io.netty.channel.local.LocalChannel;
+import io.netty.channel.local.LocalServerChannel;
+import io.netty.util.concurrent.Future;
+import mujica.json.io.JsonByteBufWriter;
+import mujica.json.io.JsonStringBuilderWriter;
+import mujica.reflect.modifier.CodeHistory;
+import org.jetbrains.annotations.NotNull;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.nio.channels.ClosedChannelException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@CodeHistory(date = "2026/10/17")
+public class MysqlJsonExporterTest {
+
+    private EventLoopGroup group;
+
+    private FakeMysqlServer server;
+
+    private Bootstrap bootstrap;
+
+    private Channel sinkServer;
+
+    /**
+     * What the sink has received, appended on its event loop
+     */
+    private final StringBuffer received = new StringBuffer();
+
+    private Channel target;
+
+    @Before
+    public void start() throws InterruptedException {
+        group = new DefaultEventLoopGroup(3);
+        server = new FakeMysqlServer(group);
+        bootstrap = new Bootstrap().group(group).channel(LocalChannel.class);
+        final LocalAddress sinkAddress = new LocalAddress("json-sink-" + ThreadLocalRandom.current().nextLong());
+        sinkServer = new ServerBootstrap()
+                .group(group)
+                .channel(LocalServerChannel.class)
+                .childHandler(new ChannelInboundHandlerAdapter() {
+                    @Override
+                    public void channelRead(@NotNull ChannelHandlerContext ctx, @NotNull Object msg) {
+                        ByteBuf buf = (ByteBuf) msg;
+                        received.append(buf.toString(StandardCharsets.UTF_8));
+                        buf.release();
+                    }
+                })
+                .bind(sinkAddress).sync().channel();
+        target = new Bootstrap().group(group).channel(LocalChannel.class).handler(new ChannelInitializer<Channel>() {
+            @Override
+            protected void initChannel(@NotNull Channel channel) {
+                // pass
+            }
+        }).connect(sinkAddress).sync().channel();
+    }
+
+    @After
+    public void stop() {
+        target.close().syncUninterruptibly();
+        sinkServer.close().syncUninterruptibly();
+        server.close();
+        group.shutdownGracefully(0, 1, TimeUnit.SECONDS).syncUninterruptibly();
+    }
+
+    @NotNull
+    private MysqlConnection connect() throws Exception {
+        return get(MysqlConnection.connect(bootstrap, server.address, FakeMysqlServer.USER, FakeMysqlServer.PASSWORD, null));
+    }
+
+    private static <T> T get(@NotNull Future<T> future) throws Exception {
+        Assert.assertTrue(future.await(20, TimeUnit.SECONDS));
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw (Exception) e.getCause();
+        }
+    }
+
+    /**
+     * A line feed is never in the JSON, so it marks the end
+     */
+    @NotNull
+    private String drain() throws InterruptedException {
+        target.writeAndFlush(Unpooled.wrappedBuffer(new byte[] {'\n'}));
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(20);
+        while (received.length() == 0 || received.charAt(received.length() - 1) != '\n') {
+            Assert.assertTrue(System.nanoTime() < deadline);
+            Thread.sleep(1);
+        }
+        final String string = received.substring(0, received.length() - 1);
+        received.setLength(0);
+        return string;
+    }
+
+    @NotNull
+    private static String expectedText(int count) {
+        final StringBuilder sb = new StringBuilder("[");
+        for (Object[] row : FakeMysqlServer.expected(count, "name")) {
+            if (sb.length() > 1) {
+                sb.append(',');
+            }
+            sb.append("{\"id\":").append(row[0])
+                    .append(",\"name\":").append(row[1] == null ? "null" : "\"" + row[1] + "\"")
+                    .append(",\"score\":").append(row[2])
+                    .append(",\"born\":\"").append(row[3]).append("\"}");
+        }
+        return sb.append(']').toString();
+    }
+
+    @NotNull
+    private static String expectedBinary(int count, String prefix) {
+        final JsonStringBuilderWriter writer = new JsonStringBuilderWriter();
+        writer.openArray();
+        for (Object[] row : FakeMysqlServer.expected(count, prefix)) {
+            writer.openArray();
+            writer.numberValue((long) row[0]);
+            if (row[1] == null) {
+                writer.nullValue();
+            } else {
+                writer.stringValue((String) row[1]);
+            }
+            writer.numberValue((double) row[2]);
+            writer.stringValue(row[3].toString());
+            writer.closeArray();
+        }
+        writer.closeArray();
+        return writer.getString();
+    }
+
+    @Test
+    public void caseTextObjects() throws Exception {
+        final MysqlConnection connection = connect();
+        for (int count : new int[] {0, 1, 2, 100, 3000}) {
+            int chunkSize = 1 << (6 + count % 10);
+            Assert.assertEquals(count, (long) get(MysqlJsonExporter.export(connection, "SELECT " + count, target, true, chunkSize)));
+            Assert.assertEquals(expectedText(count), drain());
+        }
+        connection.close();
+    }
+
+    @Test
+    public void caseBinaryArrays() throws Exception {
+        final MysqlConnection connection = connect();
+        final MysqlStatement statement = get(connection.prepare("SELECT ?, ?"));
+        Assert.assertEquals(500L, (long) get(MysqlJsonExporter.export(connection, statement, target, false, 512, 500, "中\"")));
+        Assert.assertEquals(expectedBinary(500, "中\""), drain());
+        Assert.assertEquals(7L, (long) get(MysqlJsonExporter.export(connection, statement, target, false,
+                MysqlJsonExporter.DEFAULT_CHUNK_SIZE, 7, null)));
+        Assert.assertEquals(expectedBinary(7, null), drain());
+        connection.close();
+    }
+
+    @Test
+    public void caseNoResultSet() throws Exception {
+        final MysqlConnection connection = connect();
+        final List<String> names = target.pipeline().names();
+        Assert.assertEquals(0L, (long) get(MysqlJsonExporter.export(connection, "INSERT INTO t VALUES (1)", target, true, 100)));
+        Assert.assertEquals("[]", drain());
+        try {
+            get(MysqlJsonExporter.export(connection, "DROP TABLE t", target, true, 100));
+            Assert.fail();
+        } catch (MysqlServerException e) {
+            Assert.assertEquals(1064, e.getErrorCode());
+        }
+        Assert.assertTrue(connection.channel().config().isAutoRead());
+        Assert.assertEquals(names, target.pipeline().names()); // the writability handler is removed
+        connection.close();
+    }
+
+    @Test
+    public void caseBackPressure() throws Exception {
+        final MysqlConnection connection = connect();
+        target.eventLoop().submit(() -> target.unsafe().outboundBuffer().setUserDefinedWritability(1, false)).sync();
+        final Future<Long> future = MysqlJsonExporter.export(connection, "SELECT 20000", target, true, 1024);
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(20);
+        while (connection.channel().config().isAutoRead()) {
+            Assert.assertTrue(System.nanoTime() < deadline);
+            Thread.sleep(1);
+        }
+        Thread.sleep(50);
+        Assert.assertFalse(future.isDone());
+        final int stalled = received.length();
+        Assert.assertTrue(stalled < expectedText(20000).length() / 2);
+        target.eventLoop().submit(() -> target.unsafe().outboundBuffer().setUserDefinedWritability(1, true)).sync();
+        Assert.assertEquals(20000L, (long) get(future));
+        Assert.assertEquals(expectedText(20000), drain());
+        Assert.assertTrue(connection.channel().config().isAutoRead());
+        Assert.assertEquals(3, get(connection.query("SELECT 3")).getRows().size());
+        connection.close();
+    }
+
+    @Test
+    public void caseTargetClosed() throws Exception {
+        final MysqlConnection connection = connect();
+        target.eventLoop().submit(() -> target.unsafe().outboundBuffer().setUserDefinedWritability(1, false)).sync();
+        final Future<Long> future = MysqlJsonExporter.export(connection, "SELECT 20000", target, true, 1024);
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(20);
+        while (connection.channel().config().isAutoRead()) {
+            Assert.assertTrue(System.nanoTime() < deadline);
+            Thread.sleep(1);
+        }
+        target.close().sync();
+        try {
+            get(future);
+            Assert.fail();
+        } catch (ClosedChannelException ignored) {
+        }
+        Assert.assertTrue(connection.channel().config().isAutoRead());
+        Assert.assertEquals(3, get(connection.query("SELECT 3")).getRows().size()); // the remaining rows are dropped
+        try {
+            get(MysqlJsonExporter.export(connection, "SELECT 10", target, true, 100)); // closed before the export
+            Assert.fail();
+        } catch (ClosedChannelException ignored) {
+        }
+        Assert.assertEquals(3, get(connection.query("SELECT 3")).getRows().size());
+        connection.close();
+    }
+
+    @Test
+    public void caseTypes() {
+        final List<MysqlColumn> columns = Arrays.asList(
+                new MysqlColumn("", "", "", "u", "u", MysqlColumn.BINARY_CHARSET, 20, ColumnTypes.LONGLONG, MysqlColumn.UNSIGNED_FLAG, 0),
+                new MysqlColumn("", "", "", "d", "d", MysqlColumn.BINARY_CHARSET, 6, ColumnTypes.NEWDECIMAL, 0, 2),
+                new MysqlColumn("", "", "", "dt", "dt", MysqlColumn.BINARY_CHARSET, 26, ColumnTypes.DATETIME, 0, 6),
+                new MysqlColumn("", "", "", "t", "t", MysqlColumn.BINARY_CHARSET, 10, ColumnTypes.TIME, 0, 0),
+                new MysqlColumn("s", ColumnTypes.VAR_STRING, 0),
+                new MysqlColumn("b", ColumnTypes.BLOB, MysqlColumn.BINARY_FLAG),
+                new MysqlColumn("i", ColumnTypes.TINY, 0),
+                new MysqlColumn("f", ColumnTypes.DOUBLE, 0),
+                new MysqlColumn("z", ColumnTypes.DATE, 0)
+        );
+        final String string = "a\"b\\c\n中😀\u0001";
+        final String expected = "[18446744073709551615,-12.50,\"2026-10-17 08:09:10.000123\",\"-26:03:04\","
+                + "\"a\\\"b\\\\c\\n中😀\\u0001\",\"AAEC/w==\",-5,null,\"0000-00-00\"]";
+        final ByteBuf text = Unpooled.buffer();
+        for (String value : new String[] {"18446744073709551615", "-12.50", "2026-10-17 08:09:10.000123", "-26:03:04", string}) {
+            MysqlIO.writeEncodedString(value, text);
+        }
+        MysqlIO.writeEncodedBytes(new byte[] {0, 1, 2, -1}, text);
+        MysqlIO.writeEncodedString("-5", text);
+        text.writeByte(MysqlTextRow.NULL);
+        MysqlIO.writeEncodedString("0000-00-00", text);
+        final ByteBuf binary = Unpooled.buffer();
+        binary.writeByte(0);
+        final int bitmap = binary.writerIndex();
+        binary.writeZero(MysqlBinaryRow.bitmapSize(columns.size(), MysqlBinaryRow.BITMAP_OFFSET));
+        binary.setByte(bitmap + 1, 1 << (7 + MysqlBinaryRow.BITMAP_OFFSET - 8)); // column 7
+        MysqlBinaryCodec.write(ColumnTypes.LONGLONG, -1L, binary);
+        MysqlBinaryCodec.write(ColumnTypes.NEWDECIMAL, new BigDecimal("-12.50"), binary);
+        MysqlBinaryCodec.write(ColumnTypes.DATETIME, LocalDateTime.of(2026, 10, 17, 8, 9, 10, 123000), binary);
+        MysqlBinaryCodec.write(ColumnTypes.TIME, Duration.ofSeconds(-(26 * 3600 + 3 * 60 + 4)), binary);
+        MysqlBinaryCodec.write(ColumnTypes.VAR_STRING, string, binary);
+        MysqlBinaryCodec.write(ColumnTypes.BLOB, new byte[] {0, 1, 2, -1}, binary);
+        MysqlBinaryCodec.write(ColumnTypes.TINY, (byte) -5, binary);
+        binary.writeByte(0); // zero date
+        for (MysqlRow row : new MysqlRow[] {new MysqlTextRow(columns), new MysqlBinaryRow(columns)}) {
+            ByteBuf payload = row instanceof MysqlTextRow ? text : binary;
+            int readerIndex = payload.readerIndex();
+            row.parse(payload);
+            JsonByteBufWriter writer = new JsonByteBufWriter(Unpooled.buffer());
+            MysqlJsonRowWriter rowWriter = new MysqlJsonRowWriter(writer, false);
+            rowWriter.columns(columns);
+            rowWriter.row(row);
+            Assert.assertEquals(expected, writer.content().toString(StandardCharsets.UTF_8));
+            Assert.assertEquals(readerIndex, payload.readerIndex());
+            writer.release();
+        }
+    }
+
+    @Test
+    public void benchmark() {
+        final List<MysqlColumn> columns = FakeMysqlServer.COLUMNS;
+        final int count = 1000;
+        final ByteBuf[] payloads = new ByteBuf[count];
+        for (int index = 0; index < count; index++) {
+            Object[] values = FakeMysqlServer.row(index, "name\u4e2d");
+            ByteBuf payload = Unpooled.buffer();
+            payload.writeByte(0);
+            int bitmap = payload.writerIndex();
+            payload.writeZero(MysqlBinaryRow.bitmapSize(columns.size(), MysqlBinaryRow.BITMAP_OFFSET));
+            for (int column = 0; column < values.length; column++) {
+                if (values[column] == null) {
+                    int bit = column + MysqlBinaryRow.BITMAP_OFFSET;
+                    payload.setByte(bitmap + (bit >> 3), payload.getByte(bitmap + (bit >> 3)) | (1 << (bit & 7)));
+                } else {
+                    MysqlBinaryCodec.write(columns.get(column).type, values[column], payload);
+                }
+            }
+            payloads[index] = payload;
+        }
+        final MysqlBinaryRow row = new MysqlBinaryRow(columns);
+        final ByteBuf out = Unpooled.buffer(1 << 20);
+        final JsonByteBufWriter writer = new JsonByteBufWriter(out);
+        final MysqlJsonRowWriter rowWriter = new MysqlJsonRowWriter(writer, true);
+        rowWriter.columns(columns);
+        final JsonStringBuilderWriter reference = new JsonStringBuilderWriter();
+        for (int pass = 0; pass < 5; pass++) {
+            long octets = 0;
+            long start = System.nanoTime();
+            for (int repeat = 0; repeat < 100; repeat++) {
+                writer.reset();
+                writer.openArray();
+                for (ByteBuf payload : payloads) {
+                    row.parse(payload);
+                    rowWriter.row(row);
+                }
+                writer.closeArray();
+                octets += out.readableBytes();
+            }
+            long streamTime = System.nanoTime() - start;
+            start = System.nanoTime();
+            for (int repeat = 0; repeat < 100; repeat++) {
+                reference.reset();
+                reference.openArray();
+                for (ByteBuf payload : payloads) {
+                    row.parse(payload);
+                    reference.openObject();
+                    for (int index = 0; index < columns.size(); index++) {
+                        reference.key(columns.get(index).getName());
+                        Object value = row.getObject(index);
+                        if (value == null) {
+                            reference.nullValue();
+                        } else if (value instanceof Long) {
+                            reference.numberValue((long) value);
+                        } else if (value instanceof Double) {
+                            reference.numberValue((double) value);
+                        } else {
+                            reference.stringValue(value.toString());
+                        }
+                    }
+                    reference.closeObject();
+                }
+                reference.closeArray();
+            }
+            long objectTime = System.nanoTime() - start;
+            System.out.printf("%d rows to %d octets: from payload %.0f rows/s %.1f MB/s, through objects %.0f rows/s%n",
+                    100 * count, octets / 100, 100 * count * 1e9 / streamTime, octets * 1e3 / streamTime, 100 * count * 1e9 / objectTime);
+        }
+        writer.release();
+    }
+}